@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.AABBf;
+import org.joml.BVHf;
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares hierarchical culling with {@link BVHf} to testing every box of a large static scene, for a narrow and a wide frustum.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class BVHfBenchmark {
+
+    @Param({ "1000000" })
+    public int count;
+
+    @Param({ "10", "60" })
+    public float fovDegrees;
+
+    private float[] boxes;
+    private BVHf bvh;
+    private FrustumIntersection frustum;
+    private int[] visible;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(12345L);
+        boxes = new float[count * 6];
+        AABBf[] aabbs = new AABBf[count];
+        for (int i = 0; i < count; i++) {
+            float x = (rnd.nextFloat() - 0.5f) * 2000.0f;
+            float y = (rnd.nextFloat() - 0.5f) * 20.0f;
+            float z = (rnd.nextFloat() - 0.5f) * 2000.0f;
+            float e = 0.5f + rnd.nextFloat();
+            aabbs[i] = new AABBf(x - e, y - e, z - e, x + e, y + e, z + e);
+            boxes[i * 6] = x - e;
+            boxes[i * 6 + 1] = y - e;
+            boxes[i * 6 + 2] = z - e;
+            boxes[i * 6 + 3] = x + e;
+            boxes[i * 6 + 4] = y + e;
+            boxes[i * 6 + 5] = z + e;
+        }
+        bvh = new BVHf(aabbs);
+        frustum = new FrustumIntersection(new Matrix4f()
+                .perspective((float) Math.toRadians(fovDegrees), 1.5f, 0.1f, 300.0f)
+                .lookAt(0.0f, 10.0f, 0.0f, 100.0f, 0.0f, 100.0f, 0.0f, 1.0f, 0.0f));
+        visible = new int[count];
+    }
+
+    @Benchmark
+    public int BVHf_frustumCull() {
+        return bvh.frustumCull(frustum, visible);
+    }
+
+    @Benchmark
+    public int FrustumIntersection_testAabs() {
+        return frustum.testAabs(boxes, 0, count, visible);
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.sampling.BestCandidateSampling;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the generators of {@link BestCandidateSampling}, with and without parallel candidate scoring.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class BestCandidateSamplingBenchmark {
+
+    @Param({ "16384", "65536" })
+    public int numSamples;
+
+    @Param({ "false", "true" })
+    public boolean parallel;
+
+    private float[] xys, xyzs;
+
+    @Setup
+    public void setup() {
+        xys = new float[2 * numSamples];
+        xyzs = new float[3 * numSamples];
+    }
+
+    @Benchmark
+    public Object disk() {
+        new BestCandidateSampling.Disk().seed(42L).numSamples(numSamples).parallel(parallel).generate(xys);
+        return xys;
+    }
+
+    @Benchmark
+    public Object quad() {
+        new BestCandidateSampling.Quad().seed(42L).numSamples(numSamples).parallel(parallel).generate(xys);
+        return xys;
+    }
+
+    @Benchmark
+    public Object cube() {
+        new BestCandidateSampling.Cube().seed(42L).numSamples(numSamples).parallel(parallel).generate(xyzs);
+        return xyzs;
+    }
+
+    @Benchmark
+    public Object sphere() {
+        new BestCandidateSampling.Sphere().seed(42L).numSamples(numSamples).parallel(parallel).generate(xyzs);
+        return xyzs;
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.BulkWriter;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Matrix4x3f;
+import org.joml.Matrix4x3fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.joml.Vector4f;
+import org.joml.Vector4fc;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares writing per-instance data with one {@link Matrix4f#get(int, FloatBuffer)} call per instance against
+ * a single {@link BulkWriter} call, with matrices and vectors interleaved in the same buffer.
+ * <p>
+ * The <code>floats_</code> and <code>packed_</code> benchmarks write an instance stream of a {@link Matrix4x3f} and a normal,
+ * once as 60 bytes of floats and once as 28 bytes of half floats and an octahedral-encoded normal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkWriterBenchmark {
+
+    private static final int STRIDE = 16 + 4;
+    private static final int FLOATS_STRIDE = (12 + 3) << 2;
+    private static final int PACKED_STRIDE = 12 * 2 + 4;
+
+    @Param({ "1024" })
+    public int size;
+
+    private Matrix4fc[] matrices;
+    private Vector4fc[] colors;
+    private FloatBuffer buffer;
+    private Matrix4x3fc[] transforms;
+    private Vector3fc[] normals;
+    private ByteBuffer bytes;
+
+    @Setup
+    public void setup() {
+        matrices = new Matrix4fc[size];
+        colors = new Vector4fc[size];
+        for (int i = 0; i < size; i++) {
+            matrices[i] = new Matrix4f().translation(i, 0, -i).rotateY(i);
+            colors[i] = new Vector4f(i, 1, 0, 1);
+        }
+        buffer = ByteBuffer.allocateDirect(size * STRIDE * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        transforms = new Matrix4x3fc[size];
+        normals = new Vector3fc[size];
+        for (int i = 0; i < size; i++) {
+            transforms[i] = new Matrix4x3f().translation(i * 0.01f, 0, -i * 0.01f).rotateY(i);
+            normals[i] = new Vector3f(i, 1, -i).normalize();
+        }
+        bytes = ByteBuffer.allocateDirect(size * FLOATS_STRIDE).order(ByteOrder.nativeOrder());
+    }
+
+    @Benchmark
+    public FloatBuffer perElement() {
+        for (int i = 0; i < size; i++) {
+            matrices[i].get(i * STRIDE, buffer);
+            colors[i].get(i * STRIDE + 16, buffer);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public FloatBuffer bulk() {
+        BulkWriter.put(matrices, 0, size, BulkWriter.LAYOUT_4X4, buffer, 0, STRIDE);
+        return BulkWriter.put(colors, 0, size, buffer, 16, STRIDE);
+    }
+
+    @Benchmark
+    public ByteBuffer floats_matrix4x3AndNormal() {
+        BulkWriter.put(transforms, 0, size, BulkWriter.LAYOUT_4X3, bytes, 0, FLOATS_STRIDE);
+        return BulkWriter.put(normals, 0, size, bytes, 12 << 2, FLOATS_STRIDE);
+    }
+
+    @Benchmark
+    public ByteBuffer packed_matrix4x3AndNormal() {
+        BulkWriter.putPacked(transforms, 0, size, BulkWriter.FORMAT_HALF, bytes, 0, PACKED_STRIDE);
+        return BulkWriter.putPacked(normals, 0, size, BulkWriter.FORMAT_OCTAHEDRAL_SNORM16, bytes, 12 * 2, PACKED_STRIDE);
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Matrix4f;
+import org.joml.Matrix4x3f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the matrix, vector and quaternion kernels with and without fused multiply-add.
+ * <p>
+ * The fused variants need a Java 9+ runtime on hardware with FMA instructions, and use the multi-release classes of the JOML jar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public abstract class FmaBenchmark {
+
+    @Fork(value = 1, jvmArgsAppend = "-Djoml.usefma=false")
+    public static class Unfused extends FmaBenchmark {
+    }
+
+    @Fork(value = 1, jvmArgsAppend = "-Djoml.usefma=true")
+    public static class Fused extends FmaBenchmark {
+    }
+
+    private final Matrix4f m4 = new Matrix4f().perspective(1.0f, 1.5f, 0.1f, 100.0f).lookAt(0, 2, 5, 0, 0, 0, 0, 1, 0);
+    private final Matrix4f n4 = new Matrix4f().rotateXYZ(0.1f, 0.2f, 0.3f).translate(1, 2, 3);
+    private final Matrix4f d4 = new Matrix4f();
+    private final Matrix4x3f m43 = new Matrix4x3f().rotateXYZ(0.1f, 0.2f, 0.3f).translate(1, 2, 3);
+    private final Matrix4x3f n43 = new Matrix4x3f().rotationZ(0.4f).scale(1.5f);
+    private final Matrix4x3f d43 = new Matrix4x3f();
+    private final Quaternionf q = new Quaternionf().rotateXYZ(0.1f, 0.2f, 0.3f);
+    private final Quaternionf r = new Quaternionf().rotateXYZ(0.3f, -0.2f, 0.7f);
+    private final Quaternionf dq = new Quaternionf();
+    private final Vector3f v3 = new Vector3f(1, 2, 3);
+    private final Vector3f d3 = new Vector3f();
+    private final Vector4f v4 = new Vector4f(1, 2, 3, 1);
+    private final Vector4f d4v = new Vector4f();
+
+    @Benchmark
+    public Object Matrix4f_mul() {
+        return m4.mul(n4, d4);
+    }
+
+    @Benchmark
+    public Object Matrix4x3f_mul() {
+        return m43.mul(n43, d43);
+    }
+
+    @Benchmark
+    public Object Vector3f_mulPosition() {
+        return v3.mulPosition(n4, d3);
+    }
+
+    @Benchmark
+    public Object Vector4f_mulProject() {
+        return v4.mulProject(m4, d4v);
+    }
+
+    @Benchmark
+    public Object Quaternionf_mul() {
+        return q.mul(r, dq);
+    }
+
+}
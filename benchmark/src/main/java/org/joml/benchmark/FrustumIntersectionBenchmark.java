@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Culls a fixed set of random axis-aligned boxes against a view frustum, of which roughly one third is inside, outside and
+ * intersecting the frustum.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FrustumIntersectionBenchmark {
+
+    private static final int COUNT = 1024;
+
+    private FrustumIntersection frustum;
+    private float[] boxes;
+    private int[] visible = new int[COUNT];
+
+    @Setup
+    public void setup() {
+        Matrix4f viewProj = new Matrix4f()
+                .perspective((float) Math.toRadians(60.0), 1.5f, 0.1f, 100.0f)
+                .lookAt(0.0f, 5.0f, 20.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f);
+        frustum = new FrustumIntersection(viewProj);
+        Random rnd = new Random(12345L);
+        boxes = new float[COUNT * 6];
+        for (int i = 0; i < COUNT; i++) {
+            float x = (rnd.nextFloat() - 0.5f) * 80.0f;
+            float y = (rnd.nextFloat() - 0.5f) * 40.0f;
+            float z = (rnd.nextFloat() - 0.5f) * 80.0f;
+            float e = 0.5f + rnd.nextFloat() * 4.0f;
+            boxes[i * 6] = x - e;
+            boxes[i * 6 + 1] = y - e;
+            boxes[i * 6 + 2] = z - e;
+            boxes[i * 6 + 3] = x + e;
+            boxes[i * 6 + 4] = y + e;
+            boxes[i * 6 + 5] = z + e;
+        }
+    }
+
+    @Benchmark
+    public int testAab() {
+        float[] b = boxes;
+        int visible = 0;
+        for (int i = 0; i < b.length; i += 6)
+            if (frustum.testAab(b[i], b[i + 1], b[i + 2], b[i + 3], b[i + 4], b[i + 5]))
+                visible++;
+        return visible;
+    }
+
+    @Benchmark
+    public int intersectAab() {
+        float[] b = boxes;
+        int inside = 0;
+        for (int i = 0; i < b.length; i += 6)
+            if (frustum.intersectAab(b[i], b[i + 1], b[i + 2], b[i + 3], b[i + 4], b[i + 5]) == FrustumIntersection.INSIDE)
+                inside++;
+        return inside;
+    }
+
+    @Benchmark
+    public int testAabs() {
+        return frustum.testAabs(boxes, 0, COUNT, visible);
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Intersectionf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Intersects a single ray with a fixed set of random triangles, keeping the closest hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntersectionfBenchmark {
+
+    private static final int COUNT = 1024;
+
+    private float[] triangles;
+    private float originX = 0.0f, originY = 0.0f, originZ = 10.0f;
+    private float dirX = 0.05f, dirY = -0.02f, dirZ = -1.0f;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(12345L);
+        triangles = new float[COUNT * 9];
+        for (int i = 0; i < COUNT; i++) {
+            float x = (rnd.nextFloat() - 0.5f) * 4.0f;
+            float y = (rnd.nextFloat() - 0.5f) * 4.0f;
+            float z = (rnd.nextFloat() - 0.5f) * 4.0f;
+            for (int j = 0; j < 9; j++)
+                triangles[i * 9 + j] = (j % 3 == 0 ? x : j % 3 == 1 ? y : z) + (rnd.nextFloat() - 0.5f) * 2.0f;
+        }
+    }
+
+    @Benchmark
+    public float intersectRayTriangle() {
+        float[] t = triangles;
+        float closest = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < t.length; i += 9) {
+            float d = Intersectionf.intersectRayTriangle(originX, originY, originZ, dirX, dirY, dirZ,
+                    t[i], t[i + 1], t[i + 2], t[i + 3], t[i + 4], t[i + 5], t[i + 6], t[i + 7], t[i + 8], 1E-6f);
+            if (d != -1.0f && d < closest)
+                closest = d;
+        }
+        return closest;
+    }
+
+}
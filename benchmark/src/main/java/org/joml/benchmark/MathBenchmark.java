@@ -0,0 +1,143 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Math;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the bulk functions of {@link Math} with their fast approximations, once with and once without
+ * auto-vectorization of the loops by the JIT compiler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public abstract class MathBenchmark {
+
+    @Fork(1)
+    public static class Vectorized extends MathBenchmark {
+    }
+
+    @Fork(value = 1, jvmArgsAppend = { "-XX:-UseSuperWord" })
+    public static class Scalar extends MathBenchmark {
+    }
+
+    @Param({ "4096" })
+    public int size;
+
+    private float[] angles, cosines, x, y, exponents, squares, dest;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(1L);
+        angles = new float[size];
+        cosines = new float[size];
+        x = new float[size];
+        y = new float[size];
+        exponents = new float[size];
+        squares = new float[size];
+        dest = new float[size];
+        for (int i = 0; i < size; i++) {
+            angles[i] = (rnd.nextFloat() * 2.0f - 1.0f) * 100.0f;
+            cosines[i] = rnd.nextFloat() * 2.0f - 1.0f;
+            x[i] = rnd.nextFloat() * 2.0f - 1.0f;
+            y[i] = rnd.nextFloat() * 2.0f - 1.0f;
+            exponents[i] = (rnd.nextFloat() * 2.0f - 1.0f) * 20.0f;
+            squares[i] = rnd.nextFloat() * 100.0f + 0.01f;
+        }
+    }
+
+    @Benchmark
+    public Object sin() {
+        return Math.sin(angles, dest);
+    }
+
+    @Benchmark
+    public Object fastSin() {
+        return Math.fastSin(angles, dest);
+    }
+
+    @Benchmark
+    public Object fastCos() {
+        return Math.fastCos(angles, dest);
+    }
+
+    @Benchmark
+    public Object acos() {
+        return Math.acos(cosines, dest);
+    }
+
+    @Benchmark
+    public Object fastAcos() {
+        return Math.fastAcos(cosines, dest);
+    }
+
+    @Benchmark
+    public Object atan2() {
+        return Math.atan2(y, x, dest);
+    }
+
+    @Benchmark
+    public Object fastAtan2() {
+        return Math.fastAtan2(y, x, dest);
+    }
+
+    @Benchmark
+    public Object exp() {
+        return Math.exp(exponents, dest);
+    }
+
+    @Benchmark
+    public Object fastExp() {
+        return Math.fastExp(exponents, dest);
+    }
+
+    @Benchmark
+    public Object invsqrt() {
+        return Math.invsqrt(squares, dest);
+    }
+
+    @Benchmark
+    public Object fastInvsqrt() {
+        for (int i = 0; i < size; i++)
+            dest[i] = Math.fastInvsqrt(squares[i]);
+        return dest;
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Matrix4f;
+import org.joml.Matrix4fArray;
+import org.joml.Matrix4x3f;
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares per-object {@link Matrix4f}/{@link Matrix4x3f} operations with the bulk operations of {@link Matrix4fArray},
+ * once with the scalar kernels and once with the Vector API kernels.
+ * <p>
+ * Each per-object method is paired with its bulk counterpart. The per-object methods are always scalar, so their results
+ * are the same in both forks and serve as the baseline for the bulk operations. The Vector API kernels need a Java 16+ runtime.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public abstract class Matrix4fArrayBenchmark {
+
+    @Fork(value = 1, jvmArgsAppend = { "--add-modules=jdk.incubator.vector", "-Djoml.novectorapi=true" })
+    public static class Scalar extends Matrix4fArrayBenchmark {
+    }
+
+    @Fork(value = 1, jvmArgsAppend = { "--add-modules=jdk.incubator.vector" })
+    public static class VectorApi extends Matrix4fArrayBenchmark {
+    }
+
+    @Param({ "1024", "65536" })
+    public int size;
+
+    private Matrix4f[] left, right, dest;
+    private Matrix4x3f[] left4x3, right4x3, dest4x3;
+    private Vector3f[] positions3, dest3;
+    private Vector4f[] positions4, dest4;
+    private float[] positions, destPositions;
+    private Matrix4fArray leftArray, rightArray, affineLeftArray, affineRightArray, destArray;
+    private final Matrix4f viewProj = new Matrix4f().perspective(1.0f, 1.5f, 0.1f, 100.0f).lookAt(0, 2, 5, 0, 0, 0, 0, 1, 0);
+
+    @Setup
+    public void setup() {
+        left = new Matrix4f[size];
+        right = new Matrix4f[size];
+        dest = new Matrix4f[size];
+        left4x3 = new Matrix4x3f[size];
+        right4x3 = new Matrix4x3f[size];
+        dest4x3 = new Matrix4x3f[size];
+        leftArray = new Matrix4fArray(size);
+        rightArray = new Matrix4fArray(size);
+        affineLeftArray = new Matrix4fArray(size);
+        affineRightArray = new Matrix4fArray(size);
+        destArray = new Matrix4fArray(size);
+        positions3 = new Vector3f[size];
+        dest3 = new Vector3f[size];
+        positions4 = new Vector4f[size];
+        dest4 = new Vector4f[size];
+        positions = new float[3 * size];
+        destPositions = new float[3 * size];
+        for (int i = 0; i < size; i++) {
+            left[i] = new Matrix4f().perspective(0.8f, 1.0f, 0.1f, 10.0f + i).rotateY(i);
+            right[i] = new Matrix4f().frustum(-1, 1, -1, 1, 0.5f, 20.0f + i).translate(i, 0, 1);
+            dest[i] = new Matrix4f();
+            left4x3[i] = new Matrix4x3f().translation(i, 1, 2).rotateX(0.1f * i);
+            right4x3[i] = new Matrix4x3f().rotationZ(0.2f * i).scale(1.5f);
+            dest4x3[i] = new Matrix4x3f();
+            leftArray.set(i, left[i]);
+            rightArray.set(i, right[i]);
+            affineLeftArray.set(i, new Matrix4f(left4x3[i]));
+            affineRightArray.set(i, new Matrix4f(right4x3[i]));
+            positions3[i] = new Vector3f(i, 1, -i);
+            dest3[i] = new Vector3f();
+            positions4[i] = new Vector4f(i, 1, -i, 1);
+            dest4[i] = new Vector4f();
+            positions[3 * i] = i;
+            positions[3 * i + 1] = 1;
+            positions[3 * i + 2] = -i;
+        }
+    }
+
+    @Benchmark
+    public Object Matrix4f_mul() {
+        for (int i = 0; i < size; i++)
+            left[i].mul(right[i], dest[i]);
+        return dest;
+    }
+
+    @Benchmark
+    public Object Matrix4fArray_mul() {
+        return leftArray.mul(rightArray, destArray);
+    }
+
+    @Benchmark
+    public Object Matrix4x3f_mul() {
+        for (int i = 0; i < size; i++)
+            left4x3[i].mul(right4x3[i], dest4x3[i]);
+        return dest4x3;
+    }
+
+    @Benchmark
+    public Object Matrix4fArray_mulAffine() {
+        return affineLeftArray.mulAffine(affineRightArray, destArray);
+    }
+
+    @Benchmark
+    public Object Matrix4f_mulLocal() {
+        for (int i = 0; i < size; i++)
+            left[i].mulLocal(viewProj, dest[i]);
+        return dest;
+    }
+
+    @Benchmark
+    public Object Matrix4fArray_mulLocal() {
+        return leftArray.mulLocal(viewProj, destArray);
+    }
+
+    @Benchmark
+    public Object Matrix4x3f_invert() {
+        for (int i = 0; i < size; i++)
+            left4x3[i].invert(dest4x3[i]);
+        return dest4x3;
+    }
+
+    @Benchmark
+    public Object Matrix4fArray_invertAffine() {
+        return affineLeftArray.invertAffine(destArray);
+    }
+
+    @Benchmark
+    public Object Vector4f_mul() {
+        for (int i = 0; i < size; i++)
+            positions4[i].mul(left[i], dest4[i]);
+        return dest4;
+    }
+
+    @Benchmark
+    public Object Matrix4f_transformPosition() {
+        for (int i = 0; i < size; i++)
+            left[i].transformPosition(positions3[i], dest3[i]);
+        return dest3;
+    }
+
+    @Benchmark
+    public Object Matrix4fArray_transformPosition() {
+        return leftArray.transformPosition(positions, destPositions);
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the most frequently used {@link Matrix4f} operations.
+ * <p>
+ * The generic methods are measured with a matrix without any properties, so that none of the specialized code paths is taken.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Matrix4fBenchmark {
+
+    private Matrix4f generic = new Matrix4f().set(
+            1.0f, 0.2f, 0.1f, 0.01f,
+            0.3f, 1.1f, 0.2f, 0.02f,
+            0.1f, 0.4f, 0.9f, 0.03f,
+            2.0f, 3.0f, 4.0f, 1.0f);
+    private Matrix4f affine = new Matrix4f().translation(1.0f, 2.0f, 3.0f).rotateXYZ(0.1f, 0.2f, 0.3f).scale(2.0f);
+    private Matrix4f dest = new Matrix4f();
+    private float eyeX = 1.0f, eyeY = 2.0f, eyeZ = 5.0f;
+    private float fovy = 1.2f, aspect = 1.6f, zNear = 0.1f, zFar = 100.0f;
+
+    @Benchmark
+    public Matrix4f mul() {
+        return generic.mul(generic, dest);
+    }
+
+    @Benchmark
+    public Matrix4f mulAffine() {
+        return affine.mulAffine(affine, dest);
+    }
+
+    @Benchmark
+    public Matrix4f invert() {
+        return generic.invert(dest);
+    }
+
+    @Benchmark
+    public Matrix4f invert_affine() {
+        return affine.invert(dest);
+    }
+
+    @Benchmark
+    public Matrix4f lookAt() {
+        return generic.lookAt(eyeX, eyeY, eyeZ, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, dest);
+    }
+
+    @Benchmark
+    public Matrix4f setLookAt() {
+        return dest.setLookAt(eyeX, eyeY, eyeZ, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f);
+    }
+
+    @Benchmark
+    public Matrix4f perspective() {
+        return generic.perspective(fovy, aspect, zNear, zFar, dest);
+    }
+
+    @Benchmark
+    public Matrix4f setPerspective() {
+        return dest.setPerspective(fovy, aspect, zNear, zFar);
+    }
+
+}
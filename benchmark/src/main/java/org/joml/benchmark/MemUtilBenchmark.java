@@ -0,0 +1,130 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Matrix4d;
+import org.joml.Matrix4f;
+import org.joml.Vector4i;
+import org.joml.internal.MemUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link MemUtil} implementation selected at runtime, storing to and loading from every NIO buffer kind.
+ * <p>
+ * Only direct buffers in native byte order are used, since these are the only ones supported by the Unsafe-based
+ * implementation. Run with <code>-Djoml.nounsafe</code> to compare against the pure NIO implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MemUtilBenchmark {
+
+    private final MemUtil memUtil = MemUtil.INSTANCE;
+    private Matrix4f m4f = new Matrix4f().rotateXYZ(0.1f, 0.2f, 0.3f).translate(1.0f, 2.0f, 3.0f);
+    private Matrix4d m4d = new Matrix4d().rotateXYZ(0.1, 0.2, 0.3).translate(1.0, 2.0, 3.0);
+    private Vector4i v4i = new Vector4i(1, 2, 3, 4);
+    private ByteBuffer byteBuffer = ByteBuffer.allocateDirect(16 * 8).order(ByteOrder.nativeOrder());
+    private FloatBuffer floatBuffer = ByteBuffer.allocateDirect(16 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    private DoubleBuffer doubleBuffer = ByteBuffer.allocateDirect(16 * 8).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    private IntBuffer intBuffer = ByteBuffer.allocateDirect(4 * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+
+    @Benchmark
+    public FloatBuffer putMatrix4f_FloatBuffer() {
+        memUtil.put(m4f, 0, floatBuffer);
+        return floatBuffer;
+    }
+
+    @Benchmark
+    public Matrix4f getMatrix4f_FloatBuffer() {
+        memUtil.get(m4f, 0, floatBuffer);
+        return m4f;
+    }
+
+    @Benchmark
+    public ByteBuffer putMatrix4f_ByteBuffer() {
+        memUtil.put(m4f, 0, byteBuffer);
+        return byteBuffer;
+    }
+
+    @Benchmark
+    public Matrix4f getMatrix4f_ByteBuffer() {
+        memUtil.get(m4f, 0, byteBuffer);
+        return m4f;
+    }
+
+    @Benchmark
+    public DoubleBuffer putMatrix4d_DoubleBuffer() {
+        memUtil.put(m4d, 0, doubleBuffer);
+        return doubleBuffer;
+    }
+
+    @Benchmark
+    public Matrix4d getMatrix4d_DoubleBuffer() {
+        memUtil.get(m4d, 0, doubleBuffer);
+        return m4d;
+    }
+
+    @Benchmark
+    public ByteBuffer putMatrix4d_ByteBuffer() {
+        memUtil.put(m4d, 0, byteBuffer);
+        return byteBuffer;
+    }
+
+    @Benchmark
+    public Matrix4d getMatrix4d_ByteBuffer() {
+        memUtil.get(m4d, 0, byteBuffer);
+        return m4d;
+    }
+
+    @Benchmark
+    public IntBuffer putVector4i_IntBuffer() {
+        memUtil.put(v4i, 0, intBuffer);
+        return intBuffer;
+    }
+
+    @Benchmark
+    public Vector4i getVector4i_IntBuffer() {
+        memUtil.get(v4i, 0, intBuffer);
+        return v4i;
+    }
+
+}
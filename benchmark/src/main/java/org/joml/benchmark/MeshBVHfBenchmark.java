@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Intersectionf;
+import org.joml.MeshBVHf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Picks a terrain-like mesh of 500k triangles with random rays, using {@link MeshBVHf} and brute force.
+ * <p>
+ * Scores are per ray.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class MeshBVHfBenchmark {
+
+    private static final int N = 500;
+    private static final int RAYS = 64;
+
+    private float[] positions;
+    private int[] indices;
+    private MeshBVHf bvh;
+    private float[] rays;
+    private int[] triangle = new int[1];
+
+    @Setup
+    public void setup() {
+        positions = new float[(N + 1) * (N + 1) * 3];
+        for (int z = 0; z <= N; z++)
+            for (int x = 0; x <= N; x++) {
+                int v = (z * (N + 1) + x) * 3;
+                positions[v] = x;
+                positions[v + 1] = (float) (Math.sin(x * 0.1) * Math.cos(z * 0.07)) * 5.0f;
+                positions[v + 2] = z;
+            }
+        indices = new int[N * N * 6];
+        int i = 0;
+        for (int z = 0; z < N; z++)
+            for (int x = 0; x < N; x++) {
+                int v = z * (N + 1) + x;
+                indices[i++] = v; indices[i++] = v + N + 1; indices[i++] = v + 1;
+                indices[i++] = v + 1; indices[i++] = v + N + 1; indices[i++] = v + N + 2;
+            }
+        bvh = new MeshBVHf(positions, indices);
+        /* Groups of 8 neighbouring rays looking down at the terrain from a camera above it */
+        Random rnd = new Random(12345L);
+        rays = new float[RAYS * 6];
+        for (int r = 0; r < RAYS; r += 8) {
+            float tx = rnd.nextFloat() * N, tz = rnd.nextFloat() * N;
+            for (int k = 0; k < 8; k++) {
+                int o = (r + k) * 6;
+                rays[o] = N * 0.5f;
+                rays[o + 1] = 100.0f;
+                rays[o + 2] = -50.0f;
+                rays[o + 3] = tx + k * 0.1f - rays[o];
+                rays[o + 4] = -rays[o + 1];
+                rays[o + 5] = tz - rays[o + 2];
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public float MeshBVHf_intersectRay() {
+        float sum = 0.0f;
+        for (int o = 0; o < rays.length; o += 6)
+            sum += bvh.intersectRay(rays[o], rays[o + 1], rays[o + 2], rays[o + 3], rays[o + 4], rays[o + 5], 1E-6f, triangle);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public boolean MeshBVHf_testRay() {
+        boolean any = false;
+        for (int o = 0; o < rays.length; o += 6)
+            any |= bvh.testRay(rays[o], rays[o + 1], rays[o + 2], rays[o + 3], rays[o + 4], rays[o + 5], 1.0f, 1E-6f);
+        return any;
+    }
+
+    @Benchmark
+    public float Intersectionf_bruteForce() {
+        float closest = Float.POSITIVE_INFINITY;
+        float[] p = positions;
+        for (int t = 0; t < indices.length; t += 3) {
+            int a = indices[t] * 3, b = indices[t + 1] * 3, c = indices[t + 2] * 3;
+            float d = Intersectionf.intersectRayTriangle(rays[0], rays[1], rays[2], rays[3], rays[4], rays[5],
+                    p[a], p[a + 1], p[a + 2], p[b], p[b + 1], p[b + 2], p[c], p[c + 1], p[c + 2], 1E-6f);
+            if (d >= 0.0f && d < closest)
+                closest = d;
+        }
+        return closest;
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.GeometryUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the sequential and the parallel mesh normal and tangent generation of {@link GeometryUtils}
+ * on a grid mesh.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MeshTangentSpaceBenchmark {
+
+    /**
+     * The number of vertices along each side of the grid.
+     */
+    @Param({ "256", "1024" })
+    public int side;
+
+    private float[] positions, uvs, normals, tangents;
+    private int[] indices;
+    private int vertexCount, triangleCount;
+
+    @Setup
+    public void setup() {
+        vertexCount = side * side;
+        triangleCount = (side - 1) * (side - 1) * 2;
+        positions = new float[vertexCount * 3];
+        uvs = new float[vertexCount * 2];
+        normals = new float[vertexCount * 3];
+        tangents = new float[vertexCount * 4];
+        indices = new int[triangleCount * 3];
+        for (int y = 0; y < side; y++)
+            for (int x = 0; x < side; x++) {
+                int v = y * side + x;
+                positions[v * 3] = x;
+                positions[v * 3 + 1] = y;
+                positions[v * 3 + 2] = (float) (Math.sin(x * 0.1) * Math.cos(y * 0.07));
+                uvs[v * 2] = (float) x / side;
+                uvs[v * 2 + 1] = (float) y / side;
+            }
+        int k = 0;
+        for (int y = 0; y < side - 1; y++)
+            for (int x = 0; x < side - 1; x++) {
+                int v = y * side + x;
+                indices[k++] = v; indices[k++] = v + 1; indices[k++] = v + side + 1;
+                indices[k++] = v; indices[k++] = v + side + 1; indices[k++] = v + side;
+            }
+        GeometryUtils.normals(positions, vertexCount, indices, triangleCount, normals);
+    }
+
+    @Benchmark
+    public Object normals() {
+        GeometryUtils.normals(positions, vertexCount, indices, triangleCount, normals);
+        return normals;
+    }
+
+    @Benchmark
+    public Object normalsParallel() {
+        GeometryUtils.normalsParallel(positions, vertexCount, indices, triangleCount, normals);
+        return normals;
+    }
+
+    @Benchmark
+    public Object tangents() {
+        GeometryUtils.tangents(positions, uvs, normals, vertexCount, indices, triangleCount, tangents);
+        return tangents;
+    }
+
+    @Benchmark
+    public Object tangentsParallel() {
+        GeometryUtils.tangentsParallel(positions, uvs, normals, vertexCount, indices, triangleCount, tangents);
+        return tangents;
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the selected benchmarks once for every JOML configuration that affects the hot paths and prints the scores side by side:
+ * <ul>
+ * <li><code>default</code> - no options
+ * <li><code>fastmath</code> - <code>-Djoml.fastmath</code>
+ * <li><code>nounsafe</code> - <code>-Djoml.nounsafe</code>
+ * <li><code>useffm</code> - <code>-Djoml.useffm</code> (same as <code>nounsafe</code> before Java 22)
+ * </ul>
+ * Usage:
+ * <pre>
+ * java -cp target/benchmarks.jar org.joml.benchmark.Modes [JMH options] [benchmark regexp...]
+ * </pre>
+ * All JMH command line options are supported. The mode is passed via the JVM arguments <i>prepended</i> to the forked VM,
+ * so that <code>jvmArgsAppend</code> given to individual benchmarks still apply.
+ */
+public class Modes {
+
+    private static final String[] NAMES = { "default", "fastmath", "nounsafe", "useffm" };
+    private static final String[][] JVM_ARGS = { {}, { "-Djoml.fastmath=true" }, { "-Djoml.nounsafe=true" }, { "-Djoml.useffm=true" } };
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        Map<String, Result<?>[]> results = new LinkedHashMap<>();
+        for (int mode = 0; mode < NAMES.length; mode++) {
+            Options options = new OptionsBuilder()
+                    .parent(cmdOptions)
+                    .jvmArgsPrepend(JVM_ARGS[mode])
+                    .build();
+            System.out.println("# JOML mode: " + NAMES[mode]);
+            for (RunResult result : new Runner(options).run()) {
+                Result<?>[] r = results.computeIfAbsent(key(result.getParams()), k -> new Result<?>[NAMES.length]);
+                r[mode] = result.getPrimaryResult();
+            }
+        }
+        print(results);
+    }
+
+    private static String key(BenchmarkParams params) {
+        StringBuilder sb = new StringBuilder(params.getBenchmark().replaceFirst("^org\\.joml\\.benchmark\\.", ""));
+        String separator = " (";
+        for (String k : params.getParamsKeys()) {
+            sb.append(separator).append(k).append('=').append(params.getParam(k));
+            separator = ", ";
+        }
+        if (!params.getParamsKeys().isEmpty())
+            sb.append(')');
+        return sb.toString();
+    }
+
+    private static void print(Map<String, Result<?>[]> results) {
+        int width = "Benchmark".length();
+        for (String key : results.keySet())
+            width = Math.max(width, key.length());
+        String format = "%-" + width + "s" + String.join("", Collections.nCopies(NAMES.length, "  %14s")) + "  %s%n";
+        System.out.println();
+        System.out.printf(format, concat("Benchmark", NAMES, "Units"));
+        for (Map.Entry<String, Result<?>[]> e : results.entrySet()) {
+            String[] scores = new String[NAMES.length];
+            String unit = "";
+            for (int i = 0; i < NAMES.length; i++) {
+                Result<?> r = e.getValue()[i];
+                scores[i] = r == null ? "-" : String.format("%.3f", r.getScore());
+                if (r != null)
+                    unit = r.getScoreUnit();
+            }
+            System.out.printf(format, concat(e.getKey(), scores, unit));
+        }
+    }
+
+    private static Object[] concat(String first, String[] middle, String last) {
+        Object[] all = new Object[middle.length + 2];
+        all[0] = first;
+        System.arraycopy(middle, 0, all, 1, middle.length);
+        all[all.length - 1] = last;
+        return all;
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.sampling.Callback2d;
+import org.joml.sampling.Callback3d;
+import org.joml.sampling.PoissonSampling;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the Poisson disk sampling of {@link PoissonSampling}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PoissonSamplingBenchmark {
+
+    private float sum;
+    private final Callback2d callback2d = new Callback2d() {
+        public void onNewSample(float x, float y) {
+            sum += x + y;
+        }
+    };
+    private final Callback3d callback3d = new Callback3d() {
+        public void onNewSample(float x, float y, float z) {
+            sum += x + y + z;
+        }
+    };
+    private final FloatBuffer buffer = FloatBuffer.allocate(2 * 200 * 200 * 2);
+
+    @Benchmark
+    public float disk() {
+        sum = 0.0f;
+        new PoissonSampling.Disk(42L, 100.0f, 0.5f, 30, callback2d);
+        return sum;
+    }
+
+    @Benchmark
+    public Object rectangle_buffer() {
+        buffer.clear();
+        new PoissonSampling.Rectangle(42L, 0.0f, 0.0f, 100.0f, 100.0f, 0.5f, 30, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public float box() {
+        sum = 0.0f;
+        new PoissonSampling.Box(42L, 0.0f, 0.0f, 0.0f, 20.0f, 20.0f, 20.0f, 0.5f, 30, callback3d);
+        return sum;
+    }
+
+}
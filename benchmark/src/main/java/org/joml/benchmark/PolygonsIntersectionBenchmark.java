@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.PolygonsIntersection;
+import org.joml.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares classifying points one by one via {@link PolygonsIntersection#testPoint(float, float)} with the bulk
+ * {@link PolygonsIntersection#testPoints(float[], float[], int, int[])} sweep, and replacing a single polygon
+ * with building the whole {@link PolygonsIntersection} again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PolygonsIntersectionBenchmark {
+
+    private static final int GRID = 8;
+    private static final int STAR_VERTICES = 256;
+    private static final int NUM_POINTS = 1 << 20;
+
+    private PolygonsIntersection isect;
+    private float[] verticesXY;
+    private int[] polygons;
+    private final float[][] replacements = new float[2][2 * STAR_VERTICES];
+    private int replacement;
+    private final float[] xs = new float[NUM_POINTS], ys = new float[NUM_POINTS];
+    private final int[] polys = new int[NUM_POINTS];
+
+    @Setup
+    public void setup() {
+        // a grid of concave star-shaped regions
+        verticesXY = new float[2 * GRID * GRID * STAR_VERTICES];
+        polygons = new int[GRID * GRID - 1];
+        for (int p = 0; p < GRID * GRID; p++) {
+            if (p > 0)
+                polygons[p - 1] = p * STAR_VERTICES;
+            for (int i = 0; i < STAR_VERTICES; i++) {
+                double r = (i & 1) == 0 ? 0.5 : 0.3;
+                double a = 2.0 * Math.PI * i / STAR_VERTICES;
+                verticesXY[2 * (p * STAR_VERTICES + i) + 0] = (float) (p % GRID + 0.5 + r * Math.cos(a));
+                verticesXY[2 * (p * STAR_VERTICES + i) + 1] = (float) (p / GRID + 0.5 + r * Math.sin(a));
+            }
+        }
+        isect = new PolygonsIntersection(verticesXY, polygons, verticesXY.length / 2);
+        for (int r = 0; r < 2; r++)
+            for (int i = 0; i < 2 * STAR_VERTICES; i++)
+                replacements[r][i] = verticesXY[i] + r * 0.1f;
+        Random rnd = new Random(42L);
+        for (int i = 0; i < NUM_POINTS; i++) {
+            xs[i] = rnd.nextFloat() * GRID;
+            ys[i] = rnd.nextFloat() * GRID;
+        }
+    }
+
+    @Benchmark
+    public int testPoint() {
+        int inside = 0;
+        for (int i = 0; i < NUM_POINTS; i++)
+            if (isect.testPoint(xs[i], ys[i]))
+                inside++;
+        return inside;
+    }
+
+    @Benchmark
+    public Object testPoints() {
+        return isect.testPoints(xs, ys, NUM_POINTS, polys);
+    }
+
+    @Benchmark
+    public Object testPointsParallel() {
+        return isect.testPointsParallel(xs, ys, NUM_POINTS, polys);
+    }
+
+    @Benchmark
+    public Object replacePolygon() {
+        replacement ^= 1;
+        isect.replacePolygon(0, replacements[replacement], STAR_VERTICES);
+        return isect;
+    }
+
+    @Benchmark
+    public Object rebuild() {
+        return new PolygonsIntersection(verticesXY, polygons, verticesXY.length / 2);
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Matrix4x3f;
+import org.joml.Posef;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares blending two animation poses and computing the model-space palette of many characters with per-bone
+ * {@link Quaternionf}/{@link Vector3f}/{@link Matrix4x3f} objects against the bulk operations of {@link Posef}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PoseBenchmark {
+
+    @Param({ "256" })
+    public int characters;
+
+    @Param({ "100" })
+    public int bones;
+
+    private int[] parents;
+    private Vector3f[][] translationsA, translationsB, scalesA, scalesB, translations, scales;
+    private Quaternionf[][] rotationsA, rotationsB, rotations;
+    private Matrix4x3f[][] matrices;
+    private Posef[] posesA, posesB, poses;
+    private float[][] palettes;
+
+    @Setup
+    public void setup() {
+        parents = new int[bones];
+        for (int i = 0; i < bones; i++)
+            parents[i] = i - 1 - i % 3;
+        translationsA = new Vector3f[characters][bones];
+        translationsB = new Vector3f[characters][bones];
+        translations = new Vector3f[characters][bones];
+        scalesA = new Vector3f[characters][bones];
+        scalesB = new Vector3f[characters][bones];
+        scales = new Vector3f[characters][bones];
+        rotationsA = new Quaternionf[characters][bones];
+        rotationsB = new Quaternionf[characters][bones];
+        rotations = new Quaternionf[characters][bones];
+        matrices = new Matrix4x3f[characters][bones];
+        posesA = new Posef[characters];
+        posesB = new Posef[characters];
+        poses = new Posef[characters];
+        palettes = new float[characters][bones * 12];
+        for (int c = 0; c < characters; c++) {
+            posesA[c] = new Posef(bones);
+            posesB[c] = new Posef(bones);
+            poses[c] = new Posef(bones);
+            for (int i = 0; i < bones; i++) {
+                translationsA[c][i] = new Vector3f(0.1f * i, c, 1);
+                translationsB[c][i] = new Vector3f(-0.1f * i, 1, c);
+                translations[c][i] = new Vector3f();
+                scalesA[c][i] = new Vector3f(1.0f);
+                scalesB[c][i] = new Vector3f(1.1f, 1.0f, 0.9f);
+                scales[c][i] = new Vector3f();
+                rotationsA[c][i] = new Quaternionf().rotateXYZ(0.1f * i, 0.01f * c, 0.2f);
+                rotationsB[c][i] = new Quaternionf().rotateXYZ(-0.2f, 0.1f * i, 0.03f * c);
+                rotations[c][i] = new Quaternionf();
+                matrices[c][i] = new Matrix4x3f();
+                posesA[c].set(i, translationsA[c][i], rotationsA[c][i], scalesA[c][i]);
+                posesB[c].set(i, translationsB[c][i], rotationsB[c][i], scalesB[c][i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object objects_blendAndPalette() {
+        for (int c = 0; c < characters; c++) {
+            Matrix4x3f[] m = matrices[c];
+            for (int i = 0; i < bones; i++) {
+                Vector3f t = translationsA[c][i].lerp(translationsB[c][i], 0.3f, translations[c][i]);
+                Quaternionf r = rotationsA[c][i].nlerp(rotationsB[c][i], 0.3f, rotations[c][i]);
+                Vector3f s = scalesA[c][i].lerp(scalesB[c][i], 0.3f, scales[c][i]);
+                m[i].translationRotateScale(t, r, s);
+                if (parents[i] >= 0)
+                    m[parents[i]].mul(m[i], m[i]);
+            }
+        }
+        return matrices;
+    }
+
+    @Benchmark
+    public Object Posef_blendAndPalette() {
+        for (int c = 0; c < characters; c++)
+            posesA[c].lerp(posesB[c], 0.3f, poses[c]).toModel(parents, palettes[c], 0);
+        return palettes;
+    }
+
+    @Benchmark
+    public Object Posef_blendAndPaletteMatrix4x3f() {
+        for (int c = 0; c < characters; c++)
+            posesA[c].lerp(posesB[c], 0.3f, poses[c]).toModel(parents, matrices[c]);
+        return matrices;
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.QuaternionCodec;
+import org.joml.Quaternionf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the bulk smallest three encoding and decoding of {@link QuaternionCodec} for random unit quaternions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QuaternionCodecBenchmark {
+
+    @Param({ "4096" })
+    public int size;
+
+    private float[] quaternions;
+    private float[] decoded;
+    private int[] packed;
+    private ByteBuffer bytes;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(1L);
+        Quaternionf q = new Quaternionf();
+        quaternions = new float[size * 4];
+        for (int i = 0; i < size; i++) {
+            q.set((float) rnd.nextGaussian(), (float) rnd.nextGaussian(), (float) rnd.nextGaussian(), (float) rnd.nextGaussian())
+             .normalize();
+            quaternions[i * 4] = q.x;
+            quaternions[i * 4 + 1] = q.y;
+            quaternions[i * 4 + 2] = q.z;
+            quaternions[i * 4 + 3] = q.w;
+        }
+        decoded = new float[size * 4];
+        packed = QuaternionCodec.encode(quaternions, 0, size, 10, new int[size], 0);
+        bytes = ByteBuffer.allocate(size * QuaternionCodec.bytes(14));
+    }
+
+    @Benchmark
+    public Object encode10Bits() {
+        return QuaternionCodec.encode(quaternions, 0, size, 10, packed, 0);
+    }
+
+    @Benchmark
+    public Object decode10Bits() {
+        return QuaternionCodec.decode(packed, 0, size, 10, decoded, 0);
+    }
+
+    @Benchmark
+    public Object encode14BitsByteBuffer() {
+        return QuaternionCodec.encode(quaternions, 0, size, 14, bytes, 0);
+    }
+
+}
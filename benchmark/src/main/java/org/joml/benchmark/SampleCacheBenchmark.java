@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.sampling.BestCandidateSampling;
+import org.joml.sampling.SampleCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares generating a set of {@link BestCandidateSampling} samples with obtaining it from a {@link SampleCache},
+ * once from memory and once from the cache directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SampleCacheBenchmark {
+
+    private static final int NUM_SAMPLES = 16384;
+
+    private File directory;
+    private SampleCache cache;
+    private final float[] xys = new float[2 * NUM_SAMPLES];
+
+    @Setup
+    public void setup() throws IOException {
+        directory = File.createTempFile("joml", "samples");
+        directory.delete();
+        cache = new SampleCache(directory, 16);
+        cache.bestCandidateDisk(42L, NUM_SAMPLES, 60);
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        for (int i = 0; files != null && i < files.length; i++)
+            files[i].delete();
+        directory.delete();
+    }
+
+    @Benchmark
+    public Object generate() {
+        new BestCandidateSampling.Disk().seed(42L).numSamples(NUM_SAMPLES).numCandidates(60).generate(xys);
+        return xys;
+    }
+
+    @Benchmark
+    public Object memory() throws IOException {
+        FloatBuffer samples = cache.bestCandidateDisk(42L, NUM_SAMPLES, 60);
+        samples.get(xys);
+        return xys;
+    }
+
+    @Benchmark
+    public Object directory() throws IOException {
+        FloatBuffer samples = new SampleCache(directory, 16).bestCandidateDisk(42L, NUM_SAMPLES, 60);
+        samples.get(xys);
+        return xys;
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.SimplexNoise;
+import org.joml.SimplexNoiseGenerator;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link SimplexNoise} by sampling a small grid, so that the samples fall into different simplices.
+ * <p>
+ * Scores are per single noise evaluation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimplexNoiseBenchmark {
+
+    private static final int GRID = 16;
+
+    /**
+     * The size of a terrain chunk for the fBm benchmarks.
+     */
+    private static final int CHUNK = 64;
+    private static final int OCTAVES = 6;
+
+    private float scale = 0.173f;
+    private float offset = 3.7f;
+    private final float[] chunk = new float[CHUNK * CHUNK];
+    private final SimplexNoiseGenerator generator = new SimplexNoiseGenerator(42L);
+    private final Vector3f gradient = new Vector3f();
+
+    @Benchmark
+    @OperationsPerInvocation(GRID * GRID)
+    public float noise2() {
+        float sum = 0.0f;
+        for (int y = 0; y < GRID; y++)
+            for (int x = 0; x < GRID; x++)
+                sum += SimplexNoise.noise(x * scale, y * scale);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRID * GRID)
+    public float noise3() {
+        float sum = 0.0f;
+        for (int y = 0; y < GRID; y++)
+            for (int x = 0; x < GRID; x++)
+                sum += SimplexNoise.noise(x * scale, y * scale, offset);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRID * GRID)
+    public float noise4() {
+        float sum = 0.0f;
+        for (int y = 0; y < GRID; y++)
+            for (int x = 0; x < GRID; x++)
+                sum += SimplexNoise.noise(x * scale, y * scale, offset, -offset);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK * CHUNK)
+    public Object fbm2_loop() {
+        for (int y = 0; y < CHUNK; y++)
+            for (int x = 0; x < CHUNK; x++) {
+                float sum = 0.0f, amplitudes = 0.0f, frequency = 1.0f, amplitude = 1.0f;
+                for (int o = 0; o < OCTAVES; o++) {
+                    sum += amplitude * SimplexNoise.noise((offset + x * scale) * frequency, (offset + y * scale) * frequency);
+                    amplitudes += amplitude;
+                    frequency *= 2.0f;
+                    amplitude *= 0.5f;
+                }
+                chunk[y * CHUNK + x] = sum / amplitudes;
+            }
+        return chunk;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK * CHUNK)
+    public Object fbm2_lattice() {
+        SimplexNoise.fbm(offset, offset, scale, scale, CHUNK, CHUNK, OCTAVES, 2.0f, 0.5f, chunk, 0);
+        return chunk;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK * CHUNK)
+    public Object fbm2_latticeParallel() {
+        SimplexNoise.fbmParallel(offset, offset, scale, scale, CHUNK, CHUNK, OCTAVES, 2.0f, 0.5f, chunk, 0);
+        return chunk;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK * CHUNK)
+    public Object fbm3_loop() {
+        for (int y = 0; y < CHUNK; y++)
+            for (int x = 0; x < CHUNK; x++) {
+                float sum = 0.0f, amplitudes = 0.0f, frequency = 1.0f, amplitude = 1.0f;
+                for (int o = 0; o < OCTAVES; o++) {
+                    sum += amplitude * SimplexNoise.noise((offset + x * scale) * frequency, (offset + y * scale) * frequency, offset * frequency);
+                    amplitudes += amplitude;
+                    frequency *= 2.0f;
+                    amplitude *= 0.5f;
+                }
+                chunk[y * CHUNK + x] = sum / amplitudes;
+            }
+        return chunk;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK * CHUNK)
+    public Object fbm3_lattice() {
+        SimplexNoise.fbm(offset, offset, offset, scale, scale, scale, CHUNK, CHUNK, 1, OCTAVES, 2.0f, 0.5f, chunk, 0);
+        return chunk;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRID * GRID)
+    public float noise3_gradient() {
+        float sum = 0.0f;
+        for (int y = 0; y < GRID; y++)
+            for (int x = 0; x < GRID; x++)
+                sum += generator.noise(x * scale, y * scale, offset, gradient) + gradient.x + gradient.y + gradient.z;
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRID * GRID)
+    public float noise3_finiteDifferences() {
+        float sum = 0.0f, h = 1E-3f;
+        for (int y = 0; y < GRID; y++)
+            for (int x = 0; x < GRID; x++) {
+                float px = x * scale, py = y * scale;
+                float n = generator.noise(px, py, offset);
+                float dx = (generator.noise(px + h, py, offset) - n) / h;
+                float dy = (generator.noise(px, py + h, offset) - n) / h;
+                float dz = (generator.noise(px, py, offset + h) - n) / h;
+                sum += n + dx + dy + dz;
+            }
+        return sum;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.BulkWriter;
+import org.joml.DualQuaternionf;
+import org.joml.Matrix4x3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares uploading a skinning palette as 4x3 matrices with uploading it as {@link DualQuaternionf dual quaternions}
+ * via {@link BulkWriter}, with and without converting the matrices first.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SkinningPaletteBenchmark {
+
+    @Param({ "25600" })
+    public int bones;
+
+    private Matrix4x3f[] matrices;
+    private DualQuaternionf[] dualQuaternions;
+    private FloatBuffer buffer;
+
+    @Setup
+    public void setup() {
+        matrices = new Matrix4x3f[bones];
+        dualQuaternions = new DualQuaternionf[bones];
+        for (int i = 0; i < bones; i++) {
+            matrices[i] = new Matrix4x3f().translation(i, 1, -i).rotateXYZ(0.1f * i, 0.2f, 0.3f);
+            dualQuaternions[i] = new DualQuaternionf().set(matrices[i]);
+        }
+        buffer = ByteBuffer.allocateDirect(bones * 12 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    @Benchmark
+    public FloatBuffer matrixPalette() {
+        return BulkWriter.put(matrices, 0, bones, BulkWriter.LAYOUT_4X3, buffer, 0, 0);
+    }
+
+    @Benchmark
+    public FloatBuffer dualQuaternionPalette() {
+        return BulkWriter.put(dualQuaternions, 0, bones, buffer, 0, 0);
+    }
+
+    @Benchmark
+    public FloatBuffer dualQuaternionPaletteFromMatrices() {
+        for (int i = 0; i < bones; i++)
+            dualQuaternions[i].set(matrices[i]);
+        return BulkWriter.put(dualQuaternions, 0, bones, buffer, 0, 0);
+    }
+
+}
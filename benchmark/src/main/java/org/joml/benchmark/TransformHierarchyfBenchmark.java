@@ -0,0 +1,130 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Matrix4x3f;
+import org.joml.Quaternionf;
+import org.joml.Random;
+import org.joml.TransformHierarchyf;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares recomputing all world transformations of a scene graph stored as {@link Matrix4x3f} objects with the dirty-flag
+ * propagation of {@link TransformHierarchyf}, when a small fraction of the nodes moves every frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class TransformHierarchyfBenchmark {
+
+    /*
+     * The scene has a single root with ZONES zones, which contain OBJECTS objects, which contain all other nodes as parts.
+     */
+    private static final int ZONES = 100;
+    private static final int OBJECTS = 10000;
+
+    @Param({ "500000" })
+    public int nodes;
+
+    @Param({ "0.05" })
+    public float moving;
+
+    private int[] parents;
+    private Vector3f[] translations, scales;
+    private Quaternionf[] rotations;
+    private Matrix4x3f[] worlds;
+    private TransformHierarchyf hierarchy;
+    private int[] movers;
+    private float time;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(1);
+        parents = new int[nodes];
+        translations = new Vector3f[nodes];
+        scales = new Vector3f[nodes];
+        rotations = new Quaternionf[nodes];
+        worlds = new Matrix4x3f[nodes];
+        hierarchy = new TransformHierarchyf(nodes);
+        for (int i = 0; i < nodes; i++) {
+            parents[i] = i == 0 ? -1 : i <= ZONES ? 0 : i <= ZONES + OBJECTS ? 1 + rnd.nextInt(ZONES) : 1 + ZONES + rnd.nextInt(OBJECTS);
+            translations[i] = new Vector3f(rnd.nextFloat(), rnd.nextFloat(), rnd.nextFloat());
+            rotations[i] = new Quaternionf().rotateY(rnd.nextFloat());
+            scales[i] = new Vector3f(1.0f);
+            worlds[i] = new Matrix4x3f();
+            hierarchy.add(parents[i]);
+            hierarchy.set(i, translations[i], rotations[i], scales[i]);
+        }
+        hierarchy.update();
+        movers = new int[(int) (nodes * moving)];
+        for (int i = 0; i < movers.length; i++)
+            movers[i] = rnd.nextInt(nodes);
+    }
+
+    @Benchmark
+    public Object objects_recomputeAll() {
+        time += 0.01f;
+        for (int i = 0; i < movers.length; i++)
+            translations[movers[i]].x = time;
+        for (int i = 0; i < nodes; i++) {
+            worlds[i].translationRotateScale(translations[i], rotations[i], scales[i]);
+            if (parents[i] >= 0)
+                worlds[parents[i]].mul(worlds[i], worlds[i]);
+        }
+        return worlds;
+    }
+
+    @Benchmark
+    public int hierarchy_update() {
+        time += 0.01f;
+        for (int i = 0; i < movers.length; i++)
+            hierarchy.setTranslation(movers[i], time, 0.5f, 0.5f);
+        return hierarchy.update();
+    }
+
+    @Benchmark
+    public int hierarchy_updateParallel() {
+        time += 0.01f;
+        for (int i = 0; i < movers.length; i++)
+            hierarchy.setTranslation(movers[i], time, 0.5f, 0.5f);
+        return hierarchy.updateParallel();
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.joml.Vector3fList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares bulk operations on a {@link Vector3fList} with the same operations on a <code>Vector3f[]</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Vector3fListBenchmark {
+
+    @Param({ "65536", "1048576" })
+    public int size;
+
+    private Vector3f[] points, transformed;
+    private Vector3fList pointList, transformedList;
+    private final Matrix4f m = new Matrix4f().rotateXYZ(0.1f, 0.2f, 0.3f).translate(1, 2, 3);
+
+    @Setup
+    public void setup() {
+        java.util.Random rnd = new java.util.Random(42L);
+        points = new Vector3f[size];
+        transformed = new Vector3f[size];
+        pointList = new Vector3fList(size);
+        transformedList = new Vector3fList(size);
+        for (int i = 0; i < size; i++) {
+            points[i] = new Vector3f(rnd.nextFloat(), rnd.nextFloat(), rnd.nextFloat());
+            transformed[i] = new Vector3f();
+            pointList.append(points[i]);
+        }
+    }
+
+    @Benchmark
+    public Object array_mulPosition() {
+        for (int i = 0; i < size; i++)
+            points[i].mulPosition(m, transformed[i]);
+        return transformed;
+    }
+
+    @Benchmark
+    public Object list_mulPosition() {
+        return pointList.mulPosition(m, transformedList);
+    }
+
+    @Benchmark
+    public Object array_min() {
+        Vector3f min = new Vector3f(Float.POSITIVE_INFINITY);
+        for (int i = 0; i < size; i++)
+            min.min(points[i]);
+        return min;
+    }
+
+    @Benchmark
+    public Object list_min() {
+        return pointList.min(new Vector3f());
+    }
+
+}
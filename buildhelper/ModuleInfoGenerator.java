@@ -41,6 +41,8 @@ public class ModuleInfoGenerator implements Opcodes {
         ModuleVisitor mv = cw.visitModule("org.joml", 0, args[1]);
         mv.visitRequire("java.base", ACC_MANDATED, "9");
         mv.visitRequire("jdk.unsupported", ACC_STATIC_PHASE, null);
+        mv.visitRequire("jdk.incubator.vector", ACC_STATIC_PHASE, null);
+        mv.visitRequire("jdk.management", ACC_STATIC_PHASE, null);
         mv.visitExport("org/joml", 0, (String[]) null);
         mv.visitExport("org/joml/sampling", 0, (String[]) null);
         mv.visitEnd();
@@ -0,0 +1,340 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.internal;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of {@link Kernels} using the incubating Vector API of Java 16+.
+ * <p>
+ * Each kernel processes as many matrices at once as fit into the lanes of the preferred vector species of the current
+ * CPU and delegates the remaining matrices to the scalar kernels.
+ * <p>
+ * This class is only loaded via reflection by {@link Kernels#INSTANCE} when the <code>jdk.incubator.vector</code> module is
+ * available at runtime, for example via <code>--add-modules jdk.incubator.vector</code>.
+ */
+final class KernelsVector extends Kernels.KernelsScalar {
+    private static final VectorSpecies<Float> S = FloatVector.SPECIES_PREFERRED;
+
+    KernelsVector() {
+        selfTest();
+    }
+
+    /**
+     * Run all kernels once and compare their results against the scalar kernels.
+     * <p>
+     * The incubating Vector API changes between Java versions, so this resolves all API methods eagerly and
+     * makes {@link Kernels#INSTANCE} fall back to the scalar kernels if anything is missing or does not work as expected.
+     */
+    private void selfTest() {
+        int n = 2 * S.length() + 3;
+        float[] a = new float[16 * n], b = new float[16 * n], l = new float[16];
+        for (int k = 0; k < a.length; k++) {
+            a[k] = (k % 7) * 0.25f - 1.0f;
+            b[k] = (k % 5) * 0.5f + 0.125f;
+        }
+        // make the upper left 3x3 of all matrices in b diagonally dominant, so that they are invertible
+        for (int k = 0; k < 3 * n; k++)
+            b[k / n * 5 * n + k % n] += 4.0f;
+        for (int k = 0; k < 16; k++)
+            l[k] = k * 0.125f + 1.0f;
+        Kernels.KernelsScalar scalar = new Kernels.KernelsScalar();
+        float[] expected = new float[16 * n], actual = new float[16 * n];
+        scalar.mulGeneric(a, n, b, n, expected, n, 0, n);
+        mulGeneric(a, n, b, n, actual, n, 0, n);
+        check(expected, actual);
+        scalar.mulAffine(a, n, b, n, expected, n, 0, n);
+        mulAffine(a, n, b, n, actual, n, 0, n);
+        check(expected, actual);
+        scalar.mulLocalGeneric(l, b, n, expected, n, 0, n);
+        mulLocalGeneric(l, b, n, actual, n, 0, n);
+        check(expected, actual);
+        scalar.mulLocalAffine(l, b, n, expected, n, 0, n);
+        mulLocalAffine(l, b, n, actual, n, 0, n);
+        check(expected, actual);
+        scalar.invertAffine(b, n, expected, n, 0, n);
+        invertAffine(b, n, actual, n, 0, n);
+        check(expected, actual);
+    }
+
+    private static void check(float[] expected, float[] actual) {
+        for (int k = 0; k < expected.length; k++) {
+            float e = expected[k], delta = Math.abs(e - actual[k]);
+            if (!(delta <= 1E-5f * Math.max(1.0f, Math.abs(e))))
+                throw new UnsupportedOperationException("Vector API kernel results differ from scalar kernel results");
+        }
+    }
+
+    public void mulGeneric(float[] a, int as, float[] b, int bs, float[] d, int ds, int from, int to) {
+        int i = from;
+        for (int upper = from + S.loopBound(to - from); i < upper; i += S.length()) {
+            FloatVector a00 = FloatVector.fromArray(S, a, i);
+            FloatVector a01 = FloatVector.fromArray(S, a, i + as);
+            FloatVector a02 = FloatVector.fromArray(S, a, i + 2 * as);
+            FloatVector a03 = FloatVector.fromArray(S, a, i + 3 * as);
+            FloatVector a10 = FloatVector.fromArray(S, a, i + 4 * as);
+            FloatVector a11 = FloatVector.fromArray(S, a, i + 5 * as);
+            FloatVector a12 = FloatVector.fromArray(S, a, i + 6 * as);
+            FloatVector a13 = FloatVector.fromArray(S, a, i + 7 * as);
+            FloatVector a20 = FloatVector.fromArray(S, a, i + 8 * as);
+            FloatVector a21 = FloatVector.fromArray(S, a, i + 9 * as);
+            FloatVector a22 = FloatVector.fromArray(S, a, i + 10 * as);
+            FloatVector a23 = FloatVector.fromArray(S, a, i + 11 * as);
+            FloatVector a30 = FloatVector.fromArray(S, a, i + 12 * as);
+            FloatVector a31 = FloatVector.fromArray(S, a, i + 13 * as);
+            FloatVector a32 = FloatVector.fromArray(S, a, i + 14 * as);
+            FloatVector a33 = FloatVector.fromArray(S, a, i + 15 * as);
+            FloatVector b00 = FloatVector.fromArray(S, b, i);
+            FloatVector b01 = FloatVector.fromArray(S, b, i + bs);
+            FloatVector b02 = FloatVector.fromArray(S, b, i + 2 * bs);
+            FloatVector b03 = FloatVector.fromArray(S, b, i + 3 * bs);
+            FloatVector b10 = FloatVector.fromArray(S, b, i + 4 * bs);
+            FloatVector b11 = FloatVector.fromArray(S, b, i + 5 * bs);
+            FloatVector b12 = FloatVector.fromArray(S, b, i + 6 * bs);
+            FloatVector b13 = FloatVector.fromArray(S, b, i + 7 * bs);
+            FloatVector b20 = FloatVector.fromArray(S, b, i + 8 * bs);
+            FloatVector b21 = FloatVector.fromArray(S, b, i + 9 * bs);
+            FloatVector b22 = FloatVector.fromArray(S, b, i + 10 * bs);
+            FloatVector b23 = FloatVector.fromArray(S, b, i + 11 * bs);
+            FloatVector b30 = FloatVector.fromArray(S, b, i + 12 * bs);
+            FloatVector b31 = FloatVector.fromArray(S, b, i + 13 * bs);
+            FloatVector b32 = FloatVector.fromArray(S, b, i + 14 * bs);
+            FloatVector b33 = FloatVector.fromArray(S, b, i + 15 * bs);
+            a00.mul(b00).add(a10.mul(b01)).add(a20.mul(b02)).add(a30.mul(b03)).intoArray(d, i);
+            a01.mul(b00).add(a11.mul(b01)).add(a21.mul(b02)).add(a31.mul(b03)).intoArray(d, i + ds);
+            a02.mul(b00).add(a12.mul(b01)).add(a22.mul(b02)).add(a32.mul(b03)).intoArray(d, i + 2 * ds);
+            a03.mul(b00).add(a13.mul(b01)).add(a23.mul(b02)).add(a33.mul(b03)).intoArray(d, i + 3 * ds);
+            a00.mul(b10).add(a10.mul(b11)).add(a20.mul(b12)).add(a30.mul(b13)).intoArray(d, i + 4 * ds);
+            a01.mul(b10).add(a11.mul(b11)).add(a21.mul(b12)).add(a31.mul(b13)).intoArray(d, i + 5 * ds);
+            a02.mul(b10).add(a12.mul(b11)).add(a22.mul(b12)).add(a32.mul(b13)).intoArray(d, i + 6 * ds);
+            a03.mul(b10).add(a13.mul(b11)).add(a23.mul(b12)).add(a33.mul(b13)).intoArray(d, i + 7 * ds);
+            a00.mul(b20).add(a10.mul(b21)).add(a20.mul(b22)).add(a30.mul(b23)).intoArray(d, i + 8 * ds);
+            a01.mul(b20).add(a11.mul(b21)).add(a21.mul(b22)).add(a31.mul(b23)).intoArray(d, i + 9 * ds);
+            a02.mul(b20).add(a12.mul(b21)).add(a22.mul(b22)).add(a32.mul(b23)).intoArray(d, i + 10 * ds);
+            a03.mul(b20).add(a13.mul(b21)).add(a23.mul(b22)).add(a33.mul(b23)).intoArray(d, i + 11 * ds);
+            a00.mul(b30).add(a10.mul(b31)).add(a20.mul(b32)).add(a30.mul(b33)).intoArray(d, i + 12 * ds);
+            a01.mul(b30).add(a11.mul(b31)).add(a21.mul(b32)).add(a31.mul(b33)).intoArray(d, i + 13 * ds);
+            a02.mul(b30).add(a12.mul(b31)).add(a22.mul(b32)).add(a32.mul(b33)).intoArray(d, i + 14 * ds);
+            a03.mul(b30).add(a13.mul(b31)).add(a23.mul(b32)).add(a33.mul(b33)).intoArray(d, i + 15 * ds);
+        }
+        super.mulGeneric(a, as, b, bs, d, ds, i, to);
+    }
+
+    public void mulAffine(float[] a, int as, float[] b, int bs, float[] d, int ds, int from, int to) {
+        FloatVector ZERO = FloatVector.zero(S), ONE = FloatVector.broadcast(S, 1.0f);
+        int i = from;
+        for (int upper = from + S.loopBound(to - from); i < upper; i += S.length()) {
+            FloatVector a00 = FloatVector.fromArray(S, a, i);
+            FloatVector a01 = FloatVector.fromArray(S, a, i + as);
+            FloatVector a02 = FloatVector.fromArray(S, a, i + 2 * as);
+            FloatVector a10 = FloatVector.fromArray(S, a, i + 4 * as);
+            FloatVector a11 = FloatVector.fromArray(S, a, i + 5 * as);
+            FloatVector a12 = FloatVector.fromArray(S, a, i + 6 * as);
+            FloatVector a20 = FloatVector.fromArray(S, a, i + 8 * as);
+            FloatVector a21 = FloatVector.fromArray(S, a, i + 9 * as);
+            FloatVector a22 = FloatVector.fromArray(S, a, i + 10 * as);
+            FloatVector a30 = FloatVector.fromArray(S, a, i + 12 * as);
+            FloatVector a31 = FloatVector.fromArray(S, a, i + 13 * as);
+            FloatVector a32 = FloatVector.fromArray(S, a, i + 14 * as);
+            FloatVector b00 = FloatVector.fromArray(S, b, i);
+            FloatVector b01 = FloatVector.fromArray(S, b, i + bs);
+            FloatVector b02 = FloatVector.fromArray(S, b, i + 2 * bs);
+            FloatVector b10 = FloatVector.fromArray(S, b, i + 4 * bs);
+            FloatVector b11 = FloatVector.fromArray(S, b, i + 5 * bs);
+            FloatVector b12 = FloatVector.fromArray(S, b, i + 6 * bs);
+            FloatVector b20 = FloatVector.fromArray(S, b, i + 8 * bs);
+            FloatVector b21 = FloatVector.fromArray(S, b, i + 9 * bs);
+            FloatVector b22 = FloatVector.fromArray(S, b, i + 10 * bs);
+            FloatVector b30 = FloatVector.fromArray(S, b, i + 12 * bs);
+            FloatVector b31 = FloatVector.fromArray(S, b, i + 13 * bs);
+            FloatVector b32 = FloatVector.fromArray(S, b, i + 14 * bs);
+            a00.mul(b00).add(a10.mul(b01)).add(a20.mul(b02)).intoArray(d, i);
+            a01.mul(b00).add(a11.mul(b01)).add(a21.mul(b02)).intoArray(d, i + ds);
+            a02.mul(b00).add(a12.mul(b01)).add(a22.mul(b02)).intoArray(d, i + 2 * ds);
+            ZERO.intoArray(d, i + 3 * ds);
+            a00.mul(b10).add(a10.mul(b11)).add(a20.mul(b12)).intoArray(d, i + 4 * ds);
+            a01.mul(b10).add(a11.mul(b11)).add(a21.mul(b12)).intoArray(d, i + 5 * ds);
+            a02.mul(b10).add(a12.mul(b11)).add(a22.mul(b12)).intoArray(d, i + 6 * ds);
+            ZERO.intoArray(d, i + 7 * ds);
+            a00.mul(b20).add(a10.mul(b21)).add(a20.mul(b22)).intoArray(d, i + 8 * ds);
+            a01.mul(b20).add(a11.mul(b21)).add(a21.mul(b22)).intoArray(d, i + 9 * ds);
+            a02.mul(b20).add(a12.mul(b21)).add(a22.mul(b22)).intoArray(d, i + 10 * ds);
+            ZERO.intoArray(d, i + 11 * ds);
+            a00.mul(b30).add(a10.mul(b31)).add(a20.mul(b32)).add(a30).intoArray(d, i + 12 * ds);
+            a01.mul(b30).add(a11.mul(b31)).add(a21.mul(b32)).add(a31).intoArray(d, i + 13 * ds);
+            a02.mul(b30).add(a12.mul(b31)).add(a22.mul(b32)).add(a32).intoArray(d, i + 14 * ds);
+            ONE.intoArray(d, i + 15 * ds);
+        }
+        super.mulAffine(a, as, b, bs, d, ds, i, to);
+    }
+
+    public void mulLocalGeneric(float[] l, float[] b, int bs, float[] d, int ds, int from, int to) {
+        FloatVector l00 = FloatVector.broadcast(S, l[0]);
+        FloatVector l01 = FloatVector.broadcast(S, l[1]);
+        FloatVector l02 = FloatVector.broadcast(S, l[2]);
+        FloatVector l03 = FloatVector.broadcast(S, l[3]);
+        FloatVector l10 = FloatVector.broadcast(S, l[4]);
+        FloatVector l11 = FloatVector.broadcast(S, l[5]);
+        FloatVector l12 = FloatVector.broadcast(S, l[6]);
+        FloatVector l13 = FloatVector.broadcast(S, l[7]);
+        FloatVector l20 = FloatVector.broadcast(S, l[8]);
+        FloatVector l21 = FloatVector.broadcast(S, l[9]);
+        FloatVector l22 = FloatVector.broadcast(S, l[10]);
+        FloatVector l23 = FloatVector.broadcast(S, l[11]);
+        FloatVector l30 = FloatVector.broadcast(S, l[12]);
+        FloatVector l31 = FloatVector.broadcast(S, l[13]);
+        FloatVector l32 = FloatVector.broadcast(S, l[14]);
+        FloatVector l33 = FloatVector.broadcast(S, l[15]);
+        int i = from;
+        for (int upper = from + S.loopBound(to - from); i < upper; i += S.length()) {
+            FloatVector b00 = FloatVector.fromArray(S, b, i);
+            FloatVector b01 = FloatVector.fromArray(S, b, i + bs);
+            FloatVector b02 = FloatVector.fromArray(S, b, i + 2 * bs);
+            FloatVector b03 = FloatVector.fromArray(S, b, i + 3 * bs);
+            FloatVector b10 = FloatVector.fromArray(S, b, i + 4 * bs);
+            FloatVector b11 = FloatVector.fromArray(S, b, i + 5 * bs);
+            FloatVector b12 = FloatVector.fromArray(S, b, i + 6 * bs);
+            FloatVector b13 = FloatVector.fromArray(S, b, i + 7 * bs);
+            FloatVector b20 = FloatVector.fromArray(S, b, i + 8 * bs);
+            FloatVector b21 = FloatVector.fromArray(S, b, i + 9 * bs);
+            FloatVector b22 = FloatVector.fromArray(S, b, i + 10 * bs);
+            FloatVector b23 = FloatVector.fromArray(S, b, i + 11 * bs);
+            FloatVector b30 = FloatVector.fromArray(S, b, i + 12 * bs);
+            FloatVector b31 = FloatVector.fromArray(S, b, i + 13 * bs);
+            FloatVector b32 = FloatVector.fromArray(S, b, i + 14 * bs);
+            FloatVector b33 = FloatVector.fromArray(S, b, i + 15 * bs);
+            l00.mul(b00).add(l10.mul(b01)).add(l20.mul(b02)).add(l30.mul(b03)).intoArray(d, i);
+            l01.mul(b00).add(l11.mul(b01)).add(l21.mul(b02)).add(l31.mul(b03)).intoArray(d, i + ds);
+            l02.mul(b00).add(l12.mul(b01)).add(l22.mul(b02)).add(l32.mul(b03)).intoArray(d, i + 2 * ds);
+            l03.mul(b00).add(l13.mul(b01)).add(l23.mul(b02)).add(l33.mul(b03)).intoArray(d, i + 3 * ds);
+            l00.mul(b10).add(l10.mul(b11)).add(l20.mul(b12)).add(l30.mul(b13)).intoArray(d, i + 4 * ds);
+            l01.mul(b10).add(l11.mul(b11)).add(l21.mul(b12)).add(l31.mul(b13)).intoArray(d, i + 5 * ds);
+            l02.mul(b10).add(l12.mul(b11)).add(l22.mul(b12)).add(l32.mul(b13)).intoArray(d, i + 6 * ds);
+            l03.mul(b10).add(l13.mul(b11)).add(l23.mul(b12)).add(l33.mul(b13)).intoArray(d, i + 7 * ds);
+            l00.mul(b20).add(l10.mul(b21)).add(l20.mul(b22)).add(l30.mul(b23)).intoArray(d, i + 8 * ds);
+            l01.mul(b20).add(l11.mul(b21)).add(l21.mul(b22)).add(l31.mul(b23)).intoArray(d, i + 9 * ds);
+            l02.mul(b20).add(l12.mul(b21)).add(l22.mul(b22)).add(l32.mul(b23)).intoArray(d, i + 10 * ds);
+            l03.mul(b20).add(l13.mul(b21)).add(l23.mul(b22)).add(l33.mul(b23)).intoArray(d, i + 11 * ds);
+            l00.mul(b30).add(l10.mul(b31)).add(l20.mul(b32)).add(l30.mul(b33)).intoArray(d, i + 12 * ds);
+            l01.mul(b30).add(l11.mul(b31)).add(l21.mul(b32)).add(l31.mul(b33)).intoArray(d, i + 13 * ds);
+            l02.mul(b30).add(l12.mul(b31)).add(l22.mul(b32)).add(l32.mul(b33)).intoArray(d, i + 14 * ds);
+            l03.mul(b30).add(l13.mul(b31)).add(l23.mul(b32)).add(l33.mul(b33)).intoArray(d, i + 15 * ds);
+        }
+        super.mulLocalGeneric(l, b, bs, d, ds, i, to);
+    }
+
+    public void mulLocalAffine(float[] l, float[] b, int bs, float[] d, int ds, int from, int to) {
+        FloatVector ZERO = FloatVector.zero(S), ONE = FloatVector.broadcast(S, 1.0f);
+        FloatVector l00 = FloatVector.broadcast(S, l[0]);
+        FloatVector l01 = FloatVector.broadcast(S, l[1]);
+        FloatVector l02 = FloatVector.broadcast(S, l[2]);
+        FloatVector l10 = FloatVector.broadcast(S, l[4]);
+        FloatVector l11 = FloatVector.broadcast(S, l[5]);
+        FloatVector l12 = FloatVector.broadcast(S, l[6]);
+        FloatVector l20 = FloatVector.broadcast(S, l[8]);
+        FloatVector l21 = FloatVector.broadcast(S, l[9]);
+        FloatVector l22 = FloatVector.broadcast(S, l[10]);
+        FloatVector l30 = FloatVector.broadcast(S, l[12]);
+        FloatVector l31 = FloatVector.broadcast(S, l[13]);
+        FloatVector l32 = FloatVector.broadcast(S, l[14]);
+        int i = from;
+        for (int upper = from + S.loopBound(to - from); i < upper; i += S.length()) {
+            FloatVector b00 = FloatVector.fromArray(S, b, i);
+            FloatVector b01 = FloatVector.fromArray(S, b, i + bs);
+            FloatVector b02 = FloatVector.fromArray(S, b, i + 2 * bs);
+            FloatVector b10 = FloatVector.fromArray(S, b, i + 4 * bs);
+            FloatVector b11 = FloatVector.fromArray(S, b, i + 5 * bs);
+            FloatVector b12 = FloatVector.fromArray(S, b, i + 6 * bs);
+            FloatVector b20 = FloatVector.fromArray(S, b, i + 8 * bs);
+            FloatVector b21 = FloatVector.fromArray(S, b, i + 9 * bs);
+            FloatVector b22 = FloatVector.fromArray(S, b, i + 10 * bs);
+            FloatVector b30 = FloatVector.fromArray(S, b, i + 12 * bs);
+            FloatVector b31 = FloatVector.fromArray(S, b, i + 13 * bs);
+            FloatVector b32 = FloatVector.fromArray(S, b, i + 14 * bs);
+            l00.mul(b00).add(l10.mul(b01)).add(l20.mul(b02)).intoArray(d, i);
+            l01.mul(b00).add(l11.mul(b01)).add(l21.mul(b02)).intoArray(d, i + ds);
+            l02.mul(b00).add(l12.mul(b01)).add(l22.mul(b02)).intoArray(d, i + 2 * ds);
+            ZERO.intoArray(d, i + 3 * ds);
+            l00.mul(b10).add(l10.mul(b11)).add(l20.mul(b12)).intoArray(d, i + 4 * ds);
+            l01.mul(b10).add(l11.mul(b11)).add(l21.mul(b12)).intoArray(d, i + 5 * ds);
+            l02.mul(b10).add(l12.mul(b11)).add(l22.mul(b12)).intoArray(d, i + 6 * ds);
+            ZERO.intoArray(d, i + 7 * ds);
+            l00.mul(b20).add(l10.mul(b21)).add(l20.mul(b22)).intoArray(d, i + 8 * ds);
+            l01.mul(b20).add(l11.mul(b21)).add(l21.mul(b22)).intoArray(d, i + 9 * ds);
+            l02.mul(b20).add(l12.mul(b21)).add(l22.mul(b22)).intoArray(d, i + 10 * ds);
+            ZERO.intoArray(d, i + 11 * ds);
+            l00.mul(b30).add(l10.mul(b31)).add(l20.mul(b32)).add(l30).intoArray(d, i + 12 * ds);
+            l01.mul(b30).add(l11.mul(b31)).add(l21.mul(b32)).add(l31).intoArray(d, i + 13 * ds);
+            l02.mul(b30).add(l12.mul(b31)).add(l22.mul(b32)).add(l32).intoArray(d, i + 14 * ds);
+            ONE.intoArray(d, i + 15 * ds);
+        }
+        super.mulLocalAffine(l, b, bs, d, ds, i, to);
+    }
+
+    public void invertAffine(float[] a, int as, float[] d, int ds, int from, int to) {
+        FloatVector ZERO = FloatVector.zero(S), ONE = FloatVector.broadcast(S, 1.0f);
+        int i = from;
+        for (int upper = from + S.loopBound(to - from); i < upper; i += S.length()) {
+            FloatVector m00 = FloatVector.fromArray(S, a, i);
+            FloatVector m01 = FloatVector.fromArray(S, a, i + as);
+            FloatVector m02 = FloatVector.fromArray(S, a, i + 2 * as);
+            FloatVector m10 = FloatVector.fromArray(S, a, i + 4 * as);
+            FloatVector m11 = FloatVector.fromArray(S, a, i + 5 * as);
+            FloatVector m12 = FloatVector.fromArray(S, a, i + 6 * as);
+            FloatVector m20 = FloatVector.fromArray(S, a, i + 8 * as);
+            FloatVector m21 = FloatVector.fromArray(S, a, i + 9 * as);
+            FloatVector m22 = FloatVector.fromArray(S, a, i + 10 * as);
+            FloatVector m30 = FloatVector.fromArray(S, a, i + 12 * as);
+            FloatVector m31 = FloatVector.fromArray(S, a, i + 13 * as);
+            FloatVector m32 = FloatVector.fromArray(S, a, i + 14 * as);
+            FloatVector m11m00 = m00.mul(m11), m10m01 = m01.mul(m10), m10m02 = m02.mul(m10);
+            FloatVector m12m00 = m00.mul(m12), m12m01 = m01.mul(m12), m11m02 = m02.mul(m11);
+            FloatVector det = m11m00.sub(m10m01).mul(m22).add(m10m02.sub(m12m00).mul(m21)).add(m12m01.sub(m11m02).mul(m20));
+            FloatVector s = ONE.div(det);
+            FloatVector m10m22 = m10.mul(m22), m10m21 = m10.mul(m21), m11m22 = m11.mul(m22);
+            FloatVector m11m20 = m11.mul(m20), m12m21 = m12.mul(m21), m12m20 = m12.mul(m20);
+            FloatVector m20m02 = m20.mul(m02), m20m01 = m20.mul(m01), m21m02 = m21.mul(m02);
+            FloatVector m21m00 = m21.mul(m00), m22m01 = m22.mul(m01), m22m00 = m22.mul(m00);
+            m11m22.sub(m12m21).mul(s).intoArray(d, i);
+            m21m02.sub(m22m01).mul(s).intoArray(d, i + ds);
+            m12m01.sub(m11m02).mul(s).intoArray(d, i + 2 * ds);
+            ZERO.intoArray(d, i + 3 * ds);
+            m12m20.sub(m10m22).mul(s).intoArray(d, i + 4 * ds);
+            m22m00.sub(m20m02).mul(s).intoArray(d, i + 5 * ds);
+            m10m02.sub(m12m00).mul(s).intoArray(d, i + 6 * ds);
+            ZERO.intoArray(d, i + 7 * ds);
+            m10m21.sub(m11m20).mul(s).intoArray(d, i + 8 * ds);
+            m20m01.sub(m21m00).mul(s).intoArray(d, i + 9 * ds);
+            m11m00.sub(m10m01).mul(s).intoArray(d, i + 10 * ds);
+            ZERO.intoArray(d, i + 11 * ds);
+            m10m22.mul(m31).sub(m10m21.mul(m32)).add(m11m20.mul(m32)).sub(m11m22.mul(m30)).add(m12m21.mul(m30)).sub(m12m20.mul(m31)).mul(s).intoArray(d, i + 12 * ds);
+            m20m02.mul(m31).sub(m20m01.mul(m32)).add(m21m00.mul(m32)).sub(m21m02.mul(m30)).add(m22m01.mul(m30)).sub(m22m00.mul(m31)).mul(s).intoArray(d, i + 13 * ds);
+            m11m02.mul(m30).sub(m12m01.mul(m30)).add(m12m00.mul(m31)).sub(m10m02.mul(m31)).add(m10m01.mul(m32)).sub(m11m00.mul(m32)).mul(s).intoArray(d, i + 14 * ds);
+            ONE.intoArray(d, i + 15 * ds);
+        }
+        super.invertAffine(a, as, d, ds, i, to);
+    }
+
+}
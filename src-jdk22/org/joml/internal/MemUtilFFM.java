@@ -0,0 +1,743 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.internal;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.ref.WeakReference;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.joml.Matrix3f;
+import org.joml.Matrix3fc;
+import org.joml.Matrix4d;
+import org.joml.Matrix4dc;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Matrix4x3f;
+import org.joml.Matrix4x3fc;
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.joml.Vector4d;
+import org.joml.Vector4dc;
+import org.joml.Vector4f;
+import org.joml.Vector4fc;
+import org.joml.Vector4i;
+import org.joml.Vector4ic;
+
+/**
+ * {@link MemUtil} implementation accessing direct NIO buffers through {@link MemorySegment} views instead of
+ * <code>sun.misc.Unsafe</code>.
+ * <p>
+ * This class only exists in the Java 22 section of the multi-release jar and is loaded via reflection by
+ * {@link MemUtil} when requested via <code>joml.useffm</code>.
+ * <p>
+ * Each element is accessed with {@link MemorySegment#set(ValueLayout.OfFloat, long, float) set()} and
+ * {@link MemorySegment#get(ValueLayout.OfFloat, long) get()} using constant layouts, so that the JIT can fold their var handles.
+ * Wrapping a buffer in a segment costs more than writing a whole matrix, so the segment spanning the full capacity of the
+ * last buffer used by each thread is cached and the buffer limit is checked explicitly. Heap buffers, read-only buffers, buffers not in native
+ * byte order and accesses beyond the buffer limit are left to {@link MemUtil.MemUtilNIO}.
+ */
+final class MemUtilFFM extends MemUtil.MemUtilNIO {
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED;
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE_UNALIGNED;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+
+    private static final ByteOrder NATIVE = ByteOrder.nativeOrder();
+
+    /**
+     * A direct buffer together with the segment spanning its whole capacity.
+     * <p>
+     * The segment references the buffer memory, so instances are only ever held weakly by {@link MemUtilFFM#last}.
+     */
+    private static final class Wrapped {
+        final Buffer buffer;
+        final MemorySegment segment;
+        final boolean readOnly;
+        Wrapped(Buffer buffer) {
+            this.buffer = buffer;
+            this.segment = MemorySegment.ofBuffer(buffer.duplicate().clear());
+            this.readOnly = buffer.isReadOnly();
+        }
+    }
+
+    /**
+     * The direct buffer most recently accessed by the current thread, which typically is accessed again by the next call.
+     * <p>
+     * The reference is weak, so that the cache never keeps a buffer reachable which the application already dropped.
+     * A cleared reference just means that the next access wraps the buffer again.
+     */
+    private final ThreadLocal<WeakReference<Wrapped>> last = new ThreadLocal<WeakReference<Wrapped>>();
+
+    /**
+     * Return the segment spanning the whole capacity of the given buffer, or <code>null</code> if the elements
+     * <code>[index, index + count)</code> of the buffer cannot be accessed through it.
+     */
+    private MemorySegment segment(Buffer buffer, ByteOrder order, boolean write, int index, int count) {
+        if (order != NATIVE || index < 0 || index > buffer.limit() - count)
+            return null;
+        WeakReference<Wrapped> ref = last.get();
+        Wrapped w = ref != null ? ref.get() : null;
+        if (w == null || w.buffer != buffer) {
+            if (!buffer.isDirect())
+                return null;
+            w = new Wrapped(buffer);
+            last.set(new WeakReference<Wrapped>(w));
+        }
+        return write && w.readOnly ? null : w.segment;
+    }
+
+    private static void put(Matrix4fc m, MemorySegment dest, long offset) {
+        dest.set(FLOAT, offset, m.m00());
+        dest.set(FLOAT, offset + 4, m.m01());
+        dest.set(FLOAT, offset + 8, m.m02());
+        dest.set(FLOAT, offset + 12, m.m03());
+        dest.set(FLOAT, offset + 16, m.m10());
+        dest.set(FLOAT, offset + 20, m.m11());
+        dest.set(FLOAT, offset + 24, m.m12());
+        dest.set(FLOAT, offset + 28, m.m13());
+        dest.set(FLOAT, offset + 32, m.m20());
+        dest.set(FLOAT, offset + 36, m.m21());
+        dest.set(FLOAT, offset + 40, m.m22());
+        dest.set(FLOAT, offset + 44, m.m23());
+        dest.set(FLOAT, offset + 48, m.m30());
+        dest.set(FLOAT, offset + 52, m.m31());
+        dest.set(FLOAT, offset + 56, m.m32());
+        dest.set(FLOAT, offset + 60, m.m33());
+    }
+
+    private static void get(Matrix4f m, MemorySegment src, long offset) {
+        float m00 = src.get(FLOAT, offset);
+        float m01 = src.get(FLOAT, offset + 4);
+        float m02 = src.get(FLOAT, offset + 8);
+        float m03 = src.get(FLOAT, offset + 12);
+        float m10 = src.get(FLOAT, offset + 16);
+        float m11 = src.get(FLOAT, offset + 20);
+        float m12 = src.get(FLOAT, offset + 24);
+        float m13 = src.get(FLOAT, offset + 28);
+        float m20 = src.get(FLOAT, offset + 32);
+        float m21 = src.get(FLOAT, offset + 36);
+        float m22 = src.get(FLOAT, offset + 40);
+        float m23 = src.get(FLOAT, offset + 44);
+        float m30 = src.get(FLOAT, offset + 48);
+        float m31 = src.get(FLOAT, offset + 52);
+        float m32 = src.get(FLOAT, offset + 56);
+        float m33 = src.get(FLOAT, offset + 60);
+        m._m00(m00);
+        m._m01(m01);
+        m._m02(m02);
+        m._m03(m03);
+        m._m10(m10);
+        m._m11(m11);
+        m._m12(m12);
+        m._m13(m13);
+        m._m20(m20);
+        m._m21(m21);
+        m._m22(m22);
+        m._m23(m23);
+        m._m30(m30);
+        m._m31(m31);
+        m._m32(m32);
+        m._m33(m33);
+    }
+
+    private static void put(Matrix4x3fc m, MemorySegment dest, long offset) {
+        dest.set(FLOAT, offset, m.m00());
+        dest.set(FLOAT, offset + 4, m.m01());
+        dest.set(FLOAT, offset + 8, m.m02());
+        dest.set(FLOAT, offset + 12, m.m10());
+        dest.set(FLOAT, offset + 16, m.m11());
+        dest.set(FLOAT, offset + 20, m.m12());
+        dest.set(FLOAT, offset + 24, m.m20());
+        dest.set(FLOAT, offset + 28, m.m21());
+        dest.set(FLOAT, offset + 32, m.m22());
+        dest.set(FLOAT, offset + 36, m.m30());
+        dest.set(FLOAT, offset + 40, m.m31());
+        dest.set(FLOAT, offset + 44, m.m32());
+    }
+
+    private static void get(Matrix4x3f m, MemorySegment src, long offset) {
+        float m00 = src.get(FLOAT, offset);
+        float m01 = src.get(FLOAT, offset + 4);
+        float m02 = src.get(FLOAT, offset + 8);
+        float m10 = src.get(FLOAT, offset + 12);
+        float m11 = src.get(FLOAT, offset + 16);
+        float m12 = src.get(FLOAT, offset + 20);
+        float m20 = src.get(FLOAT, offset + 24);
+        float m21 = src.get(FLOAT, offset + 28);
+        float m22 = src.get(FLOAT, offset + 32);
+        float m30 = src.get(FLOAT, offset + 36);
+        float m31 = src.get(FLOAT, offset + 40);
+        float m32 = src.get(FLOAT, offset + 44);
+        m._m00(m00);
+        m._m01(m01);
+        m._m02(m02);
+        m._m10(m10);
+        m._m11(m11);
+        m._m12(m12);
+        m._m20(m20);
+        m._m21(m21);
+        m._m22(m22);
+        m._m30(m30);
+        m._m31(m31);
+        m._m32(m32);
+    }
+
+    private static void put(Matrix3fc m, MemorySegment dest, long offset) {
+        dest.set(FLOAT, offset, m.m00());
+        dest.set(FLOAT, offset + 4, m.m01());
+        dest.set(FLOAT, offset + 8, m.m02());
+        dest.set(FLOAT, offset + 12, m.m10());
+        dest.set(FLOAT, offset + 16, m.m11());
+        dest.set(FLOAT, offset + 20, m.m12());
+        dest.set(FLOAT, offset + 24, m.m20());
+        dest.set(FLOAT, offset + 28, m.m21());
+        dest.set(FLOAT, offset + 32, m.m22());
+    }
+
+    private static void get(Matrix3f m, MemorySegment src, long offset) {
+        float m00 = src.get(FLOAT, offset);
+        float m01 = src.get(FLOAT, offset + 4);
+        float m02 = src.get(FLOAT, offset + 8);
+        float m10 = src.get(FLOAT, offset + 12);
+        float m11 = src.get(FLOAT, offset + 16);
+        float m12 = src.get(FLOAT, offset + 20);
+        float m20 = src.get(FLOAT, offset + 24);
+        float m21 = src.get(FLOAT, offset + 28);
+        float m22 = src.get(FLOAT, offset + 32);
+        m._m00(m00);
+        m._m01(m01);
+        m._m02(m02);
+        m._m10(m10);
+        m._m11(m11);
+        m._m12(m12);
+        m._m20(m20);
+        m._m21(m21);
+        m._m22(m22);
+    }
+
+    private static void put(Matrix4dc m, MemorySegment dest, long offset) {
+        dest.set(DOUBLE, offset, m.m00());
+        dest.set(DOUBLE, offset + 8, m.m01());
+        dest.set(DOUBLE, offset + 16, m.m02());
+        dest.set(DOUBLE, offset + 24, m.m03());
+        dest.set(DOUBLE, offset + 32, m.m10());
+        dest.set(DOUBLE, offset + 40, m.m11());
+        dest.set(DOUBLE, offset + 48, m.m12());
+        dest.set(DOUBLE, offset + 56, m.m13());
+        dest.set(DOUBLE, offset + 64, m.m20());
+        dest.set(DOUBLE, offset + 72, m.m21());
+        dest.set(DOUBLE, offset + 80, m.m22());
+        dest.set(DOUBLE, offset + 88, m.m23());
+        dest.set(DOUBLE, offset + 96, m.m30());
+        dest.set(DOUBLE, offset + 104, m.m31());
+        dest.set(DOUBLE, offset + 112, m.m32());
+        dest.set(DOUBLE, offset + 120, m.m33());
+    }
+
+    private static void get(Matrix4d m, MemorySegment src, long offset) {
+        double m00 = src.get(DOUBLE, offset);
+        double m01 = src.get(DOUBLE, offset + 8);
+        double m02 = src.get(DOUBLE, offset + 16);
+        double m03 = src.get(DOUBLE, offset + 24);
+        double m10 = src.get(DOUBLE, offset + 32);
+        double m11 = src.get(DOUBLE, offset + 40);
+        double m12 = src.get(DOUBLE, offset + 48);
+        double m13 = src.get(DOUBLE, offset + 56);
+        double m20 = src.get(DOUBLE, offset + 64);
+        double m21 = src.get(DOUBLE, offset + 72);
+        double m22 = src.get(DOUBLE, offset + 80);
+        double m23 = src.get(DOUBLE, offset + 88);
+        double m30 = src.get(DOUBLE, offset + 96);
+        double m31 = src.get(DOUBLE, offset + 104);
+        double m32 = src.get(DOUBLE, offset + 112);
+        double m33 = src.get(DOUBLE, offset + 120);
+        m._m00(m00);
+        m._m01(m01);
+        m._m02(m02);
+        m._m03(m03);
+        m._m10(m10);
+        m._m11(m11);
+        m._m12(m12);
+        m._m13(m13);
+        m._m20(m20);
+        m._m21(m21);
+        m._m22(m22);
+        m._m23(m23);
+        m._m30(m30);
+        m._m31(m31);
+        m._m32(m32);
+        m._m33(m33);
+    }
+
+    private static void put(Vector4fc src, MemorySegment dest, long offset) {
+        dest.set(FLOAT, offset, src.x());
+        dest.set(FLOAT, offset + 4, src.y());
+        dest.set(FLOAT, offset + 8, src.z());
+        dest.set(FLOAT, offset + 12, src.w());
+    }
+
+    private static void get(Vector4f dst, MemorySegment src, long offset) {
+        dst.x = src.get(FLOAT, offset);
+        dst.y = src.get(FLOAT, offset + 4);
+        dst.z = src.get(FLOAT, offset + 8);
+        dst.w = src.get(FLOAT, offset + 12);
+    }
+
+    private static void put(Vector3fc src, MemorySegment dest, long offset) {
+        dest.set(FLOAT, offset, src.x());
+        dest.set(FLOAT, offset + 4, src.y());
+        dest.set(FLOAT, offset + 8, src.z());
+    }
+
+    private static void get(Vector3f dst, MemorySegment src, long offset) {
+        dst.x = src.get(FLOAT, offset);
+        dst.y = src.get(FLOAT, offset + 4);
+        dst.z = src.get(FLOAT, offset + 8);
+    }
+
+    private static void put(Vector2fc src, MemorySegment dest, long offset) {
+        dest.set(FLOAT, offset, src.x());
+        dest.set(FLOAT, offset + 4, src.y());
+    }
+
+    private static void get(Vector2f dst, MemorySegment src, long offset) {
+        dst.x = src.get(FLOAT, offset);
+        dst.y = src.get(FLOAT, offset + 4);
+    }
+
+    private static void put(Vector4dc src, MemorySegment dest, long offset) {
+        dest.set(DOUBLE, offset, src.x());
+        dest.set(DOUBLE, offset + 8, src.y());
+        dest.set(DOUBLE, offset + 16, src.z());
+        dest.set(DOUBLE, offset + 24, src.w());
+    }
+
+    private static void get(Vector4d dst, MemorySegment src, long offset) {
+        dst.x = src.get(DOUBLE, offset);
+        dst.y = src.get(DOUBLE, offset + 8);
+        dst.z = src.get(DOUBLE, offset + 16);
+        dst.w = src.get(DOUBLE, offset + 24);
+    }
+
+    private static void put(Vector3dc src, MemorySegment dest, long offset) {
+        dest.set(DOUBLE, offset, src.x());
+        dest.set(DOUBLE, offset + 8, src.y());
+        dest.set(DOUBLE, offset + 16, src.z());
+    }
+
+    private static void get(Vector3d dst, MemorySegment src, long offset) {
+        dst.x = src.get(DOUBLE, offset);
+        dst.y = src.get(DOUBLE, offset + 8);
+        dst.z = src.get(DOUBLE, offset + 16);
+    }
+
+    private static void put(Vector4ic src, MemorySegment dest, long offset) {
+        dest.set(INT, offset, src.x());
+        dest.set(INT, offset + 4, src.y());
+        dest.set(INT, offset + 8, src.z());
+        dest.set(INT, offset + 12, src.w());
+    }
+
+    private static void get(Vector4i dst, MemorySegment src, long offset) {
+        dst.x = src.get(INT, offset);
+        dst.y = src.get(INT, offset + 4);
+        dst.z = src.get(INT, offset + 8);
+        dst.w = src.get(INT, offset + 12);
+    }
+
+    private static void put(Vector3ic src, MemorySegment dest, long offset) {
+        dest.set(INT, offset, src.x());
+        dest.set(INT, offset + 4, src.y());
+        dest.set(INT, offset + 8, src.z());
+    }
+
+    private static void get(Vector3i dst, MemorySegment src, long offset) {
+        dst.x = src.get(INT, offset);
+        dst.y = src.get(INT, offset + 4);
+        dst.z = src.get(INT, offset + 8);
+    }
+
+    public void put(Matrix4f m, int offset, FloatBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 16);
+        if (segment != null)
+            put(m, segment, (long) offset << 2);
+        else
+            super.put(m, offset, dest);
+    }
+
+    public void get(Matrix4f m, int offset, FloatBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 16);
+        if (segment != null)
+            get(m, segment, (long) offset << 2);
+        else
+            super.get(m, offset, src);
+    }
+
+    public void put(Matrix4f m, int offset, ByteBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 64);
+        if (segment != null)
+            put(m, segment, offset);
+        else
+            super.put(m, offset, dest);
+    }
+
+    public void get(Matrix4f m, int offset, ByteBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 64);
+        if (segment != null)
+            get(m, segment, offset);
+        else
+            super.get(m, offset, src);
+    }
+
+    public void put(Matrix4x3f m, int offset, FloatBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 12);
+        if (segment != null)
+            put(m, segment, (long) offset << 2);
+        else
+            super.put(m, offset, dest);
+    }
+
+    public void get(Matrix4x3f m, int offset, FloatBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 12);
+        if (segment != null)
+            get(m, segment, (long) offset << 2);
+        else
+            super.get(m, offset, src);
+    }
+
+    public void put(Matrix4x3f m, int offset, ByteBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 48);
+        if (segment != null)
+            put(m, segment, offset);
+        else
+            super.put(m, offset, dest);
+    }
+
+    public void get(Matrix4x3f m, int offset, ByteBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 48);
+        if (segment != null)
+            get(m, segment, offset);
+        else
+            super.get(m, offset, src);
+    }
+
+    public void put(Matrix3f m, int offset, FloatBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 9);
+        if (segment != null)
+            put(m, segment, (long) offset << 2);
+        else
+            super.put(m, offset, dest);
+    }
+
+    public void get(Matrix3f m, int offset, FloatBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 9);
+        if (segment != null)
+            get(m, segment, (long) offset << 2);
+        else
+            super.get(m, offset, src);
+    }
+
+    public void put(Matrix3f m, int offset, ByteBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 36);
+        if (segment != null)
+            put(m, segment, offset);
+        else
+            super.put(m, offset, dest);
+    }
+
+    public void get(Matrix3f m, int offset, ByteBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 36);
+        if (segment != null)
+            get(m, segment, offset);
+        else
+            super.get(m, offset, src);
+    }
+
+    public void put(Matrix4d m, int offset, DoubleBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 16);
+        if (segment != null)
+            put(m, segment, (long) offset << 3);
+        else
+            super.put(m, offset, dest);
+    }
+
+    public void get(Matrix4d m, int offset, DoubleBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 16);
+        if (segment != null)
+            get(m, segment, (long) offset << 3);
+        else
+            super.get(m, offset, src);
+    }
+
+    public void put(Matrix4d m, int offset, ByteBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 128);
+        if (segment != null)
+            put(m, segment, offset);
+        else
+            super.put(m, offset, dest);
+    }
+
+    public void get(Matrix4d m, int offset, ByteBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 128);
+        if (segment != null)
+            get(m, segment, offset);
+        else
+            super.get(m, offset, src);
+    }
+
+    public void put(Vector4f src, int offset, FloatBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 4);
+        if (segment != null)
+            put(src, segment, (long) offset << 2);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector4f dst, int offset, FloatBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 4);
+        if (segment != null)
+            get(dst, segment, (long) offset << 2);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector4f src, int offset, ByteBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 16);
+        if (segment != null)
+            put(src, segment, offset);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector4f dst, int offset, ByteBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 16);
+        if (segment != null)
+            get(dst, segment, offset);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector3f src, int offset, FloatBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 3);
+        if (segment != null)
+            put(src, segment, (long) offset << 2);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector3f dst, int offset, FloatBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 3);
+        if (segment != null)
+            get(dst, segment, (long) offset << 2);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector3f src, int offset, ByteBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 12);
+        if (segment != null)
+            put(src, segment, offset);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector3f dst, int offset, ByteBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 12);
+        if (segment != null)
+            get(dst, segment, offset);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector2f src, int offset, FloatBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 2);
+        if (segment != null)
+            put(src, segment, (long) offset << 2);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector2f dst, int offset, FloatBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 2);
+        if (segment != null)
+            get(dst, segment, (long) offset << 2);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector2f src, int offset, ByteBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 8);
+        if (segment != null)
+            put(src, segment, offset);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector2f dst, int offset, ByteBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 8);
+        if (segment != null)
+            get(dst, segment, offset);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector4d src, int offset, DoubleBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 4);
+        if (segment != null)
+            put(src, segment, (long) offset << 3);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector4d dst, int offset, DoubleBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 4);
+        if (segment != null)
+            get(dst, segment, (long) offset << 3);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector4d src, int offset, ByteBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 32);
+        if (segment != null)
+            put(src, segment, offset);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector4d dst, int offset, ByteBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 32);
+        if (segment != null)
+            get(dst, segment, offset);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector3d src, int offset, DoubleBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 3);
+        if (segment != null)
+            put(src, segment, (long) offset << 3);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector3d dst, int offset, DoubleBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 3);
+        if (segment != null)
+            get(dst, segment, (long) offset << 3);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector3d src, int offset, ByteBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 24);
+        if (segment != null)
+            put(src, segment, offset);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector3d dst, int offset, ByteBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 24);
+        if (segment != null)
+            get(dst, segment, offset);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector4i src, int offset, IntBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 4);
+        if (segment != null)
+            put(src, segment, (long) offset << 2);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector4i dst, int offset, IntBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 4);
+        if (segment != null)
+            get(dst, segment, (long) offset << 2);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector4i src, int offset, ByteBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 16);
+        if (segment != null)
+            put(src, segment, offset);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector4i dst, int offset, ByteBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 16);
+        if (segment != null)
+            get(dst, segment, offset);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector3i src, int offset, IntBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 3);
+        if (segment != null)
+            put(src, segment, (long) offset << 2);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector3i dst, int offset, IntBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 3);
+        if (segment != null)
+            get(dst, segment, (long) offset << 2);
+        else
+            super.get(dst, offset, src);
+    }
+
+    public void put(Vector3i src, int offset, ByteBuffer dest) {
+        MemorySegment segment = segment(dest, dest.order(), true, offset, 12);
+        if (segment != null)
+            put(src, segment, offset);
+        else
+            super.put(src, offset, dest);
+    }
+
+    public void get(Vector3i dst, int offset, ByteBuffer src) {
+        MemorySegment segment = segment(src, src.order(), false, offset, 12);
+        if (segment != null)
+            get(dst, segment, offset);
+        else
+            super.get(dst, offset, src);
+    }
+}
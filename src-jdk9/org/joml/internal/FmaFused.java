@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.internal;
+
+/**
+ * Implementation of {@link Fma} using {@link Math#fma(float, float, float)} of Java 9+.
+ * <p>
+ * This class is only loaded via reflection by {@link Fma#INSTANCE} when {@link Options#USE_FMA} is not <code>false</code>.
+ */
+final class FmaFused extends Fma {
+    FmaFused() {
+        if (Options.USE_FMA == null && !hasFmaInstructions())
+            throw new UnsupportedOperationException("java.lang.Math.fma() is not intrinsified");
+    }
+
+    /**
+     * Determine whether the JVM compiles {@link Math#fma(float, float, float)} to a fused multiply-add instruction.
+     * <p>
+     * This reads the <code>UseFMA</code> flag of HotSpot, which is set when the CPU supports FMA. The module jdk.management
+     * providing it is optional, so it is looked up reflectively, and AArch64 is assumed to always support FMA when the flag
+     * cannot be read.
+     */
+    private static boolean hasFmaInstructions() {
+        try {
+            Class<?> beanClass = Class.forName("com.sun.management.HotSpotDiagnosticMXBean");
+            Object bean = Class.forName("java.lang.management.ManagementFactory").getMethod("getPlatformMXBean", Class.class)
+                    .invoke(null, beanClass);
+            Object option = beanClass.getMethod("getVMOption", String.class).invoke(bean, "UseFMA");
+            return Boolean.parseBoolean((String) Class.forName("com.sun.management.VMOption").getMethod("getValue").invoke(option));
+        } catch (Throwable e) {
+            return "aarch64".equals(System.getProperty("os.arch"));
+        }
+    }
+
+    public boolean isFused() {
+        return true;
+    }
+    public float fma(float a, float b, float c) {
+        return Math.fma(a, b, c);
+    }
+    public double fma(double a, double b, double c) {
+        return Math.fma(a, b, c);
+    }
+}
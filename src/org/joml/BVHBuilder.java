@@ -0,0 +1,237 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+/**
+ * Builds a bounding volume hierarchy over axis-aligned boxes with the surface area heuristic evaluated on a fixed number of bins.
+ * <p>
+ * The nodes are stored in depth-first order, so that the left child of an inner node immediately follows its parent. For every node
+ * <code>n</code>, {@link #nodes} holds at <code>3 * n</code> the index of the first primitive of the subtree in {@link #indices},
+ * at <code>3 * n + 1</code> the number of primitives in the subtree and at <code>3 * n + 2</code> the index of the right child,
+ * or <code>-1</code> if <code>n</code> is a leaf. {@link #bounds} holds the six min/max corner coordinates of each node.
+ * Since all primitives of a subtree are stored contiguously in {@link #indices}, a whole subtree can be processed without visiting its nodes.
+ */
+final class BVHBuilder {
+
+    private static final int BINS = 16;
+
+    /**
+     * The bounds of all nodes, six floats per node.
+     */
+    float[] bounds;
+    /**
+     * Three ints per node: first primitive, number of primitives and right child.
+     */
+    int[] nodes;
+    /**
+     * The primitive indices, ordered such that the primitives of each subtree are contiguous.
+     */
+    int[] indices;
+    /**
+     * The number of nodes.
+     */
+    int nodeCount;
+    /**
+     * The maximum depth of any leaf, with the root having depth <code>0</code>.
+     */
+    int depth;
+
+    /**
+     * Build a hierarchy over the <code>count</code> boxes stored as <code>(minX, minY, minZ, maxX, maxY, maxZ)</code> in <code>primBounds</code>.
+     * 
+     * @param primBounds
+     *          the bounds of the primitives
+     * @param count
+     *          the number of primitives
+     * @param maxLeafSize
+     *          the maximum number of primitives in a leaf
+     */
+    BVHBuilder(float[] primBounds, int count, int maxLeafSize) {
+        if (maxLeafSize < 1)
+            throw new IllegalArgumentException("maxLeafSize");
+        int maxNodes = Math.max(1, 2 * count - 1);
+        bounds = new float[maxNodes * 6];
+        nodes = new int[maxNodes * 3];
+        indices = new int[count];
+        float[] centroids = new float[count * 3];
+        for (int i = 0; i < count; i++) {
+            indices[i] = i;
+            centroids[i * 3] = (primBounds[i * 6] + primBounds[i * 6 + 3]) * 0.5f;
+            centroids[i * 3 + 1] = (primBounds[i * 6 + 1] + primBounds[i * 6 + 4]) * 0.5f;
+            centroids[i * 3 + 2] = (primBounds[i * 6 + 2] + primBounds[i * 6 + 5]) * 0.5f;
+        }
+        build(primBounds, centroids, count, maxLeafSize);
+        if (nodeCount < maxNodes) {
+            float[] b = new float[nodeCount * 6];
+            System.arraycopy(bounds, 0, b, 0, b.length);
+            bounds = b;
+            int[] n = new int[nodeCount * 3];
+            System.arraycopy(nodes, 0, n, 0, n.length);
+            nodes = n;
+        }
+    }
+
+    private void build(float[] primBounds, float[] centroids, int count, int maxLeafSize) {
+        /* Explicit stack of (parent, start, end, depth), where parent is the node whose right child is built, or -1 */
+        int[] stack = new int[64 * 4];
+        int sp = 0;
+        stack[sp++] = -1; stack[sp++] = 0; stack[sp++] = count; stack[sp++] = 0;
+        float[] binBounds = new float[BINS * 6];
+        int[] binCounts = new int[BINS];
+        float[] rightAreas = new float[BINS];
+        while (sp > 0) {
+            int d = stack[--sp], end = stack[--sp], start = stack[--sp], parent = stack[--sp];
+            int node = nodeCount++;
+            if (parent >= 0)
+                nodes[parent * 3 + 2] = node;
+            depth = Math.max(depth, d);
+            float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+            float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+            float cminX = Float.POSITIVE_INFINITY, cminY = Float.POSITIVE_INFINITY, cminZ = Float.POSITIVE_INFINITY;
+            float cmaxX = Float.NEGATIVE_INFINITY, cmaxY = Float.NEGATIVE_INFINITY, cmaxZ = Float.NEGATIVE_INFINITY;
+            for (int i = start; i < end; i++) {
+                int p = indices[i];
+                minX = Math.min(minX, primBounds[p * 6]);
+                minY = Math.min(minY, primBounds[p * 6 + 1]);
+                minZ = Math.min(minZ, primBounds[p * 6 + 2]);
+                maxX = Math.max(maxX, primBounds[p * 6 + 3]);
+                maxY = Math.max(maxY, primBounds[p * 6 + 4]);
+                maxZ = Math.max(maxZ, primBounds[p * 6 + 5]);
+                float cx = centroids[p * 3], cy = centroids[p * 3 + 1], cz = centroids[p * 3 + 2];
+                cminX = Math.min(cminX, cx); cmaxX = Math.max(cmaxX, cx);
+                cminY = Math.min(cminY, cy); cmaxY = Math.max(cmaxY, cy);
+                cminZ = Math.min(cminZ, cz); cmaxZ = Math.max(cmaxZ, cz);
+            }
+            bounds[node * 6] = minX; bounds[node * 6 + 1] = minY; bounds[node * 6 + 2] = minZ;
+            bounds[node * 6 + 3] = maxX; bounds[node * 6 + 4] = maxY; bounds[node * 6 + 5] = maxZ;
+            nodes[node * 3] = start;
+            nodes[node * 3 + 1] = end - start;
+            nodes[node * 3 + 2] = -1;
+            if (end - start <= maxLeafSize)
+                continue;
+            /* Split along the axis with the largest centroid extent */
+            int axis = 0;
+            float cmin = cminX, extent = cmaxX - cminX;
+            if (cmaxY - cminY > extent) {
+                axis = 1; cmin = cminY; extent = cmaxY - cminY;
+            }
+            if (cmaxZ - cminZ > extent) {
+                axis = 2; cmin = cminZ; extent = cmaxZ - cminZ;
+            }
+            int mid;
+            if (extent > 0.0f) {
+                mid = binnedSplit(primBounds, centroids, start, end, axis, cmin, extent, binBounds, binCounts, rightAreas);
+            } else {
+                /* All centroids coincide, so any split is as good as any other */
+                mid = (start + end) >>> 1;
+            }
+            if (sp + 8 > stack.length) {
+                int[] s = new int[stack.length * 2];
+                System.arraycopy(stack, 0, s, 0, sp);
+                stack = s;
+            }
+            /* Push the right child first, so that the left child is built next and gets index node + 1 */
+            stack[sp++] = node; stack[sp++] = mid; stack[sp++] = end; stack[sp++] = d + 1;
+            stack[sp++] = -1; stack[sp++] = start; stack[sp++] = mid; stack[sp++] = d + 1;
+        }
+    }
+
+    /**
+     * Partition <code>indices[start..end)</code> at the bin boundary with the lowest surface area heuristic cost and return the partition index.
+     */
+    private int binnedSplit(float[] primBounds, float[] centroids, int start, int end, int axis, float cmin, float extent,
+            float[] binBounds, int[] binCounts, float[] rightAreas) {
+        float scale = BINS * (1.0f - 1E-6f) / extent;
+        for (int b = 0; b < BINS; b++) {
+            binCounts[b] = 0;
+            binBounds[b * 6] = binBounds[b * 6 + 1] = binBounds[b * 6 + 2] = Float.POSITIVE_INFINITY;
+            binBounds[b * 6 + 3] = binBounds[b * 6 + 4] = binBounds[b * 6 + 5] = Float.NEGATIVE_INFINITY;
+        }
+        for (int i = start; i < end; i++) {
+            int p = indices[i];
+            int b = bin(centroids[p * 3 + axis] - cmin, scale);
+            binCounts[b]++;
+            for (int c = 0; c < 3; c++) {
+                binBounds[b * 6 + c] = Math.min(binBounds[b * 6 + c], primBounds[p * 6 + c]);
+                binBounds[b * 6 + 3 + c] = Math.max(binBounds[b * 6 + 3 + c], primBounds[p * 6 + 3 + c]);
+            }
+        }
+        /* Sweep from the right to get the area of all bins right of each boundary */
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for (int b = BINS - 1; b > 0; b--) {
+            minX = Math.min(minX, binBounds[b * 6]); minY = Math.min(minY, binBounds[b * 6 + 1]); minZ = Math.min(minZ, binBounds[b * 6 + 2]);
+            maxX = Math.max(maxX, binBounds[b * 6 + 3]); maxY = Math.max(maxY, binBounds[b * 6 + 4]); maxZ = Math.max(maxZ, binBounds[b * 6 + 5]);
+            rightAreas[b] = area(minX, minY, minZ, maxX, maxY, maxZ);
+        }
+        /* Sweep from the left and evaluate the cost of splitting left of each bin boundary */
+        minX = minY = minZ = Float.POSITIVE_INFINITY;
+        maxX = maxY = maxZ = Float.NEGATIVE_INFINITY;
+        int leftCount = 0, bestBin = -1;
+        float bestCost = Float.POSITIVE_INFINITY;
+        for (int b = 1; b < BINS; b++) {
+            int l = b - 1;
+            minX = Math.min(minX, binBounds[l * 6]); minY = Math.min(minY, binBounds[l * 6 + 1]); minZ = Math.min(minZ, binBounds[l * 6 + 2]);
+            maxX = Math.max(maxX, binBounds[l * 6 + 3]); maxY = Math.max(maxY, binBounds[l * 6 + 4]); maxZ = Math.max(maxZ, binBounds[l * 6 + 5]);
+            leftCount += binCounts[l];
+            int rightCount = end - start - leftCount;
+            if (leftCount == 0 || rightCount == 0)
+                continue;
+            float cost = area(minX, minY, minZ, maxX, maxY, maxZ) * leftCount + rightAreas[b] * rightCount;
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestBin = b;
+            }
+        }
+        if (bestBin < 0)
+            return (start + end) >>> 1;
+        /* Partition in place */
+        int i = start, j = end - 1;
+        while (i <= j) {
+            int p = indices[i];
+            if (bin(centroids[p * 3 + axis] - cmin, scale) < bestBin) {
+                i++;
+            } else {
+                indices[i] = indices[j];
+                indices[j--] = p;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Return the bin of a centroid at the given <code>offset</code> from the minimum centroid.
+     * <p>
+     * The index is clamped, because <code>scale</code> overflows to infinity for positive extents below about <code>1E-37</code>.
+     */
+    private static int bin(float offset, float scale) {
+        return Math.min(BINS - 1, (int) (offset * scale));
+    }
+
+    private static float area(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float dx = maxX - minX, dy = maxY - minY, dz = maxZ - minZ;
+        return dx * dy + dy * dz + dz * dx;
+    }
+
+}
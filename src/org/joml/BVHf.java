@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+/**
+ * A static bounding volume hierarchy over axis-aligned boxes, which allows to find all boxes visible in a frustum in time proportional
+ * to the number of visible boxes rather than to the number of all boxes.
+ * <p>
+ * The hierarchy is built once using the surface area heuristic and cannot be modified afterwards. Objects are identified by their index
+ * in the array of boxes given when building the hierarchy. Since a built hierarchy is never modified, it can be culled from multiple threads
+ * concurrently.
+ */
+public class BVHf {
+
+    private static final int ALL_PLANES = FrustumIntersection.PLANE_MASK_NX | FrustumIntersection.PLANE_MASK_PX |
+                                          FrustumIntersection.PLANE_MASK_NY | FrustumIntersection.PLANE_MASK_PY |
+                                          FrustumIntersection.PLANE_MASK_NZ | FrustumIntersection.PLANE_MASK_PZ;
+
+    private final float[] bounds;
+    private final int[] nodes;
+    private final int[] indices;
+    private final float[] objectBounds;
+    private final int depth;
+
+    /**
+     * Build a new {@link BVHf} over the given boxes with at most four boxes per leaf.
+     * 
+     * @param boxes
+     *          the axis-aligned boxes of the objects
+     */
+    public BVHf(AABBf[] boxes) {
+        this(boxes, 4);
+    }
+
+    /**
+     * Build a new {@link BVHf} over the given boxes.
+     * 
+     * @param boxes
+     *          the axis-aligned boxes of the objects
+     * @param maxLeafSize
+     *          the maximum number of boxes in a leaf of the hierarchy
+     */
+    public BVHf(AABBf[] boxes, int maxLeafSize) {
+        this(pack(boxes), 0, boxes.length, maxLeafSize);
+    }
+
+    /**
+     * Build a new {@link BVHf} over the <code>count</code> boxes stored in the given array.
+     * <p>
+     * The box <code>i</code> is stored as <code>(minX, minY, minZ, maxX, maxY, maxZ)</code> starting at <code>boxes[offset + 6 * i]</code>.
+     * 
+     * @param boxes
+     *          the packed min/max corner coordinates of the axis-aligned boxes
+     * @param offset
+     *          the array index of the first box
+     * @param count
+     *          the number of boxes
+     * @param maxLeafSize
+     *          the maximum number of boxes in a leaf of the hierarchy
+     */
+    public BVHf(float[] boxes, int offset, int count, int maxLeafSize) {
+        float[] primBounds = boxes;
+        if (offset != 0) {
+            primBounds = new float[count * 6];
+            System.arraycopy(boxes, offset, primBounds, 0, count * 6);
+        }
+        BVHBuilder builder = new BVHBuilder(primBounds, count, maxLeafSize);
+        this.bounds = builder.bounds;
+        this.nodes = builder.nodes;
+        this.indices = builder.indices;
+        this.depth = builder.depth;
+        this.objectBounds = new float[count * 6];
+        for (int i = 0; i < count; i++)
+            System.arraycopy(primBounds, indices[i] * 6, objectBounds, i * 6, 6);
+    }
+
+    private static float[] pack(AABBf[] boxes) {
+        float[] packed = new float[boxes.length * 6];
+        for (int i = 0; i < boxes.length; i++) {
+            AABBf b = boxes[i];
+            packed[i * 6] = b.minX;
+            packed[i * 6 + 1] = b.minY;
+            packed[i * 6 + 2] = b.minZ;
+            packed[i * 6 + 3] = b.maxX;
+            packed[i * 6 + 4] = b.maxY;
+            packed[i * 6 + 5] = b.maxZ;
+        }
+        return packed;
+    }
+
+    /**
+     * Return the number of objects in this hierarchy.
+     * 
+     * @return the number of objects
+     */
+    public int size() {
+        return indices.length;
+    }
+
+    /**
+     * Store the bounds of all objects in this hierarchy in <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf getBounds(AABBf dest) {
+        dest.minX = bounds[0];
+        dest.minY = bounds[1];
+        dest.minZ = bounds[2];
+        dest.maxX = bounds[3];
+        dest.maxY = bounds[4];
+        dest.maxZ = bounds[5];
+        return dest;
+    }
+
+    /**
+     * Determine all objects whose boxes are partly or completely inside of the frustum of the given {@link FrustumIntersection} and store
+     * their indices at the beginning of <code>dest</code>.
+     * <p>
+     * The hierarchy is traversed from the root and each node is tested only against the frustum planes intersecting its parent,
+     * as returned by {@link FrustumIntersection#intersectAabPlanes(float, float, float, float, float, float, int)}.
+     * Subtrees completely outside of the frustum are skipped and subtrees completely inside of it are added without visiting their nodes.
+     * The result is the same as testing every box with {@link FrustumIntersection#testAab(float, float, float, float, float, float)},
+     * but the indices are not sorted.
+     * 
+     * @param frustum
+     *          the frustum to cull against
+     * @param dest
+     *          will hold the indices of the visible objects. Its length must be at least the number of visible objects,
+     *          which is at most {@link #size()}
+     * @return the number of visible objects, which is the number of indices written to <code>dest</code>
+     */
+    public int frustumCull(FrustumIntersection frustum, int[] dest) {
+        if (indices.length == 0)
+            return 0;
+        int[] stack = new int[(depth + 1) * 2];
+        int sp = 0, n = 0;
+        stack[sp++] = 0;
+        stack[sp++] = ALL_PLANES;
+        while (sp > 0) {
+            int mask = stack[--sp], node = stack[--sp];
+            int b = node * 6;
+            mask = frustum.intersectAabPlanes(bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3], bounds[b + 4], bounds[b + 5], mask);
+            if (mask < 0)
+                continue;
+            int first = nodes[node * 3], count = nodes[node * 3 + 1], right = nodes[node * 3 + 2];
+            if (mask == 0) {
+                System.arraycopy(indices, first, dest, n, count);
+                n += count;
+            } else if (right < 0) {
+                for (int i = first, o = first * 6; i < first + count; i++, o += 6) {
+                    if (frustum.intersectAabPlanes(objectBounds[o], objectBounds[o + 1], objectBounds[o + 2],
+                                                   objectBounds[o + 3], objectBounds[o + 4], objectBounds[o + 5], mask) >= 0)
+                        dest[n++] = indices[i];
+                }
+            } else {
+                stack[sp++] = right;
+                stack[sp++] = mask;
+                stack[sp++] = node + 1;
+                stack[sp++] = mask;
+            }
+        }
+        return n;
+    }
+
+}
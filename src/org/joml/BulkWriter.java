@@ -0,0 +1,1558 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+//#ifdef __HAS_NIO__
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+//#ifdef __HAS_UNSAFE__
+import java.nio.ByteOrder;
+//#endif
+import java.nio.FloatBuffer;
+
+import org.joml.internal.MemUtil;
+//#ifdef __HAS_UNSAFE__
+import org.joml.internal.Options;
+//#endif
+
+/**
+ * Writes whole arrays of matrices, vectors, quaternions and dual quaternions into a single NIO buffer or off-heap memory
+ * region, such as per-instance data for instanced rendering or skinning palettes.
+ * <p>
+ * Every call checks the bounds of the destination only once for all elements and then writes each element with the same
+ * kernel that {@link Matrix4f#get(int, FloatBuffer)} and friends use. Elements are written with a fixed stride, so that they
+ * can be interleaved with other per-instance attributes.
+ * <p>
+ * All indices and strides of {@link FloatBuffer} methods are given in floats, and those of {@link ByteBuffer} and
+ * off-heap memory methods in bytes. A stride of <code>0</code> packs the elements tightly.
+ * <p>
+ * The <code>putPacked()</code> methods convert every component into a compact vertex format, such as half floats, normalized
+ * integers or octahedral-encoded unit vectors, which shrinks vertex and instance streams by a factor of two to four.
+ * Multi-byte values are written in native byte order when writing to off-heap memory or direct buffers, and in the
+ * byte order of the buffer otherwise.
+ */
+public final class BulkWriter {
+
+    /**
+     * Layout writing a 4x4 matrix as 16 floats in column-major order.
+     * <p>
+     * For {@link Matrix4x3fc} the last row is <code>(0, 0, 0, 1)</code>.
+     */
+    public static final int LAYOUT_4X4 = 0;
+    /**
+     * Layout writing the upper 4x3 submatrix as 12 floats in column-major order.
+     */
+    public static final int LAYOUT_4X3 = 1;
+    /**
+     * Layout writing the left 3x4 submatrix as 12 floats in column-major order.
+     * <p>
+     * For {@link Matrix4x3fc} this is the left 3x3 submatrix with the fourth row being zero.
+     */
+    public static final int LAYOUT_3X4 = 2;
+    /**
+     * Layout writing a 4x4 matrix as 16 floats in row-major order.
+     * <p>
+     * This layout is not supported for {@link Matrix4x3fc}.
+     */
+    public static final int LAYOUT_4X4_TRANSPOSED = 3;
+    /**
+     * Layout writing the upper 4x3 submatrix as 12 floats in row-major order.
+     */
+    public static final int LAYOUT_4X3_TRANSPOSED = 4;
+
+    /**
+     * Format writing every component as an IEEE 754 half-precision float of 2 bytes.
+     * <p>
+     * Values are rounded to nearest even, and values whose magnitude is too large for a half float become infinity.
+     */
+    public static final int FORMAT_HALF = 0;
+    /**
+     * Format writing every component as an unsigned normalized byte, mapping <code>[0..1]</code> to <code>[0..255]</code>.
+     */
+    public static final int FORMAT_UNORM8 = 1;
+    /**
+     * Format writing every component as a signed normalized byte, mapping <code>[-1..+1]</code> to <code>[-127..+127]</code>.
+     */
+    public static final int FORMAT_SNORM8 = 2;
+    /**
+     * Format writing every component as an unsigned normalized short, mapping <code>[0..1]</code> to <code>[0..65535]</code>.
+     */
+    public static final int FORMAT_UNORM16 = 3;
+    /**
+     * Format writing every component as a signed normalized short, mapping <code>[-1..+1]</code> to <code>[-32767..+32767]</code>.
+     */
+    public static final int FORMAT_SNORM16 = 4;
+    /**
+     * Format writing three or four components as unsigned normalized integers into a single 32-bit integer, with
+     * <code>x</code> in bits 0..9, <code>y</code> in bits 10..19, <code>z</code> in bits 20..29 and <code>w</code> in bits 30..31,
+     * as expected by <code>GL_UNSIGNED_INT_2_10_10_10_REV</code>.
+     * <p>
+     * For three components <code>w</code> is zero.
+     */
+    public static final int FORMAT_UNORM_10_10_10_2 = 5;
+    /**
+     * Format writing three or four components as signed normalized integers into a single 32-bit integer, with
+     * <code>x</code> in bits 0..9, <code>y</code> in bits 10..19, <code>z</code> in bits 20..29 and <code>w</code> in bits 30..31,
+     * as expected by <code>GL_INT_2_10_10_10_REV</code>.
+     * <p>
+     * For three components <code>w</code> is zero.
+     */
+    public static final int FORMAT_SNORM_10_10_10_2 = 6;
+    /**
+     * Format writing a unit vector of three components as its octahedral encoding in two signed normalized bytes.
+     * <p>
+     * The vector is projected onto the octahedron <code>|x| + |y| + |z| = 1</code>, whose lower half is folded over the upper
+     * half, giving two coordinates in <code>[-1..+1]</code>. The vector does not need to be normalized.
+     */
+    public static final int FORMAT_OCTAHEDRAL_SNORM8 = 7;
+    /**
+     * Format writing a unit vector of three components as its octahedral encoding in two signed normalized shorts.
+     * 
+     * @see #FORMAT_OCTAHEDRAL_SNORM8
+     */
+    public static final int FORMAT_OCTAHEDRAL_SNORM16 = 8;
+
+    private static final int KIND_FLOATS = 0;
+    private static final int KIND_VECTOR2 = 1;
+    private static final int KIND_VECTOR3 = 2;
+    private static final int KIND_VECTOR4 = 3;
+    private static final int KIND_QUATERNION = 4;
+    private static final int KIND_MATRIX4X3 = 5;
+
+    private BulkWriter() {
+    }
+
+    /**
+     * Return the number of floats of a single matrix written with the given layout.
+     * 
+     * @param layout
+     *          one of {@link #LAYOUT_4X4}, {@link #LAYOUT_4X3}, {@link #LAYOUT_3X4}, {@link #LAYOUT_4X4_TRANSPOSED}
+     *          or {@link #LAYOUT_4X3_TRANSPOSED}
+     * @return the number of floats
+     */
+    public static int floats(int layout) {
+        switch (layout) {
+        case LAYOUT_4X4:
+        case LAYOUT_4X4_TRANSPOSED:
+            return 16;
+        case LAYOUT_4X3:
+        case LAYOUT_3X4:
+        case LAYOUT_4X3_TRANSPOSED:
+            return 12;
+        default:
+            throw new IllegalArgumentException("layout");
+        }
+    }
+
+    /**
+     * Return the number of bytes of a single element of <code>components</code> floats written with the given format.
+     * 
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class
+     * @param components
+     *          the number of components of an element, such as <code>3</code> for a {@link Vector3fc} or <code>12</code>
+     *          for a {@link Matrix4x3fc}
+     * @return the number of bytes
+     * @throws IllegalArgumentException
+     *          if the format cannot be used with the given number of components
+     */
+    public static int bytes(int format, int components) {
+        if (components < 1)
+            throw new IllegalArgumentException("components");
+        switch (format) {
+        case FORMAT_UNORM8:
+        case FORMAT_SNORM8:
+            return components;
+        case FORMAT_HALF:
+        case FORMAT_UNORM16:
+        case FORMAT_SNORM16:
+            return components << 1;
+        case FORMAT_UNORM_10_10_10_2:
+        case FORMAT_SNORM_10_10_10_2:
+            if (components == 3 || components == 4)
+                return 4;
+            break;
+        case FORMAT_OCTAHEDRAL_SNORM8:
+            if (components == 3)
+                return 2;
+            break;
+        case FORMAT_OCTAHEDRAL_SNORM16:
+            if (components == 3)
+                return 4;
+            break;
+        }
+        throw new IllegalArgumentException("format");
+    }
+
+    /**
+     * Convert the given float to the bits of the nearest IEEE 754 half-precision float.
+     * <p>
+     * Values are rounded to nearest even, values whose magnitude is too large become infinity, and <code>NaN</code>
+     * stays <code>NaN</code>.
+     * 
+     * @param f
+     *          the float to convert
+     * @return the half float bits
+     */
+    public static short floatToHalf(float f) {
+        int bits = Float.floatToRawIntBits(f);
+        int sign = (bits >>> 16) & 0x8000;
+        int abs = bits & 0x7FFFFFFF;
+        /* normal half float: rebias the exponent and round the mantissa to nearest even */
+        int normal = (abs - 0x38000000 + 0xFFF + ((abs >>> 13) & 1)) >>> 13;
+        /* subnormal half float or zero: adding 0.5 lets the FPU round the mantissa to the precision of a half float */
+        int subnormal = Float.floatToRawIntBits(Float.intBitsToFloat(abs) + 0.5f) - 0x3F000000;
+        /* both are computed and then selected, since branching on the magnitude mispredicts on mixed data */
+        int h = abs < 0x38800000 ? subnormal : normal;
+        if (abs >= 0x47800000) {
+            /* at least 65536, infinity or NaN */
+            h = abs > 0x7F800000 ? 0x7E00 : 0x7C00;
+        }
+        return (short) (sign | h);
+    }
+
+    /**
+     * Convert the given IEEE 754 half-precision float bits to a float.
+     * 
+     * @param h
+     *          the half float bits
+     * @return the float value
+     */
+    public static float halfToFloat(short h) {
+        int sign = (h & 0x8000) << 16;
+        int exponent = (h >>> 10) & 0x1F;
+        int mantissa = h & 0x3FF;
+        if (exponent == 0) {
+            float f = mantissa * 5.9604645E-8f;
+            return sign != 0 ? -f : f;
+        }
+        if (exponent == 31)
+            return Float.intBitsToFloat(sign | 0x7F800000 | mantissa << 13);
+        return Float.intBitsToFloat(sign | (exponent + 112) << 23 | mantissa << 13);
+    }
+
+    private static int check(int srcOffset, int count, int srcLength, int index, int stride, int size, long limit) {
+        if (srcOffset < 0 || count < 0 || srcOffset + count > srcLength)
+            throw new ArrayIndexOutOfBoundsException();
+        if (stride == 0)
+            stride = size;
+        else if (stride < size)
+            throw new IllegalArgumentException("stride");
+        if (index < 0)
+            throw new IndexOutOfBoundsException();
+        if (count > 0 && index + (long) (count - 1) * stride + size > limit)
+            throw new BufferOverflowException();
+        return stride;
+    }
+
+//#ifdef __HAS_UNSAFE__
+    private static MemUtil.MemUtilUnsafe unsafe(Buffer buffer) {
+        MemUtil mem = MemUtil.INSTANCE;
+        return buffer.isDirect() && mem instanceof MemUtil.MemUtilUnsafe ? (MemUtil.MemUtilUnsafe) mem : null;
+    }
+    private static MemUtil.MemUtilUnsafe unsafe() {
+        if (Options.NO_UNSAFE)
+            throw new UnsupportedOperationException("Not supported when using joml.nounsafe");
+        return (MemUtil.MemUtilUnsafe) MemUtil.INSTANCE;
+    }
+//#endif
+
+    private static Matrix4f matrix4f(Matrix4fc m, Matrix4f[] tmp) {
+        if (m instanceof Matrix4f)
+            return (Matrix4f) m;
+        if (tmp[0] == null)
+            tmp[0] = new Matrix4f();
+        return tmp[0].set(m);
+    }
+    private static Matrix4x3f matrix4x3f(Matrix4x3fc m, Matrix4x3f[] tmp) {
+        if (m instanceof Matrix4x3f)
+            return (Matrix4x3f) m;
+        if (tmp[0] == null)
+            tmp[0] = new Matrix4x3f();
+        return tmp[0].set(m);
+    }
+    private static Vector3f vector3f(Vector3fc v, Vector3f[] tmp) {
+        if (v instanceof Vector3f)
+            return (Vector3f) v;
+        if (tmp[0] == null)
+            tmp[0] = new Vector3f();
+        return tmp[0].set(v);
+    }
+    private static Vector4f vector4f(Vector4fc v, Vector4f[] tmp) {
+        if (v instanceof Vector4f)
+            return (Vector4f) v;
+        if (tmp[0] == null)
+            tmp[0] = new Vector4f();
+        return tmp[0].set(v);
+    }
+    private static DualQuaternionf dualQuaternionf(DualQuaternionfc q, DualQuaternionf[] tmp) {
+        if (q instanceof DualQuaternionf)
+            return (DualQuaternionf) q;
+        if (tmp[0] == null)
+            tmp[0] = new DualQuaternionf();
+        return tmp[0].set(q);
+    }
+    private static void checkLayout4x3(int layout) {
+        if (layout == LAYOUT_4X4_TRANSPOSED)
+            throw new IllegalArgumentException("layout");
+    }
+
+    /**
+     * Store <code>count</code> matrices of <code>src</code>, starting at <code>srcOffset</code>, into <code>dest</code> using the
+     * given <code>layout</code>, starting at the absolute float index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param src
+     *          the matrices
+     * @param srcOffset
+     *          the index of the first matrix in <code>src</code>
+     * @param count
+     *          the number of matrices to store
+     * @param layout
+     *          one of {@link #LAYOUT_4X4}, {@link #LAYOUT_4X3}, {@link #LAYOUT_3X4}, {@link #LAYOUT_4X4_TRANSPOSED}
+     *          or {@link #LAYOUT_4X3_TRANSPOSED}
+     * @param dest
+     *          will receive the matrices
+     * @param index
+     *          the absolute float index of the first matrix in <code>dest</code>
+     * @param stride
+     *          the number of floats between the starts of two consecutive matrices, or <code>0</code> for {@link #floats(int)}
+     * @return dest
+     */
+    public static FloatBuffer put(Matrix4fc[] src, int srcOffset, int count, int layout, FloatBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, floats(layout), dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, layout, unsafe.addressOf(dest) + ((long) index << 2), (long) stride << 2);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        Matrix4f[] tmp = new Matrix4f[1];
+        for (int i = 0; i < count; i++, index += stride) {
+            Matrix4f m = matrix4f(src[srcOffset + i], tmp);
+            switch (layout) {
+            case LAYOUT_4X4: mem.put(m, index, dest); break;
+            case LAYOUT_4X3: mem.put4x3(m, index, dest); break;
+            case LAYOUT_3X4: mem.put3x4(m, index, dest); break;
+            case LAYOUT_4X4_TRANSPOSED: mem.putTransposed(m, index, dest); break;
+            default: mem.put4x3Transposed(m, index, dest); break;
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> matrices of <code>src</code>, starting at <code>srcOffset</code>, into <code>dest</code> using the
+     * given <code>layout</code>, starting at the absolute byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the matrices
+     * @param srcOffset
+     *          the index of the first matrix in <code>src</code>
+     * @param count
+     *          the number of matrices to store
+     * @param layout
+     *          one of {@link #LAYOUT_4X4}, {@link #LAYOUT_4X3}, {@link #LAYOUT_3X4}, {@link #LAYOUT_4X4_TRANSPOSED}
+     *          or {@link #LAYOUT_4X3_TRANSPOSED}
+     * @param dest
+     *          will receive the matrices
+     * @param index
+     *          the absolute byte index of the first matrix in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive matrices, or <code>0</code> to pack them tightly
+     * @return dest
+     */
+    public static ByteBuffer put(Matrix4fc[] src, int srcOffset, int count, int layout, ByteBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, floats(layout) << 2, dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, layout, unsafe.addressOf(dest) + index, stride);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        Matrix4f[] tmp = new Matrix4f[1];
+        for (int i = 0; i < count; i++, index += stride) {
+            Matrix4f m = matrix4f(src[srcOffset + i], tmp);
+            switch (layout) {
+            case LAYOUT_4X4: mem.put(m, index, dest); break;
+            case LAYOUT_4X3: mem.put4x3(m, index, dest); break;
+            case LAYOUT_3X4: mem.put3x4(m, index, dest); break;
+            case LAYOUT_4X4_TRANSPOSED: mem.putTransposed(m, index, dest); break;
+            default: mem.put4x3Transposed(m, index, dest); break;
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> matrices of <code>src</code>, starting at <code>srcOffset</code>, into <code>dest</code> using the
+     * given <code>layout</code>, starting at the absolute float index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param src
+     *          the matrices
+     * @param srcOffset
+     *          the index of the first matrix in <code>src</code>
+     * @param count
+     *          the number of matrices to store
+     * @param layout
+     *          one of {@link #LAYOUT_4X4}, {@link #LAYOUT_4X3}, {@link #LAYOUT_3X4} or {@link #LAYOUT_4X3_TRANSPOSED}
+     * @param dest
+     *          will receive the matrices
+     * @param index
+     *          the absolute float index of the first matrix in <code>dest</code>
+     * @param stride
+     *          the number of floats between the starts of two consecutive matrices, or <code>0</code> for {@link #floats(int)}
+     * @return dest
+     */
+    public static FloatBuffer put(Matrix4x3fc[] src, int srcOffset, int count, int layout, FloatBuffer dest, int index, int stride) {
+        checkLayout4x3(layout);
+        stride = check(srcOffset, count, src.length, index, stride, floats(layout), dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, layout, unsafe.addressOf(dest) + ((long) index << 2), (long) stride << 2);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        Matrix4x3f[] tmp = new Matrix4x3f[1];
+        for (int i = 0; i < count; i++, index += stride) {
+            Matrix4x3f m = matrix4x3f(src[srcOffset + i], tmp);
+            switch (layout) {
+            case LAYOUT_4X4: mem.put4x4(m, index, dest); break;
+            case LAYOUT_4X3: mem.put(m, index, dest); break;
+            case LAYOUT_3X4: mem.put3x4(m, index, dest); break;
+            default: mem.putTransposed(m, index, dest); break;
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> matrices of <code>src</code>, starting at <code>srcOffset</code>, into <code>dest</code> using the
+     * given <code>layout</code>, starting at the absolute byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the matrices
+     * @param srcOffset
+     *          the index of the first matrix in <code>src</code>
+     * @param count
+     *          the number of matrices to store
+     * @param layout
+     *          one of {@link #LAYOUT_4X4}, {@link #LAYOUT_4X3}, {@link #LAYOUT_3X4} or {@link #LAYOUT_4X3_TRANSPOSED}
+     * @param dest
+     *          will receive the matrices
+     * @param index
+     *          the absolute byte index of the first matrix in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive matrices, or <code>0</code> to pack them tightly
+     * @return dest
+     */
+    public static ByteBuffer put(Matrix4x3fc[] src, int srcOffset, int count, int layout, ByteBuffer dest, int index, int stride) {
+        checkLayout4x3(layout);
+        stride = check(srcOffset, count, src.length, index, stride, floats(layout) << 2, dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, layout, unsafe.addressOf(dest) + index, stride);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        Matrix4x3f[] tmp = new Matrix4x3f[1];
+        for (int i = 0; i < count; i++, index += stride) {
+            Matrix4x3f m = matrix4x3f(src[srcOffset + i], tmp);
+            switch (layout) {
+            case LAYOUT_4X4: mem.put4x4(m, index, dest); break;
+            case LAYOUT_4X3: mem.put(m, index, dest); break;
+            case LAYOUT_3X4: mem.put3x4(m, index, dest); break;
+            default: mem.putTransposed(m, index, dest); break;
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z)</code> into
+     * <code>dest</code>, starting at the absolute float index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param dest
+     *          will receive the vectors
+     * @param index
+     *          the absolute float index of the first vector in <code>dest</code>
+     * @param stride
+     *          the number of floats between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     * @return dest
+     */
+    public static FloatBuffer put(Vector3fc[] src, int srcOffset, int count, FloatBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, 3, dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, unsafe.addressOf(dest) + ((long) index << 2), (long) stride << 2);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        Vector3f[] tmp = new Vector3f[1];
+        for (int i = 0; i < count; i++, index += stride)
+            mem.put(vector3f(src[srcOffset + i], tmp), index, dest);
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z)</code> into
+     * <code>dest</code>, starting at the absolute byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param dest
+     *          will receive the vectors
+     * @param index
+     *          the absolute byte index of the first vector in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     * @return dest
+     */
+    public static ByteBuffer put(Vector3fc[] src, int srcOffset, int count, ByteBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, 3 << 2, dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, unsafe.addressOf(dest) + index, stride);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        Vector3f[] tmp = new Vector3f[1];
+        for (int i = 0; i < count; i++, index += stride)
+            mem.put(vector3f(src[srcOffset + i], tmp), index, dest);
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z, w)</code> into
+     * <code>dest</code>, starting at the absolute float index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param dest
+     *          will receive the vectors
+     * @param index
+     *          the absolute float index of the first vector in <code>dest</code>
+     * @param stride
+     *          the number of floats between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     * @return dest
+     */
+    public static FloatBuffer put(Vector4fc[] src, int srcOffset, int count, FloatBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, 4, dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, unsafe.addressOf(dest) + ((long) index << 2), (long) stride << 2);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        Vector4f[] tmp = new Vector4f[1];
+        for (int i = 0; i < count; i++, index += stride)
+            mem.put(vector4f(src[srcOffset + i], tmp), index, dest);
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z, w)</code> into
+     * <code>dest</code>, starting at the absolute byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param dest
+     *          will receive the vectors
+     * @param index
+     *          the absolute byte index of the first vector in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     * @return dest
+     */
+    public static ByteBuffer put(Vector4fc[] src, int srcOffset, int count, ByteBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, 4 << 2, dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, unsafe.addressOf(dest) + index, stride);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        Vector4f[] tmp = new Vector4f[1];
+        for (int i = 0; i < count; i++, index += stride)
+            mem.put(vector4f(src[srcOffset + i], tmp), index, dest);
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> quaternions of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z, w)</code> into
+     * <code>dest</code>, starting at the absolute float index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param src
+     *          the quaternions
+     * @param srcOffset
+     *          the index of the first quaternion in <code>src</code>
+     * @param count
+     *          the number of quaternions to store
+     * @param dest
+     *          will receive the quaternions
+     * @param index
+     *          the absolute float index of the first quaternion in <code>dest</code>
+     * @param stride
+     *          the number of floats between the starts of two consecutive quaternions, or <code>0</code> to pack them tightly
+     * @return dest
+     */
+    public static FloatBuffer put(Quaternionfc[] src, int srcOffset, int count, FloatBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, 4, dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, unsafe.addressOf(dest) + ((long) index << 2), (long) stride << 2);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        Vector4f v = new Vector4f();
+        for (int i = 0; i < count; i++, index += stride) {
+            Quaternionfc q = src[srcOffset + i];
+            mem.put(v.set(q.x(), q.y(), q.z(), q.w()), index, dest);
+        }
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> quaternions of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z, w)</code> into
+     * <code>dest</code>, starting at the absolute byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the quaternions
+     * @param srcOffset
+     *          the index of the first quaternion in <code>src</code>
+     * @param count
+     *          the number of quaternions to store
+     * @param dest
+     *          will receive the quaternions
+     * @param index
+     *          the absolute byte index of the first quaternion in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive quaternions, or <code>0</code> to pack them tightly
+     * @return dest
+     */
+    public static ByteBuffer put(Quaternionfc[] src, int srcOffset, int count, ByteBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, 4 << 2, dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, unsafe.addressOf(dest) + index, stride);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        Vector4f v = new Vector4f();
+        for (int i = 0; i < count; i++, index += stride) {
+            Quaternionfc q = src[srcOffset + i];
+            mem.put(v.set(q.x(), q.y(), q.z(), q.w()), index, dest);
+        }
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> dual quaternions of <code>src</code>, starting at <code>srcOffset</code>, as
+     * <code>(x, y, z, w, dx, dy, dz, dw)</code> into <code>dest</code>, starting at the absolute float index <code>index</code>.
+     * <p>
+     * This is meant for uploading a dual quaternion skinning palette, which needs 8 floats per bone instead of the 12 floats
+     * of a {@link #LAYOUT_4X3} matrix palette.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param src
+     *          the dual quaternions
+     * @param srcOffset
+     *          the index of the first dual quaternion in <code>src</code>
+     * @param count
+     *          the number of dual quaternions to store
+     * @param dest
+     *          will receive the dual quaternions
+     * @param index
+     *          the absolute float index of the first dual quaternion in <code>dest</code>
+     * @param stride
+     *          the number of floats between the starts of two consecutive dual quaternions, or <code>0</code> to pack them tightly
+     * @return dest
+     */
+    public static FloatBuffer put(DualQuaternionfc[] src, int srcOffset, int count, FloatBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, 8, dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, unsafe.addressOf(dest) + ((long) index << 2), (long) stride << 2);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        DualQuaternionf[] tmp = new DualQuaternionf[1];
+        for (int i = 0; i < count; i++, index += stride)
+            mem.put(dualQuaternionf(src[srcOffset + i], tmp), index, dest);
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> dual quaternions of <code>src</code>, starting at <code>srcOffset</code>, as
+     * <code>(x, y, z, w, dx, dy, dz, dw)</code> into <code>dest</code>, starting at the absolute byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @see #put(DualQuaternionfc[], int, int, FloatBuffer, int, int)
+     * 
+     * @param src
+     *          the dual quaternions
+     * @param srcOffset
+     *          the index of the first dual quaternion in <code>src</code>
+     * @param count
+     *          the number of dual quaternions to store
+     * @param dest
+     *          will receive the dual quaternions
+     * @param index
+     *          the absolute byte index of the first dual quaternion in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive dual quaternions, or <code>0</code> to pack them tightly
+     * @return dest
+     */
+    public static ByteBuffer put(DualQuaternionfc[] src, int srcOffset, int count, ByteBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, 8 << 2, dest.limit());
+//#ifdef __HAS_UNSAFE__
+        MemUtil.MemUtilUnsafe unsafe = unsafe(dest);
+        if (unsafe != null) {
+            put(unsafe, src, srcOffset, count, unsafe.addressOf(dest) + index, stride);
+            return dest;
+        }
+//#endif
+        MemUtil mem = MemUtil.INSTANCE;
+        DualQuaternionf[] tmp = new DualQuaternionf[1];
+        for (int i = 0; i < count; i++, index += stride)
+            mem.put(dualQuaternionf(src[srcOffset + i], tmp), index, dest);
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y)</code> converted into the
+     * given <code>format</code> into <code>dest</code>, starting at the absolute byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports 2 components
+     * @param dest
+     *          will receive the vectors
+     * @param index
+     *          the absolute byte index of the first vector in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     * @return dest
+     * @see #bytes(int, int)
+     */
+    public static ByteBuffer putPacked(Vector2fc[] src, int srcOffset, int count, int format, ByteBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, bytes(format, 2), dest.limit());
+        putPacked(src, KIND_VECTOR2, 2, srcOffset, count, format, dest, index, stride);
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z)</code> converted into the
+     * given <code>format</code> into <code>dest</code>, starting at the absolute byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports 3 components
+     * @param dest
+     *          will receive the vectors
+     * @param index
+     *          the absolute byte index of the first vector in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     * @return dest
+     * @see #bytes(int, int)
+     */
+    public static ByteBuffer putPacked(Vector3fc[] src, int srcOffset, int count, int format, ByteBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, bytes(format, 3), dest.limit());
+        putPacked(src, KIND_VECTOR3, 3, srcOffset, count, format, dest, index, stride);
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z, w)</code> converted into the
+     * given <code>format</code> into <code>dest</code>, starting at the absolute byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports 4 components
+     * @param dest
+     *          will receive the vectors
+     * @param index
+     *          the absolute byte index of the first vector in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     * @return dest
+     * @see #bytes(int, int)
+     */
+    public static ByteBuffer putPacked(Vector4fc[] src, int srcOffset, int count, int format, ByteBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, bytes(format, 4), dest.limit());
+        putPacked(src, KIND_VECTOR4, 4, srcOffset, count, format, dest, index, stride);
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> quaternions of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z, w)</code> converted into the
+     * given <code>format</code> into <code>dest</code>, starting at the absolute byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the quaternions
+     * @param srcOffset
+     *          the index of the first quaternion in <code>src</code>
+     * @param count
+     *          the number of quaternions to store
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports 4 components
+     * @param dest
+     *          will receive the quaternions
+     * @param index
+     *          the absolute byte index of the first quaternion in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive quaternions, or <code>0</code> to pack them tightly
+     * @return dest
+     * @see #bytes(int, int)
+     */
+    public static ByteBuffer putPacked(Quaternionfc[] src, int srcOffset, int count, int format, ByteBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, bytes(format, 4), dest.limit());
+        putPacked(src, KIND_QUATERNION, 4, srcOffset, count, format, dest, index, stride);
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> matrices of <code>src</code>, starting at <code>srcOffset</code>, as the 12 elements of the {@link #LAYOUT_4X3} layout converted into the
+     * given <code>format</code> into <code>dest</code>, starting at the absolute byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the matrices
+     * @param srcOffset
+     *          the index of the first matrix in <code>src</code>
+     * @param count
+     *          the number of matrices to store
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports 12 components
+     * @param dest
+     *          will receive the matrices
+     * @param index
+     *          the absolute byte index of the first matrix in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive matrices, or <code>0</code> to pack them tightly
+     * @return dest
+     * @see #bytes(int, int)
+     */
+    public static ByteBuffer putPacked(Matrix4x3fc[] src, int srcOffset, int count, int format, ByteBuffer dest, int index, int stride) {
+        stride = check(srcOffset, count, src.length, index, stride, bytes(format, 12), dest.limit());
+        putPacked(src, KIND_MATRIX4X3, 12, srcOffset, count, format, dest, index, stride);
+        return dest;
+    }
+
+    /**
+     * Store <code>count</code> elements of <code>components</code> consecutive floats of <code>src</code>, starting at the float
+     * index <code>srcOffset</code>, converted into the given <code>format</code> into <code>dest</code>, starting at the absolute
+     * byte index <code>index</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the components of all elements
+     * @param srcOffset
+     *          the index of the first component of the first element in <code>src</code>
+     * @param count
+     *          the number of elements to store
+     * @param components
+     *          the number of components of an element, in <code>[1..4]</code>
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports the given number of components
+     * @param dest
+     *          will receive the elements
+     * @param index
+     *          the absolute byte index of the first element in <code>dest</code>
+     * @param stride
+     *          the number of bytes between the starts of two consecutive elements, or <code>0</code> to pack them tightly
+     * @return dest
+     * @see #bytes(int, int)
+     */
+    public static ByteBuffer putPacked(float[] src, int srcOffset, int count, int components, int format, ByteBuffer dest, int index, int stride) {
+        stride = checkFloats(src, srcOffset, count, components, index, stride, format, dest.limit());
+        putPacked(src, KIND_FLOATS, components, srcOffset, count, format, dest, index, stride);
+        return dest;
+    }
+
+    private static int checkFloats(float[] src, int srcOffset, int count, int components, int index, int stride, int format, long limit) {
+        if (components < 1 || components > 4)
+            throw new IllegalArgumentException("components");
+        if (srcOffset < 0 || count < 0 || srcOffset + (long) count * components > src.length)
+            throw new ArrayIndexOutOfBoundsException();
+        return check(0, count, count, index, stride, bytes(format, components), limit);
+    }
+
+    /**
+     * Return the size in bytes of the single values written for the given <code>format</code>, which is also their required alignment.
+     */
+    private static int alignment(int format) {
+        switch (format) {
+        case FORMAT_UNORM8:
+        case FORMAT_SNORM8:
+        case FORMAT_OCTAHEDRAL_SNORM8:
+            return 1;
+        case FORMAT_UNORM_10_10_10_2:
+        case FORMAT_SNORM_10_10_10_2:
+            return 4;
+        default:
+            return 2;
+        }
+    }
+
+    private static void putPacked(Object src, int kind, int components, int srcOffset, int count, int format,
+                                  ByteBuffer buffer, long position, long stride) {
+//#ifdef __HAS_UNSAFE__
+        /*
+         * Unsafe writes shorts and ints as single accesses, which fault on CPUs without unaligned access support,
+         * so off-heap memory must be aligned, and direct buffers fall back to NIO in native byte order when not aligned.
+         */
+        long mask = alignment(format) - 1;
+        if (buffer == null) {
+            if (((position | stride) & mask) != 0)
+                throw new IllegalArgumentException("alignment");
+        } else {
+            MemUtil.MemUtilUnsafe unsafe = unsafe(buffer);
+            if (unsafe != null) {
+                long address = unsafe.addressOf(buffer) + position;
+                if (((address | stride) & mask) == 0) {
+                    position = address;
+                    buffer = null;
+                } else {
+                    buffer = buffer.duplicate().order(ByteOrder.nativeOrder());
+                }
+            }
+        }
+//#endif
+        float[] c = new float[12];
+        for (int i = 0; i < count; i++, position += stride) {
+            gather(src, kind, components, srcOffset, i, c);
+            switch (format) {
+            case FORMAT_HALF:
+                for (int j = 0; j < components; j++)
+                    put(buffer, position + (j << 1), floatToHalf(c[j]));
+                break;
+            case FORMAT_UNORM8:
+                for (int j = 0; j < components; j++)
+                    put(buffer, position + j, (byte) unorm(c[j], 255.0f));
+                break;
+            case FORMAT_SNORM8:
+                for (int j = 0; j < components; j++)
+                    put(buffer, position + j, (byte) snorm(c[j], 127.0f));
+                break;
+            case FORMAT_UNORM16:
+                for (int j = 0; j < components; j++)
+                    put(buffer, position + (j << 1), (short) unorm(c[j], 65535.0f));
+                break;
+            case FORMAT_SNORM16:
+                for (int j = 0; j < components; j++)
+                    put(buffer, position + (j << 1), (short) snorm(c[j], 32767.0f));
+                break;
+            case FORMAT_UNORM_10_10_10_2:
+                put(buffer, position, unorm(c[0], 1023.0f) | unorm(c[1], 1023.0f) << 10 | unorm(c[2], 1023.0f) << 20
+                                    | (components == 4 ? unorm(c[3], 3.0f) << 30 : 0));
+                break;
+            case FORMAT_SNORM_10_10_10_2:
+                put(buffer, position, snorm(c[0], 511.0f) & 0x3FF | (snorm(c[1], 511.0f) & 0x3FF) << 10
+                                    | (snorm(c[2], 511.0f) & 0x3FF) << 20 | (components == 4 ? snorm(c[3], 1.0f) << 30 : 0));
+                break;
+            case FORMAT_OCTAHEDRAL_SNORM8:
+                octahedral(c);
+                put(buffer, position, (byte) snorm(c[0], 127.0f));
+                put(buffer, position + 1, (byte) snorm(c[1], 127.0f));
+                break;
+            default:
+                octahedral(c);
+                put(buffer, position, (short) snorm(c[0], 32767.0f));
+                put(buffer, position + 2, (short) snorm(c[1], 32767.0f));
+                break;
+            }
+        }
+    }
+
+    private static void gather(Object src, int kind, int components, int srcOffset, int i, float[] c) {
+        switch (kind) {
+        case KIND_FLOATS:
+            System.arraycopy((float[]) src, srcOffset + i * components, c, 0, components);
+            break;
+        case KIND_VECTOR2: {
+            Vector2fc v = ((Vector2fc[]) src)[srcOffset + i];
+            c[0] = v.x(); c[1] = v.y();
+            break;
+        }
+        case KIND_VECTOR3: {
+            Vector3fc v = ((Vector3fc[]) src)[srcOffset + i];
+            c[0] = v.x(); c[1] = v.y(); c[2] = v.z();
+            break;
+        }
+        case KIND_VECTOR4: {
+            Vector4fc v = ((Vector4fc[]) src)[srcOffset + i];
+            c[0] = v.x(); c[1] = v.y(); c[2] = v.z(); c[3] = v.w();
+            break;
+        }
+        case KIND_QUATERNION: {
+            Quaternionfc q = ((Quaternionfc[]) src)[srcOffset + i];
+            c[0] = q.x(); c[1] = q.y(); c[2] = q.z(); c[3] = q.w();
+            break;
+        }
+        default: {
+            Matrix4x3fc m = ((Matrix4x3fc[]) src)[srcOffset + i];
+            c[0] = m.m00(); c[1] = m.m01(); c[2] = m.m02();
+            c[3] = m.m10(); c[4] = m.m11(); c[5] = m.m12();
+            c[6] = m.m20(); c[7] = m.m21(); c[8] = m.m22();
+            c[9] = m.m30(); c[10] = m.m31(); c[11] = m.m32();
+            break;
+        }
+        }
+    }
+
+    private static int unorm(float v, float scale) {
+        float clamped = v > 1.0f ? 1.0f : v > 0.0f ? v : 0.0f;
+        return (int) (clamped * scale + 0.5f);
+    }
+    private static int snorm(float v, float scale) {
+        float clamped = v > 1.0f ? 1.0f : v > -1.0f ? v : -1.0f;
+        return (int) (clamped * scale + (clamped < 0.0f ? -0.5f : 0.5f));
+    }
+
+    /**
+     * Replace the vector in <code>c[0..2]</code> by its octahedral encoding in <code>c[0..1]</code>.
+     */
+    private static void octahedral(float[] c) {
+        float x = c[0], y = c[1], z = c[2];
+        float l1 = Math.abs(x) + Math.abs(y) + Math.abs(z);
+        if (l1 == 0.0f) {
+            c[0] = 0.0f;
+            c[1] = 0.0f;
+            return;
+        }
+        float u = x / l1, v = y / l1;
+        if (z < 0.0f) {
+            float fu = (1.0f - Math.abs(v)) * (u >= 0.0f ? 1.0f : -1.0f);
+            float fv = (1.0f - Math.abs(u)) * (v >= 0.0f ? 1.0f : -1.0f);
+            u = fu;
+            v = fv;
+        }
+        c[0] = u;
+        c[1] = v;
+    }
+
+    /*
+     * The following methods write to off-heap memory when buffer is null, and into buffer otherwise.
+     */
+    private static void put(ByteBuffer buffer, long position, byte value) {
+//#ifdef __HAS_UNSAFE__
+        if (buffer == null) {
+            MemUtil.MemUtilUnsafe.UNSAFE.putByte(null, position, value);
+            return;
+        }
+//#endif
+        buffer.put((int) position, value);
+    }
+    private static void put(ByteBuffer buffer, long position, short value) {
+//#ifdef __HAS_UNSAFE__
+        if (buffer == null) {
+            MemUtil.MemUtilUnsafe.UNSAFE.putShort(null, position, value);
+            return;
+        }
+//#endif
+        buffer.putShort((int) position, value);
+    }
+    private static void put(ByteBuffer buffer, long position, int value) {
+//#ifdef __HAS_UNSAFE__
+        if (buffer == null) {
+            MemUtil.MemUtilUnsafe.UNSAFE.putInt(null, position, value);
+            return;
+        }
+//#endif
+        buffer.putInt((int) position, value);
+    }
+
+//#ifdef __HAS_UNSAFE__
+    /**
+     * Store <code>count</code> matrices of <code>src</code>, starting at <code>srcOffset</code>, into off-heap memory at the given
+     * <code>address</code> using the given <code>layout</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * 
+     * @param src
+     *          the matrices
+     * @param srcOffset
+     *          the index of the first matrix in <code>src</code>
+     * @param count
+     *          the number of matrices to store
+     * @param layout
+     *          one of {@link #LAYOUT_4X4}, {@link #LAYOUT_4X3}, {@link #LAYOUT_3X4}, {@link #LAYOUT_4X4_TRANSPOSED}
+     *          or {@link #LAYOUT_4X3_TRANSPOSED}
+     * @param address
+     *          the off-heap address of the first matrix
+     * @param stride
+     *          the number of bytes between the starts of two consecutive matrices, or <code>0</code> to pack them tightly
+     */
+    public static void put(Matrix4fc[] src, int srcOffset, int count, int layout, long address, int stride) {
+        stride = check(srcOffset, count, src.length, 0, stride, floats(layout) << 2, Long.MAX_VALUE);
+        put(unsafe(), src, srcOffset, count, layout, address, stride);
+    }
+
+    /**
+     * Store <code>count</code> matrices of <code>src</code>, starting at <code>srcOffset</code>, into off-heap memory at the given
+     * <code>address</code> using the given <code>layout</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * 
+     * @param src
+     *          the matrices
+     * @param srcOffset
+     *          the index of the first matrix in <code>src</code>
+     * @param count
+     *          the number of matrices to store
+     * @param layout
+     *          one of {@link #LAYOUT_4X4}, {@link #LAYOUT_4X3}, {@link #LAYOUT_3X4} or {@link #LAYOUT_4X3_TRANSPOSED}
+     * @param address
+     *          the off-heap address of the first matrix
+     * @param stride
+     *          the number of bytes between the starts of two consecutive matrices, or <code>0</code> to pack them tightly
+     */
+    public static void put(Matrix4x3fc[] src, int srcOffset, int count, int layout, long address, int stride) {
+        checkLayout4x3(layout);
+        stride = check(srcOffset, count, src.length, 0, stride, floats(layout) << 2, Long.MAX_VALUE);
+        put(unsafe(), src, srcOffset, count, layout, address, stride);
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z)</code> into
+     * off-heap memory at the given <code>address</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param address
+     *          the off-heap address of the first vector
+     * @param stride
+     *          the number of bytes between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     */
+    public static void put(Vector3fc[] src, int srcOffset, int count, long address, int stride) {
+        stride = check(srcOffset, count, src.length, 0, stride, 3 << 2, Long.MAX_VALUE);
+        put(unsafe(), src, srcOffset, count, address, stride);
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z, w)</code> into
+     * off-heap memory at the given <code>address</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param address
+     *          the off-heap address of the first vector
+     * @param stride
+     *          the number of bytes between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     */
+    public static void put(Vector4fc[] src, int srcOffset, int count, long address, int stride) {
+        stride = check(srcOffset, count, src.length, 0, stride, 4 << 2, Long.MAX_VALUE);
+        put(unsafe(), src, srcOffset, count, address, stride);
+    }
+
+    /**
+     * Store <code>count</code> quaternions of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z, w)</code> into
+     * off-heap memory at the given <code>address</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * 
+     * @param src
+     *          the quaternions
+     * @param srcOffset
+     *          the index of the first quaternion in <code>src</code>
+     * @param count
+     *          the number of quaternions to store
+     * @param address
+     *          the off-heap address of the first quaternion
+     * @param stride
+     *          the number of bytes between the starts of two consecutive quaternions, or <code>0</code> to pack them tightly
+     */
+    public static void put(Quaternionfc[] src, int srcOffset, int count, long address, int stride) {
+        stride = check(srcOffset, count, src.length, 0, stride, 4 << 2, Long.MAX_VALUE);
+        put(unsafe(), src, srcOffset, count, address, stride);
+    }
+
+    /**
+     * Store <code>count</code> dual quaternions of <code>src</code>, starting at <code>srcOffset</code>, as
+     * <code>(x, y, z, w, dx, dy, dz, dw)</code> into off-heap memory at the given <code>address</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * 
+     * @param src
+     *          the dual quaternions
+     * @param srcOffset
+     *          the index of the first dual quaternion in <code>src</code>
+     * @param count
+     *          the number of dual quaternions to store
+     * @param address
+     *          the off-heap address of the first dual quaternion
+     * @param stride
+     *          the number of bytes between the starts of two consecutive dual quaternions, or <code>0</code> to pack them tightly
+     */
+    public static void put(DualQuaternionfc[] src, int srcOffset, int count, long address, int stride) {
+        stride = check(srcOffset, count, src.length, 0, stride, 8 << 2, Long.MAX_VALUE);
+        put(unsafe(), src, srcOffset, count, address, stride);
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y)</code> converted into the
+     * given <code>format</code> into off-heap memory at the given <code>address</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * <p>
+     * The <code>address</code> and <code>stride</code> must be multiples of the size of a single value of the <code>format</code>,
+     * such as <code>2</code> for {@link #FORMAT_HALF} and <code>4</code> for {@link #FORMAT_UNORM_10_10_10_2}.
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports 2 components
+     * @param address
+     *          the off-heap address of the first vector
+     * @param stride
+     *          the number of bytes between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     * @see #bytes(int, int)
+     */
+    public static void putPacked(Vector2fc[] src, int srcOffset, int count, int format, long address, int stride) {
+        stride = check(srcOffset, count, src.length, 0, stride, bytes(format, 2), Long.MAX_VALUE);
+        unsafe();
+        putPacked(src, KIND_VECTOR2, 2, srcOffset, count, format, null, address, stride);
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z)</code> converted into the
+     * given <code>format</code> into off-heap memory at the given <code>address</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * <p>
+     * The <code>address</code> and <code>stride</code> must be multiples of the size of a single value of the <code>format</code>,
+     * such as <code>2</code> for {@link #FORMAT_HALF} and <code>4</code> for {@link #FORMAT_UNORM_10_10_10_2}.
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports 3 components
+     * @param address
+     *          the off-heap address of the first vector
+     * @param stride
+     *          the number of bytes between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     * @see #bytes(int, int)
+     */
+    public static void putPacked(Vector3fc[] src, int srcOffset, int count, int format, long address, int stride) {
+        stride = check(srcOffset, count, src.length, 0, stride, bytes(format, 3), Long.MAX_VALUE);
+        unsafe();
+        putPacked(src, KIND_VECTOR3, 3, srcOffset, count, format, null, address, stride);
+    }
+
+    /**
+     * Store <code>count</code> vectors of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z, w)</code> converted into the
+     * given <code>format</code> into off-heap memory at the given <code>address</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * <p>
+     * The <code>address</code> and <code>stride</code> must be multiples of the size of a single value of the <code>format</code>,
+     * such as <code>2</code> for {@link #FORMAT_HALF} and <code>4</code> for {@link #FORMAT_UNORM_10_10_10_2}.
+     * 
+     * @param src
+     *          the vectors
+     * @param srcOffset
+     *          the index of the first vector in <code>src</code>
+     * @param count
+     *          the number of vectors to store
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports 4 components
+     * @param address
+     *          the off-heap address of the first vector
+     * @param stride
+     *          the number of bytes between the starts of two consecutive vectors, or <code>0</code> to pack them tightly
+     * @see #bytes(int, int)
+     */
+    public static void putPacked(Vector4fc[] src, int srcOffset, int count, int format, long address, int stride) {
+        stride = check(srcOffset, count, src.length, 0, stride, bytes(format, 4), Long.MAX_VALUE);
+        unsafe();
+        putPacked(src, KIND_VECTOR4, 4, srcOffset, count, format, null, address, stride);
+    }
+
+    /**
+     * Store <code>count</code> quaternions of <code>src</code>, starting at <code>srcOffset</code>, as <code>(x, y, z, w)</code> converted into the
+     * given <code>format</code> into off-heap memory at the given <code>address</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * <p>
+     * The <code>address</code> and <code>stride</code> must be multiples of the size of a single value of the <code>format</code>,
+     * such as <code>2</code> for {@link #FORMAT_HALF} and <code>4</code> for {@link #FORMAT_UNORM_10_10_10_2}.
+     * 
+     * @param src
+     *          the quaternions
+     * @param srcOffset
+     *          the index of the first quaternion in <code>src</code>
+     * @param count
+     *          the number of quaternions to store
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports 4 components
+     * @param address
+     *          the off-heap address of the first quaternion
+     * @param stride
+     *          the number of bytes between the starts of two consecutive quaternions, or <code>0</code> to pack them tightly
+     * @see #bytes(int, int)
+     */
+    public static void putPacked(Quaternionfc[] src, int srcOffset, int count, int format, long address, int stride) {
+        stride = check(srcOffset, count, src.length, 0, stride, bytes(format, 4), Long.MAX_VALUE);
+        unsafe();
+        putPacked(src, KIND_QUATERNION, 4, srcOffset, count, format, null, address, stride);
+    }
+
+    /**
+     * Store <code>count</code> matrices of <code>src</code>, starting at <code>srcOffset</code>, as the 12 elements of the {@link #LAYOUT_4X3} layout converted into the
+     * given <code>format</code> into off-heap memory at the given <code>address</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * <p>
+     * The <code>address</code> and <code>stride</code> must be multiples of the size of a single value of the <code>format</code>,
+     * such as <code>2</code> for {@link #FORMAT_HALF} and <code>4</code> for {@link #FORMAT_UNORM_10_10_10_2}.
+     * 
+     * @param src
+     *          the matrices
+     * @param srcOffset
+     *          the index of the first matrix in <code>src</code>
+     * @param count
+     *          the number of matrices to store
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports 12 components
+     * @param address
+     *          the off-heap address of the first matrix
+     * @param stride
+     *          the number of bytes between the starts of two consecutive matrices, or <code>0</code> to pack them tightly
+     * @see #bytes(int, int)
+     */
+    public static void putPacked(Matrix4x3fc[] src, int srcOffset, int count, int format, long address, int stride) {
+        stride = check(srcOffset, count, src.length, 0, stride, bytes(format, 12), Long.MAX_VALUE);
+        unsafe();
+        putPacked(src, KIND_MATRIX4X3, 12, srcOffset, count, format, null, address, stride);
+    }
+
+    /**
+     * Store <code>count</code> elements of <code>components</code> consecutive floats of <code>src</code>, starting at the float
+     * index <code>srcOffset</code>, converted into the given <code>format</code> into off-heap memory at the given
+     * <code>address</code>.
+     * <p>
+     * <em>This method is unsafe as it can result in a crash of the JVM process when the specified address range does not belong
+     * to this process.</em>
+     * <p>
+     * The <code>address</code> and <code>stride</code> must be multiples of the size of a single value of the <code>format</code>,
+     * such as <code>2</code> for {@link #FORMAT_HALF} and <code>4</code> for {@link #FORMAT_UNORM_10_10_10_2}.
+     * 
+     * @param src
+     *          the components of all elements
+     * @param srcOffset
+     *          the index of the first component of the first element in <code>src</code>
+     * @param count
+     *          the number of elements to store
+     * @param components
+     *          the number of components of an element, in <code>[1..4]</code>
+     * @param format
+     *          one of the <code>FORMAT_*</code> constants of this class that supports the given number of components
+     * @param address
+     *          the off-heap address of the first element
+     * @param stride
+     *          the number of bytes between the starts of two consecutive elements, or <code>0</code> to pack them tightly
+     * @see #bytes(int, int)
+     */
+    public static void putPacked(float[] src, int srcOffset, int count, int components, int format, long address, int stride) {
+        stride = checkFloats(src, srcOffset, count, components, 0, stride, format, Long.MAX_VALUE);
+        unsafe();
+        putPacked(src, KIND_FLOATS, components, srcOffset, count, format, null, address, stride);
+    }
+
+    private static void put(MemUtil.MemUtilUnsafe unsafe, Matrix4fc[] src, int srcOffset, int count, int layout, long address, long stride) {
+        Matrix4f[] tmp = new Matrix4f[1];
+        for (int i = 0; i < count; i++, address += stride) {
+            Matrix4f m = matrix4f(src[srcOffset + i], tmp);
+            switch (layout) {
+            case LAYOUT_4X4: unsafe.put(m, address); break;
+            case LAYOUT_4X3: unsafe.put4x3(m, address); break;
+            case LAYOUT_3X4: unsafe.put3x4(m, address); break;
+            case LAYOUT_4X4_TRANSPOSED: unsafe.putTransposed(m, address); break;
+            default: unsafe.put4x3Transposed(m, address); break;
+            }
+        }
+    }
+
+    private static void put(MemUtil.MemUtilUnsafe unsafe, Matrix4x3fc[] src, int srcOffset, int count, int layout, long address, long stride) {
+        Matrix4x3f[] tmp = new Matrix4x3f[1];
+        for (int i = 0; i < count; i++, address += stride) {
+            Matrix4x3f m = matrix4x3f(src[srcOffset + i], tmp);
+            switch (layout) {
+            case LAYOUT_4X4: unsafe.put4x4(m, address); break;
+            case LAYOUT_4X3: unsafe.put(m, address); break;
+            case LAYOUT_3X4: unsafe.put3x4(m, address); break;
+            default: unsafe.putTransposed(m, address); break;
+            }
+        }
+    }
+
+    private static void put(MemUtil.MemUtilUnsafe unsafe, Vector3fc[] src, int srcOffset, int count, long address, long stride) {
+        Vector3f[] tmp = new Vector3f[1];
+        for (int i = 0; i < count; i++, address += stride)
+            unsafe.put(vector3f(src[srcOffset + i], tmp), address);
+    }
+
+    private static void put(MemUtil.MemUtilUnsafe unsafe, Vector4fc[] src, int srcOffset, int count, long address, long stride) {
+        Vector4f[] tmp = new Vector4f[1];
+        for (int i = 0; i < count; i++, address += stride)
+            unsafe.put(vector4f(src[srcOffset + i], tmp), address);
+    }
+
+    private static void put(MemUtil.MemUtilUnsafe unsafe, Quaternionfc[] src, int srcOffset, int count, long address, long stride) {
+        Vector4f v = new Vector4f();
+        for (int i = 0; i < count; i++, address += stride) {
+            Quaternionfc q = src[srcOffset + i];
+            unsafe.put(v.set(q.x(), q.y(), q.z(), q.w()), address);
+        }
+    }
+
+    private static void put(MemUtil.MemUtilUnsafe unsafe, DualQuaternionfc[] src, int srcOffset, int count, long address, long stride) {
+        DualQuaternionf[] tmp = new DualQuaternionf[1];
+        for (int i = 0; i < count; i++, address += stride)
+            unsafe.put(dualQuaternionf(src[srcOffset + i], tmp), address);
+    }
+//#endif
+
+}
+//#endif
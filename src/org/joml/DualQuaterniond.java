@@ -0,0 +1,656 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+//#ifdef __HAS_NIO__
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+//#endif
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+
+import org.joml.internal.MemUtil;
+import org.joml.internal.Options;
+import org.joml.internal.Runtime;
+
+/**
+ * Dual quaternion of 8 double-precision floats which can represent a rigid transformation, i.e. a rotation followed by
+ * a translation.
+ * <p>
+ * The real part <code>(x, y, z, w)</code> is the rotation quaternion <code>r</code> and the dual part
+ * <code>(dx, dy, dz, dw)</code> is <code>0.5 * t * r</code>, where <code>t</code> is the translation as a pure quaternion.
+ * Compared to a {@link Matrix4x3d}, a dual quaternion needs 8 instead of 12 doubles, and blending dual quaternions does
+ * not suffer from the volume loss of blended matrices when used for skinning.
+ */
+public class DualQuaterniond implements Externalizable, DualQuaterniondc {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The first component of the vector part of the real part.
+     */
+    public double x;
+    /**
+     * The second component of the vector part of the real part.
+     */
+    public double y;
+    /**
+     * The third component of the vector part of the real part.
+     */
+    public double z;
+    /**
+     * The scalar part of the real part.
+     */
+    public double w;
+    /**
+     * The first component of the vector part of the dual part.
+     */
+    public double dx;
+    /**
+     * The second component of the vector part of the dual part.
+     */
+    public double dy;
+    /**
+     * The third component of the vector part of the dual part.
+     */
+    public double dz;
+    /**
+     * The scalar part of the dual part.
+     */
+    public double dw;
+
+    /**
+     * Create a new {@link DualQuaterniond} and initialize it to the identity transformation, with the real part
+     * <code>(0, 0, 0, 1)</code> and the dual part <code>(0, 0, 0, 0)</code>.
+     */
+    public DualQuaterniond() {
+        this.w = 1.0;
+    }
+
+    /**
+     * Create a new {@link DualQuaterniond} and initialize its components to the given values.
+     * 
+     * @param x
+     *          the first component of the vector part of the real part
+     * @param y
+     *          the second component of the vector part of the real part
+     * @param z
+     *          the third component of the vector part of the real part
+     * @param w
+     *          the scalar part of the real part
+     * @param dx
+     *          the first component of the vector part of the dual part
+     * @param dy
+     *          the second component of the vector part of the dual part
+     * @param dz
+     *          the third component of the vector part of the dual part
+     * @param dw
+     *          the scalar part of the dual part
+     */
+    public DualQuaterniond(double x, double y, double z, double w, double dx, double dy, double dz, double dw) {
+        set(x, y, z, w, dx, dy, dz, dw);
+    }
+
+    /**
+     * Create a new {@link DualQuaterniond} and initialize its components to the same values as the given {@link DualQuaterniondc}.
+     * 
+     * @param source
+     *          the {@link DualQuaterniondc} to take the component values from
+     */
+    public DualQuaterniond(DualQuaterniondc source) {
+        set(source);
+    }
+
+    public double x() {
+        return this.x;
+    }
+
+    public double y() {
+        return this.y;
+    }
+
+    public double z() {
+        return this.z;
+    }
+
+    public double w() {
+        return this.w;
+    }
+
+    public double dx() {
+        return this.dx;
+    }
+
+    public double dy() {
+        return this.dy;
+    }
+
+    public double dz() {
+        return this.dz;
+    }
+
+    public double dw() {
+        return this.dw;
+    }
+
+    /**
+     * Set this dual quaternion to the identity transformation.
+     * 
+     * @return this
+     */
+    public DualQuaterniond identity() {
+        return set(0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Set this dual quaternion to the given values.
+     * 
+     * @param x
+     *          the first component of the vector part of the real part
+     * @param y
+     *          the second component of the vector part of the real part
+     * @param z
+     *          the third component of the vector part of the real part
+     * @param w
+     *          the scalar part of the real part
+     * @param dx
+     *          the first component of the vector part of the dual part
+     * @param dy
+     *          the second component of the vector part of the dual part
+     * @param dz
+     *          the third component of the vector part of the dual part
+     * @param dw
+     *          the scalar part of the dual part
+     * @return this
+     */
+    public DualQuaterniond set(double x, double y, double z, double w, double dx, double dy, double dz, double dw) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+        this.dx = dx;
+        this.dy = dy;
+        this.dz = dz;
+        this.dw = dw;
+        return this;
+    }
+
+    /**
+     * Set this dual quaternion to be a copy of <code>q</code>.
+     * 
+     * @param q
+     *          the {@link DualQuaterniondc} to copy
+     * @return this
+     */
+    public DualQuaterniond set(DualQuaterniondc q) {
+        return set(q.x(), q.y(), q.z(), q.w(), q.dx(), q.dy(), q.dz(), q.dw());
+    }
+
+    /**
+     * Set this dual quaternion to the rigid transformation of the given matrix.
+     * <p>
+     * The rotation is taken from the left 3x3 submatrix of <code>mat</code>, whose columns are normalized first, so that
+     * any scaling of the matrix is ignored.
+     * 
+     * @param mat
+     *          the matrix whose rotation and translation is used
+     * @return this
+     */
+    public DualQuaterniond set(Matrix4x3dc mat) {
+        setFromUnnormalized(mat.m00(), mat.m01(), mat.m02(), mat.m10(), mat.m11(), mat.m12(), mat.m20(), mat.m21(), mat.m22());
+        setDual(mat.m30(), mat.m31(), mat.m32());
+        return this;
+    }
+
+    private void setFromUnnormalized(double m00, double m01, double m02, double m10, double m11, double m12, double m20, double m21, double m22) {
+        double lenX = 1.0 / Math.sqrt(m00 * m00 + m01 * m01 + m02 * m02);
+        double lenY = 1.0 / Math.sqrt(m10 * m10 + m11 * m11 + m12 * m12);
+        double lenZ = 1.0 / Math.sqrt(m20 * m20 + m21 * m21 + m22 * m22);
+        m00 *= lenX; m01 *= lenX; m02 *= lenX;
+        m10 *= lenY; m11 *= lenY; m12 *= lenY;
+        m20 *= lenZ; m21 *= lenZ; m22 *= lenZ;
+        double t;
+        double tr = m00 + m11 + m22;
+        if (tr >= 0.0) {
+            t = Math.sqrt(tr + 1.0);
+            w = t * 0.5;
+            t = 0.5 / t;
+            x = (m12 - m21) * t;
+            y = (m20 - m02) * t;
+            z = (m01 - m10) * t;
+        } else {
+            if (m00 >= m11 && m00 >= m22) {
+                t = Math.sqrt(m00 - (m11 + m22) + 1.0);
+                x = t * 0.5;
+                t = 0.5 / t;
+                y = (m10 + m01) * t;
+                z = (m02 + m20) * t;
+                w = (m12 - m21) * t;
+            } else if (m11 > m22) {
+                t = Math.sqrt(m11 - (m22 + m00) + 1.0);
+                y = t * 0.5;
+                t = 0.5 / t;
+                z = (m21 + m12) * t;
+                x = (m10 + m01) * t;
+                w = (m20 - m02) * t;
+            } else {
+                t = Math.sqrt(m22 - (m00 + m11) + 1.0);
+                z = t * 0.5;
+                t = 0.5 / t;
+                x = (m02 + m20) * t;
+                y = (m21 + m12) * t;
+                w = (m01 - m10) * t;
+            }
+        }
+    }
+
+    /**
+     * Set the dual part to <code>0.5 * (tx, ty, tz, 0) * r</code>, where <code>r</code> is the real part.
+     */
+    private void setDual(double tx, double ty, double tz) {
+        dx = 0.5 * (tx * w + ty * z - tz * y);
+        dy = 0.5 * (-tx * z + ty * w + tz * x);
+        dz = 0.5 * (tx * y - ty * x + tz * w);
+        dw = -0.5 * (tx * x + ty * y + tz * z);
+    }
+
+    /**
+     * Set this dual quaternion to the rigid transformation which first rotates by the given unit quaternion <code>quat</code>
+     * and then translates by <code>(tx, ty, tz)</code>.
+     * 
+     * @param tx
+     *          the number of units by which to translate the x-component
+     * @param ty
+     *          the number of units by which to translate the y-component
+     * @param tz
+     *          the number of units by which to translate the z-component
+     * @param quat
+     *          the unit quaternion representing the rotation
+     * @return this
+     */
+    public DualQuaterniond translationRotate(double tx, double ty, double tz, Quaterniondc quat) {
+        x = quat.x();
+        y = quat.y();
+        z = quat.z();
+        w = quat.w();
+        setDual(tx, ty, tz);
+        return this;
+    }
+
+    /**
+     * Set this dual quaternion to the rigid transformation which first rotates by the given unit quaternion <code>quat</code>
+     * and then translates by <code>translation</code>.
+     * 
+     * @see #translationRotate(double, double, double, Quaterniondc)
+     * 
+     * @param translation
+     *          the translation
+     * @param quat
+     *          the unit quaternion representing the rotation
+     * @return this
+     */
+    public DualQuaterniond translationRotate(Vector3dc translation, Quaterniondc quat) {
+        return translationRotate(translation.x(), translation.y(), translation.z(), quat);
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Set the values of this dual quaternion by reading 8 double values from the given {@link DoubleBuffer} in the order
+     * <code>(x, y, z, w, dx, dy, dz, dw)</code> at the current buffer {@link DoubleBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given DoubleBuffer.
+     * 
+     * @param buffer
+     *          the DoubleBuffer to read the values from
+     * @return this
+     */
+    public DualQuaterniond set(DoubleBuffer buffer) {
+        return set(buffer.position(), buffer);
+    }
+
+    /**
+     * Set the values of this dual quaternion by reading 8 double values from the given {@link DoubleBuffer} in the order
+     * <code>(x, y, z, w, dx, dy, dz, dw)</code> starting at the specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given DoubleBuffer.
+     * 
+     * @param index
+     *          the absolute position into the DoubleBuffer
+     * @param buffer
+     *          the DoubleBuffer to read the values from
+     * @return this
+     */
+    public DualQuaterniond set(int index, DoubleBuffer buffer) {
+        MemUtil.INSTANCE.get(this, index, buffer);
+        return this;
+    }
+
+    /**
+     * Set the values of this dual quaternion by reading 8 double values from the given {@link ByteBuffer} in the order
+     * <code>(x, y, z, w, dx, dy, dz, dw)</code> at the current buffer {@link ByteBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param buffer
+     *          the ByteBuffer to read the values from
+     * @return this
+     */
+    public DualQuaterniond set(ByteBuffer buffer) {
+        return set(buffer.position(), buffer);
+    }
+
+    /**
+     * Set the values of this dual quaternion by reading 8 double values from the given {@link ByteBuffer} in the order
+     * <code>(x, y, z, w, dx, dy, dz, dw)</code> starting at the specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param index
+     *          the absolute position into the ByteBuffer
+     * @param buffer
+     *          the ByteBuffer to read the values from
+     * @return this
+     */
+    public DualQuaterniond set(int index, ByteBuffer buffer) {
+        MemUtil.INSTANCE.get(this, index, buffer);
+        return this;
+    }
+
+    public DoubleBuffer get(DoubleBuffer buffer) {
+        return get(buffer.position(), buffer);
+    }
+
+    public DoubleBuffer get(int index, DoubleBuffer buffer) {
+        MemUtil.INSTANCE.put(this, index, buffer);
+        return buffer;
+    }
+
+    public ByteBuffer get(ByteBuffer buffer) {
+        return get(buffer.position(), buffer);
+    }
+
+    public ByteBuffer get(int index, ByteBuffer buffer) {
+        MemUtil.INSTANCE.put(this, index, buffer);
+        return buffer;
+    }
+//#endif
+
+    /**
+     * Multiply this dual quaternion by <code>q</code>.
+     * <p>
+     * If <code>T</code> is <code>this</code> and <code>Q</code> is the given dual quaternion, then the resulting dual quaternion
+     * <code>R</code> is:
+     * <p>
+     * <code>R = T * Q</code>
+     * <p>
+     * So, this method uses post-multiplication like the matrix classes, resulting in a transformation which applies
+     * <code>Q</code> first and then <code>T</code>.
+     * 
+     * @param q
+     *          the dual quaternion to multiply <code>this</code> by
+     * @return this
+     */
+    public DualQuaterniond mul(DualQuaterniondc q) {
+        return mul(q, this);
+    }
+
+    public DualQuaterniond mul(DualQuaterniondc q, DualQuaterniond dest) {
+        double qx = q.x(), qy = q.y(), qz = q.z(), qw = q.w();
+        double qdx = q.dx(), qdy = q.dy(), qdz = q.dz(), qdw = q.dw();
+        return dest.set(w * qx + x * qw + y * qz - z * qy,
+                        w * qy - x * qz + y * qw + z * qx,
+                        w * qz + x * qy - y * qx + z * qw,
+                        w * qw - x * qx - y * qy - z * qz,
+                        w * qdx + x * qdw + y * qdz - z * qdy + dw * qx + dx * qw + dy * qz - dz * qy,
+                        w * qdy - x * qdz + y * qdw + z * qdx + dw * qy - dx * qz + dy * qw + dz * qx,
+                        w * qdz + x * qdy - y * qdx + z * qdw + dw * qz + dx * qy - dy * qx + dz * qw,
+                        w * qdw - x * qdx - y * qdy - z * qdz + dw * qw - dx * qx - dy * qy - dz * qz);
+    }
+
+    /**
+     * Normalize this dual quaternion.
+     * 
+     * @see #normalize(DualQuaterniond)
+     * 
+     * @return this
+     */
+    public DualQuaterniond normalize() {
+        return normalize(this);
+    }
+
+    public DualQuaterniond normalize(DualQuaterniond dest) {
+        double invLength = 1.0 / Math.sqrt(x * x + y * y + z * z + w * w);
+        double nx = x * invLength, ny = y * invLength, nz = z * invLength, nw = w * invLength;
+        double ndx = dx * invLength, ndy = dy * invLength, ndz = dz * invLength, ndw = dw * invLength;
+        double dot = nx * ndx + ny * ndy + nz * ndz + nw * ndw;
+        return dest.set(nx, ny, nz, nw, ndx - nx * dot, ndy - ny * dot, ndz - nz * dot, ndw - nw * dot);
+    }
+
+    /**
+     * Invert this unit dual quaternion.
+     * 
+     * @see #invert(DualQuaterniond)
+     * 
+     * @return this
+     */
+    public DualQuaterniond invert() {
+        return invert(this);
+    }
+
+    public DualQuaterniond invert(DualQuaterniond dest) {
+        return dest.set(-x, -y, -z, w, -dx, -dy, -dz, dw);
+    }
+
+    /**
+     * Blend between this unit dual quaternion and <code>other</code> using dual quaternion linear blending with the given
+     * interpolation factor <code>factor</code>, and normalize the result.
+     * 
+     * @see #lerp(DualQuaterniondc, double, DualQuaterniond)
+     * 
+     * @param other
+     *          the other dual quaternion
+     * @param factor
+     *          the interpolation factor, within <code>[0..1]</code>
+     * @return this
+     */
+    public DualQuaterniond lerp(DualQuaterniondc other, double factor) {
+        return lerp(other, factor, this);
+    }
+
+    public DualQuaterniond lerp(DualQuaterniondc other, double factor, DualQuaterniond dest) {
+        double ox = other.x(), oy = other.y(), oz = other.z(), ow = other.w();
+        double scale0 = 1.0 - factor;
+        double scale1 = x * ox + y * oy + z * oz + w * ow >= 0.0 ? factor : -factor;
+        dest.set(scale0 * x + scale1 * ox,
+                 scale0 * y + scale1 * oy,
+                 scale0 * z + scale1 * oz,
+                 scale0 * w + scale1 * ow,
+                 scale0 * dx + scale1 * other.dx(),
+                 scale0 * dy + scale1 * other.dy(),
+                 scale0 * dz + scale1 * other.dz(),
+                 scale0 * dw + scale1 * other.dw());
+        return dest.normalize();
+    }
+
+    public Quaterniond getRotation(Quaterniond dest) {
+        return dest.set(x, y, z, w);
+    }
+
+    public Vector3d getTranslation(Vector3d dest) {
+        return dest.set(2.0 * (w * dx - dw * x + y * dz - z * dy),
+                        2.0 * (w * dy - dw * y + z * dx - x * dz),
+                        2.0 * (w * dz - dw * z + x * dy - y * dx));
+    }
+
+    public Matrix4x3d get(Matrix4x3d dest) {
+        return dest.translationRotateScale(2.0 * (w * dx - dw * x + y * dz - z * dy),
+                                           2.0 * (w * dy - dw * y + z * dx - x * dz),
+                                           2.0 * (w * dz - dw * z + x * dy - y * dx),
+                                           x, y, z, w, 1.0, 1.0, 1.0);
+    }
+
+    public DualQuaterniond get(DualQuaterniond dest) {
+        return dest.set(this);
+    }
+
+    /**
+     * Transform the given position by this unit dual quaternion.
+     * 
+     * @param v
+     *          the position to transform, which will hold the result
+     * @return v
+     */
+    public Vector3d transformPosition(Vector3d v) {
+        return transformPosition(v, v);
+    }
+
+    public Vector3d transformPosition(Vector3dc v, Vector3d dest) {
+        transformDirection(v, dest);
+        return dest.add(2.0 * (w * dx - dw * x + y * dz - z * dy),
+                        2.0 * (w * dy - dw * y + z * dx - x * dz),
+                        2.0 * (w * dz - dw * z + x * dy - y * dx));
+    }
+
+    /**
+     * Transform the given direction by the rotation of this unit dual quaternion.
+     * 
+     * @param v
+     *          the direction to transform, which will hold the result
+     * @return v
+     */
+    public Vector3d transformDirection(Vector3d v) {
+        return transformDirection(v, v);
+    }
+
+    public Vector3d transformDirection(Vector3dc v, Vector3d dest) {
+        double vx = v.x(), vy = v.y(), vz = v.z();
+        double tx = 2.0 * (y * vz - z * vy);
+        double ty = 2.0 * (z * vx - x * vz);
+        double tz = 2.0 * (x * vy - y * vx);
+        return dest.set(vx + w * tx + y * tz - z * ty,
+                        vy + w * ty + z * tx - x * tz,
+                        vz + w * tz + x * ty - y * tx);
+    }
+
+    /**
+     * Return a string representation of this dual quaternion.
+     * <p>
+     * This method creates a new {@link DecimalFormat} on every invocation with the format string "<code>0.000E0;-</code>".
+     * 
+     * @return the string representation
+     */
+    public String toString() {
+        return Runtime.formatNumbers(toString(Options.NUMBER_FORMAT));
+    }
+
+    /**
+     * Return a string representation of this dual quaternion by formatting the components with the given {@link NumberFormat}.
+     * 
+     * @param formatter
+     *          the {@link NumberFormat} used to format the dual quaternion components with
+     * @return the string representation
+     */
+    public String toString(NumberFormat formatter) {
+        return "(" + formatter.format(x) + " " + formatter.format(y) + " " + formatter.format(z) + " " + formatter.format(w) + ") + e("
+                + formatter.format(dx) + " " + formatter.format(dy) + " " + formatter.format(dz) + " " + formatter.format(dw) + ")";
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeDouble(x);
+        out.writeDouble(y);
+        out.writeDouble(z);
+        out.writeDouble(w);
+        out.writeDouble(dx);
+        out.writeDouble(dy);
+        out.writeDouble(dz);
+        out.writeDouble(dw);
+    }
+
+    public void readExternal(ObjectInput in) throws IOException,
+            ClassNotFoundException {
+        x = in.readDouble();
+        y = in.readDouble();
+        z = in.readDouble();
+        w = in.readDouble();
+        dx = in.readDouble();
+        dy = in.readDouble();
+        dz = in.readDouble();
+        dw = in.readDouble();
+    }
+
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        long temp;
+        temp = Double.doubleToLongBits(w);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(x);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(y);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(z);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(dw);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(dx);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(dy);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(dz);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        return result;
+    }
+
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        DualQuaterniond other = (DualQuaterniond) obj;
+        if (Double.doubleToLongBits(w) != Double.doubleToLongBits(other.w))
+            return false;
+        if (Double.doubleToLongBits(x) != Double.doubleToLongBits(other.x))
+            return false;
+        if (Double.doubleToLongBits(y) != Double.doubleToLongBits(other.y))
+            return false;
+        if (Double.doubleToLongBits(z) != Double.doubleToLongBits(other.z))
+            return false;
+        if (Double.doubleToLongBits(dw) != Double.doubleToLongBits(other.dw))
+            return false;
+        if (Double.doubleToLongBits(dx) != Double.doubleToLongBits(other.dx))
+            return false;
+        if (Double.doubleToLongBits(dy) != Double.doubleToLongBits(other.dy))
+            return false;
+        if (Double.doubleToLongBits(dz) != Double.doubleToLongBits(other.dz))
+            return false;
+        return true;
+    }
+
+}
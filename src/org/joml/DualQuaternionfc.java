@@ -0,0 +1,257 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+//#ifdef __HAS_NIO__
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+//#endif
+
+/**
+ * Interface to a read-only view of a dual quaternion of single-precision floats.
+ */
+public interface DualQuaternionfc {
+
+    /**
+     * @return the first component of the vector part of the real part
+     */
+    float x();
+
+    /**
+     * @return the second component of the vector part of the real part
+     */
+    float y();
+
+    /**
+     * @return the third component of the vector part of the real part
+     */
+    float z();
+
+    /**
+     * @return the scalar part of the real part
+     */
+    float w();
+
+    /**
+     * @return the first component of the vector part of the dual part
+     */
+    float dx();
+
+    /**
+     * @return the second component of the vector part of the dual part
+     */
+    float dy();
+
+    /**
+     * @return the third component of the vector part of the dual part
+     */
+    float dz();
+
+    /**
+     * @return the scalar part of the dual part
+     */
+    float dw();
+
+    /**
+     * Multiply this dual quaternion by <code>q</code> and store the result in <code>dest</code>.
+     * <p>
+     * If <code>T</code> is <code>this</code> and <code>Q</code> is the given dual quaternion, then the resulting dual quaternion
+     * <code>R</code> is:
+     * <p>
+     * <code>R = T * Q</code>
+     * <p>
+     * So, this method uses post-multiplication like the matrix classes, resulting in a transformation which applies
+     * <code>Q</code> first and then <code>T</code>.
+     * 
+     * @param q
+     *          the dual quaternion to multiply <code>this</code> by
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    DualQuaternionf mul(DualQuaternionfc q, DualQuaternionf dest);
+
+    /**
+     * Normalize this dual quaternion and store the result in <code>dest</code>.
+     * <p>
+     * This scales both parts by the reciprocal length of the real part and then removes the component of the dual part
+     * along the real part, so that the result represents a rigid transformation.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    DualQuaternionf normalize(DualQuaternionf dest);
+
+    /**
+     * Invert this unit dual quaternion and store the result in <code>dest</code>.
+     * <p>
+     * This method assumes that <code>this</code> is {@link #normalize(DualQuaternionf) normalized} and computes the inverse
+     * by conjugating both parts.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    DualQuaternionf invert(DualQuaternionf dest);
+
+    /**
+     * Blend between this unit dual quaternion and <code>other</code> using dual quaternion linear blending with the given
+     * interpolation factor <code>factor</code>, and store the normalized result in <code>dest</code>.
+     * <p>
+     * The blend takes the shortest path by negating <code>other</code> when the real parts lie in different hemispheres.
+     * 
+     * @param other
+     *          the other dual quaternion
+     * @param factor
+     *          the interpolation factor, within <code>[0..1]</code>
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    DualQuaternionf lerp(DualQuaternionfc other, float factor, DualQuaternionf dest);
+
+    /**
+     * Get the rotation of this unit dual quaternion and store it in <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the rotation
+     * @return dest
+     */
+    Quaternionf getRotation(Quaternionf dest);
+
+    /**
+     * Get the translation of this unit dual quaternion and store it in <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the translation
+     * @return dest
+     */
+    Vector3f getTranslation(Vector3f dest);
+
+    /**
+     * Set the given matrix to the rigid transformation represented by this unit dual quaternion.
+     * 
+     * @param dest
+     *          will hold the transformation
+     * @return dest
+     */
+    Matrix4x3f get(Matrix4x3f dest);
+
+    /**
+     * Set the given {@link DualQuaternionf} to the values of <code>this</code>.
+     * 
+     * @param dest
+     *          will hold the values of <code>this</code>
+     * @return dest
+     */
+    DualQuaternionf get(DualQuaternionf dest);
+
+    /**
+     * Transform the given position by this unit dual quaternion and store the result in <code>dest</code>.
+     * 
+     * @param v
+     *          the position to transform
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    Vector3f transformPosition(Vector3fc v, Vector3f dest);
+
+    /**
+     * Transform the given direction by the rotation of this unit dual quaternion and store the result in <code>dest</code>.
+     * 
+     * @param v
+     *          the direction to transform
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    Vector3f transformDirection(Vector3fc v, Vector3f dest);
+
+//#ifdef __HAS_NIO__
+    /**
+     * Store this dual quaternion as <code>(x, y, z, w, dx, dy, dz, dw)</code> into the supplied {@link FloatBuffer} at the
+     * current buffer {@link FloatBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * <p>
+     * In order to specify the offset into the FloatBuffer at which
+     * the dual quaternion is stored, use {@link #get(int, FloatBuffer)}, taking
+     * the absolute position as parameter.
+     * 
+     * @param buffer
+     *          will receive the values of this dual quaternion
+     * @return the passed in buffer
+     * @see #get(int, FloatBuffer)
+     */
+    FloatBuffer get(FloatBuffer buffer);
+
+    /**
+     * Store this dual quaternion as <code>(x, y, z, w, dx, dy, dz, dw)</code> into the supplied {@link FloatBuffer} starting at
+     * the specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param index
+     *          the absolute position into the FloatBuffer
+     * @param buffer
+     *          will receive the values of this dual quaternion
+     * @return the passed in buffer
+     */
+    FloatBuffer get(int index, FloatBuffer buffer);
+
+    /**
+     * Store this dual quaternion as <code>(x, y, z, w, dx, dy, dz, dw)</code> into the supplied {@link ByteBuffer} at the
+     * current buffer {@link ByteBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * <p>
+     * In order to specify the offset into the ByteBuffer at which
+     * the dual quaternion is stored, use {@link #get(int, ByteBuffer)}, taking
+     * the absolute position as parameter.
+     * 
+     * @param buffer
+     *          will receive the values of this dual quaternion
+     * @return the passed in buffer
+     * @see #get(int, ByteBuffer)
+     */
+    ByteBuffer get(ByteBuffer buffer);
+
+    /**
+     * Store this dual quaternion as <code>(x, y, z, w, dx, dy, dz, dw)</code> into the supplied {@link ByteBuffer} starting at
+     * the specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param index
+     *          the absolute position into the ByteBuffer
+     * @param buffer
+     *          will receive the values of this dual quaternion
+     * @return the passed in buffer
+     */
+    ByteBuffer get(int index, ByteBuffer buffer);
+//#endif
+
+}
@@ -23,6 +23,15 @@
  */
 package org.joml;
 
+//#ifdef __HAS_NIO__
+import java.nio.FloatBuffer;
+//#endif
+import java.util.BitSet;
+
+//#ifndef __GWT__
+import org.joml.internal.Parallel;
+//#endif
+
 /**
  * Efficiently performs frustum intersection tests by caching the frustum planes of an arbitrary transformation {@link Matrix4fc matrix}.
  * <p>
@@ -75,7 +84,9 @@ public class FrustumIntersection {
     public static final int INSIDE = -2;
     /**
      * Return value of {@link #intersectSphere(Vector3fc, float)} or {@link #intersectSphere(float, float, float, float)}
-     * indicating that the sphere is completely outside of the frustum.
+     * indicating that the sphere is completely outside of the frustum, and of
+     * {@link #intersectAabPlanes(float, float, float, float, float, float, int) intersectAabPlanes()} indicating that the box is completely
+     * outside of the frustum.
      */
     public static final int OUTSIDE = -3;
 
@@ -123,6 +134,20 @@ public class FrustumIntersection {
     private float nzX, nzY, nzZ, nzW;
     private float pzX, pzY, pzZ, pzW;
 
+//#ifdef __HAS_NIO__
+    /**
+     * The number of objects copied at once from a buffer by the bulk methods.
+     */
+    private static final int BULK_CHUNK = 256;
+//#endif
+
+//#ifndef __GWT__
+    /**
+     * The number of objects processed by a single task of the parallel bulk methods.
+     */
+    private static final int PARALLEL_GRAIN = 4096;
+//#endif
+
     private final Vector4f[] planes = new Vector4f[6];
     {
         for (int i = 0; i < 6; i++) {
@@ -835,4 +860,656 @@ public class FrustumIntersection {
         return plane;
     }
 
+    /**
+     * Determine whether the given axis-aligned box is partly or completely within or outside of the frustum defined by <code>this</code> frustum culler
+     * and, if the box is not outside of this frustum, return the bitmask of those planes in <code>mask</code> which intersect the box.
+     * The box is specified via its min and max corner coordinates.
+     * <p>
+     * This method is meant for hierarchical culling: A box that is completely on the inner side of a plane cannot contain any box that is
+     * on the outer side of it, so the returned mask can be used as the <code>mask</code> for all boxes contained in the given box.
+     * A return value of <code>0</code> means that the box and everything contained in it is inside of the frustum, as far as the planes in
+     * <code>mask</code> are concerned.
+     * <p>
+     * The algorithm implemented by this method is conservative. This means that in certain circumstances a <i>false positive</i>
+     * can occur, when the method returns a mask for boxes that are actually not visible/do not intersect the frustum.
+     * See <a href="http://iquilezles.org/www/articles/frustumcorrect/frustumcorrect.htm">iquilezles.org</a> for an examination of this problem.
+     * <p>
+     * Reference: <a href="http://old.cescg.org/CESCG-2002/DSykoraJJelinek/">Efficient View Frustum Culling</a>
+     * 
+     * @param minX
+     *          the x-coordinate of the minimum corner
+     * @param minY
+     *          the y-coordinate of the minimum corner
+     * @param minZ
+     *          the z-coordinate of the minimum corner
+     * @param maxX
+     *          the x-coordinate of the maximum corner
+     * @param maxY
+     *          the y-coordinate of the maximum corner
+     * @param maxZ
+     *          the z-coordinate of the maximum corner
+     * @param mask
+     *          contains as bitset all the planes that should be tested.
+     *          This value can be any combination of 
+     *          {@link #PLANE_MASK_NX}, {@link #PLANE_MASK_PX},
+     *          {@link #PLANE_MASK_NY}, {@link #PLANE_MASK_PY}, 
+     *          {@link #PLANE_MASK_NZ} and {@link #PLANE_MASK_PZ}
+     * @return {@link #OUTSIDE} if the box is outside of any plane in <code>mask</code>; otherwise the bitmask of the planes in <code>mask</code>
+     *         which intersect the box
+     */
+    public int intersectAabPlanes(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, int mask) {
+        /*
+         * This is the "2.5 Plane masking and coherency" algorithm of the mentioned site, returning the mask for the children.
+         */
+        int intersecting = 0;
+        if ((mask & PLANE_MASK_NX) != 0) {
+            if (nxX * (nxX < 0 ? minX : maxX) + nxY * (nxY < 0 ? minY : maxY) + nxZ * (nxZ < 0 ? minZ : maxZ) < -nxW)
+                return OUTSIDE;
+            if (nxX * (nxX < 0 ? maxX : minX) + nxY * (nxY < 0 ? maxY : minY) + nxZ * (nxZ < 0 ? maxZ : minZ) < -nxW)
+                intersecting |= PLANE_MASK_NX;
+        }
+        if ((mask & PLANE_MASK_PX) != 0) {
+            if (pxX * (pxX < 0 ? minX : maxX) + pxY * (pxY < 0 ? minY : maxY) + pxZ * (pxZ < 0 ? minZ : maxZ) < -pxW)
+                return OUTSIDE;
+            if (pxX * (pxX < 0 ? maxX : minX) + pxY * (pxY < 0 ? maxY : minY) + pxZ * (pxZ < 0 ? maxZ : minZ) < -pxW)
+                intersecting |= PLANE_MASK_PX;
+        }
+        if ((mask & PLANE_MASK_NY) != 0) {
+            if (nyX * (nyX < 0 ? minX : maxX) + nyY * (nyY < 0 ? minY : maxY) + nyZ * (nyZ < 0 ? minZ : maxZ) < -nyW)
+                return OUTSIDE;
+            if (nyX * (nyX < 0 ? maxX : minX) + nyY * (nyY < 0 ? maxY : minY) + nyZ * (nyZ < 0 ? maxZ : minZ) < -nyW)
+                intersecting |= PLANE_MASK_NY;
+        }
+        if ((mask & PLANE_MASK_PY) != 0) {
+            if (pyX * (pyX < 0 ? minX : maxX) + pyY * (pyY < 0 ? minY : maxY) + pyZ * (pyZ < 0 ? minZ : maxZ) < -pyW)
+                return OUTSIDE;
+            if (pyX * (pyX < 0 ? maxX : minX) + pyY * (pyY < 0 ? maxY : minY) + pyZ * (pyZ < 0 ? maxZ : minZ) < -pyW)
+                intersecting |= PLANE_MASK_PY;
+        }
+        if ((mask & PLANE_MASK_NZ) != 0) {
+            if (nzX * (nzX < 0 ? minX : maxX) + nzY * (nzY < 0 ? minY : maxY) + nzZ * (nzZ < 0 ? minZ : maxZ) < -nzW)
+                return OUTSIDE;
+            if (nzX * (nzX < 0 ? maxX : minX) + nzY * (nzY < 0 ? maxY : minY) + nzZ * (nzZ < 0 ? maxZ : minZ) < -nzW)
+                intersecting |= PLANE_MASK_NZ;
+        }
+        if ((mask & PLANE_MASK_PZ) != 0) {
+            if (pzX * (pzX < 0 ? minX : maxX) + pzY * (pzY < 0 ? minY : maxY) + pzZ * (pzZ < 0 ? minZ : maxZ) < -pzW)
+                return OUTSIDE;
+            if (pzX * (pzX < 0 ? maxX : minX) + pzY * (pzY < 0 ? maxY : minY) + pzZ * (pzZ < 0 ? maxZ : minZ) < -pzW)
+                intersecting |= PLANE_MASK_PZ;
+        }
+        return intersecting;
+    }
+
+    /**
+     * Test whether each of the <code>count</code> axis-aligned boxes stored in the given array is partly or completely within or outside of
+     * the frustum defined by <code>this</code> frustum culler and set the bit <code>i</code> in <code>dest</code> if the box <code>i</code> is
+     * visible, or clear it otherwise.
+     * <p>
+     * The box <code>i</code> is stored as <code>(minX, minY, minZ, maxX, maxY, maxZ)</code> starting at <code>aabbs[offset + 6 * i]</code>.
+     * <p>
+     * The boxes are tested just like by {@link #testAab(float, float, float, float, float, float)}, except that all planes are evaluated
+     * without branching, which is faster for larger batches of boxes in arbitrary order.
+     * 
+     * @param aabbs
+     *          the packed min/max corner coordinates of the axis-aligned boxes
+     * @param offset
+     *          the array index of the first box
+     * @param count
+     *          the number of boxes to test
+     * @param dest
+     *          will hold the result
+     * @return the number of visible boxes
+     */
+    public int testAabs(float[] aabbs, int offset, int count, BitSet dest) {
+        return testAabs(aabbs, offset, count, 0, dest, null, 0, null);
+    }
+
+    /**
+     * Test whether each of the <code>count</code> axis-aligned boxes stored in the given array is partly or completely within or outside of
+     * the frustum defined by <code>this</code> frustum culler and store the indices of all visible boxes in ascending order
+     * at the beginning of <code>dest</code>.
+     * <p>
+     * The box <code>i</code> is stored as <code>(minX, minY, minZ, maxX, maxY, maxZ)</code> starting at <code>aabbs[offset + 6 * i]</code>.
+     * <p>
+     * The boxes are tested just like by {@link #testAab(float, float, float, float, float, float)}, except that all planes are evaluated
+     * without branching, which is faster for larger batches of boxes in arbitrary order.
+     * 
+     * @param aabbs
+     *          the packed min/max corner coordinates of the axis-aligned boxes
+     * @param offset
+     *          the array index of the first box
+     * @param count
+     *          the number of boxes to test
+     * @param dest
+     *          will hold the indices of the visible boxes
+     * @return the number of visible boxes, which is the number of indices written to <code>dest</code>
+     */
+    public int testAabs(float[] aabbs, int offset, int count, int[] dest) {
+        return testAabs(aabbs, offset, count, 0, null, dest, 0, null);
+    }
+
+    /**
+     * Test whether each of the <code>count</code> axis-aligned boxes stored in the given array is partly or completely within or outside of
+     * the frustum defined by <code>this</code> frustum culler and set <code>dest[i]</code> to <code>1</code> if the box <code>i</code> is
+     * visible, or to <code>0</code> otherwise.
+     * <p>
+     * The box <code>i</code> is stored as <code>(minX, minY, minZ, maxX, maxY, maxZ)</code> starting at <code>aabbs[offset + 6 * i]</code>.
+     * <p>
+     * The boxes are tested just like by {@link #testAab(float, float, float, float, float, float)}, except that all planes are evaluated
+     * without branching, which is faster for larger batches of boxes in arbitrary order.
+     * 
+     * @param aabbs
+     *          the packed min/max corner coordinates of the axis-aligned boxes
+     * @param offset
+     *          the array index of the first box
+     * @param count
+     *          the number of boxes to test
+     * @param dest
+     *          will hold the visibility of each box
+     * @return the number of visible boxes
+     */
+    public int testAabs(float[] aabbs, int offset, int count, byte[] dest) {
+        return testAabs(aabbs, offset, count, 0, null, null, 0, dest);
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Test whether each of the <code>count</code> axis-aligned boxes stored in the given buffer, starting at its current position,
+     * is partly or completely within or outside of the frustum defined by <code>this</code> frustum culler and set the bit <code>i</code>
+     * in <code>dest</code> if the box <code>i</code> is visible, or clear it otherwise.
+     * <p>
+     * Each box is stored as <code>(minX, minY, minZ, maxX, maxY, maxZ)</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @see #testAabs(float[], int, int, BitSet)
+     * 
+     * @param aabbs
+     *          the packed min/max corner coordinates of the axis-aligned boxes
+     * @param count
+     *          the number of boxes to test
+     * @param dest
+     *          will hold the result
+     * @return the number of visible boxes
+     */
+    public int testAabs(FloatBuffer aabbs, int count, BitSet dest) {
+        return test(aabbs, count, false, dest, null, null);
+    }
+
+    /**
+     * Test whether each of the <code>count</code> axis-aligned boxes stored in the given buffer, starting at its current position,
+     * is partly or completely within or outside of the frustum defined by <code>this</code> frustum culler and store the indices of all
+     * visible boxes in ascending order at the beginning of <code>dest</code>.
+     * <p>
+     * Each box is stored as <code>(minX, minY, minZ, maxX, maxY, maxZ)</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @see #testAabs(float[], int, int, int[])
+     * 
+     * @param aabbs
+     *          the packed min/max corner coordinates of the axis-aligned boxes
+     * @param count
+     *          the number of boxes to test
+     * @param dest
+     *          will hold the indices of the visible boxes
+     * @return the number of visible boxes, which is the number of indices written to <code>dest</code>
+     */
+    public int testAabs(FloatBuffer aabbs, int count, int[] dest) {
+        return test(aabbs, count, false, null, dest, null);
+    }
+
+    /**
+     * Test whether each of the <code>count</code> axis-aligned boxes stored in the given buffer, starting at its current position,
+     * is partly or completely within or outside of the frustum defined by <code>this</code> frustum culler and set <code>dest[i]</code>
+     * to <code>1</code> if the box <code>i</code> is visible, or to <code>0</code> otherwise.
+     * <p>
+     * Each box is stored as <code>(minX, minY, minZ, maxX, maxY, maxZ)</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @see #testAabs(float[], int, int, byte[])
+     * 
+     * @param aabbs
+     *          the packed min/max corner coordinates of the axis-aligned boxes
+     * @param count
+     *          the number of boxes to test
+     * @param dest
+     *          will hold the visibility of each box
+     * @return the number of visible boxes
+     */
+    public int testAabs(FloatBuffer aabbs, int count, byte[] dest) {
+        return test(aabbs, count, false, null, null, dest);
+    }
+//#endif
+
+    /**
+     * Test whether each of the <code>count</code> spheres stored in the given array is partly or completely within or outside of
+     * the frustum defined by <code>this</code> frustum culler and set the bit <code>i</code> in <code>dest</code> if the sphere <code>i</code> is
+     * visible, or clear it otherwise.
+     * <p>
+     * The sphere <code>i</code> is stored as <code>(x, y, z, radius)</code> starting at <code>spheres[offset + 4 * i]</code>.
+     * <p>
+     * The spheres are tested just like by {@link #testSphere(float, float, float, float)}, except that all planes are evaluated
+     * without branching, which is faster for larger batches of spheres in arbitrary order.
+     * 
+     * @param spheres
+     *          the packed center coordinates and radii of the spheres
+     * @param offset
+     *          the array index of the first sphere
+     * @param count
+     *          the number of spheres to test
+     * @param dest
+     *          will hold the result
+     * @return the number of visible spheres
+     */
+    public int testSpheres(float[] spheres, int offset, int count, BitSet dest) {
+        return testSpheres(spheres, offset, count, 0, dest, null, 0, null);
+    }
+
+    /**
+     * Test whether each of the <code>count</code> spheres stored in the given array is partly or completely within or outside of
+     * the frustum defined by <code>this</code> frustum culler and store the indices of all visible spheres in ascending order
+     * at the beginning of <code>dest</code>.
+     * <p>
+     * The sphere <code>i</code> is stored as <code>(x, y, z, radius)</code> starting at <code>spheres[offset + 4 * i]</code>.
+     * <p>
+     * The spheres are tested just like by {@link #testSphere(float, float, float, float)}, except that all planes are evaluated
+     * without branching, which is faster for larger batches of spheres in arbitrary order.
+     * 
+     * @param spheres
+     *          the packed center coordinates and radii of the spheres
+     * @param offset
+     *          the array index of the first sphere
+     * @param count
+     *          the number of spheres to test
+     * @param dest
+     *          will hold the indices of the visible spheres
+     * @return the number of visible spheres, which is the number of indices written to <code>dest</code>
+     */
+    public int testSpheres(float[] spheres, int offset, int count, int[] dest) {
+        return testSpheres(spheres, offset, count, 0, null, dest, 0, null);
+    }
+
+    /**
+     * Test whether each of the <code>count</code> spheres stored in the given array is partly or completely within or outside of
+     * the frustum defined by <code>this</code> frustum culler and set <code>dest[i]</code> to <code>1</code> if the sphere <code>i</code> is
+     * visible, or to <code>0</code> otherwise.
+     * <p>
+     * The sphere <code>i</code> is stored as <code>(x, y, z, radius)</code> starting at <code>spheres[offset + 4 * i]</code>.
+     * <p>
+     * The spheres are tested just like by {@link #testSphere(float, float, float, float)}, except that all planes are evaluated
+     * without branching, which is faster for larger batches of spheres in arbitrary order.
+     * 
+     * @param spheres
+     *          the packed center coordinates and radii of the spheres
+     * @param offset
+     *          the array index of the first sphere
+     * @param count
+     *          the number of spheres to test
+     * @param dest
+     *          will hold the visibility of each sphere
+     * @return the number of visible spheres
+     */
+    public int testSpheres(float[] spheres, int offset, int count, byte[] dest) {
+        return testSpheres(spheres, offset, count, 0, null, null, 0, dest);
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Test whether each of the <code>count</code> spheres stored in the given buffer, starting at its current position,
+     * is partly or completely within or outside of the frustum defined by <code>this</code> frustum culler and set the bit <code>i</code>
+     * in <code>dest</code> if the sphere <code>i</code> is visible, or clear it otherwise.
+     * <p>
+     * Each sphere is stored as <code>(x, y, z, radius)</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @see #testSpheres(float[], int, int, BitSet)
+     * 
+     * @param spheres
+     *          the packed center coordinates and radii of the spheres
+     * @param count
+     *          the number of spheres to test
+     * @param dest
+     *          will hold the result
+     * @return the number of visible spheres
+     */
+    public int testSpheres(FloatBuffer spheres, int count, BitSet dest) {
+        return test(spheres, count, true, dest, null, null);
+    }
+
+    /**
+     * Test whether each of the <code>count</code> spheres stored in the given buffer, starting at its current position,
+     * is partly or completely within or outside of the frustum defined by <code>this</code> frustum culler and store the indices of all
+     * visible spheres in ascending order at the beginning of <code>dest</code>.
+     * <p>
+     * Each sphere is stored as <code>(x, y, z, radius)</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @see #testSpheres(float[], int, int, int[])
+     * 
+     * @param spheres
+     *          the packed center coordinates and radii of the spheres
+     * @param count
+     *          the number of spheres to test
+     * @param dest
+     *          will hold the indices of the visible spheres
+     * @return the number of visible spheres, which is the number of indices written to <code>dest</code>
+     */
+    public int testSpheres(FloatBuffer spheres, int count, int[] dest) {
+        return test(spheres, count, true, null, dest, null);
+    }
+
+    /**
+     * Test whether each of the <code>count</code> spheres stored in the given buffer, starting at its current position,
+     * is partly or completely within or outside of the frustum defined by <code>this</code> frustum culler and set <code>dest[i]</code>
+     * to <code>1</code> if the sphere <code>i</code> is visible, or to <code>0</code> otherwise.
+     * <p>
+     * Each sphere is stored as <code>(x, y, z, radius)</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @see #testSpheres(float[], int, int, byte[])
+     * 
+     * @param spheres
+     *          the packed center coordinates and radii of the spheres
+     * @param count
+     *          the number of spheres to test
+     * @param dest
+     *          will hold the visibility of each sphere
+     * @return the number of visible spheres
+     */
+    public int testSpheres(FloatBuffer spheres, int count, byte[] dest) {
+        return test(spheres, count, true, null, null, dest);
+    }
+//#endif
+
+    /**
+     * Determine for each of the <code>count</code> axis-aligned boxes stored in the given array whether it is partly or completely
+     * within or outside of the frustum defined by <code>this</code> frustum culler and, if it is not inside this frustum, the index of the
+     * plane that culled it.
+     * <p>
+     * The box <code>i</code> is stored as <code>(minX, minY, minZ, maxX, maxY, maxZ)</code> starting at <code>aabbs[offset + 6 * i]</code>.
+     * <p>
+     * Each box is tested just like by {@link #intersectAab(float, float, float, float, float, float, int, int)} and its result is stored
+     * in <code>results[i]</code>. If <code>results[i]</code> already holds a plane index, such as the result of the previous frame, then that plane
+     * is used as the <code>startPlane</code> (temporal coherency). Otherwise the plane that culled the previous box is used.
+     * <p>
+     * The <code>mask</code> applies to all boxes, so it should usually be the plane mask of a bounding volume containing all of them.
+     * 
+     * @param aabbs
+     *          the packed min/max corner coordinates of the axis-aligned boxes
+     * @param offset
+     *          the array index of the first box
+     * @param count
+     *          the number of boxes to test
+     * @param mask
+     *          contains as bitset all the planes that should be tested.
+     *          This value can be any combination of 
+     *          {@link #PLANE_MASK_NX}, {@link #PLANE_MASK_PX},
+     *          {@link #PLANE_MASK_NY}, {@link #PLANE_MASK_PY}, 
+     *          {@link #PLANE_MASK_NZ} and {@link #PLANE_MASK_PZ}
+     * @param results
+     *          contains the plane to test each box against first and will hold the result for each box, which is
+     *          the index of the first plane that culled the box, or {@link #INTERSECT} or {@link #INSIDE}
+     * @return the number of boxes that are not culled
+     */
+    public int intersectAabs(float[] aabbs, int offset, int count, int mask, byte[] results) {
+        return intersectAabs(aabbs, offset, count, 0, mask, results);
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Determine for each of the <code>count</code> axis-aligned boxes stored in the given buffer, starting at its current position,
+     * whether it is partly or completely within or outside of the frustum defined by <code>this</code> frustum culler and, if it is not
+     * inside this frustum, the index of the plane that culled it.
+     * <p>
+     * Each box is stored as <code>(minX, minY, minZ, maxX, maxY, maxZ)</code>.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @see #intersectAabs(float[], int, int, int, byte[])
+     * 
+     * @param aabbs
+     *          the packed min/max corner coordinates of the axis-aligned boxes
+     * @param count
+     *          the number of boxes to test
+     * @param mask
+     *          contains as bitset all the planes that should be tested.
+     *          This value can be any combination of 
+     *          {@link #PLANE_MASK_NX}, {@link #PLANE_MASK_PX},
+     *          {@link #PLANE_MASK_NY}, {@link #PLANE_MASK_PY}, 
+     *          {@link #PLANE_MASK_NZ} and {@link #PLANE_MASK_PZ}
+     * @param results
+     *          contains the plane to test each box against first and will hold the result for each box, which is
+     *          the index of the first plane that culled the box, or {@link #INTERSECT} or {@link #INSIDE}
+     * @return the number of boxes that are not culled
+     */
+    public int intersectAabs(FloatBuffer aabbs, int count, int mask, byte[] results) {
+        FloatBuffer src = aabbs.duplicate();
+        float[] chunk = new float[Math.min(count, BULK_CHUNK) * 6];
+        int notCulled = 0;
+        for (int i = 0; i < count; i += BULK_CHUNK) {
+            int n = Math.min(count - i, BULK_CHUNK);
+            src.get(chunk, 0, n * 6);
+            notCulled += intersectAabs(chunk, 0, n, i, mask, results);
+        }
+        return notCulled;
+    }
+//#endif
+
+//#ifndef __GWT__
+    /**
+     * Test whether each of the <code>count</code> axis-aligned boxes stored in the given array is partly or completely within or outside of
+     * the frustum defined by <code>this</code> frustum culler and set <code>dest[i]</code> to <code>1</code> if the box <code>i</code> is
+     * visible, or to <code>0</code> otherwise, using multiple threads for large batches.
+     * <p>
+     * This method produces the same result as {@link #testAabs(float[], int, int, byte[])}, but splits the boxes into blocks which are
+     * tested in parallel by a {@link java.util.concurrent.ForkJoinPool}. It requires Java 7 or later.
+     * 
+     * @param aabbs
+     *          the packed min/max corner coordinates of the axis-aligned boxes
+     * @param offset
+     *          the array index of the first box
+     * @param count
+     *          the number of boxes to test
+     * @param dest
+     *          will hold the visibility of each box
+     * @return the number of visible boxes
+     */
+    public int testAabsParallel(float[] aabbs, int offset, int count, byte[] dest) {
+        return testParallel(aabbs, offset, count, false, null, dest);
+    }
+
+    /**
+     * Test whether each of the <code>count</code> axis-aligned boxes stored in the given array is partly or completely within or outside of
+     * the frustum defined by <code>this</code> frustum culler and store the indices of all visible boxes in ascending order
+     * at the beginning of <code>dest</code>, using multiple threads for large batches.
+     * <p>
+     * This method produces the same result as {@link #testAabs(float[], int, int, int[])}, but splits the boxes into blocks which are
+     * tested in parallel by a {@link java.util.concurrent.ForkJoinPool}. It requires Java 7 or later.
+     * <p>
+     * Since each block first stores its indices at the position of its first box, <code>dest</code> must have room for <code>count</code> indices.
+     * 
+     * @param aabbs
+     *          the packed min/max corner coordinates of the axis-aligned boxes
+     * @param offset
+     *          the array index of the first box
+     * @param count
+     *          the number of boxes to test
+     * @param dest
+     *          will hold the indices of the visible boxes
+     * @return the number of visible boxes, which is the number of indices written to <code>dest</code>
+     */
+    public int testAabsParallel(float[] aabbs, int offset, int count, int[] dest) {
+        if (dest.length < count)
+            throw new IllegalArgumentException("dest.length < count");
+        return testParallel(aabbs, offset, count, false, dest, null);
+    }
+
+    /**
+     * Test whether each of the <code>count</code> spheres stored in the given array is partly or completely within or outside of
+     * the frustum defined by <code>this</code> frustum culler and set <code>dest[i]</code> to <code>1</code> if the sphere <code>i</code> is
+     * visible, or to <code>0</code> otherwise, using multiple threads for large batches.
+     * <p>
+     * This method produces the same result as {@link #testSpheres(float[], int, int, byte[])}, but splits the spheres into blocks which are
+     * tested in parallel by a {@link java.util.concurrent.ForkJoinPool}. It requires Java 7 or later.
+     * 
+     * @param spheres
+     *          the packed center coordinates and radii of the spheres
+     * @param offset
+     *          the array index of the first sphere
+     * @param count
+     *          the number of spheres to test
+     * @param dest
+     *          will hold the visibility of each sphere
+     * @return the number of visible spheres
+     */
+    public int testSpheresParallel(float[] spheres, int offset, int count, byte[] dest) {
+        return testParallel(spheres, offset, count, true, null, dest);
+    }
+
+    /**
+     * Test whether each of the <code>count</code> spheres stored in the given array is partly or completely within or outside of
+     * the frustum defined by <code>this</code> frustum culler and store the indices of all visible spheres in ascending order
+     * at the beginning of <code>dest</code>, using multiple threads for large batches.
+     * <p>
+     * This method produces the same result as {@link #testSpheres(float[], int, int, int[])}, but splits the spheres into blocks which are
+     * tested in parallel by a {@link java.util.concurrent.ForkJoinPool}. It requires Java 7 or later.
+     * <p>
+     * Since each block first stores its indices at the position of its first sphere, <code>dest</code> must have room for <code>count</code> indices.
+     * 
+     * @param spheres
+     *          the packed center coordinates and radii of the spheres
+     * @param offset
+     *          the array index of the first sphere
+     * @param count
+     *          the number of spheres to test
+     * @param dest
+     *          will hold the indices of the visible spheres
+     * @return the number of visible spheres, which is the number of indices written to <code>dest</code>
+     */
+    public int testSpheresParallel(float[] spheres, int offset, int count, int[] dest) {
+        if (dest.length < count)
+            throw new IllegalArgumentException("dest.length < count");
+        return testParallel(spheres, offset, count, true, dest, null);
+    }
+
+    private int testParallel(final float[] src, final int offset, int count, final boolean spheres, final int[] indices, final byte[] visibility) {
+        final int stride = spheres ? 4 : 6;
+        final int[] visible = new int[(count + PARALLEL_GRAIN - 1) / PARALLEL_GRAIN];
+        Parallel.run(count, PARALLEL_GRAIN, new Parallel.Range() {
+            public void run(int from, int to) {
+                visible[from / PARALLEL_GRAIN] = test(src, offset + from * stride, to - from, spheres, from, null, indices, from, visibility);
+            }
+        });
+        /* Compact the indices, which each block stored at the position of its first object */
+        int n = 0;
+        for (int b = 0; b < visible.length; b++) {
+            if (indices != null && n != b * PARALLEL_GRAIN)
+                System.arraycopy(indices, b * PARALLEL_GRAIN, indices, n, visible[b]);
+            n += visible[b];
+        }
+        return n;
+    }
+//#endif
+
+//#ifdef __HAS_NIO__
+    private int test(FloatBuffer src, int count, boolean spheres, BitSet bits, int[] indices, byte[] visibility) {
+        int stride = spheres ? 4 : 6;
+        FloatBuffer buffer = src.duplicate();
+        float[] chunk = new float[Math.min(count, BULK_CHUNK) * stride];
+        int visible = 0;
+        for (int i = 0; i < count; i += BULK_CHUNK) {
+            int n = Math.min(count - i, BULK_CHUNK);
+            buffer.get(chunk, 0, n * stride);
+            visible += test(chunk, 0, n, spheres, i, bits, indices, visible, visibility);
+        }
+        return visible;
+    }
+//#endif
+
+    private int test(float[] src, int offset, int count, boolean spheres, int first, BitSet bits, int[] indices, int indicesOffset, byte[] visibility) {
+        if (spheres)
+            return testSpheres(src, offset, count, first, bits, indices, indicesOffset, visibility);
+        return testAabs(src, offset, count, first, bits, indices, indicesOffset, visibility);
+    }
+
+    /**
+     * Test the <code>count</code> boxes starting at <code>aabbs[offset]</code>, which are the boxes <code>first</code> to <code>first + count - 1</code>
+     * of the whole batch, and store the result in whichever of <code>bits</code>, <code>indices</code> and <code>visibility</code> is not <code>null</code>.
+     * <p>
+     * The non-short-circuit <code>&amp;</code> avoids mispredicted branches, which cost more than evaluating the remaining planes.
+     */
+    private int testAabs(float[] aabbs, int offset, int count, int first, BitSet bits, int[] indices, int indicesOffset, byte[] visibility) {
+        int visible = 0;
+        for (int i = 0, o = offset; i < count; i++, o += 6) {
+            float minX = aabbs[o], minY = aabbs[o + 1], minZ = aabbs[o + 2];
+            float maxX = aabbs[o + 3], maxY = aabbs[o + 4], maxZ = aabbs[o + 5];
+            boolean inside = nxX * (nxX < 0 ? minX : maxX) + nxY * (nxY < 0 ? minY : maxY) + nxZ * (nxZ < 0 ? minZ : maxZ) >= -nxW &
+                             pxX * (pxX < 0 ? minX : maxX) + pxY * (pxY < 0 ? minY : maxY) + pxZ * (pxZ < 0 ? minZ : maxZ) >= -pxW &
+                             nyX * (nyX < 0 ? minX : maxX) + nyY * (nyY < 0 ? minY : maxY) + nyZ * (nyZ < 0 ? minZ : maxZ) >= -nyW &
+                             pyX * (pyX < 0 ? minX : maxX) + pyY * (pyY < 0 ? minY : maxY) + pyZ * (pyZ < 0 ? minZ : maxZ) >= -pyW &
+                             nzX * (nzX < 0 ? minX : maxX) + nzY * (nzY < 0 ? minY : maxY) + nzZ * (nzZ < 0 ? minZ : maxZ) >= -nzW &
+                             pzX * (pzX < 0 ? minX : maxX) + pzY * (pzY < 0 ? minY : maxY) + pzZ * (pzZ < 0 ? minZ : maxZ) >= -pzW;
+            store(first + i, inside, bits, indices, indicesOffset + visible, visibility);
+            if (inside)
+                visible++;
+        }
+        return visible;
+    }
+
+    /**
+     * Test the <code>count</code> spheres starting at <code>spheres[offset]</code>, which are the spheres <code>first</code> to <code>first + count - 1</code>
+     * of the whole batch, and store the result in whichever of <code>bits</code>, <code>indices</code> and <code>visibility</code> is not <code>null</code>.
+     */
+    private int testSpheres(float[] spheres, int offset, int count, int first, BitSet bits, int[] indices, int indicesOffset, byte[] visibility) {
+        int visible = 0;
+        for (int i = 0, o = offset; i < count; i++, o += 4) {
+            float x = spheres[o], y = spheres[o + 1], z = spheres[o + 2], r = spheres[o + 3];
+            boolean inside = nxX * x + nxY * y + nxZ * z + nxW >= -r &
+                             pxX * x + pxY * y + pxZ * z + pxW >= -r &
+                             nyX * x + nyY * y + nyZ * z + nyW >= -r &
+                             pyX * x + pyY * y + pyZ * z + pyW >= -r &
+                             nzX * x + nzY * y + nzZ * z + nzW >= -r &
+                             pzX * x + pzY * y + pzZ * z + pzW >= -r;
+            store(first + i, inside, bits, indices, indicesOffset + visible, visibility);
+            if (inside)
+                visible++;
+        }
+        return visible;
+    }
+
+    private static void store(int index, boolean visible, BitSet bits, int[] indices, int indicesPosition, byte[] visibility) {
+        if (visibility != null)
+            visibility[index] = visible ? (byte) 1 : (byte) 0;
+        else if (bits == null) {
+            if (visible)
+                indices[indicesPosition] = index;
+        } else if (visible)
+            bits.set(index);
+        else
+            bits.clear(index);
+    }
+
+    private int intersectAabs(float[] aabbs, int offset, int count, int first, int mask, byte[] results) {
+        int plane = PLANE_NX;
+        int notCulled = 0;
+        for (int i = 0, o = offset; i < count; i++, o += 6) {
+            int startPlane = results[first + i];
+            if (startPlane < PLANE_NX || startPlane > PLANE_PZ)
+                startPlane = plane;
+            int result = intersectAab(aabbs[o], aabbs[o + 1], aabbs[o + 2], aabbs[o + 3], aabbs[o + 4], aabbs[o + 5], mask, startPlane);
+            results[first + i] = (byte) result;
+            if (result >= 0)
+                plane = result;
+            else
+                notCulled++;
+        }
+        return notCulled;
+    }
+
 }
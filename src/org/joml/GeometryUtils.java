@@ -23,6 +23,15 @@
  */
 package org.joml;
 
+//#ifdef __HAS_NIO__
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+//#endif
+
+//#ifndef __GWT__
+import org.joml.internal.Parallel;
+//#endif
+
 /**
  * Useful geometry methods.
  * 
@@ -31,6 +40,18 @@ package org.joml;
  */
 public class GeometryUtils {
 
+//#ifndef __GWT__
+    /**
+     * The minimum number of vertices processed by a single task of the parallel mesh methods.
+     */
+    private static final int PARALLEL_GRAIN = 8192;
+//#endif
+
+    /**
+     * The number of consecutive triangles whose smallest and largest vertex index are recorded by {@link #blockBounds(int[], int)}.
+     */
+    private static final int TRIANGLE_BLOCK = 256;
+
     /**
      * Compute two arbitrary vectors perpendicular to the given normalized vector <code>(x, y, z)</code>, and store them in <code>dest1</code> and <code>dest2</code>,
      * respectively.
@@ -244,4 +265,462 @@ public class GeometryUtils {
         destBitangent.normalize();
     }
 
+    /**
+     * Compute smooth vertex normals of the indexed triangle mesh given by <code>positions</code> and <code>indices</code>
+     * and store them in <code>dest</code>.
+     * <p>
+     * The normal of each vertex is the normalized sum of the non-normalized normals of all triangles referencing it, so that
+     * each triangle contributes in proportion to its area. The triangles are assumed to be wound counter-clockwise.
+     * Vertices which are not referenced by any non-degenerate triangle get a zero normal.
+     * 
+     * @param positions
+     *            the packed <code>(x, y, z)</code> positions of the vertices
+     * @param vertexCount
+     *            the number of vertices
+     * @param indices
+     *            the vertex indices of the triangles, three per triangle
+     * @param triangleCount
+     *            the number of triangles
+     * @param dest
+     *            will hold the packed <code>(x, y, z)</code> normals of the <code>vertexCount</code> vertices
+     */
+    public static void normals(float[] positions, int vertexCount, int[] indices, int triangleCount, float[] dest) {
+        meshNormals(positions, indices, triangleCount, null, 0, vertexCount, dest);
+    }
+
+    /**
+     * Compute the tangents of the indexed triangle mesh given by <code>positions</code>, <code>uvs</code>, <code>normals</code> and <code>indices</code>
+     * and store them in <code>dest</code>.
+     * <p>
+     * Like MikkTSpace, the tangent of each vertex is the sum of the normalized tangents of all triangles referencing it, orthogonalized
+     * against the vertex normal and normalized, and its <code>w</code> component holds the handedness of the tangent space.
+     * The bitangent is therefore <code>w * cross(normal, tangent)</code>. Triangles with degenerate texture coordinates do not contribute,
+     * and vertices without any contributing triangle get an arbitrary tangent perpendicular to their normal.
+     * <p>
+     * The tangent points along increasing <code>u</code> and the bitangent <code>w * cross(normal, tangent)</code> along increasing <code>v</code>,
+     * so <code>w</code> is <code>1.0</code> where the texture coordinates are not mirrored relative to the triangle winding and <code>-1.0</code> where they are.
+     * Note that this bitangent points opposite to the one computed by
+     * {@link #bitangent(Vector3fc, Vector2fc, Vector3fc, Vector2fc, Vector3fc, Vector2fc, Vector3f) bitangent()} and
+     * {@link #tangentBitangent(Vector3fc, Vector2fc, Vector3fc, Vector2fc, Vector3fc, Vector2fc, Vector3f, Vector3f) tangentBitangent()}.
+     * <p>
+     * The normals are usually computed with {@link #normals(float[], int, int[], int, float[])} first.
+     * 
+     * @param positions
+     *            the packed <code>(x, y, z)</code> positions of the vertices
+     * @param uvs
+     *            the packed <code>(u, v)</code> texture coordinates of the vertices
+     * @param normals
+     *            the packed normalized <code>(x, y, z)</code> normals of the vertices
+     * @param vertexCount
+     *            the number of vertices
+     * @param indices
+     *            the vertex indices of the triangles, three per triangle
+     * @param triangleCount
+     *            the number of triangles
+     * @param dest
+     *            will hold the packed <code>(x, y, z, w)</code> tangents of the <code>vertexCount</code> vertices
+     */
+    public static void tangents(float[] positions, float[] uvs, float[] normals, int vertexCount, int[] indices, int triangleCount, float[] dest) {
+        meshTangents(positions, uvs, normals, indices, triangleCount, null, 0, vertexCount, new float[vertexCount * 3], dest);
+    }
+
+//#ifndef __GWT__
+    /**
+     * Compute smooth vertex normals of the indexed triangle mesh given by <code>positions</code> and <code>indices</code>
+     * and store them in <code>dest</code>, using multiple threads for large meshes.
+     * <p>
+     * This method produces exactly the same result as {@link #normals(float[], int, int[], int, float[])}. The vertices are split
+     * into one contiguous range per thread, and each thread adds the normals of all triangles referencing its vertices, in triangle order.
+     * Since no two threads write to the same vertex, this needs neither locks nor atomic updates, and no per-triangle allocation.
+     * To find these triangles, the smallest and largest vertex index of each block of 256 consecutive triangles is computed first,
+     * and a thread skips all blocks outside of its range. This is most effective when consecutive triangles reference nearby vertices,
+     * as in meshes optimized for the vertex cache. Triangles spanning two ranges are processed by both threads.
+     * <p>
+     * The number of threads is the parallelism of the {@link java.util.concurrent.ForkJoinPool} this method is called from, or of
+     * the common pool. Meshes with fewer than 8192 vertices per thread are processed in the calling thread.
+     * It requires Java 7 or later.
+     * 
+     * @param positions
+     *            the packed <code>(x, y, z)</code> positions of the vertices
+     * @param vertexCount
+     *            the number of vertices
+     * @param indices
+     *            the vertex indices of the triangles, three per triangle
+     * @param triangleCount
+     *            the number of triangles
+     * @param dest
+     *            will hold the packed <code>(x, y, z)</code> normals of the <code>vertexCount</code> vertices
+     */
+    public static void normalsParallel(final float[] positions, int vertexCount, final int[] indices, final int triangleCount, final float[] dest) {
+        int grain = parallelGrain(vertexCount);
+        if (grain >= vertexCount) {
+            meshNormals(positions, indices, triangleCount, null, 0, vertexCount, dest);
+            return;
+        }
+        final int[] bounds = blockBounds(indices, triangleCount);
+        Parallel.run(vertexCount, grain, new Parallel.Range() {
+            public void run(int from, int to) {
+                meshNormals(positions, indices, triangleCount, bounds, from, to, dest);
+            }
+        });
+    }
+
+    /**
+     * Compute the tangents of the indexed triangle mesh given by <code>positions</code>, <code>uvs</code>, <code>normals</code> and <code>indices</code>
+     * and store them in <code>dest</code>, using multiple threads for large meshes.
+     * <p>
+     * This method produces exactly the same result as {@link #tangents(float[], float[], float[], int, int[], int, float[])},
+     * splitting the vertices into one range per thread like {@link #normalsParallel(float[], int, int[], int, float[])}.
+     * It requires Java 7 or later.
+     * 
+     * @param positions
+     *            the packed <code>(x, y, z)</code> positions of the vertices
+     * @param uvs
+     *            the packed <code>(u, v)</code> texture coordinates of the vertices
+     * @param normals
+     *            the packed normalized <code>(x, y, z)</code> normals of the vertices
+     * @param vertexCount
+     *            the number of vertices
+     * @param indices
+     *            the vertex indices of the triangles, three per triangle
+     * @param triangleCount
+     *            the number of triangles
+     * @param dest
+     *            will hold the packed <code>(x, y, z, w)</code> tangents of the <code>vertexCount</code> vertices
+     */
+    public static void tangentsParallel(final float[] positions, final float[] uvs, final float[] normals, int vertexCount, final int[] indices,
+            final int triangleCount, final float[] dest) {
+        final float[] bitangents = new float[vertexCount * 3];
+        int grain = parallelGrain(vertexCount);
+        if (grain >= vertexCount) {
+            meshTangents(positions, uvs, normals, indices, triangleCount, null, 0, vertexCount, bitangents, dest);
+            return;
+        }
+        final int[] bounds = blockBounds(indices, triangleCount);
+        Parallel.run(vertexCount, grain, new Parallel.Range() {
+            public void run(int from, int to) {
+                meshTangents(positions, uvs, normals, indices, triangleCount, bounds, from, to, bitangents, dest);
+            }
+        });
+    }
+
+    /**
+     * Return the number of vertices per range that splits <code>vertexCount</code> vertices into one range per available thread,
+     * but into no ranges smaller than {@link #PARALLEL_GRAIN}.
+     */
+    private static int parallelGrain(int vertexCount) {
+        int ranges = Math.max(1, Math.min(Parallel.parallelism(), vertexCount / PARALLEL_GRAIN));
+        return Math.max(1, (vertexCount + ranges - 1) / ranges);
+    }
+
+    /**
+     * Return the smallest and largest vertex index of each block of {@link #TRIANGLE_BLOCK} consecutive triangles
+     * at the indices <code>2 * block</code> and <code>2 * block + 1</code> of the returned array.
+     */
+    private static int[] blockBounds(final int[] indices, final int triangleCount) {
+        final int[] bounds = new int[(triangleCount + TRIANGLE_BLOCK - 1) / TRIANGLE_BLOCK * 2];
+        Parallel.run(bounds.length / 2, PARALLEL_GRAIN / TRIANGLE_BLOCK, new Parallel.Range() {
+            public void run(int from, int to) {
+                for (int b = from; b < to; b++) {
+                    int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+                    for (int i = b * TRIANGLE_BLOCK * 3, end = Math.min((b + 1) * TRIANGLE_BLOCK, triangleCount) * 3; i < end; i++) {
+                        min = Math.min(min, indices[i]);
+                        max = Math.max(max, indices[i]);
+                    }
+                    bounds[b * 2] = min;
+                    bounds[b * 2 + 1] = max;
+                }
+            }
+        });
+        return bounds;
+    }
+//#endif
+
+    /**
+     * Compute the normals of the vertices <code>[from, to)</code> like {@link #normals(float[], int, int[], int, float[])},
+     * only writing to the elements of <code>dest</code> belonging to these vertices.
+     * <p>
+     * If <code>bounds</code> is not <code>null</code>, it holds the result of {@link #blockBounds(int[], int)}, and blocks of triangles
+     * not referencing any of the vertices are skipped.
+     */
+    private static void meshNormals(float[] positions, int[] indices, int triangleCount, int[] bounds, int from, int to, float[] dest) {
+        for (int i = from * 3; i < to * 3; i++)
+            dest[i] = 0.0f;
+        float[] n = new float[3];
+        for (int b = 0; b * TRIANGLE_BLOCK < triangleCount; b++) {
+            if (bounds != null && (bounds[b * 2] >= to || bounds[b * 2 + 1] < from))
+                continue;
+            for (int t = b * TRIANGLE_BLOCK, end = Math.min(t + TRIANGLE_BLOCK, triangleCount); t < end; t++) {
+                int v0 = indices[t * 3], v1 = indices[t * 3 + 1], v2 = indices[t * 3 + 2];
+                boolean in0 = v0 >= from && v0 < to, in1 = v1 >= from && v1 < to, in2 = v2 >= from && v2 < to;
+                if (!in0 && !in1 && !in2)
+                    continue;
+                faceNormal(positions, v0 * 3, v1 * 3, v2 * 3, n, 0);
+                if (in0) {
+                    dest[v0 * 3] += n[0]; dest[v0 * 3 + 1] += n[1]; dest[v0 * 3 + 2] += n[2];
+                }
+                if (in1) {
+                    dest[v1 * 3] += n[0]; dest[v1 * 3 + 1] += n[1]; dest[v1 * 3 + 2] += n[2];
+                }
+                if (in2) {
+                    dest[v2 * 3] += n[0]; dest[v2 * 3 + 1] += n[1]; dest[v2 * 3 + 2] += n[2];
+                }
+            }
+        }
+        normalize(dest, from, to);
+    }
+
+    /**
+     * Compute the tangents of the vertices <code>[from, to)</code> like {@link #tangents(float[], float[], float[], int, int[], int, float[])},
+     * only writing to the elements of <code>bitangents</code> and <code>dest</code> belonging to these vertices.
+     * <p>
+     * Blocks of triangles are skipped using <code>bounds</code> like in {@link #meshNormals(float[], int[], int, int[], int, int, float[])}.
+     */
+    private static void meshTangents(float[] positions, float[] uvs, float[] normals, int[] indices, int triangleCount, int[] bounds, int from, int to,
+            float[] bitangents, float[] dest) {
+        for (int i = from * 4; i < to * 4; i++)
+            dest[i] = 0.0f;
+        for (int i = from * 3; i < to * 3; i++)
+            bitangents[i] = 0.0f;
+        float[] tb = new float[6];
+        for (int b = 0; b * TRIANGLE_BLOCK < triangleCount; b++) {
+            if (bounds != null && (bounds[b * 2] >= to || bounds[b * 2 + 1] < from))
+                continue;
+            for (int t = b * TRIANGLE_BLOCK, end = Math.min(t + TRIANGLE_BLOCK, triangleCount); t < end; t++) {
+                int v0 = indices[t * 3], v1 = indices[t * 3 + 1], v2 = indices[t * 3 + 2];
+                boolean in0 = v0 >= from && v0 < to, in1 = v1 >= from && v1 < to, in2 = v2 >= from && v2 < to;
+                if (!in0 && !in1 && !in2)
+                    continue;
+                faceTangent(positions, uvs, v0, v1, v2, tb, 0);
+                if (in0)
+                    accumulateTangent(tb, dest, bitangents, v0);
+                if (in1)
+                    accumulateTangent(tb, dest, bitangents, v1);
+                if (in2)
+                    accumulateTangent(tb, dest, bitangents, v2);
+            }
+        }
+        for (int v = from; v < to; v++)
+            orthogonalize(normals, bitangents, v, dest);
+    }
+
+    private static void accumulateTangent(float[] tb, float[] tangents, float[] bitangents, int v) {
+        tangents[v * 4] += tb[0]; tangents[v * 4 + 1] += tb[1]; tangents[v * 4 + 2] += tb[2];
+        bitangents[v * 3] += tb[3]; bitangents[v * 3 + 1] += tb[4]; bitangents[v * 3 + 2] += tb[5];
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Compute smooth vertex normals of the indexed triangle mesh given by <code>positions</code> and <code>indices</code>
+     * and store them in <code>dest</code>.
+     * <p>
+     * This method reads and writes the buffers starting at their current positions, without modifying them,
+     * and otherwise behaves like {@link #normals(float[], int, int[], int, float[])}.
+     * 
+     * @param positions
+     *            the packed <code>(x, y, z)</code> positions of the vertices
+     * @param vertexCount
+     *            the number of vertices
+     * @param indices
+     *            the vertex indices of the triangles, three per triangle
+     * @param triangleCount
+     *            the number of triangles
+     * @param dest
+     *            will hold the packed <code>(x, y, z)</code> normals of the <code>vertexCount</code> vertices
+     */
+    public static void normals(FloatBuffer positions, int vertexCount, IntBuffer indices, int triangleCount, FloatBuffer dest) {
+        float[] normals = new float[vertexCount * 3];
+        normals(get(positions, vertexCount * 3), vertexCount, get(indices, triangleCount * 3), triangleCount, normals);
+        dest.duplicate().put(normals);
+    }
+
+    /**
+     * Compute the tangents of the indexed triangle mesh given by <code>positions</code>, <code>uvs</code>, <code>normals</code> and <code>indices</code>
+     * and store them in <code>dest</code>.
+     * <p>
+     * This method reads and writes the buffers starting at their current positions, without modifying them,
+     * and otherwise behaves like {@link #tangents(float[], float[], float[], int, int[], int, float[])}.
+     * 
+     * @param positions
+     *            the packed <code>(x, y, z)</code> positions of the vertices
+     * @param uvs
+     *            the packed <code>(u, v)</code> texture coordinates of the vertices
+     * @param normals
+     *            the packed normalized <code>(x, y, z)</code> normals of the vertices
+     * @param vertexCount
+     *            the number of vertices
+     * @param indices
+     *            the vertex indices of the triangles, three per triangle
+     * @param triangleCount
+     *            the number of triangles
+     * @param dest
+     *            will hold the packed <code>(x, y, z, w)</code> tangents of the <code>vertexCount</code> vertices
+     */
+    public static void tangents(FloatBuffer positions, FloatBuffer uvs, FloatBuffer normals, int vertexCount, IntBuffer indices, int triangleCount, FloatBuffer dest) {
+        float[] tangents = new float[vertexCount * 4];
+        tangents(get(positions, vertexCount * 3), get(uvs, vertexCount * 2), get(normals, vertexCount * 3), vertexCount,
+                get(indices, triangleCount * 3), triangleCount, tangents);
+        dest.duplicate().put(tangents);
+    }
+
+//#ifndef __GWT__
+    /**
+     * Compute smooth vertex normals of the indexed triangle mesh given by <code>positions</code> and <code>indices</code>
+     * and store them in <code>dest</code>, using multiple threads for large meshes.
+     * <p>
+     * This method reads and writes the buffers starting at their current positions, without modifying them,
+     * and otherwise behaves like {@link #normalsParallel(float[], int, int[], int, float[])}.
+     * 
+     * @param positions
+     *            the packed <code>(x, y, z)</code> positions of the vertices
+     * @param vertexCount
+     *            the number of vertices
+     * @param indices
+     *            the vertex indices of the triangles, three per triangle
+     * @param triangleCount
+     *            the number of triangles
+     * @param dest
+     *            will hold the packed <code>(x, y, z)</code> normals of the <code>vertexCount</code> vertices
+     */
+    public static void normalsParallel(FloatBuffer positions, int vertexCount, IntBuffer indices, int triangleCount, FloatBuffer dest) {
+        float[] normals = new float[vertexCount * 3];
+        normalsParallel(get(positions, vertexCount * 3), vertexCount, get(indices, triangleCount * 3), triangleCount, normals);
+        dest.duplicate().put(normals);
+    }
+
+    /**
+     * Compute the tangents of the indexed triangle mesh given by <code>positions</code>, <code>uvs</code>, <code>normals</code> and <code>indices</code>
+     * and store them in <code>dest</code>, using multiple threads for large meshes.
+     * <p>
+     * This method reads and writes the buffers starting at their current positions, without modifying them,
+     * and otherwise behaves like {@link #tangentsParallel(float[], float[], float[], int, int[], int, float[])}.
+     * 
+     * @param positions
+     *            the packed <code>(x, y, z)</code> positions of the vertices
+     * @param uvs
+     *            the packed <code>(u, v)</code> texture coordinates of the vertices
+     * @param normals
+     *            the packed normalized <code>(x, y, z)</code> normals of the vertices
+     * @param vertexCount
+     *            the number of vertices
+     * @param indices
+     *            the vertex indices of the triangles, three per triangle
+     * @param triangleCount
+     *            the number of triangles
+     * @param dest
+     *            will hold the packed <code>(x, y, z, w)</code> tangents of the <code>vertexCount</code> vertices
+     */
+    public static void tangentsParallel(FloatBuffer positions, FloatBuffer uvs, FloatBuffer normals, int vertexCount, IntBuffer indices, int triangleCount, FloatBuffer dest) {
+        float[] tangents = new float[vertexCount * 4];
+        tangentsParallel(get(positions, vertexCount * 3), get(uvs, vertexCount * 2), get(normals, vertexCount * 3), vertexCount,
+                get(indices, triangleCount * 3), triangleCount, tangents);
+        dest.duplicate().put(tangents);
+    }
+//#endif
+
+    private static float[] get(FloatBuffer buffer, int length) {
+        float[] array = new float[length];
+        buffer.duplicate().get(array);
+        return array;
+    }
+
+    private static int[] get(IntBuffer buffer, int length) {
+        int[] array = new int[length];
+        buffer.duplicate().get(array);
+        return array;
+    }
+//#endif
+
+    /**
+     * Store the non-normalized normal of the triangle with the position array indices <code>i0</code>, <code>i1</code> and <code>i2</code>,
+     * whose length is twice the area of the triangle, at <code>dest[off]</code>.
+     */
+    private static void faceNormal(float[] p, int i0, int i1, int i2, float[] dest, int off) {
+        float e1x = p[i1] - p[i0], e1y = p[i1 + 1] - p[i0 + 1], e1z = p[i1 + 2] - p[i0 + 2];
+        float e2x = p[i2] - p[i0], e2y = p[i2 + 1] - p[i0 + 1], e2z = p[i2 + 2] - p[i0 + 2];
+        dest[off] = e1y * e2z - e1z * e2y;
+        dest[off + 1] = e1z * e2x - e1x * e2z;
+        dest[off + 2] = e1x * e2y - e1y * e2x;
+    }
+
+    /**
+     * Store the normalized tangent and bitangent of the triangle with the vertices <code>v0</code>, <code>v1</code> and <code>v2</code>
+     * at <code>dest[off]</code>, or zero if its texture coordinates or positions are degenerate.
+     * <p>
+     * The tangent is the same as the one computed by {@link #tangentBitangent(Vector3fc, Vector2fc, Vector3fc, Vector2fc, Vector3fc, Vector2fc, Vector3f, Vector3f)},
+     * but the bitangent points along increasing <code>v</code>, opposite to the one of that method, which is what the handedness is derived from.
+     */
+    private static void faceTangent(float[] p, float[] uv, int v0, int v1, int v2, float[] dest, int off) {
+        float deltaU1 = uv[v1 * 2] - uv[v0 * 2], deltaV1 = uv[v1 * 2 + 1] - uv[v0 * 2 + 1];
+        float deltaU2 = uv[v2 * 2] - uv[v0 * 2], deltaV2 = uv[v2 * 2 + 1] - uv[v0 * 2 + 1];
+        float e1x = p[v1 * 3] - p[v0 * 3], e1y = p[v1 * 3 + 1] - p[v0 * 3 + 1], e1z = p[v1 * 3 + 2] - p[v0 * 3 + 2];
+        float e2x = p[v2 * 3] - p[v0 * 3], e2y = p[v2 * 3 + 1] - p[v0 * 3 + 1], e2z = p[v2 * 3 + 2] - p[v0 * 3 + 2];
+        float det = deltaU1 * deltaV2 - deltaU2 * deltaV1;
+        float tx = deltaV2 * e1x - deltaV1 * e2x, ty = deltaV2 * e1y - deltaV1 * e2y, tz = deltaV2 * e1z - deltaV1 * e2z;
+        float bx = deltaU1 * e2x - deltaU2 * e1x, by = deltaU1 * e2y - deltaU2 * e1y, bz = deltaU1 * e2z - deltaU2 * e1z;
+        float tl = tx * tx + ty * ty + tz * tz, bl = bx * bx + by * by + bz * bz;
+        if (det == 0.0f || tl == 0.0f || bl == 0.0f) {
+            for (int i = 0; i < 6; i++)
+                dest[off + i] = 0.0f;
+            return;
+        }
+        /* The sign of 1/det flips the direction of both vectors, their magnitude is removed by the normalization */
+        float ts = (det < 0.0f ? -1.0f : 1.0f) / (float) Math.sqrt(tl);
+        float bs = (det < 0.0f ? -1.0f : 1.0f) / (float) Math.sqrt(bl);
+        dest[off] = tx * ts;
+        dest[off + 1] = ty * ts;
+        dest[off + 2] = tz * ts;
+        dest[off + 3] = bx * bs;
+        dest[off + 4] = by * bs;
+        dest[off + 5] = bz * bs;
+    }
+
+    private static void normalize(float[] v, int from, int to) {
+        for (int i = from * 3; i < to * 3; i += 3) {
+            float l = v[i] * v[i] + v[i + 1] * v[i + 1] + v[i + 2] * v[i + 2];
+            if (l == 0.0f)
+                continue;
+            float invLength = 1.0f / (float) Math.sqrt(l);
+            v[i] *= invLength;
+            v[i + 1] *= invLength;
+            v[i + 2] *= invLength;
+        }
+    }
+
+    /**
+     * Orthogonalize the accumulated tangent of vertex <code>v</code> in <code>tangents</code> against its normal, normalize it and
+     * store the handedness given by the accumulated bitangent in its <code>w</code> component.
+     */
+    private static void orthogonalize(float[] normals, float[] bitangents, int v, float[] tangents) {
+        float nx = normals[v * 3], ny = normals[v * 3 + 1], nz = normals[v * 3 + 2];
+        float tx = tangents[v * 4], ty = tangents[v * 4 + 1], tz = tangents[v * 4 + 2];
+        float d = nx * tx + ny * ty + nz * tz;
+        tx -= nx * d;
+        ty -= ny * d;
+        tz -= nz * d;
+        float l = tx * tx + ty * ty + tz * tz;
+        if (l == 0.0f) {
+            /* No usable tangent, so take any vector perpendicular to the normal */
+            if (Math.abs(nx) > Math.abs(nz)) {
+                tx = -ny; ty = nx; tz = 0.0f;
+            } else {
+                tx = 0.0f; ty = -nz; tz = ny;
+            }
+            l = tx * tx + ty * ty + tz * tz;
+            if (l == 0.0f) {
+                tx = 1.0f;
+                l = 1.0f;
+            }
+        }
+        float invLength = 1.0f / (float) Math.sqrt(l);
+        tx *= invLength;
+        ty *= invLength;
+        tz *= invLength;
+        float h = (ny * tz - nz * ty) * bitangents[v * 3] + (nz * tx - nx * tz) * bitangents[v * 3 + 1] + (nx * ty - ny * tx) * bitangents[v * 3 + 2];
+        tangents[v * 4] = tx;
+        tangents[v * 4 + 1] = ty;
+        tangents[v * 4 + 2] = tz;
+        tangents[v * 4 + 3] = h < 0.0f ? -1.0f : 1.0f;
+    }
+
 }
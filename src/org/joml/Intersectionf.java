@@ -2778,10 +2778,10 @@ public class Intersectionf {
         float edge2X = v2X - v0X;
         float edge2Y = v2Y - v0Y;
         float edge2Z = v2Z - v0Z;
-        float pvecX = dirY * edge2Z - dirZ * edge2Y;
-        float pvecY = dirZ * edge2X - dirX * edge2Z;
-        float pvecZ = dirX * edge2Y - dirY * edge2X;
-        float det = edge1X * pvecX + edge1Y * pvecY + edge1Z * pvecZ;
+        float pvecX = Math.fma(-dirZ, edge2Y, dirY * edge2Z);
+        float pvecY = Math.fma(-dirX, edge2Z, dirZ * edge2X);
+        float pvecZ = Math.fma(-dirY, edge2X, dirX * edge2Y);
+        float det = Math.fma(edge1Z, pvecZ, Math.fma(edge1Y, pvecY, edge1X * pvecX));
         if (det < epsilon)
             return false;
         float tvecX = originX - v0X;
@@ -2790,14 +2790,14 @@ public class Intersectionf {
         float u = (tvecX * pvecX + tvecY * pvecY + tvecZ * pvecZ);
         if (u < 0.0f || u > det)
             return false;
-        float qvecX = tvecY * edge1Z - tvecZ * edge1Y;
-        float qvecY = tvecZ * edge1X - tvecX * edge1Z;
-        float qvecZ = tvecX * edge1Y - tvecY * edge1X;
+        float qvecX = Math.fma(-tvecZ, edge1Y, tvecY * edge1Z);
+        float qvecY = Math.fma(-tvecX, edge1Z, tvecZ * edge1X);
+        float qvecZ = Math.fma(-tvecY, edge1X, tvecX * edge1Y);
         float v = (dirX * qvecX + dirY * qvecY + dirZ * qvecZ);
         if (v < 0.0f || u + v > det)
             return false;
         float invDet = 1.0f / det;
-        float t = (edge2X * qvecX + edge2Y * qvecY + edge2Z * qvecZ) * invDet;
+        float t = Math.fma(edge2Z, qvecZ, Math.fma(edge2Y, qvecY, edge2X * qvecX)) * invDet;
         return t >= epsilon;
     }
 
@@ -2886,26 +2886,26 @@ public class Intersectionf {
         float edge2X = v2X - v0X;
         float edge2Y = v2Y - v0Y;
         float edge2Z = v2Z - v0Z;
-        float pvecX = dirY * edge2Z - dirZ * edge2Y;
-        float pvecY = dirZ * edge2X - dirX * edge2Z;
-        float pvecZ = dirX * edge2Y - dirY * edge2X;
-        float det = edge1X * pvecX + edge1Y * pvecY + edge1Z * pvecZ;
+        float pvecX = Math.fma(-dirZ, edge2Y, dirY * edge2Z);
+        float pvecY = Math.fma(-dirX, edge2Z, dirZ * edge2X);
+        float pvecZ = Math.fma(-dirY, edge2X, dirX * edge2Y);
+        float det = Math.fma(edge1Z, pvecZ, Math.fma(edge1Y, pvecY, edge1X * pvecX));
         if (det > -epsilon && det < epsilon)
             return false;
         float tvecX = originX - v0X;
         float tvecY = originY - v0Y;
         float tvecZ = originZ - v0Z;
         float invDet = 1.0f / det;
-        float u = (tvecX * pvecX + tvecY * pvecY + tvecZ * pvecZ) * invDet;
+        float u = Math.fma(tvecZ, pvecZ, Math.fma(tvecY, pvecY, tvecX * pvecX)) * invDet;
         if (u < 0.0f || u > 1.0f)
             return false;
-        float qvecX = tvecY * edge1Z - tvecZ * edge1Y;
-        float qvecY = tvecZ * edge1X - tvecX * edge1Z;
-        float qvecZ = tvecX * edge1Y - tvecY * edge1X;
-        float v = (dirX * qvecX + dirY * qvecY + dirZ * qvecZ) * invDet;
+        float qvecX = Math.fma(-tvecZ, edge1Y, tvecY * edge1Z);
+        float qvecY = Math.fma(-tvecX, edge1Z, tvecZ * edge1X);
+        float qvecZ = Math.fma(-tvecY, edge1X, tvecX * edge1Y);
+        float v = Math.fma(dirZ, qvecZ, Math.fma(dirY, qvecY, dirX * qvecX)) * invDet;
         if (v < 0.0f || u + v > 1.0f)
             return false;
-        float t = (edge2X * qvecX + edge2Y * qvecY + edge2Z * qvecZ) * invDet;
+        float t = Math.fma(edge2Z, qvecZ, Math.fma(edge2Y, qvecY, edge2X * qvecX)) * invDet;
         return t >= epsilon;
     }
 
@@ -2996,26 +2996,26 @@ public class Intersectionf {
         float edge2X = v2X - v0X;
         float edge2Y = v2Y - v0Y;
         float edge2Z = v2Z - v0Z;
-        float pvecX = dirY * edge2Z - dirZ * edge2Y;
-        float pvecY = dirZ * edge2X - dirX * edge2Z;
-        float pvecZ = dirX * edge2Y - dirY * edge2X;
-        float det = edge1X * pvecX + edge1Y * pvecY + edge1Z * pvecZ;
+        float pvecX = Math.fma(-dirZ, edge2Y, dirY * edge2Z);
+        float pvecY = Math.fma(-dirX, edge2Z, dirZ * edge2X);
+        float pvecZ = Math.fma(-dirY, edge2X, dirX * edge2Y);
+        float det = Math.fma(edge1Z, pvecZ, Math.fma(edge1Y, pvecY, edge1X * pvecX));
         if (det <= epsilon)
             return -1.0f;
         float tvecX = originX - v0X;
         float tvecY = originY - v0Y;
         float tvecZ = originZ - v0Z;
-        float u = tvecX * pvecX + tvecY * pvecY + tvecZ * pvecZ;
+        float u = Math.fma(tvecZ, pvecZ, Math.fma(tvecY, pvecY, tvecX * pvecX));
         if (u < 0.0f || u > det)
             return -1.0f;
-        float qvecX = tvecY * edge1Z - tvecZ * edge1Y;
-        float qvecY = tvecZ * edge1X - tvecX * edge1Z;
-        float qvecZ = tvecX * edge1Y - tvecY * edge1X;
-        float v = dirX * qvecX + dirY * qvecY + dirZ * qvecZ;
+        float qvecX = Math.fma(-tvecZ, edge1Y, tvecY * edge1Z);
+        float qvecY = Math.fma(-tvecX, edge1Z, tvecZ * edge1X);
+        float qvecZ = Math.fma(-tvecY, edge1X, tvecX * edge1Y);
+        float v = Math.fma(dirZ, qvecZ, Math.fma(dirY, qvecY, dirX * qvecX));
         if (v < 0.0f || u + v > det)
             return -1.0f;
         float invDet = 1.0f / det;
-        float t = (edge2X * qvecX + edge2Y * qvecY + edge2Z * qvecZ) * invDet;
+        float t = Math.fma(edge2Z, qvecZ, Math.fma(edge2Y, qvecY, edge2X * qvecX)) * invDet;
         return t;
     }
 
@@ -3107,26 +3107,26 @@ public class Intersectionf {
         float edge2X = v2X - v0X;
         float edge2Y = v2Y - v0Y;
         float edge2Z = v2Z - v0Z;
-        float pvecX = dirY * edge2Z - dirZ * edge2Y;
-        float pvecY = dirZ * edge2X - dirX * edge2Z;
-        float pvecZ = dirX * edge2Y - dirY * edge2X;
-        float det = edge1X * pvecX + edge1Y * pvecY + edge1Z * pvecZ;
+        float pvecX = Math.fma(-dirZ, edge2Y, dirY * edge2Z);
+        float pvecY = Math.fma(-dirX, edge2Z, dirZ * edge2X);
+        float pvecZ = Math.fma(-dirY, edge2X, dirX * edge2Y);
+        float det = Math.fma(edge1Z, pvecZ, Math.fma(edge1Y, pvecY, edge1X * pvecX));
         if (det > -epsilon && det < epsilon)
             return -1.0f;
         float tvecX = originX - v0X;
         float tvecY = originY - v0Y;
         float tvecZ = originZ - v0Z;
         float invDet = 1.0f / det;
-        float u = (tvecX * pvecX + tvecY * pvecY + tvecZ * pvecZ) * invDet;
+        float u = Math.fma(tvecZ, pvecZ, Math.fma(tvecY, pvecY, tvecX * pvecX)) * invDet;
         if (u < 0.0f || u > 1.0f)
             return -1.0f;
-        float qvecX = tvecY * edge1Z - tvecZ * edge1Y;
-        float qvecY = tvecZ * edge1X - tvecX * edge1Z;
-        float qvecZ = tvecX * edge1Y - tvecY * edge1X;
-        float v = (dirX * qvecX + dirY * qvecY + dirZ * qvecZ) * invDet;
+        float qvecX = Math.fma(-tvecZ, edge1Y, tvecY * edge1Z);
+        float qvecY = Math.fma(-tvecX, edge1Z, tvecZ * edge1X);
+        float qvecZ = Math.fma(-tvecY, edge1X, tvecX * edge1Y);
+        float v = Math.fma(dirZ, qvecZ, Math.fma(dirY, qvecY, dirX * qvecX)) * invDet;
         if (v < 0.0f || u + v > 1.0f)
             return -1.0f;
-        float t = (edge2X * qvecX + edge2Y * qvecY + edge2Z * qvecZ) * invDet;
+        float t = Math.fma(edge2Z, qvecZ, Math.fma(edge2Y, qvecY, edge2X * qvecX)) * invDet;
         return t;
     }
 
@@ -23,6 +23,7 @@
  */
 package org.joml;
 
+import org.joml.internal.Fma;
 import org.joml.internal.Options;
 
 /**
@@ -38,6 +39,11 @@ import org.joml.internal.Options;
  * </ol>
  * By default, the first algorithm is being used. In order to use the second one, start the JVM with <code>-Djoml.sinLookup</code>. The lookup table bit length of the second algorithm can also be adjusted
  * for improved accuracy via <code>-Djoml.sinLookup.bits=&lt;n&gt;</code>, where &lt;n&gt; is the number of bits of the lookup table.
+ * <p>
+ * Independently of <code>-Djoml.fastmath</code>, the <code>fast*</code> methods, such as {@link #fastSin(float)} or {@link #fastAtan2(float, float)},
+ * always use float approximations with a documented error bound, so that the precision can be chosen per call site. Every function also has a bulk variant
+ * operating on whole arrays, such as {@link #fastSin(float[], float[])}. Except for {@link #fastExp(float[], float[])}, the bulk variants of the approximations
+ * consist only of arithmetic without branches, so that the JIT compiler can vectorize their loops.
  * 
  * @author Kai Burjack
  */
@@ -330,4 +336,482 @@ public class Math {
     public static boolean isFinite(float f) {
         return abs(f) <= Float.MAX_VALUE;
     }
+
+    /**
+     * Compute <code>a * b + c</code>.
+     * <p>
+     * On a Java 9+ runtime whose CPU has fused multiply-add instructions, or with <code>-Djoml.usefma=true</code>, this uses
+     * <code>java.lang.Math.fma()</code> and rounds only once. Otherwise, this is exactly <code>a * b + c</code> with the multiplication and the addition rounded separately.
+     * 
+     * @param a
+     *          the first factor
+     * @param b
+     *          the second factor
+     * @param c
+     *          the summand
+     * @return <code>a * b + c</code>
+     */
+    public static float fma(float a, float b, float c) {
+        return Fma.INSTANCE.fma(a, b, c);
+    }
+
+    /**
+     * Compute <code>a * b + c</code>.
+     * <p>
+     * On a Java 9+ runtime whose CPU has fused multiply-add instructions, or with <code>-Djoml.usefma=true</code>, this uses
+     * <code>java.lang.Math.fma()</code> and rounds only once. Otherwise, this is exactly <code>a * b + c</code> with the multiplication and the addition rounded separately.
+     * 
+     * @param a
+     *          the first factor
+     * @param b
+     *          the second factor
+     * @param c
+     *          the summand
+     * @return <code>a * b + c</code>
+     */
+    public static double fma(double a, double b, double c) {
+        return Fma.INSTANCE.fma(a, b, c);
+    }
+
+    /*
+     * Float approximations, which are used regardless of Options.FASTMATH.
+     *
+     * They avoid branches and integer conversions where possible, so that the loops of their bulk variants can be vectorized:
+     * - x + MAGIC - MAGIC rounds x to the nearest integer for |x| < 2^22
+     * - max(min(v * 2^100 * 2^100, 1), -1) is the sign of v as -1, 0 or +1
+     * - (float) java.lang.Math.sqrt(v) is compiled to a single precision square root
+     */
+    private static final float MAGIC = 12582912.0f;
+    private static final float SIGN_SCALE = 1.2676506E30f;
+    private static final float PIHalf_f = (float) PIHalf;
+    private static final float PI_4_f = (float) PI_4;
+    private static final float PI_INV_f = (float) PI_INV;
+    /* pi split into parts whose products with small integers are exact */
+    private static final float PI_A = 3.140625f;
+    private static final float PI_B = 9.67502593994140625E-4f;
+    private static final float PI_C = 1.509957990978376432E-7f;
+    /* sin_roquen_9 polynomial */
+    private static final float sf1 = (float) s1, sf2 = (float) s2, sf3 = (float) s3, sf4 = (float) s4, sf5 = (float) s5;
+    /* Abramowitz and Stegun 4.4.46 */
+    private static final float ac0 = 1.5707963050f, ac1 = -0.2145988016f, ac2 = 0.0889789874f, ac3 = -0.0501743046f;
+    private static final float ac4 = 0.0308918810f, ac5 = -0.0170881256f, ac6 = 0.0066700901f, ac7 = -0.0012624911f;
+    /* near-minimax fit of atan(t) / t as a polynomial of t^2 on [0..1] */
+    private static final float at0 = 0.99999611175f, at1 = -0.33317368318f, at2 = 0.19807816535f, at3 = -0.13233343073f;
+    private static final float at4 = 0.07962366216f, at5 = -0.03360419699f, at6 = 0.00681178242f;
+    /* Cephes expf */
+    private static final float LOG2E = 1.44269504088896341f;
+    private static final float LN2_A = 0.693359375f, LN2_B = -2.12194440e-4f;
+    private static final float ex0 = 1.9875691500E-4f, ex1 = 1.3981999507E-3f, ex2 = 8.3334519073E-3f;
+    private static final float ex3 = 4.1665795894E-2f, ex4 = 1.6666665459E-1f, ex5 = 5.0000001201E-1f;
+
+    private static float sign(float v) {
+        /* even Float.MIN_VALUE is scaled beyond 1, without producing NaN for infinite v */
+        return java.lang.Math.max(java.lang.Math.min(v * SIGN_SCALE * SIGN_SCALE, 1.0f), -1.0f);
+    }
+
+    /**
+     * Return the inverse square root <code>1 / sqrt(r)</code>.
+     * 
+     * @param r
+     *          the argument
+     * @return the inverse square root
+     */
+    public static float invsqrt(float r) {
+        return 1.0f / (float) java.lang.Math.sqrt(r);
+    }
+
+    /**
+     * Return the inverse square root <code>1 / sqrt(r)</code>.
+     * 
+     * @param r
+     *          the argument
+     * @return the inverse square root
+     */
+    public static double invsqrt(double r) {
+        return 1.0 / java.lang.Math.sqrt(r);
+    }
+
+    /**
+     * Approximate the sine of <code>rad</code>.
+     * <p>
+     * For <code>|rad| &lt;= 10<sup>4</sup></code> the absolute error is at most <code>2E-7</code>. It grows with <code>|rad|</code>
+     * to <code>1E-6</code> at <code>10<sup>5</sup></code>, beyond which the range reduction is no longer exact.
+     * 
+     * @param rad
+     *          the angle in radians
+     * @return the approximated sine
+     */
+    public static float fastSin(float rad) {
+        float n = rad * PI_INV_f + MAGIC - MAGIC;
+        float x = rad - n * PI_A - n * PI_B - n * PI_C;
+        float h = n * 0.5f + MAGIC - MAGIC;
+        float x2 = x * x;
+        return (1.0f - 2.0f * java.lang.Math.abs(n - 2.0f * h)) * x * (sf1 + x2 * (sf2 + x2 * (sf3 + x2 * (sf4 + x2 * sf5))));
+    }
+
+    /**
+     * Approximate the cosine of <code>rad</code>.
+     * <p>
+     * For <code>|rad| &lt;= 10<sup>4</sup></code> the absolute error is at most <code>2E-7</code>. It grows with <code>|rad|</code>
+     * to <code>1E-6</code> at <code>10<sup>5</sup></code>, beyond which the range reduction is no longer exact.
+     * 
+     * @param rad
+     *          the angle in radians
+     * @return the approximated cosine
+     */
+    public static float fastCos(float rad) {
+        /* cos(rad) = (-1)^(n+1) * sin(rad - (n + 1/2) * pi) */
+        float n = rad * PI_INV_f - 0.5f + MAGIC - MAGIC;
+        float m = n + 0.5f;
+        float x = rad - m * PI_A - m * PI_B - m * PI_C;
+        float h = n * 0.5f + MAGIC - MAGIC;
+        float x2 = x * x;
+        return (2.0f * java.lang.Math.abs(n - 2.0f * h) - 1.0f) * x * (sf1 + x2 * (sf2 + x2 * (sf3 + x2 * (sf4 + x2 * sf5))));
+    }
+
+    /**
+     * Approximate the inverse square root <code>1 / sqrt(r)</code> of a positive normal float with an initial guess from the
+     * bit representation of <code>r</code> and two Newton-Raphson iterations.
+     * <p>
+     * The relative error is at most <code>5E-6</code>. On current hardware, {@link #invsqrt(float)} is often just as fast,
+     * and {@link #invsqrt(float[], float[])} vectorizes, so this method mainly pays off on platforms with a slow square root.
+     * 
+     * @param r
+     *          the argument
+     * @return the approximated inverse square root
+     */
+    public static float fastInvsqrt(float r) {
+        float half = 0.5f * r;
+        float y = Float.intBitsToFloat(0x5f375a86 - (Float.floatToIntBits(r) >> 1));
+        y = y * (1.5f - half * y * y);
+        return y * (1.5f - half * y * y);
+    }
+
+    /**
+     * Approximate the arc cosine of <code>r</code> in <code>[-1..+1]</code>.
+     * <p>
+     * The absolute error is at most <code>5E-7</code>. The result is <code>NaN</code> for <code>|r| &gt; 1</code>.
+     * 
+     * @param r
+     *          the argument
+     * @return the approximated arc cosine in <code>[0..pi]</code>
+     */
+    public static float fastAcos(float r) {
+        float a = java.lang.Math.abs(r);
+        float p = ac0 + a * (ac1 + a * (ac2 + a * (ac3 + a * (ac4 + a * (ac5 + a * (ac6 + a * ac7))))));
+        /* acos(|r|), mirrored at pi/2 for negative r */
+        float acos = (float) java.lang.Math.sqrt(1.0f - a) * p;
+        return PIHalf_f + sign(r) * (acos - PIHalf_f);
+    }
+
+    /**
+     * Approximate the arc sine of <code>r</code> in <code>[-1..+1]</code>.
+     * <p>
+     * The absolute error is at most <code>5E-7</code>, which is not small relative to the result for <code>|r|</code> close to zero.
+     * The result is <code>NaN</code> for <code>|r| &gt; 1</code>.
+     * 
+     * @param r
+     *          the argument
+     * @return the approximated arc sine in <code>[-pi/2..+pi/2]</code>
+     */
+    public static float fastAsin(float r) {
+        return PIHalf_f - fastAcos(r);
+    }
+
+    /**
+     * Approximate the angle of the point <code>(x, y)</code>, like {@link java.lang.Math#atan2(double, double)}.
+     * <p>
+     * For finite arguments the absolute error is at most <code>7E-7</code>. Unlike {@link java.lang.Math#atan2(double, double)},
+     * this method ignores the sign of zero arguments, and it returns <code>pi/2</code> for <code>x = y = 0</code>.
+     * 
+     * @param y
+     *          the ordinate
+     * @param x
+     *          the abscissa
+     * @return the approximated angle in <code>[-pi..+pi]</code>
+     */
+    public static float fastAtan2(float y, float x) {
+        float ax = java.lang.Math.abs(x), ay = java.lang.Math.abs(y);
+        /*
+         * atan(|y|/|x|) = pi/4 - atan((|x|-|y|)/(|x|+|y|)), mirrored at pi/2 for negative x and at 0 for negative y.
+         * The degree of the polynomial is limited by the loop size up to which C2 still unrolls and vectorizes fastAtan2(float[], float[], float[]).
+         */
+        float t = (ax - ay) / java.lang.Math.max(ax + ay, Float.MIN_VALUE), t2 = t * t;
+        float atan = PI_4_f + t * (at0 + t2 * (at1 + t2 * (at2 + t2 * (at3 + t2 * (at4 + t2 * (at5 + t2 * at6))))));
+        float sy = java.lang.Math.max(java.lang.Math.min(y * SIGN_SCALE * SIGN_SCALE + 1.0f, 1.0f), -1.0f);
+        return sy * (PIHalf_f - sign(x) * atan);
+    }
+
+    /**
+     * Approximate <code>e<sup>r</sup></code>.
+     * <p>
+     * The relative error is at most <code>2E-7</code> for results in the normal float range. Results that are too large become
+     * infinity, and results below the smallest normal float lose precision or become zero.
+     * <p>
+     * This method reinterprets float bits, which current JIT compilers do not vectorize, so {@link #fastExp(float[], float[])}
+     * is a scalar loop.
+     * 
+     * @param r
+     *          the exponent
+     * @return the approximated power of e
+     */
+    public static float fastExp(float r) {
+        /* the bit operations below prevent vectorization anyway, and unlike java.lang.Math.min/max, these branches are cheap when not taken */
+        float x = r > 89.0f ? 89.0f : r;
+        x = x < -104.0f ? -104.0f : x;
+        float n = x * LOG2E + MAGIC - MAGIC;
+        x = x - n * LN2_A - n * LN2_B;
+        float p = (((((ex0 * x + ex1) * x + ex2) * x + ex3) * x + ex4) * x + ex5) * x * x + x + 1.0f;
+        /* scale by 2^n in two steps, so that both factors are normal floats */
+        int ni = (int) n, n1 = ni >> 1;
+        return p * Float.intBitsToFloat(n1 + 127 << 23) * Float.intBitsToFloat(ni - n1 + 127 << 23);
+    }
+
+    private static void checkBulk(float[] src, float[] dest) {
+        if (dest.length < src.length)
+            throw new IllegalArgumentException("dest is shorter than src");
+    }
+
+    /**
+     * Store the sine of all elements of <code>src</code> into <code>dest</code>.
+     * 
+     * @see #sin(double)
+     * 
+     * @param src
+     *          the arguments
+     * @param dest
+     *          will hold the results, at least as many as <code>src</code>
+     * @return dest
+     */
+    public static float[] sin(float[] src, float[] dest) {
+        checkBulk(src, dest);
+        for (int i = 0; i < src.length; i++)
+            dest[i] = (float) sin(src[i]);
+        return dest;
+    }
+
+    /**
+     * Store the cosine of all elements of <code>src</code> into <code>dest</code>.
+     * 
+     * @see #cos(double)
+     * 
+     * @param src
+     *          the arguments
+     * @param dest
+     *          will hold the results, at least as many as <code>src</code>
+     * @return dest
+     */
+    public static float[] cos(float[] src, float[] dest) {
+        checkBulk(src, dest);
+        for (int i = 0; i < src.length; i++)
+            dest[i] = (float) cos(src[i]);
+        return dest;
+    }
+
+    /**
+     * Store the arc cosine of all elements of <code>src</code> into <code>dest</code>.
+     * 
+     * @see #acos(double)
+     * 
+     * @param src
+     *          the arguments
+     * @param dest
+     *          will hold the results, at least as many as <code>src</code>
+     * @return dest
+     */
+    public static float[] acos(float[] src, float[] dest) {
+        checkBulk(src, dest);
+        for (int i = 0; i < src.length; i++)
+            dest[i] = (float) acos(src[i]);
+        return dest;
+    }
+
+    /**
+     * Store the arc sine of all elements of <code>src</code> into <code>dest</code>.
+     * 
+     * @see #asin(double)
+     * 
+     * @param src
+     *          the arguments
+     * @param dest
+     *          will hold the results, at least as many as <code>src</code>
+     * @return dest
+     */
+    public static float[] asin(float[] src, float[] dest) {
+        checkBulk(src, dest);
+        for (int i = 0; i < src.length; i++)
+            dest[i] = (float) asin(src[i]);
+        return dest;
+    }
+
+    /**
+     * Store the angle of all elements of <code>y</code> and <code>x</code> into <code>dest</code>.
+     * 
+     * @see #atan2(double, double)
+     * 
+     * @param y
+     *          the ordinates
+     * @param x
+     *          the abscissae, at least as many as <code>y</code>
+     * @param dest
+     *          will hold the results, at least as many as <code>y</code>
+     * @return dest
+     */
+    public static float[] atan2(float[] y, float[] x, float[] dest) {
+        if (x.length < y.length)
+            throw new IllegalArgumentException("x is shorter than y");
+        checkBulk(y, dest);
+        for (int i = 0; i < y.length; i++)
+            dest[i] = (float) atan2(y[i], x[i]);
+        return dest;
+    }
+
+    /**
+     * Store the power of e of all elements of <code>src</code> into <code>dest</code>.
+     * 
+     * @see #exp(double)
+     * 
+     * @param src
+     *          the arguments
+     * @param dest
+     *          will hold the results, at least as many as <code>src</code>
+     * @return dest
+     */
+    public static float[] exp(float[] src, float[] dest) {
+        checkBulk(src, dest);
+        for (int i = 0; i < src.length; i++)
+            dest[i] = (float) exp(src[i]);
+        return dest;
+    }
+
+    /**
+     * Store the inverse square root of all elements of <code>src</code> into <code>dest</code>.
+     * 
+     * @see #invsqrt(float)
+     * 
+     * @param src
+     *          the arguments
+     * @param dest
+     *          will hold the results, at least as many as <code>src</code>
+     * @return dest
+     */
+    public static float[] invsqrt(float[] src, float[] dest) {
+        checkBulk(src, dest);
+        for (int i = 0; i < src.length; i++)
+            dest[i] = invsqrt(src[i]);
+        return dest;
+    }
+
+    /**
+     * Store the approximated sine of all elements of <code>src</code> into <code>dest</code>.
+     * 
+     * @see #fastSin(float)
+     * 
+     * @param src
+     *          the arguments
+     * @param dest
+     *          will hold the results, at least as many as <code>src</code>
+     * @return dest
+     */
+    public static float[] fastSin(float[] src, float[] dest) {
+        checkBulk(src, dest);
+        for (int i = 0; i < src.length; i++)
+            dest[i] = fastSin(src[i]);
+        return dest;
+    }
+
+    /**
+     * Store the approximated cosine of all elements of <code>src</code> into <code>dest</code>.
+     * 
+     * @see #fastCos(float)
+     * 
+     * @param src
+     *          the arguments
+     * @param dest
+     *          will hold the results, at least as many as <code>src</code>
+     * @return dest
+     */
+    public static float[] fastCos(float[] src, float[] dest) {
+        checkBulk(src, dest);
+        for (int i = 0; i < src.length; i++)
+            dest[i] = fastCos(src[i]);
+        return dest;
+    }
+
+    /**
+     * Store the approximated arc cosine of all elements of <code>src</code> into <code>dest</code>.
+     * 
+     * @see #fastAcos(float)
+     * 
+     * @param src
+     *          the arguments
+     * @param dest
+     *          will hold the results, at least as many as <code>src</code>
+     * @return dest
+     */
+    public static float[] fastAcos(float[] src, float[] dest) {
+        checkBulk(src, dest);
+        for (int i = 0; i < src.length; i++)
+            dest[i] = fastAcos(src[i]);
+        return dest;
+    }
+
+    /**
+     * Store the approximated arc sine of all elements of <code>src</code> into <code>dest</code>.
+     * 
+     * @see #fastAsin(float)
+     * 
+     * @param src
+     *          the arguments
+     * @param dest
+     *          will hold the results, at least as many as <code>src</code>
+     * @return dest
+     */
+    public static float[] fastAsin(float[] src, float[] dest) {
+        checkBulk(src, dest);
+        for (int i = 0; i < src.length; i++)
+            dest[i] = fastAsin(src[i]);
+        return dest;
+    }
+
+    /**
+     * Store the approximated angle of all elements of <code>y</code> and <code>x</code> into <code>dest</code>.
+     * 
+     * @see #fastAtan2(float, float)
+     * 
+     * @param y
+     *          the ordinates
+     * @param x
+     *          the abscissae, at least as many as <code>y</code>
+     * @param dest
+     *          will hold the results, at least as many as <code>y</code>
+     * @return dest
+     */
+    public static float[] fastAtan2(float[] y, float[] x, float[] dest) {
+        if (x.length < y.length)
+            throw new IllegalArgumentException("x is shorter than y");
+        checkBulk(y, dest);
+        for (int i = 0; i < y.length; i++)
+            dest[i] = fastAtan2(y[i], x[i]);
+        return dest;
+    }
+
+    /**
+     * Store the approximated power of e of all elements of <code>src</code> into <code>dest</code>.
+     * 
+     * @see #fastExp(float)
+     * 
+     * @param src
+     *          the arguments
+     * @param dest
+     *          will hold the results, at least as many as <code>src</code>
+     * @return dest
+     */
+    public static float[] fastExp(float[] src, float[] dest) {
+        checkBulk(src, dest);
+        for (int i = 0; i < src.length; i++)
+            dest[i] = fastExp(src[i]);
+        return dest;
+    }
+
 }
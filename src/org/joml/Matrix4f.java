@@ -1245,22 +1245,22 @@ public class Matrix4f implements Externalizable, Matrix4fc {
         return mulGeneric(right, dest);
     }
     private Matrix4f mulGeneric(Matrix4fc right, Matrix4f dest) {
-        float nm00 = m00 * right.m00() + m10 * right.m01() + m20 * right.m02() + m30 * right.m03();
-        float nm01 = m01 * right.m00() + m11 * right.m01() + m21 * right.m02() + m31 * right.m03();
-        float nm02 = m02 * right.m00() + m12 * right.m01() + m22 * right.m02() + m32 * right.m03();
-        float nm03 = m03 * right.m00() + m13 * right.m01() + m23 * right.m02() + m33 * right.m03();
-        float nm10 = m00 * right.m10() + m10 * right.m11() + m20 * right.m12() + m30 * right.m13();
-        float nm11 = m01 * right.m10() + m11 * right.m11() + m21 * right.m12() + m31 * right.m13();
-        float nm12 = m02 * right.m10() + m12 * right.m11() + m22 * right.m12() + m32 * right.m13();
-        float nm13 = m03 * right.m10() + m13 * right.m11() + m23 * right.m12() + m33 * right.m13();
-        float nm20 = m00 * right.m20() + m10 * right.m21() + m20 * right.m22() + m30 * right.m23();
-        float nm21 = m01 * right.m20() + m11 * right.m21() + m21 * right.m22() + m31 * right.m23();
-        float nm22 = m02 * right.m20() + m12 * right.m21() + m22 * right.m22() + m32 * right.m23();
-        float nm23 = m03 * right.m20() + m13 * right.m21() + m23 * right.m22() + m33 * right.m23();
-        float nm30 = m00 * right.m30() + m10 * right.m31() + m20 * right.m32() + m30 * right.m33();
-        float nm31 = m01 * right.m30() + m11 * right.m31() + m21 * right.m32() + m31 * right.m33();
-        float nm32 = m02 * right.m30() + m12 * right.m31() + m22 * right.m32() + m32 * right.m33();
-        float nm33 = m03 * right.m30() + m13 * right.m31() + m23 * right.m32() + m33 * right.m33();
+        float nm00 = Math.fma(m30, right.m03(), Math.fma(m20, right.m02(), Math.fma(m10, right.m01(), m00 * right.m00())));
+        float nm01 = Math.fma(m31, right.m03(), Math.fma(m21, right.m02(), Math.fma(m11, right.m01(), m01 * right.m00())));
+        float nm02 = Math.fma(m32, right.m03(), Math.fma(m22, right.m02(), Math.fma(m12, right.m01(), m02 * right.m00())));
+        float nm03 = Math.fma(m33, right.m03(), Math.fma(m23, right.m02(), Math.fma(m13, right.m01(), m03 * right.m00())));
+        float nm10 = Math.fma(m30, right.m13(), Math.fma(m20, right.m12(), Math.fma(m10, right.m11(), m00 * right.m10())));
+        float nm11 = Math.fma(m31, right.m13(), Math.fma(m21, right.m12(), Math.fma(m11, right.m11(), m01 * right.m10())));
+        float nm12 = Math.fma(m32, right.m13(), Math.fma(m22, right.m12(), Math.fma(m12, right.m11(), m02 * right.m10())));
+        float nm13 = Math.fma(m33, right.m13(), Math.fma(m23, right.m12(), Math.fma(m13, right.m11(), m03 * right.m10())));
+        float nm20 = Math.fma(m30, right.m23(), Math.fma(m20, right.m22(), Math.fma(m10, right.m21(), m00 * right.m20())));
+        float nm21 = Math.fma(m31, right.m23(), Math.fma(m21, right.m22(), Math.fma(m11, right.m21(), m01 * right.m20())));
+        float nm22 = Math.fma(m32, right.m23(), Math.fma(m22, right.m22(), Math.fma(m12, right.m21(), m02 * right.m20())));
+        float nm23 = Math.fma(m33, right.m23(), Math.fma(m23, right.m22(), Math.fma(m13, right.m21(), m03 * right.m20())));
+        float nm30 = Math.fma(m30, right.m33(), Math.fma(m20, right.m32(), Math.fma(m10, right.m31(), m00 * right.m30())));
+        float nm31 = Math.fma(m31, right.m33(), Math.fma(m21, right.m32(), Math.fma(m11, right.m31(), m01 * right.m30())));
+        float nm32 = Math.fma(m32, right.m33(), Math.fma(m22, right.m32(), Math.fma(m12, right.m31(), m02 * right.m30())));
+        float nm33 = Math.fma(m33, right.m33(), Math.fma(m23, right.m32(), Math.fma(m13, right.m31(), m03 * right.m30())));
         dest._m00(nm00);
         dest._m01(nm01);
         dest._m02(nm02);
@@ -1310,22 +1310,22 @@ public class Matrix4f implements Externalizable, Matrix4fc {
         return mulLocalGeneric(left, dest);
     }
     private Matrix4f mulLocalGeneric(Matrix4fc left, Matrix4f dest) {
-        float nm00 = left.m00() * m00 + left.m10() * m01 + left.m20() * m02 + left.m30() * m03;
-        float nm01 = left.m01() * m00 + left.m11() * m01 + left.m21() * m02 + left.m31() * m03;
-        float nm02 = left.m02() * m00 + left.m12() * m01 + left.m22() * m02 + left.m32() * m03;
-        float nm03 = left.m03() * m00 + left.m13() * m01 + left.m23() * m02 + left.m33() * m03;
-        float nm10 = left.m00() * m10 + left.m10() * m11 + left.m20() * m12 + left.m30() * m13;
-        float nm11 = left.m01() * m10 + left.m11() * m11 + left.m21() * m12 + left.m31() * m13;
-        float nm12 = left.m02() * m10 + left.m12() * m11 + left.m22() * m12 + left.m32() * m13;
-        float nm13 = left.m03() * m10 + left.m13() * m11 + left.m23() * m12 + left.m33() * m13;
-        float nm20 = left.m00() * m20 + left.m10() * m21 + left.m20() * m22 + left.m30() * m23;
-        float nm21 = left.m01() * m20 + left.m11() * m21 + left.m21() * m22 + left.m31() * m23;
-        float nm22 = left.m02() * m20 + left.m12() * m21 + left.m22() * m22 + left.m32() * m23;
-        float nm23 = left.m03() * m20 + left.m13() * m21 + left.m23() * m22 + left.m33() * m23;
-        float nm30 = left.m00() * m30 + left.m10() * m31 + left.m20() * m32 + left.m30() * m33;
-        float nm31 = left.m01() * m30 + left.m11() * m31 + left.m21() * m32 + left.m31() * m33;
-        float nm32 = left.m02() * m30 + left.m12() * m31 + left.m22() * m32 + left.m32() * m33;
-        float nm33 = left.m03() * m30 + left.m13() * m31 + left.m23() * m32 + left.m33() * m33;
+        float nm00 = Math.fma(left.m30(), m03, Math.fma(left.m20(), m02, Math.fma(left.m10(), m01, left.m00() * m00)));
+        float nm01 = Math.fma(left.m31(), m03, Math.fma(left.m21(), m02, Math.fma(left.m11(), m01, left.m01() * m00)));
+        float nm02 = Math.fma(left.m32(), m03, Math.fma(left.m22(), m02, Math.fma(left.m12(), m01, left.m02() * m00)));
+        float nm03 = Math.fma(left.m33(), m03, Math.fma(left.m23(), m02, Math.fma(left.m13(), m01, left.m03() * m00)));
+        float nm10 = Math.fma(left.m30(), m13, Math.fma(left.m20(), m12, Math.fma(left.m10(), m11, left.m00() * m10)));
+        float nm11 = Math.fma(left.m31(), m13, Math.fma(left.m21(), m12, Math.fma(left.m11(), m11, left.m01() * m10)));
+        float nm12 = Math.fma(left.m32(), m13, Math.fma(left.m22(), m12, Math.fma(left.m12(), m11, left.m02() * m10)));
+        float nm13 = Math.fma(left.m33(), m13, Math.fma(left.m23(), m12, Math.fma(left.m13(), m11, left.m03() * m10)));
+        float nm20 = Math.fma(left.m30(), m23, Math.fma(left.m20(), m22, Math.fma(left.m10(), m21, left.m00() * m20)));
+        float nm21 = Math.fma(left.m31(), m23, Math.fma(left.m21(), m22, Math.fma(left.m11(), m21, left.m01() * m20)));
+        float nm22 = Math.fma(left.m32(), m23, Math.fma(left.m22(), m22, Math.fma(left.m12(), m21, left.m02() * m20)));
+        float nm23 = Math.fma(left.m33(), m23, Math.fma(left.m23(), m22, Math.fma(left.m13(), m21, left.m03() * m20)));
+        float nm30 = Math.fma(left.m30(), m33, Math.fma(left.m20(), m32, Math.fma(left.m10(), m31, left.m00() * m30)));
+        float nm31 = Math.fma(left.m31(), m33, Math.fma(left.m21(), m32, Math.fma(left.m11(), m31, left.m01() * m30)));
+        float nm32 = Math.fma(left.m32(), m33, Math.fma(left.m22(), m32, Math.fma(left.m12(), m31, left.m02() * m30)));
+        float nm33 = Math.fma(left.m33(), m33, Math.fma(left.m23(), m32, Math.fma(left.m13(), m31, left.m03() * m30)));
         dest._m00(nm00);
         dest._m01(nm01);
         dest._m02(nm02);
@@ -1372,21 +1372,21 @@ public class Matrix4f implements Externalizable, Matrix4fc {
      * @see org.joml.Matrix4fc#mulLocalAffine(org.joml.Matrix4fc, org.joml.Matrix4f)
      */
     public Matrix4f mulLocalAffine(Matrix4fc left, Matrix4f dest) {
-        float nm00 = left.m00() * m00 + left.m10() * m01 + left.m20() * m02;
-        float nm01 = left.m01() * m00 + left.m11() * m01 + left.m21() * m02;
-        float nm02 = left.m02() * m00 + left.m12() * m01 + left.m22() * m02;
+        float nm00 = Math.fma(left.m20(), m02, Math.fma(left.m10(), m01, left.m00() * m00));
+        float nm01 = Math.fma(left.m21(), m02, Math.fma(left.m11(), m01, left.m01() * m00));
+        float nm02 = Math.fma(left.m22(), m02, Math.fma(left.m12(), m01, left.m02() * m00));
         float nm03 = left.m03();
-        float nm10 = left.m00() * m10 + left.m10() * m11 + left.m20() * m12;
-        float nm11 = left.m01() * m10 + left.m11() * m11 + left.m21() * m12;
-        float nm12 = left.m02() * m10 + left.m12() * m11 + left.m22() * m12;
+        float nm10 = Math.fma(left.m20(), m12, Math.fma(left.m10(), m11, left.m00() * m10));
+        float nm11 = Math.fma(left.m21(), m12, Math.fma(left.m11(), m11, left.m01() * m10));
+        float nm12 = Math.fma(left.m22(), m12, Math.fma(left.m12(), m11, left.m02() * m10));
         float nm13 = left.m13();
-        float nm20 = left.m00() * m20 + left.m10() * m21 + left.m20() * m22;
-        float nm21 = left.m01() * m20 + left.m11() * m21 + left.m21() * m22;
-        float nm22 = left.m02() * m20 + left.m12() * m21 + left.m22() * m22;
+        float nm20 = Math.fma(left.m20(), m22, Math.fma(left.m10(), m21, left.m00() * m20));
+        float nm21 = Math.fma(left.m21(), m22, Math.fma(left.m11(), m21, left.m01() * m20));
+        float nm22 = Math.fma(left.m22(), m22, Math.fma(left.m12(), m21, left.m02() * m20));
         float nm23 = left.m23();
-        float nm30 = left.m00() * m30 + left.m10() * m31 + left.m20() * m32 + left.m30();
-        float nm31 = left.m01() * m30 + left.m11() * m31 + left.m21() * m32 + left.m31();
-        float nm32 = left.m02() * m30 + left.m12() * m31 + left.m22() * m32 + left.m32();
+        float nm30 = Math.fma(left.m20(), m32, Math.fma(left.m10(), m31, left.m00() * m30)) + left.m30();
+        float nm31 = Math.fma(left.m21(), m32, Math.fma(left.m11(), m31, left.m01() * m30)) + left.m31();
+        float nm32 = Math.fma(left.m22(), m32, Math.fma(left.m12(), m31, left.m02() * m30)) + left.m32();
         float nm33 = left.m33();
         dest._m00(nm00);
         dest._m01(nm01);
@@ -1437,22 +1437,22 @@ public class Matrix4f implements Externalizable, Matrix4fc {
         return mulGeneric(right, dest);
     }
     private Matrix4f mulGeneric(Matrix4x3fc right, Matrix4f dest) {
-        float nm00 = m00 * right.m00() + m10 * right.m01() + m20 * right.m02();
-        float nm01 = m01 * right.m00() + m11 * right.m01() + m21 * right.m02();
-        float nm02 = m02 * right.m00() + m12 * right.m01() + m22 * right.m02();
-        float nm03 = m03 * right.m00() + m13 * right.m01() + m23 * right.m02();
-        float nm10 = m00 * right.m10() + m10 * right.m11() + m20 * right.m12();
-        float nm11 = m01 * right.m10() + m11 * right.m11() + m21 * right.m12();
-        float nm12 = m02 * right.m10() + m12 * right.m11() + m22 * right.m12();
-        float nm13 = m03 * right.m10() + m13 * right.m11() + m23 * right.m12();
-        float nm20 = m00 * right.m20() + m10 * right.m21() + m20 * right.m22();
-        float nm21 = m01 * right.m20() + m11 * right.m21() + m21 * right.m22();
-        float nm22 = m02 * right.m20() + m12 * right.m21() + m22 * right.m22();
-        float nm23 = m03 * right.m20() + m13 * right.m21() + m23 * right.m22();
-        float nm30 = m00 * right.m30() + m10 * right.m31() + m20 * right.m32() + m30;
-        float nm31 = m01 * right.m30() + m11 * right.m31() + m21 * right.m32() + m31;
-        float nm32 = m02 * right.m30() + m12 * right.m31() + m22 * right.m32() + m32;
-        float nm33 = m03 * right.m30() + m13 * right.m31() + m23 * right.m32() + m33;
+        float nm00 = Math.fma(m20, right.m02(), Math.fma(m10, right.m01(), m00 * right.m00()));
+        float nm01 = Math.fma(m21, right.m02(), Math.fma(m11, right.m01(), m01 * right.m00()));
+        float nm02 = Math.fma(m22, right.m02(), Math.fma(m12, right.m01(), m02 * right.m00()));
+        float nm03 = Math.fma(m23, right.m02(), Math.fma(m13, right.m01(), m03 * right.m00()));
+        float nm10 = Math.fma(m20, right.m12(), Math.fma(m10, right.m11(), m00 * right.m10()));
+        float nm11 = Math.fma(m21, right.m12(), Math.fma(m11, right.m11(), m01 * right.m10()));
+        float nm12 = Math.fma(m22, right.m12(), Math.fma(m12, right.m11(), m02 * right.m10()));
+        float nm13 = Math.fma(m23, right.m12(), Math.fma(m13, right.m11(), m03 * right.m10()));
+        float nm20 = Math.fma(m20, right.m22(), Math.fma(m10, right.m21(), m00 * right.m20()));
+        float nm21 = Math.fma(m21, right.m22(), Math.fma(m11, right.m21(), m01 * right.m20()));
+        float nm22 = Math.fma(m22, right.m22(), Math.fma(m12, right.m21(), m02 * right.m20()));
+        float nm23 = Math.fma(m23, right.m22(), Math.fma(m13, right.m21(), m03 * right.m20()));
+        float nm30 = Math.fma(m20, right.m32(), Math.fma(m10, right.m31(), m00 * right.m30())) + m30;
+        float nm31 = Math.fma(m21, right.m32(), Math.fma(m11, right.m31(), m01 * right.m30())) + m31;
+        float nm32 = Math.fma(m22, right.m32(), Math.fma(m12, right.m31(), m02 * right.m30())) + m32;
+        float nm33 = Math.fma(m23, right.m32(), Math.fma(m13, right.m31(), m03 * right.m30())) + m33;
         dest._m00(nm00);
         dest._m01(nm01);
         dest._m02(nm02);
@@ -1660,22 +1660,22 @@ public class Matrix4f implements Externalizable, Matrix4fc {
      * @see org.joml.Matrix4fc#mulAffineR(org.joml.Matrix4fc, org.joml.Matrix4f)
      */
     public Matrix4f mulAffineR(Matrix4fc right, Matrix4f dest) {
-        float nm00 = m00 * right.m00() + m10 * right.m01() + m20 * right.m02();
-        float nm01 = m01 * right.m00() + m11 * right.m01() + m21 * right.m02();
-        float nm02 = m02 * right.m00() + m12 * right.m01() + m22 * right.m02();
-        float nm03 = m03 * right.m00() + m13 * right.m01() + m23 * right.m02();
-        float nm10 = m00 * right.m10() + m10 * right.m11() + m20 * right.m12();
-        float nm11 = m01 * right.m10() + m11 * right.m11() + m21 * right.m12();
-        float nm12 = m02 * right.m10() + m12 * right.m11() + m22 * right.m12();
-        float nm13 = m03 * right.m10() + m13 * right.m11() + m23 * right.m12();
-        float nm20 = m00 * right.m20() + m10 * right.m21() + m20 * right.m22();
-        float nm21 = m01 * right.m20() + m11 * right.m21() + m21 * right.m22();
-        float nm22 = m02 * right.m20() + m12 * right.m21() + m22 * right.m22();
-        float nm23 = m03 * right.m20() + m13 * right.m21() + m23 * right.m22();
-        float nm30 = m00 * right.m30() + m10 * right.m31() + m20 * right.m32() + m30;
-        float nm31 = m01 * right.m30() + m11 * right.m31() + m21 * right.m32() + m31;
-        float nm32 = m02 * right.m30() + m12 * right.m31() + m22 * right.m32() + m32;
-        float nm33 = m03 * right.m30() + m13 * right.m31() + m23 * right.m32() + m33;
+        float nm00 = Math.fma(m20, right.m02(), Math.fma(m10, right.m01(), m00 * right.m00()));
+        float nm01 = Math.fma(m21, right.m02(), Math.fma(m11, right.m01(), m01 * right.m00()));
+        float nm02 = Math.fma(m22, right.m02(), Math.fma(m12, right.m01(), m02 * right.m00()));
+        float nm03 = Math.fma(m23, right.m02(), Math.fma(m13, right.m01(), m03 * right.m00()));
+        float nm10 = Math.fma(m20, right.m12(), Math.fma(m10, right.m11(), m00 * right.m10()));
+        float nm11 = Math.fma(m21, right.m12(), Math.fma(m11, right.m11(), m01 * right.m10()));
+        float nm12 = Math.fma(m22, right.m12(), Math.fma(m12, right.m11(), m02 * right.m10()));
+        float nm13 = Math.fma(m23, right.m12(), Math.fma(m13, right.m11(), m03 * right.m10()));
+        float nm20 = Math.fma(m20, right.m22(), Math.fma(m10, right.m21(), m00 * right.m20()));
+        float nm21 = Math.fma(m21, right.m22(), Math.fma(m11, right.m21(), m01 * right.m20()));
+        float nm22 = Math.fma(m22, right.m22(), Math.fma(m12, right.m21(), m02 * right.m20()));
+        float nm23 = Math.fma(m23, right.m22(), Math.fma(m13, right.m21(), m03 * right.m20()));
+        float nm30 = Math.fma(m20, right.m32(), Math.fma(m10, right.m31(), m00 * right.m30())) + m30;
+        float nm31 = Math.fma(m21, right.m32(), Math.fma(m11, right.m31(), m01 * right.m30())) + m31;
+        float nm32 = Math.fma(m22, right.m32(), Math.fma(m12, right.m31(), m02 * right.m30())) + m32;
+        float nm33 = Math.fma(m23, right.m32(), Math.fma(m13, right.m31(), m03 * right.m30())) + m33;
         dest._m00(nm00);
         dest._m01(nm01);
         dest._m02(nm02);
@@ -1722,21 +1722,21 @@ public class Matrix4f implements Externalizable, Matrix4fc {
      * @see org.joml.Matrix4fc#mulAffine(org.joml.Matrix4fc, org.joml.Matrix4f)
      */
     public Matrix4f mulAffine(Matrix4fc right, Matrix4f dest) {
-        float nm00 = m00 * right.m00() + m10 * right.m01() + m20 * right.m02();
-        float nm01 = m01 * right.m00() + m11 * right.m01() + m21 * right.m02();
-        float nm02 = m02 * right.m00() + m12 * right.m01() + m22 * right.m02();
+        float nm00 = Math.fma(m20, right.m02(), Math.fma(m10, right.m01(), m00 * right.m00()));
+        float nm01 = Math.fma(m21, right.m02(), Math.fma(m11, right.m01(), m01 * right.m00()));
+        float nm02 = Math.fma(m22, right.m02(), Math.fma(m12, right.m01(), m02 * right.m00()));
         float nm03 = m03;
-        float nm10 = m00 * right.m10() + m10 * right.m11() + m20 * right.m12();
-        float nm11 = m01 * right.m10() + m11 * right.m11() + m21 * right.m12();
-        float nm12 = m02 * right.m10() + m12 * right.m11() + m22 * right.m12();
+        float nm10 = Math.fma(m20, right.m12(), Math.fma(m10, right.m11(), m00 * right.m10()));
+        float nm11 = Math.fma(m21, right.m12(), Math.fma(m11, right.m11(), m01 * right.m10()));
+        float nm12 = Math.fma(m22, right.m12(), Math.fma(m12, right.m11(), m02 * right.m10()));
         float nm13 = m13;
-        float nm20 = m00 * right.m20() + m10 * right.m21() + m20 * right.m22();
-        float nm21 = m01 * right.m20() + m11 * right.m21() + m21 * right.m22();
-        float nm22 = m02 * right.m20() + m12 * right.m21() + m22 * right.m22();
+        float nm20 = Math.fma(m20, right.m22(), Math.fma(m10, right.m21(), m00 * right.m20()));
+        float nm21 = Math.fma(m21, right.m22(), Math.fma(m11, right.m21(), m01 * right.m20()));
+        float nm22 = Math.fma(m22, right.m22(), Math.fma(m12, right.m21(), m02 * right.m20()));
         float nm23 = m23;
-        float nm30 = m00 * right.m30() + m10 * right.m31() + m20 * right.m32() + m30;
-        float nm31 = m01 * right.m30() + m11 * right.m31() + m21 * right.m32() + m31;
-        float nm32 = m02 * right.m30() + m12 * right.m31() + m22 * right.m32() + m32;
+        float nm30 = Math.fma(m20, right.m32(), Math.fma(m10, right.m31(), m00 * right.m30())) + m30;
+        float nm31 = Math.fma(m21, right.m32(), Math.fma(m11, right.m31(), m01 * right.m30())) + m31;
+        float nm32 = Math.fma(m22, right.m32(), Math.fma(m12, right.m31(), m02 * right.m30())) + m32;
         float nm33 = m33;
         dest._m00(nm00);
         dest._m01(nm01);
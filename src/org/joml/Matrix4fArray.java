@@ -0,0 +1,621 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+//#ifdef __HAS_NIO__
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+//#endif
+
+import org.joml.internal.Kernels;
+
+/**
+ * Stores a fixed number of 4x4 matrices in structure-of-arrays layout and provides bulk operations on them.
+ * <p>
+ * Instead of one {@link Matrix4f} object per matrix, all matrices share a single <code>float[]</code>, which is divided into
+ * 16 planes, one per matrix element. The plane of an element contains that element for all matrices, so that the bulk
+ * operations of this class run as tight loops over contiguous memory, which the JIT compiler can unroll and vectorize.
+ * <p>
+ * Every matrix has its own properties, as returned by {@link Matrix4fc#properties()}. The bulk operations group consecutive
+ * matrices with the same {@link Matrix4fc#PROPERTY_IDENTITY identity} or {@link Matrix4fc#PROPERTY_AFFINE affine} properties
+ * into runs and process each run with the cheapest kernel that is valid for it.
+ * <p>
+ * Unless otherwise stated, the bulk operations apply to the matrices with the same index in all participating arrays, and
+ * <code>dest</code> may be the same instance as <code>this</code> or any other operand.
+ */
+public class Matrix4fArray {
+
+    private static final int KEEP_PROPERTIES = Matrix4fc.PROPERTY_IDENTITY | Matrix4fc.PROPERTY_AFFINE
+                                             | Matrix4fc.PROPERTY_TRANSLATION | Matrix4fc.PROPERTY_ORTHONORMAL;
+    private static final int IDENTITY_PROPERTIES = KEEP_PROPERTIES;
+
+    private static final int KIND_COPY_LEFT = 0;
+    private static final int KIND_COPY_RIGHT = 1;
+    private static final int KIND_AFFINE = 2;
+    private static final int KIND_GENERIC = 3;
+
+    /**
+     * The number of matrices that are written to a buffer in one bulk <code>put()</code>.
+     */
+    private static final int CHUNK = 64;
+
+    private final int size;
+
+    /**
+     * The 16 element planes. The element <code>mCR</code> of the matrix at index <code>i</code>
+     * is stored at <code>m[(C * 4 + R) * size + i]</code>.
+     */
+    final float[] m;
+
+    final int[] properties;
+
+    /**
+     * Create a new {@link Matrix4fArray} holding <code>size</code> matrices, which are all set to identity.
+     * 
+     * @param size
+     *          the number of matrices
+     */
+    public Matrix4fArray(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("size must not be negative");
+        this.size = size;
+        this.m = new float[size << 4];
+        this.properties = new int[size];
+        identity();
+    }
+
+    /**
+     * Return the number of matrices in this array.
+     * 
+     * @return the number of matrices
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the properties of the matrix at the given index.
+     * 
+     * @see Matrix4fc#properties()
+     * 
+     * @param index
+     *          the index of the matrix
+     * @return the properties of the matrix
+     */
+    public int properties(int index) {
+        return properties[index];
+    }
+
+    /**
+     * Set all matrices to identity.
+     * 
+     * @return this
+     */
+    public Matrix4fArray identity() {
+        for (int k = 0; k < 16; k++) {
+            float v = (k % 5) == 0 ? 1.0f : 0.0f;
+            int base = k * size;
+            for (int i = 0; i < size; i++)
+                m[base + i] = v;
+        }
+        for (int i = 0; i < size; i++)
+            properties[i] = IDENTITY_PROPERTIES;
+        return this;
+    }
+
+    /**
+     * Set the matrix at the given index to identity.
+     * 
+     * @param index
+     *          the index of the matrix
+     * @return this
+     */
+    public Matrix4fArray identity(int index) {
+        for (int k = 0; k < 16; k++)
+            m[k * size + index] = (k % 5) == 0 ? 1.0f : 0.0f;
+        properties[index] = IDENTITY_PROPERTIES;
+        return this;
+    }
+
+    /**
+     * Set the matrix at the given index to the values of <code>mat</code>, including its {@link Matrix4fc#properties() properties}.
+     * 
+     * @param index
+     *          the index of the matrix
+     * @param mat
+     *          the matrix to copy the values from
+     * @return this
+     */
+    public Matrix4fArray set(int index, Matrix4fc mat) {
+        int s = size, i = index;
+        m[i] = mat.m00();
+        m[i + s] = mat.m01();
+        m[i + 2 * s] = mat.m02();
+        m[i + 3 * s] = mat.m03();
+        m[i + 4 * s] = mat.m10();
+        m[i + 5 * s] = mat.m11();
+        m[i + 6 * s] = mat.m12();
+        m[i + 7 * s] = mat.m13();
+        m[i + 8 * s] = mat.m20();
+        m[i + 9 * s] = mat.m21();
+        m[i + 10 * s] = mat.m22();
+        m[i + 11 * s] = mat.m23();
+        m[i + 12 * s] = mat.m30();
+        m[i + 13 * s] = mat.m31();
+        m[i + 14 * s] = mat.m32();
+        m[i + 15 * s] = mat.m33();
+        properties[index] = mat.properties();
+        return this;
+    }
+
+    /**
+     * Store the matrix at the given index, including its properties, into <code>dest</code>.
+     * 
+     * @param index
+     *          the index of the matrix
+     * @param dest
+     *          will hold the matrix
+     * @return dest
+     */
+    public Matrix4f get(int index, Matrix4f dest) {
+        int s = size, i = index;
+        dest.m00 = m[i];
+        dest.m01 = m[i + s];
+        dest.m02 = m[i + 2 * s];
+        dest.m03 = m[i + 3 * s];
+        dest.m10 = m[i + 4 * s];
+        dest.m11 = m[i + 5 * s];
+        dest.m12 = m[i + 6 * s];
+        dest.m13 = m[i + 7 * s];
+        dest.m20 = m[i + 8 * s];
+        dest.m21 = m[i + 9 * s];
+        dest.m22 = m[i + 10 * s];
+        dest.m23 = m[i + 11 * s];
+        dest.m30 = m[i + 12 * s];
+        dest.m31 = m[i + 13 * s];
+        dest.m32 = m[i + 14 * s];
+        dest.m33 = m[i + 15 * s];
+        dest._properties(properties[index]);
+        return dest;
+    }
+
+    private void checkRange(int offset, int count, Matrix4fArray other) {
+        if (offset < 0 || count < 0 || offset + count > size || offset + count > other.size)
+            throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Multiply each matrix of this array by the matrix with the same index in <code>right</code> and store the results in <code>dest</code>.
+     * 
+     * @see Matrix4f#mul(Matrix4fc, Matrix4f)
+     * 
+     * @param right
+     *          the right operands of the matrix multiplications
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Matrix4fArray mul(Matrix4fArray right, Matrix4fArray dest) {
+        return mul(right, dest, 0, size);
+    }
+
+    /**
+     * Multiply the <code>count</code> matrices starting at <code>offset</code> by the matrices with the same indices in <code>right</code>
+     * and store the results in <code>dest</code>.
+     * <p>
+     * If the left matrix of a pair is the identity, the right matrix is copied, and vice versa. If both are {@link Matrix4fc#PROPERTY_AFFINE affine},
+     * then the product is computed like {@link Matrix4f#mulAffine(Matrix4fc, Matrix4f)} does.
+     * 
+     * @see Matrix4f#mul(Matrix4fc, Matrix4f)
+     * 
+     * @param right
+     *          the right operands of the matrix multiplications
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first matrix to multiply
+     * @param count
+     *          the number of matrices to multiply
+     * @return dest
+     */
+    public Matrix4fArray mul(Matrix4fArray right, Matrix4fArray dest, int offset, int count) {
+        return mul(right, dest, offset, count, false);
+    }
+
+    /**
+     * Multiply each matrix of this array by the matrix with the same index in <code>right</code>, both of which are assumed to be
+     * {@link Matrix4fc#PROPERTY_AFFINE affine}, and store the results in <code>dest</code>.
+     * 
+     * @see Matrix4f#mulAffine(Matrix4fc, Matrix4f)
+     * 
+     * @param right
+     *          the right operands of the matrix multiplications (the last rows are assumed to be <code>(0, 0, 0, 1)</code>)
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Matrix4fArray mulAffine(Matrix4fArray right, Matrix4fArray dest) {
+        return mulAffine(right, dest, 0, size);
+    }
+
+    /**
+     * Multiply the <code>count</code> matrices starting at <code>offset</code> by the matrices with the same indices in <code>right</code>,
+     * all of which are assumed to be {@link Matrix4fc#PROPERTY_AFFINE affine}, and store the results in <code>dest</code>.
+     * 
+     * @see Matrix4f#mulAffine(Matrix4fc, Matrix4f)
+     * 
+     * @param right
+     *          the right operands of the matrix multiplications (the last rows are assumed to be <code>(0, 0, 0, 1)</code>)
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first matrix to multiply
+     * @param count
+     *          the number of matrices to multiply
+     * @return dest
+     */
+    public Matrix4fArray mulAffine(Matrix4fArray right, Matrix4fArray dest, int offset, int count) {
+        return mul(right, dest, offset, count, true);
+    }
+
+    private Matrix4fArray mul(Matrix4fArray right, Matrix4fArray dest, int offset, int count, boolean assumeAffine) {
+        checkRange(offset, count, right);
+        checkRange(offset, count, dest);
+        int[] lp = properties, rp = right.properties, dp = dest.properties;
+        int i = offset, end = offset + count;
+        while (i < end) {
+            int kind = mulKind(lp[i], rp[i], assumeAffine);
+            int j = i + 1;
+            while (j < end && mulKind(lp[j], rp[j], assumeAffine) == kind)
+                j++;
+            switch (kind) {
+            case KIND_COPY_LEFT:
+                copy(m, size, dest.m, dest.size, i, j);
+                for (int k = i; k < j; k++)
+                    dp[k] = lp[k];
+                break;
+            case KIND_COPY_RIGHT:
+                copy(right.m, right.size, dest.m, dest.size, i, j);
+                for (int k = i; k < j; k++)
+                    dp[k] = rp[k];
+                break;
+            case KIND_AFFINE:
+                Kernels.INSTANCE.mulAffine(m, size, right.m, right.size, dest.m, dest.size, i, j);
+                for (int k = i; k < j; k++)
+                    dp[k] = Matrix4fc.PROPERTY_AFFINE | (lp[k] & rp[k] & KEEP_PROPERTIES);
+                break;
+            default:
+                Kernels.INSTANCE.mulGeneric(m, size, right.m, right.size, dest.m, dest.size, i, j);
+                for (int k = i; k < j; k++)
+                    dp[k] = lp[k] & rp[k] & KEEP_PROPERTIES;
+                break;
+            }
+            i = j;
+        }
+        return dest;
+    }
+
+    private static int mulKind(int left, int right, boolean assumeAffine) {
+        if ((left & Matrix4fc.PROPERTY_IDENTITY) != 0)
+            return KIND_COPY_RIGHT;
+        else if ((right & Matrix4fc.PROPERTY_IDENTITY) != 0)
+            return KIND_COPY_LEFT;
+        else if (assumeAffine || (left & right & Matrix4fc.PROPERTY_AFFINE) != 0)
+            return KIND_AFFINE;
+        return KIND_GENERIC;
+    }
+
+    /**
+     * Pre-multiply each matrix of this array by the given <code>left</code> matrix and store the results in <code>dest</code>.
+     * <p>
+     * This is useful to transform many model matrices by a single view or view-projection matrix.
+     * 
+     * @see Matrix4f#mulLocal(Matrix4fc, Matrix4f)
+     * 
+     * @param left
+     *          the left operand of all matrix multiplications
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Matrix4fArray mulLocal(Matrix4fc left, Matrix4fArray dest) {
+        return mulLocal(left, dest, 0, size);
+    }
+
+    /**
+     * Pre-multiply the <code>count</code> matrices starting at <code>offset</code> by the given <code>left</code> matrix and store
+     * the results in <code>dest</code>.
+     * 
+     * @see Matrix4f#mulLocal(Matrix4fc, Matrix4f)
+     * 
+     * @param left
+     *          the left operand of all matrix multiplications
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first matrix to multiply
+     * @param count
+     *          the number of matrices to multiply
+     * @return dest
+     */
+    public Matrix4fArray mulLocal(Matrix4fc left, Matrix4fArray dest, int offset, int count) {
+        checkRange(offset, count, dest);
+        int lprops = left.properties();
+        int[] rp = properties, dp = dest.properties;
+        if ((lprops & Matrix4fc.PROPERTY_IDENTITY) != 0) {
+            copy(m, size, dest.m, dest.size, offset, offset + count);
+            for (int k = offset; k < offset + count; k++)
+                dp[k] = rp[k];
+            return dest;
+        }
+        float[] l = left.get(new float[16], 0);
+        int i = offset, end = offset + count;
+        while (i < end) {
+            int kind = mulKind(lprops, rp[i], false);
+            int j = i + 1;
+            while (j < end && mulKind(lprops, rp[j], false) == kind)
+                j++;
+            switch (kind) {
+            case KIND_COPY_LEFT:
+                for (int k = i; k < j; k++)
+                    dest.set(k, left);
+                break;
+            case KIND_AFFINE:
+                Kernels.INSTANCE.mulLocalAffine(l, m, size, dest.m, dest.size, i, j);
+                for (int k = i; k < j; k++)
+                    dp[k] = Matrix4fc.PROPERTY_AFFINE | (lprops & rp[k] & KEEP_PROPERTIES);
+                break;
+            default:
+                Kernels.INSTANCE.mulLocalGeneric(l, m, size, dest.m, dest.size, i, j);
+                for (int k = i; k < j; k++)
+                    dp[k] = lprops & rp[k] & KEEP_PROPERTIES;
+                break;
+            }
+            i = j;
+        }
+        return dest;
+    }
+
+    /**
+     * Invert each matrix of this array by assuming that it is an {@link Matrix4fc#PROPERTY_AFFINE affine} transformation
+     * and store the results in <code>dest</code>.
+     * 
+     * @see Matrix4f#invertAffine(Matrix4f)
+     * 
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Matrix4fArray invertAffine(Matrix4fArray dest) {
+        return invertAffine(dest, 0, size);
+    }
+
+    /**
+     * Invert the <code>count</code> matrices starting at <code>offset</code> by assuming that they are {@link Matrix4fc#PROPERTY_AFFINE affine}
+     * transformations and store the results in <code>dest</code>.
+     * <p>
+     * Matrices that are known to be the identity are copied instead.
+     * 
+     * @see Matrix4f#invertAffine(Matrix4f)
+     * 
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first matrix to invert
+     * @param count
+     *          the number of matrices to invert
+     * @return dest
+     */
+    public Matrix4fArray invertAffine(Matrix4fArray dest, int offset, int count) {
+        checkRange(offset, count, dest);
+        int[] sp = properties, dp = dest.properties;
+        int i = offset, end = offset + count;
+        while (i < end) {
+            boolean identity = (sp[i] & Matrix4fc.PROPERTY_IDENTITY) != 0;
+            int j = i + 1;
+            while (j < end && ((sp[j] & Matrix4fc.PROPERTY_IDENTITY) != 0) == identity)
+                j++;
+            if (identity) {
+                copy(m, size, dest.m, dest.size, i, j);
+                for (int k = i; k < j; k++)
+                    dp[k] = sp[k];
+            } else {
+                Kernels.INSTANCE.invertAffine(m, size, dest.m, dest.size, i, j);
+                for (int k = i; k < j; k++)
+                    dp[k] = Matrix4fc.PROPERTY_AFFINE | (sp[k] & (Matrix4fc.PROPERTY_TRANSLATION | Matrix4fc.PROPERTY_ORTHONORMAL));
+            }
+            i = j;
+        }
+        return dest;
+    }
+
+    /**
+     * Transform the 3D positions stored in <code>src</code> by the matrices of this array and store the results in <code>dest</code>.
+     * <p>
+     * The position at index <code>i</code> is stored as <code>(x, y, z)</code> at <code>3 * i</code> and is transformed
+     * by the matrix at index <code>i</code>, treating it as a vector with a w component of <code>1.0</code>.
+     * <p>
+     * <code>dest</code> may be the same array as <code>src</code>.
+     * 
+     * @see Matrix4f#transformPosition(Vector3f)
+     * 
+     * @param src
+     *          the positions to transform
+     * @param dest
+     *          will hold the transformed positions
+     * @return dest
+     */
+    public float[] transformPosition(float[] src, float[] dest) {
+        return transformPosition(src, 0, dest, 0, 0, size);
+    }
+
+    /**
+     * Transform <code>count</code> 3D positions stored in <code>src</code> by the matrices starting at <code>offset</code>
+     * and store the results in <code>dest</code>.
+     * <p>
+     * The <code>i</code>-th position is stored as <code>(x, y, z)</code> at <code>srcOffset + 3 * i</code> and is transformed
+     * by the matrix at index <code>offset + i</code>, treating it as a vector with a w component of <code>1.0</code>.
+     * <p>
+     * <code>dest</code> may be the same array as <code>src</code>.
+     * 
+     * @see Matrix4f#transformPosition(Vector3f)
+     * 
+     * @param src
+     *          the positions to transform
+     * @param srcOffset
+     *          the array index of the first position in <code>src</code>
+     * @param dest
+     *          will hold the transformed positions
+     * @param destOffset
+     *          the array index of the first position in <code>dest</code>
+     * @param offset
+     *          the index of the first matrix
+     * @param count
+     *          the number of positions to transform
+     * @return dest
+     */
+    public float[] transformPosition(float[] src, int srcOffset, float[] dest, int destOffset, int offset, int count) {
+        checkRange(offset, count, this);
+        int s = size;
+        for (int i = offset, si = srcOffset, di = destOffset; i < offset + count; i++, si += 3, di += 3) {
+            float x = src[si], y = src[si + 1], z = src[si + 2];
+            dest[di]     = m[i] * x + m[i + 4 * s] * y + m[i + 8 * s] * z + m[i + 12 * s];
+            dest[di + 1] = m[i + s] * x + m[i + 5 * s] * y + m[i + 9 * s] * z + m[i + 13 * s];
+            dest[di + 2] = m[i + 2 * s] * x + m[i + 6 * s] * y + m[i + 10 * s] * z + m[i + 14 * s];
+        }
+        return dest;
+    }
+
+    /**
+     * Store all matrices of this array in column-major order into the supplied float array, one after the other.
+     * 
+     * @param dest
+     *          the array to write the matrix values into
+     * @param offset
+     *          the offset into the array
+     * @return the passed in array
+     */
+    public float[] get(float[] dest, int offset) {
+        return get(0, size, dest, offset);
+    }
+
+    private float[] get(int from, int to, float[] dest, int offset) {
+        for (int k = 0; k < 16; k++) {
+            int base = k * size;
+            for (int i = from, d = offset + k; i < to; i++, d += 16)
+                dest[d] = m[base + i];
+        }
+        return dest;
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Store all matrices of this array in column-major order into the supplied {@link FloatBuffer}, one after the other,
+     * at the current buffer {@link FloatBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param buffer
+     *          will receive the values of all matrices in column-major order at its current position
+     * @return the passed in buffer
+     */
+    public FloatBuffer get(FloatBuffer buffer) {
+        return get(buffer.position(), buffer);
+    }
+
+    /**
+     * Store all matrices of this array in column-major order into the supplied {@link FloatBuffer}, one after the other,
+     * starting at the specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param index
+     *          the absolute position into the FloatBuffer
+     * @param buffer
+     *          will receive the values of all matrices in column-major order
+     * @return the passed in buffer
+     */
+    public FloatBuffer get(int index, FloatBuffer buffer) {
+        if (index < 0 || buffer.limit() - index < size << 4)
+            throw new IndexOutOfBoundsException();
+        FloatBuffer fb = buffer.duplicate();
+        fb.position(index);
+        put(fb);
+        return buffer;
+    }
+
+    /**
+     * Store all matrices of this array in column-major order into the supplied {@link ByteBuffer}, one after the other,
+     * at the current buffer {@link ByteBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param buffer
+     *          will receive the values of all matrices in column-major order at its current position
+     * @return the passed in buffer
+     */
+    public ByteBuffer get(ByteBuffer buffer) {
+        return get(buffer.position(), buffer);
+    }
+
+    /**
+     * Store all matrices of this array in column-major order into the supplied {@link ByteBuffer}, one after the other,
+     * starting at the specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param index
+     *          the absolute position into the ByteBuffer
+     * @param buffer
+     *          will receive the values of all matrices in column-major order
+     * @return the passed in buffer
+     */
+    public ByteBuffer get(int index, ByteBuffer buffer) {
+        if (index < 0 || buffer.limit() - index < size << 6)
+            throw new IndexOutOfBoundsException();
+        ByteBuffer bb = buffer.duplicate();
+        bb.order(buffer.order());
+        bb.position(index);
+        put(bb.asFloatBuffer());
+        return buffer;
+    }
+
+    private void put(FloatBuffer fb) {
+        float[] chunk = new float[(size < CHUNK ? size : CHUNK) << 4];
+        for (int i = 0; i < size; i += CHUNK) {
+            int n = size - i < CHUNK ? size - i : CHUNK;
+            get(i, i + n, chunk, 0);
+            fb.put(chunk, 0, n << 4);
+        }
+    }
+//#endif
+
+    private static void copy(float[] src, int ss, float[] dest, int ds, int from, int to) {
+        if (src == dest && ss == ds)
+            return;
+        for (int k = 0; k < 16; k++)
+            System.arraycopy(src, k * ss + from, dest, k * ds + from, to - from);
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+/**
+ * Memoizes the inverse of a single {@link Matrix4f}.
+ * <p>
+ * The cache keeps a snapshot of the 16 matrix elements and the {@link Matrix4fc#properties() properties} of the matrix it was
+ * created for. Every query first compares the matrix with that snapshot. If they are equal, the query returns the memoized
+ * inverse, which costs the comparison and a copy into <code>dest</code>. Otherwise the inverse is computed again by
+ * {@link Matrix4f#invert(Matrix4f)}. Any mutation of the matrix, through its methods or through the element setters, therefore
+ * invalidates the cache without having to notify it.
+ * <p>
+ * The snapshot comparison uses <code>==</code> on the elements. A matrix containing <code>NaN</code> thus never matches its
+ * snapshot, and its inverse is computed on every query.
+ * <p>
+ * Since the comparison itself is not free, the cache only pays off for the inverse of a general or projective matrix. Cheaper
+ * results, like the determinant, the affine inverse or the normal matrix, are not memoized, because computing them with
+ * {@link Matrix4f} is faster than a cached query.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class Matrix4fCache {
+
+    private final Matrix4f matrix;
+
+    private float m00, m01, m02, m03;
+    private float m10, m11, m12, m13;
+    private float m20, m21, m22, m23;
+    private float m30, m31, m32, m33;
+    private int properties;
+
+    /**
+     * Whether {@link #inverse} is valid for the current snapshot.
+     */
+    private boolean valid;
+
+    private final Matrix4f inverse = new Matrix4f();
+
+    /**
+     * Create a new {@link Matrix4fCache} for the given matrix.
+     * <p>
+     * The cache references <code>matrix</code> and not a copy of it, so that later modifications of <code>matrix</code>
+     * are reflected by the results of this cache.
+     * 
+     * @param matrix
+     *          the matrix whose inverse to memoize
+     */
+    public Matrix4fCache(Matrix4f matrix) {
+        if (matrix == null)
+            throw new IllegalArgumentException("matrix must not be null");
+        this.matrix = matrix;
+    }
+
+    /**
+     * Return the matrix whose inverse is memoized by this cache.
+     * 
+     * @return the matrix
+     */
+    public Matrix4f matrix() {
+        return matrix;
+    }
+
+    /**
+     * Discard the memoized inverse, so that the next query computes it again.
+     * 
+     * @return this
+     */
+    public Matrix4fCache invalidate() {
+        valid = false;
+        return this;
+    }
+
+    /**
+     * Return whether the inverse is memoized for the current state of the matrix.
+     * <p>
+     * If the matrix differs from the snapshot, the snapshot is taken again and the memoized inverse is discarded.
+     */
+    private boolean isValid() {
+        Matrix4f m = matrix;
+        if (m.m00 != m00 || m.m01 != m01 || m.m02 != m02 || m.m03 != m03
+         || m.m10 != m10 || m.m11 != m11 || m.m12 != m12 || m.m13 != m13
+         || m.m20 != m20 || m.m21 != m21 || m.m22 != m22 || m.m23 != m23
+         || m.m30 != m30 || m.m31 != m31 || m.m32 != m32 || m.m33 != m33
+         || m.properties != properties) {
+            m00 = m.m00; m01 = m.m01; m02 = m.m02; m03 = m.m03;
+            m10 = m.m10; m11 = m.m11; m12 = m.m12; m13 = m.m13;
+            m20 = m.m20; m21 = m.m21; m22 = m.m22; m23 = m.m23;
+            m30 = m.m30; m31 = m.m31; m32 = m.m32; m33 = m.m33;
+            properties = m.properties;
+            valid = false;
+            return false;
+        }
+        return valid;
+    }
+
+    /**
+     * Invert the matrix and store the result in <code>dest</code>.
+     * <p>
+     * The result is identical to {@link Matrix4f#invert(Matrix4f)}, but it is only computed again after the matrix changed.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Matrix4f invert(Matrix4f dest) {
+        if (!isValid()) {
+            matrix.invert(inverse);
+            valid = true;
+        }
+        return dest.set(inverse);
+    }
+
+}
@@ -986,18 +986,18 @@ public class Matrix4x3f implements Externalizable, Matrix4x3fc {
         return mulGeneric(right, dest);
     }
     private Matrix4x3f mulGeneric(Matrix4x3fc right, Matrix4x3f dest) {
-        float nm00 = m00 * right.m00() + m10 * right.m01() + m20 * right.m02();
-        float nm01 = m01 * right.m00() + m11 * right.m01() + m21 * right.m02();
-        float nm02 = m02 * right.m00() + m12 * right.m01() + m22 * right.m02();
-        float nm10 = m00 * right.m10() + m10 * right.m11() + m20 * right.m12();
-        float nm11 = m01 * right.m10() + m11 * right.m11() + m21 * right.m12();
-        float nm12 = m02 * right.m10() + m12 * right.m11() + m22 * right.m12();
-        float nm20 = m00 * right.m20() + m10 * right.m21() + m20 * right.m22();
-        float nm21 = m01 * right.m20() + m11 * right.m21() + m21 * right.m22();
-        float nm22 = m02 * right.m20() + m12 * right.m21() + m22 * right.m22();
-        float nm30 = m00 * right.m30() + m10 * right.m31() + m20 * right.m32() + m30;
-        float nm31 = m01 * right.m30() + m11 * right.m31() + m21 * right.m32() + m31;
-        float nm32 = m02 * right.m30() + m12 * right.m31() + m22 * right.m32() + m32;
+        float nm00 = Math.fma(m20, right.m02(), Math.fma(m10, right.m01(), m00 * right.m00()));
+        float nm01 = Math.fma(m21, right.m02(), Math.fma(m11, right.m01(), m01 * right.m00()));
+        float nm02 = Math.fma(m22, right.m02(), Math.fma(m12, right.m01(), m02 * right.m00()));
+        float nm10 = Math.fma(m20, right.m12(), Math.fma(m10, right.m11(), m00 * right.m10()));
+        float nm11 = Math.fma(m21, right.m12(), Math.fma(m11, right.m11(), m01 * right.m10()));
+        float nm12 = Math.fma(m22, right.m12(), Math.fma(m12, right.m11(), m02 * right.m10()));
+        float nm20 = Math.fma(m20, right.m22(), Math.fma(m10, right.m21(), m00 * right.m20()));
+        float nm21 = Math.fma(m21, right.m22(), Math.fma(m11, right.m21(), m01 * right.m20()));
+        float nm22 = Math.fma(m22, right.m22(), Math.fma(m12, right.m21(), m02 * right.m20()));
+        float nm30 = Math.fma(m20, right.m32(), Math.fma(m10, right.m31(), m00 * right.m30())) + m30;
+        float nm31 = Math.fma(m21, right.m32(), Math.fma(m11, right.m31(), m01 * right.m30())) + m31;
+        float nm32 = Math.fma(m22, right.m32(), Math.fma(m12, right.m31(), m02 * right.m30())) + m32;
         dest.m00 = nm00;
         dest.m01 = nm01;
         dest.m02 = nm02;
@@ -3157,9 +3157,9 @@ public class Matrix4x3f implements Externalizable, Matrix4x3fc {
      * @see org.joml.Matrix4x3fc#transformPosition(org.joml.Vector3f)
      */
     public Vector3f transformPosition(Vector3f v) {
-        v.set(m00 * v.x + m10 * v.y + m20 * v.z + m30,
-              m01 * v.x + m11 * v.y + m21 * v.z + m31,
-              m02 * v.x + m12 * v.y + m22 * v.z + m32);
+        v.set(Math.fma(m20, v.z, Math.fma(m10, v.y, m00 * v.x)) + m30,
+              Math.fma(m21, v.z, Math.fma(m11, v.y, m01 * v.x)) + m31,
+              Math.fma(m22, v.z, Math.fma(m12, v.y, m02 * v.x)) + m32);
         return v;
     }
 
@@ -3167,9 +3167,9 @@ public class Matrix4x3f implements Externalizable, Matrix4x3fc {
      * @see org.joml.Matrix4x3fc#transformPosition(org.joml.Vector3fc, org.joml.Vector3f)
      */
     public Vector3f transformPosition(Vector3fc v, Vector3f dest) {
-        dest.set(m00 * v.x() + m10 * v.y() + m20 * v.z() + m30,
-                 m01 * v.x() + m11 * v.y() + m21 * v.z() + m31,
-                 m02 * v.x() + m12 * v.y() + m22 * v.z() + m32);
+        dest.set(Math.fma(m20, v.z(), Math.fma(m10, v.y(), m00 * v.x())) + m30,
+                 Math.fma(m21, v.z(), Math.fma(m11, v.y(), m01 * v.x())) + m31,
+                 Math.fma(m22, v.z(), Math.fma(m12, v.y(), m02 * v.x())) + m32);
         return dest;
     }
 
@@ -3177,9 +3177,9 @@ public class Matrix4x3f implements Externalizable, Matrix4x3fc {
      * @see org.joml.Matrix4x3fc#transformDirection(org.joml.Vector3f)
      */
     public Vector3f transformDirection(Vector3f v) {
-        v.set(m00 * v.x + m10 * v.y + m20 * v.z,
-              m01 * v.x + m11 * v.y + m21 * v.z,
-              m02 * v.x + m12 * v.y + m22 * v.z);
+        v.set(Math.fma(m20, v.z, Math.fma(m10, v.y, m00 * v.x)),
+              Math.fma(m21, v.z, Math.fma(m11, v.y, m01 * v.x)),
+              Math.fma(m22, v.z, Math.fma(m12, v.y, m02 * v.x)));
         return v;
     }
 
@@ -3187,9 +3187,9 @@ public class Matrix4x3f implements Externalizable, Matrix4x3fc {
      * @see org.joml.Matrix4x3fc#transformDirection(org.joml.Vector3fc, org.joml.Vector3f)
      */
     public Vector3f transformDirection(Vector3fc v, Vector3f dest) {
-        dest.set(m00 * v.x() + m10 * v.y() + m20 * v.z(),
-                 m01 * v.x() + m11 * v.y() + m21 * v.z(),
-                 m02 * v.x() + m12 * v.y() + m22 * v.z());
+        dest.set(Math.fma(m20, v.z(), Math.fma(m10, v.y(), m00 * v.x())),
+                 Math.fma(m21, v.z(), Math.fma(m11, v.y(), m01 * v.x())),
+                 Math.fma(m22, v.z(), Math.fma(m12, v.y(), m02 * v.x())));
         return dest;
     }
 
@@ -0,0 +1,335 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+/**
+ * A static bounding volume hierarchy over the triangles of an indexed triangle mesh, to cast rays against the mesh without testing
+ * every triangle.
+ * <p>
+ * The hierarchy is built once using the surface area heuristic and is stored in flat arrays: six floats of bounds and three ints per node,
+ * and the nine vertex coordinates of each triangle in the order of the leaves. Triangles are identified by their index in the index array
+ * given when building the hierarchy, that is, triangle <code>i</code> consists of the vertices <code>indices[3 * i]</code>,
+ * <code>indices[3 * i + 1]</code> and <code>indices[3 * i + 2]</code>.
+ * <p>
+ * Each ray/triangle test is performed by {@link Intersectionf#intersectRayTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float)}
+ * and the ray/box tests use the reciprocal of the ray direction, which is computed once per ray.
+ * Since a built hierarchy is never modified, it can be used from multiple threads concurrently.
+ */
+public class MeshBVHf {
+
+//#ifndef __GWT__
+    /**
+     * The traversal stacks of the current thread, shared by all instances and grown to the depth of the deepest hierarchy queried so far.
+     */
+    private static final ThreadLocal STACKS = new ThreadLocal();
+//#endif
+
+    private static final class Stacks {
+        int[] nodes = new int[0];
+        float[] t = new float[0];
+    }
+
+    private final float[] bounds;
+    private final int[] nodes;
+    private final int[] triangleIndices;
+    private final float[] triangles;
+    private final int depth;
+
+    /**
+     * Build a new {@link MeshBVHf} over the given indexed triangle mesh with at most four triangles per leaf.
+     * 
+     * @param positions
+     *          the vertex positions, stored as <code>(x, y, z)</code> for each vertex
+     * @param indices
+     *          three vertex indices for each triangle
+     */
+    public MeshBVHf(float[] positions, int[] indices) {
+        this(positions, indices, 4);
+    }
+
+    /**
+     * Build a new {@link MeshBVHf} over the given indexed triangle mesh.
+     * 
+     * @param positions
+     *          the vertex positions, stored as <code>(x, y, z)</code> for each vertex
+     * @param indices
+     *          three vertex indices for each triangle
+     * @param maxLeafSize
+     *          the maximum number of triangles in a leaf of the hierarchy
+     */
+    public MeshBVHf(float[] positions, int[] indices, int maxLeafSize) {
+        int count = indices.length / 3;
+        float[] primBounds = new float[count * 6];
+        for (int i = 0; i < count; i++) {
+            int a = indices[i * 3] * 3, b = indices[i * 3 + 1] * 3, c = indices[i * 3 + 2] * 3;
+            for (int k = 0; k < 3; k++) {
+                primBounds[i * 6 + k] = Math.min(Math.min(positions[a + k], positions[b + k]), positions[c + k]);
+                primBounds[i * 6 + 3 + k] = Math.max(Math.max(positions[a + k], positions[b + k]), positions[c + k]);
+            }
+        }
+        BVHBuilder builder = new BVHBuilder(primBounds, count, maxLeafSize);
+        this.bounds = builder.bounds;
+        this.nodes = builder.nodes;
+        this.triangleIndices = builder.indices;
+        this.depth = builder.depth;
+        this.triangles = new float[count * 9];
+        for (int i = 0; i < count; i++) {
+            int t = triangleIndices[i];
+            for (int v = 0; v < 3; v++)
+                System.arraycopy(positions, indices[t * 3 + v] * 3, triangles, i * 9 + v * 3, 3);
+        }
+    }
+
+    /**
+     * Return the number of triangles in this hierarchy.
+     * 
+     * @return the number of triangles
+     */
+    public int triangleCount() {
+        return triangleIndices.length;
+    }
+
+    /**
+     * Store the bounds of all triangles in this hierarchy in <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf getBounds(AABBf dest) {
+        dest.minX = bounds[0];
+        dest.minY = bounds[1];
+        dest.minZ = bounds[2];
+        dest.maxX = bounds[3];
+        dest.maxY = bounds[4];
+        dest.maxZ = bounds[5];
+        return dest;
+    }
+
+    /**
+     * Return the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the ray entering the given node,
+     * or {@link Float#POSITIVE_INFINITY} if the ray does not intersect the node for <code>0 &lt;= t &lt;= tMax</code>.
+     * <p>
+     * Comparisons are used instead of {@link Math#min(float, float)} and {@link Math#max(float, float)}, so that a <code>NaN</code> resulting
+     * from <code>0 * Infinity</code> for a ray parallel to a slab is ignored.
+     */
+    private float enter(int node, float originX, float originY, float originZ, float invDirX, float invDirY, float invDirZ, float tMax) {
+        int o = node * 6;
+        float tNear = 0.0f, tFar = tMax;
+        float t0 = (bounds[invDirX < 0.0f ? o + 3 : o] - originX) * invDirX;
+        float t1 = (bounds[invDirX < 0.0f ? o : o + 3] - originX) * invDirX;
+        tNear = t0 > tNear ? t0 : tNear;
+        tFar = t1 < tFar ? t1 : tFar;
+        t0 = (bounds[invDirY < 0.0f ? o + 4 : o + 1] - originY) * invDirY;
+        t1 = (bounds[invDirY < 0.0f ? o + 1 : o + 4] - originY) * invDirY;
+        tNear = t0 > tNear ? t0 : tNear;
+        tFar = t1 < tFar ? t1 : tFar;
+        t0 = (bounds[invDirZ < 0.0f ? o + 5 : o + 2] - originZ) * invDirZ;
+        t1 = (bounds[invDirZ < 0.0f ? o + 2 : o + 5] - originZ) * invDirZ;
+        tNear = t0 > tNear ? t0 : tNear;
+        tFar = t1 < tFar ? t1 : tFar;
+        return tNear <= tFar ? tNear : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Return traversal stacks that can hold all nodes of one path from the root to a leaf of this hierarchy.
+     * <p>
+     * The stacks are reused for all queries of the current thread, so that queries do not allocate.
+     */
+    private Stacks stacks() {
+//#ifdef __GWT__
+        Stacks s = new Stacks();
+//#else
+        Stacks s = (Stacks) STACKS.get();
+        if (s == null) {
+            s = new Stacks();
+            STACKS.set(s);
+        }
+//#endif
+        if (s.nodes.length <= depth) {
+            s.nodes = new int[depth + 1];
+            s.t = new float[depth + 1];
+        }
+        return s;
+    }
+
+    private float intersectTriangle(int i, float originX, float originY, float originZ, float dirX, float dirY, float dirZ, float epsilon) {
+        float[] t = triangles;
+        int o = i * 9;
+        return Intersectionf.intersectRayTriangle(originX, originY, originZ, dirX, dirY, dirZ,
+                t[o], t[o + 1], t[o + 2], t[o + 3], t[o + 4], t[o + 5], t[o + 6], t[o + 7], t[o + 8], epsilon);
+    }
+
+    /**
+     * Determine the closest triangle intersected by the ray with the given origin and direction and return the value of the parameter
+     * <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the point of intersection.
+     * <p>
+     * Only intersections with <code>t &gt;= 0</code> are considered. The children of each node are visited in the order in which
+     * the ray enters them and nodes farther away than the closest intersection found so far are skipped.
+     * 
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param epsilon
+     *          a small epsilon when testing rays that are almost parallel to a triangle
+     * @param triangle
+     *          if not <code>null</code>, will hold the index of the intersected triangle at index <code>0</code>, or <code>-1</code> if there is none
+     * @return the value of the parameter <i>t</i> of the closest intersection, or <code>-1.0</code> if the ray does not intersect any triangle
+     */
+    public float intersectRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, float epsilon, int[] triangle) {
+        float invDirX = 1.0f / dirX, invDirY = 1.0f / dirY, invDirZ = 1.0f / dirZ;
+        float closest = Float.POSITIVE_INFINITY;
+        int hit = -1;
+        Stacks stacks = stacks();
+        int[] stack = stacks.nodes;
+        float[] stackT = stacks.t;
+        int sp = 0;
+        float tRoot = triangleIndices.length == 0 ? Float.POSITIVE_INFINITY
+                : enter(0, originX, originY, originZ, invDirX, invDirY, invDirZ, closest);
+        if (tRoot != Float.POSITIVE_INFINITY) {
+            stack[sp] = 0;
+            stackT[sp++] = tRoot;
+        }
+        while (sp > 0) {
+            int node = stack[--sp];
+            if (stackT[sp] > closest)
+                continue;
+            int right = nodes[node * 3 + 2];
+            if (right < 0) {
+                int first = nodes[node * 3], end = first + nodes[node * 3 + 1];
+                for (int i = first; i < end; i++) {
+                    float t = intersectTriangle(i, originX, originY, originZ, dirX, dirY, dirZ, epsilon);
+                    if (t >= 0.0f && t < closest) {
+                        closest = t;
+                        hit = i;
+                    }
+                }
+                continue;
+            }
+            float tl = enter(node + 1, originX, originY, originZ, invDirX, invDirY, invDirZ, closest);
+            float tr = enter(right, originX, originY, originZ, invDirX, invDirY, invDirZ, closest);
+            /* Push the farther child first, so that the nearer one is visited next */
+            if (tl <= tr) {
+                if (tr != Float.POSITIVE_INFINITY) {
+                    stack[sp] = right;
+                    stackT[sp++] = tr;
+                }
+                if (tl != Float.POSITIVE_INFINITY) {
+                    stack[sp] = node + 1;
+                    stackT[sp++] = tl;
+                }
+            } else {
+                if (tl != Float.POSITIVE_INFINITY) {
+                    stack[sp] = node + 1;
+                    stackT[sp++] = tl;
+                }
+                stack[sp] = right;
+                stackT[sp++] = tr;
+            }
+        }
+        if (triangle != null)
+            triangle[0] = hit < 0 ? -1 : triangleIndices[hit];
+        return hit < 0 ? -1.0f : closest;
+    }
+
+    /**
+     * Determine the closest triangle intersected by the given ray and return the value of the parameter
+     * <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the point of intersection.
+     * 
+     * @see #intersectRay(float, float, float, float, float, float, float, int[])
+     * 
+     * @param ray
+     *          the ray
+     * @param epsilon
+     *          a small epsilon when testing rays that are almost parallel to a triangle
+     * @param triangle
+     *          if not <code>null</code>, will hold the index of the intersected triangle at index <code>0</code>, or <code>-1</code> if there is none
+     * @return the value of the parameter <i>t</i> of the closest intersection, or <code>-1.0</code> if the ray does not intersect any triangle
+     */
+    public float intersectRay(Rayf ray, float epsilon, int[] triangle) {
+        return intersectRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, epsilon, triangle);
+    }
+
+    /**
+     * Test whether the ray with the given origin and direction intersects any triangle for <code>0 &lt;= t &lt;= maxT</code>, where
+     * <i>t</i> is the parameter in the ray equation <i>p(t) = origin + t * dir</i>.
+     * <p>
+     * This is meant for shadow and line-of-sight queries and stops at the first intersection found, which is not necessarily the closest one.
+     * 
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>, such as <code>1.0</code> to test the line segment from <code>origin</code>
+     *          to <code>origin + dir</code>
+     * @param epsilon
+     *          a small epsilon when testing rays that are almost parallel to a triangle
+     * @return <code>true</code> if the ray intersects any triangle; <code>false</code> otherwise
+     */
+    public boolean testRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, float maxT, float epsilon) {
+        if (triangleIndices.length == 0)
+            return false;
+        float invDirX = 1.0f / dirX, invDirY = 1.0f / dirY, invDirZ = 1.0f / dirZ;
+        int[] stack = stacks().nodes;
+        int sp = 0;
+        stack[sp++] = 0;
+        while (sp > 0) {
+            int node = stack[--sp];
+            if (enter(node, originX, originY, originZ, invDirX, invDirY, invDirZ, maxT) == Float.POSITIVE_INFINITY)
+                continue;
+            int right = nodes[node * 3 + 2];
+            if (right < 0) {
+                int first = nodes[node * 3], end = first + nodes[node * 3 + 1];
+                for (int i = first; i < end; i++) {
+                    float t = intersectTriangle(i, originX, originY, originZ, dirX, dirY, dirZ, epsilon);
+                    if (t >= 0.0f && t <= maxT)
+                        return true;
+                }
+                continue;
+            }
+            stack[sp++] = right;
+            stack[sp++] = node + 1;
+        }
+        return false;
+    }
+
+}
@@ -26,13 +26,17 @@ package org.joml;
 //#ifndef __GWT__
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 
+import org.joml.internal.Parallel;
+
 /**
- * Class for polygon/point intersection tests when testing many points against one or many static concave or convex, simple polygons.
+ * Class for polygon/point intersection tests when testing many points against one or many concave or convex, simple polygons.
  * <p>
  * This is an implementation of the algorithm described in <a href="http://alienryderflex.com/polygon/">http://alienryderflex.com</a> and augmented with using a
  * custom interval tree to avoid testing all polygon edges against a point, but only those that intersect the imaginary ray along the same y co-ordinate of the
@@ -40,6 +44,16 @@ import java.util.List;
  * <p>
  * This class is thread-safe and can be used in a multithreaded environment when testing many points against the same polygon concurrently.
  * <p>
+ * Polygons can be added, removed and replaced at any time using {@link #addPolygon(float[], int)}, {@link #removePolygon(int)} and
+ * {@link #replacePolygon(int, float[], int)}. These only insert or remove the edges of the affected polygon into or from the interval tree, copying the
+ * tree nodes on the way instead of modifying them, and then publish the result as a new immutable snapshot. Every query works on the snapshot that was current
+ * when it started, so queries on other threads never wait for an update and always see a consistent set of polygons.
+ * <p>
+ * Many points can be classified at once using {@link #testPoints(float[], float[], int, BitSet)} and {@link #testPoints(float[], float[], int, int[])}.
+ * Instead of querying the interval tree for each point, these sort the points by their y coordinate and sweep over them, maintaining the set of polygons
+ * and polygon edges spanning the current y coordinate, so that consecutive points share the edges found for their predecessors. Additionally, only the
+ * edges of polygons whose x range contains a point are tested.
+ * <p>
  * Reference: <a href="http://alienryderflex.com/polygon/">http://alienryderflex.com</a>
  * 
  * @author Kai Burjack
@@ -62,11 +76,20 @@ public class PolygonsIntersection {
         }
     }
 
+    /**
+     * A polygon edge from vertex <code>(xi, yi)</code> to vertex <code>(xj, yj)</code> spanning the y range <code>[start, end]</code>.
+     */
     static class Interval {
         float start, end;
-        int i, j, polyIndex;
+        float xi, yi, xj, yj;
+        int polyIndex;
     }
 
+    /**
+     * A node of the interval tree.
+     * <p>
+     * Nodes which are reachable from a published {@link Snapshot} are never modified. Updates copy all nodes they need to change.
+     */
     static class IntervalTreeNode {
         float center;
         float childrenMinMax;
@@ -75,14 +98,23 @@ public class PolygonsIntersection {
         List/* <Interval> */ byBeginning;
         List/* <Interval> */ byEnding;
 
-        static boolean computeEvenOdd(float[] verticesXY, Interval ival, float x, float y, boolean evenOdd, BitSet inPolys) {
+        IntervalTreeNode copy() {
+            IntervalTreeNode n = new IntervalTreeNode();
+            n.center = center;
+            n.childrenMinMax = childrenMinMax;
+            n.left = left;
+            n.right = right;
+            n.byBeginning = byBeginning;
+            n.byEnding = byEnding;
+            return n;
+        }
+
+        static boolean computeEvenOdd(Interval ival, float x, float y, boolean evenOdd, BitSet inPolys) {
             boolean newEvenOdd = evenOdd;
-            int i = ival.i;
-            int j = ival.j;
-            float yi = verticesXY[2 * i + 1];
-            float yj = verticesXY[2 * j + 1];
-            float xi = verticesXY[2 * i + 0];
-            float xj = verticesXY[2 * j + 0];
+            float yi = ival.yi;
+            float yj = ival.yj;
+            float xi = ival.xi;
+            float xj = ival.xj;
             if ((yi < y && yj >= y || yj < y && yi >= y) && (xi <= x || xj <= x)) {
                 float xDist = xi + (y - yi) / (yj - yi) * (xj - xi) - x;
                 newEvenOdd ^= xDist < 0.0f;
@@ -93,36 +125,36 @@ public class PolygonsIntersection {
             return newEvenOdd;
         }
 
-        boolean traverse(float[] verticesXY, float x, float y, boolean evenOdd, BitSet inPolys) {
+        boolean traverse(float x, float y, boolean evenOdd, BitSet inPolys) {
             boolean newEvenOdd = evenOdd;
             if (y == center && byBeginning != null) {
                 int size = byBeginning.size();
                 for (int b = 0; b < size; b++) {
                     Interval ival = (Interval) byBeginning.get(b);
-                    newEvenOdd = computeEvenOdd(verticesXY, ival, x, y, newEvenOdd, inPolys);
+                    newEvenOdd = computeEvenOdd(ival, x, y, newEvenOdd, inPolys);
                 }
             } else if (y < center) {
                 if (left != null && left.childrenMinMax >= y)
-                    newEvenOdd = left.traverse(verticesXY, x, y, newEvenOdd, inPolys);
+                    newEvenOdd = left.traverse(x, y, newEvenOdd, inPolys);
                 if (byBeginning != null) {
                     int size = byBeginning.size();
                     for (int b = 0; b < size; b++) {
                         Interval ival = (Interval) byBeginning.get(b);
                         if (ival.start > y)
                             break;
-                        newEvenOdd = computeEvenOdd(verticesXY, ival, x, y, newEvenOdd, inPolys);
+                        newEvenOdd = computeEvenOdd(ival, x, y, newEvenOdd, inPolys);
                     }
                 }
             } else if (y > center) {
                 if (right != null && right.childrenMinMax <= y)
-                    newEvenOdd = right.traverse(verticesXY, x, y, newEvenOdd, inPolys);
+                    newEvenOdd = right.traverse(x, y, newEvenOdd, inPolys);
                 if (byEnding != null) {
                     int size = byEnding.size();
                     for (int b = 0; b < size; b++) {
                         Interval ival = (Interval) byEnding.get(b);
                         if (ival.end < y)
                             break;
-                        newEvenOdd = computeEvenOdd(verticesXY, ival, x, y, newEvenOdd, inPolys);
+                        newEvenOdd = computeEvenOdd(ival, x, y, newEvenOdd, inPolys);
                     }
                 }
             }
@@ -130,19 +162,234 @@ public class PolygonsIntersection {
         }
     }
 
+    /**
+     * The edges and the bounding box of a single polygon.
+     */
+    static class Polygon {
+        Interval[] edges;
+        float minX, minY, maxX, maxY;
+    }
+
+    /**
+     * An immutable version of all polygons, indexed by their polygon index, together with their interval tree.
+     */
+    static final class Snapshot {
+        final Polygon[] polygons;
+        final IntervalTreeNode tree;
+        final int edgeCount;
+        // the number of edges inserted into or removed from the tree since it was last built from scratch
+        final int updatedEdges;
+        final float minX, minY, maxX, maxY;
+        final float centerX, centerY, radiusSquared;
+        // built on the first call to testPoints(); racing threads build equal instances
+        private Sweep sweep;
+
+        Snapshot(Polygon[] polygons, IntervalTreeNode tree, int edgeCount, int updatedEdges) {
+            this.polygons = polygons;
+            this.tree = tree;
+            this.edgeCount = edgeCount;
+            this.updatedEdges = updatedEdges;
+            float minX = 1E38f, minY = 1E38f, maxX = -1E38f, maxY = -1E38f;
+            for (int p = 0; p < polygons.length; p++) {
+                Polygon polygon = polygons[p];
+                if (polygon == null)
+                    continue;
+                minX = minX < polygon.minX ? minX : polygon.minX;
+                minY = minY < polygon.minY ? minY : polygon.minY;
+                maxX = maxX > polygon.maxX ? maxX : polygon.maxX;
+                maxY = maxY > polygon.maxY ? maxY : polygon.maxY;
+            }
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            // compute bounding sphere
+            centerX = (maxX + minX) * 0.5f;
+            centerY = (maxY + minY) * 0.5f;
+            float dx = maxX - centerX;
+            float dy = maxY - centerY;
+            radiusSquared = dx * dx + dy * dy;
+        }
+
+        Sweep sweep() {
+            Sweep s = sweep;
+            if (s == null)
+                sweep = s = new Sweep(this);
+            return s;
+        }
+    }
+
+    /**
+     * All polygon edges of a {@link Snapshot} sorted by their minimum y coordinate, together with the bounds of each polygon,
+     * for classifying many points in a single sweep.
+     */
+    static final class Sweep {
+        private final int polygonCount, edgeCount;
+        private final float[] edgeStarts, edgeEnds, edgeCoords;
+        private final int[] edgePolys;
+        private final float[] polyMinXs, polyMaxXs, polyMinYs, polyMaxYs;
+        private final int[] polyEdgeOffsets, polysByMinY;
+        private final float minX, minY, maxX, maxY;
+
+        Sweep(Snapshot snapshot) {
+            Polygon[] polygons = snapshot.polygons;
+            polygonCount = polygons.length;
+            edgeCount = snapshot.edgeCount;
+            minX = snapshot.minX;
+            minY = snapshot.minY;
+            maxX = snapshot.maxX;
+            maxY = snapshot.maxY;
+            Interval[] sorted = new Interval[edgeCount];
+            polyMinXs = new float[polygonCount];
+            polyMaxXs = new float[polygonCount];
+            polyMinYs = new float[polygonCount];
+            polyMaxYs = new float[polygonCount];
+            polyEdgeOffsets = new int[polygonCount + 1];
+            long[] order = new long[polygonCount];
+            int liveCount = 0;
+            for (int p = 0, e = 0; p < polygonCount; p++) {
+                Polygon polygon = polygons[p];
+                polyEdgeOffsets[p + 1] = polyEdgeOffsets[p];
+                if (polygon == null)
+                    continue;
+                System.arraycopy(polygon.edges, 0, sorted, e, polygon.edges.length);
+                e += polygon.edges.length;
+                polyEdgeOffsets[p + 1] += polygon.edges.length;
+                polyMinXs[p] = polygon.minX;
+                polyMinYs[p] = polygon.minY;
+                polyMaxYs[p] = polygon.maxY;
+                /*
+                 * A point right of a polygon crosses an even number of its edges. Widen the bounds by a few ulps, so that a point
+                 * is only considered right of it if rounding in the crossing test cannot make any of its edges appear right of the point.
+                 */
+                polyMaxXs[p] = polygon.maxX + (Math.abs(polygon.maxX) + (polygon.maxX - polygon.minX)) * 1E-6f;
+                order[liveCount++] = sortKey(polygon.minY, p);
+            }
+            Arrays.sort(sorted, byStartComparator);
+            edgeStarts = new float[edgeCount];
+            edgeEnds = new float[edgeCount];
+            edgeCoords = new float[edgeCount * 4];
+            edgePolys = new int[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                Interval ival = sorted[e];
+                edgeStarts[e] = ival.start;
+                edgeEnds[e] = ival.end;
+                edgeCoords[4 * e + 0] = ival.xi;
+                edgeCoords[4 * e + 1] = ival.yi;
+                edgeCoords[4 * e + 2] = ival.xj;
+                edgeCoords[4 * e + 3] = ival.yj;
+                edgePolys[e] = ival.polyIndex;
+            }
+            Arrays.sort(order, 0, liveCount);
+            polysByMinY = new int[liveCount];
+            for (int p = 0; p < liveCount; p++)
+                polysByMinY[p] = (int) order[p];
+        }
+
+        /**
+         * Classify the points <code>[from, to)</code> by sweeping over them in the order of their y coordinate.
+         * <p>
+         * The sweep maintains the polygons spanning the current y coordinate and for each of them its edges spanning it.
+         * Only the edges of polygons whose x range contains the point are tested, since a point left of a polygon crosses none of
+         * its edges and a point right of it crosses an even number.
+         */
+        void classify(float[] xs, float[] ys, int from, int to, int[] dest) {
+            long[] order = new long[to - from];
+            for (int i = from; i < to; i++)
+                order[i - from] = sortKey(ys[i], i);
+            Arrays.sort(order);
+            int[] activeEdges = new int[edgeCount];
+            int[] activeEdgeCounts = new int[polygonCount];
+            int[] activePolys = new int[polysByMinY.length];
+            int activePolyCount = 0, nextPoly = 0, nextEdge = 0;
+            for (int o = 0; o < order.length; o++) {
+                int p = (int) order[o];
+                float x = xs[p], y = ys[p];
+                // start the edges and polygons beginning below or at y, skipping those which also ended already
+                while (nextEdge < edgeCount && edgeStarts[nextEdge] <= y) {
+                    if (edgeEnds[nextEdge] >= y) {
+                        int q = edgePolys[nextEdge];
+                        activeEdges[polyEdgeOffsets[q] + activeEdgeCounts[q]++] = nextEdge;
+                    }
+                    nextEdge++;
+                }
+                while (nextPoly < polysByMinY.length && polyMinYs[polysByMinY[nextPoly]] <= y) {
+                    int q = polysByMinY[nextPoly];
+                    if (polyMaxYs[q] >= y)
+                        activePolys[activePolyCount++] = q;
+                    nextPoly++;
+                }
+                dest[p] = -1;
+                if (maxX < x || maxY < y || minX > x || minY > y)
+                    continue;
+                boolean evenOdd = false;
+                int poly = polygonCount;
+                for (int a = 0; a < activePolyCount;) {
+                    int q = activePolys[a];
+                    if (polyMaxYs[q] < y) {
+                        // the polygon ended below y and will not be needed again
+                        activePolys[a] = activePolys[--activePolyCount];
+                        continue;
+                    }
+                    a++;
+                    if (x < polyMinXs[q] || x > polyMaxXs[q])
+                        continue;
+                    int offset = polyEdgeOffsets[q], n = activeEdgeCounts[q];
+                    boolean odd = false;
+                    for (int k = 0; k < n;) {
+                        int e = activeEdges[offset + k];
+                        if (edgeEnds[e] < y) {
+                            activeEdges[offset + k] = activeEdges[offset + --n];
+                            continue;
+                        }
+                        k++;
+                        float xi = edgeCoords[4 * e + 0], yi = edgeCoords[4 * e + 1];
+                        float xj = edgeCoords[4 * e + 2], yj = edgeCoords[4 * e + 3];
+                        if ((yi < y && yj >= y || yj < y && yi >= y) && (xi <= x || xj <= x)) {
+                            float xDist = xi + (y - yi) / (yj - yi) * (xj - xi) - x;
+                            odd ^= xDist < 0.0f;
+                        }
+                    }
+                    activeEdgeCounts[q] = n;
+                    if (odd) {
+                        evenOdd = !evenOdd;
+                        poly = q < poly ? q : poly;
+                    }
+                }
+                if (evenOdd)
+                    dest[p] = poly;
+            }
+        }
+    }
+
     private static final ByStartComparator byStartComparator = new ByStartComparator();
     private static final ByEndComparator byEndComparator = new ByEndComparator();
 
+    /**
+     * The number of points classified by a single task in the <code>testPointsParallel</code> methods.
+     */
+    private static final int PARALLEL_GRAIN = 1 << 16;
+
     protected final float[] verticesXY;
-    private float minX, minY, maxX, maxY;
-    private float centerX, centerY, radiusSquared;
-    private IntervalTreeNode tree;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Create a new {@link PolygonsIntersection} object without any polygons.
+     * <p>
+     * Polygons can be added using {@link #addPolygon(float[], int)}.
+     */
+    public PolygonsIntersection() {
+        this.verticesXY = new float[0];
+        this.snapshot = new Snapshot(new Polygon[0], null, 0, 0);
+    }
 
     /**
      * Create a new {@link PolygonsIntersection} object with the given polygon vertices.
      * <p>
-     * The <code>verticesXY</code> array contains the x and y coordinates of all vertices. This array will not be copied so its content must remain constant for
-     * as long as the PolygonPointIntersection is used with it.
+     * The <code>verticesXY</code> array contains the x and y coordinates of all vertices. The vertices are copied into the edges of the polygons,
+     * so the array can be modified afterwards.
+     * <p>
+     * The <i>i</i>-th polygon defined by <code>polygons</code> gets the polygon index <i>i</i>.
      * 
      * @param verticesXY
      *            contains the x and y coordinates of all vertices
@@ -158,7 +405,7 @@ public class PolygonsIntersection {
         preprocess(count, polygons);
     }
 
-    private IntervalTreeNode buildNode(List intervals, float center) {
+    private static IntervalTreeNode buildNode(List intervals, float center) {
         List left = null;
         List right = null;
         List byStart = null;
@@ -209,71 +456,269 @@ public class PolygonsIntersection {
         return tree;
     }
 
-    private void preprocess(int count, int[] polygons) {
-        int i, j = 0;
-        minX = minY = 1E38f;
-        maxX = maxY = -1E38f;
-        List intervals = new ArrayList(count);
-        int first = 0;
-        int currPoly = 0;
-        for (i = 1; i < count; i++) {
-            if (polygons != null && polygons.length > currPoly && polygons[currPoly] == i) {
-                /* New polygon starts. End the current. */
-                float prevy = verticesXY[2 * (i - 1) + 1];
-                float firsty = verticesXY[2 * first + 1];
-                Interval ival = new Interval();
-                ival.start = prevy < firsty ? prevy : firsty;
-                ival.end = firsty > prevy ? firsty : prevy;
-                ival.i = i - 1;
-                ival.j = first;
-                ival.polyIndex = currPoly;
-                intervals.add(ival);
-                first = i;
-                currPoly++;
-                i++;
-                j = i - 1;
+    /**
+     * Insert the given intervals into the subtree rooted at <code>node</code> by copying all nodes on the way.
+     * 
+     * @return the new root of the subtree
+     */
+    private static IntervalTreeNode insert(IntervalTreeNode node, List intervals) {
+        if (node == null) {
+            float min = 1E38f, max = -1E38f;
+            for (int i = 0; i < intervals.size(); i++) {
+                Interval ival = (Interval) intervals.get(i);
+                min = min < ival.start ? min : ival.start;
+                max = max > ival.end ? max : ival.end;
+            }
+            return buildNode(intervals, (min + max) / 2.0f);
+        }
+        List left = null, right = null, here = null;
+        float leftMax = -1E38f, rightMin = 1E38f;
+        for (int i = 0; i < intervals.size(); i++) {
+            Interval ival = (Interval) intervals.get(i);
+            if (ival.start < node.center && ival.end < node.center) {
+                if (left == null)
+                    left = new ArrayList();
+                left.add(ival);
+                leftMax = leftMax > ival.end ? leftMax : ival.end;
+            } else if (ival.start > node.center && ival.end > node.center) {
+                if (right == null)
+                    right = new ArrayList();
+                right.add(ival);
+                rightMin = rightMin < ival.start ? rightMin : ival.start;
+            } else {
+                if (here == null)
+                    here = new ArrayList();
+                here.add(ival);
             }
-            float yi = verticesXY[2 * i + 1];
-            float xi = verticesXY[2 * i + 0];
-            float yj = verticesXY[2 * j + 1];
-            minX = xi < minX ? xi : minX;
-            minY = yi < minY ? yi : minY;
-            maxX = xi > maxX ? xi : maxX;
-            maxY = yi > maxY ? yi : maxY;
+        }
+        IntervalTreeNode n = node.copy();
+        if (here != null) {
+            n.byBeginning = merge(node.byBeginning, here, byStartComparator);
+            n.byEnding = merge(node.byEnding, here, byEndComparator);
+        }
+        if (left != null) {
+            n.left = insert(node.left, left);
+            n.left.childrenMinMax = node.left == null ? leftMax : Math.max(node.left.childrenMinMax, leftMax);
+        }
+        if (right != null) {
+            n.right = insert(node.right, right);
+            n.right.childrenMinMax = node.right == null ? rightMin : Math.min(node.right.childrenMinMax, rightMin);
+        }
+        return n;
+    }
+
+    /**
+     * Remove the given intervals from the subtree rooted at <code>node</code> by copying all nodes on the way.
+     * <p>
+     * The <code>childrenMinMax</code> bounds are left as they are. They may become looser than necessary, but stay correct.
+     * 
+     * @return the new root of the subtree or <code>null</code> if it became empty
+     */
+    private static IntervalTreeNode remove(IntervalTreeNode node, List intervals) {
+        List left = null, right = null, here = null;
+        for (int i = 0; i < intervals.size(); i++) {
+            Interval ival = (Interval) intervals.get(i);
+            if (ival.start < node.center && ival.end < node.center) {
+                if (left == null)
+                    left = new ArrayList();
+                left.add(ival);
+            } else if (ival.start > node.center && ival.end > node.center) {
+                if (right == null)
+                    right = new ArrayList();
+                right.add(ival);
+            } else {
+                if (here == null)
+                    here = new ArrayList();
+                here.add(ival);
+            }
+        }
+        IntervalTreeNode n = node.copy();
+        if (here != null) {
+            n.byBeginning = without(node.byBeginning, here);
+            n.byEnding = without(node.byEnding, here);
+        }
+        if (left != null)
+            n.left = remove(node.left, left);
+        if (right != null)
+            n.right = remove(node.right, right);
+        if (n.byBeginning == null && n.left == null && n.right == null)
+            return null;
+        return n;
+    }
+
+    private static List merge(List list, List intervals, Comparator comparator) {
+        List res = list != null ? new ArrayList(list) : new ArrayList();
+        res.addAll(intervals);
+        Collections.sort(res, comparator);
+        return res;
+    }
+
+    private static List without(List list, List intervals) {
+        List res = new ArrayList(list);
+        // Interval does not override equals(), so this removes exactly the given instances
+        res.removeAll(new HashSet(intervals));
+        return res.isEmpty() ? null : res;
+    }
+
+    /**
+     * Create the edges of the polygon formed by the <code>count</code> vertices starting at vertex <code>first</code>.
+     */
+    private static Polygon createPolygon(float[] verticesXY, int first, int count, int polyIndex) {
+        Polygon polygon = new Polygon();
+        polygon.edges = new Interval[count];
+        polygon.minX = polygon.minY = 1E38f;
+        polygon.maxX = polygon.maxY = -1E38f;
+        for (int k = 0; k < count; k++) {
+            // the edge from each vertex to its predecessor, and the closing edge from the last vertex to the first
+            int i = first + (k == 0 ? count - 1 : k);
+            int j = k == 0 ? first : i - 1;
             Interval ival = new Interval();
-            ival.start = yi < yj ? yi : yj;
-            ival.end = yj > yi ? yj : yi;
-            ival.i = i;
-            ival.j = j;
-            ival.polyIndex = currPoly;
-            intervals.add(ival);
-            j = i;
+            ival.xi = verticesXY[2 * i + 0];
+            ival.yi = verticesXY[2 * i + 1];
+            ival.xj = verticesXY[2 * j + 0];
+            ival.yj = verticesXY[2 * j + 1];
+            ival.start = ival.yi < ival.yj ? ival.yi : ival.yj;
+            ival.end = ival.yj > ival.yi ? ival.yj : ival.yi;
+            ival.polyIndex = polyIndex;
+            polygon.edges[k] = ival;
+            polygon.minX = Math.min(polygon.minX, Math.min(ival.xi, ival.xj));
+            polygon.maxX = Math.max(polygon.maxX, Math.max(ival.xi, ival.xj));
+            polygon.minY = polygon.minY < ival.start ? polygon.minY : ival.start;
+            polygon.maxY = polygon.maxY > ival.end ? polygon.maxY : ival.end;
+        }
+        return polygon;
+    }
+
+    private static Snapshot rebuild(Polygon[] polygons) {
+        List intervals = new ArrayList();
+        float minY = 1E38f, maxY = -1E38f;
+        for (int p = 0; p < polygons.length; p++) {
+            Polygon polygon = polygons[p];
+            if (polygon == null)
+                continue;
+            intervals.addAll(Arrays.asList(polygon.edges));
+            minY = minY < polygon.minY ? minY : polygon.minY;
+            maxY = maxY > polygon.maxY ? maxY : polygon.maxY;
         }
-        // Close current polygon
-        float yi = verticesXY[2 * (i - 1) + 1];
-        float xi = verticesXY[2 * (i - 1) + 0];
-        float yj = verticesXY[2 * first + 1];
-        minX = xi < minX ? xi : minX;
-        minY = yi < minY ? yi : minY;
-        maxX = xi > maxX ? xi : maxX;
-        maxY = yi > maxY ? yi : maxY;
-        Interval ival = new Interval();
-        ival.start = yi < yj ? yi : yj;
-        ival.end = yj > yi ? yj : yi;
-        ival.i = i - 1;
-        ival.j = first;
-        ival.polyIndex = currPoly;
-        intervals.add(ival);
-        // compute bounding sphere and rectangle
-        centerX = (maxX + minX) * 0.5f;
-        centerY = (maxY + minY) * 0.5f;
-        float dx = maxX - centerX;
-        float dy = maxY - centerY;
-        radiusSquared = dx * dx + dy * dy;
         // build interval tree
-        tree = buildNode(intervals, centerY);
+        IntervalTreeNode tree = intervals.isEmpty() ? null : buildNode(intervals, (maxY + minY) * 0.5f);
+        return new Snapshot(polygons, tree, intervals.size(), 0);
+    }
+
+    private void preprocess(int count, int[] polygons) {
+        int[] starts = new int[(polygons != null ? polygons.length : 0) + 1];
+        int polyCount = 1;
+        for (int p = 0; polygons != null && p < polygons.length; p++) {
+            if (polygons[p] > starts[polyCount - 1] && polygons[p] < count)
+                starts[polyCount++] = polygons[p];
+        }
+        Polygon[] polys = new Polygon[polyCount];
+        for (int p = 0; p < polyCount; p++) {
+            int end = p + 1 < polyCount ? starts[p + 1] : count;
+            polys[p] = createPolygon(verticesXY, starts[p], end - starts[p], p);
+        }
+        snapshot = rebuild(polys);
+    }
+
+    /**
+     * Add a new polygon formed by the first <code>count</code> vertices of the given <code>verticesXY</code> array.
+     * <p>
+     * The new polygon gets the lowest polygon index not currently in use. Its edges are inserted into the interval tree without rebuilding it,
+     * and queries running concurrently on other threads are not affected.
+     * 
+     * @param verticesXY
+     *            contains the x and y coordinates of the vertices. These are copied, so the array can be modified afterwards
+     * @param count
+     *            the number of vertices of the polygon
+     * @return the polygon index of the new polygon
+     */
+    public synchronized int addPolygon(float[] verticesXY, int count) {
+        if (count < 1)
+            throw new IllegalArgumentException("count must be positive");
+        Snapshot s = snapshot;
+        int index = 0;
+        while (index < s.polygons.length && s.polygons[index] != null)
+            index++;
+        update(s, index, createPolygon(verticesXY, 0, count, index));
+        return index;
     }
-    
+
+    /**
+     * Remove the polygon with the given polygon index.
+     * <p>
+     * Its edges are removed from the interval tree without rebuilding it, and queries running concurrently on other threads are not affected.
+     * 
+     * @param index
+     *            the polygon index of the polygon to remove
+     */
+    public synchronized void removePolygon(int index) {
+        Snapshot s = snapshot;
+        checkPolygon(s, index);
+        update(s, index, null);
+    }
+
+    /**
+     * Replace the polygon with the given polygon index by the polygon formed by the first <code>count</code> vertices of the given <code>verticesXY</code> array.
+     * <p>
+     * The polygon keeps its polygon index. Its old edges are removed from and its new edges inserted into the interval tree without rebuilding it,
+     * and queries running concurrently on other threads either see the old or the new polygon.
+     * 
+     * @param index
+     *            the polygon index of the polygon to replace
+     * @param verticesXY
+     *            contains the x and y coordinates of the vertices. These are copied, so the array can be modified afterwards
+     * @param count
+     *            the number of vertices of the polygon
+     */
+    public synchronized void replacePolygon(int index, float[] verticesXY, int count) {
+        if (count < 1)
+            throw new IllegalArgumentException("count must be positive");
+        Snapshot s = snapshot;
+        checkPolygon(s, index);
+        update(s, index, createPolygon(verticesXY, 0, count, index));
+    }
+
+    private static void checkPolygon(Snapshot s, int index) {
+        if (index < 0 || index >= s.polygons.length || s.polygons[index] == null)
+            throw new IllegalArgumentException("no polygon with index " + index);
+    }
+
+    /**
+     * Publish a new snapshot in which the polygon at <code>index</code> is replaced by <code>polygon</code>.
+     */
+    private void update(Snapshot s, int index, Polygon polygon) {
+        Polygon old = index < s.polygons.length ? s.polygons[index] : null;
+        int length = Math.max(s.polygons.length, index + 1);
+        Polygon[] polygons = new Polygon[length];
+        System.arraycopy(s.polygons, 0, polygons, 0, s.polygons.length);
+        polygons[index] = polygon;
+        while (length > 0 && polygons[length - 1] == null)
+            length--;
+        if (length < polygons.length) {
+            Polygon[] trimmed = new Polygon[length];
+            System.arraycopy(polygons, 0, trimmed, 0, length);
+            polygons = trimmed;
+        }
+        int removed = old != null ? old.edges.length : 0;
+        int added = polygon != null ? polygon.edges.length : 0;
+        int edgeCount = s.edgeCount - removed + added;
+        int updatedEdges = s.updatedEdges + removed + added;
+        if (updatedEdges > edgeCount) {
+            /*
+             * Incremental updates do not rebalance the tree. Once more edges were updated than the tree holds,
+             * build it from scratch, which amortizes to a constant cost per updated edge.
+             */
+            snapshot = rebuild(polygons);
+            return;
+        }
+        IntervalTreeNode tree = s.tree;
+        if (old != null)
+            tree = remove(tree, Arrays.asList(old.edges));
+        if (polygon != null)
+            tree = insert(tree, Arrays.asList(polygon.edges));
+        snapshot = new Snapshot(polygons, tree, edgeCount, updatedEdges);
+    }
+
     /**
      * Test whether the given point <code>(x, y)</code> lies inside any polygon stored in this {@link PolygonsIntersection} object.
      * <p>
@@ -307,24 +752,157 @@ public class PolygonsIntersection {
      * @return <code>true</code> iff the point lies inside the polygon and not inside a hole; <code>false</code> otherwise
      */
     public boolean testPoint(float x, float y, BitSet inPolys) {
-        // check bounding sphere first
-        float dx = (x - centerX);
-        float dy = (y - centerY);
+        Snapshot s = snapshot;
         if (inPolys != null)
             inPolys.clear();
-        if (dx * dx + dy * dy > radiusSquared)
+        if (s.tree == null)
+            return false;
+        // check bounding sphere first
+        float dx = (x - s.centerX);
+        float dy = (y - s.centerY);
+        if (dx * dx + dy * dy > s.radiusSquared)
             return false;
         // check bounding box next
-        if (maxX < x || maxY < y || minX > x || minY > y)
+        if (s.maxX < x || s.maxY < y || s.minX > x || s.minY > y)
             return false;
         // ask interval tree for all polygon edges intersecting 'y' and perform
         // the even/odd/crosscutting/raycast algorithm on them and also return
         // the polygon index of the polygon the point is in by setting the appropriate
         // bit in the given BitSet.
-        boolean res = tree.traverse(verticesXY, x, y, false, inPolys);
+        boolean res = s.tree.traverse(x, y, false, inPolys);
         return res;
     }
 
+    /**
+     * Test for each of the first <code>count</code> points <code>(xs[i], ys[i])</code> whether it lies inside any polygon stored in this
+     * {@link PolygonsIntersection} object and set the <i>i</i>-th bit of <code>dest</code> iff it does.
+     * <p>
+     * The result for each point is identical to {@link #testPoint(float, float)}, but instead of querying the interval tree for each point,
+     * the points are sorted by their y coordinate and all of them are classified in a single sweep.
+     * <p>
+     * This method is thread-safe and can be used to test many points concurrently.
+     * <p>
+     * <em>This method performs heap allocations proportional to <code>count</code>.</em>
+     * 
+     * @see #testPointsParallel(float[], float[], int, BitSet)
+     * 
+     * @param xs
+     *            the x coordinates of the points to test
+     * @param ys
+     *            the y coordinates of the points to test
+     * @param count
+     *            the number of points to test
+     * @param dest
+     *            will have its first <code>count</code> bits set iff the respective point lies inside any polygon
+     * @return dest
+     */
+    public BitSet testPoints(float[] xs, float[] ys, int count, BitSet dest) {
+        int[] polys = new int[count];
+        snapshot.sweep().classify(xs, ys, 0, count, polys);
+        return toBitSet(polys, count, dest);
+    }
+
+    /**
+     * Determine for each of the first <code>count</code> points <code>(xs[i], ys[i])</code> the index of the polygon it lies inside of
+     * and store it into <code>dest[i]</code>.
+     * <p>
+     * If {@link #testPoint(float, float)} would return <code>false</code> for a point, then <code>-1</code> is stored for it.
+     * Otherwise the lowest index of all polygons whose bits {@link #testPoint(float, float, BitSet)} would set is stored.
+     * <p>
+     * Instead of querying the interval tree for each point, the points are sorted by their y coordinate and all of them are classified in a single sweep.
+     * <p>
+     * This method is thread-safe and can be used to test many points concurrently.
+     * <p>
+     * <em>This method performs heap allocations proportional to <code>count</code>.</em>
+     * 
+     * @see #testPointsParallel(float[], float[], int, int[])
+     * 
+     * @param xs
+     *            the x coordinates of the points to test
+     * @param ys
+     *            the y coordinates of the points to test
+     * @param count
+     *            the number of points to test
+     * @param dest
+     *            will hold the polygon index of each point or <code>-1</code>
+     * @return dest
+     */
+    public int[] testPoints(float[] xs, float[] ys, int count, int[] dest) {
+        snapshot.sweep().classify(xs, ys, 0, count, dest);
+        return dest;
+    }
+
+    /**
+     * Test for each of the first <code>count</code> points <code>(xs[i], ys[i])</code> whether it lies inside any polygon stored in this
+     * {@link PolygonsIntersection} object and set the <i>i</i>-th bit of <code>dest</code> iff it does, splitting large inputs into blocks
+     * which are classified in parallel using a {@link java.util.concurrent.ForkJoinPool}.
+     * <p>
+     * The results are identical to {@link #testPoints(float[], float[], int, BitSet)}. It requires Java 7 or later.
+     * 
+     * @param xs
+     *            the x coordinates of the points to test
+     * @param ys
+     *            the y coordinates of the points to test
+     * @param count
+     *            the number of points to test
+     * @param dest
+     *            will have its first <code>count</code> bits set iff the respective point lies inside any polygon
+     * @return dest
+     */
+    public BitSet testPointsParallel(float[] xs, float[] ys, int count, BitSet dest) {
+        int[] polys = new int[count];
+        classifyParallel(xs, ys, count, polys);
+        return toBitSet(polys, count, dest);
+    }
+
+    /**
+     * Determine for each of the first <code>count</code> points <code>(xs[i], ys[i])</code> the index of the polygon it lies inside of
+     * and store it into <code>dest[i]</code>, splitting large inputs into blocks which are classified in parallel using a
+     * {@link java.util.concurrent.ForkJoinPool}.
+     * <p>
+     * The results are identical to {@link #testPoints(float[], float[], int, int[])}. It requires Java 7 or later.
+     * 
+     * @param xs
+     *            the x coordinates of the points to test
+     * @param ys
+     *            the y coordinates of the points to test
+     * @param count
+     *            the number of points to test
+     * @param dest
+     *            will hold the polygon index of each point or <code>-1</code>
+     * @return dest
+     */
+    public int[] testPointsParallel(float[] xs, float[] ys, int count, int[] dest) {
+        classifyParallel(xs, ys, count, dest);
+        return dest;
+    }
+
+    private static BitSet toBitSet(int[] polys, int count, BitSet dest) {
+        dest.clear();
+        for (int i = 0; i < count; i++)
+            if (polys[i] >= 0)
+                dest.set(i);
+        return dest;
+    }
+
+    private void classifyParallel(final float[] xs, final float[] ys, int count, final int[] dest) {
+        final Sweep sweep = snapshot.sweep();
+        Parallel.run(count, PARALLEL_GRAIN, new Parallel.Range() {
+            public void run(int from, int to) {
+                sweep.classify(xs, ys, from, to, dest);
+            }
+        });
+    }
+
+    /**
+     * Build a key whose signed <code>long</code> order is the order of <code>v</code> with the given index in its lower half.
+     */
+    private static long sortKey(float v, int index) {
+        int bits = Float.floatToIntBits(v);
+        bits ^= (bits >> 31) & 0x7FFFFFFF;
+        return (long) bits << 32 | index;
+    }
+
 }
 
 //#endif
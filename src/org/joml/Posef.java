@@ -0,0 +1,582 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+/**
+ * Stores the local transformations of all bones of a skeleton in structure-of-arrays layout and provides bulk blending
+ * and hierarchy propagation on them.
+ * <p>
+ * Every bone has a translation, a rotation quaternion and a non-uniform scale, which together form the local transformation
+ * <code>T * R * S</code> of the bone relative to its parent. Instead of one {@link Vector3f} and {@link Quaternionf} object
+ * per bone, all bones share a single <code>float[]</code>, which is divided into 10 planes, one per component. The plane of a
+ * component contains that component for all bones, so that the bulk operations of this class run as tight loops over
+ * contiguous memory, which the JIT compiler can unroll and vectorize.
+ * <p>
+ * The skeleton hierarchy is given to {@link #toModel(int[], float[], int)} and {@link #toModel(int[], Matrix4x3f[])} as an
+ * array of parent indices, in which every bone comes after its parent.
+ * <p>
+ * Unless otherwise stated, the bulk operations apply to the bones with the same index in all participating poses, which must
+ * have the same number of bones, and <code>dest</code> may be the same instance as <code>this</code> or any other operand.
+ * The operations do not use any shared state, so that the poses of different characters can be processed concurrently by
+ * different threads.
+ */
+public class Posef {
+
+    private static final int TX = 0, TY = 1, TZ = 2;
+    private static final int RX = 3, RY = 4, RZ = 5, RW = 6;
+    private static final int SX = 7, SY = 8, SZ = 9;
+    private static final int PLANES = 10;
+
+    private final int boneCount;
+
+    /**
+     * The 10 component planes. The component <code>c</code> of the bone at index <code>i</code>
+     * is stored at <code>data[c * boneCount + i]</code>.
+     */
+    final float[] data;
+
+    /**
+     * Create a new {@link Posef} holding <code>boneCount</code> bones, which all have the identity transformation.
+     * 
+     * @param boneCount
+     *          the number of bones
+     */
+    public Posef(int boneCount) {
+        if (boneCount < 0)
+            throw new IllegalArgumentException("boneCount must not be negative");
+        this.boneCount = boneCount;
+        this.data = new float[boneCount * PLANES];
+        identity();
+    }
+
+    /**
+     * Return the number of bones of this pose.
+     * 
+     * @return the number of bones
+     */
+    public int boneCount() {
+        return boneCount;
+    }
+
+    private void checkBoneCount(Posef other) {
+        if (other.boneCount != boneCount)
+            throw new IllegalArgumentException("poses have different bone counts");
+    }
+
+    private void checkBoneWeights(float[] boneWeights) {
+        if (boneWeights.length < boneCount)
+            throw new IllegalArgumentException("boneWeights must contain a weight for every bone");
+    }
+
+    /**
+     * Set all bones to the identity transformation, which has zero translation, identity rotation and unit scale.
+     * 
+     * @return this
+     */
+    public Posef identity() {
+        int n = boneCount;
+        java.util.Arrays.fill(data, 0, RW * n, 0.0f);
+        java.util.Arrays.fill(data, RW * n, PLANES * n, 1.0f);
+        return this;
+    }
+
+    /**
+     * Set this pose to the bones of <code>src</code>.
+     * 
+     * @param src
+     *          the pose to copy, with the same number of bones as this pose
+     * @return this
+     */
+    public Posef set(Posef src) {
+        checkBoneCount(src);
+        System.arraycopy(src.data, 0, data, 0, data.length);
+        return this;
+    }
+
+    /**
+     * Set the translation, rotation and scale of the bone at the given index.
+     * 
+     * @param bone
+     *          the index of the bone
+     * @param translation
+     *          the translation
+     * @param rotation
+     *          the rotation
+     * @param scale
+     *          the scale
+     * @return this
+     */
+    public Posef set(int bone, Vector3fc translation, Quaternionfc rotation, Vector3fc scale) {
+        setTranslation(bone, translation.x(), translation.y(), translation.z());
+        setRotation(bone, rotation.x(), rotation.y(), rotation.z(), rotation.w());
+        return setScale(bone, scale.x(), scale.y(), scale.z());
+    }
+
+    /**
+     * Set the translation of the bone at the given index.
+     * 
+     * @param bone
+     *          the index of the bone
+     * @param x
+     *          the x component of the translation
+     * @param y
+     *          the y component of the translation
+     * @param z
+     *          the z component of the translation
+     * @return this
+     */
+    public Posef setTranslation(int bone, float x, float y, float z) {
+        int n = boneCount;
+        data[TX * n + bone] = x;
+        data[TY * n + bone] = y;
+        data[TZ * n + bone] = z;
+        return this;
+    }
+
+    /**
+     * Set the rotation of the bone at the given index.
+     * 
+     * @param bone
+     *          the index of the bone
+     * @param x
+     *          the x component of the rotation quaternion
+     * @param y
+     *          the y component of the rotation quaternion
+     * @param z
+     *          the z component of the rotation quaternion
+     * @param w
+     *          the w component of the rotation quaternion
+     * @return this
+     */
+    public Posef setRotation(int bone, float x, float y, float z, float w) {
+        int n = boneCount;
+        data[RX * n + bone] = x;
+        data[RY * n + bone] = y;
+        data[RZ * n + bone] = z;
+        data[RW * n + bone] = w;
+        return this;
+    }
+
+    /**
+     * Set the scale of the bone at the given index.
+     * 
+     * @param bone
+     *          the index of the bone
+     * @param x
+     *          the scale along the x axis
+     * @param y
+     *          the scale along the y axis
+     * @param z
+     *          the scale along the z axis
+     * @return this
+     */
+    public Posef setScale(int bone, float x, float y, float z) {
+        int n = boneCount;
+        data[SX * n + bone] = x;
+        data[SY * n + bone] = y;
+        data[SZ * n + bone] = z;
+        return this;
+    }
+
+    /**
+     * Store the translation of the bone at the given index into <code>dest</code>.
+     * 
+     * @param bone
+     *          the index of the bone
+     * @param dest
+     *          will hold the translation
+     * @return dest
+     */
+    public Vector3f getTranslation(int bone, Vector3f dest) {
+        int n = boneCount;
+        return dest.set(data[TX * n + bone], data[TY * n + bone], data[TZ * n + bone]);
+    }
+
+    /**
+     * Store the rotation of the bone at the given index into <code>dest</code>.
+     * 
+     * @param bone
+     *          the index of the bone
+     * @param dest
+     *          will hold the rotation
+     * @return dest
+     */
+    public Quaternionf getRotation(int bone, Quaternionf dest) {
+        int n = boneCount;
+        return dest.set(data[RX * n + bone], data[RY * n + bone], data[RZ * n + bone], data[RW * n + bone]);
+    }
+
+    /**
+     * Store the scale of the bone at the given index into <code>dest</code>.
+     * 
+     * @param bone
+     *          the index of the bone
+     * @param dest
+     *          will hold the scale
+     * @return dest
+     */
+    public Vector3f getScale(int bone, Vector3f dest) {
+        int n = boneCount;
+        return dest.set(data[SX * n + bone], data[SY * n + bone], data[SZ * n + bone]);
+    }
+
+    /**
+     * Normalize the rotation quaternions of all bones.
+     * <p>
+     * This is only needed after the rotations were set to non-unit quaternions or to counter the drift accumulated by
+     * many consecutive {@link #add(Posef, float, Posef) additive} layers, since all other operations produce unit quaternions.
+     * 
+     * @return this
+     */
+    public Posef normalize() {
+        float[] d = data;
+        int n = boneCount;
+        for (int i = 0; i < n; i++) {
+            float x = d[RX * n + i], y = d[RY * n + i], z = d[RZ * n + i], w = d[RW * n + i];
+            float invLength = 1.0f / (float) Math.sqrt(x * x + y * y + z * z + w * w);
+            d[RX * n + i] = x * invLength;
+            d[RY * n + i] = y * invLength;
+            d[RZ * n + i] = z * invLength;
+            d[RW * n + i] = w * invLength;
+        }
+        return this;
+    }
+
+    /**
+     * Blend between this pose and <code>other</code> with the given interpolation factor <code>factor</code>, and store the
+     * result in <code>dest</code>.
+     * <p>
+     * Translations and scales are interpolated linearly and rotations are interpolated with
+     * {@link Quaternionf#nlerp(Quaternionfc, float, Quaternionf) non-spherical linear interpolation} along the shortest path.
+     * 
+     * @param other
+     *          the other pose
+     * @param factor
+     *          the interpolation factor, within <code>[0..1]</code>
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Posef lerp(Posef other, float factor, Posef dest) {
+        checkBoneCount(other);
+        checkBoneCount(dest);
+        lerpTranslationScale(other.data, factor, null, dest.data);
+        lerpRotation(other.data, factor, null, dest.data);
+        return dest;
+    }
+
+    /**
+     * Blend between this pose and <code>other</code> with the given interpolation factor <code>factor</code>, which is
+     * multiplied by the weight of each bone in <code>boneWeights</code>, and store the result in <code>dest</code>.
+     * <p>
+     * This applies <code>other</code> as a masked layer on top of this pose: bones with weight <code>0.0</code> keep the
+     * transformation of this pose, and bones with weight <code>1.0</code> are blended with the full <code>factor</code>.
+     * 
+     * @see #lerp(Posef, float, Posef)
+     * 
+     * @param other
+     *          the other pose
+     * @param factor
+     *          the interpolation factor, within <code>[0..1]</code>
+     * @param boneWeights
+     *          the weights of the bones, within <code>[0..1]</code>
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Posef lerp(Posef other, float factor, float[] boneWeights, Posef dest) {
+        checkBoneCount(other);
+        checkBoneCount(dest);
+        checkBoneWeights(boneWeights);
+        lerpTranslationScale(other.data, factor, boneWeights, dest.data);
+        lerpRotation(other.data, factor, boneWeights, dest.data);
+        return dest;
+    }
+
+    private void lerpTranslationScale(float[] o, float factor, float[] boneWeights, float[] d) {
+        lerpPlanes(o, factor, boneWeights, d, TX, TZ);
+        lerpPlanes(o, factor, boneWeights, d, SX, SZ);
+    }
+
+    private void lerpPlanes(float[] o, float factor, float[] boneWeights, float[] d, int firstPlane, int lastPlane) {
+        float[] s = data;
+        int n = boneCount;
+        for (int c = firstPlane; c <= lastPlane; c++) {
+            int base = c * n;
+            if (boneWeights == null) {
+                for (int i = base; i < base + n; i++)
+                    d[i] = s[i] + (o[i] - s[i]) * factor;
+            } else {
+                for (int i = 0; i < n; i++)
+                    d[base + i] = s[base + i] + (o[base + i] - s[base + i]) * (factor * boneWeights[i]);
+            }
+        }
+    }
+
+    private void lerpRotation(float[] o, float factor, float[] boneWeights, float[] d) {
+        float[] s = data;
+        int n = boneCount;
+        for (int i = 0; i < n; i++) {
+            float alpha = boneWeights == null ? factor : factor * boneWeights[i];
+            float x = s[RX * n + i], y = s[RY * n + i], z = s[RZ * n + i], w = s[RW * n + i];
+            float qx = o[RX * n + i], qy = o[RY * n + i], qz = o[RZ * n + i], qw = o[RW * n + i];
+            float cosom = x * qx + y * qy + z * qz + w * qw;
+            float scale0 = 1.0f - alpha;
+            float scale1 = cosom >= 0.0f ? alpha : -alpha;
+            float rx = scale0 * x + scale1 * qx;
+            float ry = scale0 * y + scale1 * qy;
+            float rz = scale0 * z + scale1 * qz;
+            float rw = scale0 * w + scale1 * qw;
+            float s1 = 1.0f / (float) Math.sqrt(rx * rx + ry * ry + rz * rz + rw * rw);
+            d[RX * n + i] = rx * s1;
+            d[RY * n + i] = ry * s1;
+            d[RZ * n + i] = rz * s1;
+            d[RW * n + i] = rw * s1;
+        }
+    }
+
+    /**
+     * Compute the additive difference between this pose and the given <code>reference</code> pose, and store it in
+     * <code>dest</code>.
+     * <p>
+     * The difference of each bone has the translation <code>t - tRef</code>, the rotation <code>conjugate(rRef) * r</code> and
+     * the scale <code>s / sRef</code>, so that {@link #add(Posef, float, Posef) adding} it to <code>reference</code> with weight
+     * <code>1.0</code> yields this pose again.
+     * 
+     * @param reference
+     *          the reference pose
+     * @param dest
+     *          will hold the difference
+     * @return dest
+     */
+    public Posef difference(Posef reference, Posef dest) {
+        checkBoneCount(reference);
+        checkBoneCount(dest);
+        float[] s = data, r = reference.data, d = dest.data;
+        int n = boneCount;
+        for (int i = TX * n; i < RX * n; i++)
+            d[i] = s[i] - r[i];
+        for (int i = SX * n; i < PLANES * n; i++)
+            d[i] = s[i] / r[i];
+        for (int i = 0; i < n; i++) {
+            float ax = -r[RX * n + i], ay = -r[RY * n + i], az = -r[RZ * n + i], aw = r[RW * n + i];
+            float bx = s[RX * n + i], by = s[RY * n + i], bz = s[RZ * n + i], bw = s[RW * n + i];
+            d[RX * n + i] = aw * bx + ax * bw + ay * bz - az * by;
+            d[RY * n + i] = aw * by - ax * bz + ay * bw + az * bx;
+            d[RZ * n + i] = aw * bz + ax * by - ay * bx + az * bw;
+            d[RW * n + i] = aw * bw - ax * bx - ay * by - az * bz;
+        }
+        return dest;
+    }
+
+    /**
+     * Apply the given <code>additive</code> pose as an additive layer with the given <code>weight</code> on top of this pose,
+     * and store the result in <code>dest</code>.
+     * <p>
+     * The additive pose holds per-bone differences as computed by {@link #difference(Posef, Posef)}. Each bone of the result has
+     * the translation <code>t + tAdd * weight</code>, the rotation <code>r * nlerp(identity, rAdd, weight)</code> and the scale
+     * <code>s * (1 + (sAdd - 1) * weight)</code>.
+     * 
+     * @param additive
+     *          the additive pose
+     * @param weight
+     *          the weight of the additive layer, usually within <code>[0..1]</code>
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Posef add(Posef additive, float weight, Posef dest) {
+        checkBoneCount(additive);
+        checkBoneCount(dest);
+        addLayer(additive.data, weight, null, dest.data);
+        return dest;
+    }
+
+    /**
+     * Apply the given <code>additive</code> pose as an additive layer with the given <code>weight</code>, which is multiplied by
+     * the weight of each bone in <code>boneWeights</code>, on top of this pose, and store the result in <code>dest</code>.
+     * 
+     * @see #add(Posef, float, Posef)
+     * 
+     * @param additive
+     *          the additive pose
+     * @param weight
+     *          the weight of the additive layer, usually within <code>[0..1]</code>
+     * @param boneWeights
+     *          the weights of the bones, within <code>[0..1]</code>
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Posef add(Posef additive, float weight, float[] boneWeights, Posef dest) {
+        checkBoneCount(additive);
+        checkBoneCount(dest);
+        checkBoneWeights(boneWeights);
+        addLayer(additive.data, weight, boneWeights, dest.data);
+        return dest;
+    }
+
+    private void addLayer(float[] a, float weight, float[] boneWeights, float[] d) {
+        float[] s = data;
+        int n = boneCount;
+        for (int c = TX; c <= TZ; c++) {
+            int base = c * n;
+            for (int i = 0; i < n; i++)
+                d[base + i] = s[base + i] + a[base + i] * (boneWeights == null ? weight : weight * boneWeights[i]);
+        }
+        for (int c = SX; c <= SZ; c++) {
+            int base = c * n;
+            for (int i = 0; i < n; i++)
+                d[base + i] = s[base + i] * (1.0f + (a[base + i] - 1.0f) * (boneWeights == null ? weight : weight * boneWeights[i]));
+        }
+        for (int i = 0; i < n; i++) {
+            float alpha = boneWeights == null ? weight : weight * boneWeights[i];
+            float qx = a[RX * n + i], qy = a[RY * n + i], qz = a[RZ * n + i], qw = a[RW * n + i];
+            float scale1 = qw >= 0.0f ? alpha : -alpha;
+            float bx = scale1 * qx, by = scale1 * qy, bz = scale1 * qz, bw = 1.0f - alpha + scale1 * qw;
+            float s1 = 1.0f / (float) Math.sqrt(bx * bx + by * by + bz * bz + bw * bw);
+            bx *= s1;
+            by *= s1;
+            bz *= s1;
+            bw *= s1;
+            float ax = s[RX * n + i], ay = s[RY * n + i], az = s[RZ * n + i], aw = s[RW * n + i];
+            d[RX * n + i] = aw * bx + ax * bw + ay * bz - az * by;
+            d[RY * n + i] = aw * by - ax * bz + ay * bw + az * bx;
+            d[RZ * n + i] = aw * bz + ax * by - ay * bx + az * bw;
+            d[RW * n + i] = aw * bw - ax * bx - ay * by - az * bz;
+        }
+    }
+
+    private void checkParents(int[] parents) {
+        if (parents.length < boneCount)
+            throw new IllegalArgumentException("parents must contain a parent index for every bone");
+    }
+
+    private static void checkParent(int parent, int bone) {
+        if (parent >= bone)
+            throw new IllegalArgumentException("parent of bone " + bone + " must come before it: " + parent);
+    }
+
+    /**
+     * Compute the model-space transformation of all bones by propagating the local transformations of this pose down the
+     * skeleton hierarchy, and store them as a palette of 4x3 matrices into the given array, starting at <code>offset</code>.
+     * <p>
+     * The bone at index <code>i</code> has the parent <code>parents[i]</code>, which must be less than <code>i</code>, or any
+     * negative value if the bone is a root. The model-space transformation of a root is its local transformation, and that
+     * of any other bone is the model-space transformation of its parent multiplied by its local transformation.
+     * <p>
+     * Each matrix occupies 12 consecutive floats in column-major order, as written by {@link Matrix4x3f#get(float[], int)}.
+     * 
+     * @param parents
+     *          the parent index of each bone
+     * @param dest
+     *          will hold the model-space matrices
+     * @param offset
+     *          the offset into <code>dest</code> of the matrix of the first bone
+     * @return dest
+     */
+    public float[] toModel(int[] parents, float[] dest, int offset) {
+        checkParents(parents);
+        float[] s = data;
+        int n = boneCount;
+        for (int i = 0; i < n; i++) {
+            float tx = s[TX * n + i], ty = s[TY * n + i], tz = s[TZ * n + i];
+            float qx = s[RX * n + i], qy = s[RY * n + i], qz = s[RZ * n + i], qw = s[RW * n + i];
+            float sx = s[SX * n + i], sy = s[SY * n + i], sz = s[SZ * n + i];
+            float dqx = qx + qx, dqy = qy + qy, dqz = qz + qz;
+            float q00 = dqx * qx, q11 = dqy * qy, q22 = dqz * qz;
+            float q01 = dqx * qy, q02 = dqx * qz, q03 = dqx * qw;
+            float q12 = dqy * qz, q13 = dqy * qw, q23 = dqz * qw;
+            float l00 = sx - (q11 + q22) * sx, l01 = (q01 + q23) * sx, l02 = (q02 - q13) * sx;
+            float l10 = (q01 - q23) * sy, l11 = sy - (q22 + q00) * sy, l12 = (q12 + q03) * sy;
+            float l20 = (q02 + q13) * sz, l21 = (q12 - q03) * sz, l22 = sz - (q11 + q00) * sz;
+            int o = offset + i * 12;
+            int parent = parents[i];
+            if (parent < 0) {
+                dest[o] = l00;
+                dest[o + 1] = l01;
+                dest[o + 2] = l02;
+                dest[o + 3] = l10;
+                dest[o + 4] = l11;
+                dest[o + 5] = l12;
+                dest[o + 6] = l20;
+                dest[o + 7] = l21;
+                dest[o + 8] = l22;
+                dest[o + 9] = tx;
+                dest[o + 10] = ty;
+                dest[o + 11] = tz;
+                continue;
+            }
+            checkParent(parent, i);
+            int p = offset + parent * 12;
+            float p00 = dest[p], p01 = dest[p + 1], p02 = dest[p + 2];
+            float p10 = dest[p + 3], p11 = dest[p + 4], p12 = dest[p + 5];
+            float p20 = dest[p + 6], p21 = dest[p + 7], p22 = dest[p + 8];
+            float p30 = dest[p + 9], p31 = dest[p + 10], p32 = dest[p + 11];
+            dest[o] = p00 * l00 + p10 * l01 + p20 * l02;
+            dest[o + 1] = p01 * l00 + p11 * l01 + p21 * l02;
+            dest[o + 2] = p02 * l00 + p12 * l01 + p22 * l02;
+            dest[o + 3] = p00 * l10 + p10 * l11 + p20 * l12;
+            dest[o + 4] = p01 * l10 + p11 * l11 + p21 * l12;
+            dest[o + 5] = p02 * l10 + p12 * l11 + p22 * l12;
+            dest[o + 6] = p00 * l20 + p10 * l21 + p20 * l22;
+            dest[o + 7] = p01 * l20 + p11 * l21 + p21 * l22;
+            dest[o + 8] = p02 * l20 + p12 * l21 + p22 * l22;
+            dest[o + 9] = p00 * tx + p10 * ty + p20 * tz + p30;
+            dest[o + 10] = p01 * tx + p11 * ty + p21 * tz + p31;
+            dest[o + 11] = p02 * tx + p12 * ty + p22 * tz + p32;
+        }
+        return dest;
+    }
+
+    /**
+     * Compute the model-space transformation of all bones by propagating the local transformations of this pose down the
+     * skeleton hierarchy, and store them into the given matrices.
+     * 
+     * @see #toModel(int[], float[], int)
+     * 
+     * @param parents
+     *          the parent index of each bone
+     * @param dest
+     *          will hold the model-space matrix of each bone
+     * @return dest
+     */
+    public Matrix4x3f[] toModel(int[] parents, Matrix4x3f[] dest) {
+        checkParents(parents);
+        float[] s = data;
+        int n = boneCount;
+        for (int i = 0; i < n; i++) {
+            Matrix4x3f m = dest[i].translationRotateScale(s[TX * n + i], s[TY * n + i], s[TZ * n + i],
+                    s[RX * n + i], s[RY * n + i], s[RZ * n + i], s[RW * n + i],
+                    s[SX * n + i], s[SY * n + i], s[SZ * n + i]);
+            int parent = parents[i];
+            if (parent >= 0) {
+                checkParent(parent, i);
+                dest[parent].mul(m, m);
+            }
+        }
+        return dest;
+    }
+
+}
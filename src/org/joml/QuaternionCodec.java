@@ -0,0 +1,455 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+//#ifdef __HAS_NIO__
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+//#endif
+
+/**
+ * Compresses unit quaternions with the <i>smallest three</i> encoding.
+ * <p>
+ * Since a unit quaternion <code>q</code> and <code>-q</code> represent the same rotation and <code>x<sup>2</sup> + y<sup>2</sup>
+ * + z<sup>2</sup> + w<sup>2</sup> = 1</code>, it suffices to store the index of the component with the largest magnitude,
+ * flipping the sign of the quaternion so that this component is positive, and the other three components. Those lie in
+ * <code>[-1/sqrt(2)..+1/sqrt(2)]</code> and are quantized to <code>bits</code> bits each, while the largest component is
+ * reconstructed from them when decoding.
+ * <p>
+ * An encoded quaternion occupies the lowest <code>3 * bits + 2</code> bits of an integer: the three components in the bits
+ * <code>[0..bits)</code>, <code>[bits..2*bits)</code> and <code>[2*bits..3*bits)</code> in the order <code>x, y, z, w</code> without
+ * the largest one, followed by the two bits of the index of the largest component. Up to {@link #MAX_BITS_INT} bits per component
+ * fit into an <code>int</code> and up to {@link #MAX_BITS_LONG} into a <code>long</code>. In a {@link java.nio.ByteBuffer}, every
+ * quaternion takes {@link #bytes(int)} bytes in little-endian order, regardless of the byte order of the buffer.
+ * <p>
+ * The quaternions to encode must be normalized. {@link #errorBound(int)} gives an upper bound of the error of every component of
+ * a decoded quaternion, and {@link #maxError(float[], int, int, int)} measures the actual error for a given set of quaternions.
+ * 
+ * @see Quaternionfc#packSmallestThree(int)
+ * @see Quaternionf#setSmallestThree(long, int)
+ */
+public final class QuaternionCodec {
+
+    /**
+     * The largest number of bits per component for which an encoded quaternion fits into an <code>int</code>.
+     */
+    public static final int MAX_BITS_INT = 10;
+    /**
+     * The largest number of bits per component for which an encoded quaternion fits into a <code>long</code>.
+     */
+    public static final int MAX_BITS_LONG = 20;
+
+    private static final float SQRT2 = 1.41421356f;
+    private static final float INV_SQRT2 = 0.70710678f;
+
+    private QuaternionCodec() {
+    }
+
+    static void checkBits(int bits, int maxBits) {
+        if (bits < 1 || bits > maxBits)
+            throw new IllegalArgumentException("bits");
+    }
+
+    private static void checkArrays(int srcOffset, int srcCount, int srcLength, int destOffset, int destCount, int destLength) {
+        if (srcOffset < 0 || srcCount < 0 || srcOffset + (long) srcCount > srcLength
+         || destOffset < 0 || destOffset + (long) destCount > destLength)
+            throw new ArrayIndexOutOfBoundsException();
+    }
+
+    /**
+     * Return the number of bytes of a quaternion encoded with <code>bits</code> bits per component in a {@link ByteBuffer}.
+     * 
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value #MAX_BITS_LONG}]</code>
+     * @return the number of bytes
+     */
+    public static int bytes(int bits) {
+        checkBits(bits, MAX_BITS_LONG);
+        return (3 * bits + 2 + 7) >>> 3;
+    }
+
+    /**
+     * Return an upper bound of the absolute difference between any component of a normalized quaternion and the same component of
+     * the quaternion decoded from its encoding with <code>bits</code> bits per component, up to the sign of the whole quaternion.
+     * <p>
+     * The three stored components are off by at most half a quantization step <code>e = 1 / (sqrt(2) * (2<sup>bits</sup> - 1))</code>.
+     * Since the reconstructed component is the largest one and thus at least <code>1/2</code>, its error is at most
+     * <code>6 * e * (1 + e)</code>, which is the returned bound including a margin for the float rounding.
+     * 
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value #MAX_BITS_LONG}]</code>
+     * @return the error bound
+     */
+    public static float errorBound(int bits) {
+        checkBits(bits, MAX_BITS_LONG);
+        double e = 1.0 / (1.4142135623730951 * ((1 << bits) - 1));
+        return (float) (6.0 * e * (1.0 + e)) + 1E-6f;
+    }
+
+    static long pack(float x, float y, float z, float w, int bits) {
+        float ax = Math.abs(x), ay = Math.abs(y), az = Math.abs(z), aw = Math.abs(w);
+        float a, b, c, s;
+        long largest;
+        if (ax >= ay && ax >= az && ax >= aw) {
+            largest = 0; s = x; a = y; b = z; c = w;
+        } else if (ay >= az && ay >= aw) {
+            largest = 1; s = y; a = x; b = z; c = w;
+        } else if (az >= aw) {
+            largest = 2; s = z; a = x; b = y; c = w;
+        } else {
+            largest = 3; s = w; a = x; b = y; c = z;
+        }
+        int max = (1 << bits) - 1;
+        float half = max * 0.5f + 0.5f;
+        float scale = s < 0.0f ? -max * INV_SQRT2 : max * INV_SQRT2;
+        return quantize(a * scale + half, max)
+             | quantize(b * scale + half, max) << bits
+             | quantize(c * scale + half, max) << 2 * bits
+             | largest << 3 * bits;
+    }
+    private static long quantize(float v, int max) {
+        int q = (int) v;
+        return q < 0 ? 0 : q > max ? max : q;
+    }
+
+    static long pack(double x, double y, double z, double w, int bits) {
+        double ax = Math.abs(x), ay = Math.abs(y), az = Math.abs(z), aw = Math.abs(w);
+        double a, b, c, s;
+        long largest;
+        if (ax >= ay && ax >= az && ax >= aw) {
+            largest = 0; s = x; a = y; b = z; c = w;
+        } else if (ay >= az && ay >= aw) {
+            largest = 1; s = y; a = x; b = z; c = w;
+        } else if (az >= aw) {
+            largest = 2; s = z; a = x; b = y; c = w;
+        } else {
+            largest = 3; s = w; a = x; b = y; c = z;
+        }
+        int max = (1 << bits) - 1;
+        double half = max * 0.5 + 0.5;
+        double scale = s < 0.0 ? -max * 0.7071067811865476 : max * 0.7071067811865476;
+        return quantize(a * scale + half, max)
+             | quantize(b * scale + half, max) << bits
+             | quantize(c * scale + half, max) << 2 * bits
+             | largest << 3 * bits;
+    }
+    private static long quantize(double v, int max) {
+        int q = (int) v;
+        return q < 0 ? 0 : q > max ? max : q;
+    }
+
+    static Quaternionf unpack(long packed, int bits, Quaternionf dest) {
+        int max = (1 << bits) - 1;
+        float step = SQRT2 / max;
+        float a = (int) (packed & max) * step - INV_SQRT2;
+        float b = (int) (packed >>> bits & max) * step - INV_SQRT2;
+        float c = (int) (packed >>> 2 * bits & max) * step - INV_SQRT2;
+        float s = (float) Math.sqrt(Math.max(0.0f, 1.0f - a * a - b * b - c * c));
+        switch ((int) (packed >>> 3 * bits) & 3) {
+        case 0: return dest.set(s, a, b, c);
+        case 1: return dest.set(a, s, b, c);
+        case 2: return dest.set(a, b, s, c);
+        default: return dest.set(a, b, c, s);
+        }
+    }
+
+    static Quaterniond unpack(long packed, int bits, Quaterniond dest) {
+        int max = (1 << bits) - 1;
+        double step = 1.4142135623730951 / max;
+        double a = (int) (packed & max) * step - 0.7071067811865476;
+        double b = (int) (packed >>> bits & max) * step - 0.7071067811865476;
+        double c = (int) (packed >>> 2 * bits & max) * step - 0.7071067811865476;
+        double s = Math.sqrt(Math.max(0.0, 1.0 - a * a - b * b - c * c));
+        switch ((int) (packed >>> 3 * bits) & 3) {
+        case 0: return dest.set(s, a, b, c);
+        case 1: return dest.set(a, s, b, c);
+        case 2: return dest.set(a, b, s, c);
+        default: return dest.set(a, b, c, s);
+        }
+    }
+
+    /*
+     * The bulk methods select the components by integer arithmetic instead of branches, since the index and the sign of the
+     * largest component are random for typical data. For index l of the largest component, the three others are at (l - 1) >>> 31,
+     * 1 + ((l - 2) >>> 31) and 2 + ((l - 3) >>> 31). The results are identical to pack() and unpack().
+     */
+    private static long pack(float[] src, int offset, int bits) {
+        /* the bits of non-negative floats compare like the floats themselves */
+        int ax = Float.floatToIntBits(src[offset]) & 0x7FFFFFFF, ay = Float.floatToIntBits(src[offset + 1]) & 0x7FFFFFFF;
+        int az = Float.floatToIntBits(src[offset + 2]) & 0x7FFFFFFF, aw = Float.floatToIntBits(src[offset + 3]) & 0x7FFFFFFF;
+        int l01 = (ax - ay) >>> 31, l23 = 2 + ((az - aw) >>> 31);
+        int m01 = ax ^ (ax ^ ay) & -l01, m23 = az ^ (az ^ aw) & -(l23 - 2);
+        int largest = l01 ^ (l01 ^ l23) & -((m01 - m23) >>> 31);
+        float a = src[offset + ((largest - 1) >>> 31)];
+        float b = src[offset + 1 + ((largest - 2) >>> 31)];
+        float c = src[offset + 2 + ((largest - 3) >>> 31)];
+        int max = (1 << bits) - 1;
+        float half = max * 0.5f + 0.5f;
+        float scale = Float.intBitsToFloat(Float.floatToIntBits(max * INV_SQRT2)
+                                         | Float.floatToIntBits(src[offset + largest]) & 0x80000000);
+        return quantize(a * scale + half, max)
+             | quantize(b * scale + half, max) << bits
+             | quantize(c * scale + half, max) << 2 * bits
+             | (long) largest << 3 * bits;
+    }
+
+    private static void unpack(long packed, int bits, float[] dest, int offset) {
+        int max = (1 << bits) - 1;
+        float step = SQRT2 / max;
+        float a = (int) (packed & max) * step - INV_SQRT2;
+        float b = (int) (packed >>> bits & max) * step - INV_SQRT2;
+        float c = (int) (packed >>> 2 * bits & max) * step - INV_SQRT2;
+        int largest = (int) (packed >>> 3 * bits) & 3;
+        dest[offset + ((largest - 1) >>> 31)] = a;
+        dest[offset + 1 + ((largest - 2) >>> 31)] = b;
+        dest[offset + 2 + ((largest - 3) >>> 31)] = c;
+        dest[offset + largest] = (float) Math.sqrt(Math.max(0.0f, 1.0f - a * a - b * b - c * c));
+    }
+
+    /**
+     * Encode <code>count</code> quaternions, stored as <code>(x, y, z, w)</code> tuples in <code>src</code> starting at the float
+     * index <code>srcOffset</code>, with <code>bits</code> bits per component into <code>dest</code>, starting at
+     * <code>destOffset</code>.
+     * 
+     * @param src
+     *          the components of the normalized quaternions
+     * @param srcOffset
+     *          the index of the first component in <code>src</code>
+     * @param count
+     *          the number of quaternions
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value #MAX_BITS_INT}]</code>
+     * @param dest
+     *          will hold the encoded quaternions
+     * @param destOffset
+     *          the index of the first encoded quaternion in <code>dest</code>
+     * @return dest
+     */
+    public static int[] encode(float[] src, int srcOffset, int count, int bits, int[] dest, int destOffset) {
+        checkBits(bits, MAX_BITS_INT);
+        checkArrays(srcOffset, count * 4, src.length, destOffset, count, dest.length);
+        for (int i = 0; i < count; i++, srcOffset += 4)
+            dest[destOffset + i] = (int) pack(src, srcOffset, bits);
+        return dest;
+    }
+
+    /**
+     * Encode <code>count</code> quaternions, stored as <code>(x, y, z, w)</code> tuples in <code>src</code> starting at the float
+     * index <code>srcOffset</code>, with <code>bits</code> bits per component into <code>dest</code>, starting at
+     * <code>destOffset</code>.
+     * 
+     * @param src
+     *          the components of the normalized quaternions
+     * @param srcOffset
+     *          the index of the first component in <code>src</code>
+     * @param count
+     *          the number of quaternions
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value #MAX_BITS_LONG}]</code>
+     * @param dest
+     *          will hold the encoded quaternions
+     * @param destOffset
+     *          the index of the first encoded quaternion in <code>dest</code>
+     * @return dest
+     */
+    public static long[] encode(float[] src, int srcOffset, int count, int bits, long[] dest, int destOffset) {
+        checkBits(bits, MAX_BITS_LONG);
+        checkArrays(srcOffset, count * 4, src.length, destOffset, count, dest.length);
+        for (int i = 0; i < count; i++, srcOffset += 4)
+            dest[destOffset + i] = pack(src, srcOffset, bits);
+        return dest;
+    }
+
+    /**
+     * Decode <code>count</code> quaternions encoded with <code>bits</code> bits per component, starting at <code>srcOffset</code>
+     * in <code>src</code>, and store them as <code>(x, y, z, w)</code> tuples into <code>dest</code>, starting at the float index
+     * <code>destOffset</code>.
+     * 
+     * @param src
+     *          the encoded quaternions
+     * @param srcOffset
+     *          the index of the first encoded quaternion in <code>src</code>
+     * @param count
+     *          the number of quaternions
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value #MAX_BITS_INT}]</code>
+     * @param dest
+     *          will hold the components of the decoded quaternions
+     * @param destOffset
+     *          the index of the first component in <code>dest</code>
+     * @return dest
+     */
+    public static float[] decode(int[] src, int srcOffset, int count, int bits, float[] dest, int destOffset) {
+        checkBits(bits, MAX_BITS_INT);
+        checkArrays(srcOffset, count, src.length, destOffset, count * 4, dest.length);
+        for (int i = 0; i < count; i++, destOffset += 4) {
+            unpack(src[srcOffset + i] & 0xFFFFFFFFL, bits, dest, destOffset);
+        }
+        return dest;
+    }
+
+    /**
+     * Decode <code>count</code> quaternions encoded with <code>bits</code> bits per component, starting at <code>srcOffset</code>
+     * in <code>src</code>, and store them as <code>(x, y, z, w)</code> tuples into <code>dest</code>, starting at the float index
+     * <code>destOffset</code>.
+     * 
+     * @param src
+     *          the encoded quaternions
+     * @param srcOffset
+     *          the index of the first encoded quaternion in <code>src</code>
+     * @param count
+     *          the number of quaternions
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value #MAX_BITS_LONG}]</code>
+     * @param dest
+     *          will hold the components of the decoded quaternions
+     * @param destOffset
+     *          the index of the first component in <code>dest</code>
+     * @return dest
+     */
+    public static float[] decode(long[] src, int srcOffset, int count, int bits, float[] dest, int destOffset) {
+        checkBits(bits, MAX_BITS_LONG);
+        checkArrays(srcOffset, count, src.length, destOffset, count * 4, dest.length);
+        for (int i = 0; i < count; i++, destOffset += 4) {
+            unpack(src[srcOffset + i], bits, dest, destOffset);
+        }
+        return dest;
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Encode <code>count</code> quaternions, stored as <code>(x, y, z, w)</code> tuples in <code>src</code> starting at the float
+     * index <code>srcOffset</code>, with <code>bits</code> bits per component into <code>dest</code>, starting at the absolute
+     * byte index <code>index</code>.
+     * <p>
+     * Every quaternion takes {@link #bytes(int)} bytes, which are written in little-endian order.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param src
+     *          the components of the normalized quaternions
+     * @param srcOffset
+     *          the index of the first component in <code>src</code>
+     * @param count
+     *          the number of quaternions
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value #MAX_BITS_LONG}]</code>
+     * @param dest
+     *          will hold the encoded quaternions
+     * @param index
+     *          the absolute byte index of the first encoded quaternion in <code>dest</code>
+     * @return dest
+     */
+    public static ByteBuffer encode(float[] src, int srcOffset, int count, int bits, ByteBuffer dest, int index) {
+        int bytes = bytes(bits);
+        checkArrays(srcOffset, count * 4, src.length, 0, 0, 0);
+        if (index < 0)
+            throw new IndexOutOfBoundsException();
+        if (index + (long) count * bytes > dest.limit())
+            throw new BufferOverflowException();
+        for (int i = 0; i < count; i++, srcOffset += 4) {
+            long packed = pack(src, srcOffset, bits);
+            for (int b = 0; b < bytes; b++, packed >>>= 8)
+                dest.put(index++, (byte) packed);
+        }
+        return dest;
+    }
+
+    /**
+     * Decode <code>count</code> quaternions encoded with <code>bits</code> bits per component, starting at the absolute byte index
+     * <code>index</code> in <code>src</code>, and store them as <code>(x, y, z, w)</code> tuples into <code>dest</code>, starting at
+     * the float index <code>destOffset</code>.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @see #encode(float[], int, int, int, ByteBuffer, int)
+     * 
+     * @param src
+     *          the encoded quaternions
+     * @param index
+     *          the absolute byte index of the first encoded quaternion in <code>src</code>
+     * @param count
+     *          the number of quaternions
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value #MAX_BITS_LONG}]</code>
+     * @param dest
+     *          will hold the components of the decoded quaternions
+     * @param destOffset
+     *          the index of the first component in <code>dest</code>
+     * @return dest
+     */
+    public static float[] decode(ByteBuffer src, int index, int count, int bits, float[] dest, int destOffset) {
+        int bytes = bytes(bits);
+        checkArrays(0, 0, 0, destOffset, count * 4, dest.length);
+        if (index < 0 || count < 0)
+            throw new IndexOutOfBoundsException();
+        if (index + (long) count * bytes > src.limit())
+            throw new BufferUnderflowException();
+        for (int i = 0; i < count; i++, destOffset += 4) {
+            long packed = 0L;
+            for (int b = 0; b < bytes; b++)
+                packed |= (src.get(index++) & 0xFFL) << (b << 3);
+            unpack(packed, bits, dest, destOffset);
+        }
+        return dest;
+    }
+//#endif
+
+    /**
+     * Encode and decode <code>count</code> quaternions, stored as <code>(x, y, z, w)</code> tuples in <code>src</code> starting at
+     * the float index <code>srcOffset</code>, with <code>bits</code> bits per component and return the largest absolute difference
+     * between any original and decoded component, up to the sign of the whole quaternion.
+     * <p>
+     * This can be used to choose the smallest number of bits that keeps the error of a given animation clip below a tolerance.
+     * The result never exceeds {@link #errorBound(int)} for normalized quaternions.
+     * 
+     * @param src
+     *          the components of the normalized quaternions
+     * @param srcOffset
+     *          the index of the first component in <code>src</code>
+     * @param count
+     *          the number of quaternions
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value #MAX_BITS_LONG}]</code>
+     * @return the largest error
+     */
+    public static float maxError(float[] src, int srcOffset, int count, int bits) {
+        checkBits(bits, MAX_BITS_LONG);
+        checkArrays(srcOffset, count * 4, src.length, 0, 0, 0);
+        Quaternionf q = new Quaternionf();
+        float maxError = 0.0f;
+        for (int i = 0; i < count; i++, srcOffset += 4) {
+            float x = src[srcOffset], y = src[srcOffset + 1], z = src[srcOffset + 2], w = src[srcOffset + 3];
+            unpack(pack(x, y, z, w, bits), bits, q);
+            float sign = q.x * x + q.y * y + q.z * z + q.w * w < 0.0f ? -1.0f : 1.0f;
+            maxError = Math.max(maxError, Math.abs(sign * q.x - x));
+            maxError = Math.max(maxError, Math.abs(sign * q.y - y));
+            maxError = Math.max(maxError, Math.abs(sign * q.z - z));
+            maxError = Math.max(maxError, Math.abs(sign * q.w - w));
+        }
+        return maxError;
+    }
+
+}
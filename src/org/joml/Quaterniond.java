@@ -2627,4 +2627,31 @@ public class Quaterniond implements Externalizable, Quaterniondc {
         return dir;
     }
 
+    /* (non-Javadoc)
+     * @see org.joml.Quaterniondc#packSmallestThree(int)
+     */
+    public long packSmallestThree(int bits) {
+        QuaternionCodec.checkBits(bits, QuaternionCodec.MAX_BITS_LONG);
+        return QuaternionCodec.pack(x, y, z, w, bits);
+    }
+
+    /**
+     * Set this quaternion to the unit quaternion decoded from the given smallest three encoding with <code>bits</code> bits per
+     * component, as returned by {@link #packSmallestThree(int)}.
+     * <p>
+     * The result may differ from the encoded quaternion by the sign of all components, which represents the same rotation.
+     * 
+     * @see QuaternionCodec
+     * 
+     * @param packed
+     *          the encoded quaternion
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value QuaternionCodec#MAX_BITS_LONG}]</code>
+     * @return this
+     */
+    public Quaterniond setSmallestThree(long packed, int bits) {
+        QuaternionCodec.checkBits(bits, QuaternionCodec.MAX_BITS_LONG);
+        return QuaternionCodec.unpack(packed, bits, this);
+    }
+
 }
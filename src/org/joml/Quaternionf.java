@@ -233,7 +233,7 @@ public class Quaternionf implements Externalizable, Quaternionfc {
      * @return the dot product
      */
     public float dot(Quaternionf otherQuat) {
-        return this.x * otherQuat.x + this.y * otherQuat.y + this.z * otherQuat.z + this.w * otherQuat.w;
+        return Math.fma(this.w, otherQuat.w, Math.fma(this.z, otherQuat.z, Math.fma(this.y, otherQuat.y, this.x * otherQuat.x)));
     }
 
     /* (non-Javadoc)
@@ -962,10 +962,10 @@ public class Quaternionf implements Externalizable, Quaternionfc {
      * @see org.joml.Quaternionfc#mul(org.joml.Quaternionfc, org.joml.Quaternionf)
      */
     public Quaternionf mul(Quaternionfc q, Quaternionf dest) {
-        dest.set(w * q.x() + x * q.w() + y * q.z() - z * q.y(),
-                 w * q.y() - x * q.z() + y * q.w() + z * q.x(),
-                 w * q.z() + x * q.y() - y * q.x() + z * q.w(),
-                 w * q.w() - x * q.x() - y * q.y() - z * q.z());
+        dest.set(Math.fma(-z, q.y(), Math.fma(y, q.z(), Math.fma(x, q.w(), w * q.x()))),
+                 Math.fma(z, q.x(), Math.fma(y, q.w(), Math.fma(-x, q.z(), w * q.y()))),
+                 Math.fma(z, q.w(), Math.fma(-y, q.x(), Math.fma(x, q.y(), w * q.z()))),
+                 Math.fma(-z, q.z(), Math.fma(-y, q.y(), Math.fma(-x, q.x(), w * q.w()))));
         return dest;
     }
 
@@ -991,10 +991,10 @@ public class Quaternionf implements Externalizable, Quaternionfc {
      * @return this
      */
     public Quaternionf mul(float qx, float qy, float qz, float qw) {
-        set(w * qx + x * qw + y * qz - z * qy,
-            w * qy - x * qz + y * qw + z * qx,
-            w * qz + x * qy - y * qx + z * qw,
-            w * qw - x * qx - y * qy - z * qz);
+        set(Math.fma(-z, qy, Math.fma(y, qz, Math.fma(x, qw, w * qx))),
+            Math.fma(z, qx, Math.fma(y, qw, Math.fma(-x, qz, w * qy))),
+            Math.fma(z, qw, Math.fma(-y, qx, Math.fma(x, qy, w * qz))),
+            Math.fma(-z, qz, Math.fma(-y, qy, Math.fma(-x, qx, w * qw))));
         return this;
     }
 
@@ -1002,10 +1002,10 @@ public class Quaternionf implements Externalizable, Quaternionfc {
      * @see org.joml.Quaternionfc#mul(float, float, float, float, org.joml.Quaternionf)
      */
     public Quaternionf mul(float qx, float qy, float qz, float qw, Quaternionf dest) {
-        dest.set(w * qx + x * qw + y * qz - z * qy,
-                 w * qy - x * qz + y * qw + z * qx,
-                 w * qz + x * qy - y * qx + z * qw,
-                 w * qw - x * qx - y * qy - z * qz);
+        dest.set(Math.fma(-z, qy, Math.fma(y, qz, Math.fma(x, qw, w * qx))),
+                 Math.fma(z, qx, Math.fma(y, qw, Math.fma(-x, qz, w * qy))),
+                 Math.fma(z, qw, Math.fma(-y, qx, Math.fma(x, qy, w * qz))),
+                 Math.fma(-z, qz, Math.fma(-y, qy, Math.fma(-x, qx, w * qw))));
         return dest;
     }
 
@@ -1030,10 +1030,10 @@ public class Quaternionf implements Externalizable, Quaternionfc {
      * @see org.joml.Quaternionfc#premul(org.joml.Quaternionfc, org.joml.Quaternionf)
      */
     public Quaternionf premul(Quaternionfc q, Quaternionf dest) {
-        dest.set(q.w() * x + q.x() * w + q.y() * z - q.z() * y,
-                 q.w() * y - q.x() * z + q.y() * w + q.z() * x,
-                 q.w() * z + q.x() * y - q.y() * x + q.z() * w,
-                 q.w() * w - q.x() * x - q.y() * y - q.z() * z);
+        dest.set(Math.fma(-q.z(), y, Math.fma(q.y(), z, Math.fma(q.x(), w, q.w() * x))),
+                 Math.fma(q.z(), x, Math.fma(q.y(), w, Math.fma(-q.x(), z, q.w() * y))),
+                 Math.fma(q.z(), w, Math.fma(-q.y(), x, Math.fma(q.x(), y, q.w() * z))),
+                 Math.fma(-q.z(), z, Math.fma(-q.y(), y, Math.fma(-q.x(), x, q.w() * w))));
         return dest;
     }
 
@@ -1064,10 +1064,10 @@ public class Quaternionf implements Externalizable, Quaternionfc {
      * @see org.joml.Quaternionfc#premul(float, float, float, float, org.joml.Quaternionf)
      */
     public Quaternionf premul(float qx, float qy, float qz, float qw, Quaternionf dest) {
-        dest.set(qw * x + qx * w + qy * z - qz * y,
-                 qw * y - qx * z + qy * w + qz * x,
-                 qw * z + qx * y - qy * x + qz * w,
-                 qw * w - qx * x - qy * y - qz * z);
+        dest.set(Math.fma(-qz, y, Math.fma(qy, z, Math.fma(qx, w, qw * x))),
+                 Math.fma(qz, x, Math.fma(qy, w, Math.fma(-qx, z, qw * y))),
+                 Math.fma(qz, w, Math.fma(-qy, x, Math.fma(qx, y, qw * z))),
+                 Math.fma(-qz, z, Math.fma(-qy, y, Math.fma(-qx, x, qw * w))));
         return dest;
     }
 
@@ -1290,9 +1290,9 @@ public class Quaternionf implements Externalizable, Quaternionfc {
         float m20 = ywd + xzd;
         float m21 = yzd - xwd;
         float m22 = z2 - y2 - x2 + w2;
-        dest.x = m00 * x + m10 * y + m20 * z;
-        dest.y = m01 * x + m11 * y + m21 * z;
-        dest.z = m02 * x + m12 * y + m22 * z;
+        dest.x = Math.fma(m20, z, Math.fma(m10, y, m00 * x));
+        dest.y = Math.fma(m21, z, Math.fma(m11, y, m01 * x));
+        dest.z = Math.fma(m22, z, Math.fma(m12, y, m02 * x));
         return dest;
     }
 
@@ -1355,9 +1355,9 @@ public class Quaternionf implements Externalizable, Quaternionfc {
         float m20 = ywd + xzd;
         float m21 = yzd - xwd;
         float m22 = z2 - y2 - x2 + w2;
-        dest.x = m00 * x + m10 * y + m20 * z;
-        dest.y = m01 * x + m11 * y + m21 * z;
-        dest.z = m02 * x + m12 * y + m22 * z;
+        dest.x = Math.fma(m20, z, Math.fma(m10, y, m00 * x));
+        dest.y = Math.fma(m21, z, Math.fma(m11, y, m01 * x));
+        dest.z = Math.fma(m22, z, Math.fma(m12, y, m02 * x));
         return dest;
     }
 
@@ -2795,4 +2795,31 @@ public class Quaternionf implements Externalizable, Quaternionfc {
         return dir;
     }
 
+    /* (non-Javadoc)
+     * @see org.joml.Quaternionfc#packSmallestThree(int)
+     */
+    public long packSmallestThree(int bits) {
+        QuaternionCodec.checkBits(bits, QuaternionCodec.MAX_BITS_LONG);
+        return QuaternionCodec.pack(x, y, z, w, bits);
+    }
+
+    /**
+     * Set this quaternion to the unit quaternion decoded from the given smallest three encoding with <code>bits</code> bits per
+     * component, as returned by {@link #packSmallestThree(int)}.
+     * <p>
+     * The result may differ from the encoded quaternion by the sign of all components, which represents the same rotation.
+     * 
+     * @see QuaternionCodec
+     * 
+     * @param packed
+     *          the encoded quaternion
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value QuaternionCodec#MAX_BITS_LONG}]</code>
+     * @return this
+     */
+    public Quaternionf setSmallestThree(long packed, int bits) {
+        QuaternionCodec.checkBits(bits, QuaternionCodec.MAX_BITS_LONG);
+        return QuaternionCodec.unpack(packed, bits, this);
+    }
+
 }
@@ -0,0 +1,510 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+//#ifdef __HAS_NIO__
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+//#endif
+
+/**
+ * A growable list of quaternions, stored as <code>(x, y, z, w)</code> tuples in a single <code>float[]</code>.
+ * <p>
+ * Compared to an array of {@link Quaternionf} objects, this saves the object header and the reference of every element and keeps
+ * all elements contiguous in memory, so that the bulk operations of this class run as tight loops over the backing array.
+ * <p>
+ * Unless otherwise stated, the bulk operations apply to the elements with the same index in all participating lists, and
+ * <code>dest</code> may be the same instance as <code>this</code> or any other operand. A <code>dest</code> list is resized
+ * to the size of <code>this</code> list.
+ */
+public class QuaternionfList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The components of all quaternions. The quaternion at index <code>i</code> starts at <code>data[4 * i]</code>.
+     */
+    float[] data;
+
+    int size;
+
+    /**
+     * Create a new empty {@link QuaternionfList}.
+     */
+    public QuaternionfList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new empty {@link QuaternionfList} with room for <code>capacity</code> quaternions.
+     * 
+     * @param capacity
+     *          the initial capacity
+     */
+    public QuaternionfList(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("capacity must not be negative");
+        this.data = new float[capacity * 4];
+    }
+
+    /**
+     * Return the number of quaternions in this list.
+     * 
+     * @return the number of quaternions
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the backing array of this list, which holds the <code>(x, y, z, w)</code> of all quaternions in its first <code>4 * size()</code> elements.
+     * <p>
+     * The backing array is replaced when the list grows beyond its capacity.
+     * 
+     * @return the backing array
+     */
+    public float[] array() {
+        return data;
+    }
+
+    /**
+     * Remove all quaternions from this list.
+     * 
+     * @return this
+     */
+    public QuaternionfList clear() {
+        size = 0;
+        return this;
+    }
+
+    /**
+     * Make sure that this list can hold at least <code>capacity</code> quaternions without growing.
+     * 
+     * @param capacity
+     *          the minimum capacity
+     * @return this
+     */
+    public QuaternionfList ensureCapacity(int capacity) {
+        if (capacity * 4 > data.length) {
+            int newCapacity = data.length / 4 * 2;
+            if (newCapacity < capacity)
+                newCapacity = capacity;
+            float[] newData = new float[newCapacity * 4];
+            System.arraycopy(data, 0, newData, 0, size * 4);
+            data = newData;
+        }
+        return this;
+    }
+
+    /**
+     * Set the size of this list to <code>size</code>. Quaternions that are added by this are set to zero.
+     * 
+     * @param size
+     *          the new size
+     * @return this
+     */
+    public QuaternionfList resize(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("size must not be negative");
+        ensureCapacity(size);
+        for (int i = this.size * 4; i < size * 4; i++)
+            data[i] = 0.0f;
+        this.size = size;
+        return this;
+    }
+
+    private QuaternionfList prepare(QuaternionfList dest) {
+        if (dest != this) {
+            dest.ensureCapacity(size);
+            dest.size = size;
+        }
+        return dest;
+    }
+
+    private void checkSize(QuaternionfList other) {
+        if (other.size != size)
+            throw new IllegalArgumentException("lists must have the same size");
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        return index * 4;
+    }
+
+    /**
+     * Append the quaternion <code>(x, y, z, w)</code> to this list.
+     * 
+     * @param x
+     *          the x component
+     * @param y
+     *          the y component
+     * @param z
+     *          the z component
+     * @param w
+     *          the w component
+     * @return this
+     */
+    public QuaternionfList append(float x, float y, float z, float w) {
+        ensureCapacity(size + 1);
+        int o = size * 4;
+        data[o] = x;
+        data[o + 1] = y;
+        data[o + 2] = z;
+        data[o + 3] = w;
+        size++;
+        return this;
+    }
+
+    /**
+     * Append the given quaternion to this list.
+     * 
+     * @param v
+     *          the quaternion to append
+     * @return this
+     */
+    public QuaternionfList append(Quaternionfc v) {
+        return append(v.x(), v.y(), v.z(), v.w());
+    }
+
+    /**
+     * Append <code>count</code> quaternions, given as consecutive <code>(x, y, z, w)</code> tuples in <code>src</code> starting at <code>offset</code>, to this list.
+     * 
+     * @param src
+     *          the components of the quaternions
+     * @param offset
+     *          the index of the first component in <code>src</code>
+     * @param count
+     *          the number of quaternions to append
+     * @return this
+     */
+    public QuaternionfList append(float[] src, int offset, int count) {
+        ensureCapacity(size + count);
+        System.arraycopy(src, offset, data, size * 4, count * 4);
+        size += count;
+        return this;
+    }
+
+    /**
+     * Append all quaternions of <code>other</code> to this list.
+     * 
+     * @param other
+     *          the list to append
+     * @return this
+     */
+    public QuaternionfList append(QuaternionfList other) {
+        return append(other.data, 0, other.size);
+    }
+
+    /**
+     * Set the quaternion at the given index to <code>(x, y, z, w)</code>.
+     * 
+     * @param index
+     *          the index of the quaternion
+     * @param x
+     *          the x component
+     * @param y
+     *          the y component
+     * @param z
+     *          the z component
+     * @param w
+     *          the w component
+     * @return this
+     */
+    public QuaternionfList set(int index, float x, float y, float z, float w) {
+        int o = offset(index);
+        data[o] = x;
+        data[o + 1] = y;
+        data[o + 2] = z;
+        data[o + 3] = w;
+        return this;
+    }
+
+    /**
+     * Set the quaternion at the given index to <code>v</code>.
+     * 
+     * @param index
+     *          the index of the quaternion
+     * @param v
+     *          the new value
+     * @return this
+     */
+    public QuaternionfList set(int index, Quaternionfc v) {
+        return set(index, v.x(), v.y(), v.z(), v.w());
+    }
+
+    /**
+     * Return the x component of the quaternion at the given index.
+     * 
+     * @param index
+     *          the index of the quaternion
+     * @return the x component
+     */
+    public float x(int index) {
+        return data[offset(index)];
+    }
+
+    /**
+     * Return the y component of the quaternion at the given index.
+     * 
+     * @param index
+     *          the index of the quaternion
+     * @return the y component
+     */
+    public float y(int index) {
+        return data[offset(index) + 1];
+    }
+
+    /**
+     * Return the z component of the quaternion at the given index.
+     * 
+     * @param index
+     *          the index of the quaternion
+     * @return the z component
+     */
+    public float z(int index) {
+        return data[offset(index) + 2];
+    }
+
+    /**
+     * Return the w component of the quaternion at the given index.
+     * 
+     * @param index
+     *          the index of the quaternion
+     * @return the w component
+     */
+    public float w(int index) {
+        return data[offset(index) + 3];
+    }
+
+    /**
+     * Store the quaternion at the given index in <code>dest</code>.
+     * 
+     * @param index
+     *          the index of the quaternion
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Quaternionf get(int index, Quaternionf dest) {
+        int o = offset(index);
+        dest.x = data[o];
+        dest.y = data[o + 1];
+        dest.z = data[o + 2];
+        dest.w = data[o + 3];
+        return dest;
+    }
+
+    /**
+     * Multiply all quaternions of this list by <code>q</code> and store the results in <code>dest</code>.
+     * <p>
+     * If <code>T</code> is a quaternion of this list and <code>Q</code> is <code>q</code>, then the result is <code>T * Q</code>.
+     * 
+     * @param q
+     *          the quaternion to multiply with
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public QuaternionfList mul(Quaternionfc q, QuaternionfList dest) {
+        float qx = q.x(), qy = q.y(), qz = q.z(), qw = q.w();
+        float[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 4; i < n; i += 4) {
+            float x = s[i], y = s[i + 1], z = s[i + 2], w = s[i + 3];
+            d[i] = w * qx + x * qw + y * qz - z * qy;
+            d[i + 1] = w * qy - x * qz + y * qw + z * qx;
+            d[i + 2] = w * qz + x * qy - y * qx + z * qw;
+            d[i + 3] = w * qw - x * qx - y * qy - z * qz;
+        }
+        return dest;
+    }
+
+    /**
+     * Pre-multiply all quaternions of this list by <code>q</code> and store the results in <code>dest</code>.
+     * <p>
+     * If <code>T</code> is a quaternion of this list and <code>Q</code> is <code>q</code>, then the result is <code>Q * T</code>.
+     * 
+     * @param q
+     *          the quaternion to multiply with
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public QuaternionfList premul(Quaternionfc q, QuaternionfList dest) {
+        float qx = q.x(), qy = q.y(), qz = q.z(), qw = q.w();
+        float[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 4; i < n; i += 4) {
+            float x = s[i], y = s[i + 1], z = s[i + 2], w = s[i + 3];
+            d[i] = qw * x + qx * w + qy * z - qz * y;
+            d[i + 1] = qw * y - qx * z + qy * w + qz * x;
+            d[i + 2] = qw * z + qx * y - qy * x + qz * w;
+            d[i + 3] = qw * w - qx * x - qy * y - qz * z;
+        }
+        return dest;
+    }
+
+    /**
+     * Normalize all quaternions of this list and store the results in <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public QuaternionfList normalize(QuaternionfList dest) {
+        float[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 4; i < n; i += 4) {
+            float x = s[i], y = s[i + 1], z = s[i + 2], w = s[i + 3];
+            float invLength = 1.0f / (float) Math.sqrt(x * x + y * y + z * z + w * w);
+            d[i] = x * invLength;
+            d[i + 1] = y * invLength;
+            d[i + 2] = z * invLength;
+            d[i + 3] = w * invLength;
+        }
+        return dest;
+    }
+
+    /**
+     * Interpolate between the quaternions of this list and those of <code>other</code> using non-spherical linear
+     * interpolation with the given interpolation factor <code>factor</code>, and store the normalized results in <code>dest</code>.
+     * <p>
+     * This method performs the same computation as {@link Quaternionf#nlerp(Quaternionfc, float, Quaternionf)} for every quaternion.
+     * 
+     * @param other
+     *          the other list, with the same size as this list
+     * @param factor
+     *          the interpolation factor, within <code>[0..1]</code>
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public QuaternionfList nlerp(QuaternionfList other, float factor, QuaternionfList dest) {
+        checkSize(other);
+        float[] s = data, o = other.data, d = prepare(dest).data;
+        float scale0 = 1.0f - factor;
+        for (int i = 0, n = size * 4; i < n; i += 4) {
+            float x = s[i], y = s[i + 1], z = s[i + 2], w = s[i + 3];
+            float qx = o[i], qy = o[i + 1], qz = o[i + 2], qw = o[i + 3];
+            float cosom = x * qx + y * qy + z * qz + w * qw;
+            float scale1 = cosom >= 0.0f ? factor : -factor;
+            float rx = scale0 * x + scale1 * qx;
+            float ry = scale0 * y + scale1 * qy;
+            float rz = scale0 * z + scale1 * qz;
+            float rw = scale0 * w + scale1 * qw;
+            float s1 = 1.0f / (float) Math.sqrt(rx * rx + ry * ry + rz * rz + rw * rw);
+            d[i] = rx * s1;
+            d[i + 1] = ry * s1;
+            d[i + 2] = rz * s1;
+            d[i + 3] = rw * s1;
+        }
+        return dest;
+    }
+
+    /**
+     * Store the <code>(x, y, z, w)</code> of all quaternions of this list, one after the other, into the supplied array.
+     * 
+     * @param dest
+     *          the array to write the components into
+     * @param offset
+     *          the offset into the array
+     * @return the passed in array
+     */
+    public float[] get(float[] dest, int offset) {
+        System.arraycopy(data, 0, dest, offset, size * 4);
+        return dest;
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Store the <code>(x, y, z, w)</code> of all quaternions of this list, one after the other, into the supplied {@link FloatBuffer} at the current
+     * buffer {@link FloatBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param buffer
+     *          will receive the components of all quaternions at its current position
+     * @return the passed in buffer
+     */
+    public FloatBuffer get(FloatBuffer buffer) {
+        return get(buffer.position(), buffer);
+    }
+
+    /**
+     * Store the <code>(x, y, z, w)</code> of all quaternions of this list, one after the other, into the supplied {@link FloatBuffer} starting at the
+     * specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param index
+     *          the absolute position into the FloatBuffer
+     * @param buffer
+     *          will receive the components of all quaternions
+     * @return the passed in buffer
+     */
+    public FloatBuffer get(int index, FloatBuffer buffer) {
+        if (index < 0 || buffer.limit() - index < size * 4)
+            throw new IndexOutOfBoundsException();
+        FloatBuffer b = buffer.duplicate();
+        b.position(index);
+        b.put(data, 0, size * 4);
+        return buffer;
+    }
+
+    /**
+     * Store the <code>(x, y, z, w)</code> of all quaternions of this list, one after the other, into the supplied {@link ByteBuffer} at the current
+     * buffer {@link ByteBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param buffer
+     *          will receive the components of all quaternions at its current position
+     * @return the passed in buffer
+     */
+    public ByteBuffer get(ByteBuffer buffer) {
+        return get(buffer.position(), buffer);
+    }
+
+    /**
+     * Store the <code>(x, y, z, w)</code> of all quaternions of this list, one after the other, into the supplied {@link ByteBuffer} starting at the
+     * specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param index
+     *          the absolute position into the ByteBuffer
+     * @param buffer
+     *          will receive the components of all quaternions
+     * @return the passed in buffer
+     */
+    public ByteBuffer get(int index, ByteBuffer buffer) {
+        if (index < 0 || buffer.limit() - index < size * 16)
+            throw new IndexOutOfBoundsException();
+        ByteBuffer b = buffer.duplicate();
+        b.order(buffer.order());
+        b.position(index);
+        b.asFloatBuffer().put(data, 0, size * 4);
+        return buffer;
+    }
+//#endif
+
+}
@@ -1162,4 +1162,19 @@ public interface Quaternionfc {
      */
     Vector3f normalizedPositiveZ(Vector3f dir);
 
+    /**
+     * Encode this <i>normalized</i> quaternion with the smallest three encoding, using <code>bits</code> bits for each of the
+     * three smallest components.
+     * <p>
+     * The result occupies the lowest <code>3 * bits + 2</code> bits, so that it fits into an <code>int</code> for up to
+     * {@value QuaternionCodec#MAX_BITS_INT} bits per component.
+     * 
+     * @see QuaternionCodec
+     * 
+     * @param bits
+     *          the number of bits per component, in <code>[1..{@value QuaternionCodec#MAX_BITS_LONG}]</code>
+     * @return the encoded quaternion
+     */
+    long packSmallestThree(int bits);
+
 }
\ No newline at end of file
@@ -23,6 +23,15 @@
  */
 package org.joml;
 
+//#ifdef __HAS_NIO__
+import java.nio.BufferOverflowException;
+import java.nio.FloatBuffer;
+//#endif
+
+//#ifndef __GWT__
+import org.joml.internal.Parallel;
+//#endif
+
 /**
  * A simplex noise algorithm for 2D, 3D and 4D input.
  * <p>
@@ -82,16 +91,40 @@ public class SimplexNoise {
             79, 113, -32, -24, -78, -71, 112, 104, -38, -10, 97, -28, -5, 34, -14, -63, -18, -46, -112, 12, -65, -77, -94, -15, 81, 51, -111, -21, -7, 14, -17,
             107, 49, -64, -42, 31, -75, -57, 106, -99, -72, 84, -52, -80, 115, 121, 50, 45, 127, 4, -106, -2, -118, -20, -51, 93, -34, 114, 67, 29, 24, 72,
             -13, -115, -128, -61, 78, 66, -41, 61, -100, -76 };
-    // To remove the need for index wrapping, float the permutation table length
-    private static final byte[] perm = new byte[512];
-    private static final byte[] permMod12 = new byte[512];
+    // To remove the need for index wrapping, double the permutation table length.
+    // The unsigned int copies and the flat gradient components keep the masking
+    // and the gradient object dereference out of the hash and dot product computations
+    private static final int[] perm = new int[512];
+    private static final int[] permMod12 = new int[512];
+    private static final int[] grad3X = new int[12];
+    private static final int[] grad3Y = new int[12];
+    private static final int[] grad3Z = new int[12];
     static {
         for (int i = 0; i < 512; i++) {
-            perm[i] = p[i & 255];
-            permMod12[i] = (byte) ((perm[i]&0xFF) % 12);
+            perm[i] = p[i & 255] & 0xFF;
+            permMod12[i] = perm[i] % 12;
+        }
+        for (int i = 0; i < 12; i++) {
+            grad3X[i] = grad3[i].x;
+            grad3Y[i] = grad3[i].y;
+            grad3Z[i] = grad3[i].z;
         }
     }
 
+//#ifndef __GWT__
+    /**
+     * The number of samples computed by a single task of the parallel lattice methods.
+     */
+    private static final int PARALLEL_GRAIN = 4096;
+//#endif
+
+//#ifdef __HAS_NIO__
+    /**
+     * The number of samples computed at once before being copied into a buffer by the lattice methods.
+     */
+    private static final int BULK_CHUNK = 4096;
+//#endif
+
     // Skewing and unskewing factors for 2, 3, and 4 dimensions
     private static final float F2 = 0.3660254037844386f; // <- (float) (0.5f * (Math.sqrt(3.0f) - 1.0f));
     private static final float G2 = 0.21132486540518713f; // <- (float) ((3.0f - Math.sqrt(3.0f)) / 6.0f);
@@ -100,20 +133,21 @@ public class SimplexNoise {
     private static final float F4 = 0.30901699437494745f; // <- (float) ((Math.sqrt(5.0f) - 1.0f) / 4.0f);
     private static final float G4 = 0.1381966011250105f; // <- (float) ((5.0f - Math.sqrt(5.0f)) / 20.0f);
 
+    /**
+     * Return a copy of the permutation table as unsigned values, for {@link SimplexNoiseGenerator} to produce the same noise.
+     */
+    static int[] permutation() {
+        int[] copy = new int[256];
+        System.arraycopy(perm, 0, copy, 0, 256);
+        return copy;
+    }
+
     // This method is a *lot* faster than using (int)Math.floor(x)
     private static int fastfloor(float x) {
         int xi = (int) x;
         return x < xi ? xi - 1 : xi;
     }
 
-    private static float dot(Vector3b g, float x, float y) {
-        return g.x * x + g.y * y;
-    }
-
-    private static float dot(Vector3b g, float x, float y, float z) {
-        return g.x * x + g.y * y + g.z * z;
-    }
-
     private static float dot(Vector4b g, float x, float y, float z, float w) {
         return g.x * x + g.y * y + g.z * z + g.w * w;
     }
@@ -161,30 +195,30 @@ public class SimplexNoise {
         // Work out the hashed gradient indices of the three simplex corners
         int ii = i & 255;
         int jj = j & 255;
-        int gi0 = permMod12[ii + perm[jj]&0xFF]&0xFF;
-        int gi1 = permMod12[ii + i1 + perm[jj + j1]&0xFF]&0xFF;
-        int gi2 = permMod12[ii + 1 + perm[jj + 1]&0xFF]&0xFF;
+        int gi0 = permMod12[ii + perm[jj]];
+        int gi1 = permMod12[ii + i1 + perm[jj + j1]];
+        int gi2 = permMod12[ii + 1 + perm[jj + 1]];
         // Calculate the contribution from the three corners
         float t0 = 0.5f - x0 * x0 - y0 * y0;
         if (t0 < 0.0f)
             n0 = 0.0f;
         else {
             t0 *= t0;
-            n0 = t0 * t0 * dot(grad3[gi0], x0, y0); // (x,y) of grad3 used for 2D gradient
+            n0 = t0 * t0 * (grad3X[gi0] * x0 + grad3Y[gi0] * y0); // (x,y) of grad3 used for 2D gradient
         }
         float t1 = 0.5f - x1 * x1 - y1 * y1;
         if (t1 < 0.0f)
             n1 = 0.0f;
         else {
             t1 *= t1;
-            n1 = t1 * t1 * dot(grad3[gi1], x1, y1);
+            n1 = t1 * t1 * (grad3X[gi1] * x1 + grad3Y[gi1] * y1);
         }
         float t2 = 0.5f - x2 * x2 - y2 * y2;
         if (t2 < 0.0f)
             n2 = 0.0f;
         else {
             t2 *= t2;
-            n2 = t2 * t2 * dot(grad3[gi2], x2, y2);
+            n2 = t2 * t2 * (grad3X[gi2] * x2 + grad3Y[gi2] * y2);
         }
         // Add contributions from each corner to get the final noise value.
         // The result is scaled to return values in the interval [-1,1].
@@ -220,59 +254,11 @@ public class SimplexNoise {
         float z0 = z - Z0;
         // For the 3D case, the simplex shape is a slightly irregular tetrahedron.
         // Determine which simplex we are in.
-        int i1, j1, k1; // Offsets for second corner of simplex in (i,j,k) coords
-        int i2, j2, k2; // Offsets for third corner of simplex in (i,j,k) coords
-        if (x0 >= y0) {
-            if (y0 >= z0) {
-                i1 = 1;
-                j1 = 0;
-                k1 = 0;
-                i2 = 1;
-                j2 = 1;
-                k2 = 0;
-            } // X Y Z order
-            else if (x0 >= z0) {
-                i1 = 1;
-                j1 = 0;
-                k1 = 0;
-                i2 = 1;
-                j2 = 0;
-                k2 = 1;
-            } // X Z Y order
-            else {
-                i1 = 0;
-                j1 = 0;
-                k1 = 1;
-                i2 = 1;
-                j2 = 0;
-                k2 = 1;
-            } // Z X Y order
-        } else { // x0<y0
-            if (y0 < z0) {
-                i1 = 0;
-                j1 = 0;
-                k1 = 1;
-                i2 = 0;
-                j2 = 1;
-                k2 = 1;
-            } // Z Y X order
-            else if (x0 < z0) {
-                i1 = 0;
-                j1 = 1;
-                k1 = 0;
-                i2 = 0;
-                j2 = 1;
-                k2 = 1;
-            } // Y Z X order
-            else {
-                i1 = 0;
-                j1 = 1;
-                k1 = 0;
-                i2 = 1;
-                j2 = 1;
-                k2 = 0;
-            } // Y X Z order
-        }
+        // The offsets of the second and third corner follow from the order of x0, y0 and z0,
+        // which is computed without branches
+        int xy = x0 >= y0 ? 1 : 0, yz = y0 >= z0 ? 1 : 0, xz = x0 >= z0 ? 1 : 0;
+        int i1 = xy & xz, j1 = yz & ~xy & 1, k1 = ~(xz | yz) & 1; // Offsets for second corner of simplex in (i,j,k) coords
+        int i2 = xy | xz, j2 = (yz | ~xy) & 1, k2 = (~xz | ~yz) & 1; // Offsets for third corner of simplex in (i,j,k) coords
         // A step of (1,0,0) in (i,j,k) means a step of (1-c,-c,-c) in (x,y,z),
         // a step of (0,1,0) in (i,j,k) means a step of (-c,1-c,-c) in (x,y,z), and
         // a step of (0,0,1) in (i,j,k) means a step of (-c,-c,1-c) in (x,y,z), where
@@ -290,38 +276,38 @@ public class SimplexNoise {
         int ii = i & 255;
         int jj = j & 255;
         int kk = k & 255;
-        int gi0 = permMod12[ii + perm[jj + perm[kk]&0xFF]&0xFF]&0xFF;
-        int gi1 = permMod12[ii + i1 + perm[jj + j1 + perm[kk + k1]&0xFF]&0xFF]&0xFF;
-        int gi2 = permMod12[ii + i2 + perm[jj + j2 + perm[kk + k2]&0xFF]&0xFF]&0xFF;
-        int gi3 = permMod12[ii + 1 + perm[jj + 1 + perm[kk + 1]&0xFF]&0xFF]&0xFF;
+        int gi0 = permMod12[ii + perm[jj + perm[kk]]];
+        int gi1 = permMod12[ii + i1 + perm[jj + j1 + perm[kk + k1]]];
+        int gi2 = permMod12[ii + i2 + perm[jj + j2 + perm[kk + k2]]];
+        int gi3 = permMod12[ii + 1 + perm[jj + 1 + perm[kk + 1]]];
         // Calculate the contribution from the four corners
         float t0 = 0.6f - x0 * x0 - y0 * y0 - z0 * z0;
         if (t0 < 0.0f)
             n0 = 0.0f;
         else {
             t0 *= t0;
-            n0 = t0 * t0 * dot(grad3[gi0], x0, y0, z0);
+            n0 = t0 * t0 * (grad3X[gi0] * x0 + grad3Y[gi0] * y0 + grad3Z[gi0] * z0);
         }
         float t1 = 0.6f - x1 * x1 - y1 * y1 - z1 * z1;
         if (t1 < 0.0f)
             n1 = 0.0f;
         else {
             t1 *= t1;
-            n1 = t1 * t1 * dot(grad3[gi1], x1, y1, z1);
+            n1 = t1 * t1 * (grad3X[gi1] * x1 + grad3Y[gi1] * y1 + grad3Z[gi1] * z1);
         }
         float t2 = 0.6f - x2 * x2 - y2 * y2 - z2 * z2;
         if (t2 < 0.0f)
             n2 = 0.0f;
         else {
             t2 *= t2;
-            n2 = t2 * t2 * dot(grad3[gi2], x2, y2, z2);
+            n2 = t2 * t2 * (grad3X[gi2] * x2 + grad3Y[gi2] * y2 + grad3Z[gi2] * z2);
         }
         float t3 = 0.6f - x3 * x3 - y3 * y3 - z3 * z3;
         if (t3 < 0.0f)
             n3 = 0.0f;
         else {
             t3 *= t3;
-            n3 = t3 * t3 * dot(grad3[gi3], x3, y3, z3);
+            n3 = t3 * t3 * (grad3X[gi3] * x3 + grad3Y[gi3] * y3 + grad3Z[gi3] * z3);
         }
         // Add contributions from each corner to get the final noise value.
         // The result is scaled to stay just inside [-1,1]
@@ -437,11 +423,11 @@ public class SimplexNoise {
         int jj = j & 255;
         int kk = k & 255;
         int ll = l & 255;
-        int gi0 = (perm[ii + perm[jj + perm[kk + perm[ll]&0xFF]&0xFF]&0xFF]&0xFF) % 32;
-        int gi1 = (perm[ii + i1 + perm[jj + j1 + perm[kk + k1 + perm[ll + l1]&0xFF]&0xFF]&0xFF]&0xFF) % 32;
-        int gi2 = (perm[ii + i2 + perm[jj + j2 + perm[kk + k2 + perm[ll + l2]&0xFF]&0xFF]&0xFF]&0xFF) % 32;
-        int gi3 = (perm[ii + i3 + perm[jj + j3 + perm[kk + k3 + perm[ll + l3]&0xFF]&0xFF]&0xFF]&0xFF) % 32;
-        int gi4 = (perm[ii + 1 + perm[jj + 1 + perm[kk + 1 + perm[ll + 1]&0xFF]&0xFF]&0xFF]&0xFF) % 32;
+        int gi0 = perm[ii + perm[jj + perm[kk + perm[ll]]]] % 32;
+        int gi1 = perm[ii + i1 + perm[jj + j1 + perm[kk + k1 + perm[ll + l1]]]] % 32;
+        int gi2 = perm[ii + i2 + perm[jj + j2 + perm[kk + k2 + perm[ll + l2]]]] % 32;
+        int gi3 = perm[ii + i3 + perm[jj + j3 + perm[kk + k3 + perm[ll + l3]]]] % 32;
+        int gi4 = perm[ii + 1 + perm[jj + 1 + perm[kk + 1 + perm[ll + 1]]]] % 32;
         // Calculate the contribution from the five corners
         float t0 = 0.6f - x0 * x0 - y0 * y0 - z0 * z0 - w0 * w0;
         if (t0 < 0.0f)
@@ -482,4 +468,581 @@ public class SimplexNoise {
         return 27.0f * (n0 + n1 + n2 + n3 + n4);
     }
 
+    /**
+     * Compute fractal Brownian motion (fBm) of 2D simplex noise for the <code>sizeX * sizeY</code> points of a regular lattice and store
+     * the results in <code>dest</code>.
+     * <p>
+     * The lattice point <code>(i, j)</code> is <code>(x + i * stepX, y + j * stepY)</code> and its result is stored at
+     * <code>dest[offset + j * sizeX + i]</code>.
+     * <p>
+     * Each result is the sum of <code>octaves</code> evaluations of {@link #noise(float, float)} at the lattice point scaled by
+     * the frequency <code>lacunarity<sup>o</sup></code> and weighted by the amplitude <code>gain<sup>o</sup></code>, where <code>o</code>
+     * is the octave starting with <code>0</code>, divided by the sum of all amplitudes. The result is therefore in the range <code>[-1..+1]</code>,
+     * and a single octave yields exactly the values of {@link #noise(float, float)}.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first result in <code>dest</code>
+     */
+    public static void fbm(float x, float y, float stepX, float stepY, int sizeX, int sizeY, int octaves, float lacunarity, float gain, float[] dest, int offset) {
+        new Lattice(x, y, 0.0f, stepX, stepY, 0.0f, sizeX, sizeY, 1, false, octaves, lacunarity, gain, false).get(dest, offset);
+    }
+
+    /**
+     * Compute ridged multifractal noise from 2D simplex noise for the <code>sizeX * sizeY</code> points of a regular lattice and store
+     * the results in <code>dest</code>.
+     * <p>
+     * This method behaves like {@link #fbm(float, float, float, float, int, int, int, float, float, float[], int)}, except that each
+     * octave contributes <code>(1 - |n|)<sup>2</sup></code> of the noise value <code>n</code>, which turns the zero crossings of the noise
+     * into sharp ridges. The result is in the range <code>[0..1]</code>.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first result in <code>dest</code>
+     */
+    public static void ridged(float x, float y, float stepX, float stepY, int sizeX, int sizeY, int octaves, float lacunarity, float gain, float[] dest, int offset) {
+        new Lattice(x, y, 0.0f, stepX, stepY, 0.0f, sizeX, sizeY, 1, false, octaves, lacunarity, gain, true).get(dest, offset);
+    }
+
+    /**
+     * Compute fractal Brownian motion (fBm) of 3D simplex noise for the <code>sizeX * sizeY * sizeZ</code> points of a regular lattice and store
+     * the results in <code>dest</code>.
+     * <p>
+     * The lattice point <code>(i, j, k)</code> is <code>(x + i * stepX, y + j * stepY, z + k * stepZ)</code> and its result is stored at
+     * <code>dest[offset + (k * sizeY + j) * sizeX + i]</code>. Otherwise this method behaves like
+     * {@link #fbm(float, float, float, float, int, int, int, float, float, float[], int)}, using {@link #noise(float, float, float)}.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param z
+     *          the z coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param stepZ
+     *          the distance between two lattice points along z
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param sizeZ
+     *          the number of lattice points along z
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first result in <code>dest</code>
+     */
+    public static void fbm(float x, float y, float z, float stepX, float stepY, float stepZ, int sizeX, int sizeY, int sizeZ, int octaves, float lacunarity, float gain, float[] dest, int offset) {
+        new Lattice(x, y, z, stepX, stepY, stepZ, sizeX, sizeY, sizeZ, true, octaves, lacunarity, gain, false).get(dest, offset);
+    }
+
+    /**
+     * Compute ridged multifractal noise from 3D simplex noise for the <code>sizeX * sizeY * sizeZ</code> points of a regular lattice and store
+     * the results in <code>dest</code>.
+     * <p>
+     * This method behaves like {@link #fbm(float, float, float, float, float, float, int, int, int, int, float, float, float[], int)}, except that each
+     * octave contributes <code>(1 - |n|)<sup>2</sup></code> of the noise value <code>n</code>. The result is in the range <code>[0..1]</code>.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param z
+     *          the z coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param stepZ
+     *          the distance between two lattice points along z
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param sizeZ
+     *          the number of lattice points along z
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first result in <code>dest</code>
+     */
+    public static void ridged(float x, float y, float z, float stepX, float stepY, float stepZ, int sizeX, int sizeY, int sizeZ, int octaves, float lacunarity, float gain, float[] dest, int offset) {
+        new Lattice(x, y, z, stepX, stepY, stepZ, sizeX, sizeY, sizeZ, true, octaves, lacunarity, gain, true).get(dest, offset);
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Compute fractal Brownian motion (fBm) of 2D simplex noise for the <code>sizeX * sizeY</code> points of a regular lattice and store
+     * the results in <code>dest</code>, starting at its current position.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer and otherwise behaves like
+     * {@link #fbm(float, float, float, float, int, int, int, float, float, float[], int)}.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     */
+    public static void fbm(float x, float y, float stepX, float stepY, int sizeX, int sizeY, int octaves, float lacunarity, float gain, FloatBuffer dest) {
+        new Lattice(x, y, 0.0f, stepX, stepY, 0.0f, sizeX, sizeY, 1, false, octaves, lacunarity, gain, false).get(dest);
+    }
+
+    /**
+     * Compute ridged multifractal noise from 2D simplex noise for the <code>sizeX * sizeY</code> points of a regular lattice and store
+     * the results in <code>dest</code>, starting at its current position.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer and otherwise behaves like
+     * {@link #ridged(float, float, float, float, int, int, int, float, float, float[], int)}.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     */
+    public static void ridged(float x, float y, float stepX, float stepY, int sizeX, int sizeY, int octaves, float lacunarity, float gain, FloatBuffer dest) {
+        new Lattice(x, y, 0.0f, stepX, stepY, 0.0f, sizeX, sizeY, 1, false, octaves, lacunarity, gain, true).get(dest);
+    }
+
+    /**
+     * Compute fractal Brownian motion (fBm) of 3D simplex noise for the <code>sizeX * sizeY * sizeZ</code> points of a regular lattice and store
+     * the results in <code>dest</code>, starting at its current position.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer and otherwise behaves like
+     * {@link #fbm(float, float, float, float, float, float, int, int, int, int, float, float, float[], int)}.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param z
+     *          the z coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param stepZ
+     *          the distance between two lattice points along z
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param sizeZ
+     *          the number of lattice points along z
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     */
+    public static void fbm(float x, float y, float z, float stepX, float stepY, float stepZ, int sizeX, int sizeY, int sizeZ, int octaves, float lacunarity, float gain, FloatBuffer dest) {
+        new Lattice(x, y, z, stepX, stepY, stepZ, sizeX, sizeY, sizeZ, true, octaves, lacunarity, gain, false).get(dest);
+    }
+
+    /**
+     * Compute ridged multifractal noise from 3D simplex noise for the <code>sizeX * sizeY * sizeZ</code> points of a regular lattice and store
+     * the results in <code>dest</code>, starting at its current position.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer and otherwise behaves like
+     * {@link #ridged(float, float, float, float, float, float, int, int, int, int, float, float, float[], int)}.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param z
+     *          the z coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param stepZ
+     *          the distance between two lattice points along z
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param sizeZ
+     *          the number of lattice points along z
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     */
+    public static void ridged(float x, float y, float z, float stepX, float stepY, float stepZ, int sizeX, int sizeY, int sizeZ, int octaves, float lacunarity, float gain, FloatBuffer dest) {
+        new Lattice(x, y, z, stepX, stepY, stepZ, sizeX, sizeY, sizeZ, true, octaves, lacunarity, gain, true).get(dest);
+    }
+//#endif
+
+//#ifndef __GWT__
+    /**
+     * Compute fractal Brownian motion (fBm) of 2D simplex noise for the <code>sizeX * sizeY</code> points of a regular lattice and store
+     * the results in <code>dest</code>, using multiple threads for large lattices.
+     * <p>
+     * This method produces the same result as {@link #fbm(float, float, float, float, int, int, int, float, float, float[], int)},
+     * but splits the lattice into tiles of whole rows which are computed in parallel by a {@link java.util.concurrent.ForkJoinPool}.
+     * It requires Java 7 or later.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first result in <code>dest</code>
+     */
+    public static void fbmParallel(float x, float y, float stepX, float stepY, int sizeX, int sizeY, int octaves, float lacunarity, float gain, float[] dest, int offset) {
+        new Lattice(x, y, 0.0f, stepX, stepY, 0.0f, sizeX, sizeY, 1, false, octaves, lacunarity, gain, false).getParallel(dest, offset);
+    }
+
+    /**
+     * Compute ridged multifractal noise from 2D simplex noise for the <code>sizeX * sizeY</code> points of a regular lattice and store
+     * the results in <code>dest</code>, using multiple threads for large lattices.
+     * <p>
+     * This method produces the same result as {@link #ridged(float, float, float, float, int, int, int, float, float, float[], int)},
+     * but splits the lattice into tiles of whole rows which are computed in parallel by a {@link java.util.concurrent.ForkJoinPool}.
+     * It requires Java 7 or later.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first result in <code>dest</code>
+     */
+    public static void ridgedParallel(float x, float y, float stepX, float stepY, int sizeX, int sizeY, int octaves, float lacunarity, float gain, float[] dest, int offset) {
+        new Lattice(x, y, 0.0f, stepX, stepY, 0.0f, sizeX, sizeY, 1, false, octaves, lacunarity, gain, true).getParallel(dest, offset);
+    }
+
+    /**
+     * Compute fractal Brownian motion (fBm) of 3D simplex noise for the <code>sizeX * sizeY * sizeZ</code> points of a regular lattice and store
+     * the results in <code>dest</code>, using multiple threads for large lattices.
+     * <p>
+     * This method produces the same result as {@link #fbm(float, float, float, float, float, float, int, int, int, int, float, float, float[], int)},
+     * but splits the lattice into tiles of whole rows which are computed in parallel by a {@link java.util.concurrent.ForkJoinPool}.
+     * It requires Java 7 or later.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param z
+     *          the z coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param stepZ
+     *          the distance between two lattice points along z
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param sizeZ
+     *          the number of lattice points along z
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first result in <code>dest</code>
+     */
+    public static void fbmParallel(float x, float y, float z, float stepX, float stepY, float stepZ, int sizeX, int sizeY, int sizeZ, int octaves, float lacunarity, float gain, float[] dest, int offset) {
+        new Lattice(x, y, z, stepX, stepY, stepZ, sizeX, sizeY, sizeZ, true, octaves, lacunarity, gain, false).getParallel(dest, offset);
+    }
+
+    /**
+     * Compute ridged multifractal noise from 3D simplex noise for the <code>sizeX * sizeY * sizeZ</code> points of a regular lattice and store
+     * the results in <code>dest</code>, using multiple threads for large lattices.
+     * <p>
+     * This method produces the same result as {@link #ridged(float, float, float, float, float, float, int, int, int, int, float, float, float[], int)},
+     * but splits the lattice into tiles of whole rows which are computed in parallel by a {@link java.util.concurrent.ForkJoinPool}.
+     * It requires Java 7 or later.
+     * 
+     * @param x
+     *          the x coordinate of the first lattice point
+     * @param y
+     *          the y coordinate of the first lattice point
+     * @param z
+     *          the z coordinate of the first lattice point
+     * @param stepX
+     *          the distance between two lattice points along x
+     * @param stepY
+     *          the distance between two lattice points along y
+     * @param stepZ
+     *          the distance between two lattice points along z
+     * @param sizeX
+     *          the number of lattice points along x
+     * @param sizeY
+     *          the number of lattice points along y
+     * @param sizeZ
+     *          the number of lattice points along z
+     * @param octaves
+     *          the number of octaves, at least <code>1</code>
+     * @param lacunarity
+     *          the frequency factor between two successive octaves, usually <code>2</code>
+     * @param gain
+     *          the amplitude factor between two successive octaves, usually <code>0.5</code>
+     * @param dest
+     *          will hold the results
+     * @param offset
+     *          the index of the first result in <code>dest</code>
+     */
+    public static void ridgedParallel(float x, float y, float z, float stepX, float stepY, float stepZ, int sizeX, int sizeY, int sizeZ, int octaves, float lacunarity, float gain, float[] dest, int offset) {
+        new Lattice(x, y, z, stepX, stepY, stepZ, sizeX, sizeY, sizeZ, true, octaves, lacunarity, gain, true).getParallel(dest, offset);
+    }
+//#endif
+
+    /**
+     * The parameters of a lattice evaluated by the lattice methods, which process it row by row.
+     * <p>
+     * The frequencies, amplitudes and the scaled coordinates which are constant along a row are computed once per row,
+     * and all octaves of a lattice point are summed up before moving on to the next point.
+     * <p>
+     * Each octave of each point is then a call of {@link SimplexNoise#noise(float, float)} or {@link SimplexNoise#noise(float, float, float)}.
+     * The skew, the simplex ordering and the hashing of the cell are not hoisted out of a row: they depend on the sum of all
+     * coordinates and on the cell of each point, which changes along a row at a different rate for every octave.
+     */
+    private static final class Lattice {
+        private final float x, y, z, stepX, stepY, stepZ;
+        private final int sizeX, sizeY, rows;
+        private final boolean is3d, ridged;
+        private final float[] frequencies, amplitudes;
+        private final float amplitudesSum;
+
+        Lattice(float x, float y, float z, float stepX, float stepY, float stepZ, int sizeX, int sizeY, int sizeZ, boolean is3d, int octaves,
+                float lacunarity, float gain, boolean ridged) {
+            if (sizeX < 0 || sizeY < 0 || sizeZ < 0)
+                throw new IllegalArgumentException("size");
+            if (octaves < 1)
+                throw new IllegalArgumentException("octaves");
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.stepX = stepX;
+            this.stepY = stepY;
+            this.stepZ = stepZ;
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.rows = sizeY * sizeZ;
+            this.is3d = is3d;
+            this.ridged = ridged;
+            this.frequencies = new float[octaves];
+            this.amplitudes = new float[octaves];
+            float sum = 0.0f, frequency = 1.0f, amplitude = 1.0f;
+            for (int o = 0; o < octaves; o++) {
+                frequencies[o] = frequency;
+                amplitudes[o] = amplitude;
+                sum += amplitude;
+                frequency *= lacunarity;
+                amplitude *= gain;
+            }
+            this.amplitudesSum = sum;
+        }
+
+        void get(float[] dest, int offset) {
+            if (offset < 0 || offset + rows * sizeX > dest.length)
+                throw new ArrayIndexOutOfBoundsException();
+            rows(0, rows, dest, offset);
+        }
+
+//#ifdef __HAS_NIO__
+        void get(FloatBuffer dest) {
+            if (dest.remaining() < rows * sizeX)
+                throw new BufferOverflowException();
+            FloatBuffer buffer = dest.duplicate();
+            int chunkRows = Math.max(1, BULK_CHUNK / Math.max(1, sizeX));
+            float[] chunk = new float[Math.min(rows, chunkRows) * sizeX];
+            for (int r = 0; r < rows; r += chunkRows) {
+                int n = Math.min(rows - r, chunkRows);
+                rows(r, r + n, chunk, 0);
+                buffer.put(chunk, 0, n * sizeX);
+            }
+        }
+//#endif
+
+//#ifndef __GWT__
+        void getParallel(final float[] dest, final int offset) {
+            if (offset < 0 || offset + rows * sizeX > dest.length)
+                throw new ArrayIndexOutOfBoundsException();
+            Parallel.run(rows, Math.max(1, PARALLEL_GRAIN / Math.max(1, sizeX)), new Parallel.Range() {
+                public void run(int from, int to) {
+                    rows(from, to, dest, offset + from * sizeX);
+                }
+            });
+        }
+//#endif
+
+        /**
+         * Compute the rows <code>[from, to)</code> and store them starting at <code>dest[offset]</code>.
+         */
+        private void rows(int from, int to, float[] dest, int offset) {
+            int octaves = frequencies.length;
+            float[] fy = new float[octaves], fz = new float[octaves];
+            for (int r = from, o = offset; r < to; r++, o += sizeX) {
+                float py = y + (r % sizeY) * stepY;
+                float pz = z + (r / sizeY) * stepZ;
+                for (int octave = 0; octave < octaves; octave++) {
+                    fy[octave] = py * frequencies[octave];
+                    fz[octave] = pz * frequencies[octave];
+                }
+                if (is3d)
+                    row3(fy, fz, dest, o);
+                else
+                    row2(fy, dest, o);
+            }
+        }
+
+        private void row2(float[] fy, float[] dest, int offset) {
+            for (int i = 0; i < sizeX; i++) {
+                float px = x + i * stepX, sum = 0.0f;
+                for (int octave = 0; octave < fy.length; octave++)
+                    sum += amplitudes[octave] * octave(noise(px * frequencies[octave], fy[octave]));
+                dest[offset + i] = sum / amplitudesSum;
+            }
+        }
+
+        private void row3(float[] fy, float[] fz, float[] dest, int offset) {
+            for (int i = 0; i < sizeX; i++) {
+                float px = x + i * stepX, sum = 0.0f;
+                for (int octave = 0; octave < fy.length; octave++)
+                    sum += amplitudes[octave] * octave(noise(px * frequencies[octave], fy[octave], fz[octave]));
+                dest[offset + i] = sum / amplitudesSum;
+            }
+        }
+
+        private float octave(float n) {
+            if (!ridged)
+                return n;
+            n = 1.0f - Math.abs(n);
+            return n * n;
+        }
+    }
+
 }
@@ -0,0 +1,311 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+/**
+ * A seedable simplex noise generator for 2D and 3D input, which can also compute the analytic gradient of the noise
+ * in the same evaluation.
+ * <p>
+ * Unlike {@link SimplexNoise}, which uses a single fixed permutation table, each instance of this class owns its permutation
+ * table, so that differently seeded noise fields can be used side by side. An instance created with {@link #SimplexNoiseGenerator()}
+ * produces exactly the same values as {@link SimplexNoise}.
+ * <p>
+ * Instances are immutable after construction and can be shared between threads.
+ */
+public class SimplexNoiseGenerator {
+
+    // The edges of a cube, which are the gradients of 2D (using x and y) and 3D simplex noise
+    private static final int[] GRAD3 = { 1, 1, 0, -1, 1, 0, 1, -1, 0, -1, -1, 0, 1, 0, 1, -1, 0, 1, 1, 0, -1, -1, 0, -1, 0, 1, 1, 0, -1, 1,
+            0, 1, -1, 0, -1, -1 };
+
+    private static final float F2 = 0.3660254037844386f;
+    private static final float G2 = 0.21132486540518713f;
+    private static final float F3 = 1.0f / 3.0f;
+    private static final float G3 = 1.0f / 6.0f;
+
+    /**
+     * The permutation table, doubled to avoid index wrapping.
+     */
+    private final int[] perm = new int[512];
+
+    /**
+     * The offset of the gradient of each entry of {@link #perm} into {@link #GRAD3}.
+     */
+    private final int[] grad = new int[512];
+
+    /**
+     * Create a new {@link SimplexNoiseGenerator} using the same permutation table as {@link SimplexNoise}.
+     */
+    public SimplexNoiseGenerator() {
+        init(SimplexNoise.permutation());
+    }
+
+    /**
+     * Create a new {@link SimplexNoiseGenerator} whose permutation table is shuffled using the given <code>seed</code>.
+     * <p>
+     * The same seed always produces the same noise field.
+     * 
+     * @param seed
+     *          the seed of the permutation table
+     */
+    public SimplexNoiseGenerator(long seed) {
+        int[] p = new int[256];
+        for (int i = 0; i < 256; i++)
+            p[i] = i;
+        Random rnd = new Random(seed);
+        for (int i = 255; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = p[i];
+            p[i] = p[j];
+            p[j] = t;
+        }
+        init(p);
+    }
+
+    private void init(int[] p) {
+        for (int i = 0; i < 512; i++) {
+            perm[i] = p[i & 255];
+            grad[i] = perm[i] % 12 * 3;
+        }
+    }
+
+    private static int fastfloor(float x) {
+        int xi = (int) x;
+        return x < xi ? xi - 1 : xi;
+    }
+
+    /**
+     * Compute 2D simplex noise for the given input vector <code>(x, y)</code>.
+     * <p>
+     * The result is in the range <code>[-1..+1]</code>.
+     * 
+     * @param x
+     *          the x coordinate
+     * @param y
+     *          the y coordinate
+     * @return the noise value (within <code>[-1..+1]</code>)
+     */
+    public float noise(float x, float y) {
+        return noise2(x, y, null);
+    }
+
+    /**
+     * Compute 2D simplex noise for the given input vector <code>(x, y)</code> and store its gradient, which is the vector of its partial
+     * derivatives with respect to <code>x</code> and <code>y</code>, in <code>gradient</code>.
+     * <p>
+     * The gradient is computed analytically from the same evaluation, which is considerably cheaper than estimating it using
+     * finite differences. The returned noise value is the same as the one of {@link #noise(float, float)}.
+     * 
+     * @param x
+     *          the x coordinate
+     * @param y
+     *          the y coordinate
+     * @param gradient
+     *          will hold the gradient of the noise at <code>(x, y)</code>
+     * @return the noise value (within <code>[-1..+1]</code>)
+     */
+    public float noise(float x, float y, Vector2f gradient) {
+        return noise2(x, y, gradient);
+    }
+
+    /**
+     * Compute 3D simplex noise for the given input vector <code>(x, y, z)</code>.
+     * <p>
+     * The result is in the range <code>[-1..+1]</code>.
+     * 
+     * @param x
+     *          the x coordinate
+     * @param y
+     *          the y coordinate
+     * @param z
+     *          the z coordinate
+     * @return the noise value (within <code>[-1..+1]</code>)
+     */
+    public float noise(float x, float y, float z) {
+        return noise3(x, y, z, null);
+    }
+
+    /**
+     * Compute 3D simplex noise for the given input vector <code>(x, y, z)</code> and store its gradient, which is the vector of its partial
+     * derivatives with respect to <code>x</code>, <code>y</code> and <code>z</code>, in <code>gradient</code>.
+     * <p>
+     * The gradient is computed analytically from the same evaluation, which is considerably cheaper than estimating it using
+     * finite differences. The returned noise value is the same as the one of {@link #noise(float, float, float)}.
+     * <p>
+     * Like {@link SimplexNoise#noise(float, float, float)}, 3D simplex noise is slightly discontinuous across simplex boundaries,
+     * so the gradient is the derivative of the noise within the simplex containing <code>(x, y, z)</code>.
+     * <p>
+     * The normal of the isosurface of a density field defined by this noise is the negated and normalized gradient.
+     * 
+     * @param x
+     *          the x coordinate
+     * @param y
+     *          the y coordinate
+     * @param z
+     *          the z coordinate
+     * @param gradient
+     *          will hold the gradient of the noise at <code>(x, y, z)</code>
+     * @return the noise value (within <code>[-1..+1]</code>)
+     */
+    public float noise(float x, float y, float z, Vector3f gradient) {
+        return noise3(x, y, z, gradient);
+    }
+
+    /*
+     * Each corner contributes t^4 * dot(g, d) with t = r^2 - dot(d, d), where d is the distance vector from the corner and g is
+     * its gradient. So its derivative is t^4 * g - 8 * t^3 * dot(g, d) * d.
+     */
+
+    private float noise2(float x, float y, Vector2f gradient) {
+        float s = (x + y) * F2;
+        int i = fastfloor(x + s);
+        int j = fastfloor(y + s);
+        float t = (i + j) * G2;
+        float x0 = x - (i - t);
+        float y0 = y - (j - t);
+        int i1 = x0 > y0 ? 1 : 0;
+        int j1 = 1 - i1;
+        float x1 = x0 - i1 + G2;
+        float y1 = y0 - j1 + G2;
+        float x2 = x0 - 1.0f + 2.0f * G2;
+        float y2 = y0 - 1.0f + 2.0f * G2;
+        int ii = i & 255;
+        int jj = j & 255;
+        int g0 = grad[ii + perm[jj]];
+        int g1 = grad[ii + i1 + perm[jj + j1]];
+        int g2 = grad[ii + 1 + perm[jj + 1]];
+        float n0 = 0.0f, n1 = 0.0f, n2 = 0.0f, dx = 0.0f, dy = 0.0f;
+        float t0 = 0.5f - x0 * x0 - y0 * y0;
+        if (t0 >= 0.0f) {
+            float t20 = t0 * t0, t40 = t20 * t20;
+            float d = GRAD3[g0] * x0 + GRAD3[g0 + 1] * y0;
+            n0 = t40 * d;
+            float f = -8.0f * t20 * t0 * d;
+            dx += t40 * GRAD3[g0] + f * x0;
+            dy += t40 * GRAD3[g0 + 1] + f * y0;
+        }
+        float t1 = 0.5f - x1 * x1 - y1 * y1;
+        if (t1 >= 0.0f) {
+            float t21 = t1 * t1, t41 = t21 * t21;
+            float d = GRAD3[g1] * x1 + GRAD3[g1 + 1] * y1;
+            n1 = t41 * d;
+            float f = -8.0f * t21 * t1 * d;
+            dx += t41 * GRAD3[g1] + f * x1;
+            dy += t41 * GRAD3[g1 + 1] + f * y1;
+        }
+        float t2 = 0.5f - x2 * x2 - y2 * y2;
+        if (t2 >= 0.0f) {
+            float t22 = t2 * t2, t42 = t22 * t22;
+            float d = GRAD3[g2] * x2 + GRAD3[g2 + 1] * y2;
+            n2 = t42 * d;
+            float f = -8.0f * t22 * t2 * d;
+            dx += t42 * GRAD3[g2] + f * x2;
+            dy += t42 * GRAD3[g2 + 1] + f * y2;
+        }
+        if (gradient != null) {
+            gradient.x = 70.0f * dx;
+            gradient.y = 70.0f * dy;
+        }
+        return 70.0f * (n0 + n1 + n2);
+    }
+
+    private float noise3(float x, float y, float z, Vector3f gradient) {
+        float s = (x + y + z) * F3;
+        int i = fastfloor(x + s);
+        int j = fastfloor(y + s);
+        int k = fastfloor(z + s);
+        float t = (i + j + k) * G3;
+        float x0 = x - (i - t);
+        float y0 = y - (j - t);
+        float z0 = z - (k - t);
+        // The offsets of the second and third corner follow from the order of x0, y0 and z0
+        int xy = x0 >= y0 ? 1 : 0, yz = y0 >= z0 ? 1 : 0, xz = x0 >= z0 ? 1 : 0;
+        int i1 = xy & xz, j1 = yz & ~xy & 1, k1 = ~(xz | yz) & 1;
+        int i2 = xy | xz, j2 = (yz | ~xy) & 1, k2 = (~xz | ~yz) & 1;
+        float x1 = x0 - i1 + G3;
+        float y1 = y0 - j1 + G3;
+        float z1 = z0 - k1 + G3;
+        float x2 = x0 - i2 + 2.0f * G3;
+        float y2 = y0 - j2 + 2.0f * G3;
+        float z2 = z0 - k2 + 2.0f * G3;
+        float x3 = x0 - 1.0f + 3.0f * G3;
+        float y3 = y0 - 1.0f + 3.0f * G3;
+        float z3 = z0 - 1.0f + 3.0f * G3;
+        int ii = i & 255;
+        int jj = j & 255;
+        int kk = k & 255;
+        int g0 = grad[ii + perm[jj + perm[kk]]];
+        int g1 = grad[ii + i1 + perm[jj + j1 + perm[kk + k1]]];
+        int g2 = grad[ii + i2 + perm[jj + j2 + perm[kk + k2]]];
+        int g3 = grad[ii + 1 + perm[jj + 1 + perm[kk + 1]]];
+        float n0 = 0.0f, n1 = 0.0f, n2 = 0.0f, n3 = 0.0f, dx = 0.0f, dy = 0.0f, dz = 0.0f;
+        float t0 = 0.6f - x0 * x0 - y0 * y0 - z0 * z0;
+        if (t0 >= 0.0f) {
+            float t20 = t0 * t0, t40 = t20 * t20;
+            float d = GRAD3[g0] * x0 + GRAD3[g0 + 1] * y0 + GRAD3[g0 + 2] * z0;
+            n0 = t40 * d;
+            float f = -8.0f * t20 * t0 * d;
+            dx += t40 * GRAD3[g0] + f * x0;
+            dy += t40 * GRAD3[g0 + 1] + f * y0;
+            dz += t40 * GRAD3[g0 + 2] + f * z0;
+        }
+        float t1 = 0.6f - x1 * x1 - y1 * y1 - z1 * z1;
+        if (t1 >= 0.0f) {
+            float t21 = t1 * t1, t41 = t21 * t21;
+            float d = GRAD3[g1] * x1 + GRAD3[g1 + 1] * y1 + GRAD3[g1 + 2] * z1;
+            n1 = t41 * d;
+            float f = -8.0f * t21 * t1 * d;
+            dx += t41 * GRAD3[g1] + f * x1;
+            dy += t41 * GRAD3[g1 + 1] + f * y1;
+            dz += t41 * GRAD3[g1 + 2] + f * z1;
+        }
+        float t2 = 0.6f - x2 * x2 - y2 * y2 - z2 * z2;
+        if (t2 >= 0.0f) {
+            float t22 = t2 * t2, t42 = t22 * t22;
+            float d = GRAD3[g2] * x2 + GRAD3[g2 + 1] * y2 + GRAD3[g2 + 2] * z2;
+            n2 = t42 * d;
+            float f = -8.0f * t22 * t2 * d;
+            dx += t42 * GRAD3[g2] + f * x2;
+            dy += t42 * GRAD3[g2 + 1] + f * y2;
+            dz += t42 * GRAD3[g2 + 2] + f * z2;
+        }
+        float t3 = 0.6f - x3 * x3 - y3 * y3 - z3 * z3;
+        if (t3 >= 0.0f) {
+            float t23 = t3 * t3, t43 = t23 * t23;
+            float d = GRAD3[g3] * x3 + GRAD3[g3 + 1] * y3 + GRAD3[g3 + 2] * z3;
+            n3 = t43 * d;
+            float f = -8.0f * t23 * t3 * d;
+            dx += t43 * GRAD3[g3] + f * x3;
+            dy += t43 * GRAD3[g3 + 1] + f * y3;
+            dz += t43 * GRAD3[g3 + 2] + f * z3;
+        }
+        if (gradient != null) {
+            gradient.x = 32.0f * dx;
+            gradient.y = 32.0f * dy;
+            gradient.z = 32.0f * dz;
+        }
+        return 32.0f * (n0 + n1 + n2 + n3);
+    }
+
+}
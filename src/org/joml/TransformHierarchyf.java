@@ -0,0 +1,583 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+//#ifndef __GWT__
+import org.joml.internal.Parallel;
+//#endif
+
+/**
+ * A hierarchy of transformation nodes, which stores the local translation, rotation and scale as well as the resulting world
+ * transformation of all nodes in flat arrays, and recomputes only the world transformations of changed subtrees.
+ * <p>
+ * Nodes are identified by their index, which is assigned by {@link #add(int)} in increasing order, so that every node comes
+ * after its parent. The world transformation of a root is its local transformation <code>T * R * S</code>, and that of any
+ * other node is the world transformation of its parent multiplied by its local transformation.
+ * <p>
+ * Changing the local transformation of a node marks it as dirty. {@link #update()} then recomputes the world transformation of
+ * every dirty node and of all its descendants in a single pass in index order, starting at the first dirty node, while all
+ * other nodes are not touched. {@link #updateParallel()} does the same, but processes each depth level in parallel.
+ * <p>
+ * Every world transformation carries the {@link Matrix4x3fc#properties() properties} of a {@link Matrix4x3f}, which are derived
+ * from the local transformations and used to skip the parts of the matrix multiplication that are known to be trivial.
+ * <p>
+ * This class is not thread-safe. The local transformations must not be modified while an update is running.
+ */
+public class TransformHierarchyf {
+
+    /**
+     * The number of floats of the local transformation of a node: translation, rotation quaternion and scale.
+     */
+    private static final int LOCAL = 10;
+    /**
+     * The number of floats of the world transformation of a node, in the column-major order of {@link Matrix4x3f#get(float[], int)}.
+     */
+    private static final int WORLD = 12;
+
+    /**
+     * The number of nodes of a level updated by a single task in {@link #updateParallel()}.
+     */
+    private static final int PARALLEL_GRAIN = 1 << 12;
+
+    private static final int IDENTITY_PROPERTIES = Matrix4x3fc.PROPERTY_IDENTITY | Matrix4x3fc.PROPERTY_TRANSLATION
+                                                 | Matrix4x3fc.PROPERTY_ORTHONORMAL;
+
+    private int size;
+    private int[] parents;
+    private int[] depths;
+    private float[] local;
+    private float[] world;
+    private byte[] worldProperties;
+
+    /**
+     * One bit per node, which is set for the nodes whose local transformation changed since the last update.
+     */
+    private long[] dirty;
+    /**
+     * The smallest index of a dirty node, or {@link Integer#MAX_VALUE} if there is none.
+     */
+    private int firstDirty = Integer.MAX_VALUE;
+
+    /**
+     * The nodes of each depth level that are recomputed by {@link #updateParallel()}.
+     */
+    private int[][] levels = new int[0][];
+    private int[] levelSizes = new int[0];
+
+    /**
+     * Create a new empty {@link TransformHierarchyf}.
+     */
+    public TransformHierarchyf() {
+        this(16);
+    }
+
+    /**
+     * Create a new empty {@link TransformHierarchyf} with room for <code>initialCapacity</code> nodes.
+     * 
+     * @param initialCapacity
+     *          the number of nodes that can be added before the arrays need to grow
+     */
+    public TransformHierarchyf(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        parents = new int[initialCapacity];
+        depths = new int[initialCapacity];
+        local = new float[initialCapacity * LOCAL];
+        world = new float[initialCapacity * WORLD];
+        worldProperties = new byte[initialCapacity];
+        dirty = new long[(initialCapacity + 63) >>> 6];
+    }
+
+    /**
+     * Return the number of nodes of this hierarchy.
+     * 
+     * @return the number of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= parents.length)
+            return;
+        int newCapacity = Math.max(capacity, parents.length + (parents.length >> 1) + 1);
+        int[] newParents = new int[newCapacity];
+        System.arraycopy(parents, 0, newParents, 0, size);
+        parents = newParents;
+        int[] newDepths = new int[newCapacity];
+        System.arraycopy(depths, 0, newDepths, 0, size);
+        depths = newDepths;
+        float[] newLocal = new float[newCapacity * LOCAL];
+        System.arraycopy(local, 0, newLocal, 0, size * LOCAL);
+        local = newLocal;
+        float[] newWorld = new float[newCapacity * WORLD];
+        System.arraycopy(world, 0, newWorld, 0, size * WORLD);
+        world = newWorld;
+        byte[] newWorldProperties = new byte[newCapacity];
+        System.arraycopy(worldProperties, 0, newWorldProperties, 0, size);
+        worldProperties = newWorldProperties;
+        long[] newDirty = new long[(newCapacity + 63) >>> 6];
+        System.arraycopy(dirty, 0, newDirty, 0, dirty.length);
+        dirty = newDirty;
+    }
+
+    /**
+     * Add a new node with the identity local transformation as a child of the given <code>parent</code> node.
+     * <p>
+     * The world transformation of the new node is computed by the next update.
+     * 
+     * @param parent
+     *          the index of the parent node, or <code>-1</code> to add a root
+     * @return the index of the new node
+     */
+    public int add(int parent) {
+        if (parent < -1 || parent >= size)
+            throw new IllegalArgumentException("parent: " + parent);
+        ensureCapacity(size + 1);
+        int node = size++;
+        parents[node] = parent;
+        depths[node] = parent < 0 ? 0 : depths[parent] + 1;
+        int l = node * LOCAL;
+        for (int k = 0; k < LOCAL; k++)
+            local[l + k] = k >= 6 ? 1.0f : 0.0f;
+        markDirty(node);
+        return node;
+    }
+
+    /**
+     * Return the index of the parent of the given node.
+     * 
+     * @param node
+     *          the index of the node
+     * @return the index of the parent, or <code>-1</code> if the node is a root
+     */
+    public int parent(int node) {
+        checkNode(node);
+        return parents[node];
+    }
+
+    /**
+     * Return the depth of the given node, which is <code>0</code> for roots.
+     * 
+     * @param node
+     *          the index of the node
+     * @return the depth of the node
+     */
+    public int depth(int node) {
+        checkNode(node);
+        return depths[node];
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= size)
+            throw new IndexOutOfBoundsException("node: " + node);
+    }
+
+    private void markDirty(int node) {
+        dirty[node >>> 6] |= 1L << node;
+        if (node < firstDirty)
+            firstDirty = node;
+    }
+
+    /**
+     * Set the local translation, rotation and scale of the given node and mark it as dirty.
+     * 
+     * @param node
+     *          the index of the node
+     * @param translation
+     *          the translation
+     * @param rotation
+     *          the unit quaternion representing the rotation
+     * @param scale
+     *          the scale
+     * @return this
+     */
+    public TransformHierarchyf set(int node, Vector3fc translation, Quaternionfc rotation, Vector3fc scale) {
+        setTranslation(node, translation.x(), translation.y(), translation.z());
+        setRotation(node, rotation.x(), rotation.y(), rotation.z(), rotation.w());
+        return setScale(node, scale.x(), scale.y(), scale.z());
+    }
+
+    /**
+     * Set the local translation of the given node and mark it as dirty.
+     * 
+     * @param node
+     *          the index of the node
+     * @param x
+     *          the x component of the translation
+     * @param y
+     *          the y component of the translation
+     * @param z
+     *          the z component of the translation
+     * @return this
+     */
+    public TransformHierarchyf setTranslation(int node, float x, float y, float z) {
+        checkNode(node);
+        int l = node * LOCAL;
+        local[l] = x;
+        local[l + 1] = y;
+        local[l + 2] = z;
+        markDirty(node);
+        return this;
+    }
+
+    /**
+     * Set the local rotation of the given node and mark it as dirty.
+     * 
+     * @param node
+     *          the index of the node
+     * @param x
+     *          the x component of the unit rotation quaternion
+     * @param y
+     *          the y component of the unit rotation quaternion
+     * @param z
+     *          the z component of the unit rotation quaternion
+     * @param w
+     *          the w component of the unit rotation quaternion
+     * @return this
+     */
+    public TransformHierarchyf setRotation(int node, float x, float y, float z, float w) {
+        checkNode(node);
+        int l = node * LOCAL;
+        local[l + 3] = x;
+        local[l + 4] = y;
+        local[l + 5] = z;
+        local[l + 6] = w;
+        markDirty(node);
+        return this;
+    }
+
+    /**
+     * Set the local scale of the given node and mark it as dirty.
+     * 
+     * @param node
+     *          the index of the node
+     * @param x
+     *          the scale along the x axis
+     * @param y
+     *          the scale along the y axis
+     * @param z
+     *          the scale along the z axis
+     * @return this
+     */
+    public TransformHierarchyf setScale(int node, float x, float y, float z) {
+        checkNode(node);
+        int l = node * LOCAL;
+        local[l + 7] = x;
+        local[l + 8] = y;
+        local[l + 9] = z;
+        markDirty(node);
+        return this;
+    }
+
+    /**
+     * Store the local translation of the given node into <code>dest</code>.
+     * 
+     * @param node
+     *          the index of the node
+     * @param dest
+     *          will hold the translation
+     * @return dest
+     */
+    public Vector3f getTranslation(int node, Vector3f dest) {
+        checkNode(node);
+        int l = node * LOCAL;
+        return dest.set(local[l], local[l + 1], local[l + 2]);
+    }
+
+    /**
+     * Store the local rotation of the given node into <code>dest</code>.
+     * 
+     * @param node
+     *          the index of the node
+     * @param dest
+     *          will hold the rotation
+     * @return dest
+     */
+    public Quaternionf getRotation(int node, Quaternionf dest) {
+        checkNode(node);
+        int l = node * LOCAL;
+        return dest.set(local[l + 3], local[l + 4], local[l + 5], local[l + 6]);
+    }
+
+    /**
+     * Store the local scale of the given node into <code>dest</code>.
+     * 
+     * @param node
+     *          the index of the node
+     * @param dest
+     *          will hold the scale
+     * @return dest
+     */
+    public Vector3f getScale(int node, Vector3f dest) {
+        checkNode(node);
+        int l = node * LOCAL;
+        return dest.set(local[l + 7], local[l + 8], local[l + 9]);
+    }
+
+    /**
+     * Store the world transformation of the given node, as computed by the last update, into <code>dest</code>.
+     * <p>
+     * The properties of <code>dest</code> are set to the {@link #worldProperties(int) properties} of the world transformation.
+     * 
+     * @param node
+     *          the index of the node
+     * @param dest
+     *          will hold the world transformation
+     * @return dest
+     */
+    public Matrix4x3f getWorld(int node, Matrix4x3f dest) {
+        checkNode(node);
+        return dest.set(world, node * WORLD).assume(worldProperties[node]);
+    }
+
+    /**
+     * Store the world transformation of the given node, as computed by the last update, as 12 floats in column-major order
+     * into the given array, starting at <code>offset</code>.
+     * 
+     * @param node
+     *          the index of the node
+     * @param dest
+     *          will hold the world transformation
+     * @param offset
+     *          the offset into <code>dest</code>
+     * @return dest
+     */
+    public float[] getWorld(int node, float[] dest, int offset) {
+        checkNode(node);
+        System.arraycopy(world, node * WORLD, dest, offset, WORLD);
+        return dest;
+    }
+
+    /**
+     * Return the {@link Matrix4x3fc#properties() properties} of the world transformation of the given node, as computed by the
+     * last update.
+     * 
+     * @param node
+     *          the index of the node
+     * @return the properties of the world transformation
+     */
+    public int worldProperties(int node) {
+        checkNode(node);
+        return worldProperties[node];
+    }
+
+    /**
+     * Return whether there are dirty nodes whose world transformation will be recomputed by the next update.
+     * 
+     * @return whether an update is pending
+     */
+    public boolean isDirty() {
+        return firstDirty < size;
+    }
+
+    /**
+     * Recompute the world transformations of all dirty nodes and of all their descendants.
+     * <p>
+     * Since every node comes after its parent, this is a single pass over the nodes in index order, which propagates the dirty
+     * flags from parents to children and recomputes the flagged nodes.
+     * 
+     * @return the number of recomputed nodes
+     */
+    public int update() {
+        long[] dirty = this.dirty;
+        int updated = 0;
+        for (int node = firstDirty; node < size; node++) {
+            if (isDirty(dirty, node) || isDirty(dirty, parents[node])) {
+                dirty[node >>> 6] |= 1L << node;
+                computeWorld(node);
+                updated++;
+            }
+        }
+        clearDirty();
+        return updated;
+    }
+
+    private static boolean isDirty(long[] dirty, int node) {
+        return node >= 0 && (dirty[node >>> 6] & (1L << node)) != 0L;
+    }
+
+    private void clearDirty() {
+        if (firstDirty < size)
+            java.util.Arrays.fill(dirty, firstDirty >>> 6, (size + 63) >>> 6, 0L);
+        firstDirty = Integer.MAX_VALUE;
+    }
+
+//#ifndef __GWT__
+    /**
+     * Recompute the world transformations of all dirty nodes and of all their descendants, processing the nodes of each depth
+     * level in parallel using a {@link java.util.concurrent.ForkJoinPool}.
+     * <p>
+     * A first pass over the nodes in index order propagates the dirty flags and collects the nodes to recompute per depth level,
+     * and then the levels are processed one after the other. The results are identical to {@link #update()}.
+     * It requires Java 7 or later.
+     * 
+     * @return the number of recomputed nodes
+     */
+    public int updateParallel() {
+        long[] dirty = this.dirty;
+        int updated = 0;
+        for (int node = firstDirty; node < size; node++) {
+            if (isDirty(dirty, node) || isDirty(dirty, parents[node])) {
+                dirty[node >>> 6] |= 1L << node;
+                push(depths[node], node);
+                updated++;
+            }
+        }
+        clearDirty();
+        for (int d = 0; d < levelSizes.length; d++) {
+            final int[] nodes = levels[d];
+            int count = levelSizes[d];
+            levelSizes[d] = 0;
+            Parallel.run(count, PARALLEL_GRAIN, new Parallel.Range() {
+                public void run(int from, int to) {
+                    for (int k = from; k < to; k++)
+                        computeWorld(nodes[k]);
+                }
+            });
+        }
+        return updated;
+    }
+
+    private void push(int depth, int node) {
+        if (depth >= levels.length) {
+            int[][] newLevels = new int[depth + 1][];
+            System.arraycopy(levels, 0, newLevels, 0, levels.length);
+            for (int d = levels.length; d <= depth; d++)
+                newLevels[d] = new int[16];
+            int[] newLevelSizes = new int[depth + 1];
+            System.arraycopy(levelSizes, 0, newLevelSizes, 0, levelSizes.length);
+            levels = newLevels;
+            levelSizes = newLevelSizes;
+        }
+        int[] level = levels[depth];
+        int n = levelSizes[depth];
+        if (n == level.length) {
+            int[] newLevel = new int[n + (n >> 1) + 1];
+            System.arraycopy(level, 0, newLevel, 0, n);
+            levels[depth] = level = newLevel;
+        }
+        level[n] = node;
+        levelSizes[depth] = n + 1;
+    }
+//#endif
+
+    /**
+     * Compute the world transformation of the given node, whose parent must already be up to date.
+     * <p>
+     * Like {@link Matrix4x3f#mul(Matrix4x3fc, Matrix4x3f)}, this uses the properties of both factors to copy or add the trivial
+     * parts instead of multiplying them.
+     */
+    private void computeWorld(int node) {
+        float[] local = this.local, world = this.world;
+        byte[] worldProperties = this.worldProperties;
+        {
+            int l = node * LOCAL;
+            float tx = local[l], ty = local[l + 1], tz = local[l + 2];
+            float qx = local[l + 3], qy = local[l + 4], qz = local[l + 5], qw = local[l + 6];
+            float sx = local[l + 7], sy = local[l + 8], sz = local[l + 9];
+            int localProperties = 0;
+            float l00, l01, l02, l10, l11, l12, l20, l21, l22;
+            if (qx == 0.0f && qy == 0.0f && qz == 0.0f) {
+                l00 = sx; l01 = 0.0f; l02 = 0.0f;
+                l10 = 0.0f; l11 = sy; l12 = 0.0f;
+                l20 = 0.0f; l21 = 0.0f; l22 = sz;
+                if (sx == 1.0f && sy == 1.0f && sz == 1.0f)
+                    localProperties = tx == 0.0f && ty == 0.0f && tz == 0.0f ? IDENTITY_PROPERTIES
+                                    : Matrix4x3fc.PROPERTY_TRANSLATION | Matrix4x3fc.PROPERTY_ORTHONORMAL;
+            } else {
+                float dqx = qx + qx, dqy = qy + qy, dqz = qz + qz;
+                float q00 = dqx * qx, q11 = dqy * qy, q22 = dqz * qz;
+                float q01 = dqx * qy, q02 = dqx * qz, q03 = dqx * qw;
+                float q12 = dqy * qz, q13 = dqy * qw, q23 = dqz * qw;
+                l00 = sx - (q11 + q22) * sx; l01 = (q01 + q23) * sx; l02 = (q02 - q13) * sx;
+                l10 = (q01 - q23) * sy; l11 = sy - (q22 + q00) * sy; l12 = (q12 + q03) * sy;
+                l20 = (q02 + q13) * sz; l21 = (q12 - q03) * sz; l22 = sz - (q11 + q00) * sz;
+                if (sx == 1.0f && sy == 1.0f && sz == 1.0f)
+                    localProperties = Matrix4x3fc.PROPERTY_ORTHONORMAL;
+            }
+            int o = node * WORLD;
+            int parent = parents[node];
+            int parentProperties = parent < 0 ? IDENTITY_PROPERTIES : worldProperties[parent];
+            if ((parentProperties & Matrix4x3fc.PROPERTY_IDENTITY) != 0) {
+                world[o] = l00;
+                world[o + 1] = l01;
+                world[o + 2] = l02;
+                world[o + 3] = l10;
+                world[o + 4] = l11;
+                world[o + 5] = l12;
+                world[o + 6] = l20;
+                world[o + 7] = l21;
+                world[o + 8] = l22;
+                world[o + 9] = tx;
+                world[o + 10] = ty;
+                world[o + 11] = tz;
+                worldProperties[node] = (byte) localProperties;
+                return;
+            }
+            int p = parent * WORLD;
+            if ((localProperties & Matrix4x3fc.PROPERTY_IDENTITY) != 0) {
+                System.arraycopy(world, p, world, o, WORLD);
+                worldProperties[node] = (byte) parentProperties;
+            } else if ((parentProperties & Matrix4x3fc.PROPERTY_TRANSLATION) != 0) {
+                world[o] = l00;
+                world[o + 1] = l01;
+                world[o + 2] = l02;
+                world[o + 3] = l10;
+                world[o + 4] = l11;
+                world[o + 5] = l12;
+                world[o + 6] = l20;
+                world[o + 7] = l21;
+                world[o + 8] = l22;
+                world[o + 9] = world[p + 9] + tx;
+                world[o + 10] = world[p + 10] + ty;
+                world[o + 11] = world[p + 11] + tz;
+                worldProperties[node] = (byte) (localProperties & ~Matrix4x3fc.PROPERTY_IDENTITY);
+            } else {
+                float p00 = world[p], p01 = world[p + 1], p02 = world[p + 2];
+                float p10 = world[p + 3], p11 = world[p + 4], p12 = world[p + 5];
+                float p20 = world[p + 6], p21 = world[p + 7], p22 = world[p + 8];
+                if ((localProperties & Matrix4x3fc.PROPERTY_TRANSLATION) != 0) {
+                    System.arraycopy(world, p, world, o, 9);
+                    worldProperties[node] = (byte) (parentProperties & ~Matrix4x3fc.PROPERTY_IDENTITY);
+                } else {
+                    world[o] = p00 * l00 + p10 * l01 + p20 * l02;
+                    world[o + 1] = p01 * l00 + p11 * l01 + p21 * l02;
+                    world[o + 2] = p02 * l00 + p12 * l01 + p22 * l02;
+                    world[o + 3] = p00 * l10 + p10 * l11 + p20 * l12;
+                    world[o + 4] = p01 * l10 + p11 * l11 + p21 * l12;
+                    world[o + 5] = p02 * l10 + p12 * l11 + p22 * l12;
+                    world[o + 6] = p00 * l20 + p10 * l21 + p20 * l22;
+                    world[o + 7] = p01 * l20 + p11 * l21 + p21 * l22;
+                    world[o + 8] = p02 * l20 + p12 * l21 + p22 * l22;
+                    worldProperties[node] = (byte) (parentProperties & localProperties & Matrix4x3fc.PROPERTY_ORTHONORMAL);
+                }
+                world[o + 9] = p00 * tx + p10 * ty + p20 * tz + world[p + 9];
+                world[o + 10] = p01 * tx + p11 * ty + p21 * tz + world[p + 10];
+                world[o + 11] = p02 * tx + p12 * ty + p22 * tz + world[p + 11];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,551 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+//#ifdef __HAS_NIO__
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+//#endif
+
+/**
+ * A growable list of 2D vectors, stored as <code>(x, y)</code> tuples in a single <code>float[]</code>.
+ * <p>
+ * Compared to an array of {@link Vector2f} objects, this saves the object header and the reference of every element and keeps
+ * all elements contiguous in memory, so that the bulk operations of this class run as tight loops over the backing array.
+ * <p>
+ * Unless otherwise stated, the bulk operations apply to the elements with the same index in all participating lists, and
+ * <code>dest</code> may be the same instance as <code>this</code> or any other operand. A <code>dest</code> list is resized
+ * to the size of <code>this</code> list.
+ */
+public class Vector2fList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The components of all vectors. The vector at index <code>i</code> starts at <code>data[2 * i]</code>.
+     */
+    float[] data;
+
+    int size;
+
+    /**
+     * Create a new empty {@link Vector2fList}.
+     */
+    public Vector2fList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new empty {@link Vector2fList} with room for <code>capacity</code> vectors.
+     * 
+     * @param capacity
+     *          the initial capacity
+     */
+    public Vector2fList(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("capacity must not be negative");
+        this.data = new float[capacity * 2];
+    }
+
+    /**
+     * Return the number of vectors in this list.
+     * 
+     * @return the number of vectors
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the backing array of this list, which holds the <code>(x, y)</code> of all vectors in its first <code>2 * size()</code> elements.
+     * <p>
+     * The backing array is replaced when the list grows beyond its capacity.
+     * 
+     * @return the backing array
+     */
+    public float[] array() {
+        return data;
+    }
+
+    /**
+     * Remove all vectors from this list.
+     * 
+     * @return this
+     */
+    public Vector2fList clear() {
+        size = 0;
+        return this;
+    }
+
+    /**
+     * Make sure that this list can hold at least <code>capacity</code> vectors without growing.
+     * 
+     * @param capacity
+     *          the minimum capacity
+     * @return this
+     */
+    public Vector2fList ensureCapacity(int capacity) {
+        if (capacity * 2 > data.length) {
+            int newCapacity = data.length / 2 * 2;
+            if (newCapacity < capacity)
+                newCapacity = capacity;
+            float[] newData = new float[newCapacity * 2];
+            System.arraycopy(data, 0, newData, 0, size * 2);
+            data = newData;
+        }
+        return this;
+    }
+
+    /**
+     * Set the size of this list to <code>size</code>. Vectors that are added by this are set to zero.
+     * 
+     * @param size
+     *          the new size
+     * @return this
+     */
+    public Vector2fList resize(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("size must not be negative");
+        ensureCapacity(size);
+        for (int i = this.size * 2; i < size * 2; i++)
+            data[i] = 0.0f;
+        this.size = size;
+        return this;
+    }
+
+    private Vector2fList prepare(Vector2fList dest) {
+        if (dest != this) {
+            dest.ensureCapacity(size);
+            dest.size = size;
+        }
+        return dest;
+    }
+
+    private void checkSize(Vector2fList other) {
+        if (other.size != size)
+            throw new IllegalArgumentException("lists must have the same size");
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        return index * 2;
+    }
+
+    /**
+     * Append the vector <code>(x, y)</code> to this list.
+     * 
+     * @param x
+     *          the x component
+     * @param y
+     *          the y component
+     * @return this
+     */
+    public Vector2fList append(float x, float y) {
+        ensureCapacity(size + 1);
+        int o = size * 2;
+        data[o] = x;
+        data[o + 1] = y;
+        size++;
+        return this;
+    }
+
+    /**
+     * Append the given vector to this list.
+     * 
+     * @param v
+     *          the vector to append
+     * @return this
+     */
+    public Vector2fList append(Vector2fc v) {
+        return append(v.x(), v.y());
+    }
+
+    /**
+     * Append <code>count</code> vectors, given as consecutive <code>(x, y)</code> tuples in <code>src</code> starting at <code>offset</code>, to this list.
+     * 
+     * @param src
+     *          the components of the vectors
+     * @param offset
+     *          the index of the first component in <code>src</code>
+     * @param count
+     *          the number of vectors to append
+     * @return this
+     */
+    public Vector2fList append(float[] src, int offset, int count) {
+        ensureCapacity(size + count);
+        System.arraycopy(src, offset, data, size * 2, count * 2);
+        size += count;
+        return this;
+    }
+
+    /**
+     * Append all vectors of <code>other</code> to this list.
+     * 
+     * @param other
+     *          the list to append
+     * @return this
+     */
+    public Vector2fList append(Vector2fList other) {
+        return append(other.data, 0, other.size);
+    }
+
+    /**
+     * Set the vector at the given index to <code>(x, y)</code>.
+     * 
+     * @param index
+     *          the index of the vector
+     * @param x
+     *          the x component
+     * @param y
+     *          the y component
+     * @return this
+     */
+    public Vector2fList set(int index, float x, float y) {
+        int o = offset(index);
+        data[o] = x;
+        data[o + 1] = y;
+        return this;
+    }
+
+    /**
+     * Set the vector at the given index to <code>v</code>.
+     * 
+     * @param index
+     *          the index of the vector
+     * @param v
+     *          the new value
+     * @return this
+     */
+    public Vector2fList set(int index, Vector2fc v) {
+        return set(index, v.x(), v.y());
+    }
+
+    /**
+     * Return the x component of the vector at the given index.
+     * 
+     * @param index
+     *          the index of the vector
+     * @return the x component
+     */
+    public float x(int index) {
+        return data[offset(index)];
+    }
+
+    /**
+     * Return the y component of the vector at the given index.
+     * 
+     * @param index
+     *          the index of the vector
+     * @return the y component
+     */
+    public float y(int index) {
+        return data[offset(index) + 1];
+    }
+
+    /**
+     * Store the vector at the given index in <code>dest</code>.
+     * 
+     * @param index
+     *          the index of the vector
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector2f get(int index, Vector2f dest) {
+        int o = offset(index);
+        dest.x = data[o];
+        dest.y = data[o + 1];
+        return dest;
+    }
+
+    /**
+     * Add <code>v</code> to all vectors of this list and store the results in <code>dest</code>.
+     * 
+     * @param v
+     *          the vector to add
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector2fList add(Vector2fc v, Vector2fList dest) {
+        float vx = v.x(), vy = v.y();
+        float[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 2; i < n; i += 2) {
+            d[i] = s[i] + vx;
+            d[i + 1] = s[i + 1] + vy;
+        }
+        return dest;
+    }
+
+    /**
+     * Add the vectors of <code>other</code> to the vectors of this list and store the results in <code>dest</code>.
+     * 
+     * @param other
+     *          the list to add, with the same size as this list
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector2fList add(Vector2fList other, Vector2fList dest) {
+        checkSize(other);
+        float[] s = data, t = other.data, d = prepare(dest).data;
+        for (int i = 0, n = size * 2; i < n; i++)
+            d[i] = s[i] + t[i];
+        return dest;
+    }
+
+    /**
+     * Multiply all vectors of this list by the given scalar and store the results in <code>dest</code>.
+     * 
+     * @param scalar
+     *          the scalar to multiply by
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector2fList mul(float scalar, Vector2fList dest) {
+        float[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 2; i < n; i++)
+            d[i] = s[i] * scalar;
+        return dest;
+    }
+
+    /**
+     * Multiply the given 3x2 matrix <code>mat</code> with all vectors of this list, treating them as positions, and store the
+     * results in <code>dest</code>.
+     * <p>
+     * This method performs the same computation as {@link Vector2f#mulPosition(Matrix3x2fc, Vector2f)} for every vector.
+     * 
+     * @param mat
+     *          the matrix to multiply with
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector2fList mulPosition(Matrix3x2fc mat, Vector2fList dest) {
+        float m00 = mat.m00(), m01 = mat.m01(), m10 = mat.m10(), m11 = mat.m11(), m20 = mat.m20(), m21 = mat.m21();
+        float[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 2; i < n; i += 2) {
+            float x = s[i], y = s[i + 1];
+            d[i] = m00 * x + m10 * y + m20;
+            d[i + 1] = m01 * x + m11 * y + m21;
+        }
+        return dest;
+    }
+
+    /**
+     * Multiply the given 3x2 matrix <code>mat</code> with all vectors of this list, treating them as directions, and store the
+     * results in <code>dest</code>.
+     * <p>
+     * This method performs the same computation as {@link Vector2f#mulDirection(Matrix3x2fc, Vector2f)} for every vector.
+     * 
+     * @param mat
+     *          the matrix to multiply with
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector2fList mulDirection(Matrix3x2fc mat, Vector2fList dest) {
+        float m00 = mat.m00(), m01 = mat.m01(), m10 = mat.m10(), m11 = mat.m11();
+        float[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 2; i < n; i += 2) {
+            float x = s[i], y = s[i + 1];
+            d[i] = m00 * x + m10 * y;
+            d[i + 1] = m01 * x + m11 * y;
+        }
+        return dest;
+    }
+
+    /**
+     * Normalize all vectors of this list and store the results in <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector2fList normalize(Vector2fList dest) {
+        float[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 2; i < n; i += 2) {
+            float x = s[i], y = s[i + 1];
+            float invLength = 1.0f / (float) Math.sqrt(x * x + y * y);
+            d[i] = x * invLength;
+            d[i + 1] = y * invLength;
+        }
+        return dest;
+    }
+
+    /**
+     * Linearly interpolate between the vectors of this list and those of <code>other</code> using the given interpolation factor
+     * <code>t</code> and store the results in <code>dest</code>.
+     * <p>
+     * If <code>t</code> is <code>0.0</code> then the result is <code>this</code>. If the interpolation factor is <code>1.0</code>
+     * then the result is <code>other</code>.
+     * 
+     * @param other
+     *          the other list, with the same size as this list
+     * @param t
+     *          the interpolation factor between 0.0 and 1.0
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector2fList lerp(Vector2fList other, float t, Vector2fList dest) {
+        checkSize(other);
+        float[] s = data, o = other.data, d = prepare(dest).data;
+        for (int i = 0, n = size * 2; i < n; i++)
+            d[i] = s[i] + (o[i] - s[i]) * t;
+        return dest;
+    }
+
+    /**
+     * Compute the component-wise minimum of all vectors of this list and store it in <code>dest</code>.
+     * <p>
+     * If this list is empty, all components of <code>dest</code> are set to {@link Float#POSITIVE_INFINITY}.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector2f min(Vector2f dest) {
+        float x = Float.POSITIVE_INFINITY, y = Float.POSITIVE_INFINITY;
+        float[] s = data;
+        for (int i = 0, n = size * 2; i < n; i += 2) {
+            x = s[i] < x ? s[i] : x;
+            y = s[i + 1] < y ? s[i + 1] : y;
+        }
+        dest.x = x;
+        dest.y = y;
+        return dest;
+    }
+
+    /**
+     * Compute the component-wise maximum of all vectors of this list and store it in <code>dest</code>.
+     * <p>
+     * If this list is empty, all components of <code>dest</code> are set to {@link Float#NEGATIVE_INFINITY}.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector2f max(Vector2f dest) {
+        float x = Float.NEGATIVE_INFINITY, y = Float.NEGATIVE_INFINITY;
+        float[] s = data;
+        for (int i = 0, n = size * 2; i < n; i += 2) {
+            x = s[i] > x ? s[i] : x;
+            y = s[i + 1] > y ? s[i + 1] : y;
+        }
+        dest.x = x;
+        dest.y = y;
+        return dest;
+    }
+
+    /**
+     * Store the <code>(x, y)</code> of all vectors of this list, one after the other, into the supplied array.
+     * 
+     * @param dest
+     *          the array to write the components into
+     * @param offset
+     *          the offset into the array
+     * @return the passed in array
+     */
+    public float[] get(float[] dest, int offset) {
+        System.arraycopy(data, 0, dest, offset, size * 2);
+        return dest;
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Store the <code>(x, y)</code> of all vectors of this list, one after the other, into the supplied {@link FloatBuffer} at the current
+     * buffer {@link FloatBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param buffer
+     *          will receive the components of all vectors at its current position
+     * @return the passed in buffer
+     */
+    public FloatBuffer get(FloatBuffer buffer) {
+        return get(buffer.position(), buffer);
+    }
+
+    /**
+     * Store the <code>(x, y)</code> of all vectors of this list, one after the other, into the supplied {@link FloatBuffer} starting at the
+     * specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given FloatBuffer.
+     * 
+     * @param index
+     *          the absolute position into the FloatBuffer
+     * @param buffer
+     *          will receive the components of all vectors
+     * @return the passed in buffer
+     */
+    public FloatBuffer get(int index, FloatBuffer buffer) {
+        if (index < 0 || buffer.limit() - index < size * 2)
+            throw new IndexOutOfBoundsException();
+        FloatBuffer b = buffer.duplicate();
+        b.position(index);
+        b.put(data, 0, size * 2);
+        return buffer;
+    }
+
+    /**
+     * Store the <code>(x, y)</code> of all vectors of this list, one after the other, into the supplied {@link ByteBuffer} at the current
+     * buffer {@link ByteBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param buffer
+     *          will receive the components of all vectors at its current position
+     * @return the passed in buffer
+     */
+    public ByteBuffer get(ByteBuffer buffer) {
+        return get(buffer.position(), buffer);
+    }
+
+    /**
+     * Store the <code>(x, y)</code> of all vectors of this list, one after the other, into the supplied {@link ByteBuffer} starting at the
+     * specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param index
+     *          the absolute position into the ByteBuffer
+     * @param buffer
+     *          will receive the components of all vectors
+     * @return the passed in buffer
+     */
+    public ByteBuffer get(int index, ByteBuffer buffer) {
+        if (index < 0 || buffer.limit() - index < size * 8)
+            throw new IndexOutOfBoundsException();
+        ByteBuffer b = buffer.duplicate();
+        b.order(buffer.order());
+        b.position(index);
+        b.asFloatBuffer().put(data, 0, size * 2);
+        return buffer;
+    }
+//#endif
+
+}
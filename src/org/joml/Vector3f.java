@@ -708,9 +708,9 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#mul(org.joml.Matrix3fc, org.joml.Vector3f)
      */
     public Vector3f mul(Matrix3fc mat, Vector3f dest) {
-        float rx = mat.m00() * x + mat.m10() * y + mat.m20() * z;
-        float ry = mat.m01() * x + mat.m11() * y + mat.m21() * z;
-        float rz = mat.m02() * x + mat.m12() * y + mat.m22() * z;
+        float rx = Math.fma(mat.m20(), z, Math.fma(mat.m10(), y, mat.m00() * x));
+        float ry = Math.fma(mat.m21(), z, Math.fma(mat.m11(), y, mat.m01() * x));
+        float rz = Math.fma(mat.m22(), z, Math.fma(mat.m12(), y, mat.m02() * x));
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -779,9 +779,9 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#mulTranspose(org.joml.Matrix3fc, org.joml.Vector3f)
      */
     public Vector3f mulTranspose(Matrix3fc mat, Vector3f dest) {
-        float rx = mat.m00() * x + mat.m01() * y + mat.m02() * z;
-        float ry = mat.m10() * x + mat.m11() * y + mat.m12() * z;
-        float rz = mat.m20() * x + mat.m21() * y + mat.m22() * z;
+        float rx = Math.fma(mat.m02(), z, Math.fma(mat.m01(), y, mat.m00() * x));
+        float ry = Math.fma(mat.m12(), z, Math.fma(mat.m11(), y, mat.m10() * x));
+        float rz = Math.fma(mat.m22(), z, Math.fma(mat.m21(), y, mat.m20() * x));
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -818,9 +818,9 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#mulPosition(org.joml.Matrix4fc, org.joml.Vector3f)
      */
     public Vector3f mulPosition(Matrix4fc mat, Vector3f dest) {
-        float rx = mat.m00() * x + mat.m10() * y + mat.m20() * z + mat.m30();
-        float ry = mat.m01() * x + mat.m11() * y + mat.m21() * z + mat.m31();
-        float rz = mat.m02() * x + mat.m12() * y + mat.m22() * z + mat.m32();
+        float rx = Math.fma(mat.m20(), z, Math.fma(mat.m10(), y, mat.m00() * x)) + mat.m30();
+        float ry = Math.fma(mat.m21(), z, Math.fma(mat.m11(), y, mat.m01() * x)) + mat.m31();
+        float rz = Math.fma(mat.m22(), z, Math.fma(mat.m12(), y, mat.m02() * x)) + mat.m32();
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -831,9 +831,9 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#mulPosition(org.joml.Matrix4x3fc, org.joml.Vector3f)
      */
     public Vector3f mulPosition(Matrix4x3fc mat, Vector3f dest) {
-        float rx = mat.m00() * x + mat.m10() * y + mat.m20() * z + mat.m30();
-        float ry = mat.m01() * x + mat.m11() * y + mat.m21() * z + mat.m31();
-        float rz = mat.m02() * x + mat.m12() * y + mat.m22() * z + mat.m32();
+        float rx = Math.fma(mat.m20(), z, Math.fma(mat.m10(), y, mat.m00() * x)) + mat.m30();
+        float ry = Math.fma(mat.m21(), z, Math.fma(mat.m11(), y, mat.m01() * x)) + mat.m31();
+        float rz = Math.fma(mat.m22(), z, Math.fma(mat.m12(), y, mat.m02() * x)) + mat.m32();
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -857,9 +857,9 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#mulTransposePosition(org.joml.Matrix4fc, org.joml.Vector3f)
      */
     public Vector3f mulTransposePosition(Matrix4fc mat, Vector3f dest) {
-        float rx = mat.m00() * x + mat.m01() * y + mat.m02() * z + mat.m03();
-        float ry = mat.m10() * x + mat.m11() * y + mat.m12() * z + mat.m13();
-        float rz = mat.m20() * x + mat.m21() * y + mat.m22() * z + mat.m23();
+        float rx = Math.fma(mat.m02(), z, Math.fma(mat.m01(), y, mat.m00() * x)) + mat.m03();
+        float ry = Math.fma(mat.m12(), z, Math.fma(mat.m11(), y, mat.m10() * x)) + mat.m13();
+        float rz = Math.fma(mat.m22(), z, Math.fma(mat.m21(), y, mat.m20() * x)) + mat.m23();
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -884,10 +884,10 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#mulPositionW(org.joml.Matrix4fc, org.joml.Vector3f)
      */
     public float mulPositionW(Matrix4fc mat, Vector3f dest) {
-        float w = mat.m03() * x + mat.m13() * y + mat.m23() * z + mat.m33();
-        float rx = mat.m00() * x + mat.m10() * y + mat.m20() * z + mat.m30();
-        float ry = mat.m01() * x + mat.m11() * y + mat.m21() * z + mat.m31();
-        float rz = mat.m02() * x + mat.m12() * y + mat.m22() * z + mat.m32();
+        float w = Math.fma(mat.m23(), z, Math.fma(mat.m13(), y, mat.m03() * x)) + mat.m33();
+        float rx = Math.fma(mat.m20(), z, Math.fma(mat.m10(), y, mat.m00() * x)) + mat.m30();
+        float ry = Math.fma(mat.m21(), z, Math.fma(mat.m11(), y, mat.m01() * x)) + mat.m31();
+        float rz = Math.fma(mat.m22(), z, Math.fma(mat.m12(), y, mat.m02() * x)) + mat.m32();
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -950,9 +950,9 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#mulDirection(org.joml.Matrix4fc, org.joml.Vector3f)
      */
     public Vector3f mulDirection(Matrix4fc mat, Vector3f dest) {
-        float rx = mat.m00() * x + mat.m10() * y + mat.m20() * z;
-        float ry = mat.m01() * x + mat.m11() * y + mat.m21() * z;
-        float rz = mat.m02() * x + mat.m12() * y + mat.m22() * z;
+        float rx = Math.fma(mat.m20(), z, Math.fma(mat.m10(), y, mat.m00() * x));
+        float ry = Math.fma(mat.m21(), z, Math.fma(mat.m11(), y, mat.m01() * x));
+        float rz = Math.fma(mat.m22(), z, Math.fma(mat.m12(), y, mat.m02() * x));
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -963,9 +963,9 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#mulDirection(org.joml.Matrix4x3fc, org.joml.Vector3f)
      */
     public Vector3f mulDirection(Matrix4x3fc mat, Vector3f dest) {
-        float rx = mat.m00() * x + mat.m10() * y + mat.m20() * z;
-        float ry = mat.m01() * x + mat.m11() * y + mat.m21() * z;
-        float rz = mat.m02() * x + mat.m12() * y + mat.m22() * z;
+        float rx = Math.fma(mat.m20(), z, Math.fma(mat.m10(), y, mat.m00() * x));
+        float ry = Math.fma(mat.m21(), z, Math.fma(mat.m11(), y, mat.m01() * x));
+        float rz = Math.fma(mat.m22(), z, Math.fma(mat.m12(), y, mat.m02() * x));
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -989,9 +989,9 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#mulTransposeDirection(org.joml.Matrix4fc, org.joml.Vector3f)
      */
     public Vector3f mulTransposeDirection(Matrix4fc mat, Vector3f dest) {
-        float rx = mat.m00() * x + mat.m01() * y + mat.m02() * z;
-        float ry = mat.m10() * x + mat.m11() * y + mat.m12() * z;
-        float rz = mat.m20() * x + mat.m21() * y + mat.m22() * z;
+        float rx = Math.fma(mat.m02(), z, Math.fma(mat.m01(), y, mat.m00() * x));
+        float ry = Math.fma(mat.m12(), z, Math.fma(mat.m11(), y, mat.m10() * x));
+        float rz = Math.fma(mat.m22(), z, Math.fma(mat.m21(), y, mat.m20() * x));
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -1360,9 +1360,9 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#cross(org.joml.Vector3fc, org.joml.Vector3f)
      */
     public Vector3f cross(Vector3fc v, Vector3f dest) {
-        float rx = y * v.z() - z * v.y();
-        float ry = z * v.x() - x * v.z();
-        float rz = x * v.y() - y * v.x();
+        float rx = Math.fma(-z, v.y(), y * v.z());
+        float ry = Math.fma(-x, v.z(), z * v.x());
+        float rz = Math.fma(-y, v.x(), x * v.y());
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -1373,9 +1373,9 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#cross(float, float, float, org.joml.Vector3f)
      */
     public Vector3f cross(float x, float y, float z, Vector3f dest) {
-        float rx = this.y * z - this.z * y;
-        float ry = this.z * x - this.x * z;
-        float rz = this.x * y - this.y * x;
+        float rx = Math.fma(-this.z, y, this.y * z);
+        float ry = Math.fma(-this.x, z, this.z * x);
+        float rz = Math.fma(-this.y, x, this.x * y);
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -1472,7 +1472,7 @@ public class Vector3f implements Externalizable, Vector3fc {
      * @see org.joml.Vector3fc#dot(float, float, float)
      */
     public float dot(float x, float y, float z) {
-        return this.x * x + this.y * y + this.z * z;
+        return Math.fma(this.z, z, Math.fma(this.y, y, this.x * x));
     }
 
     /* (non-Javadoc)
@@ -0,0 +1,580 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml;
+
+//#ifdef __HAS_NIO__
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+//#endif
+
+/**
+ * A growable list of 4D vectors, stored as <code>(x, y, z, w)</code> tuples in a single <code>double[]</code>.
+ * <p>
+ * Compared to an array of {@link Vector4d} objects, this saves the object header and the reference of every element and keeps
+ * all elements contiguous in memory, so that the bulk operations of this class run as tight loops over the backing array.
+ * <p>
+ * Unless otherwise stated, the bulk operations apply to the elements with the same index in all participating lists, and
+ * <code>dest</code> may be the same instance as <code>this</code> or any other operand. A <code>dest</code> list is resized
+ * to the size of <code>this</code> list.
+ */
+public class Vector4dList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The components of all vectors. The vector at index <code>i</code> starts at <code>data[4 * i]</code>.
+     */
+    double[] data;
+
+    int size;
+
+    /**
+     * Create a new empty {@link Vector4dList}.
+     */
+    public Vector4dList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new empty {@link Vector4dList} with room for <code>capacity</code> vectors.
+     * 
+     * @param capacity
+     *          the initial capacity
+     */
+    public Vector4dList(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("capacity must not be negative");
+        this.data = new double[capacity * 4];
+    }
+
+    /**
+     * Return the number of vectors in this list.
+     * 
+     * @return the number of vectors
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the backing array of this list, which holds the <code>(x, y, z, w)</code> of all vectors in its first <code>4 * size()</code> elements.
+     * <p>
+     * The backing array is replaced when the list grows beyond its capacity.
+     * 
+     * @return the backing array
+     */
+    public double[] array() {
+        return data;
+    }
+
+    /**
+     * Remove all vectors from this list.
+     * 
+     * @return this
+     */
+    public Vector4dList clear() {
+        size = 0;
+        return this;
+    }
+
+    /**
+     * Make sure that this list can hold at least <code>capacity</code> vectors without growing.
+     * 
+     * @param capacity
+     *          the minimum capacity
+     * @return this
+     */
+    public Vector4dList ensureCapacity(int capacity) {
+        if (capacity * 4 > data.length) {
+            int newCapacity = data.length / 4 * 2;
+            if (newCapacity < capacity)
+                newCapacity = capacity;
+            double[] newData = new double[newCapacity * 4];
+            System.arraycopy(data, 0, newData, 0, size * 4);
+            data = newData;
+        }
+        return this;
+    }
+
+    /**
+     * Set the size of this list to <code>size</code>. Vectors that are added by this are set to zero.
+     * 
+     * @param size
+     *          the new size
+     * @return this
+     */
+    public Vector4dList resize(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("size must not be negative");
+        ensureCapacity(size);
+        for (int i = this.size * 4; i < size * 4; i++)
+            data[i] = 0.0;
+        this.size = size;
+        return this;
+    }
+
+    private Vector4dList prepare(Vector4dList dest) {
+        if (dest != this) {
+            dest.ensureCapacity(size);
+            dest.size = size;
+        }
+        return dest;
+    }
+
+    private void checkSize(Vector4dList other) {
+        if (other.size != size)
+            throw new IllegalArgumentException("lists must have the same size");
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        return index * 4;
+    }
+
+    /**
+     * Append the vector <code>(x, y, z, w)</code> to this list.
+     * 
+     * @param x
+     *          the x component
+     * @param y
+     *          the y component
+     * @param z
+     *          the z component
+     * @param w
+     *          the w component
+     * @return this
+     */
+    public Vector4dList append(double x, double y, double z, double w) {
+        ensureCapacity(size + 1);
+        int o = size * 4;
+        data[o] = x;
+        data[o + 1] = y;
+        data[o + 2] = z;
+        data[o + 3] = w;
+        size++;
+        return this;
+    }
+
+    /**
+     * Append the given vector to this list.
+     * 
+     * @param v
+     *          the vector to append
+     * @return this
+     */
+    public Vector4dList append(Vector4dc v) {
+        return append(v.x(), v.y(), v.z(), v.w());
+    }
+
+    /**
+     * Append <code>count</code> vectors, given as consecutive <code>(x, y, z, w)</code> tuples in <code>src</code> starting at <code>offset</code>, to this list.
+     * 
+     * @param src
+     *          the components of the vectors
+     * @param offset
+     *          the index of the first component in <code>src</code>
+     * @param count
+     *          the number of vectors to append
+     * @return this
+     */
+    public Vector4dList append(double[] src, int offset, int count) {
+        ensureCapacity(size + count);
+        System.arraycopy(src, offset, data, size * 4, count * 4);
+        size += count;
+        return this;
+    }
+
+    /**
+     * Append all vectors of <code>other</code> to this list.
+     * 
+     * @param other
+     *          the list to append
+     * @return this
+     */
+    public Vector4dList append(Vector4dList other) {
+        return append(other.data, 0, other.size);
+    }
+
+    /**
+     * Set the vector at the given index to <code>(x, y, z, w)</code>.
+     * 
+     * @param index
+     *          the index of the vector
+     * @param x
+     *          the x component
+     * @param y
+     *          the y component
+     * @param z
+     *          the z component
+     * @param w
+     *          the w component
+     * @return this
+     */
+    public Vector4dList set(int index, double x, double y, double z, double w) {
+        int o = offset(index);
+        data[o] = x;
+        data[o + 1] = y;
+        data[o + 2] = z;
+        data[o + 3] = w;
+        return this;
+    }
+
+    /**
+     * Set the vector at the given index to <code>v</code>.
+     * 
+     * @param index
+     *          the index of the vector
+     * @param v
+     *          the new value
+     * @return this
+     */
+    public Vector4dList set(int index, Vector4dc v) {
+        return set(index, v.x(), v.y(), v.z(), v.w());
+    }
+
+    /**
+     * Return the x component of the vector at the given index.
+     * 
+     * @param index
+     *          the index of the vector
+     * @return the x component
+     */
+    public double x(int index) {
+        return data[offset(index)];
+    }
+
+    /**
+     * Return the y component of the vector at the given index.
+     * 
+     * @param index
+     *          the index of the vector
+     * @return the y component
+     */
+    public double y(int index) {
+        return data[offset(index) + 1];
+    }
+
+    /**
+     * Return the z component of the vector at the given index.
+     * 
+     * @param index
+     *          the index of the vector
+     * @return the z component
+     */
+    public double z(int index) {
+        return data[offset(index) + 2];
+    }
+
+    /**
+     * Return the w component of the vector at the given index.
+     * 
+     * @param index
+     *          the index of the vector
+     * @return the w component
+     */
+    public double w(int index) {
+        return data[offset(index) + 3];
+    }
+
+    /**
+     * Store the vector at the given index in <code>dest</code>.
+     * 
+     * @param index
+     *          the index of the vector
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector4d get(int index, Vector4d dest) {
+        int o = offset(index);
+        dest.x = data[o];
+        dest.y = data[o + 1];
+        dest.z = data[o + 2];
+        dest.w = data[o + 3];
+        return dest;
+    }
+
+    /**
+     * Add <code>v</code> to all vectors of this list and store the results in <code>dest</code>.
+     * 
+     * @param v
+     *          the vector to add
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector4dList add(Vector4dc v, Vector4dList dest) {
+        double vx = v.x(), vy = v.y(), vz = v.z(), vw = v.w();
+        double[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 4; i < n; i += 4) {
+            d[i] = s[i] + vx;
+            d[i + 1] = s[i + 1] + vy;
+            d[i + 2] = s[i + 2] + vz;
+            d[i + 3] = s[i + 3] + vw;
+        }
+        return dest;
+    }
+
+    /**
+     * Add the vectors of <code>other</code> to the vectors of this list and store the results in <code>dest</code>.
+     * 
+     * @param other
+     *          the list to add, with the same size as this list
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector4dList add(Vector4dList other, Vector4dList dest) {
+        checkSize(other);
+        double[] s = data, t = other.data, d = prepare(dest).data;
+        for (int i = 0, n = size * 4; i < n; i++)
+            d[i] = s[i] + t[i];
+        return dest;
+    }
+
+    /**
+     * Multiply all vectors of this list by the given scalar and store the results in <code>dest</code>.
+     * 
+     * @param scalar
+     *          the scalar to multiply by
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector4dList mul(double scalar, Vector4dList dest) {
+        double[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 4; i < n; i++)
+            d[i] = s[i] * scalar;
+        return dest;
+    }
+
+    /**
+     * Multiply the given 4x4 matrix <code>mat</code> with all vectors of this list and store the results in <code>dest</code>.
+     * <p>
+     * This method performs the same computation as {@link Vector4d#mul(Matrix4dc, Vector4d)} for every vector.
+     * 
+     * @param mat
+     *          the matrix to multiply with
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector4dList mul(Matrix4dc mat, Vector4dList dest) {
+        double m00 = mat.m00(), m01 = mat.m01(), m02 = mat.m02(), m03 = mat.m03();
+        double m10 = mat.m10(), m11 = mat.m11(), m12 = mat.m12(), m13 = mat.m13();
+        double m20 = mat.m20(), m21 = mat.m21(), m22 = mat.m22(), m23 = mat.m23();
+        double m30 = mat.m30(), m31 = mat.m31(), m32 = mat.m32(), m33 = mat.m33();
+        double[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 4; i < n; i += 4) {
+            double x = s[i], y = s[i + 1], z = s[i + 2], w = s[i + 3];
+            d[i] = m00 * x + m10 * y + m20 * z + m30 * w;
+            d[i + 1] = m01 * x + m11 * y + m21 * z + m31 * w;
+            d[i + 2] = m02 * x + m12 * y + m22 * z + m32 * w;
+            d[i + 3] = m03 * x + m13 * y + m23 * z + m33 * w;
+        }
+        return dest;
+    }
+
+    /**
+     * Normalize all vectors of this list and store the results in <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector4dList normalize(Vector4dList dest) {
+        double[] s = data, d = prepare(dest).data;
+        for (int i = 0, n = size * 4; i < n; i += 4) {
+            double x = s[i], y = s[i + 1], z = s[i + 2], w = s[i + 3];
+            double invLength = 1.0 / Math.sqrt(x * x + y * y + z * z + w * w);
+            d[i] = x * invLength;
+            d[i + 1] = y * invLength;
+            d[i + 2] = z * invLength;
+            d[i + 3] = w * invLength;
+        }
+        return dest;
+    }
+
+    /**
+     * Linearly interpolate between the vectors of this list and those of <code>other</code> using the given interpolation factor
+     * <code>t</code> and store the results in <code>dest</code>.
+     * <p>
+     * If <code>t</code> is <code>0.0</code> then the result is <code>this</code>. If the interpolation factor is <code>1.0</code>
+     * then the result is <code>other</code>.
+     * 
+     * @param other
+     *          the other list, with the same size as this list
+     * @param t
+     *          the interpolation factor between 0.0 and 1.0
+     * @param dest
+     *          will hold the results
+     * @return dest
+     */
+    public Vector4dList lerp(Vector4dList other, double t, Vector4dList dest) {
+        checkSize(other);
+        double[] s = data, o = other.data, d = prepare(dest).data;
+        for (int i = 0, n = size * 4; i < n; i++)
+            d[i] = s[i] + (o[i] - s[i]) * t;
+        return dest;
+    }
+
+    /**
+     * Compute the component-wise minimum of all vectors of this list and store it in <code>dest</code>.
+     * <p>
+     * If this list is empty, all components of <code>dest</code> are set to {@link Double#POSITIVE_INFINITY}.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector4d min(Vector4d dest) {
+        double x = Double.POSITIVE_INFINITY, y = Double.POSITIVE_INFINITY, z = Double.POSITIVE_INFINITY, w = Double.POSITIVE_INFINITY;
+        double[] s = data;
+        for (int i = 0, n = size * 4; i < n; i += 4) {
+            x = s[i] < x ? s[i] : x;
+            y = s[i + 1] < y ? s[i + 1] : y;
+            z = s[i + 2] < z ? s[i + 2] : z;
+            w = s[i + 3] < w ? s[i + 3] : w;
+        }
+        dest.x = x;
+        dest.y = y;
+        dest.z = z;
+        dest.w = w;
+        return dest;
+    }
+
+    /**
+     * Compute the component-wise maximum of all vectors of this list and store it in <code>dest</code>.
+     * <p>
+     * If this list is empty, all components of <code>dest</code> are set to {@link Double#NEGATIVE_INFINITY}.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector4d max(Vector4d dest) {
+        double x = Double.NEGATIVE_INFINITY, y = Double.NEGATIVE_INFINITY, z = Double.NEGATIVE_INFINITY, w = Double.NEGATIVE_INFINITY;
+        double[] s = data;
+        for (int i = 0, n = size * 4; i < n; i += 4) {
+            x = s[i] > x ? s[i] : x;
+            y = s[i + 1] > y ? s[i + 1] : y;
+            z = s[i + 2] > z ? s[i + 2] : z;
+            w = s[i + 3] > w ? s[i + 3] : w;
+        }
+        dest.x = x;
+        dest.y = y;
+        dest.z = z;
+        dest.w = w;
+        return dest;
+    }
+
+    /**
+     * Store the <code>(x, y, z, w)</code> of all vectors of this list, one after the other, into the supplied array.
+     * 
+     * @param dest
+     *          the array to write the components into
+     * @param offset
+     *          the offset into the array
+     * @return the passed in array
+     */
+    public double[] get(double[] dest, int offset) {
+        System.arraycopy(data, 0, dest, offset, size * 4);
+        return dest;
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Store the <code>(x, y, z, w)</code> of all vectors of this list, one after the other, into the supplied {@link DoubleBuffer} at the current
+     * buffer {@link DoubleBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given DoubleBuffer.
+     * 
+     * @param buffer
+     *          will receive the components of all vectors at its current position
+     * @return the passed in buffer
+     */
+    public DoubleBuffer get(DoubleBuffer buffer) {
+        return get(buffer.position(), buffer);
+    }
+
+    /**
+     * Store the <code>(x, y, z, w)</code> of all vectors of this list, one after the other, into the supplied {@link DoubleBuffer} starting at the
+     * specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given DoubleBuffer.
+     * 
+     * @param index
+     *          the absolute position into the DoubleBuffer
+     * @param buffer
+     *          will receive the components of all vectors
+     * @return the passed in buffer
+     */
+    public DoubleBuffer get(int index, DoubleBuffer buffer) {
+        if (index < 0 || buffer.limit() - index < size * 4)
+            throw new IndexOutOfBoundsException();
+        DoubleBuffer b = buffer.duplicate();
+        b.position(index);
+        b.put(data, 0, size * 4);
+        return buffer;
+    }
+
+    /**
+     * Store the <code>(x, y, z, w)</code> of all vectors of this list, one after the other, into the supplied {@link ByteBuffer} at the current
+     * buffer {@link ByteBuffer#position() position}.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param buffer
+     *          will receive the components of all vectors at its current position
+     * @return the passed in buffer
+     */
+    public ByteBuffer get(ByteBuffer buffer) {
+        return get(buffer.position(), buffer);
+    }
+
+    /**
+     * Store the <code>(x, y, z, w)</code> of all vectors of this list, one after the other, into the supplied {@link ByteBuffer} starting at the
+     * specified absolute buffer position/index.
+     * <p>
+     * This method will not increment the position of the given ByteBuffer.
+     * 
+     * @param index
+     *          the absolute position into the ByteBuffer
+     * @param buffer
+     *          will receive the components of all vectors
+     * @return the passed in buffer
+     */
+    public ByteBuffer get(int index, ByteBuffer buffer) {
+        if (index < 0 || buffer.limit() - index < size * 32)
+            throw new IndexOutOfBoundsException();
+        ByteBuffer b = buffer.duplicate();
+        b.order(buffer.order());
+        b.position(index);
+        b.asDoubleBuffer().put(data, 0, size * 4);
+        return buffer;
+    }
+//#endif
+
+}
@@ -805,9 +805,9 @@ public class Vector4f implements Externalizable, Vector4fc {
      * @see org.joml.Vector4fc#mulAffine(org.joml.Matrix4fc, org.joml.Vector4f)
      */
     public Vector4f mulAffine(Matrix4fc mat, Vector4f dest) {
-        float rx = mat.m00() * x + mat.m10() * y + mat.m20() * z + mat.m30() * w;
-        float ry = mat.m01() * x + mat.m11() * y + mat.m21() * z + mat.m31() * w;
-        float rz = mat.m02() * x + mat.m12() * y + mat.m22() * z + mat.m32() * w;
+        float rx = Math.fma(mat.m30(), w, Math.fma(mat.m20(), z, Math.fma(mat.m10(), y, mat.m00() * x)));
+        float ry = Math.fma(mat.m31(), w, Math.fma(mat.m21(), z, Math.fma(mat.m11(), y, mat.m01() * x)));
+        float rz = Math.fma(mat.m32(), w, Math.fma(mat.m22(), z, Math.fma(mat.m12(), y, mat.m02() * x)));
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -816,10 +816,10 @@ public class Vector4f implements Externalizable, Vector4fc {
     }
 
     private Vector4f mulGeneric(Matrix4fc mat, Vector4f dest) {
-        float rx = mat.m00() * x + mat.m10() * y + mat.m20() * z + mat.m30() * w;
-        float ry = mat.m01() * x + mat.m11() * y + mat.m21() * z + mat.m31() * w;
-        float rz = mat.m02() * x + mat.m12() * y + mat.m22() * z + mat.m32() * w;
-        float rw = mat.m03() * x + mat.m13() * y + mat.m23() * z + mat.m33() * w;
+        float rx = Math.fma(mat.m30(), w, Math.fma(mat.m20(), z, Math.fma(mat.m10(), y, mat.m00() * x)));
+        float ry = Math.fma(mat.m31(), w, Math.fma(mat.m21(), z, Math.fma(mat.m11(), y, mat.m01() * x)));
+        float rz = Math.fma(mat.m32(), w, Math.fma(mat.m22(), z, Math.fma(mat.m12(), y, mat.m02() * x)));
+        float rw = Math.fma(mat.m33(), w, Math.fma(mat.m23(), z, Math.fma(mat.m13(), y, mat.m03() * x)));
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -843,9 +843,9 @@ public class Vector4f implements Externalizable, Vector4fc {
      * @see org.joml.Vector4fc#mul(org.joml.Matrix4x3fc, org.joml.Vector4f)
      */
     public Vector4f mul(Matrix4x3fc mat, Vector4f dest) {
-        float rx = mat.m00() * x + mat.m10() * y + mat.m20() * z + mat.m30() * w;
-        float ry = mat.m01() * x + mat.m11() * y + mat.m21() * z + mat.m31() * w;
-        float rz = mat.m02() * x + mat.m12() * y + mat.m22() * z + mat.m32() * w;
+        float rx = Math.fma(mat.m30(), w, Math.fma(mat.m20(), z, Math.fma(mat.m10(), y, mat.m00() * x)));
+        float ry = Math.fma(mat.m31(), w, Math.fma(mat.m21(), z, Math.fma(mat.m11(), y, mat.m01() * x)));
+        float rz = Math.fma(mat.m32(), w, Math.fma(mat.m22(), z, Math.fma(mat.m12(), y, mat.m02() * x)));
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -857,10 +857,10 @@ public class Vector4f implements Externalizable, Vector4fc {
      * @see org.joml.Vector4fc#mulProject(org.joml.Matrix4fc, org.joml.Vector4f)
      */
     public Vector4f mulProject(Matrix4fc mat, Vector4f dest) {
-        float invW = 1.0f / (mat.m03() * x + mat.m13() * y + mat.m23() * z + mat.m33() * w);
-        float rx = (mat.m00() * x + mat.m10() * y + mat.m20() * z + mat.m30() * w) * invW;
-        float ry = (mat.m01() * x + mat.m11() * y + mat.m21() * z + mat.m31() * w) * invW;
-        float rz = (mat.m02() * x + mat.m12() * y + mat.m22() * z + mat.m32() * w) * invW;
+        float invW = 1.0f / (Math.fma(mat.m33(), w, Math.fma(mat.m23(), z, Math.fma(mat.m13(), y, mat.m03() * x))));
+        float rx = Math.fma(mat.m30(), w, Math.fma(mat.m20(), z, Math.fma(mat.m10(), y, mat.m00() * x))) * invW;
+        float ry = Math.fma(mat.m31(), w, Math.fma(mat.m21(), z, Math.fma(mat.m11(), y, mat.m01() * x))) * invW;
+        float rz = Math.fma(mat.m32(), w, Math.fma(mat.m22(), z, Math.fma(mat.m12(), y, mat.m02() * x))) * invW;
         dest.x = rx;
         dest.y = ry;
         dest.z = rz;
@@ -1334,7 +1334,7 @@ public class Vector4f implements Externalizable, Vector4fc {
      * @see org.joml.Vector4fc#dot(float, float, float, float)
      */
     public float dot(float x, float y, float z, float w) {
-        return this.x * x + this.y * y + this.z * z + this.w * w;
+        return Math.fma(this.w, w, Math.fma(this.z, z, Math.fma(this.y, y, this.x * x)));
     }
 
     /* (non-Javadoc)
@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.internal;
+
+/**
+ * Fused multiply-add as used by the matrix, vector and quaternion kernels of JOML via {@link org.joml.Math#fma(float, float, float)}.
+ * <p>
+ * The implementation using <code>java.lang.Math.fma()</code> only exists in the Java 9+ section of the multi-release jar and is
+ * only used when the JVM compiles <code>java.lang.Math.fma()</code> to a fused multiply-add instruction, or when forced by
+ * {@link Options#USE_FMA}, because the software fallback of <code>java.lang.Math.fma()</code> is orders of magnitude slower
+ * than a separate multiplication and addition.
+ * <p>
+ * This class is used internally throughout JOML, is undocumented and is subject to change.
+ * Use with extreme caution!
+ */
+public abstract class Fma {
+    public static final Fma INSTANCE = createInstance();
+    private static Fma createInstance() {
+//#ifndef __GWT__
+        if (!Boolean.FALSE.equals(Options.USE_FMA)) {
+            try {
+                /*
+                 * The fused implementation only exists in the Java 9+ section of the multi-release jar
+                 * and refuses to be created when the CPU has no FMA instructions, unless forced by joml.usefma.
+                 */
+                return (Fma) Class.forName("org.joml.internal.FmaFused").getDeclaredConstructor(new Class[0]).newInstance(new Object[0]);
+            } catch (Throwable e) {
+                // fall back to a separate multiplication and addition
+            }
+        }
+//#endif
+        return new FmaUnfused();
+    }
+
+    /**
+     * Whether {@link #fma(float, float, float)} rounds only once.
+     * 
+     * @return <code>true</code> if this implementation uses a fused multiply-add instruction
+     */
+    public abstract boolean isFused();
+    public abstract float fma(float a, float b, float c);
+    public abstract double fma(double a, double b, double c);
+
+    public static class FmaUnfused extends Fma {
+        public boolean isFused() {
+            return false;
+        }
+        public float fma(float a, float b, float c) {
+            return a * b + c;
+        }
+        public double fma(double a, double b, double c) {
+            return a * b + c;
+        }
+    }
+}
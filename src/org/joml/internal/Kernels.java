@@ -0,0 +1,302 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.internal;
+
+/**
+ * Kernels for bulk operations on matrices stored in structure-of-arrays layout, as used by {@link org.joml.Matrix4fArray}.
+ * <p>
+ * A matrix array with <code>n</code> matrices is a <code>float[]</code> of 16 planes of stride <code>n</code>, where the element
+ * <code>mCR</code> of the matrix at index <code>i</code> is stored at <code>(C * 4 + R) * n + i</code>. Each kernel processes the
+ * matrices from index <code>from</code> (inclusive) to <code>to</code> (exclusive) and loads all elements of one matrix before
+ * storing the result, so that the destination may alias any of the sources.
+ * <p>
+ * Only these structure-of-arrays kernels have a Vector API implementation. The per-object methods
+ * {@link org.joml.Matrix4f#mul(org.joml.Matrix4fc, org.joml.Matrix4f)}, {@link org.joml.Matrix4x3f#mul(org.joml.Matrix4x3fc, org.joml.Matrix4x3f)}
+ * and {@link org.joml.Vector4f#mul(org.joml.Matrix4fc)} stay scalar, because their operands are separate fields that would
+ * have to be copied into and out of vector lanes, which costs more than the four-wide arithmetic saves. There are no double
+ * precision kernels, since there is no double precision counterpart of {@link org.joml.Matrix4fArray}.
+ * <p>
+ * This class is used internally throughout JOML, is undocumented and is subject to change.
+ * Use with extreme caution!
+ */
+public abstract class Kernels {
+    public static final Kernels INSTANCE = createInstance();
+    private static Kernels createInstance() {
+//#ifndef __GWT__
+        if (!Options.NO_VECTOR_API) {
+            try {
+                /*
+                 * The Vector API implementation only exists in the Java 16+ section of the multi-release jar
+                 * and can only be loaded when the jdk.incubator.vector module is available at runtime.
+                 */
+                return (Kernels) Class.forName("org.joml.internal.KernelsVector").getDeclaredConstructor(new Class[0]).newInstance(new Object[0]);
+            } catch (Throwable e) {
+                // fall back to the scalar kernels
+            }
+        }
+//#endif
+        return new KernelsScalar();
+    }
+
+    public abstract void mulGeneric(float[] a, int as, float[] b, int bs, float[] d, int ds, int from, int to);
+    public abstract void mulAffine(float[] a, int as, float[] b, int bs, float[] d, int ds, int from, int to);
+    public abstract void mulLocalGeneric(float[] l, float[] b, int bs, float[] d, int ds, int from, int to);
+    public abstract void mulLocalAffine(float[] l, float[] b, int bs, float[] d, int ds, int from, int to);
+    public abstract void invertAffine(float[] a, int as, float[] d, int ds, int from, int to);
+
+    public static class KernelsScalar extends Kernels {
+        public void mulGeneric(float[] a, int as, float[] b, int bs, float[] d, int ds, int from, int to) {
+            for (int i = from; i < to; i++) {
+                float a00 = a[i];
+                float a01 = a[i + as];
+                float a02 = a[i + 2 * as];
+                float a03 = a[i + 3 * as];
+                float a10 = a[i + 4 * as];
+                float a11 = a[i + 5 * as];
+                float a12 = a[i + 6 * as];
+                float a13 = a[i + 7 * as];
+                float a20 = a[i + 8 * as];
+                float a21 = a[i + 9 * as];
+                float a22 = a[i + 10 * as];
+                float a23 = a[i + 11 * as];
+                float a30 = a[i + 12 * as];
+                float a31 = a[i + 13 * as];
+                float a32 = a[i + 14 * as];
+                float a33 = a[i + 15 * as];
+                float b00 = b[i];
+                float b01 = b[i + bs];
+                float b02 = b[i + 2 * bs];
+                float b03 = b[i + 3 * bs];
+                float b10 = b[i + 4 * bs];
+                float b11 = b[i + 5 * bs];
+                float b12 = b[i + 6 * bs];
+                float b13 = b[i + 7 * bs];
+                float b20 = b[i + 8 * bs];
+                float b21 = b[i + 9 * bs];
+                float b22 = b[i + 10 * bs];
+                float b23 = b[i + 11 * bs];
+                float b30 = b[i + 12 * bs];
+                float b31 = b[i + 13 * bs];
+                float b32 = b[i + 14 * bs];
+                float b33 = b[i + 15 * bs];
+                d[i] = a00 * b00 + a10 * b01 + a20 * b02 + a30 * b03;
+                d[i + ds] = a01 * b00 + a11 * b01 + a21 * b02 + a31 * b03;
+                d[i + 2 * ds] = a02 * b00 + a12 * b01 + a22 * b02 + a32 * b03;
+                d[i + 3 * ds] = a03 * b00 + a13 * b01 + a23 * b02 + a33 * b03;
+                d[i + 4 * ds] = a00 * b10 + a10 * b11 + a20 * b12 + a30 * b13;
+                d[i + 5 * ds] = a01 * b10 + a11 * b11 + a21 * b12 + a31 * b13;
+                d[i + 6 * ds] = a02 * b10 + a12 * b11 + a22 * b12 + a32 * b13;
+                d[i + 7 * ds] = a03 * b10 + a13 * b11 + a23 * b12 + a33 * b13;
+                d[i + 8 * ds] = a00 * b20 + a10 * b21 + a20 * b22 + a30 * b23;
+                d[i + 9 * ds] = a01 * b20 + a11 * b21 + a21 * b22 + a31 * b23;
+                d[i + 10 * ds] = a02 * b20 + a12 * b21 + a22 * b22 + a32 * b23;
+                d[i + 11 * ds] = a03 * b20 + a13 * b21 + a23 * b22 + a33 * b23;
+                d[i + 12 * ds] = a00 * b30 + a10 * b31 + a20 * b32 + a30 * b33;
+                d[i + 13 * ds] = a01 * b30 + a11 * b31 + a21 * b32 + a31 * b33;
+                d[i + 14 * ds] = a02 * b30 + a12 * b31 + a22 * b32 + a32 * b33;
+                d[i + 15 * ds] = a03 * b30 + a13 * b31 + a23 * b32 + a33 * b33;
+            }
+        }
+
+        public void mulAffine(float[] a, int as, float[] b, int bs, float[] d, int ds, int from, int to) {
+            for (int i = from; i < to; i++) {
+                float a00 = a[i];
+                float a01 = a[i + as];
+                float a02 = a[i + 2 * as];
+                float a10 = a[i + 4 * as];
+                float a11 = a[i + 5 * as];
+                float a12 = a[i + 6 * as];
+                float a20 = a[i + 8 * as];
+                float a21 = a[i + 9 * as];
+                float a22 = a[i + 10 * as];
+                float a30 = a[i + 12 * as];
+                float a31 = a[i + 13 * as];
+                float a32 = a[i + 14 * as];
+                float b00 = b[i];
+                float b01 = b[i + bs];
+                float b02 = b[i + 2 * bs];
+                float b10 = b[i + 4 * bs];
+                float b11 = b[i + 5 * bs];
+                float b12 = b[i + 6 * bs];
+                float b20 = b[i + 8 * bs];
+                float b21 = b[i + 9 * bs];
+                float b22 = b[i + 10 * bs];
+                float b30 = b[i + 12 * bs];
+                float b31 = b[i + 13 * bs];
+                float b32 = b[i + 14 * bs];
+                d[i] = a00 * b00 + a10 * b01 + a20 * b02;
+                d[i + ds] = a01 * b00 + a11 * b01 + a21 * b02;
+                d[i + 2 * ds] = a02 * b00 + a12 * b01 + a22 * b02;
+                d[i + 3 * ds] = 0.0f;
+                d[i + 4 * ds] = a00 * b10 + a10 * b11 + a20 * b12;
+                d[i + 5 * ds] = a01 * b10 + a11 * b11 + a21 * b12;
+                d[i + 6 * ds] = a02 * b10 + a12 * b11 + a22 * b12;
+                d[i + 7 * ds] = 0.0f;
+                d[i + 8 * ds] = a00 * b20 + a10 * b21 + a20 * b22;
+                d[i + 9 * ds] = a01 * b20 + a11 * b21 + a21 * b22;
+                d[i + 10 * ds] = a02 * b20 + a12 * b21 + a22 * b22;
+                d[i + 11 * ds] = 0.0f;
+                d[i + 12 * ds] = a00 * b30 + a10 * b31 + a20 * b32 + a30;
+                d[i + 13 * ds] = a01 * b30 + a11 * b31 + a21 * b32 + a31;
+                d[i + 14 * ds] = a02 * b30 + a12 * b31 + a22 * b32 + a32;
+                d[i + 15 * ds] = 1.0f;
+            }
+        }
+
+        public void mulLocalGeneric(float[] l, float[] b, int bs, float[] d, int ds, int from, int to) {
+            float l00 = l[0];
+            float l01 = l[1];
+            float l02 = l[2];
+            float l03 = l[3];
+            float l10 = l[4];
+            float l11 = l[5];
+            float l12 = l[6];
+            float l13 = l[7];
+            float l20 = l[8];
+            float l21 = l[9];
+            float l22 = l[10];
+            float l23 = l[11];
+            float l30 = l[12];
+            float l31 = l[13];
+            float l32 = l[14];
+            float l33 = l[15];
+            for (int i = from; i < to; i++) {
+                float b00 = b[i];
+                float b01 = b[i + bs];
+                float b02 = b[i + 2 * bs];
+                float b03 = b[i + 3 * bs];
+                float b10 = b[i + 4 * bs];
+                float b11 = b[i + 5 * bs];
+                float b12 = b[i + 6 * bs];
+                float b13 = b[i + 7 * bs];
+                float b20 = b[i + 8 * bs];
+                float b21 = b[i + 9 * bs];
+                float b22 = b[i + 10 * bs];
+                float b23 = b[i + 11 * bs];
+                float b30 = b[i + 12 * bs];
+                float b31 = b[i + 13 * bs];
+                float b32 = b[i + 14 * bs];
+                float b33 = b[i + 15 * bs];
+                d[i] = l00 * b00 + l10 * b01 + l20 * b02 + l30 * b03;
+                d[i + ds] = l01 * b00 + l11 * b01 + l21 * b02 + l31 * b03;
+                d[i + 2 * ds] = l02 * b00 + l12 * b01 + l22 * b02 + l32 * b03;
+                d[i + 3 * ds] = l03 * b00 + l13 * b01 + l23 * b02 + l33 * b03;
+                d[i + 4 * ds] = l00 * b10 + l10 * b11 + l20 * b12 + l30 * b13;
+                d[i + 5 * ds] = l01 * b10 + l11 * b11 + l21 * b12 + l31 * b13;
+                d[i + 6 * ds] = l02 * b10 + l12 * b11 + l22 * b12 + l32 * b13;
+                d[i + 7 * ds] = l03 * b10 + l13 * b11 + l23 * b12 + l33 * b13;
+                d[i + 8 * ds] = l00 * b20 + l10 * b21 + l20 * b22 + l30 * b23;
+                d[i + 9 * ds] = l01 * b20 + l11 * b21 + l21 * b22 + l31 * b23;
+                d[i + 10 * ds] = l02 * b20 + l12 * b21 + l22 * b22 + l32 * b23;
+                d[i + 11 * ds] = l03 * b20 + l13 * b21 + l23 * b22 + l33 * b23;
+                d[i + 12 * ds] = l00 * b30 + l10 * b31 + l20 * b32 + l30 * b33;
+                d[i + 13 * ds] = l01 * b30 + l11 * b31 + l21 * b32 + l31 * b33;
+                d[i + 14 * ds] = l02 * b30 + l12 * b31 + l22 * b32 + l32 * b33;
+                d[i + 15 * ds] = l03 * b30 + l13 * b31 + l23 * b32 + l33 * b33;
+            }
+        }
+
+        public void mulLocalAffine(float[] l, float[] b, int bs, float[] d, int ds, int from, int to) {
+            float l00 = l[0];
+            float l01 = l[1];
+            float l02 = l[2];
+            float l03 = l[3];
+            float l10 = l[4];
+            float l11 = l[5];
+            float l12 = l[6];
+            float l13 = l[7];
+            float l20 = l[8];
+            float l21 = l[9];
+            float l22 = l[10];
+            float l23 = l[11];
+            float l30 = l[12];
+            float l31 = l[13];
+            float l32 = l[14];
+            float l33 = l[15];
+            for (int i = from; i < to; i++) {
+                float b00 = b[i];
+                float b01 = b[i + bs];
+                float b02 = b[i + 2 * bs];
+                float b10 = b[i + 4 * bs];
+                float b11 = b[i + 5 * bs];
+                float b12 = b[i + 6 * bs];
+                float b20 = b[i + 8 * bs];
+                float b21 = b[i + 9 * bs];
+                float b22 = b[i + 10 * bs];
+                float b30 = b[i + 12 * bs];
+                float b31 = b[i + 13 * bs];
+                float b32 = b[i + 14 * bs];
+                d[i] = l00 * b00 + l10 * b01 + l20 * b02;
+                d[i + ds] = l01 * b00 + l11 * b01 + l21 * b02;
+                d[i + 2 * ds] = l02 * b00 + l12 * b01 + l22 * b02;
+                d[i + 3 * ds] = 0.0f;
+                d[i + 4 * ds] = l00 * b10 + l10 * b11 + l20 * b12;
+                d[i + 5 * ds] = l01 * b10 + l11 * b11 + l21 * b12;
+                d[i + 6 * ds] = l02 * b10 + l12 * b11 + l22 * b12;
+                d[i + 7 * ds] = 0.0f;
+                d[i + 8 * ds] = l00 * b20 + l10 * b21 + l20 * b22;
+                d[i + 9 * ds] = l01 * b20 + l11 * b21 + l21 * b22;
+                d[i + 10 * ds] = l02 * b20 + l12 * b21 + l22 * b22;
+                d[i + 11 * ds] = 0.0f;
+                d[i + 12 * ds] = l00 * b30 + l10 * b31 + l20 * b32 + l30;
+                d[i + 13 * ds] = l01 * b30 + l11 * b31 + l21 * b32 + l31;
+                d[i + 14 * ds] = l02 * b30 + l12 * b31 + l22 * b32 + l32;
+                d[i + 15 * ds] = 1.0f;
+            }
+        }
+
+        public void invertAffine(float[] a, int as, float[] d, int ds, int from, int to) {
+            for (int i = from; i < to; i++) {
+                float m00 = a[i], m01 = a[i + as], m02 = a[i + 2 * as];
+                float m10 = a[i + 4 * as], m11 = a[i + 5 * as], m12 = a[i + 6 * as];
+                float m20 = a[i + 8 * as], m21 = a[i + 9 * as], m22 = a[i + 10 * as];
+                float m30 = a[i + 12 * as], m31 = a[i + 13 * as], m32 = a[i + 14 * as];
+                float m11m00 = m00 * m11, m10m01 = m01 * m10, m10m02 = m02 * m10;
+                float m12m00 = m00 * m12, m12m01 = m01 * m12, m11m02 = m02 * m11;
+                float det = (m11m00 - m10m01) * m22 + (m10m02 - m12m00) * m21 + (m12m01 - m11m02) * m20;
+                float s = 1.0f / det;
+                float m10m22 = m10 * m22, m10m21 = m10 * m21, m11m22 = m11 * m22;
+                float m11m20 = m11 * m20, m12m21 = m12 * m21, m12m20 = m12 * m20;
+                float m20m02 = m20 * m02, m20m01 = m20 * m01, m21m02 = m21 * m02;
+                float m21m00 = m21 * m00, m22m01 = m22 * m01, m22m00 = m22 * m00;
+                d[i] = (m11m22 - m12m21) * s;
+                d[i + ds] = (m21m02 - m22m01) * s;
+                d[i + 2 * ds] = (m12m01 - m11m02) * s;
+                d[i + 3 * ds] = 0.0f;
+                d[i + 4 * ds] = (m12m20 - m10m22) * s;
+                d[i + 5 * ds] = (m22m00 - m20m02) * s;
+                d[i + 6 * ds] = (m10m02 - m12m00) * s;
+                d[i + 7 * ds] = 0.0f;
+                d[i + 8 * ds] = (m10m21 - m11m20) * s;
+                d[i + 9 * ds] = (m20m01 - m21m00) * s;
+                d[i + 10 * ds] = (m11m00 - m10m01) * s;
+                d[i + 11 * ds] = 0.0f;
+                d[i + 12 * ds] = (m10m22 * m31 - m10m21 * m32 + m11m20 * m32 - m11m22 * m30 + m12m21 * m30 - m12m20 * m31) * s;
+                d[i + 13 * ds] = (m20m02 * m31 - m20m01 * m32 + m21m00 * m32 - m21m02 * m30 + m22m01 * m30 - m22m00 * m31) * s;
+                d[i + 14 * ds] = (m11m02 * m30 - m12m01 * m30 + m12m00 * m31 - m10m02 * m31 + m10m01 * m32 - m11m00 * m32) * s;
+                d[i + 15 * ds] = 1.0f;
+            }
+        }
+    }
+}
@@ -30,6 +30,8 @@ import java.lang.reflect.Field;
 import java.nio.*;
 //#endif
 
+import org.joml.DualQuaterniond;
+import org.joml.DualQuaternionf;
 import org.joml.Matrix2f;
 import org.joml.Matrix2d;
 import org.joml.Matrix3d;
@@ -64,19 +66,34 @@ public abstract class MemUtil {
     private static MemUtil createInstance() {
         MemUtil accessor;
 //#ifdef __NHAS_UNSAFE__
-        accessor = new MemUtilNIO();
+        accessor = createFallbackInstance();
 //#else
         try {
             if (Options.NO_UNSAFE)
-                accessor = new MemUtilNIO();
+                accessor = createFallbackInstance();
             else
                 accessor = new MemUtilUnsafe();
         } catch (Throwable e) {
-            accessor = new MemUtilNIO();
+            accessor = createFallbackInstance();
         }
 //#endif
         return accessor;
     }
+    private static MemUtil createFallbackInstance() {
+//#ifndef __GWT__
+        if (Options.USE_FFM) {
+            try {
+                /*
+                 * The MemorySegment implementation only exists in the Java 22+ section of the multi-release jar.
+                 */
+                return (MemUtil) Class.forName("org.joml.internal.MemUtilFFM").getDeclaredConstructor(new Class[0]).newInstance(new Object[0]);
+            } catch (Throwable e) {
+                // fall back to NIO
+            }
+        }
+//#endif
+        return new MemUtilNIO();
+    }
 
 //#ifdef __HAS_NIO__
     public abstract void put(Matrix4f m, int offset, FloatBuffer dest);
@@ -219,6 +236,14 @@ public abstract class MemUtil {
     public abstract void get(Vector2d dst, int offset, ByteBuffer src);
     public abstract void get(Vector2i dst, int offset, IntBuffer src);
     public abstract void get(Vector2i dst, int offset, ByteBuffer src);
+    public abstract void put(DualQuaternionf src, int offset, FloatBuffer dest);
+    public abstract void put(DualQuaternionf src, int offset, ByteBuffer dest);
+    public abstract void put(DualQuaterniond src, int offset, DoubleBuffer dest);
+    public abstract void put(DualQuaterniond src, int offset, ByteBuffer dest);
+    public abstract void get(DualQuaternionf dst, int offset, FloatBuffer src);
+    public abstract void get(DualQuaternionf dst, int offset, ByteBuffer src);
+    public abstract void get(DualQuaterniond dst, int offset, DoubleBuffer src);
+    public abstract void get(DualQuaterniond dst, int offset, ByteBuffer src);
 //#endif
 
     public abstract void copy(Matrix4f src, Matrix4f dest);
@@ -1621,6 +1646,50 @@ public abstract class MemUtil {
             dest.putFloat(offset+12, src.w);
         }
 
+        public void put(DualQuaternionf src, int offset, FloatBuffer dest) {
+            dest.put(offset,   src.x);
+            dest.put(offset+1, src.y);
+            dest.put(offset+2, src.z);
+            dest.put(offset+3, src.w);
+            dest.put(offset+4, src.dx);
+            dest.put(offset+5, src.dy);
+            dest.put(offset+6, src.dz);
+            dest.put(offset+7, src.dw);
+        }
+
+        public void put(DualQuaternionf src, int offset, ByteBuffer dest) {
+            dest.putFloat(offset,    src.x);
+            dest.putFloat(offset+4,  src.y);
+            dest.putFloat(offset+8,  src.z);
+            dest.putFloat(offset+12, src.w);
+            dest.putFloat(offset+16, src.dx);
+            dest.putFloat(offset+20, src.dy);
+            dest.putFloat(offset+24, src.dz);
+            dest.putFloat(offset+28, src.dw);
+        }
+
+        public void put(DualQuaterniond src, int offset, DoubleBuffer dest) {
+            dest.put(offset,   src.x);
+            dest.put(offset+1, src.y);
+            dest.put(offset+2, src.z);
+            dest.put(offset+3, src.w);
+            dest.put(offset+4, src.dx);
+            dest.put(offset+5, src.dy);
+            dest.put(offset+6, src.dz);
+            dest.put(offset+7, src.dw);
+        }
+
+        public void put(DualQuaterniond src, int offset, ByteBuffer dest) {
+            dest.putDouble(offset,    src.x);
+            dest.putDouble(offset+8,  src.y);
+            dest.putDouble(offset+16, src.z);
+            dest.putDouble(offset+24, src.w);
+            dest.putDouble(offset+32, src.dx);
+            dest.putDouble(offset+40, src.dy);
+            dest.putDouble(offset+48, src.dz);
+            dest.putDouble(offset+56, src.dw);
+        }
+
         public void put(Vector4i src, int offset, IntBuffer dest) {
             dest.put(offset,   src.x);
             dest.put(offset+1, src.y);
@@ -2095,6 +2164,50 @@ public abstract class MemUtil {
             dst.w = src.getFloat(offset+12);
         }
 
+        public void get(DualQuaternionf dst, int offset, FloatBuffer src) {
+            dst.x = src.get(offset);
+            dst.y = src.get(offset+1);
+            dst.z = src.get(offset+2);
+            dst.w = src.get(offset+3);
+            dst.dx = src.get(offset+4);
+            dst.dy = src.get(offset+5);
+            dst.dz = src.get(offset+6);
+            dst.dw = src.get(offset+7);
+        }
+
+        public void get(DualQuaternionf dst, int offset, ByteBuffer src) {
+            dst.x = src.getFloat(offset);
+            dst.y = src.getFloat(offset+4);
+            dst.z = src.getFloat(offset+8);
+            dst.w = src.getFloat(offset+12);
+            dst.dx = src.getFloat(offset+16);
+            dst.dy = src.getFloat(offset+20);
+            dst.dz = src.getFloat(offset+24);
+            dst.dw = src.getFloat(offset+28);
+        }
+
+        public void get(DualQuaterniond dst, int offset, DoubleBuffer src) {
+            dst.x = src.get(offset);
+            dst.y = src.get(offset+1);
+            dst.z = src.get(offset+2);
+            dst.w = src.get(offset+3);
+            dst.dx = src.get(offset+4);
+            dst.dy = src.get(offset+5);
+            dst.dz = src.get(offset+6);
+            dst.dw = src.get(offset+7);
+        }
+
+        public void get(DualQuaterniond dst, int offset, ByteBuffer src) {
+            dst.x = src.getDouble(offset);
+            dst.y = src.getDouble(offset+8);
+            dst.z = src.getDouble(offset+16);
+            dst.w = src.getDouble(offset+24);
+            dst.dx = src.getDouble(offset+32);
+            dst.dy = src.getDouble(offset+40);
+            dst.dz = src.getDouble(offset+48);
+            dst.dw = src.getDouble(offset+56);
+        }
+
         public void get(Vector4i dst, int offset, IntBuffer src) {
             dst.x = src.get(offset);
             dst.y = src.get(offset+1);
@@ -4071,6 +4184,28 @@ public abstract class MemUtil {
             UNSAFE.putFloat(null, destAddr+12, src.w);
         }
 
+        public void put(DualQuaternionf src, long destAddr) {
+            UNSAFE.putFloat(null, destAddr,    src.x);
+            UNSAFE.putFloat(null, destAddr+4,  src.y);
+            UNSAFE.putFloat(null, destAddr+8,  src.z);
+            UNSAFE.putFloat(null, destAddr+12, src.w);
+            UNSAFE.putFloat(null, destAddr+16, src.dx);
+            UNSAFE.putFloat(null, destAddr+20, src.dy);
+            UNSAFE.putFloat(null, destAddr+24, src.dz);
+            UNSAFE.putFloat(null, destAddr+28, src.dw);
+        }
+
+        public void put(DualQuaterniond src, long destAddr) {
+            UNSAFE.putDouble(null, destAddr,    src.x);
+            UNSAFE.putDouble(null, destAddr+8,  src.y);
+            UNSAFE.putDouble(null, destAddr+16, src.z);
+            UNSAFE.putDouble(null, destAddr+24, src.w);
+            UNSAFE.putDouble(null, destAddr+32, src.dx);
+            UNSAFE.putDouble(null, destAddr+40, src.dy);
+            UNSAFE.putDouble(null, destAddr+48, src.dz);
+            UNSAFE.putDouble(null, destAddr+56, src.dw);
+        }
+
         public void put(Vector4i src, long destAddr) {
             UNSAFE.putInt(null, destAddr,    src.x);
             UNSAFE.putInt(null, destAddr+4,  src.y);
@@ -4276,6 +4411,28 @@ public abstract class MemUtil {
             dst.w = UNSAFE.getFloat(null, srcAddr+12);
         }
 
+        public void get(DualQuaternionf dst, long srcAddr) {
+            dst.x = UNSAFE.getFloat(null, srcAddr);
+            dst.y = UNSAFE.getFloat(null, srcAddr+4);
+            dst.z = UNSAFE.getFloat(null, srcAddr+8);
+            dst.w = UNSAFE.getFloat(null, srcAddr+12);
+            dst.dx = UNSAFE.getFloat(null, srcAddr+16);
+            dst.dy = UNSAFE.getFloat(null, srcAddr+20);
+            dst.dz = UNSAFE.getFloat(null, srcAddr+24);
+            dst.dw = UNSAFE.getFloat(null, srcAddr+28);
+        }
+
+        public void get(DualQuaterniond dst, long srcAddr) {
+            dst.x = UNSAFE.getDouble(null, srcAddr);
+            dst.y = UNSAFE.getDouble(null, srcAddr+8);
+            dst.z = UNSAFE.getDouble(null, srcAddr+16);
+            dst.w = UNSAFE.getDouble(null, srcAddr+24);
+            dst.dx = UNSAFE.getDouble(null, srcAddr+32);
+            dst.dy = UNSAFE.getDouble(null, srcAddr+40);
+            dst.dz = UNSAFE.getDouble(null, srcAddr+48);
+            dst.dw = UNSAFE.getDouble(null, srcAddr+56);
+        }
+
         public void get(Vector4i dst, long srcAddr) {
             dst.x = UNSAFE.getInt(null, srcAddr);
             dst.y = UNSAFE.getInt(null, srcAddr+4);
@@ -5243,6 +5400,46 @@ public abstract class MemUtil {
             put(src, addressOf(dest) + offset);
         }
 
+        public void put(DualQuaternionf src, int offset, FloatBuffer dest) {
+            if (Options.DEBUG) {
+                if (!dest.isDirect())
+                    throwNoDirectBufferException();
+                if (dest.capacity() - offset < 8)
+                    throw new BufferOverflowException();
+            }
+            put(src, addressOf(dest) + (offset << 2));
+        }
+
+        public void put(DualQuaternionf src, int offset, ByteBuffer dest) {
+            if (Options.DEBUG) {
+                if (!dest.isDirect())
+                    throwNoDirectBufferException();
+                if (dest.capacity() - offset < 8 << 2)
+                    throw new BufferOverflowException();
+            }
+            put(src, addressOf(dest) + offset);
+        }
+
+        public void put(DualQuaterniond src, int offset, DoubleBuffer dest) {
+            if (Options.DEBUG) {
+                if (!dest.isDirect())
+                    throwNoDirectBufferException();
+                if (dest.capacity() - offset < 8)
+                    throw new BufferOverflowException();
+            }
+            put(src, addressOf(dest) + (offset << 3));
+        }
+
+        public void put(DualQuaterniond src, int offset, ByteBuffer dest) {
+            if (Options.DEBUG) {
+                if (!dest.isDirect())
+                    throwNoDirectBufferException();
+                if (dest.capacity() - offset < 8 << 3)
+                    throw new BufferOverflowException();
+            }
+            put(src, addressOf(dest) + offset);
+        }
+
         public void put(Vector4i src, int offset, IntBuffer dest) {
             if (Options.DEBUG) {
                 if (!dest.isDirect())
@@ -5723,6 +5920,46 @@ public abstract class MemUtil {
             get(dst, addressOf(src) + offset);
         }
 
+        public void get(DualQuaternionf dst, int offset, FloatBuffer src) {
+            if (Options.DEBUG) {
+                if (!src.isDirect())
+                    throwNoDirectBufferException();
+                if (src.capacity() - offset < 8)
+                    throw new BufferUnderflowException();
+            }
+            get(dst, addressOf(src) + (offset << 2));
+        }
+
+        public void get(DualQuaternionf dst, int offset, ByteBuffer src) {
+            if (Options.DEBUG) {
+                if (!src.isDirect())
+                    throwNoDirectBufferException();
+                if (src.capacity() - offset < 8 << 2)
+                    throw new BufferUnderflowException();
+            }
+            get(dst, addressOf(src) + offset);
+        }
+
+        public void get(DualQuaterniond dst, int offset, DoubleBuffer src) {
+            if (Options.DEBUG) {
+                if (!src.isDirect())
+                    throwNoDirectBufferException();
+                if (src.capacity() - offset < 8)
+                    throw new BufferUnderflowException();
+            }
+            get(dst, addressOf(src) + (offset << 3));
+        }
+
+        public void get(DualQuaterniond dst, int offset, ByteBuffer src) {
+            if (Options.DEBUG) {
+                if (!src.isDirect())
+                    throwNoDirectBufferException();
+                if (src.capacity() - offset < 8 << 3)
+                    throw new BufferUnderflowException();
+            }
+            get(dst, addressOf(src) + offset);
+        }
+
         public void get(Vector4i dst, int offset, IntBuffer src) {
             if (Options.DEBUG) {
                 if (!src.isDirect())
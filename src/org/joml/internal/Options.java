@@ -43,11 +43,42 @@ public final class Options {
      */
     public static final boolean DEBUG = hasOption(System.getProperty("joml.debug", "false"));
 
+//#ifndef __GWT__
+    /**
+     * Whether to use java.lang.foreign.MemorySegment instead of sun.misc.Unsafe when copying memory with MemUtil.
+     * This requires a Java 22+ runtime and implies {@link #NO_UNSAFE}.
+     * <p>
+     * This is meant for applications which must not use sun.misc.Unsafe. It is slower than both sun.misc.Unsafe
+     * and plain NIO buffer accesses, so it is not used unless requested.
+     */
+    public static final boolean USE_FFM = hasOption(System.getProperty("joml.useffm", "false"));
+//#endif
+
 //#ifdef __HAS_UNSAFE__
     /**
      * Whether <i>not</i> to use sun.misc.Unsafe when copying memory with MemUtil.
      */
-    public static final boolean NO_UNSAFE = hasOption(System.getProperty("joml.nounsafe", "false"));
+    public static final boolean NO_UNSAFE = hasOption(System.getProperty("joml.nounsafe", "false")) || USE_FFM;
+//#endif
+
+//#ifndef __GWT__
+    /**
+     * Whether <i>not</i> to use the incubating Vector API (module jdk.incubator.vector) for bulk operations, even when it is available.
+     */
+    public static final boolean NO_VECTOR_API = hasOption(System.getProperty("joml.novectorapi", "false"));
+//#endif
+
+//#ifndef __GWT__
+    /**
+     * Whether to use java.lang.Math.fma() in matrix, vector and quaternion operations on Java 9+, or <code>null</code> when
+     * the property <code>joml.usefma</code> is not set.
+     * <p>
+     * When not set, java.lang.Math.fma() is used only if the JVM compiles it to a fused multiply-add instruction, which the
+     * Java 9+ implementation determines from the <code>UseFMA</code> flag of HotSpot. On JVMs not providing this flag it is
+     * used only on AArch64, where fused multiply-add is mandatory, since the software fallback of java.lang.Math.fma() on CPUs
+     * without FMA instructions is orders of magnitude slower than a separate multiplication and addition.
+     */
+    public static final Boolean USE_FMA = optionalOption(System.getProperty("joml.usefma"));
 //#endif
 
     /**
@@ -118,4 +149,12 @@ public final class Options {
         return Boolean.valueOf(v).booleanValue();
     }
 
+//#ifndef __GWT__
+    private static Boolean optionalOption(String v) {
+        if (v == null)
+            return null;
+        return hasOption(v) ? Boolean.TRUE : Boolean.FALSE;
+    }
+//#endif
+
 }
@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.internal;
+
+//#ifndef __GWT__
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits index ranges into blocks which are processed by a {@link ForkJoinPool}.
+ * <p>
+ * The common pool is used when running on Java 8 or later. On Java 7 a dedicated pool is created lazily.
+ * This class must only be loaded by methods explicitly requesting parallel execution, since it requires Java 7 or later.
+ * <p>
+ * This class is used internally throughout JOML, is undocumented and is subject to change.
+ * Use with extreme caution!
+ */
+public final class Parallel {
+
+    /**
+     * Processes a half-open range <code>[from, to)</code> of indices.
+     */
+    public interface Range {
+        void run(int from, int to);
+    }
+
+    private static ForkJoinPool pool;
+
+    private Parallel() {
+    }
+
+    private static synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            try {
+                Method commonPool = ForkJoinPool.class.getMethod("commonPool", new Class[0]);
+                pool = (ForkJoinPool) commonPool.invoke(null, new Object[0]);
+            } catch (Exception e) {
+                pool = new ForkJoinPool();
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Return the number of threads of the {@link ForkJoinPool} that {@link #run(int, int, Range)} uses when called from the current thread,
+     * which is the pool the current thread belongs to, if any.
+     * 
+     * @return the parallelism of that pool
+     */
+    public static int parallelism() {
+        ForkJoinPool current = ForkJoinTask.getPool();
+        return current != null ? current.getParallelism() : pool().getParallelism();
+    }
+
+    /**
+     * Run the given <code>range</code> for all indices in <code>[0, count)</code>, split into ranges whose start is a multiple of
+     * <code>grain</code> and which contain at most <code>grain</code> indices, and wait for all of them to complete.
+     * <p>
+     * If <code>count</code> is not greater than <code>grain</code>, then the range is run in the calling thread.
+     * 
+     * @param count
+     *          the number of indices
+     * @param grain
+     *          the maximum number of indices processed by a single task
+     * @param range
+     *          the {@link Range} to run
+     */
+    public static void run(int count, int grain, Range range) {
+        if (grain < 1)
+            throw new IllegalArgumentException("grain");
+        if (count <= grain) {
+            if (count > 0)
+                range.run(0, count);
+            return;
+        }
+        Task task = new Task(range, 0, (count + grain - 1) / grain, grain, count);
+        if (ForkJoinTask.inForkJoinPool())
+            task.invoke();
+        else
+            pool().invoke(task);
+    }
+
+    private static final class Task extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Range range;
+        private final int fromBlock, toBlock, grain, count;
+
+        Task(Range range, int fromBlock, int toBlock, int grain, int count) {
+            this.range = range;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+            this.grain = grain;
+            this.count = count;
+        }
+
+        protected void compute() {
+            if (toBlock - fromBlock == 1) {
+                range.run(fromBlock * grain, Math.min(toBlock * grain, count));
+                return;
+            }
+            int mid = (fromBlock + toBlock) >>> 1;
+            invokeAll(new Task(range, fromBlock, mid, grain, count), new Task(range, mid, toBlock, grain, count));
+        }
+    }
+
+}
+
+//#endif
@@ -26,11 +26,12 @@ package org.joml.sampling;
 //#ifdef __HAS_NIO__
 import java.nio.FloatBuffer;
 //#endif
-import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.joml.Random;
-import org.joml.Vector2f;
-import org.joml.Vector3f;
+//#ifndef __GWT__
+import org.joml.internal.Parallel;
+//#endif
 
 /**
  * Creates samples using the "Best Candidate" algorithm.
@@ -44,248 +45,312 @@ public class BestCandidateSampling {
     }
 
     /**
-     * Generates Best Candidate samples on a unit sphere.
+     * Base class of the uniform grids used to accelerate the 1-nearest neighbor queries of the "best candidate" generators.
      * <p>
-     * References:
-     * <ul>
-     * <li><a href="https://arxiv.org/ftp/cs/papers/0701/0701164.pdf">Indexing the Sphere with the Hierarchical Triangular Mesh</a>
-     * <li><a href="http://math.stackexchange.com/questions/1244512/point-in-a-spherical-triangle-test">Point in a spherical triangle test</a>
-     * </ul>
-     * 
-     * @author Kai Burjack
+     * All samples are kept in a single flat <code>float</code> array, and the samples of each grid cell are linked via
+     * <code>int</code> indices into that array, so that neither inserting a sample nor querying the grid allocates any objects.
      */
-    public static class Sphere {
+    private static abstract class Grid {
         /**
-         * Implementation of a Hierarchical Triangular Mesh structure to index the sample points on the unit sphere for accelerating 1-nearest neighbor searches.
-         * 
-         * @author Kai Burjack
+         * The minimum number of candidates scored by a single task in {@link #select(float[], int, boolean)}.
          */
-        private static final class Node {
-            private static final int MAX_OBJECTS_PER_NODE = 32;
-
-            private float v0x, v0y, v0z;
-            private float v1x, v1y, v1z;
-            private float v2x, v2y, v2z;
-            private float cx, cy, cz;
-            private float arc;
-
-            private ArrayList objects;
-            private Node[] children;
-
-            Node() {
-                this.children = new Node[8];
-                float s = 1f;
-                this.arc = 2.0f * (float) Math.PI;
-                /*
-                 * See: https://arxiv.org/ftp/cs/papers/0701/0701164.pdf
-                 */
-                this.children[0] = new Node(-s, 0, 0, 0, 0, s, 0, s, 0);
-                this.children[1] = new Node(0, 0, s, s, 0, 0, 0, s, 0);
-                this.children[2] = new Node(s, 0, 0, 0, 0, -s, 0, s, 0);
-                this.children[3] = new Node(0, 0, -s, -s, 0, 0, 0, s, 0);
-                this.children[4] = new Node(-s, 0, 0, 0, -s, 0, 0, 0, s);
-                this.children[5] = new Node(0, 0, s, 0, -s, 0, s, 0, 0);
-                this.children[6] = new Node(s, 0, 0, 0, -s, 0, 0, 0, -s);
-                this.children[7] = new Node(0, 0, -s, 0, -s, 0, -s, 0, 0);
-            }
+        private static final int PARALLEL_GRAIN = 8;
 
-            private Node(float x0, float y0, float z0, float x1, float y1, float z1, float x2, float y2, float z2) {
-                this.v0x = x0;
-                this.v0y = y0;
-                this.v0z = z0;
-                this.v1x = x1;
-                this.v1y = y1;
-                this.v1z = z1;
-                this.v2x = x2;
-                this.v2y = y2;
-                this.v2z = z2;
-                cx = (v0x + v1x + v2x) / 3.0f;
-                cy = (v0y + v1y + v2y) / 3.0f;
-                cz = (v0z + v1z + v2z) / 3.0f;
-                float invCLen = 1.0f / (float) Math.sqrt(cx * cx + cy * cy + cz * cz);
-                cx *= invCLen;
-                cy *= invCLen;
-                cz *= invCLen;
-                // Compute maximum radius around triangle centroid
-                float arc1 = greatCircleDist(cx, cy, cz, v0x, v0y, v0z);
-                float arc2 = greatCircleDist(cx, cy, cz, v1x, v1y, v1z);
-                float arc3 = greatCircleDist(cx, cy, cz, v2x, v2y, v2z);
-                float dist = Math.max(Math.max(arc1, arc2), arc3);
-                /*
-                 * Convert radius into diameter, but also take into account the linear
-                 * arccos approximation we use.
-                 * This value was obtained empirically!
-                 */
-                dist *= 1.7f;
-                this.arc = dist;
-            }
+        private final int[] bestIndices;
+        private final float[] bestDistances;
 
-            private void split() {
-                float w0x = v1x + v2x;
-                float w0y = v1y + v2y;
-                float w0z = v1z + v2z;
-                float len0 = 1.0f / (float) Math.sqrt(w0x * w0x + w0y * w0y + w0z * w0z);
-                w0x *= len0;
-                w0y *= len0;
-                w0z *= len0;
-                float w1x = v0x + v2x;
-                float w1y = v0y + v2y;
-                float w1z = v0z + v2z;
-                float len1 = 1.0f / (float) Math.sqrt(w1x * w1x + w1y * w1y + w1z * w1z);
-                w1x *= len1;
-                w1y *= len1;
-                w1z *= len1;
-                float w2x = v0x + v1x;
-                float w2y = v0y + v1y;
-                float w2z = v0z + v1z;
-                float len2 = 1.0f / (float) Math.sqrt(w2x * w2x + w2y * w2y + w2z * w2z);
-                w2x *= len2;
-                w2y *= len2;
-                w2z *= len2;
-                children = new Node[4];
-                /*
-                 * See: https://arxiv.org/ftp/cs/papers/0701/0701164.pdf
-                 */
-                children[0] = new Node(v0x, v0y, v0z, w2x, w2y, w2z, w1x, w1y, w1z);
-                children[1] = new Node(v1x, v1y, v1z, w0x, w0y, w0z, w2x, w2y, w2z);
-                children[2] = new Node(v2x, v2y, v2z, w1x, w1y, w1z, w0x, w0y, w0z);
-                children[3] = new Node(w0x, w0y, w0z, w1x, w1y, w1z, w2x, w2y, w2z);
-            }
+        Grid(int numCandidates) {
+            int slots = Math.max(1, (numCandidates + PARALLEL_GRAIN - 1) / PARALLEL_GRAIN);
+            this.bestIndices = new int[slots];
+            this.bestDistances = new float[slots];
+        }
 
-            private void insertIntoChild(Vector3f o) {
-                for (int i = 0; i < children.length; i++) {
-                    Node c = children[i];
-                    /*
-                     * Idea: Test whether ray from origin towards point cuts triangle
-                     * 
-                     * See: http://math.stackexchange.com/questions/1244512/point-in-a-spherical-triangle-test
-                     */
-                    if (isPointOnSphericalTriangle(o.x, o.y, o.z, c.v0x, c.v0y, c.v0z, c.v1x, c.v1y, c.v1z, c.v2x, c.v2y, c.v2z, 1E-6f)) {
-                        c.insert(o);
-                        return;
-                    }
-                }
-            }
+        /**
+         * Compute the squared distance between the candidate at index <code>c</code> and its nearest sample.
+         * <p>
+         * If a sample closer than or equal to <code>lowerBound</code> is found, the search is cut short and the distance to that sample is returned.
+         * 
+         * @param candidates
+         *          the coordinates of all candidates
+         * @param c
+         *          the index of the candidate
+         * @param lowerBound
+         *          the squared distance below which the exact distance to the nearest sample is not needed
+         * @return the squared distance to the nearest sample or {@link Float#POSITIVE_INFINITY} if the grid is empty
+         */
+        abstract float nearest(float[] candidates, int c, float lowerBound);
 
-            void insert(Vector3f object) {
-                if (children != null) {
-                    insertIntoChild(object);
-                    return;
-                }
-                if (objects != null && objects.size() == MAX_OBJECTS_PER_NODE) {
-                    split();
-                    for (int i = 0; i < MAX_OBJECTS_PER_NODE; i++)
-                        insertIntoChild((Vector3f) objects.get(i));
-                    objects = null;
-                    insertIntoChild(object);
-                } else {
-                    if (objects == null)
-                        objects = new ArrayList(MAX_OBJECTS_PER_NODE);
-                    objects.add(object);
+        /**
+         * Determine the index of the first of the given candidates whose nearest sample is farthest away.
+         * 
+         * @param candidates
+         *          the coordinates of all candidates
+         * @param count
+         *          the number of candidates
+         * @param parallel
+         *          whether to score the candidates in parallel
+         * @return the index of the best candidate
+         */
+        final int select(float[] candidates, int count, boolean parallel) {
+//#ifndef __GWT__
+            if (parallel)
+                return selectParallel(candidates, count);
+//#endif
+            select(candidates, 0, count, 0);
+            return bestIndices[0];
+        }
+
+        private void select(float[] candidates, int from, int to, int slot) {
+            int best = from;
+            float bestDist = 0.0f;
+            for (int c = from; c < to; c++) {
+                float d = nearest(candidates, c, bestDist);
+                if (d > bestDist) {
+                    bestDist = d;
+                    best = c;
                 }
             }
+            bestIndices[slot] = best;
+            bestDistances[slot] = bestDist;
+        }
 
-            /**
-             * This is essentially a ray cast from the origin of the sphere to the point to test and then checking whether that ray goes through the triangle.
-             * <p>
-             * Reference: <a href="http://www.graphics.cornell.edu/pubs/1997/MT97.pdf">Fast,
-             * Minimum Storage Ray/Triangle Intersection</a>
+//#ifndef __GWT__
+        private int selectParallel(final float[] candidates, int count) {
+            int processors = Runtime.getRuntime().availableProcessors();
+            final int grain = Math.max(PARALLEL_GRAIN, (count + processors - 1) / processors);
+            Parallel.run(count, grain, new Parallel.Range() {
+                public void run(int from, int to) {
+                    select(candidates, from, to, from / grain);
+                }
+            });
+            /*
+             * Each range started with its own lower bound, so its best distance is exact. Taking the first range
+             * with the largest distance therefore selects the same candidate as the sequential scan.
              */
-            private static boolean isPointOnSphericalTriangle(float x, float y, float z, float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y,
-                    float v2Z, float epsilon) {
-                float edge1X = v1X - v0X;
-                float edge1Y = v1Y - v0Y;
-                float edge1Z = v1Z - v0Z;
-                float edge2X = v2X - v0X;
-                float edge2Y = v2Y - v0Y;
-                float edge2Z = v2Z - v0Z;
-                float pvecX = y * edge2Z - z * edge2Y;
-                float pvecY = z * edge2X - x * edge2Z;
-                float pvecZ = x * edge2Y - y * edge2X;
-                float det = edge1X * pvecX + edge1Y * pvecY + edge1Z * pvecZ;
-                if (det > -epsilon && det < epsilon)
-                    return false;
-                float tvecX = -v0X;
-                float tvecY = -v0Y;
-                float tvecZ = -v0Z;
-                float invDet = 1.0f / det;
-                float u = (tvecX * pvecX + tvecY * pvecY + tvecZ * pvecZ) * invDet;
-                if (u < 0.0f || u > 1.0f)
-                    return false;
-                float qvecX = tvecY * edge1Z - tvecZ * edge1Y;
-                float qvecY = tvecZ * edge1X - tvecX * edge1Z;
-                float qvecZ = tvecX * edge1Y - tvecY * edge1X;
-                float v = (x * qvecX + y * qvecY + z * qvecZ) * invDet;
-                if (v < 0.0f || u + v > 1.0f)
-                    return false;
-                float t = (edge2X * qvecX + edge2Y * qvecY + edge2Z * qvecZ) * invDet;
-                return t >= epsilon;
-            }
+            int slots = (count + grain - 1) / grain, best = 0;
+            for (int i = 1; i < slots; i++)
+                if (bestDistances[i] > bestDistances[best])
+                    best = i;
+            return bestIndices[best];
+        }
+//#endif
+    }
 
-            private int child(float x, float y, float z) {
-                for (int i = 0; i < children.length; i++) {
-                    Node c = children[i];
-                    if (isPointOnSphericalTriangle(x, y, z, c.v0x, c.v0y, c.v0z, c.v1x, c.v1y, c.v1z, c.v2x, c.v2y, c.v2z, 1E-5f))
-                        return i;
+    /**
+     * Uniform grid over a square for 1-nearest neighbor queries.
+     * <p>
+     * The resolution of the grid starts at a single cell and is doubled whenever the average number of samples per cell exceeds
+     * {@link #MAX_SAMPLES_PER_CELL}, so that a query only ever has to visit the few rings of cells around the query point.
+     */
+    private static final class Grid2d extends Grid {
+        private static final int MAX_SAMPLES_PER_CELL = 1;
+
+        private final float minX, minY, size;
+        private final float[] xys;
+        private final int[] next;
+        private int[] heads;
+        private int res, count;
+        private float cellSize, invCellSize;
+
+        Grid2d(float minX, float minY, float size, int numSamples, int numCandidates) {
+            super(numCandidates);
+            this.minX = minX;
+            this.minY = minY;
+            this.size = size;
+            this.xys = new float[numSamples * 2];
+            this.next = new int[numSamples];
+            resize(1);
+        }
+
+        private void resize(int res) {
+            this.res = res;
+            this.cellSize = size / res;
+            this.invCellSize = res / size;
+            this.heads = new int[res * res];
+            Arrays.fill(heads, -1);
+            for (int i = 0; i < count; i++)
+                link(i);
+        }
+
+        private int cell(float v) {
+            int c = (int) v;
+            return c < 0 ? 0 : c >= res ? res - 1 : c;
+        }
+
+        private void link(int i) {
+            int c = cell((xys[2 * i + 1] - minY) * invCellSize) * res + cell((xys[2 * i] - minX) * invCellSize);
+            next[i] = heads[c];
+            heads[c] = i;
+        }
+
+        void insert(float x, float y) {
+            if (count >= MAX_SAMPLES_PER_CELL * res * res)
+                resize(res * 2);
+            xys[2 * count] = x;
+            xys[2 * count + 1] = y;
+            link(count++);
+        }
+
+        float nearest(float[] candidates, int c, float lowerBound) {
+            float x = candidates[2 * c], y = candidates[2 * c + 1];
+            float px = (x - minX) * invCellSize, py = (y - minY) * invCellSize;
+            int cx = cell(px), cy = cell(py);
+            float fx = px - cx, fy = py - cy;
+            // distance from the query point to the border of its own cell, in units of cells
+            float edge = Math.min(Math.min(fx, 1.0f - fx), Math.min(fy, 1.0f - fy));
+            int maxR = Math.max(Math.max(cx, res - 1 - cx), Math.max(cy, res - 1 - cy));
+            float best = Float.POSITIVE_INFINITY;
+            for (int r = 0; r <= maxR; r++) {
+                if (r > 0) {
+                    // no sample in ring r can be closer than this
+                    float d = (r - 1 + edge) * cellSize;
+                    if (d * d >= best)
+                        break;
+                }
+                int x0 = cx - r, x1 = cx + r;
+                int j0 = Math.max(cy - r, 0), j1 = Math.min(cy + r, res - 1);
+                for (int j = j0; j <= j1; j++) {
+                    int step = j == cy - r || j == cy + r ? 1 : x1 - x0;
+                    for (int i = x0; i <= x1; i += step) {
+                        if (i < 0 || i >= res)
+                            continue;
+                        for (int s = heads[j * res + i]; s != -1; s = next[s]) {
+                            float dx = xys[2 * s] - x, dy = xys[2 * s + 1] - y;
+                            float d = dx * dx + dy * dy;
+                            if (d < best) {
+                                best = d;
+                                if (best <= lowerBound)
+                                    return best;
+                            }
+                        }
+                    }
                 }
-                // No child found. This can happen in 'nearest()' when querying possible nearby nodes
-                return 0;
             }
+            return best;
+        }
+    }
 
-            /**
-             * Reference: <a href="https://en.wikipedia.org/wiki/Great-circle_distance#Vector_version">https://en.wikipedia.org/</a>
+    /**
+     * Uniform grid over a cube for 1-nearest neighbor queries.
+     * <p>
+     * Like {@link Grid2d} the resolution is doubled whenever the average number of samples per occupied cell exceeds {@link #MAX_SAMPLES_PER_CELL}.
+     * When all samples lie on the unit sphere only the cells intersecting the sphere are counted as occupied.
+     */
+    private static final class Grid3d extends Grid {
+        private static final int MAX_SAMPLES_PER_CELL = 1;
+
+        private final float min, size;
+        private final boolean onSphere;
+        private final float[] xyzs;
+        private final int[] next;
+        private int[] heads;
+        private int res, count;
+        private float cellSize, invCellSize;
+
+        Grid3d(float min, float size, boolean onSphere, int numSamples, int numCandidates) {
+            super(numCandidates);
+            this.min = min;
+            this.size = size;
+            this.onSphere = onSphere;
+            this.xyzs = new float[numSamples * 3];
+            this.next = new int[numSamples];
+            resize(1);
+        }
+
+        private void resize(int res) {
+            this.res = res;
+            this.cellSize = size / res;
+            this.invCellSize = res / size;
+            this.heads = new int[res * res * res];
+            Arrays.fill(heads, -1);
+            for (int i = 0; i < count; i++)
+                link(i);
+        }
+
+        private int occupiedCells() {
+            /*
+             * The unit sphere has an area of 4*PI and a cell face has an area of (2/res)^2,
+             * so roughly PI*res^2 cells intersect the sphere.
              */
-            private float greatCircleDist(float x1, float y1, float z1, float x2, float y2, float z2) {
-                float dot = x1 * x2 + y1 * y2 + z1 * z2;
-                /*
-                 * Just use a linear function, because we (mostly) do less-than comparisons on the result.
-                 * We just need a linear function which:
-                 * f(-1) = PI
-                 * f(0)  = PI/2
-                 * f(1)  = 0
-                 */
-                return (float) (-Math.PIHalf * dot + Math.PIHalf);
-                //return (float) Math.acos(dot);
-            }
-
-            float nearest(float x, float y, float z) {
-                return nearest(x, y, z, Float.POSITIVE_INFINITY);
-            }
-            float nearest(float x, float y, float z, float n) {
-                float gcd = greatCircleDist(x, y, z, cx, cy, cz);
-                /*
-                 * If great-circle-distance between query point and centroid is larger than the current smallest distance 'n' plus the great circle diameter 'arc', we abort here,
-                 * because then it is not possible for any point in the triangle patch to be closer to the query point than 'n'.
-                 */
-                /*
-                 * Yes, we are subtracting two great-circle distances from one another here, which we did not even compute correctly
-                 * using our overly linear arccos approximation. But the 1.7 factor above will take care that we still stay conservative
-                 * enough here and not rejecting triangle patches which would contain samples nearer than 'n'.
-                 */
-                if (gcd - arc > n)
-                    return n;
-                float nr = n;
-                if (children != null) {
-                    int num = children.length, mod = num-1;
-                    for (int i = child(x, y, z), c = 0; c < num; i = (i + 1) & mod, c++) {
-                        float n1 = children[i].nearest(x, y, z, nr);
-                        nr = Math.min(n1, nr);
-                    }
-                    return nr;
+            return onSphere ? (int) (Math.PI * res * res) : res * res * res;
+        }
+
+        private int cell(float v) {
+            int c = (int) v;
+            return c < 0 ? 0 : c >= res ? res - 1 : c;
+        }
+
+        private void link(int i) {
+            int cx = cell((xyzs[3 * i] - min) * invCellSize);
+            int cy = cell((xyzs[3 * i + 1] - min) * invCellSize);
+            int cz = cell((xyzs[3 * i + 2] - min) * invCellSize);
+            int c = (cz * res + cy) * res + cx;
+            next[i] = heads[c];
+            heads[c] = i;
+        }
+
+        void insert(float x, float y, float z) {
+            if (count >= MAX_SAMPLES_PER_CELL * occupiedCells())
+                resize(res * 2);
+            xyzs[3 * count] = x;
+            xyzs[3 * count + 1] = y;
+            xyzs[3 * count + 2] = z;
+            link(count++);
+        }
+
+        float nearest(float[] candidates, int c, float lowerBound) {
+            float x = candidates[3 * c], y = candidates[3 * c + 1], z = candidates[3 * c + 2];
+            float px = (x - min) * invCellSize, py = (y - min) * invCellSize, pz = (z - min) * invCellSize;
+            int cx = cell(px), cy = cell(py), cz = cell(pz);
+            float fx = px - cx, fy = py - cy, fz = pz - cz;
+            // distance from the query point to the border of its own cell, in units of cells
+            float edge = Math.min(Math.min(Math.min(fx, 1.0f - fx), Math.min(fy, 1.0f - fy)), Math.min(fz, 1.0f - fz));
+            int maxR = Math.max(Math.max(Math.max(cx, res - 1 - cx), Math.max(cy, res - 1 - cy)), Math.max(cz, res - 1 - cz));
+            float best = Float.POSITIVE_INFINITY;
+            for (int r = 0; r <= maxR; r++) {
+                if (r > 0) {
+                    // no sample in shell r can be closer than this
+                    float d = (r - 1 + edge) * cellSize;
+                    if (d * d >= best)
+                        break;
                 }
-                for (int i = 0; objects != null && i < objects.size(); i++) {
-                    Vector3f o = (Vector3f) objects.get(i);
-                    float d = greatCircleDist(o.x, o.y, o.z, x, y, z);
-                    if (d < nr)
-                        nr = d;
+                int x0 = cx - r, x1 = cx + r;
+                int k0 = Math.max(cz - r, 0), k1 = Math.min(cz + r, res - 1);
+                int j0 = Math.max(cy - r, 0), j1 = Math.min(cy + r, res - 1);
+                for (int k = k0; k <= k1; k++) {
+                    boolean zFace = k == cz - r || k == cz + r;
+                    for (int j = j0; j <= j1; j++) {
+                        int step = zFace || j == cy - r || j == cy + r ? 1 : x1 - x0;
+                        for (int i = x0; i <= x1; i += step) {
+                            if (i < 0 || i >= res)
+                                continue;
+                            for (int s = heads[(k * res + j) * res + i]; s != -1; s = next[s]) {
+                                float dx = xyzs[3 * s] - x, dy = xyzs[3 * s + 1] - y, dz = xyzs[3 * s + 2] - z;
+                                float d = dx * dx + dy * dy + dz * dz;
+                                if (d < best) {
+                                    best = d;
+                                    if (best <= lowerBound)
+                                        return best;
+                                }
+                            }
+                        }
+                    }
                 }
-                return nr;
             }
+            return best;
         }
+    }
 
+    /**
+     * Generates Best Candidate samples on a unit sphere.
+     * 
+     * @author Kai Burjack
+     */
+    public static class Sphere {
         private boolean onHemisphere;
         private int numSamples;
         private int numCandidates = 60; // <- use a reasonable default
+        private boolean parallel;
         private long seed;
 
         /**
@@ -379,6 +444,25 @@ public class BestCandidateSampling {
             return this;
         }
 
+//#ifndef __GWT__
+        /**
+         * Set whether to score the <code>numCandidates</code> candidates of each generated sample in parallel
+         * using a {@link java.util.concurrent.ForkJoinPool}.
+         * <p>
+         * The generated samples are identical to the ones generated without parallel scoring.
+         * <p>
+         * This pays off for large numbers of samples and candidates. It requires Java 7 or later.
+         * 
+         * @param parallel
+         *          whether to score the candidates in parallel
+         * @return this
+         */
+        public Sphere parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+//#endif
+
         /**
          * Set whether to generate samples on a hemisphere around the <code>+Z</code> axis.
          * <p>
@@ -403,10 +487,10 @@ public class BestCandidateSampling {
          * @return this
          */
         public Sphere generate(Callback3d callback) {
+            Grid3d grid = new Grid3d(-1, 2, true, numSamples, numCandidates);
             Random rnd = new Random(seed);
-            Node otree = new Node();
+            float[] candidates = new float[numCandidates * 3];
             for (int i = 0; i < numSamples; i++) {
-                float bestX = Float.NaN, bestY = Float.NaN, bestZ = Float.NaN, bestDist = 0.0f;
                 for (int c = 0; c < numCandidates; c++) {
                     /*
                      * Random point on sphere
@@ -419,120 +503,27 @@ public class BestCandidateSampling {
                         x2 = rnd.nextFloat() * 2.0f - 1.0f;
                     } while (x1 * x1 + x2 * x2 > 1.0f);
                     float sqrt = (float) Math.sqrt(1.0 - x1 * x1 - x2 * x2);
-                    float x = 2 * x1 * sqrt;
-                    float y = 2 * x2 * sqrt;
+                    candidates[3 * c] = 2 * x1 * sqrt;
+                    candidates[3 * c + 1] = 2 * x2 * sqrt;
                     float z = 1.0f - 2.0f * (x1 * x1 + x2 * x2);
                     if (onHemisphere) {
                         z = Math.abs(z);
                     }
-                    float minDist = otree.nearest(x, y, z);
-                    if (minDist > bestDist) {
-                        bestDist = minDist;
-                        bestX = x;
-                        bestY = y;
-                        bestZ = z;
-                    }
+                    candidates[3 * c + 2] = z;
                 }
+                /*
+                 * The chord length between two points on the unit sphere grows monotonically with their great-circle distance,
+                 * so the candidate with the farthest nearest sample in Euclidean space is also the farthest one on the sphere.
+                 */
+                int best = grid.select(candidates, numCandidates, parallel);
+                float bestX = candidates[3 * best], bestY = candidates[3 * best + 1], bestZ = candidates[3 * best + 2];
                 callback.onNewSample(bestX, bestY, bestZ);
-                otree.insert(new Vector3f(bestX, bestY, bestZ));
+                grid.insert(bestX, bestY, bestZ);
             }
             return this;
         }
     }
 
-    /**
-     * Simple quatree that can handle points and 1-nearest neighbor search.
-     * 
-     * @author Kai Burjack
-     */
-    private static class QuadTree {
-        private static final int MAX_OBJECTS_PER_NODE = 32;
-
-        // Constants for the quadrants of the quadtree
-        private static final int PXNY = 0;
-        private static final int NXNY = 1;
-        private static final int NXPY = 2;
-        private static final int PXPY = 3;
-
-        private float minX, minY, hs;
-        private ArrayList objects;
-        private QuadTree[] children;
-
-        QuadTree(float minX, float minY, float size) {
-            this.minX = minX;
-            this.minY = minY;
-            this.hs = size * 0.5f;
-        }
-
-        private void split() {
-            children = new QuadTree[4];
-            children[NXNY] = new QuadTree(minX, minY, hs);
-            children[PXNY] = new QuadTree(minX + hs, minY, hs);
-            children[NXPY] = new QuadTree(minX, minY + hs, hs);
-            children[PXPY] = new QuadTree(minX + hs, minY + hs, hs);
-        }
-
-        private void insertIntoChild(Vector2f o) {
-            children[quadrant(o.x, o.y)].insert(o);
-        }
-
-        void insert(Vector2f object) {
-            if (children != null) {
-                insertIntoChild(object);
-                return;
-            }
-            if (objects != null && objects.size() == MAX_OBJECTS_PER_NODE) {
-                split();
-                for (int i = 0; i < objects.size(); i++)
-                    insertIntoChild((Vector2f) objects.get(i));
-                objects = null;
-                insertIntoChild(object);
-            } else {
-                if (objects == null)
-                    objects = new ArrayList(MAX_OBJECTS_PER_NODE);
-                objects.add(object);
-            }
-        }
-
-        private int quadrant(float x, float y) {
-            if (x < minX + hs) {
-                if (y < minY + hs)
-                    return NXNY;
-                return NXPY;
-            }
-            if (y < minY + hs)
-                return PXNY;
-            return PXPY;
-        }
-
-        float nearest(float x, float y, float lowerBound, float upperBound) {
-            float ub = upperBound;
-            if (x < minX - upperBound || x > minX + hs * 2 + upperBound || y < minY - upperBound 
-                    || y > minY + hs * 2 + upperBound)
-                return ub;
-            if (children != null) {
-                for (int i = quadrant(x, y), c = 0; c < 4; i = (i + 1) & 3, c++) {
-                    float n1 = children[i].nearest(x, y, lowerBound, ub);
-                    ub = Math.min(n1, ub);
-                    if (ub <= lowerBound)
-                        return lowerBound;
-                }
-                return ub;
-            }
-            float ub2 = ub * ub;
-            float lb2 = lowerBound * lowerBound;
-            for (int i = 0; objects != null && i < objects.size(); i++) {
-                Vector2f o = (Vector2f) objects.get(i);
-                float d = o.distanceSquared(x, y);
-                if (d <= lb2)
-                    return lowerBound;
-                if (d < ub2)
-                    ub2 = d;
-            }
-            return (float) Math.sqrt(ub2);
-        }
-    }
-
     /**
      * Generates Best Candidate samples on a unit disk.
      * 
@@ -541,6 +532,7 @@ public class BestCandidateSampling {
     public static class Disk {
         private int numSamples;
         private int numCandidates = 60; // <- use a reasonable default
+        private boolean parallel;
         private long seed;
 
         /**
@@ -584,6 +576,25 @@ public class BestCandidateSampling {
             return this;
         }
 
+//#ifndef __GWT__
+        /**
+         * Set whether to score the <code>numCandidates</code> candidates of each generated sample in parallel
+         * using a {@link java.util.concurrent.ForkJoinPool}.
+         * <p>
+         * The generated samples are identical to the ones generated without parallel scoring.
+         * <p>
+         * This pays off for large numbers of samples and candidates. It requires Java 7 or later.
+         * 
+         * @param parallel
+         *          whether to score the candidates in parallel
+         * @return this
+         */
+        public Disk parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+//#endif
+
         /**
          * Generate 'best candidate' sample positions and store the coordinates of all generated samples into the given <code>xys</code> float array.
          * <p>
@@ -623,8 +634,8 @@ public class BestCandidateSampling {
             final int pos = xys.position();
             return generate(new Callback2d() {
                 public void onNewSample(float x, float y) {
-                    xys.put(pos + 3 * i.value + 0, x);
-                    xys.put(pos + 3 * i.value + 1, y);
+                    xys.put(pos + 2 * i.value + 0, x);
+                    xys.put(pos + 2 * i.value + 1, y);
                     i.value++;
                 }
             });
@@ -641,25 +652,23 @@ public class BestCandidateSampling {
          * @return this
          */
         public Disk generate(Callback2d callback) {
-            QuadTree qtree = new QuadTree(-1, -1, 2);
+            Grid2d grid = new Grid2d(-1, -1, 2, numSamples, numCandidates);
             Random rnd = new Random(seed);
+            float[] candidates = new float[numCandidates * 2];
             for (int i = 0; i < numSamples; i++) {
-                float bestX = 0, bestY = 0, bestDist = 0.0f;
                 for (int c = 0; c < numCandidates; c++) {
                     float x, y;
                     do {
                         x = rnd.nextFloat() * 2.0f - 1.0f;
                         y = rnd.nextFloat() * 2.0f - 1.0f;
                     } while (x * x + y * y > 1.0f);
-                    float minDist = qtree.nearest(x, y, bestDist, Float.POSITIVE_INFINITY);
-                    if (minDist > bestDist) {
-                        bestDist = minDist;
-                        bestX = x;
-                        bestY = y;
-                    }
+                    candidates[2 * c] = x;
+                    candidates[2 * c + 1] = y;
                 }
+                int best = grid.select(candidates, numCandidates, parallel);
+                float bestX = candidates[2 * best], bestY = candidates[2 * best + 1];
                 callback.onNewSample(bestX, bestY);
-                qtree.insert(new Vector2f(bestX, bestY));
+                grid.insert(bestX, bestY);
             }
             return this;
         }
@@ -673,6 +682,7 @@ public class BestCandidateSampling {
     public static class Quad {
         private int numSamples;
         private int numCandidates = 60; // <- use a reasonable default
+        private boolean parallel;
         private long seed;
 
         /**
@@ -716,6 +726,25 @@ public class BestCandidateSampling {
             return this;
         }
 
+//#ifndef __GWT__
+        /**
+         * Set whether to score the <code>numCandidates</code> candidates of each generated sample in parallel
+         * using a {@link java.util.concurrent.ForkJoinPool}.
+         * <p>
+         * The generated samples are identical to the ones generated without parallel scoring.
+         * <p>
+         * This pays off for large numbers of samples and candidates. It requires Java 7 or later.
+         * 
+         * @param parallel
+         *          whether to score the candidates in parallel
+         * @return this
+         */
+        public Quad parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+//#endif
+
         /**
          * Generate 'best candidate' sample positions and store the coordinates of all generated samples into the given <code>xyzs</code> float array.
          * <p>
@@ -755,8 +784,8 @@ public class BestCandidateSampling {
             final int pos = xys.position();
             return generate(new Callback2d() {
                 public void onNewSample(float x, float y) {
-                    xys.put(pos + 3 * i.value + 0, x);
-                    xys.put(pos + 3 * i.value + 1, y);
+                    xys.put(pos + 2 * i.value + 0, x);
+                    xys.put(pos + 2 * i.value + 1, y);
                     i.value++;
                 }
             });
@@ -773,138 +802,23 @@ public class BestCandidateSampling {
          * @return this
          */
         public Quad generate(Callback2d callback) {
-            QuadTree qtree = new QuadTree(-1, -1, 2);
+            Grid2d grid = new Grid2d(-1, -1, 2, numSamples, numCandidates);
             Random rnd = new Random(seed);
+            float[] candidates = new float[numCandidates * 2];
             for (int i = 0; i < numSamples; i++) {
-                float bestX = 0, bestY = 0, bestDist = 0.0f;
                 for (int c = 0; c < numCandidates; c++) {
-                    float x = rnd.nextFloat() * 2.0f - 1.0f;
-                    float y = rnd.nextFloat() * 2.0f - 1.0f;
-                    float minDist = qtree.nearest(x, y, bestDist, Float.POSITIVE_INFINITY);
-                    if (minDist > bestDist) {
-                        bestDist = minDist;
-                        bestX = x;
-                        bestY = y;
-                    }
+                    candidates[2 * c] = rnd.nextFloat() * 2.0f - 1.0f;
+                    candidates[2 * c + 1] = rnd.nextFloat() * 2.0f - 1.0f;
                 }
+                int best = grid.select(candidates, numCandidates, parallel);
+                float bestX = candidates[2 * best], bestY = candidates[2 * best + 1];
                 callback.onNewSample(bestX, bestY);
-                qtree.insert(new Vector2f(bestX, bestY));
+                grid.insert(bestX, bestY);
             }
             return this;
         }
     }
 
-    /**
-     * Simple octree for points and 1-nearest neighbor distance query.
-     * 
-     * @author Kai Burjack
-     */
-    private static class Octree {
-        private static final int MAX_OBJECTS_PER_NODE = 32;
-
-        // Constants for the octants of the octree
-        private static final int PXNYNZ = 0;
-        private static final int NXNYNZ = 1;
-        private static final int NXPYNZ = 2;
-        private static final int PXPYNZ = 3;
-        private static final int PXNYPZ = 4;
-        private static final int NXNYPZ = 5;
-        private static final int NXPYPZ = 6;
-        private static final int PXPYPZ = 7;
-
-        private float minX, minY, minZ, hs;
-        private ArrayList objects;
-        private Octree[] children;
-
-        Octree(float minX, float minY, float minZ, float size) {
-            this.minX = minX;
-            this.minY = minY;
-            this.minZ = minZ;
-            this.hs = size * 0.5f;
-        }
-
-        private void split() {
-            children = new Octree[8];
-            children[NXNYNZ] = new Octree(minX, minY, minZ, hs);
-            children[PXNYNZ] = new Octree(minX + hs, minY, minZ, hs);
-            children[NXPYNZ] = new Octree(minX, minY + hs, minZ, hs);
-            children[PXPYNZ] = new Octree(minX + hs, minY + hs, minZ, hs);
-            children[NXNYPZ] = new Octree(minX, minY, minZ + hs, hs);
-            children[PXNYPZ] = new Octree(minX + hs, minY, minZ + hs, hs);
-            children[NXPYPZ] = new Octree(minX, minY + hs, minZ + hs, hs);
-            children[PXPYPZ] = new Octree(minX + hs, minY + hs, minZ + hs, hs);
-        }
-
-        private void insertIntoChild(Vector3f o) {
-            children[octant(o.x, o.y, o.z)].insert(o);
-        }
-
-        void insert(Vector3f object) {
-            if (children != null) {
-                insertIntoChild(object);
-                return;
-            }
-            if (objects != null && objects.size() == MAX_OBJECTS_PER_NODE) {
-                split();
-                for (int i = 0; i < objects.size(); i++)
-                    insertIntoChild((Vector3f) objects.get(i));
-                objects = null;
-                insertIntoChild(object);
-            } else {
-                if (objects == null)
-                    objects = new ArrayList(MAX_OBJECTS_PER_NODE);
-                objects.add(object);
-            }
-        }
-
-        private int octant(float x, float y, float z) {
-            if (x < minX + hs)
-                if (y < minY + hs) {
-                    if (z < minZ + hs)
-                        return NXNYNZ;
-                    return NXNYPZ;
-                } else if (z < minZ + hs)
-                    return NXPYNZ;
-                else
-                    return NXPYPZ;
-            else if (y < minY + hs) {
-                if (z < minZ + hs)
-                    return PXNYNZ;
-                return PXNYPZ;
-            } else if (z < minZ + hs)
-                return PXPYNZ;
-            else
-                return PXPYPZ;
-        }
-
-        float nearest(float x, float y, float z, float lowerBound, float upperBound) {
-            float up = upperBound;
-            if (x < minX - upperBound || x > minX + hs * 2 + upperBound || y < minY - upperBound || y > minY + hs * 2 + upperBound ||
-                    z < minZ - upperBound || z > minZ + hs * 2 + upperBound)
-                return up;
-            if (children != null) {
-                for (int i = octant(x, y, z), c = 0; c < 8; i = (i + 1) & 7, c++) {
-                    float n1 = children[i].nearest(x, y, z, lowerBound, up);
-                    up = Math.min(n1, up);
-                    if (up <= lowerBound)
-                        return lowerBound;
-                }
-                return up;
-            }
-            float up2 = up * up;
-            float lb2 = lowerBound * lowerBound;
-            for (int i = 0; objects != null && i < objects.size(); i++) {
-                Vector3f o = (Vector3f) objects.get(i);
-                float d = o.distanceSquared(x, y, z);
-                if (d <= lb2)
-                    return lowerBound;
-                if (d < up2)
-                    up2 = d;
-            }
-            return (float) Math.sqrt(up2);
-        }
-    }
-
     /**
      * Generates Best Candidate samples inside a unit cube.
      * 
@@ -913,6 +827,7 @@ public class BestCandidateSampling {
     public static class Cube {
         private int numSamples;
         private int numCandidates = 60; // <- use a reasonable default
+        private boolean parallel;
         private long seed;
 
         /**
@@ -958,6 +873,25 @@ public class BestCandidateSampling {
             return this;
         }
 
+//#ifndef __GWT__
+        /**
+         * Set whether to score the <code>numCandidates</code> candidates of each generated sample in parallel
+         * using a {@link java.util.concurrent.ForkJoinPool}.
+         * <p>
+         * The generated samples are identical to the ones generated without parallel scoring.
+         * <p>
+         * This pays off for large numbers of samples and candidates. It requires Java 7 or later.
+         * 
+         * @param parallel
+         *          whether to score the candidates in parallel
+         * @return this
+         */
+        public Cube parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+//#endif
+
         /**
          * Generate 'best candidate' sample positions and store the coordinates of all generated samples into the given <code>xyzs</code> float array.
          * <p>
@@ -1018,24 +952,19 @@ public class BestCandidateSampling {
          * @return this
          */
         public Cube generate(Callback3d callback) {
-            Octree octree = new Octree(-1, -1, -1, 2);
+            Grid3d grid = new Grid3d(-1, 2, false, numSamples, numCandidates);
             Random rnd = new Random(seed);
+            float[] candidates = new float[numCandidates * 3];
             for (int i = 0; i < numSamples; i++) {
-                float bestX = 0, bestY = 0, bestZ = 0, bestDist = 0.0f;
                 for (int c = 0; c < numCandidates; c++) {
-                    float x = rnd.nextFloat() * 2.0f - 1.0f;
-                    float y = rnd.nextFloat() * 2.0f - 1.0f;
-                    float z = rnd.nextFloat() * 2.0f - 1.0f;
-                    float minDist = octree.nearest(x, y, z, bestDist, Float.POSITIVE_INFINITY);
-                    if (minDist > bestDist) {
-                        bestDist = minDist;
-                        bestX = x;
-                        bestY = y;
-                        bestZ = z;
-                    }
+                    candidates[3 * c] = rnd.nextFloat() * 2.0f - 1.0f;
+                    candidates[3 * c + 1] = rnd.nextFloat() * 2.0f - 1.0f;
+                    candidates[3 * c + 2] = rnd.nextFloat() * 2.0f - 1.0f;
                 }
+                int best = grid.select(candidates, numCandidates, parallel);
+                float bestX = candidates[3 * best], bestY = candidates[3 * best + 1], bestZ = candidates[3 * best + 2];
                 callback.onNewSample(bestX, bestY, bestZ);
-                octree.insert(new Vector3f(bestX, bestY, bestZ));
+                grid.insert(bestX, bestY, bestZ);
             }
             return this;
         }
@@ -23,16 +23,21 @@
  */
 package org.joml.sampling;
 
-import java.util.ArrayList;
+//#ifdef __HAS_NIO__
+import java.nio.FloatBuffer;
+//#endif
 
 import org.joml.Random;
-import org.joml.Vector2f;
 
 /**
  * Generates Poisson samples.
  * <p>
  * The algorithm implemented here is based on <a href= "http://www.cs.ubc.ca/~rbridson/docs/bridson-siggraph07-poissondisk.pdf">Fast Poisson Disk Sampling in Arbitrary
  * Dimensions</a>.
+ * <p>
+ * All generators keep their acceleration grid in a primitive <code>float[]</code> holding the sample of each grid cell, and their list of active
+ * samples in an <code>int[]</code> of grid cell indices, so that no objects are allocated per sample. The samples are either reported to a
+ * callback or written into a FloatBuffer.
  * 
  * @author Kai Burjack
  */
@@ -48,16 +53,6 @@ public class PoissonSampling {
      */
     public static class Disk {
 
-        private final Vector2f[] grid;
-        private final float diskRadius;
-        private final float diskRadiusSquared;
-        private final float minDist;
-        private final float minDistSquared;
-        private final float cellSize;
-        private final int numCells;
-        private final Random rnd;
-        private final ArrayList processList;
-
         /**
          * Create a new instance of {@link Disk} which computes poisson-distributed samples on a disk with the given radius <code>diskRadius</code> and notifies the given
          * <code>callback</code> for each found sample point.
@@ -76,86 +71,508 @@ public class PoissonSampling {
          *            will be notified about each sample point
          */
         public Disk(long seed, float diskRadius, float minDist, int k, Callback2d callback) {
-            this.diskRadius = diskRadius;
-            this.diskRadiusSquared = diskRadius * diskRadius;
+            new Bridson2d(seed, -diskRadius, -diskRadius, diskRadius, diskRadius, true, minDist).compute(k, callback, null);
+        }
+
+//#ifdef __HAS_NIO__
+        /**
+         * Create a new instance of {@link Disk} which computes poisson-distributed samples on a disk with the given radius <code>diskRadius</code> and stores
+         * the <code>(x, y)</code> coordinates of each found sample point into <code>dest</code>, starting at its current position.
+         * <p>
+         * The position of the buffer is advanced past the stored samples. The computation stops once the buffer has no room for another sample.
+         * 
+         * @param seed
+         *            the seed to initialize the random number generator with
+         * @param diskRadius
+         *            the disk radius
+         * @param minDist
+         *            the minimum distance between any two generated samples
+         * @param k
+         *            determines how many samples are tested before rejection. Higher values produce better results. Typical values are 20 to 30
+         * @param dest
+         *            will receive the sample points
+         */
+        public Disk(long seed, float diskRadius, float minDist, int k, FloatBuffer dest) {
+            new Bridson2d(seed, -diskRadius, -diskRadius, diskRadius, diskRadius, true, minDist).compute(k, null, dest);
+        }
+//#endif
+
+    }
+
+    /**
+     * Generates Poisson samples on an axis-aligned rectangle.
+     */
+    public static class Rectangle {
+
+        /**
+         * Create a new instance of {@link Rectangle} which computes poisson-distributed samples on the axis-aligned rectangle
+         * <code>[minX, maxX] x [minY, maxY]</code> and notifies the given <code>callback</code> for each found sample point.
+         * <p>
+         * The samples are distributed evenly on the rectangle with a minimum distance to one another of at least <code>minDist</code>.
+         * 
+         * @param seed
+         *            the seed to initialize the random number generator with
+         * @param minX
+         *            the x coordinate of the minimum corner
+         * @param minY
+         *            the y coordinate of the minimum corner
+         * @param maxX
+         *            the x coordinate of the maximum corner
+         * @param maxY
+         *            the y coordinate of the maximum corner
+         * @param minDist
+         *            the minimum distance between any two generated samples
+         * @param k
+         *            determines how many samples are tested before rejection. Higher values produce better results. Typical values are 20 to 30
+         * @param callback
+         *            will be notified about each sample point
+         */
+        public Rectangle(long seed, float minX, float minY, float maxX, float maxY, float minDist, int k, Callback2d callback) {
+            new Bridson2d(seed, minX, minY, maxX, maxY, false, minDist).compute(k, callback, null);
+        }
+
+//#ifdef __HAS_NIO__
+        /**
+         * Create a new instance of {@link Rectangle} which computes poisson-distributed samples on the axis-aligned rectangle
+         * <code>[minX, maxX] x [minY, maxY]</code> and stores the <code>(x, y)</code> coordinates of each found sample point into <code>dest</code>,
+         * starting at its current position.
+         * <p>
+         * The position of the buffer is advanced past the stored samples. The computation stops once the buffer has no room for another sample.
+         * 
+         * @param seed
+         *            the seed to initialize the random number generator with
+         * @param minX
+         *            the x coordinate of the minimum corner
+         * @param minY
+         *            the y coordinate of the minimum corner
+         * @param maxX
+         *            the x coordinate of the maximum corner
+         * @param maxY
+         *            the y coordinate of the maximum corner
+         * @param minDist
+         *            the minimum distance between any two generated samples
+         * @param k
+         *            determines how many samples are tested before rejection. Higher values produce better results. Typical values are 20 to 30
+         * @param dest
+         *            will receive the sample points
+         */
+        public Rectangle(long seed, float minX, float minY, float maxX, float maxY, float minDist, int k, FloatBuffer dest) {
+            new Bridson2d(seed, minX, minY, maxX, maxY, false, minDist).compute(k, null, dest);
+        }
+//#endif
+
+    }
+
+    /**
+     * Generates Poisson samples in a sphere.
+     */
+    public static class Sphere {
+
+        /**
+         * Create a new instance of {@link Sphere} which computes poisson-distributed samples in a sphere around the origin with the given radius
+         * <code>sphereRadius</code> and notifies the given <code>callback</code> for each found sample point.
+         * <p>
+         * The samples are distributed evenly in the sphere with a minimum distance to one another of at least <code>minDist</code>.
+         * 
+         * @param seed
+         *            the seed to initialize the random number generator with
+         * @param sphereRadius
+         *            the sphere radius
+         * @param minDist
+         *            the minimum distance between any two generated samples
+         * @param k
+         *            determines how many samples are tested before rejection. Higher values produce better results. Typical values are 20 to 30
+         * @param callback
+         *            will be notified about each sample point
+         */
+        public Sphere(long seed, float sphereRadius, float minDist, int k, Callback3d callback) {
+            new Bridson3d(seed, -sphereRadius, -sphereRadius, -sphereRadius, sphereRadius, sphereRadius, sphereRadius, true, minDist).compute(k, callback, null);
+        }
+
+//#ifdef __HAS_NIO__
+        /**
+         * Create a new instance of {@link Sphere} which computes poisson-distributed samples in a sphere around the origin with the given radius
+         * <code>sphereRadius</code> and stores the <code>(x, y, z)</code> coordinates of each found sample point into <code>dest</code>,
+         * starting at its current position.
+         * <p>
+         * The position of the buffer is advanced past the stored samples. The computation stops once the buffer has no room for another sample.
+         * 
+         * @param seed
+         *            the seed to initialize the random number generator with
+         * @param sphereRadius
+         *            the sphere radius
+         * @param minDist
+         *            the minimum distance between any two generated samples
+         * @param k
+         *            determines how many samples are tested before rejection. Higher values produce better results. Typical values are 20 to 30
+         * @param dest
+         *            will receive the sample points
+         */
+        public Sphere(long seed, float sphereRadius, float minDist, int k, FloatBuffer dest) {
+            new Bridson3d(seed, -sphereRadius, -sphereRadius, -sphereRadius, sphereRadius, sphereRadius, sphereRadius, true, minDist).compute(k, null, dest);
+        }
+//#endif
+
+    }
+
+    /**
+     * Generates Poisson samples in an axis-aligned box.
+     */
+    public static class Box {
+
+        /**
+         * Create a new instance of {@link Box} which computes poisson-distributed samples in the axis-aligned box
+         * <code>[minX, maxX] x [minY, maxY] x [minZ, maxZ]</code> and notifies the given <code>callback</code> for each found sample point.
+         * <p>
+         * The samples are distributed evenly in the box with a minimum distance to one another of at least <code>minDist</code>.
+         * 
+         * @param seed
+         *            the seed to initialize the random number generator with
+         * @param minX
+         *            the x coordinate of the minimum corner
+         * @param minY
+         *            the y coordinate of the minimum corner
+         * @param minZ
+         *            the z coordinate of the minimum corner
+         * @param maxX
+         *            the x coordinate of the maximum corner
+         * @param maxY
+         *            the y coordinate of the maximum corner
+         * @param maxZ
+         *            the z coordinate of the maximum corner
+         * @param minDist
+         *            the minimum distance between any two generated samples
+         * @param k
+         *            determines how many samples are tested before rejection. Higher values produce better results. Typical values are 20 to 30
+         * @param callback
+         *            will be notified about each sample point
+         */
+        public Box(long seed, float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float minDist, int k, Callback3d callback) {
+            new Bridson3d(seed, minX, minY, minZ, maxX, maxY, maxZ, false, minDist).compute(k, callback, null);
+        }
+
+//#ifdef __HAS_NIO__
+        /**
+         * Create a new instance of {@link Box} which computes poisson-distributed samples in the axis-aligned box
+         * <code>[minX, maxX] x [minY, maxY] x [minZ, maxZ]</code> and stores the <code>(x, y, z)</code> coordinates of each found sample point
+         * into <code>dest</code>, starting at its current position.
+         * <p>
+         * The position of the buffer is advanced past the stored samples. The computation stops once the buffer has no room for another sample.
+         * 
+         * @param seed
+         *            the seed to initialize the random number generator with
+         * @param minX
+         *            the x coordinate of the minimum corner
+         * @param minY
+         *            the y coordinate of the minimum corner
+         * @param minZ
+         *            the z coordinate of the minimum corner
+         * @param maxX
+         *            the x coordinate of the maximum corner
+         * @param maxY
+         *            the y coordinate of the maximum corner
+         * @param maxZ
+         *            the z coordinate of the maximum corner
+         * @param minDist
+         *            the minimum distance between any two generated samples
+         * @param k
+         *            determines how many samples are tested before rejection. Higher values produce better results. Typical values are 20 to 30
+         * @param dest
+         *            will receive the sample points
+         */
+        public Box(long seed, float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float minDist, int k, FloatBuffer dest) {
+            new Bridson3d(seed, minX, minY, minZ, maxX, maxY, maxZ, false, minDist).compute(k, null, dest);
+        }
+//#endif
+
+    }
+
+    /**
+     * Bridson's algorithm on a rectangle or the disk inscribed into it.
+     * <p>
+     * With a cell size of <code>minDist / sqrt(2)</code> each grid cell holds at most one sample, whose coordinates are stored
+     * in {@link #grid}, or <code>NaN</code> if the cell is empty. Samples closer than <code>minDist</code> to a candidate can be
+     * up to two cells away.
+     */
+    private static final class Bridson2d {
+        private final float minX, minY, maxX, maxY, centerX, centerY, radiusSquared;
+        private final boolean round;
+        private final float minDist, minDistSquared, invCellSize;
+        private final int cols, rows;
+        private final float[] grid;
+        private final int[] active;
+        private final Random rnd;
+
+        Bridson2d(long seed, float minX, float minY, float maxX, float maxY, boolean round, float minDist) {
+            if (!(minDist > 0.0f))
+                throw new IllegalArgumentException("minDist");
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.centerX = (minX + maxX) * 0.5f;
+            this.centerY = (minY + maxY) * 0.5f;
+            this.radiusSquared = (maxX - centerX) * (maxX - centerX);
+            this.round = round;
             this.minDist = minDist;
             this.minDistSquared = minDist * minDist;
+            // Slightly smaller cells guarantee that rounding never lets two valid samples fall into the same cell
+            this.invCellSize = (float) (Math.sqrt(2.0) / minDist) * 1.0001f;
+            this.cols = (int) ((maxX - minX) * invCellSize) + 1;
+            this.rows = (int) ((maxY - minY) * invCellSize) + 1;
+            this.grid = new float[cols * rows * 2];
+            for (int i = 0; i < grid.length; i++)
+                grid[i] = Float.NaN;
+            this.active = new int[cols * rows];
             this.rnd = new Random(seed);
-            this.cellSize = minDist / (float) Math.sqrt(2.0);
-            this.numCells = (int) ((diskRadius * 2) / cellSize) + 1;
-            this.grid = new Vector2f[numCells * numCells];
-            this.processList = new ArrayList();
-            compute(k, callback);
         }
 
-        private void compute(int k, Callback2d callback) {
+        private boolean inside(float x, float y) {
+            if (round) {
+                float dx = x - centerX, dy = y - centerY;
+                return dx * dx + dy * dy <= radiusSquared;
+            }
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+
+        void compute(int k, Callback2d callback, Object dest) {
             float x, y;
             do {
-                x = rnd.nextFloat() * 2.0f - 1.0f;
-                y = rnd.nextFloat() * 2.0f - 1.0f;
-            } while (x * x + y * y > 1.0f);
-            Vector2f initial = new Vector2f(x, y);
-            processList.add(initial);
-            callback.onNewSample(initial.x, initial.y);
-            insert(initial);
-            while (!processList.isEmpty()) {
-                int i = rnd.nextInt(processList.size());
-                Vector2f sample = (Vector2f) processList.get(i);
+                x = minX + rnd.nextFloat() * (maxX - minX);
+                y = minY + rnd.nextFloat() * (maxY - minY);
+            } while (!inside(x, y));
+            int numActive = 0;
+            if (!emit(x, y, callback, dest))
+                return;
+            active[numActive++] = insert(x, y);
+            while (numActive > 0) {
+                int i = rnd.nextInt(numActive);
+                int cell = active[i];
+                float sx = grid[cell * 2], sy = grid[cell * 2 + 1];
                 boolean found = false;
-                search: for (int s = 0; s < k; s++) {
-                    float angle = rnd.nextFloat() * (float) Math.PI2;
-                    float radius = minDist * (rnd.nextFloat() + 1.0f);
-                    x = (float) (radius * Math.sin_roquen_9(angle + Math.PIHalf));
-                    y = (float) (radius * Math.sin_roquen_9(angle));
-                    x += sample.x;
-                    y += sample.y;
-                    if (x * x + y * y > diskRadiusSquared)
-                        continue search;
-                    if (!searchNeighbors(x, y)) {
-                        found = true;
-                        callback.onNewSample(x, y);
-                        Vector2f f = new Vector2f(x, y);
-                        processList.add(f);
-                        insert(f);
-                        break;
+                for (int s = 0; s < k; s++) {
+                    // A candidate uniformly distributed in the annulus [minDist, 2 * minDist] around the sample, by rejection
+                    float dx, dy, d;
+                    do {
+                        dx = (rnd.nextFloat() * 4.0f - 2.0f) * minDist;
+                        dy = (rnd.nextFloat() * 4.0f - 2.0f) * minDist;
+                        d = dx * dx + dy * dy;
+                    } while (d < minDistSquared || d > 4.0f * minDistSquared);
+                    x = sx + dx;
+                    y = sy + dy;
+                    if (!inside(x, y) || searchNeighbors(x, y))
+                        continue;
+                    if (!emit(x, y, callback, dest))
+                        return;
+                    active[numActive++] = insert(x, y);
+                    found = true;
+                    break;
+                }
+                if (!found)
+                    active[i] = active[--numActive];
+            }
+        }
+
+        private boolean emit(float x, float y, Callback2d callback, Object dest) {
+            if (callback != null) {
+                callback.onNewSample(x, y);
+                return true;
+            }
+//#ifdef __HAS_NIO__
+            FloatBuffer buffer = (FloatBuffer) dest;
+            if (buffer.remaining() < 2)
+                return false;
+            buffer.put(x).put(y);
+//#endif
+            return true;
+        }
+
+        private boolean searchNeighbors(float px, float py) {
+            int col = (int) ((px - minX) * invCellSize);
+            int row = (int) ((py - minY) * invCellSize);
+            // Most candidates are rejected by a sample in one of the adjacent cells, so those are tested first
+            if (searchCells(px, py, col, row, 1, false))
+                return true;
+            return searchCells(px, py, col, row, 2, true);
+        }
+
+        /**
+         * Test the cells within <code>extent</code> cells of <code>(col, row)</code>, optionally skipping the inner 3x3 cells
+         * and the corners, which are further than <code>minDist</code> away.
+         */
+        private boolean searchCells(float px, float py, int col, int row, int extent, boolean ring) {
+            int minCol = Math.max(0, col - extent), maxCol = Math.min(cols - 1, col + extent);
+            int minRow = Math.max(0, row - extent), maxRow = Math.min(rows - 1, row + extent);
+            for (int r = minRow; r <= maxRow; r++) {
+                int dr = r - row;
+                boolean outerRow = dr == -2 || dr == 2;
+                for (int c = minCol, i = (r * cols + minCol) * 2; c <= maxCol; c++, i += 2) {
+                    if (ring) {
+                        int dc = c - col;
+                        boolean outerCol = dc == -2 || dc == 2;
+                        if (outerRow == outerCol)
+                            continue;
                     }
+                    float dx = grid[i] - px, dy = grid[i + 1] - py;
+                    // Comparisons with the NaN of empty cells are false
+                    if (dx * dx + dy * dy < minDistSquared)
+                        return true;
                 }
-                if (!found) {
-                    processList.remove(i);
+            }
+            return false;
+        }
+
+        private int insert(float x, float y) {
+            int cell = (int) ((y - minY) * invCellSize) * cols + (int) ((x - minX) * invCellSize);
+            grid[cell * 2] = x;
+            grid[cell * 2 + 1] = y;
+            return cell;
+        }
+    }
+
+    /**
+     * Bridson's algorithm in a box or the sphere inscribed into it.
+     * <p>
+     * This is the same as {@link Bridson2d} with a cell size of <code>minDist / sqrt(3)</code>.
+     */
+    private static final class Bridson3d {
+        private final float minX, minY, minZ, maxX, maxY, maxZ, centerX, centerY, centerZ, radiusSquared;
+        private final boolean round;
+        private final float minDist, minDistSquared, invCellSize;
+        private final int cols, rows, layers;
+        private final float[] grid;
+        private final int[] active;
+        private final Random rnd;
+
+        Bridson3d(long seed, float minX, float minY, float minZ, float maxX, float maxY, float maxZ, boolean round, float minDist) {
+            if (!(minDist > 0.0f))
+                throw new IllegalArgumentException("minDist");
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.maxZ = maxZ;
+            this.centerX = (minX + maxX) * 0.5f;
+            this.centerY = (minY + maxY) * 0.5f;
+            this.centerZ = (minZ + maxZ) * 0.5f;
+            this.radiusSquared = (maxX - centerX) * (maxX - centerX);
+            this.round = round;
+            this.minDist = minDist;
+            this.minDistSquared = minDist * minDist;
+            this.invCellSize = (float) (Math.sqrt(3.0) / minDist) * 1.0001f;
+            this.cols = (int) ((maxX - minX) * invCellSize) + 1;
+            this.rows = (int) ((maxY - minY) * invCellSize) + 1;
+            this.layers = (int) ((maxZ - minZ) * invCellSize) + 1;
+            this.grid = new float[cols * rows * layers * 3];
+            for (int i = 0; i < grid.length; i++)
+                grid[i] = Float.NaN;
+            this.active = new int[cols * rows * layers];
+            this.rnd = new Random(seed);
+        }
+
+        private boolean inside(float x, float y, float z) {
+            if (round) {
+                float dx = x - centerX, dy = y - centerY, dz = z - centerZ;
+                return dx * dx + dy * dy + dz * dz <= radiusSquared;
+            }
+            return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+        }
+
+        void compute(int k, Callback3d callback, Object dest) {
+            float x, y, z;
+            do {
+                x = minX + rnd.nextFloat() * (maxX - minX);
+                y = minY + rnd.nextFloat() * (maxY - minY);
+                z = minZ + rnd.nextFloat() * (maxZ - minZ);
+            } while (!inside(x, y, z));
+            int numActive = 0;
+            if (!emit(x, y, z, callback, dest))
+                return;
+            active[numActive++] = insert(x, y, z);
+            while (numActive > 0) {
+                int i = rnd.nextInt(numActive);
+                int cell = active[i];
+                float sx = grid[cell * 3], sy = grid[cell * 3 + 1], sz = grid[cell * 3 + 2];
+                boolean found = false;
+                for (int s = 0; s < k; s++) {
+                    // A candidate uniformly distributed in the spherical shell [minDist, 2 * minDist] around the sample, by rejection
+                    float dx, dy, dz, d;
+                    do {
+                        dx = (rnd.nextFloat() * 4.0f - 2.0f) * minDist;
+                        dy = (rnd.nextFloat() * 4.0f - 2.0f) * minDist;
+                        dz = (rnd.nextFloat() * 4.0f - 2.0f) * minDist;
+                        d = dx * dx + dy * dy + dz * dz;
+                    } while (d < minDistSquared || d > 4.0f * minDistSquared);
+                    x = sx + dx;
+                    y = sy + dy;
+                    z = sz + dz;
+                    if (!inside(x, y, z) || searchNeighbors(x, y, z))
+                        continue;
+                    if (!emit(x, y, z, callback, dest))
+                        return;
+                    active[numActive++] = insert(x, y, z);
+                    found = true;
+                    break;
                 }
+                if (!found)
+                    active[i] = active[--numActive];
             }
         }
 
-        private boolean searchNeighbors(float px, float py) {
-            int row = (int) ((py + diskRadius) / cellSize);
-            int col = (int) ((px + diskRadius) / cellSize);
-            if (grid[row * numCells + col] != null)
+        private boolean emit(float x, float y, float z, Callback3d callback, Object dest) {
+            if (callback != null) {
+                callback.onNewSample(x, y, z);
+                return true;
+            }
+//#ifdef __HAS_NIO__
+            FloatBuffer buffer = (FloatBuffer) dest;
+            if (buffer.remaining() < 3)
+                return false;
+            buffer.put(x).put(y).put(z);
+//#endif
+            return true;
+        }
+
+        private boolean searchNeighbors(float px, float py, float pz) {
+            int col = (int) ((px - minX) * invCellSize);
+            int row = (int) ((py - minY) * invCellSize);
+            int layer = (int) ((pz - minZ) * invCellSize);
+            if (searchCells(px, py, pz, col, row, layer, 1, false))
                 return true;
-            int minX = Math.max(0, col - 1);
-            int minY = Math.max(0, row - 1);
-            int maxX = Math.min(col + 1, numCells - 1);
-            int maxY = Math.min(row + 1, numCells - 1);
-            for (int y = minY; y <= maxY; y++) {
-                for (int x = minX; x <= maxX; x++) {
-                    Vector2f v = grid[y * numCells + x];
-                    if (v != null) {
-                        float dx = v.x - px;
-                        float dy = v.y - py;
-                        if (dx * dx + dy * dy < minDistSquared) {
+            return searchCells(px, py, pz, col, row, layer, 2, true);
+        }
+
+        /**
+         * Test the cells within <code>extent</code> cells of <code>(col, row, layer)</code>, optionally skipping the inner 3x3x3 cells.
+         */
+        private boolean searchCells(float px, float py, float pz, int col, int row, int layer, int extent, boolean ring) {
+            int minCol = Math.max(0, col - extent), maxCol = Math.min(cols - 1, col + extent);
+            int minRow = Math.max(0, row - extent), maxRow = Math.min(rows - 1, row + extent);
+            int minLayer = Math.max(0, layer - extent), maxLayer = Math.min(layers - 1, layer + extent);
+            for (int l = minLayer; l <= maxLayer; l++) {
+                boolean innerLayer = l - layer >= -1 && l - layer <= 1;
+                for (int r = minRow; r <= maxRow; r++) {
+                    boolean innerRow = innerLayer && r - row >= -1 && r - row <= 1;
+                    for (int c = minCol, i = ((l * rows + r) * cols + minCol) * 3; c <= maxCol; c++, i += 3) {
+                        if (ring && innerRow && c - col >= -1 && c - col <= 1)
+                            continue;
+                        float dx = grid[i] - px, dy = grid[i + 1] - py, dz = grid[i + 2] - pz;
+                        if (dx * dx + dy * dy + dz * dz < minDistSquared)
                             return true;
-                        }
                     }
                 }
             }
             return false;
         }
 
-        private void insert(Vector2f p) {
-            int row = (int) ((p.y + diskRadius) / cellSize);
-            int col = (int) ((p.x + diskRadius) / cellSize);
-            grid[row * numCells + col] = p;
+        private int insert(float x, float y, float z) {
+            int cell = ((int) ((z - minZ) * invCellSize) * rows + (int) ((y - minY) * invCellSize)) * cols + (int) ((x - minX) * invCellSize);
+            grid[cell * 3] = x;
+            grid[cell * 3 + 1] = y;
+            grid[cell * 3 + 2] = z;
+            return cell;
         }
-
     }
 
 }
@@ -0,0 +1,520 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.sampling;
+
+//#ifdef __HAS_NIO__
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches deterministic sample sets, such as those of {@link BestCandidateSampling}, {@link PoissonSampling} and {@link StratifiedSampling}
+ * with a fixed seed, so that they only need to be generated once.
+ * <p>
+ * Each sample set is identified by a key built from the generator type, the version of its algorithm and all of its parameters. On a cache miss the set is generated once
+ * and persisted into its own compact binary file inside the cache directory. Afterwards it is loaded by memory-mapping that file, so that
+ * subsequent runs of the application do not need to generate it again. The most recently used sample sets are additionally kept in memory
+ * in a least-recently-used map, so that repeated requests only create a new view of an already mapped buffer.
+ * <p>
+ * The file of a sample set consists of a little-endian header, holding a magic number, a version, the UTF-8 encoded key and the number of floats,
+ * followed by the little-endian float coordinates of all samples, aligned to four bytes.
+ * <p>
+ * Whenever a change of JOML alters the samples that one of the generators produces for the same parameters, the version of that generator
+ * in the keys of this class is incremented, so that sample sets persisted by an older JOML version are generated again instead of being loaded.
+ * Keys passed to {@link #get(String, Generator)} directly should likewise contain a version of the generating code.
+ * <p>
+ * All methods of this class are synchronized, so that an instance can be shared between threads.
+ */
+public class SampleCache {
+
+    /**
+     * Generates a sample set on a cache miss.
+     */
+    public interface Generator {
+        /**
+         * Generate all samples of the sample set.
+         * 
+         * @return the coordinates of all samples
+         */
+        float[] generate();
+    }
+
+    /**
+     * Collects the coordinates of a sample set whose size is not known in advance.
+     */
+    private static final class Samples implements Callback2d, Callback3d {
+        private float[] coords = new float[256];
+        private int size;
+
+        public void onNewSample(float x, float y) {
+            ensureCapacity(2);
+            coords[size++] = x;
+            coords[size++] = y;
+        }
+
+        public void onNewSample(float x, float y, float z) {
+            ensureCapacity(3);
+            coords[size++] = x;
+            coords[size++] = y;
+            coords[size++] = z;
+        }
+
+        private void ensureCapacity(int n) {
+            if (size + n > coords.length) {
+                float[] c = new float[coords.length * 2];
+                System.arraycopy(coords, 0, c, 0, size);
+                coords = c;
+            }
+        }
+
+        float[] toArray() {
+            float[] res = new float[size];
+            System.arraycopy(coords, 0, res, 0, size);
+            return res;
+        }
+    }
+
+    /**
+     * The ASCII characters <code>JSMP</code>.
+     */
+    private static final int MAGIC = 0x504D534A;
+    /**
+     * The version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    // The versions of the sampling algorithms, which are part of the keys of the sample sets they generate.
+    // Increment them whenever the generated samples change for the same parameters.
+    private static final int BEST_CANDIDATE_VERSION = 1;
+    // 2: the +-2 cell neighbour search and candidates drawn uniformly by area of the primitive grid implementation
+    private static final int POISSON_VERSION = 2;
+    private static final int STRATIFIED_VERSION = 1;
+
+    private final File directory;
+    private final Map entries;
+
+    /**
+     * Create a new {@link SampleCache} which persists its sample sets into the given <code>directory</code>
+     * and keeps at most <code>maxEntries</code> of them in memory.
+     * <p>
+     * The directory is created when the first sample set is stored.
+     * 
+     * @param directory
+     *          the directory to store the sample set files in
+     * @param maxEntries
+     *          the maximum number of sample sets to keep in memory
+     */
+    public SampleCache(File directory, final int maxEntries) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("maxEntries must be positive");
+        this.directory = directory;
+        this.entries = new LinkedHashMap(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+            protected boolean removeEldestEntry(Map.Entry eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Return the sample set identified by the given <code>key</code>.
+     * <p>
+     * If the sample set is neither held in memory nor stored in the cache directory, or if its file is damaged or was written for a different key,
+     * then the given <code>generator</code> is called and its result is stored before it is returned.
+     * <p>
+     * The returned buffer is a read-only view on the cached samples with its position at zero and its limit at the number of floats.
+     * Each call returns a new view, so the position and limit of the buffer can be modified freely.
+     * 
+     * @param key
+     *          identifies the sample set. It must contain all parameters the generated samples depend on, and should contain a version of the
+     *          <code>generator</code> that changes whenever it generates different samples for the same parameters
+     * @param generator
+     *          generates the sample set if it is not cached yet
+     * @return a read-only view on the cached samples
+     * @throws IOException
+     *          if the sample set could not be stored into or loaded from the cache directory
+     */
+    public synchronized FloatBuffer get(String key, Generator generator) throws IOException {
+        FloatBuffer samples = (FloatBuffer) entries.get(key);
+        if (samples == null) {
+            File file = new File(directory, fileName(key));
+            samples = load(file, key);
+            if (samples == null) {
+                store(file, key, generator.generate());
+                samples = load(file, key);
+                if (samples == null)
+                    throw new IOException("Could not load stored samples from " + file);
+            }
+            entries.put(key, samples);
+        }
+        return samples.duplicate();
+    }
+
+    /**
+     * Return the cached {@link BestCandidateSampling.Disk} samples on the unit disk with the given parameters.
+     * 
+     * @param seed
+     *          the seed to initialize the pseudo-random number generator with
+     * @param numSamples
+     *          the number of samples
+     * @param numCandidates
+     *          the number of candidates to try for each generated sample
+     * @return a read-only view on the cached samples
+     * @throws IOException
+     *          if the sample set could not be stored into or loaded from the cache directory
+     */
+    public FloatBuffer bestCandidateDisk(final long seed, final int numSamples, final int numCandidates) throws IOException {
+        return get("BestCandidateSampling.Disk-v" + BEST_CANDIDATE_VERSION + "-seed=" + seed + "-numSamples=" + numSamples + "-numCandidates=" + numCandidates, new Generator() {
+            public float[] generate() {
+                float[] xys = new float[2 * numSamples];
+                new BestCandidateSampling.Disk().seed(seed).numSamples(numSamples).numCandidates(numCandidates).generate(xys);
+                return xys;
+            }
+        });
+    }
+
+    /**
+     * Return the cached {@link BestCandidateSampling.Quad} samples on the unit quad with the given parameters.
+     * 
+     * @param seed
+     *          the seed to initialize the pseudo-random number generator with
+     * @param numSamples
+     *          the number of samples
+     * @param numCandidates
+     *          the number of candidates to try for each generated sample
+     * @return a read-only view on the cached samples
+     * @throws IOException
+     *          if the sample set could not be stored into or loaded from the cache directory
+     */
+    public FloatBuffer bestCandidateQuad(final long seed, final int numSamples, final int numCandidates) throws IOException {
+        return get("BestCandidateSampling.Quad-v" + BEST_CANDIDATE_VERSION + "-seed=" + seed + "-numSamples=" + numSamples + "-numCandidates=" + numCandidates, new Generator() {
+            public float[] generate() {
+                float[] xys = new float[2 * numSamples];
+                new BestCandidateSampling.Quad().seed(seed).numSamples(numSamples).numCandidates(numCandidates).generate(xys);
+                return xys;
+            }
+        });
+    }
+
+    /**
+     * Return the cached {@link BestCandidateSampling.Cube} samples inside the unit cube with the given parameters.
+     * 
+     * @param seed
+     *          the seed to initialize the pseudo-random number generator with
+     * @param numSamples
+     *          the number of samples
+     * @param numCandidates
+     *          the number of candidates to try for each generated sample
+     * @return a read-only view on the cached samples
+     * @throws IOException
+     *          if the sample set could not be stored into or loaded from the cache directory
+     */
+    public FloatBuffer bestCandidateCube(final long seed, final int numSamples, final int numCandidates) throws IOException {
+        return get("BestCandidateSampling.Cube-v" + BEST_CANDIDATE_VERSION + "-seed=" + seed + "-numSamples=" + numSamples + "-numCandidates=" + numCandidates, new Generator() {
+            public float[] generate() {
+                float[] xyzs = new float[3 * numSamples];
+                new BestCandidateSampling.Cube().seed(seed).numSamples(numSamples).numCandidates(numCandidates).generate(xyzs);
+                return xyzs;
+            }
+        });
+    }
+
+    /**
+     * Return the cached {@link BestCandidateSampling.Sphere} samples on the unit sphere with the given parameters.
+     * 
+     * @param seed
+     *          the seed to initialize the pseudo-random number generator with
+     * @param numSamples
+     *          the number of samples
+     * @param numCandidates
+     *          the number of candidates to try for each generated sample
+     * @param onHemisphere
+     *          whether to generate samples on the hemisphere around the <code>+Z</code> axis
+     * @return a read-only view on the cached samples
+     * @throws IOException
+     *          if the sample set could not be stored into or loaded from the cache directory
+     */
+    public FloatBuffer bestCandidateSphere(final long seed, final int numSamples, final int numCandidates, final boolean onHemisphere) throws IOException {
+        return get("BestCandidateSampling.Sphere-v" + BEST_CANDIDATE_VERSION + "-seed=" + seed + "-numSamples=" + numSamples + "-numCandidates=" + numCandidates + "-onHemisphere=" + onHemisphere, new Generator() {
+            public float[] generate() {
+                float[] xyzs = new float[3 * numSamples];
+                new BestCandidateSampling.Sphere().seed(seed).numSamples(numSamples).numCandidates(numCandidates).onHemisphere(onHemisphere).generate(xyzs);
+                return xyzs;
+            }
+        });
+    }
+
+    /**
+     * Return the cached {@link PoissonSampling.Disk} samples with the given parameters.
+     * 
+     * @param seed
+     *          the seed to initialize the pseudo-random number generator with
+     * @param diskRadius
+     *          the disk radius
+     * @param minDist
+     *          the minimum distance between any two generated samples
+     * @param k
+     *          determines how many samples are tested before rejection. Higher values produce better results. Typical values are 20 to 30
+     * @return a read-only view on the cached samples
+     * @throws IOException
+     *          if the sample set could not be stored into or loaded from the cache directory
+     */
+    public FloatBuffer poissonDisk(final long seed, final float diskRadius, final float minDist, final int k) throws IOException {
+        return get("PoissonSampling.Disk-v" + POISSON_VERSION + "-seed=" + seed + "-diskRadius=" + diskRadius + "-minDist=" + minDist + "-k=" + k, new Generator() {
+            public float[] generate() {
+                Samples samples = new Samples();
+                new PoissonSampling.Disk(seed, diskRadius, minDist, k, samples);
+                return samples.toArray();
+            }
+        });
+    }
+
+    /**
+     * Return the cached {@link PoissonSampling.Rectangle} samples with the given parameters.
+     * 
+     * @param seed
+     *          the seed to initialize the pseudo-random number generator with
+     * @param minX
+     *          the minimum x coordinate of the rectangle
+     * @param minY
+     *          the minimum y coordinate of the rectangle
+     * @param maxX
+     *          the maximum x coordinate of the rectangle
+     * @param maxY
+     *          the maximum y coordinate of the rectangle
+     * @param minDist
+     *          the minimum distance between any two generated samples
+     * @param k
+     *          determines how many samples are tested before rejection. Higher values produce better results. Typical values are 20 to 30
+     * @return a read-only view on the cached samples
+     * @throws IOException
+     *          if the sample set could not be stored into or loaded from the cache directory
+     */
+    public FloatBuffer poissonRectangle(final long seed, final float minX, final float minY, final float maxX, final float maxY, final float minDist, final int k) throws IOException {
+        return get("PoissonSampling.Rectangle-v" + POISSON_VERSION + "-seed=" + seed + "-min=" + minX + "_" + minY + "-max=" + maxX + "_" + maxY + "-minDist=" + minDist + "-k=" + k, new Generator() {
+            public float[] generate() {
+                Samples samples = new Samples();
+                new PoissonSampling.Rectangle(seed, minX, minY, maxX, maxY, minDist, k, samples);
+                return samples.toArray();
+            }
+        });
+    }
+
+    /**
+     * Return the cached {@link PoissonSampling.Sphere} samples with the given parameters.
+     * 
+     * @param seed
+     *          the seed to initialize the pseudo-random number generator with
+     * @param sphereRadius
+     *          the sphere radius
+     * @param minDist
+     *          the minimum distance between any two generated samples
+     * @param k
+     *          determines how many samples are tested before rejection. Higher values produce better results. Typical values are 20 to 30
+     * @return a read-only view on the cached samples
+     * @throws IOException
+     *          if the sample set could not be stored into or loaded from the cache directory
+     */
+    public FloatBuffer poissonSphere(final long seed, final float sphereRadius, final float minDist, final int k) throws IOException {
+        return get("PoissonSampling.Sphere-v" + POISSON_VERSION + "-seed=" + seed + "-sphereRadius=" + sphereRadius + "-minDist=" + minDist + "-k=" + k, new Generator() {
+            public float[] generate() {
+                Samples samples = new Samples();
+                new PoissonSampling.Sphere(seed, sphereRadius, minDist, k, samples);
+                return samples.toArray();
+            }
+        });
+    }
+
+    /**
+     * Return the cached {@link PoissonSampling.Box} samples with the given parameters.
+     * 
+     * @param seed
+     *          the seed to initialize the pseudo-random number generator with
+     * @param minX
+     *          the minimum x coordinate of the box
+     * @param minY
+     *          the minimum y coordinate of the box
+     * @param minZ
+     *          the minimum z coordinate of the box
+     * @param maxX
+     *          the maximum x coordinate of the box
+     * @param maxY
+     *          the maximum y coordinate of the box
+     * @param maxZ
+     *          the maximum z coordinate of the box
+     * @param minDist
+     *          the minimum distance between any two generated samples
+     * @param k
+     *          determines how many samples are tested before rejection. Higher values produce better results. Typical values are 20 to 30
+     * @return a read-only view on the cached samples
+     * @throws IOException
+     *          if the sample set could not be stored into or loaded from the cache directory
+     */
+    public FloatBuffer poissonBox(final long seed, final float minX, final float minY, final float minZ, final float maxX, final float maxY, final float maxZ, final float minDist, final int k) throws IOException {
+        return get("PoissonSampling.Box-v" + POISSON_VERSION + "-seed=" + seed + "-min=" + minX + "_" + minY + "_" + minZ + "-max=" + maxX + "_" + maxY + "_" + maxZ + "-minDist=" + minDist + "-k=" + k, new Generator() {
+            public float[] generate() {
+                Samples samples = new Samples();
+                new PoissonSampling.Box(seed, minX, minY, minZ, maxX, maxY, maxZ, minDist, k, samples);
+                return samples.toArray();
+            }
+        });
+    }
+
+    /**
+     * Return the cached samples of {@link StratifiedSampling#generateRandom(int, Callback2d)} with the given parameters.
+     * 
+     * @param seed
+     *          the seed to initialize the pseudo-random number generator with
+     * @param n
+     *          the number of strata in each dimension
+     * @return a read-only view on the cached samples
+     * @throws IOException
+     *          if the sample set could not be stored into or loaded from the cache directory
+     */
+    public FloatBuffer stratifiedRandom(final long seed, final int n) throws IOException {
+        return get("StratifiedSampling.Random-v" + STRATIFIED_VERSION + "-seed=" + seed + "-n=" + n, new Generator() {
+            public float[] generate() {
+                Samples samples = new Samples();
+                new StratifiedSampling(seed).generateRandom(n, samples);
+                return samples.toArray();
+            }
+        });
+    }
+
+    /**
+     * Return the cached samples of {@link StratifiedSampling#generateCentered(int, float, Callback2d)} with the given parameters.
+     * 
+     * @param seed
+     *          the seed to initialize the pseudo-random number generator with
+     * @param n
+     *          the number of strata in each dimension
+     * @param centering
+     *          determines how much the random samples in each stratum are confined to be near the center of the stratum
+     * @return a read-only view on the cached samples
+     * @throws IOException
+     *          if the sample set could not be stored into or loaded from the cache directory
+     */
+    public FloatBuffer stratifiedCentered(final long seed, final int n, final float centering) throws IOException {
+        return get("StratifiedSampling.Centered-v" + STRATIFIED_VERSION + "-seed=" + seed + "-n=" + n + "-centering=" + centering, new Generator() {
+            public float[] generate() {
+                Samples samples = new Samples();
+                new StratifiedSampling(seed).generateCentered(n, centering, samples);
+                return samples.toArray();
+            }
+        });
+    }
+
+    /**
+     * Remove all sample sets from memory. The files in the cache directory are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private static String fileName(String key) {
+        StringBuffer sb = new StringBuffer(key.length() + 8);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            boolean safe = c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '.' || c == '-' || c == '=';
+            sb.append(safe ? c : '_');
+        }
+        // The key stored in the file resolves collisions of keys differing only in unsafe characters
+        sb.append('-').append(Integer.toHexString(key.hashCode())).append(".samples");
+        return sb.toString();
+    }
+
+    private static int headerSize(byte[] keyBytes) {
+        return (16 + keyBytes.length + 3) & ~3;
+    }
+
+    private static FloatBuffer load(File file, String key) throws IOException {
+        if (!file.isFile())
+            return null;
+        byte[] keyBytes = key.getBytes("UTF-8");
+        int headerSize = headerSize(keyBytes);
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            long size = channel.size();
+            if (size < headerSize)
+                return null;
+            ByteBuffer header = ByteBuffer.allocate(headerSize).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining())
+                if (channel.read(header) < 0)
+                    return null;
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != keyBytes.length)
+                return null;
+            for (int i = 0; i < keyBytes.length; i++)
+                if (header.get() != keyBytes[i])
+                    return null;
+            int count = header.getInt(12 + keyBytes.length);
+            if (count < 0 || size != headerSize + 4L * count)
+                return null;
+            return channel.map(FileChannel.MapMode.READ_ONLY, headerSize, 4L * count).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        } finally {
+            raf.close();
+        }
+    }
+
+    private void store(File file, String key, float[] samples) throws IOException {
+        byte[] keyBytes = key.getBytes("UTF-8");
+        int headerSize = headerSize(keyBytes);
+        ByteBuffer bb = ByteBuffer.allocateDirect(headerSize + 4 * samples.length).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(MAGIC).putInt(VERSION).putInt(keyBytes.length).put(keyBytes).putInt(samples.length);
+        bb.position(headerSize);
+        bb.asFloatBuffer().put(samples);
+        bb.clear();
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IOException("Could not create directory " + directory);
+        /*
+         * Write into a temporary file first, so that no other process will ever see a partially written file.
+         */
+        File tmp = File.createTempFile("samples", ".tmp", directory);
+        try {
+            RandomAccessFile raf = new RandomAccessFile(tmp, "rw");
+            try {
+                FileChannel channel = raf.getChannel();
+                while (bb.hasRemaining())
+                    channel.write(bb);
+            } finally {
+                raf.close();
+            }
+            if (!tmp.renameTo(file) && !(file.delete() && tmp.renameTo(file)))
+                throw new IOException("Could not rename " + tmp + " to " + file);
+        } finally {
+            tmp.delete();
+        }
+    }
+
+}
+
+//#endif
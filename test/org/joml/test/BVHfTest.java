@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.joml.AABBf;
+import org.joml.BVHf;
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+
+/**
+ * Tests for the {@link BVHf} class.
+ */
+public class BVHfTest extends TestCase {
+
+    private static AABBf[] randomBoxes(int count) {
+        java.util.Random rnd = new java.util.Random(12345L);
+        AABBf[] boxes = new AABBf[count];
+        for (int i = 0; i < count; i++) {
+            float x = (rnd.nextFloat() - 0.5f) * 100.0f, y = (rnd.nextFloat() - 0.5f) * 20.0f, z = (rnd.nextFloat() - 0.5f) * 100.0f;
+            float e = rnd.nextFloat() * 2.0f;
+            boxes[i] = new AABBf(x - e, y - e, z - e, x + e, y + e, z + e);
+        }
+        return boxes;
+    }
+
+    private static void assertCullsLikeTestAab(AABBf[] boxes, BVHf bvh, FrustumIntersection frustum) {
+        int[] visible = new int[boxes.length];
+        int n = bvh.frustumCull(frustum, visible);
+        int[] expected = new int[boxes.length];
+        int m = 0;
+        for (int i = 0; i < boxes.length; i++) {
+            AABBf b = boxes[i];
+            if (frustum.testAab(b.minX, b.minY, b.minZ, b.maxX, b.maxY, b.maxZ))
+                expected[m++] = i;
+        }
+        assertEquals(m, n);
+        Arrays.sort(visible, 0, n);
+        for (int i = 0; i < n; i++)
+            assertEquals(expected[i], visible[i]);
+    }
+
+    public static void testFrustumCull() {
+        AABBf[] boxes = randomBoxes(20000);
+        BVHf bvh = new BVHf(boxes);
+        assertEquals(boxes.length, bvh.size());
+        for (int i = 0; i < 8; i++) {
+            Matrix4f m = new Matrix4f()
+                    .perspective((float) Math.toRadians(60.0), 1.5f, 0.1f, 30.0f + i * 10.0f)
+                    .lookAt(i * 3.0f, 2.0f, 20.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f)
+                    .rotateY(i * 0.8f);
+            assertCullsLikeTestAab(boxes, bvh, new FrustumIntersection(m));
+        }
+        /* The whole scene is visible */
+        assertCullsLikeTestAab(boxes, bvh, new FrustumIntersection(new Matrix4f().ortho(-100, 100, -100, 100, -100, 100)));
+    }
+
+    public static void testDegenerate() {
+        AABBf[] boxes = new AABBf[100];
+        for (int i = 0; i < boxes.length; i++)
+            boxes[i] = new AABBf(-1, -1, -1, 1, 1, 1);
+        BVHf bvh = new BVHf(boxes, 1);
+        assertCullsLikeTestAab(boxes, bvh, new FrustumIntersection(new Matrix4f().ortho(-2, 2, -2, 2, -2, 2)));
+        assertCullsLikeTestAab(boxes, bvh, new FrustumIntersection(new Matrix4f().ortho(2, 3, 2, 3, -2, 2)));
+        BVHf empty = new BVHf(new AABBf[0]);
+        assertEquals(0, empty.frustumCull(new FrustumIntersection(new Matrix4f()), new int[0]));
+    }
+
+    /**
+     * Centroid extents that are positive but so small that the bin scale overflows to infinity must not produce invalid bins.
+     */
+    public static void testTinyCentroidExtent() {
+        float[] spreads = { 1E-44f, 1E-40f, Float.MIN_VALUE };
+        for (int s = 0; s < spreads.length; s++) {
+            float[] boxes = new float[8 * 6];
+            AABBf[] aabbs = new AABBf[8];
+            for (int i = 0; i < 8; i++) {
+                float c = i * spreads[s];
+                boxes[i * 6] = boxes[i * 6 + 1] = boxes[i * 6 + 2] = c;
+                boxes[i * 6 + 3] = boxes[i * 6 + 4] = boxes[i * 6 + 5] = c;
+                aabbs[i] = new AABBf(c, c, c, c, c, c);
+            }
+            BVHf bvh = new BVHf(boxes, 0, 8, 1);
+            assertEquals(8, bvh.size());
+            assertCullsLikeTestAab(aabbs, bvh, new FrustumIntersection(new Matrix4f().ortho(-1, 1, -1, 1, -1, 1)));
+        }
+    }
+
+    public static void testIntersectAabPlanes() {
+        FrustumIntersection frustum = new FrustumIntersection(new Matrix4f().ortho(-1, 1, -1, 1, -1, 1));
+        assertEquals(0, frustum.intersectAabPlanes(-0.5f, -0.5f, -0.5f, 0.5f, 0.5f, 0.5f, ~0));
+        assertEquals(FrustumIntersection.PLANE_MASK_PX, frustum.intersectAabPlanes(0.5f, -0.5f, -0.5f, 1.5f, 0.5f, 0.5f, ~0));
+        assertEquals(FrustumIntersection.OUTSIDE, frustum.intersectAabPlanes(1.5f, -0.5f, -0.5f, 2.5f, 0.5f, 0.5f, ~0));
+        assertEquals(0, frustum.intersectAabPlanes(1.5f, -0.5f, -0.5f, 2.5f, 0.5f, 0.5f, FrustumIntersection.PLANE_MASK_NX));
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.FloatBuffer;
+
+import junit.framework.TestCase;
+
+import org.joml.Random;
+import org.joml.sampling.BestCandidateSampling;
+
+/**
+ * Tests for the {@link BestCandidateSampling} class.
+ */
+public class BestCandidateSamplingTest extends TestCase {
+
+    /**
+     * Generate "best candidate" samples on the unit quad by brute force, scoring each candidate against all previous samples.
+     */
+    private static float[] bruteForceQuad(long seed, int numSamples, int numCandidates) {
+        Random rnd = new Random(seed);
+        float[] xys = new float[numSamples * 2];
+        float[] candidates = new float[numCandidates * 2];
+        for (int i = 0; i < numSamples; i++) {
+            for (int c = 0; c < numCandidates; c++) {
+                candidates[2 * c] = rnd.nextFloat() * 2.0f - 1.0f;
+                candidates[2 * c + 1] = rnd.nextFloat() * 2.0f - 1.0f;
+            }
+            int best = 0;
+            float bestDist = 0.0f;
+            for (int c = 0; c < numCandidates; c++) {
+                float nearest = Float.POSITIVE_INFINITY;
+                for (int s = 0; s < i; s++) {
+                    float dx = xys[2 * s] - candidates[2 * c], dy = xys[2 * s + 1] - candidates[2 * c + 1];
+                    nearest = Math.min(nearest, dx * dx + dy * dy);
+                }
+                if (nearest > bestDist) {
+                    bestDist = nearest;
+                    best = c;
+                }
+            }
+            xys[2 * i] = candidates[2 * best];
+            xys[2 * i + 1] = candidates[2 * best + 1];
+        }
+        return xys;
+    }
+
+    public void testQuadMatchesBruteForce() {
+        float[] expected = bruteForceQuad(12345L, 2000, 30);
+        float[] actual = new float[expected.length];
+        new BestCandidateSampling.Quad().seed(12345L).numSamples(2000).numCandidates(30).generate(actual);
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], actual[i], 0.0f);
+    }
+
+    public void testDiskInsideUnitDisk() {
+        float[] xys = new float[2 * 1000];
+        new BestCandidateSampling.Disk().seed(1L).numSamples(1000).generate(xys);
+        for (int i = 0; i < 1000; i++)
+            assertTrue(xys[2 * i] * xys[2 * i] + xys[2 * i + 1] * xys[2 * i + 1] <= 1.0f);
+    }
+
+    public void testDiskFloatBuffer() {
+        float[] xys = new float[2 * 100];
+        new BestCandidateSampling.Disk().seed(2L).numSamples(100).generate(xys);
+        FloatBuffer fb = FloatBuffer.allocate(1 + 2 * 100);
+        fb.position(1);
+        new BestCandidateSampling.Disk().seed(2L).numSamples(100).generate(fb);
+        assertEquals(1, fb.position());
+        for (int i = 0; i < xys.length; i++)
+            assertEquals(xys[i], fb.get(1 + i), 0.0f);
+    }
+
+    public void testHemisphere() {
+        float[] xyzs = new float[3 * 2000];
+        new BestCandidateSampling.Sphere().seed(3L).numSamples(2000).onHemisphere(true).generate(xyzs);
+        float minDist = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < 2000; i++) {
+            float x = xyzs[3 * i], y = xyzs[3 * i + 1], z = xyzs[3 * i + 2];
+            assertTrue(z >= 0.0f);
+            assertEquals(1.0f, x * x + y * y + z * z, 1E-5f);
+            for (int j = 0; j < i; j++) {
+                float dx = xyzs[3 * j] - x, dy = xyzs[3 * j + 1] - y, dz = xyzs[3 * j + 2] - z;
+                minDist = Math.min(minDist, dx * dx + dy * dy + dz * dz);
+            }
+        }
+        // 2000 well-distributed samples on the hemisphere are about sqrt(2*PI/2000) apart
+        assertTrue(minDist > 0.02f * 0.02f);
+    }
+
+    public void testParallelMatchesSequential() {
+        float[] seq = new float[3 * 3000], par = new float[3 * 3000];
+        new BestCandidateSampling.Cube().seed(4L).numSamples(3000).numCandidates(100).generate(seq);
+        new BestCandidateSampling.Cube().seed(4L).numSamples(3000).numCandidates(100).parallel(true).generate(par);
+        for (int i = 0; i < seq.length; i++)
+            assertEquals(seq[i], par[i], 0.0f);
+        new BestCandidateSampling.Sphere().seed(5L).numSamples(3000).numCandidates(100).generate(seq);
+        new BestCandidateSampling.Sphere().seed(5L).numSamples(3000).numCandidates(100).parallel(true).generate(par);
+        for (int i = 0; i < seq.length; i++)
+            assertEquals(seq[i], par[i], 0.0f);
+        float[] seq2 = new float[2 * 3000], par2 = new float[2 * 3000];
+        new BestCandidateSampling.Disk().seed(6L).numSamples(3000).numCandidates(100).generate(seq2);
+        new BestCandidateSampling.Disk().seed(6L).numSamples(3000).numCandidates(100).parallel(true).generate(par2);
+        for (int i = 0; i < seq2.length; i++)
+            assertEquals(seq2[i], par2[i], 0.0f);
+    }
+
+}
@@ -0,0 +1,308 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import junit.framework.TestCase;
+
+import org.joml.BulkWriter;
+import org.joml.DualQuaternionf;
+import org.joml.DualQuaternionfc;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Matrix4x3f;
+import org.joml.Matrix4x3fc;
+import org.joml.Quaternionf;
+import org.joml.Quaternionfc;
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.joml.Vector4f;
+import org.joml.Vector4fc;
+
+/**
+ * Tests for the {@link BulkWriter} class.
+ */
+public class BulkWriterTest extends TestCase {
+
+    private static Matrix4fc[] matrices(int count) {
+        Matrix4fc[] m = new Matrix4fc[count];
+        for (int i = 0; i < count; i++)
+            m[i] = new Matrix4f().perspective(0.8f, 1.0f, 0.1f, 10.0f + i).rotateY(i).translate(i, -i, 1);
+        return m;
+    }
+
+    private static FloatBuffer floatBuffer(int size) {
+        return ByteBuffer.allocateDirect(size << 2).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    private static void assertBuffersEqual(FloatBuffer expected, FloatBuffer actual) {
+        assertEquals(expected.capacity(), actual.capacity());
+        for (int i = 0; i < expected.capacity(); i++)
+            assertEquals("index " + i, expected.get(i), actual.get(i), 0.0f);
+    }
+
+    public static void testMatrix4fLayouts() {
+        Matrix4fc[] m = matrices(10);
+        int[] layouts = { BulkWriter.LAYOUT_4X4, BulkWriter.LAYOUT_4X3, BulkWriter.LAYOUT_3X4,
+                          BulkWriter.LAYOUT_4X4_TRANSPOSED, BulkWriter.LAYOUT_4X3_TRANSPOSED };
+        for (int l = 0; l < layouts.length; l++) {
+            int layout = layouts[l], stride = BulkWriter.floats(layout) + 3;
+            FloatBuffer expected = floatBuffer(5 + 8 * stride);
+            FloatBuffer actual = floatBuffer(5 + 8 * stride);
+            for (int i = 0; i < 8; i++) {
+                int index = 5 + i * stride;
+                switch (layout) {
+                case BulkWriter.LAYOUT_4X4: m[i + 2].get(index, expected); break;
+                case BulkWriter.LAYOUT_4X3: m[i + 2].get4x3(index, expected); break;
+                case BulkWriter.LAYOUT_3X4: m[i + 2].get3x4(index, expected); break;
+                case BulkWriter.LAYOUT_4X4_TRANSPOSED: m[i + 2].getTransposed(index, expected); break;
+                default: m[i + 2].get4x3Transposed(index, expected); break;
+                }
+            }
+            BulkWriter.put(m, 2, 8, layout, actual, 5, stride);
+            assertBuffersEqual(expected, actual);
+        }
+    }
+
+    public static void testMatrix4x3fByteBuffer() {
+        Matrix4x3fc[] m = new Matrix4x3fc[6];
+        for (int i = 0; i < m.length; i++)
+            m[i] = new Matrix4x3f().translation(i, 2 * i, 3).rotateXYZ(0.1f * i, 0.2f, 0.3f);
+        ByteBuffer expected = ByteBuffer.allocateDirect(6 * 64).order(ByteOrder.nativeOrder());
+        ByteBuffer actual = ByteBuffer.allocateDirect(6 * 64).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < m.length; i++)
+            m[i].get4x4(i * 64, expected);
+        BulkWriter.put(m, 0, m.length, BulkWriter.LAYOUT_4X4, actual, 0, 0);
+        assertBuffersEqual(expected.asFloatBuffer(), actual.asFloatBuffer());
+        try {
+            BulkWriter.put(m, 0, m.length, BulkWriter.LAYOUT_4X4_TRANSPOSED, actual, 0, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public static void testVectorsAndQuaternions() {
+        Vector3fc[] v = { new Vector3f(1, 2, 3), new Vector3f(4, 5, 6) };
+        Quaternionfc[] q = { new Quaternionf().rotateX(1.0f), new Quaternionf().rotateY(2.0f) };
+        FloatBuffer fb = floatBuffer(16);
+        BulkWriter.put(v, 0, 2, fb, 0, 8);
+        BulkWriter.put(q, 0, 2, fb, 3, 8);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(v[i], new Vector3f(fb.get(i * 8), fb.get(i * 8 + 1), fb.get(i * 8 + 2)));
+            assertEquals(q[i], new Quaternionf(fb.get(i * 8 + 3), fb.get(i * 8 + 4), fb.get(i * 8 + 5), fb.get(i * 8 + 6)));
+        }
+    }
+
+    public static void testDualQuaternionPalette() {
+        DualQuaternionfc[] q = new DualQuaternionfc[5];
+        for (int i = 0; i < q.length; i++)
+            q[i] = new DualQuaternionf().set(new Matrix4x3f().translation(i, 2 * i, 3).rotateXYZ(0.1f * i, 0.2f, 0.3f));
+        FloatBuffer expected = floatBuffer(2 + 4 * 10);
+        FloatBuffer actual = floatBuffer(2 + 4 * 10);
+        for (int i = 0; i < 4; i++)
+            q[i + 1].get(2 + i * 10, expected);
+        BulkWriter.put(q, 1, 4, actual, 2, 10);
+        assertBuffersEqual(expected, actual);
+        ByteBuffer bytes = ByteBuffer.allocateDirect(5 * 32).order(ByteOrder.nativeOrder());
+        BulkWriter.put(q, 0, 5, bytes, 0, 0);
+        for (int i = 0; i < q.length; i++)
+            assertEquals(q[i], new DualQuaternionf().set(i * 32, bytes));
+    }
+
+    public static void testBoundsAreCheckedUpFront() {
+        Matrix4fc[] m = matrices(4);
+        FloatBuffer fb = floatBuffer(4 * 16 - 1);
+        try {
+            BulkWriter.put(m, 0, 4, BulkWriter.LAYOUT_4X4, fb, 0, 0);
+            fail();
+        } catch (BufferOverflowException e) {
+            // expected
+        }
+        for (int i = 0; i < fb.capacity(); i++)
+            assertEquals(0.0f, fb.get(i), 0.0f);
+        try {
+            BulkWriter.put(m, 0, 4, BulkWriter.LAYOUT_4X4, fb, 0, 8);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public static void testHalfFloatConversion() {
+        assertEquals((short) 0x3C00, BulkWriter.floatToHalf(1.0f));
+        assertEquals((short) 0xC000, BulkWriter.floatToHalf(-2.0f));
+        assertEquals((short) 0x3555, BulkWriter.floatToHalf(1.0f / 3.0f));
+        assertEquals((short) 0x7BFF, BulkWriter.floatToHalf(65504.0f));
+        assertEquals((short) 0x7C00, BulkWriter.floatToHalf(65520.0f));
+        assertEquals((short) 0x0001, BulkWriter.floatToHalf(5.9604645E-8f));
+        assertEquals((short) 0x0000, BulkWriter.floatToHalf(2.9802322E-8f));
+        assertEquals((short) 0x8000, BulkWriter.floatToHalf(-0.0f));
+        assertTrue(Float.isNaN(BulkWriter.halfToFloat(BulkWriter.floatToHalf(Float.NaN))));
+        /* every half float that is not NaN survives the round trip */
+        for (int h = 0; h < 0x10000; h++) {
+            if ((h & 0x7C00) == 0x7C00 && (h & 0x3FF) != 0)
+                continue;
+            assertEquals(h, BulkWriter.floatToHalf(BulkWriter.halfToFloat((short) h)) & 0xFFFF);
+        }
+    }
+
+    public static void testPackedHeapAndDirectBuffersAgree() {
+        Matrix4x3fc[] m = new Matrix4x3fc[4];
+        for (int i = 0; i < m.length; i++)
+            m[i] = new Matrix4x3f().translation(i, 2 * i, 3).rotateXYZ(0.1f * i, 0.2f, 0.3f);
+        int[] formats = { BulkWriter.FORMAT_HALF, BulkWriter.FORMAT_UNORM8, BulkWriter.FORMAT_SNORM8,
+                          BulkWriter.FORMAT_UNORM16, BulkWriter.FORMAT_SNORM16 };
+        for (int f = 0; f < formats.length; f++) {
+            int stride = BulkWriter.bytes(formats[f], 12) + 4;
+            ByteBuffer heap = ByteBuffer.allocate(4 * stride).order(ByteOrder.nativeOrder());
+            ByteBuffer direct = ByteBuffer.allocateDirect(4 * stride).order(ByteOrder.nativeOrder());
+            BulkWriter.putPacked(m, 0, 4, formats[f], heap, 0, stride);
+            BulkWriter.putPacked(m, 0, 4, formats[f], direct, 0, stride);
+            for (int i = 0; i < heap.capacity(); i++)
+                assertEquals("format " + formats[f] + " byte " + i, heap.get(i), direct.get(i));
+        }
+        ByteBuffer half = ByteBuffer.allocateDirect(4 * 24).order(ByteOrder.nativeOrder());
+        BulkWriter.putPacked(m, 0, 4, BulkWriter.FORMAT_HALF, half, 0, 0);
+        for (int i = 0; i < m.length; i++) {
+            float[] expected = m[i].get(new float[12]);
+            for (int j = 0; j < 12; j++)
+                assertEquals(expected[j], BulkWriter.halfToFloat(half.getShort(i * 24 + j * 2)), 4E-3f);
+        }
+    }
+
+    public static void testPackedNormalizedIntegers() {
+        Vector4fc[] v = { new Vector4f(0.0f, 0.5f, 1.0f, 2.0f), new Vector4f(-1.0f, -0.25f, 0.25f, -3.0f) };
+        ByteBuffer bytes = ByteBuffer.allocateDirect(16).order(ByteOrder.nativeOrder());
+        BulkWriter.putPacked(v, 0, 1, BulkWriter.FORMAT_UNORM8, bytes, 0, 0);
+        assertEquals(0, bytes.get(0) & 0xFF);
+        assertEquals(128, bytes.get(1) & 0xFF);
+        assertEquals(255, bytes.get(2) & 0xFF);
+        assertEquals(255, bytes.get(3) & 0xFF);
+        BulkWriter.putPacked(v, 1, 1, BulkWriter.FORMAT_SNORM16, bytes, 4, 0);
+        assertEquals(-32767, bytes.getShort(4));
+        assertEquals(-8192, bytes.getShort(6));
+        assertEquals(8192, bytes.getShort(8));
+        assertEquals(-32767, bytes.getShort(10));
+        BulkWriter.putPacked(v, 0, 2, BulkWriter.FORMAT_SNORM_10_10_10_2, bytes, 8, 0);
+        int packed = bytes.getInt(12);
+        assertEquals(-511, packed << 22 >> 22);
+        assertEquals(-128, packed << 12 >> 22);
+        assertEquals(128, packed << 2 >> 22);
+        assertEquals(-1, packed >> 30);
+        float[] xy = { 0.25f, 0.75f, 1.0f, 0.5f };
+        BulkWriter.putPacked(xy, 0, 2, 2, BulkWriter.FORMAT_UNORM16, bytes, 0, 0);
+        assertEquals(16384, bytes.getShort(0) & 0xFFFF);
+        assertEquals(49151, bytes.getShort(2) & 0xFFFF);
+        assertEquals(65535, bytes.getShort(4) & 0xFFFF);
+        assertEquals(32768, bytes.getShort(6) & 0xFFFF);
+    }
+
+    private static Vector3f decodeOctahedral(float u, float v, Vector3f dest) {
+        float z = 1.0f - Math.abs(u) - Math.abs(v);
+        if (z < 0.0f) {
+            float fu = (1.0f - Math.abs(v)) * (u >= 0.0f ? 1.0f : -1.0f);
+            float fv = (1.0f - Math.abs(u)) * (v >= 0.0f ? 1.0f : -1.0f);
+            u = fu;
+            v = fv;
+        }
+        return dest.set(u, v, z).normalize();
+    }
+
+    public static void testPackedOctahedralNormals() {
+        Vector3fc[] n = new Vector3fc[200];
+        java.util.Random rnd = new java.util.Random(42L);
+        for (int i = 0; i < n.length; i++)
+            n[i] = new Vector3f((float) rnd.nextGaussian(), (float) rnd.nextGaussian(), (float) rnd.nextGaussian()).normalize();
+        ByteBuffer bytes = ByteBuffer.allocateDirect(n.length * 4).order(ByteOrder.nativeOrder());
+        BulkWriter.putPacked(n, 0, n.length, BulkWriter.FORMAT_OCTAHEDRAL_SNORM16, bytes, 0, 0);
+        ByteBuffer small = ByteBuffer.allocateDirect(n.length * 2).order(ByteOrder.nativeOrder());
+        BulkWriter.putPacked(n, 0, n.length, BulkWriter.FORMAT_OCTAHEDRAL_SNORM8, small, 0, 0);
+        Vector3f decoded = new Vector3f();
+        for (int i = 0; i < n.length; i++) {
+            decodeOctahedral(bytes.getShort(i * 4) / 32767.0f, bytes.getShort(i * 4 + 2) / 32767.0f, decoded);
+            assertEquals(0.0f, decoded.distance(n[i]), 1E-4f);
+            decodeOctahedral(small.get(i * 2) / 127.0f, small.get(i * 2 + 1) / 127.0f, decoded);
+            assertEquals(0.0f, decoded.distance(n[i]), 2E-2f);
+        }
+    }
+
+    public static void testPackedUnsupportedFormat() {
+        Vector2fc[] v = { new Vector2f(1, 0) };
+        ByteBuffer bytes = ByteBuffer.allocateDirect(16).order(ByteOrder.nativeOrder());
+        try {
+            BulkWriter.putPacked(v, 0, 1, BulkWriter.FORMAT_OCTAHEDRAL_SNORM16, bytes, 0, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            BulkWriter.putPacked(new Quaternionfc[] { new Quaternionf() }, 0, 1, BulkWriter.FORMAT_SNORM16, bytes, 12, 0);
+            fail();
+        } catch (BufferOverflowException e) {
+            // expected
+        }
+    }
+
+    public static void testPackedUnalignedDirectBuffer() {
+        Vector4fc[] v = new Vector4fc[5];
+        for (int i = 0; i < v.length; i++)
+            v[i] = new Vector4f(0.1f * i, -0.2f * i, 0.3f, i > 2 ? 1.0f : 0.0f);
+        int[] formats = { BulkWriter.FORMAT_HALF, BulkWriter.FORMAT_UNORM16, BulkWriter.FORMAT_SNORM_10_10_10_2 };
+        for (int f = 0; f < formats.length; f++) {
+            int stride = BulkWriter.bytes(formats[f], 4) + 1;
+            ByteBuffer heap = ByteBuffer.allocate(1 + 5 * stride).order(ByteOrder.nativeOrder());
+            // direct buffers are always written in native byte order
+            ByteBuffer direct = ByteBuffer.allocateDirect(1 + 5 * stride).order(ByteOrder.BIG_ENDIAN);
+            BulkWriter.putPacked(v, 0, 5, formats[f], heap, 1, stride);
+            BulkWriter.putPacked(v, 0, 5, formats[f], direct, 1, stride);
+            for (int i = 0; i < heap.capacity(); i++)
+                assertEquals("format " + formats[f] + " byte " + i, heap.get(i), direct.get(i));
+        }
+    }
+
+    public static void testPackedUnalignedAddress() {
+        Vector4fc[] v = { new Vector4f() };
+        try {
+            BulkWriter.putPacked(v, 0, 0, BulkWriter.FORMAT_HALF, 1L, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            BulkWriter.putPacked(v, 0, 0, BulkWriter.FORMAT_UNORM_10_10_10_2, 8L, 6);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        BulkWriter.putPacked(v, 0, 0, BulkWriter.FORMAT_UNORM8, 1L, 5);
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
+import junit.framework.TestCase;
+
+import org.joml.DualQuaterniond;
+import org.joml.DualQuaternionf;
+import org.joml.Matrix4x3d;
+import org.joml.Matrix4x3f;
+import org.joml.Quaterniond;
+import org.joml.Quaternionf;
+import org.joml.Vector3d;
+import org.joml.Vector3f;
+
+/**
+ * Tests for the {@link DualQuaternionf} and {@link DualQuaterniond} classes.
+ */
+public class DualQuaternionTest extends TestCase {
+
+    private static Matrix4x3f matrix(float seed) {
+        return new Matrix4x3f().translation(seed, 2.0f - seed, 3.0f * seed).rotateXYZ(0.3f * seed, 1.1f, -0.7f * seed);
+    }
+
+    public static void testMatrixRoundTrip() {
+        Matrix4x3f m = matrix(0.7f);
+        DualQuaternionf q = new DualQuaternionf().set(m);
+        TestUtil.assertMatrix4x3fEquals(m, q.get(new Matrix4x3f()), 1E-6f);
+        TestUtil.assertVector3fEquals(m.getTranslation(new Vector3f()), q.getTranslation(new Vector3f()), 1E-6f);
+        Matrix4x3f scaled = new Matrix4x3f(m).scale(2.0f, 0.5f, 3.0f);
+        TestUtil.assertMatrix4x3fEquals(m, new DualQuaternionf().set(scaled).get(new Matrix4x3f()), 1E-6f);
+    }
+
+    public static void testTranslationRotate() {
+        Quaternionf r = new Quaternionf().rotateXYZ(0.1f, 0.2f, 0.3f);
+        DualQuaternionf q = new DualQuaternionf().translationRotate(1, 2, 3, r);
+        TestUtil.assertMatrix4x3fEquals(new Matrix4x3f().translationRotate(1, 2, 3, r), q.get(new Matrix4x3f()), 1E-6f);
+        assertEquals(r, q.getRotation(new Quaternionf()));
+    }
+
+    public static void testMulMatchesMatrix() {
+        Matrix4x3f a = matrix(0.7f), b = matrix(-1.3f);
+        DualQuaternionf q = new DualQuaternionf().set(a).mul(new DualQuaternionf().set(b));
+        TestUtil.assertMatrix4x3fEquals(new Matrix4x3f(a).mul(b), q.get(new Matrix4x3f()), 1E-5f);
+    }
+
+    public static void testTransform() {
+        Matrix4x3f m = matrix(0.7f);
+        DualQuaternionf q = new DualQuaternionf().set(m);
+        Vector3f v = new Vector3f(1.5f, -2.0f, 0.25f);
+        TestUtil.assertVector3fEquals(m.transformPosition(new Vector3f(v)), q.transformPosition(v, new Vector3f()), 1E-5f);
+        TestUtil.assertVector3fEquals(m.transformDirection(new Vector3f(v)), q.transformDirection(v, new Vector3f()), 1E-5f);
+    }
+
+    public static void testInvert() {
+        DualQuaternionf q = new DualQuaternionf().set(matrix(0.7f));
+        DualQuaternionf r = q.invert(new DualQuaternionf()).mul(q);
+        TestUtil.assertMatrix4x3fEquals(new Matrix4x3f(), r.get(new Matrix4x3f()), 1E-6f);
+    }
+
+    public static void testNormalize() {
+        DualQuaternionf q = new DualQuaternionf().set(matrix(0.7f));
+        DualQuaternionf s = new DualQuaternionf(2 * q.x, 2 * q.y, 2 * q.z, 2 * q.w,
+                                                2 * q.dx + 0.1f * q.x, 2 * q.dy + 0.1f * q.y, 2 * q.dz + 0.1f * q.z, 2 * q.dw + 0.1f * q.w);
+        s.normalize();
+        TestUtil.assertMatrix4x3fEquals(q.get(new Matrix4x3f()), s.get(new Matrix4x3f()), 1E-6f);
+        assertEquals(0.0f, s.x * s.dx + s.y * s.dy + s.z * s.dz + s.w * s.dw, 1E-7f);
+    }
+
+    public static void testLerp() {
+        DualQuaternionf a = new DualQuaternionf().set(matrix(0.7f)), b = new DualQuaternionf().set(matrix(-1.3f));
+        TestUtil.assertMatrix4x3fEquals(a.get(new Matrix4x3f()), a.lerp(b, 0.0f, new DualQuaternionf()).get(new Matrix4x3f()), 1E-6f);
+        DualQuaternionf negated = new DualQuaternionf(-b.x, -b.y, -b.z, -b.w, -b.dx, -b.dy, -b.dz, -b.dw);
+        TestUtil.assertMatrix4x3fEquals(b.get(new Matrix4x3f()), a.lerp(negated, 1.0f, new DualQuaternionf()).get(new Matrix4x3f()), 1E-6f);
+        DualQuaternionf half = a.lerp(negated, 0.5f, new DualQuaternionf());
+        Quaternionf expected = a.getRotation(new Quaternionf()).nlerp(b.getRotation(new Quaternionf()), 0.5f);
+        assertEquals(0.0f, expected.difference(half.getRotation(new Quaternionf()), new Quaternionf()).angle(), 1E-3f);
+    }
+
+    public static void testBuffers() {
+        DualQuaternionf q = new DualQuaternionf().set(matrix(0.7f));
+        FloatBuffer fb = ByteBuffer.allocateDirect(10 << 2).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        q.get(2, fb);
+        assertEquals(q, new DualQuaternionf().set(2, fb));
+        ByteBuffer bb = ByteBuffer.allocateDirect(40).order(ByteOrder.nativeOrder());
+        q.get(4, bb);
+        assertEquals(q, new DualQuaternionf().set(4, bb));
+        assertEquals(q.dw, bb.getFloat(4 + 28), 0.0f);
+    }
+
+    public static void testDouble() {
+        Matrix4x3d a = new Matrix4x3d().translation(0.7, 1.3, 2.1).rotateXYZ(0.21, 1.1, -0.49);
+        Matrix4x3d b = new Matrix4x3d().translation(-1.3, 3.3, -3.9).rotateXYZ(-0.39, 1.1, 0.91);
+        DualQuaterniond q = new DualQuaterniond().set(a).mul(new DualQuaterniond().set(b));
+        TestUtil.assertMatrix4x3dEquals(new Matrix4x3d(a).mul(b), q.get(new Matrix4x3d()), 1E-12);
+        Vector3d v = new Vector3d(1.5, -2.0, 0.25);
+        TestUtil.assertVector3dEquals(new Matrix4x3d(a).mul(b).transformPosition(new Vector3d(v)), q.transformPosition(v, new Vector3d()), 1E-12);
+        Quaterniond r = new Quaterniond().rotateXYZ(0.1, 0.2, 0.3);
+        DualQuaterniond t = new DualQuaterniond().translationRotate(1, 2, 3, r);
+        TestUtil.assertMatrix4x3dEquals(new Matrix4x3d().translationRotate(1, 2, 3, r), t.get(new Matrix4x3d()), 1E-12);
+        DoubleBuffer db = ByteBuffer.allocateDirect(8 << 3).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        assertEquals(q, new DualQuaterniond().set(q.get(db)));
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.lang.management.ManagementFactory;
+
+import junit.framework.TestCase;
+
+import org.joml.Math;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.joml.internal.Fma;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+/**
+ * Tests for {@link Math#fma(float, float, float)} and the kernels using it.
+ */
+public class FmaTest extends TestCase {
+
+    public static void testFma() {
+        assertEquals(7.0f, Math.fma(2.0f, 3.0f, 1.0f), 0.0f);
+        assertEquals(7.0, Math.fma(2.0, 3.0, 1.0), 0.0);
+        assertEquals(0.0f, Math.fma(0.1f, 10.0f, -1.0f), 2E-8f);
+        assertTrue(Float.isNaN(Math.fma(Float.NaN, 1.0f, 0.0f)));
+    }
+
+    /**
+     * The test run against the multi-release jar sets <code>joml.test.fused</code>, so that it fails when the Java 9 classes are
+     * not actually loaded.
+     */
+    public static void testFusedWhenExpected() {
+        String expected = System.getProperty("joml.test.fused");
+        if (expected != null)
+            assertEquals(Boolean.valueOf(expected).booleanValue(), Fma.INSTANCE.isFused());
+    }
+
+    /**
+     * The test run against the multi-release jar without <code>joml.usefma</code> sets <code>joml.test.fmadetect</code>,
+     * so that it fails when the fused implementation is not chosen exactly when HotSpot uses FMA instructions.
+     */
+    public static void testFusedMatchesHotSpot() {
+        if (System.getProperty("joml.test.fmadetect") == null)
+            return;
+        HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        assertEquals(Boolean.parseBoolean(bean.getVMOption("UseFMA").getValue()), Fma.INSTANCE.isFused());
+    }
+
+    public static void testKernelsAgreeWithUnfused() {
+        Matrix4f m = new Matrix4f().perspective(1.0f, 1.5f, 0.1f, 100.0f).lookAt(0, 2, 5, 0, 0, 0, 0, 1, 0);
+        Matrix4f n = new Matrix4f().rotateXYZ(0.1f, 0.2f, 0.3f).translate(1, 2, 3);
+        float[] a = m.get(new float[16]);
+        float[] b = n.get(new float[16]);
+        float[] r = m.mul(n, new Matrix4f()).get(new float[16]);
+        for (int i = 0; i < 4; i++)
+            for (int j = 0; j < 4; j++) {
+                float expected = a[j] * b[i * 4] + a[4 + j] * b[i * 4 + 1] + a[8 + j] * b[i * 4 + 2] + a[12 + j] * b[i * 4 + 3];
+                assertEquals(expected, r[i * 4 + j], 1E-5f);
+            }
+        Vector3f v = new Vector3f(1, 2, 3).mulPosition(n);
+        assertEquals(n.m00() + 2 * n.m10() + 3 * n.m20() + n.m30(), v.x, 1E-5f);
+        Quaternionf q = new Quaternionf().rotateXYZ(0.1f, 0.2f, 0.3f);
+        assertEquals(1.0f, q.dot(q), 1E-6f);
+        Quaternionf id = q.mul(new Quaternionf(q).conjugate(), new Quaternionf());
+        assertEquals(0.0f, id.x, 1E-6f);
+        assertEquals(0.0f, id.y, 1E-6f);
+        assertEquals(0.0f, id.z, 1E-6f);
+        assertEquals(1.0f, id.w, 1E-6f);
+    }
+
+    /**
+     * Without fused multiply-add, the kernels must round exactly like the plain expressions they replaced.
+     */
+    public static void testUnfusedIsExact() {
+        if (Fma.INSTANCE.isFused())
+            return;
+        Matrix4f m = new Matrix4f().perspective(1.0f, 1.5f, 0.1f, 100.0f).lookAt(0, 2, 5, 0, 0, 0, 0, 1, 0);
+        Matrix4f n = new Matrix4f().rotateXYZ(0.1f, 0.2f, 0.3f).translate(1, 2, 3);
+        float[] a = m.get(new float[16]);
+        float[] b = n.get(new float[16]);
+        float[] r = m.mul(n, new Matrix4f()).get(new float[16]);
+        for (int i = 0; i < 4; i++)
+            for (int j = 0; j < 4; j++) {
+                float expected = a[j] * b[i * 4] + a[4 + j] * b[i * 4 + 1] + a[8 + j] * b[i * 4 + 2] + a[12 + j] * b[i * 4 + 3];
+                assertEquals(expected, r[i * 4 + j], 0.0f);
+            }
+        Vector3f v = new Vector3f(1.1f, -2.3f, 3.7f).mulPosition(n, new Vector3f());
+        assertEquals(n.m00() * 1.1f + n.m10() * -2.3f + n.m20() * 3.7f + n.m30(), v.x, 0.0f);
+        assertEquals(n.m01() * 1.1f + n.m11() * -2.3f + n.m21() * 3.7f + n.m31(), v.y, 0.0f);
+        assertEquals(n.m02() * 1.1f + n.m12() * -2.3f + n.m22() * 3.7f + n.m32(), v.z, 0.0f);
+        Quaternionf p = new Quaternionf().rotateXYZ(0.1f, 0.2f, 0.3f);
+        Quaternionf q = new Quaternionf().rotateXYZ(0.3f, -0.2f, 0.7f);
+        Quaternionf d = p.mul(q, new Quaternionf());
+        assertEquals(p.w * q.x + p.x * q.w + p.y * q.z - p.z * q.y, d.x, 0.0f);
+        assertEquals(p.w * q.y - p.x * q.z + p.y * q.w + p.z * q.x, d.y, 0.0f);
+        assertEquals(p.w * q.z + p.x * q.y - p.y * q.x + p.z * q.w, d.z, 0.0f);
+        assertEquals(p.w * q.w - p.x * q.x - p.y * q.y - p.z * q.z, d.w, 0.0f);
+        assertEquals(p.x * q.x + p.y * q.y + p.z * q.z + p.w * q.w, p.dot(q), 0.0f);
+    }
+
+}
@@ -23,6 +23,9 @@
  */
 package org.joml.test;
 
+import java.nio.FloatBuffer;
+import java.util.BitSet;
+
 import junit.framework.Assert;
 import junit.framework.TestCase;
 
@@ -93,4 +96,112 @@ public class FrustumIntersectionTest extends TestCase {
         Assert.assertEquals(Matrix4fc.PLANE_NX, c.intersectAab(-6.1f, 0, -3, -5, 2, -2, ~0, Matrix4fc.PLANE_NX));
     }
 
+    private static float[] randomBoxes(int count) {
+        java.util.Random rnd = new java.util.Random(12345L);
+        float[] boxes = new float[count * 6];
+        for (int i = 0; i < count; i++) {
+            float x = (rnd.nextFloat() - 0.5f) * 40.0f, y = (rnd.nextFloat() - 0.5f) * 40.0f, z = -rnd.nextFloat() * 40.0f;
+            float e = rnd.nextFloat() * 3.0f;
+            boxes[i * 6] = x - e;
+            boxes[i * 6 + 1] = y - e;
+            boxes[i * 6 + 2] = z - e;
+            boxes[i * 6 + 3] = x + e;
+            boxes[i * 6 + 4] = y + e;
+            boxes[i * 6 + 5] = z + e;
+        }
+        return boxes;
+    }
+
+    public static void testBulkAabs() {
+        FrustumIntersection c = new FrustumIntersection(new Matrix4f().perspective((float) Math.PI / 2.0f, 1.0f, 0.1f, 20.0f));
+        int count = 10000;
+        float[] boxes = randomBoxes(count + 1);
+        BitSet bits = new BitSet();
+        int[] indices = new int[count];
+        int[] parallelIndices = new int[count];
+        byte[] visibility = new byte[count];
+        byte[] parallelVisibility = new byte[count];
+        int visible = c.testAabs(boxes, 6, count, bits);
+        Assert.assertEquals(visible, c.testAabs(boxes, 6, count, indices));
+        Assert.assertEquals(visible, c.testAabs(boxes, 6, count, visibility));
+        Assert.assertEquals(visible, c.testAabsParallel(boxes, 6, count, parallelIndices));
+        Assert.assertEquals(visible, c.testAabsParallel(boxes, 6, count, parallelVisibility));
+        Assert.assertTrue(visible > 0 && visible < count);
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            int o = 6 + i * 6;
+            boolean expected = c.testAab(boxes[o], boxes[o + 1], boxes[o + 2], boxes[o + 3], boxes[o + 4], boxes[o + 5]);
+            Assert.assertEquals(expected, bits.get(i));
+            Assert.assertEquals(expected ? 1 : 0, visibility[i]);
+            Assert.assertEquals(expected ? 1 : 0, parallelVisibility[i]);
+            if (expected) {
+                Assert.assertEquals(i, indices[n]);
+                Assert.assertEquals(i, parallelIndices[n]);
+                n++;
+            }
+        }
+        FloatBuffer fb = FloatBuffer.wrap(boxes);
+        fb.position(6);
+        BitSet bufferBits = new BitSet();
+        Assert.assertEquals(visible, c.testAabs(fb, count, bufferBits));
+        Assert.assertEquals(bits, bufferBits);
+        Assert.assertEquals(6, fb.position());
+    }
+
+    public static void testBulkSpheres() {
+        FrustumIntersection c = new FrustumIntersection(new Matrix4f().perspective((float) Math.PI / 2.0f, 1.0f, 0.1f, 20.0f));
+        int count = 9000;
+        float[] boxes = randomBoxes(count);
+        float[] spheres = new float[count * 4];
+        for (int i = 0; i < count; i++) {
+            spheres[i * 4] = boxes[i * 6];
+            spheres[i * 4 + 1] = boxes[i * 6 + 1];
+            spheres[i * 4 + 2] = boxes[i * 6 + 2];
+            spheres[i * 4 + 3] = boxes[i * 6 + 3] - boxes[i * 6];
+        }
+        int[] indices = new int[count];
+        int[] bufferIndices = new int[count];
+        byte[] parallelVisibility = new byte[count];
+        int visible = c.testSpheres(spheres, 0, count, indices);
+        Assert.assertEquals(visible, c.testSpheres(FloatBuffer.wrap(spheres), count, bufferIndices));
+        Assert.assertEquals(visible, c.testSpheresParallel(spheres, 0, count, parallelVisibility));
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            boolean expected = c.testSphere(spheres[i * 4], spheres[i * 4 + 1], spheres[i * 4 + 2], spheres[i * 4 + 3]);
+            Assert.assertEquals(expected ? 1 : 0, parallelVisibility[i]);
+            if (expected) {
+                Assert.assertEquals(i, indices[n]);
+                Assert.assertEquals(i, bufferIndices[n]);
+                n++;
+            }
+        }
+        Assert.assertEquals(visible, n);
+    }
+
+    public static void testBulkIntersectAabs() {
+        FrustumIntersection c = new FrustumIntersection(new Matrix4f().perspective((float) Math.PI / 2.0f, 1.0f, 0.1f, 20.0f));
+        int count = 1000;
+        float[] boxes = randomBoxes(count);
+        byte[] results = new byte[count];
+        int notCulled = c.intersectAabs(boxes, 0, count, ~0, results);
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            int o = i * 6;
+            int expected = c.intersectAab(boxes[o], boxes[o + 1], boxes[o + 2], boxes[o + 3], boxes[o + 4], boxes[o + 5]);
+            if (expected < 0) {
+                Assert.assertEquals(expected, results[i]);
+                n++;
+            } else {
+                /* A box may be outside of several planes, so only the result of the coherent start plane must cull it */
+                Assert.assertTrue(results[i] >= 0);
+                Assert.assertEquals(results[i], c.intersectAab(boxes[o], boxes[o + 1], boxes[o + 2], boxes[o + 3], boxes[o + 4], boxes[o + 5], ~0, results[i]));
+            }
+        }
+        Assert.assertEquals(n, notCulled);
+        /* A second pass starts with the previous results and must produce the same ones */
+        byte[] previous = (byte[]) results.clone();
+        Assert.assertEquals(notCulled, c.intersectAabs(FloatBuffer.wrap(boxes), count, ~0, results));
+        Assert.assertTrue(java.util.Arrays.equals(previous, results));
+    }
+
 }
@@ -0,0 +1,249 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import junit.framework.TestCase;
+
+import org.joml.GeometryUtils;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+
+/**
+ * Tests for the mesh methods of {@link GeometryUtils}.
+ */
+public class GeometryUtilsTest extends TestCase {
+
+    private static final int N = 200;
+
+    /**
+     * A bumpy grid of <code>N * N</code> vertices with texture coordinates following the x and y axes.
+     */
+    private static float[] positions() {
+        float[] p = new float[N * N * 3];
+        for (int y = 0; y < N; y++)
+            for (int x = 0; x < N; x++) {
+                int i = (y * N + x) * 3;
+                p[i] = x;
+                p[i + 1] = y;
+                p[i + 2] = (float) (Math.sin(x * 0.3) * Math.cos(y * 0.2));
+            }
+        return p;
+    }
+
+    private static float[] uvs() {
+        float[] uv = new float[N * N * 2];
+        for (int y = 0; y < N; y++)
+            for (int x = 0; x < N; x++) {
+                uv[(y * N + x) * 2] = (float) x / N;
+                uv[(y * N + x) * 2 + 1] = (float) y / N;
+            }
+        return uv;
+    }
+
+    private static int[] indices() {
+        int[] indices = new int[(N - 1) * (N - 1) * 6];
+        int k = 0;
+        for (int y = 0; y < N - 1; y++)
+            for (int x = 0; x < N - 1; x++) {
+                int v = y * N + x;
+                indices[k++] = v; indices[k++] = v + 1; indices[k++] = v + N + 1;
+                indices[k++] = v; indices[k++] = v + N + 1; indices[k++] = v + N;
+            }
+        return indices;
+    }
+
+    public static void testFlatTriangle() {
+        float[] positions = { 0, 0, 0, 2, 0, 0, 0, 3, 0 };
+        int[] indices = { 0, 1, 2 };
+        float[] normals = new float[9];
+        GeometryUtils.normals(positions, 3, indices, 1, normals);
+        for (int v = 0; v < 3; v++)
+            TestUtil.assertVector3fEquals(new Vector3f(0, 0, 1), new Vector3f(normals[v * 3], normals[v * 3 + 1], normals[v * 3 + 2]), 1E-6f);
+        float[] tangents = new float[12];
+        GeometryUtils.tangents(positions, new float[] { 0, 0, 1, 0, 0, 1 }, normals, 3, indices, 1, tangents);
+        assertTrue(Arrays.equals(new float[] { 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1 }, tangents));
+        /* Mirrored texture coordinates flip the handedness */
+        GeometryUtils.tangents(positions, new float[] { 1, 0, 0, 0, 1, 1 }, normals, 3, indices, 1, tangents);
+        assertTrue(Arrays.equals(new float[] { -1, 0, 0, -1, -1, 0, 0, -1, -1, 0, 0, -1 }, tangents));
+    }
+
+    public static void testTangentsMatchTangentBitangent() {
+        float[] positions = { 0.2f, -1, 0.5f, 2, 0.1f, -0.3f, -0.4f, 3, 1 };
+        float[] uvs = { 0.1f, 0.2f, 0.9f, 0.3f, 0.2f, 0.8f };
+        int[] indices = { 0, 1, 2 };
+        float[] normals = new float[9];
+        GeometryUtils.normals(positions, 3, indices, 1, normals);
+        float[] tangents = new float[12];
+        GeometryUtils.tangents(positions, uvs, normals, 3, indices, 1, tangents);
+        Vector3f n = new Vector3f(), t = new Vector3f();
+        Vector3f p0 = new Vector3f(0.2f, -1, 0.5f), p1 = new Vector3f(2, 0.1f, -0.3f), p2 = new Vector3f(-0.4f, 3, 1);
+        GeometryUtils.normal(p0, p1, p2, n);
+        GeometryUtils.tangentBitangent(p0, new Vector2f(0.1f, 0.2f), p1, new Vector2f(0.9f, 0.3f), p2, new Vector2f(0.2f, 0.8f), t, new Vector3f());
+        t.sub(new Vector3f(n).mul(n.dot(t))).normalize();
+        for (int v = 0; v < 3; v++) {
+            TestUtil.assertVector3fEquals(n, new Vector3f(normals[v * 3], normals[v * 3 + 1], normals[v * 3 + 2]), 1E-6f);
+            TestUtil.assertVector3fEquals(t, new Vector3f(tangents[v * 4], tangents[v * 4 + 1], tangents[v * 4 + 2]), 1E-6f);
+            assertEquals(1.0f, tangents[v * 4 + 3], 0.0f);
+        }
+    }
+
+    public static void testSmoothNormalIsAreaWeighted() {
+        /* Two triangles sharing vertex 0, one in the xy plane with twice the area of the other one in the xz plane */
+        float[] positions = { 0, 0, 0, 2, 0, 0, 0, 2, 0, 0, 0, 1 };
+        int[] indices = { 0, 1, 2, 0, 3, 1 };
+        float[] normals = new float[12];
+        GeometryUtils.normals(positions, 4, indices, 2, normals);
+        TestUtil.assertVector3fEquals(new Vector3f(0, 1, 2).normalize(), new Vector3f(normals[0], normals[1], normals[2]), 1E-6f);
+        TestUtil.assertVector3fEquals(new Vector3f(0, 0, 1), new Vector3f(normals[6], normals[7], normals[8]), 1E-6f);
+        TestUtil.assertVector3fEquals(new Vector3f(0, 1, 0), new Vector3f(normals[9], normals[10], normals[11]), 1E-6f);
+    }
+
+    public static void testDegenerateUvsGivePerpendicularTangent() {
+        float[] positions = { 0, 0, 0, 1, 0, 0, 0, 1, 0 };
+        int[] indices = { 0, 1, 2 };
+        float[] normals = new float[9];
+        GeometryUtils.normals(positions, 3, indices, 1, normals);
+        float[] tangents = new float[12];
+        GeometryUtils.tangents(positions, new float[6], normals, 3, indices, 1, tangents);
+        for (int v = 0; v < 3; v++) {
+            assertEquals(0.0f, tangents[v * 4 + 2], 0.0f);
+            assertEquals(1.0f, tangents[v * 4] * tangents[v * 4] + tangents[v * 4 + 1] * tangents[v * 4 + 1], 1E-6f);
+            assertEquals(1.0f, tangents[v * 4 + 3], 0.0f);
+        }
+    }
+
+    public static void testGridTangentSpaceIsOrthonormal() {
+        float[] positions = positions(), uvs = uvs();
+        int[] indices = indices();
+        int triangleCount = indices.length / 3;
+        float[] normals = new float[N * N * 3], tangents = new float[N * N * 4];
+        GeometryUtils.normals(positions, N * N, indices, triangleCount, normals);
+        GeometryUtils.tangents(positions, uvs, normals, N * N, indices, triangleCount, tangents);
+        for (int v = 0; v < N * N; v++) {
+            Vector3f n = new Vector3f(normals[v * 3], normals[v * 3 + 1], normals[v * 3 + 2]);
+            Vector3f t = new Vector3f(tangents[v * 4], tangents[v * 4 + 1], tangents[v * 4 + 2]);
+            assertEquals(1.0f, n.length(), 1E-5f);
+            assertEquals(1.0f, t.length(), 1E-5f);
+            assertEquals(0.0f, n.dot(t), 1E-5f);
+            assertEquals(1.0f, tangents[v * 4 + 3], 0.0f);
+        }
+    }
+
+    /**
+     * The parallel methods must produce exactly the same result as the sequential methods. They are run in a pool of four threads,
+     * so that the grid is split into four vertex ranges regardless of the number of processors.
+     */
+    public static void testParallelEqualsSequential() {
+        final float[] positions = positions(), uvs = uvs();
+        final int[] indices = indices();
+        final int triangleCount = indices.length / 3;
+        final float[] normals = new float[N * N * 3], normalsParallel = new float[N * N * 3];
+        final float[] tangents = new float[N * N * 4], tangentsParallel = new float[N * N * 4];
+        GeometryUtils.normals(positions, N * N, indices, triangleCount, normals);
+        GeometryUtils.tangents(positions, uvs, normals, N * N, indices, triangleCount, tangents);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.invoke(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+                protected void compute() {
+                    GeometryUtils.normalsParallel(positions, N * N, indices, triangleCount, normalsParallel);
+                    GeometryUtils.tangentsParallel(positions, uvs, normals, N * N, indices, triangleCount, tangentsParallel);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(Arrays.equals(normals, normalsParallel));
+        assertTrue(Arrays.equals(tangents, tangentsParallel));
+    }
+
+    /**
+     * The tangent of {@link GeometryUtils#tangentBitangent(org.joml.Vector3fc, org.joml.Vector2fc, org.joml.Vector3fc, org.joml.Vector2fc, org.joml.Vector3fc, org.joml.Vector2fc, Vector3f, Vector3f) tangentBitangent()}
+     * is the tangent of the mesh tangents, and the bitangent <code>w * cross(normal, tangent)</code> of the mesh tangents points along
+     * increasing <code>v</code>, for both regular and mirrored texture coordinates. The bitangent of <code>tangentBitangent()</code>
+     * keeps pointing along decreasing <code>v</code>, as it always has.
+     */
+    public static void testBitangentConvention() {
+        float[] positions = { 0, 0, 0, 1, 0, 0, 0, 1, 0 };
+        int[] indices = { 0, 1, 2 };
+        float[][] uvs = { { 0, 0, 1, 0, 0, 1 }, { 1, 0, 0, 0, 1, 1 } };
+        Vector3f[] expectedTangents = { new Vector3f(1, 0, 0), new Vector3f(-1, 0, 0) };
+        for (int i = 0; i < uvs.length; i++) {
+            float[] uv = uvs[i];
+            Vector3f t = new Vector3f(), b = new Vector3f(), b2 = new Vector3f();
+            GeometryUtils.tangentBitangent(new Vector3f(0, 0, 0), new Vector2f(uv[0], uv[1]), new Vector3f(1, 0, 0), new Vector2f(uv[2], uv[3]),
+                    new Vector3f(0, 1, 0), new Vector2f(uv[4], uv[5]), t, b);
+            GeometryUtils.bitangent(new Vector3f(0, 0, 0), new Vector2f(uv[0], uv[1]), new Vector3f(1, 0, 0), new Vector2f(uv[2], uv[3]),
+                    new Vector3f(0, 1, 0), new Vector2f(uv[4], uv[5]), b2);
+            TestUtil.assertVector3fEquals(expectedTangents[i], t, 1E-6f);
+            TestUtil.assertVector3fEquals(new Vector3f(0, -1, 0), b, 1E-6f);
+            TestUtil.assertVector3fEquals(b, b2, 0.0f);
+            float[] normals = new float[9], tangents = new float[12];
+            GeometryUtils.normals(positions, 3, indices, 1, normals);
+            GeometryUtils.tangents(positions, uv, normals, 3, indices, 1, tangents);
+            Vector3f n = new Vector3f(normals[0], normals[1], normals[2]);
+            Vector3f meshTangent = new Vector3f(tangents[0], tangents[1], tangents[2]);
+            Vector3f meshBitangent = n.cross(meshTangent, new Vector3f()).mul(tangents[3]);
+            TestUtil.assertVector3fEquals(t, meshTangent, 1E-6f);
+            TestUtil.assertVector3fEquals(new Vector3f(0, 1, 0), meshBitangent, 1E-6f);
+        }
+    }
+
+    public static void testBuffers() {
+        float[] positions = positions(), uvs = uvs();
+        int[] indices = indices();
+        int triangleCount = indices.length / 3;
+        float[] normals = new float[N * N * 3], tangents = new float[N * N * 4];
+        GeometryUtils.normals(positions, N * N, indices, triangleCount, normals);
+        GeometryUtils.tangents(positions, uvs, normals, N * N, indices, triangleCount, tangents);
+        FloatBuffer normalsBuffer = FloatBuffer.allocate(N * N * 3 + 1), tangentsBuffer = FloatBuffer.allocate(N * N * 4 + 1);
+        normalsBuffer.position(1);
+        tangentsBuffer.position(1);
+        GeometryUtils.normals(FloatBuffer.wrap(positions), N * N, IntBuffer.wrap(indices), triangleCount, normalsBuffer);
+        GeometryUtils.tangents(FloatBuffer.wrap(positions), FloatBuffer.wrap(uvs), FloatBuffer.wrap(normals), N * N,
+                IntBuffer.wrap(indices), triangleCount, tangentsBuffer);
+        assertEquals(1, normalsBuffer.position());
+        assertEquals(1, tangentsBuffer.position());
+        for (int i = 0; i < normals.length; i++)
+            assertEquals(normals[i], normalsBuffer.get(i + 1), 0.0f);
+        for (int i = 0; i < tangents.length; i++)
+            assertEquals(tangents[i], tangentsBuffer.get(i + 1), 0.0f);
+        GeometryUtils.normalsParallel(FloatBuffer.wrap(positions), N * N, IntBuffer.wrap(indices), triangleCount, normalsBuffer);
+        GeometryUtils.tangentsParallel(FloatBuffer.wrap(positions), FloatBuffer.wrap(uvs), FloatBuffer.wrap(normals), N * N,
+                IntBuffer.wrap(indices), triangleCount, tangentsBuffer);
+        assertEquals(1, normalsBuffer.position());
+        assertEquals(1, tangentsBuffer.position());
+        for (int i = 0; i < normals.length; i++)
+            assertEquals(normals[i], normalsBuffer.get(i + 1), 0.0f);
+        for (int i = 0; i < tangents.length; i++)
+            assertEquals(tangents[i], tangentsBuffer.get(i + 1), 0.0f);
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import junit.framework.TestCase;
+
+import org.joml.Math;
+
+/**
+ * Tests for the fast approximations and bulk functions of {@link Math}.
+ */
+public class MathApproximationTest extends TestCase {
+
+    private static final int SAMPLES = 100000;
+
+    private static float lerp(float min, float max, int i) {
+        return min + (max - min) * i / SAMPLES;
+    }
+
+    public static void testFastSinCos() {
+        for (int i = 0; i <= SAMPLES; i++) {
+            float x = lerp(-1000.0f, 1000.0f, i);
+            assertEquals(java.lang.Math.sin(x), Math.fastSin(x), 2E-7);
+            assertEquals(java.lang.Math.cos(x), Math.fastCos(x), 2E-7);
+        }
+    }
+
+    public static void testFastAcosAsin() {
+        for (int i = 0; i <= SAMPLES; i++) {
+            float x = lerp(-1.0f, 1.0f, i);
+            assertEquals(java.lang.Math.acos(x), Math.fastAcos(x), 5E-7);
+            assertEquals(java.lang.Math.asin(x), Math.fastAsin(x), 5E-7);
+        }
+        assertTrue(Float.isNaN(Math.fastAcos(1.5f)));
+    }
+
+    public static void testFastAtan2() {
+        for (int i = 0; i < SAMPLES; i++) {
+            double angle = 2.0 * java.lang.Math.PI * i / SAMPLES;
+            float r = 1 + i % 100;
+            float x = (float) (r * java.lang.Math.cos(angle)), y = (float) (r * java.lang.Math.sin(angle));
+            assertEquals(java.lang.Math.atan2(y, x), Math.fastAtan2(y, x), 7E-7);
+        }
+        assertEquals((float) java.lang.Math.PI, Math.fastAtan2(0.0f, -1.0f), 7E-7f);
+        assertEquals((float) -java.lang.Math.PI, Math.fastAtan2(-Float.MIN_VALUE, -1.0f), 7E-7f);
+        assertEquals((float) java.lang.Math.PI / 2, Math.fastAtan2(1.0f, 0.0f), 7E-7f);
+    }
+
+    public static void testFastExp() {
+        for (int i = 0; i <= SAMPLES; i++) {
+            float x = lerp(-87.0f, 88.0f, i);
+            double expected = java.lang.Math.exp(x);
+            assertEquals(1.0, Math.fastExp(x) / expected, 2E-7);
+        }
+        assertEquals(Float.POSITIVE_INFINITY, Math.fastExp(100.0f), 0.0f);
+        assertEquals(0.0f, Math.fastExp(-200.0f), 0.0f);
+        assertTrue(Float.isNaN(Math.fastExp(Float.NaN)));
+    }
+
+    public static void testFastInvsqrt() {
+        for (int i = 0; i <= SAMPLES; i++) {
+            float x = (float) java.lang.Math.pow(2.0, lerp(-100.0f, 100.0f, i));
+            double expected = 1.0 / java.lang.Math.sqrt(x);
+            assertEquals(1.0, Math.fastInvsqrt(x) / expected, 5E-6);
+            assertEquals(expected, Math.invsqrt(x), expected * 1E-7);
+        }
+    }
+
+    public static void testBulkMatchesScalar() {
+        float[] x = new float[1000], y = new float[1000], squares = new float[1000], dest = new float[1000];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = (i - 500) / 500.0f;
+            y[i] = (i % 7 - 3) / 3.0f;
+            squares[i] = i * i + 0.5f;
+        }
+        Math.fastSin(x, dest);
+        for (int i = 0; i < x.length; i++)
+            assertEquals(Math.fastSin(x[i]), dest[i], 0.0f);
+        Math.fastAtan2(y, x, dest);
+        for (int i = 0; i < x.length; i++)
+            assertEquals(Math.fastAtan2(y[i], x[i]), dest[i], 0.0f);
+        Math.fastExp(x, dest);
+        for (int i = 0; i < x.length; i++)
+            assertEquals(Math.fastExp(x[i]), dest[i], 0.0f);
+        Math.acos(x, dest);
+        for (int i = 0; i < x.length; i++)
+            assertEquals((float) Math.acos(x[i]), dest[i], 0.0f);
+        Math.invsqrt(squares, dest);
+        for (int i = 0; i < x.length; i++)
+            assertEquals(Math.invsqrt(squares[i]), dest[i], 0.0f);
+    }
+
+    public static void testBulkDestTooShort() {
+        try {
+            Math.fastCos(new float[4], new float[3]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
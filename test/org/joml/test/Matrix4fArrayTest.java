@@ -0,0 +1,162 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.FloatBuffer;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4f;
+import org.joml.Matrix4fArray;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.internal.Kernels;
+
+/**
+ * Tests for the {@link Matrix4fArray} class.
+ */
+public class Matrix4fArrayTest extends TestCase {
+
+    private static Matrix4f matrix(int i) {
+        switch (i % 4) {
+        case 0:
+            return new Matrix4f();
+        case 1:
+            return new Matrix4f().translation(i, -i, 2 * i).rotateXYZ(0.1f * i, 0.2f, -0.3f).scale(1.5f);
+        case 2:
+            return new Matrix4f().perspective(0.5f + 0.01f * i, 1.3f, 0.1f, 100.0f).lookAt(1, 2, 3 + i, 0, 0, 0, 0, 1, 0);
+        default:
+            return new Matrix4f().rotateY(0.3f * i).translate(0, 1, i);
+        }
+    }
+
+    private static Matrix4fArray array(int size, int shift) {
+        Matrix4fArray arr = new Matrix4fArray(size);
+        for (int i = 0; i < size; i++)
+            arr.set(i, matrix(i + shift));
+        return arr;
+    }
+
+    /**
+     * The test run against the multi-release jar with the <code>jdk.incubator.vector</code> module sets <code>joml.test.vectorapi</code>,
+     * so that it fails when the Vector API kernels are not actually used by the other tests.
+     */
+    public static void testVectorApiWhenExpected() {
+        if (Boolean.getBoolean("joml.test.vectorapi"))
+            assertEquals("org.joml.internal.KernelsVector", Kernels.INSTANCE.getClass().getName());
+    }
+
+    public static void testMul() {
+        int n = 37;
+        Matrix4fArray a = array(n, 0), b = array(n, 1), c = new Matrix4fArray(n);
+        a.mul(b, c);
+        Matrix4f m = new Matrix4f();
+        for (int i = 0; i < n; i++) {
+            Matrix4f expected = matrix(i).mul(matrix(i + 1));
+            TestUtil.assertMatrix4fEquals(expected, c.get(i, m), 1E-4f);
+            assertEquals(expected.properties() & ~Matrix4fc.PROPERTY_PERSPECTIVE, c.properties(i) & ~Matrix4fc.PROPERTY_PERSPECTIVE);
+        }
+    }
+
+    public static void testMulInPlace() {
+        int n = 20;
+        Matrix4fArray a = array(n, 3), b = array(n, 1);
+        a.mul(b, a, 2, 15);
+        Matrix4f m = new Matrix4f();
+        for (int i = 0; i < n; i++) {
+            Matrix4f expected = i >= 2 && i < 17 ? matrix(i + 3).mul(matrix(i + 1)) : matrix(i + 3);
+            TestUtil.assertMatrix4fEquals(expected, a.get(i, m), 1E-4f);
+        }
+    }
+
+    public static void testMulAffine() {
+        int n = 16;
+        Matrix4fArray a = new Matrix4fArray(n), b = new Matrix4fArray(n), c = new Matrix4fArray(n);
+        for (int i = 0; i < n; i++) {
+            a.set(i, new Matrix4f().rotateZ(i).translate(i, 1, 2));
+            b.set(i, (i & 1) == 0 ? new Matrix4f() : new Matrix4f().scaling(i).rotateX(0.2f));
+        }
+        a.mulAffine(b, c);
+        Matrix4f m = new Matrix4f(), l = new Matrix4f(), r = new Matrix4f();
+        for (int i = 0; i < n; i++) {
+            Matrix4f expected = a.get(i, l).mulAffine(b.get(i, r));
+            TestUtil.assertMatrix4fEquals(expected, c.get(i, m), 1E-4f);
+            assertTrue((c.properties(i) & Matrix4fc.PROPERTY_AFFINE) != 0);
+        }
+    }
+
+    public static void testMulLocal() {
+        int n = 13;
+        Matrix4fArray a = array(n, 0), c = new Matrix4fArray(n);
+        Matrix4f viewProj = new Matrix4f().perspective(1.0f, 1.5f, 0.1f, 50.0f).lookAt(0, 5, 10, 0, 0, 0, 0, 1, 0);
+        a.mulLocal(viewProj, c);
+        Matrix4f m = new Matrix4f();
+        for (int i = 0; i < n; i++) {
+            Matrix4f expected = matrix(i).mulLocal(viewProj);
+            TestUtil.assertMatrix4fEquals(expected, c.get(i, m), 1E-4f);
+        }
+    }
+
+    public static void testInvertAffine() {
+        int n = 9;
+        Matrix4fArray a = new Matrix4fArray(n), c = new Matrix4fArray(n);
+        for (int i = 0; i < n; i++)
+            if (i % 3 != 0)
+                a.set(i, new Matrix4f().translation(i, 2, 3).rotateXYZ(i, 0.5f, 0.25f).scale(2, 3, 4));
+        a.invertAffine(c);
+        Matrix4f m = new Matrix4f(), s = new Matrix4f();
+        for (int i = 0; i < n; i++) {
+            TestUtil.assertMatrix4fEquals(a.get(i, s).invertAffine(), c.get(i, m), 1E-4f);
+            assertEquals(i % 3 == 0, (c.properties(i) & Matrix4fc.PROPERTY_IDENTITY) != 0);
+        }
+    }
+
+    public static void testTransformPosition() {
+        int n = 11;
+        Matrix4fArray a = array(n, 1);
+        float[] p = new float[3 * n];
+        for (int i = 0; i < p.length; i++)
+            p[i] = i * 0.5f - 3.0f;
+        float[] r = a.transformPosition(p, new float[3 * n]);
+        for (int i = 0; i < n; i++) {
+            Vector3f v = matrix(i + 1).transformPosition(new Vector3f(p[3 * i], p[3 * i + 1], p[3 * i + 2]));
+            TestUtil.assertVector3fEquals(v, new Vector3f(r[3 * i], r[3 * i + 1], r[3 * i + 2]), 1E-4f);
+        }
+    }
+
+    public static void testGetFloatBuffer() {
+        int n = 150;
+        Matrix4fArray a = array(n, 2);
+        FloatBuffer fb = FloatBuffer.allocate(16 * n + 3);
+        fb.position(3);
+        a.get(fb);
+        assertEquals(3, fb.position());
+        Matrix4f m = new Matrix4f();
+        for (int i = 0; i < n; i++) {
+            m.set(fb.array(), 3 + 16 * i);
+            TestUtil.assertMatrix4fEquals(matrix(i + 2), m, 0.0f);
+        }
+    }
+
+}
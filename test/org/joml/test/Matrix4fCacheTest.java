@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4f;
+import org.joml.Matrix4fCache;
+
+/**
+ * Tests for the {@link Matrix4fCache} class.
+ */
+public class Matrix4fCacheTest extends TestCase {
+
+    public static void testResultsMatchMatrix4f() {
+        Matrix4f m = new Matrix4f().perspective(0.8f, 1.5f, 0.1f, 100.0f).lookAt(1, 2, 3, 0, 0, 0, 0, 1, 0);
+        Matrix4fCache cache = new Matrix4fCache(m);
+        for (int i = 0; i < 2; i++)
+            assertEquals(m.invert(new Matrix4f()), cache.invert(new Matrix4f()));
+        Matrix4f a = new Matrix4f().translation(1, 2, 3).rotateY(0.3f).scale(2.0f);
+        Matrix4fCache affineCache = new Matrix4fCache(a);
+        assertEquals(a.invert(new Matrix4f()), affineCache.invert(new Matrix4f()));
+        assertEquals(a.invert(new Matrix4f()), affineCache.invert(new Matrix4f()));
+    }
+
+    public static void testMutationInvalidates() {
+        Matrix4f m = new Matrix4f().translation(1, 2, 3);
+        Matrix4fCache cache = new Matrix4fCache(m);
+        Matrix4f inv = new Matrix4f();
+        cache.invert(inv);
+
+        m.rotateX(0.5f).scale(2.0f);
+        assertEquals(m.invert(new Matrix4f()), cache.invert(inv));
+        cache.invalidate();
+        assertEquals(m.invert(new Matrix4f()), cache.invert(inv));
+
+        m.m30(5.0f);
+        assertEquals(m.invert(new Matrix4f()), cache.invert(inv));
+    }
+
+    public static void testPropertiesChangeInvalidates() {
+        Matrix4f m = new Matrix4f().rotationZ(0.4f).scale(1.0f, 2.0f, 1.0f);
+        Matrix4fCache cache = new Matrix4fCache(m);
+        Matrix4f expected = m.invert(new Matrix4f());
+        assertEquals(expected, cache.invert(new Matrix4f()));
+        /* Claiming orthonormality makes Matrix4f.invert() transpose the 3x3 part, so the cache must follow */
+        m.assume(Matrix4f.PROPERTY_AFFINE | Matrix4f.PROPERTY_ORTHONORMAL);
+        assertEquals(m.invert(new Matrix4f()), cache.invert(new Matrix4f()));
+        assertFalse(expected.equals(cache.invert(new Matrix4f())));
+    }
+
+}
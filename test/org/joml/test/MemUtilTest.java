@@ -0,0 +1,384 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ReadOnlyBufferException;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix3f;
+import org.joml.Matrix4d;
+import org.joml.Matrix4f;
+import org.joml.Matrix4x3f;
+import org.joml.Vector2f;
+import org.joml.Vector3d;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector4d;
+import org.joml.Vector4f;
+import org.joml.Vector4i;
+import org.joml.internal.MemUtil;
+
+/**
+ * Tests for the buffer accessors of {@link MemUtil}, which are checked against heap buffers written element by element.
+ * <p>
+ * Heap buffers, buffers not in native byte order, buffer limits and read-only buffers are only tested when
+ * <code>sun.misc.Unsafe</code> is not in use, since the Unsafe implementation leaves those to the caller.
+ */
+public class MemUtilTest extends TestCase {
+
+    private static final int CAPACITY = 256;
+
+    /**
+     * A value written to and read back from a {@link ByteBuffer} or a typed view of it.
+     */
+    private static abstract class Value {
+        final int elementSize;
+        final int count;
+        Value(int elementSize, int count) {
+            this.elementSize = elementSize;
+            this.count = count;
+        }
+        abstract Buffer view(ByteBuffer buffer);
+        abstract void putElements(int index, ByteBuffer dest);
+        abstract void put(int index, ByteBuffer dest);
+        abstract void put(int index, Buffer dest);
+        abstract boolean readsBack(int index, ByteBuffer src);
+        abstract boolean readsBack(int index, Buffer src);
+    }
+
+    private static abstract class FloatValue extends Value {
+        FloatValue(int count) {
+            super(4, count);
+        }
+        Buffer view(ByteBuffer buffer) {
+            return buffer.asFloatBuffer();
+        }
+        void put(int index, Buffer dest) {
+            put(index, (FloatBuffer) dest);
+        }
+        boolean readsBack(int index, Buffer src) {
+            return readsBack(index, (FloatBuffer) src);
+        }
+        void putElements(int index, ByteBuffer dest) {
+            float[] elements = elements();
+            for (int i = 0; i < elements.length; i++)
+                dest.putFloat(index + i * elementSize, elements[i]);
+        }
+        abstract float[] elements();
+        abstract void put(int index, FloatBuffer dest);
+        abstract boolean readsBack(int index, FloatBuffer src);
+    }
+
+    private static abstract class DoubleValue extends Value {
+        DoubleValue(int count) {
+            super(8, count);
+        }
+        Buffer view(ByteBuffer buffer) {
+            return buffer.asDoubleBuffer();
+        }
+        void put(int index, Buffer dest) {
+            put(index, (DoubleBuffer) dest);
+        }
+        boolean readsBack(int index, Buffer src) {
+            return readsBack(index, (DoubleBuffer) src);
+        }
+        void putElements(int index, ByteBuffer dest) {
+            double[] elements = elements();
+            for (int i = 0; i < elements.length; i++)
+                dest.putDouble(index + i * elementSize, elements[i]);
+        }
+        abstract double[] elements();
+        abstract void put(int index, DoubleBuffer dest);
+        abstract boolean readsBack(int index, DoubleBuffer src);
+    }
+
+    private static abstract class IntValue extends Value {
+        IntValue(int count) {
+            super(4, count);
+        }
+        Buffer view(ByteBuffer buffer) {
+            return buffer.asIntBuffer();
+        }
+        void put(int index, Buffer dest) {
+            put(index, (IntBuffer) dest);
+        }
+        boolean readsBack(int index, Buffer src) {
+            return readsBack(index, (IntBuffer) src);
+        }
+        void putElements(int index, ByteBuffer dest) {
+            int[] elements = elements();
+            for (int i = 0; i < elements.length; i++)
+                dest.putInt(index + i * elementSize, elements[i]);
+        }
+        abstract int[] elements();
+        abstract void put(int index, IntBuffer dest);
+        abstract boolean readsBack(int index, IntBuffer src);
+    }
+
+    private static ByteBuffer at(ByteBuffer buffer, int index) {
+        ByteBuffer b = buffer.duplicate().order(buffer.order());
+        b.position(index);
+        return b;
+    }
+
+    private static FloatBuffer at(FloatBuffer buffer, int index) {
+        FloatBuffer b = buffer.duplicate();
+        b.position(index);
+        return b;
+    }
+
+    private static DoubleBuffer at(DoubleBuffer buffer, int index) {
+        DoubleBuffer b = buffer.duplicate();
+        b.position(index);
+        return b;
+    }
+
+    private static final Matrix4f M4F = new Matrix4f().perspective(0.8f, 1.5f, 0.1f, 100.0f).rotateXYZ(0.1f, 0.2f, 0.3f).translate(1, 2, 3);
+    private static final Matrix4x3f M43F = new Matrix4x3f().rotateXYZ(0.1f, 0.2f, 0.3f).translate(1, 2, 3).scale(4, 5, 6);
+    private static final Matrix3f M3F = new Matrix3f().rotateXYZ(0.1f, 0.2f, 0.3f).scale(4, 5, 6);
+    private static final Matrix4d M4D = new Matrix4d().perspective(0.8, 1.5, 0.1, 100.0).rotateXYZ(0.1, 0.2, 0.3).translate(1, 2, 3);
+
+    private static final Value[] VALUES = {
+        new FloatValue(16) {
+            float[] elements() { return M4F.get(new float[16]); }
+            void put(int index, ByteBuffer dest) { M4F.get(index, dest); }
+            void put(int index, FloatBuffer dest) { M4F.get(index, dest); }
+            boolean readsBack(int index, ByteBuffer src) { return M4F.equals(new Matrix4f().set(at(src, index))); }
+            boolean readsBack(int index, FloatBuffer src) { return M4F.equals(new Matrix4f().set(at(src, index))); }
+        },
+        new FloatValue(12) {
+            float[] elements() { return M43F.get(new float[12]); }
+            void put(int index, ByteBuffer dest) { M43F.get(index, dest); }
+            void put(int index, FloatBuffer dest) { M43F.get(index, dest); }
+            boolean readsBack(int index, ByteBuffer src) { return M43F.equals(new Matrix4x3f().set(at(src, index))); }
+            boolean readsBack(int index, FloatBuffer src) { return M43F.equals(new Matrix4x3f().set(at(src, index))); }
+        },
+        new FloatValue(9) {
+            float[] elements() { return M3F.get(new float[9]); }
+            void put(int index, ByteBuffer dest) { M3F.get(index, dest); }
+            void put(int index, FloatBuffer dest) { M3F.get(index, dest); }
+            boolean readsBack(int index, ByteBuffer src) { return M3F.equals(new Matrix3f().set(at(src, index))); }
+            boolean readsBack(int index, FloatBuffer src) { return M3F.equals(new Matrix3f().set(at(src, index))); }
+        },
+        new DoubleValue(16) {
+            double[] elements() { return M4D.get(new double[16]); }
+            void put(int index, ByteBuffer dest) { M4D.get(index, dest); }
+            void put(int index, DoubleBuffer dest) { M4D.get(index, dest); }
+            boolean readsBack(int index, ByteBuffer src) { return M4D.equals(new Matrix4d().set(at(src, index))); }
+            boolean readsBack(int index, DoubleBuffer src) { return M4D.equals(new Matrix4d().set(at(src, index))); }
+        },
+        new FloatValue(4) {
+            Vector4f v = new Vector4f(1.5f, -2.25f, 3.125f, -4.0625f);
+            float[] elements() { return new float[] { v.x, v.y, v.z, v.w }; }
+            void put(int index, ByteBuffer dest) { v.get(index, dest); }
+            void put(int index, FloatBuffer dest) { v.get(index, dest); }
+            boolean readsBack(int index, ByteBuffer src) { return v.equals(new Vector4f().set(index, src)); }
+            boolean readsBack(int index, FloatBuffer src) { return v.equals(new Vector4f().set(index, src)); }
+        },
+        new FloatValue(3) {
+            Vector3f v = new Vector3f(1.5f, -2.25f, 3.125f);
+            float[] elements() { return new float[] { v.x, v.y, v.z }; }
+            void put(int index, ByteBuffer dest) { v.get(index, dest); }
+            void put(int index, FloatBuffer dest) { v.get(index, dest); }
+            boolean readsBack(int index, ByteBuffer src) { return v.equals(new Vector3f().set(index, src)); }
+            boolean readsBack(int index, FloatBuffer src) { return v.equals(new Vector3f().set(index, src)); }
+        },
+        new FloatValue(2) {
+            Vector2f v = new Vector2f(1.5f, -2.25f);
+            float[] elements() { return new float[] { v.x, v.y }; }
+            void put(int index, ByteBuffer dest) { v.get(index, dest); }
+            void put(int index, FloatBuffer dest) { v.get(index, dest); }
+            boolean readsBack(int index, ByteBuffer src) { return v.equals(new Vector2f().set(index, src)); }
+            boolean readsBack(int index, FloatBuffer src) { return v.equals(new Vector2f().set(index, src)); }
+        },
+        new DoubleValue(4) {
+            Vector4d v = new Vector4d(1.5, -2.25, 3.125, -4.0625);
+            double[] elements() { return new double[] { v.x, v.y, v.z, v.w }; }
+            void put(int index, ByteBuffer dest) { v.get(index, dest); }
+            void put(int index, DoubleBuffer dest) { v.get(index, dest); }
+            boolean readsBack(int index, ByteBuffer src) { return v.equals(new Vector4d().set(index, src)); }
+            boolean readsBack(int index, DoubleBuffer src) { return v.equals(new Vector4d().set(index, src)); }
+        },
+        new DoubleValue(3) {
+            Vector3d v = new Vector3d(1.5, -2.25, 3.125);
+            double[] elements() { return new double[] { v.x, v.y, v.z }; }
+            void put(int index, ByteBuffer dest) { v.get(index, dest); }
+            void put(int index, DoubleBuffer dest) { v.get(index, dest); }
+            boolean readsBack(int index, ByteBuffer src) { return v.equals(new Vector3d().set(index, src)); }
+            boolean readsBack(int index, DoubleBuffer src) { return v.equals(new Vector3d().set(index, src)); }
+        },
+        new IntValue(4) {
+            Vector4i v = new Vector4i(1, -2, 3, -4);
+            int[] elements() { return new int[] { v.x, v.y, v.z, v.w }; }
+            void put(int index, ByteBuffer dest) { v.get(index, dest); }
+            void put(int index, IntBuffer dest) { v.get(index, dest); }
+            boolean readsBack(int index, ByteBuffer src) { return v.equals(new Vector4i().set(index, src)); }
+            boolean readsBack(int index, IntBuffer src) { return v.equals(new Vector4i().set(index, src)); }
+        },
+        new IntValue(3) {
+            Vector3i v = new Vector3i(1, -2, 3);
+            int[] elements() { return new int[] { v.x, v.y, v.z }; }
+            void put(int index, ByteBuffer dest) { v.get(index, dest); }
+            void put(int index, IntBuffer dest) { v.get(index, dest); }
+            boolean readsBack(int index, ByteBuffer src) { return v.equals(new Vector3i().set(index, src)); }
+            boolean readsBack(int index, IntBuffer src) { return v.equals(new Vector3i().set(index, src)); }
+        },
+    };
+
+    private static boolean usesUnsafe() {
+        return MemUtil.INSTANCE instanceof MemUtil.MemUtilUnsafe;
+    }
+
+    private static ByteOrder opposite(ByteOrder order) {
+        return order == ByteOrder.BIG_ENDIAN ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    }
+
+    /**
+     * Write each value at the start, at an unaligned index and at the end of the given buffer, check that it holds
+     * the same bytes as a heap buffer with the same byte order written element by element, and that the value can be read back.
+     */
+    private static void assertRoundTrips(ByteBuffer buffer) {
+        ByteBuffer expected = ByteBuffer.allocate(buffer.capacity()).order(buffer.order());
+        for (int i = 0; i < VALUES.length; i++) {
+            Value v = VALUES[i];
+            int size = v.count * v.elementSize;
+            int[] byteIndices = { 0, 4, buffer.capacity() - size };
+            for (int j = 0; j < byteIndices.length; j++) {
+                v.put(byteIndices[j], buffer);
+                v.putElements(byteIndices[j], expected);
+                assertEquals(expected, buffer);
+                assertTrue(v.readsBack(byteIndices[j], buffer));
+            }
+            Buffer view = v.view(buffer);
+            int[] indices = { 0, 1, view.capacity() - v.count };
+            for (int j = 0; j < indices.length; j++) {
+                v.put(indices[j], view);
+                v.putElements(indices[j] * v.elementSize, expected);
+                assertEquals(expected, buffer);
+                assertTrue(v.readsBack(indices[j], view));
+            }
+        }
+    }
+
+    public void testDirectNativeOrder() {
+        assertRoundTrips(ByteBuffer.allocateDirect(CAPACITY).order(ByteOrder.nativeOrder()));
+    }
+
+    public void testDirectNativeOrderSlice() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CAPACITY + 12);
+        buffer.position(12);
+        assertRoundTrips(buffer.slice().order(ByteOrder.nativeOrder()));
+    }
+
+    public void testDirectOppositeOrder() {
+        if (usesUnsafe())
+            return;
+        assertRoundTrips(ByteBuffer.allocateDirect(CAPACITY).order(opposite(ByteOrder.nativeOrder())));
+    }
+
+    public void testHeap() {
+        if (usesUnsafe())
+            return;
+        assertRoundTrips(ByteBuffer.allocate(CAPACITY).order(ByteOrder.nativeOrder()));
+    }
+
+    public void testLimit() {
+        if (usesUnsafe())
+            return;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CAPACITY).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < VALUES.length; i++) {
+            Value v = VALUES[i];
+            int size = v.count * v.elementSize;
+            buffer.clear();
+            v.put(CAPACITY - size, buffer);
+            buffer.limit(CAPACITY - 1);
+            try {
+                v.put(CAPACITY - size, buffer);
+                fail();
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+            try {
+                v.readsBack(CAPACITY - size, buffer);
+                fail();
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+            Buffer view = v.view(buffer);
+            try {
+                v.put(view.limit() - v.count + 1, view);
+                fail();
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+    }
+
+    public void testReadOnly() {
+        if (usesUnsafe())
+            return;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CAPACITY).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < VALUES.length; i++) {
+            Value v = VALUES[i];
+            v.put(8, buffer);
+            ByteBuffer readOnly = buffer.asReadOnlyBuffer().order(buffer.order());
+            assertTrue(v.readsBack(8, readOnly));
+            try {
+                v.put(8, readOnly);
+                fail();
+            } catch (ReadOnlyBufferException e) {
+                // expected
+            }
+            Buffer view = v.view(readOnly);
+            try {
+                v.put(2, view);
+                fail();
+            } catch (ReadOnlyBufferException e) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * When the tests run against the multi-release jar on Java 22+, <code>joml.useffm</code> must select the
+     * implementation from the Java 22 section of the jar.
+     */
+    public void testUseFfm() {
+        if (!Boolean.getBoolean("joml.useffm"))
+            return;
+        String location = MemUtil.class.getProtectionDomain().getCodeSource().getLocation().getPath();
+        String version = System.getProperty("java.specification.version");
+        if (!location.endsWith(".jar") || version.startsWith("1.") || Integer.parseInt(version) < 22)
+            return;
+        assertEquals("org.joml.internal.MemUtilFFM", MemUtil.INSTANCE.getClass().getName());
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import junit.framework.TestCase;
+
+import org.joml.Intersectionf;
+import org.joml.MeshBVHf;
+
+/**
+ * Tests for the {@link MeshBVHf} class.
+ */
+public class MeshBVHfTest extends TestCase {
+
+    private static final float EPSILON = 1E-6f;
+
+    private static float[] positions;
+    private static int[] indices;
+
+    /**
+     * Create a bumpy grid of <code>n * n</code> quads in the XZ plane with random additional triangles floating above it.
+     */
+    private static void createMesh(int n, int floating) {
+        java.util.Random rnd = new java.util.Random(12345L);
+        positions = new float[((n + 1) * (n + 1) + floating * 3) * 3];
+        indices = new int[(n * n * 2 + floating) * 3];
+        for (int z = 0; z <= n; z++)
+            for (int x = 0; x <= n; x++) {
+                int v = (z * (n + 1) + x) * 3;
+                positions[v] = x - n * 0.5f;
+                positions[v + 1] = (float) Math.sin(x * 0.7) * (float) Math.cos(z * 0.3);
+                positions[v + 2] = z - n * 0.5f;
+            }
+        int i = 0;
+        for (int z = 0; z < n; z++)
+            for (int x = 0; x < n; x++) {
+                int v = z * (n + 1) + x;
+                indices[i++] = v; indices[i++] = v + n + 1; indices[i++] = v + 1;
+                indices[i++] = v + 1; indices[i++] = v + n + 1; indices[i++] = v + n + 2;
+            }
+        int base = (n + 1) * (n + 1);
+        for (int t = 0; t < floating; t++) {
+            float cx = (rnd.nextFloat() - 0.5f) * n, cy = 2.0f + rnd.nextFloat() * 5.0f, cz = (rnd.nextFloat() - 0.5f) * n;
+            for (int k = 0; k < 3; k++) {
+                int v = (base + t * 3 + k) * 3;
+                positions[v] = cx + (rnd.nextFloat() - 0.5f) * 3.0f;
+                positions[v + 1] = cy + (rnd.nextFloat() - 0.5f) * 3.0f;
+                positions[v + 2] = cz + (rnd.nextFloat() - 0.5f) * 3.0f;
+                indices[i++] = base + t * 3 + k;
+            }
+        }
+    }
+
+    private static float bruteForce(float ox, float oy, float oz, float dx, float dy, float dz, int[] triangle) {
+        float closest = Float.POSITIVE_INFINITY;
+        triangle[0] = -1;
+        for (int t = 0; t < indices.length / 3; t++) {
+            int a = indices[t * 3] * 3, b = indices[t * 3 + 1] * 3, c = indices[t * 3 + 2] * 3;
+            float d = Intersectionf.intersectRayTriangle(ox, oy, oz, dx, dy, dz,
+                    positions[a], positions[a + 1], positions[a + 2],
+                    positions[b], positions[b + 1], positions[b + 2],
+                    positions[c], positions[c + 1], positions[c + 2], EPSILON);
+            if (d >= 0.0f && d < closest) {
+                closest = d;
+                triangle[0] = t;
+            }
+        }
+        return triangle[0] < 0 ? -1.0f : closest;
+    }
+
+    public static void testClosestAndAnyHit() {
+        createMesh(40, 200);
+        MeshBVHf bvh = new MeshBVHf(positions, indices);
+        assertEquals(indices.length / 3, bvh.triangleCount());
+        java.util.Random rnd = new java.util.Random(42L);
+        int[] expectedTriangle = new int[1], triangle = new int[1];
+        int hits = 0;
+        for (int i = 0; i < 500; i++) {
+            float ox = (rnd.nextFloat() - 0.5f) * 50.0f, oy = 10.0f, oz = (rnd.nextFloat() - 0.5f) * 50.0f;
+            float dx = rnd.nextFloat() - 0.5f, dy = -1.0f, dz = rnd.nextFloat() - 0.5f;
+            float expected = bruteForce(ox, oy, oz, dx, dy, dz, expectedTriangle);
+            float actual = bvh.intersectRay(ox, oy, oz, dx, dy, dz, EPSILON, triangle);
+            assertEquals(expected, actual, 0.0f);
+            assertEquals(expectedTriangle[0], triangle[0]);
+            assertEquals(expected >= 0.0f, bvh.testRay(ox, oy, oz, dx, dy, dz, Float.POSITIVE_INFINITY, EPSILON));
+            if (expected >= 0.0f) {
+                hits++;
+                assertFalse(bvh.testRay(ox, oy, oz, dx, dy, dz, expected * 0.99f, EPSILON));
+            }
+        }
+        assertTrue(hits > 0);
+        /* Axis-parallel rays have infinite reciprocal direction components */
+        assertEquals(bruteForce(0.25f, 20.0f, 0.25f, 0.0f, -1.0f, 0.0f, expectedTriangle),
+                     bvh.intersectRay(0.25f, 20.0f, 0.25f, 0.0f, -1.0f, 0.0f, EPSILON, triangle), 0.0f);
+        assertEquals(expectedTriangle[0], triangle[0]);
+    }
+
+    /**
+     * The traversal stacks are shared by all hierarchies queried from one thread, so query a shallow and a deep hierarchy
+     * in turn from a fresh thread.
+     */
+    public static void testHierarchiesOfDifferentDepth() throws InterruptedException {
+        createMesh(2, 0);
+        final float[] shallowPositions = positions;
+        final int[] shallowIndices = indices;
+        final MeshBVHf shallow = new MeshBVHf(positions, indices);
+        createMesh(40, 200);
+        final MeshBVHf deep = new MeshBVHf(positions, indices, 1);
+        final float[] deepPositions = positions;
+        final int[] deepIndices = indices;
+        final Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    int[] expectedTriangle = new int[1], triangle = new int[1];
+                    for (int i = 0; i < 3; i++) {
+                        boolean isDeep = i == 1;
+                        MeshBVHf bvh = isDeep ? deep : shallow;
+                        positions = isDeep ? deepPositions : shallowPositions;
+                        indices = isDeep ? deepIndices : shallowIndices;
+                        float expected = bruteForce(0.3f, 20.0f, 0.2f, 0.01f, -1.0f, 0.02f, expectedTriangle);
+                        assertTrue(expected >= 0.0f);
+                        assertEquals(expected, bvh.intersectRay(0.3f, 20.0f, 0.2f, 0.01f, -1.0f, 0.02f, EPSILON, triangle), 0.0f);
+                        assertEquals(expectedTriangle[0], triangle[0]);
+                        assertTrue(bvh.testRay(0.3f, 20.0f, 0.2f, 0.01f, -1.0f, 0.02f, Float.POSITIVE_INFINITY, EPSILON));
+                    }
+                } catch (Throwable e) {
+                    failure[0] = e;
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+        if (failure[0] != null)
+            fail(failure[0].toString());
+    }
+
+    /**
+     * Triangles whose centroids are only denormal distances apart must not produce invalid bins.
+     */
+    public static void testTinyCentroidExtent() {
+        float[] tiny = new float[8 * 9];
+        int[] tinyIndices = new int[8 * 3];
+        for (int t = 0; t < 8; t++) {
+            float o = t * 1E-44f;
+            tiny[t * 9] = o - 1.0f; tiny[t * 9 + 1] = o - 1.0f; tiny[t * 9 + 2] = o;
+            tiny[t * 9 + 3] = o + 1.0f; tiny[t * 9 + 4] = o - 1.0f; tiny[t * 9 + 5] = o;
+            tiny[t * 9 + 6] = o; tiny[t * 9 + 7] = o + 2.0f; tiny[t * 9 + 8] = o;
+            tinyIndices[t * 3] = t * 3; tinyIndices[t * 3 + 1] = t * 3 + 1; tinyIndices[t * 3 + 2] = t * 3 + 2;
+        }
+        MeshBVHf bvh = new MeshBVHf(tiny, tinyIndices, 1);
+        assertEquals(8, bvh.triangleCount());
+        int[] triangle = new int[1];
+        assertEquals(5.0f, bvh.intersectRay(0.0f, 0.0f, 5.0f, 0.0f, 0.0f, -1.0f, EPSILON, triangle), 1E-5f);
+        assertTrue(triangle[0] >= 0);
+    }
+}
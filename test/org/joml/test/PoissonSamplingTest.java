@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.FloatBuffer;
+
+import junit.framework.TestCase;
+
+import org.joml.sampling.Callback2d;
+import org.joml.sampling.Callback3d;
+import org.joml.sampling.PoissonSampling;
+
+/**
+ * Tests for the {@link PoissonSampling} class.
+ */
+public class PoissonSamplingTest extends TestCase {
+
+    private static class Samples implements Callback2d, Callback3d {
+        float[] coords = new float[1024];
+        int size;
+        public void onNewSample(float x, float y) {
+            add(x);
+            add(y);
+        }
+        public void onNewSample(float x, float y, float z) {
+            add(x);
+            add(y);
+            add(z);
+        }
+        private void add(float v) {
+            if (size == coords.length) {
+                float[] c = new float[size * 2];
+                System.arraycopy(coords, 0, c, 0, size);
+                coords = c;
+            }
+            coords[size++] = v;
+        }
+    }
+
+    /**
+     * Assert that no two of the samples are closer than <code>minDist</code> and that every probe point of the domain
+     * is within <code>2 * minDist</code> of a sample, which Bridson's algorithm guarantees once no active samples remain.
+     */
+    private static void assertPoisson(float[] coords, int size, int dim, float minDist, float[] probes) {
+        int n = size / dim;
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++) {
+                float d = 0.0f;
+                for (int c = 0; c < dim; c++)
+                    d += (coords[i * dim + c] - coords[j * dim + c]) * (coords[i * dim + c] - coords[j * dim + c]);
+                assertTrue(d >= minDist * minDist);
+            }
+        for (int p = 0; p < probes.length; p += dim) {
+            float best = Float.POSITIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                float d = 0.0f;
+                for (int c = 0; c < dim; c++)
+                    d += (coords[i * dim + c] - probes[p + c]) * (coords[i * dim + c] - probes[p + c]);
+                best = Math.min(best, d);
+            }
+            assertTrue(best <= 4 * minDist * minDist);
+        }
+    }
+
+    public static void testRectangle() {
+        Samples samples = new Samples();
+        new PoissonSampling.Rectangle(1L, -2.0f, 3.0f, 8.0f, 7.0f, 0.3f, 30, samples);
+        for (int i = 0; i < samples.size; i += 2) {
+            assertTrue(samples.coords[i] >= -2.0f && samples.coords[i] <= 8.0f);
+            assertTrue(samples.coords[i + 1] >= 3.0f && samples.coords[i + 1] <= 7.0f);
+        }
+        float[] probes = new float[2 * 21 * 21];
+        for (int y = 0, p = 0; y <= 20; y++)
+            for (int x = 0; x <= 20; x++) {
+                probes[p++] = -2.0f + x * 0.5f;
+                probes[p++] = 3.0f + y * 0.2f;
+            }
+        assertPoisson(samples.coords, samples.size, 2, 0.3f, probes);
+    }
+
+    public static void testDisk() {
+        Samples samples = new Samples();
+        new PoissonSampling.Disk(2L, 0.5f, 0.04f, 30, samples);
+        for (int i = 0; i < samples.size; i += 2)
+            assertTrue(samples.coords[i] * samples.coords[i] + samples.coords[i + 1] * samples.coords[i + 1] <= 0.25f);
+        float[] probes = new float[2 * 100];
+        for (int i = 0; i < 100; i++) {
+            probes[i * 2] = (float) (0.45 * Math.cos(i * 0.7)) * (i % 10) / 10.0f;
+            probes[i * 2 + 1] = (float) (0.45 * Math.sin(i * 0.7)) * (i % 10) / 10.0f;
+        }
+        assertPoisson(samples.coords, samples.size, 2, 0.04f, probes);
+    }
+
+    public static void testBoxAndSphere() {
+        Samples box = new Samples();
+        new PoissonSampling.Box(3L, 0.0f, 0.0f, 0.0f, 2.0f, 1.0f, 1.5f, 0.2f, 30, box);
+        float[] probes = new float[3 * 125];
+        for (int i = 0, p = 0; i < 125; i++) {
+            probes[p++] = (i % 5) * 0.5f;
+            probes[p++] = (i / 5 % 5) * 0.25f;
+            probes[p++] = (i / 25) * 0.375f;
+        }
+        for (int i = 0; i < box.size; i += 3)
+            assertTrue(box.coords[i] >= 0.0f && box.coords[i] <= 2.0f && box.coords[i + 1] >= 0.0f && box.coords[i + 1] <= 1.0f
+                    && box.coords[i + 2] >= 0.0f && box.coords[i + 2] <= 1.5f);
+        assertPoisson(box.coords, box.size, 3, 0.2f, probes);
+        Samples sphere = new Samples();
+        new PoissonSampling.Sphere(4L, 1.0f, 0.2f, 30, sphere);
+        for (int i = 0; i < sphere.size; i += 3)
+            assertTrue(sphere.coords[i] * sphere.coords[i] + sphere.coords[i + 1] * sphere.coords[i + 1] + sphere.coords[i + 2] * sphere.coords[i + 2] <= 1.0f);
+        assertPoisson(sphere.coords, sphere.size, 3, 0.2f, new float[] { 0, 0, 0, 0.5f, 0.5f, 0.5f, -0.9f, 0, 0, 0, 0, 0.95f });
+    }
+
+    public static void testBufferMatchesCallback() {
+        Samples samples = new Samples();
+        new PoissonSampling.Rectangle(5L, 0.0f, 0.0f, 4.0f, 4.0f, 0.25f, 20, samples);
+        FloatBuffer buffer = FloatBuffer.allocate(samples.size + 1);
+        new PoissonSampling.Rectangle(5L, 0.0f, 0.0f, 4.0f, 4.0f, 0.25f, 20, buffer);
+        assertEquals(samples.size, buffer.position());
+        for (int i = 0; i < samples.size; i++)
+            assertEquals(samples.coords[i], buffer.get(i), 0.0f);
+        /* A full buffer stops the computation */
+        FloatBuffer small = FloatBuffer.allocate(11);
+        new PoissonSampling.Rectangle(5L, 0.0f, 0.0f, 4.0f, 4.0f, 0.25f, 20, small);
+        assertEquals(10, small.position());
+        for (int i = 0; i < 10; i++)
+            assertEquals(samples.coords[i], small.get(i), 0.0f);
+    }
+
+}
@@ -25,10 +25,13 @@ package org.joml.test;
 
 //#ifndef __GWT__
 
+import java.util.BitSet;
+
 import junit.framework.TestCase;
 
 import org.joml.PolygonsIntersection;
 import org.joml.Math;
+import org.joml.Random;
 
 /**
  * Tests for the {@link PolygonsIntersection} class.
@@ -122,6 +125,215 @@ public class PolygonPointIntersectionTest extends TestCase {
         assertFalse(isect.testPoint(-1.0f, 0));
     }
 
+
+    /**
+     * A square with a hole containing an island, followed by a concave star.
+     */
+    private static PolygonsIntersection nestedAndStar() {
+        int starN = 32;
+        float[] verticesXY = new float[2 * (12 + starN)];
+        float[] squares = {
+                0, 0, 4, 0, 4, 4, 0, 4,
+                1, 1, 3, 1, 3, 3, 1, 3,
+                1.5f, 1.5f, 2.5f, 1.5f, 2.5f, 2.5f, 1.5f, 2.5f
+        };
+        System.arraycopy(squares, 0, verticesXY, 0, squares.length);
+        for (int i = 0; i < starN; i++) {
+            double r = (i & 1) == 0 ? 2.0 : 0.75;
+            verticesXY[24 + 2 * i + 0] = (float) (7.0 + r * Math.cos(2.0 * Math.PI * i / starN));
+            verticesXY[24 + 2 * i + 1] = (float) (2.0 + r * Math.sin(2.0 * Math.PI * i / starN));
+        }
+        return new PolygonsIntersection(verticesXY, new int[] {4, 8, 12}, verticesXY.length / 2);
+    }
+
+    private static float[][] points(int n) {
+        Random rnd = new Random(42L);
+        float[] xs = new float[n], ys = new float[n];
+        for (int i = 0; i < n; i++) {
+            // snap every other point to a grid of quarter units to hit vertices and horizontal edges
+            xs[i] = rnd.nextFloat() * 10.0f - 0.5f;
+            ys[i] = rnd.nextFloat() * 5.0f - 0.5f;
+            if ((i & 1) == 0) {
+                xs[i] = (int) (xs[i] * 4.0f) / 4.0f;
+                ys[i] = (int) (ys[i] * 4.0f) / 4.0f;
+            }
+        }
+        return new float[][] {xs, ys};
+    }
+
+    public static void testPointsMatchesTestPoint() {
+        PolygonsIntersection isect = nestedAndStar();
+        float[][] ps = points(20000);
+        BitSet inside = isect.testPoints(ps[0], ps[1], 20000, new BitSet());
+        int[] polys = isect.testPoints(ps[0], ps[1], 20000, new int[20000]);
+        BitSet inPolys = new BitSet();
+        for (int i = 0; i < 20000; i++) {
+            boolean expected = isect.testPoint(ps[0][i], ps[1][i], inPolys);
+            assertEquals(expected, inside.get(i));
+            assertEquals(expected ? inPolys.nextSetBit(0) : -1, polys[i]);
+        }
+    }
+
+    public static void testPointsIndices() {
+        PolygonsIntersection isect = nestedAndStar();
+        float[] xs = {0.5f, 2.0f, 1.25f, 7.0f, 20.0f};
+        float[] ys = {0.5f, 2.0f, 1.25f, 2.0f, 2.0f};
+        int[] polys = isect.testPoints(xs, ys, xs.length, new int[xs.length]);
+        // outer square
+        assertEquals(0, polys[0]);
+        // island inside the hole, which is inside the outer square
+        assertEquals(0, polys[1]);
+        // hole
+        assertEquals(-1, polys[2]);
+        // star
+        assertEquals(3, polys[3]);
+        // outside of everything
+        assertEquals(-1, polys[4]);
+    }
+
+    public static void testPointsParallel() {
+        PolygonsIntersection isect = nestedAndStar();
+        int n = 300000;
+        float[][] ps = points(n);
+        int[] expected = isect.testPoints(ps[0], ps[1], n, new int[n]);
+        int[] actual = isect.testPointsParallel(ps[0], ps[1], n, new int[n]);
+        for (int i = 0; i < n; i++)
+            assertEquals(expected[i], actual[i]);
+        assertEquals(isect.testPoints(ps[0], ps[1], n, new BitSet()), isect.testPointsParallel(ps[0], ps[1], n, new BitSet()));
+    }
+
+
+    /**
+     * Classify a point against each of the given polygons by testing all of their edges.
+     */
+    private static boolean bruteForce(float[][] polygons, float x, float y, BitSet inPolys) {
+        boolean evenOdd = false;
+        inPolys.clear();
+        for (int p = 0; p < polygons.length; p++) {
+            float[] v = polygons[p];
+            if (v == null)
+                continue;
+            int n = v.length / 2;
+            boolean odd = false;
+            for (int k = 0; k < n; k++) {
+                int i = k == 0 ? n - 1 : k, j = k == 0 ? 0 : k - 1;
+                float xi = v[2 * i], yi = v[2 * i + 1], xj = v[2 * j], yj = v[2 * j + 1];
+                if ((yi < y && yj >= y || yj < y && yi >= y) && (xi <= x || xj <= x))
+                    odd ^= xi + (y - yi) / (yj - yi) * (xj - xi) - x < 0.0f;
+            }
+            if (odd) {
+                evenOdd = !evenOdd;
+                inPolys.set(p);
+            }
+        }
+        return evenOdd;
+    }
+
+    private static float[] star(Random rnd, int n) {
+        float cx = rnd.nextFloat() * 10.0f, cy = rnd.nextFloat() * 10.0f, r = 0.2f + rnd.nextFloat() * 2.0f;
+        float[] v = new float[2 * n];
+        for (int i = 0; i < n; i++) {
+            double f = (i & 1) == 0 ? 1.0 : 0.4;
+            v[2 * i + 0] = (float) (cx + r * f * Math.cos(2.0 * Math.PI * i / n));
+            v[2 * i + 1] = (float) (cy + r * f * Math.sin(2.0 * Math.PI * i / n));
+        }
+        return v;
+    }
+
+    private static void assertMatchesBruteForce(PolygonsIntersection isect, float[][] polygons) {
+        Random rnd = new Random(7L);
+        BitSet expected = new BitSet(), actual = new BitSet();
+        int n = 5000;
+        float[] xs = new float[n], ys = new float[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = rnd.nextFloat() * 14.0f - 2.0f;
+            ys[i] = rnd.nextFloat() * 14.0f - 2.0f;
+        }
+        int[] polys = isect.testPoints(xs, ys, n, new int[n]);
+        for (int i = 0; i < n; i++) {
+            boolean inside = bruteForce(polygons, xs[i], ys[i], expected);
+            assertEquals(inside, isect.testPoint(xs[i], ys[i], actual));
+            assertEquals(expected, actual);
+            assertEquals(inside ? expected.nextSetBit(0) : -1, polys[i]);
+        }
+    }
+
+    public static void testAddRemoveReplace() {
+        Random rnd = new Random(3L);
+        float[][] polygons = new float[40][];
+        PolygonsIntersection isect = new PolygonsIntersection();
+        assertFalse(isect.testPoint(1.0f, 1.0f));
+        for (int p = 0; p < polygons.length; p++) {
+            polygons[p] = star(rnd, 8 + 2 * p);
+            assertEquals(p, isect.addPolygon(polygons[p], polygons[p].length / 2));
+        }
+        assertMatchesBruteForce(isect, polygons);
+        for (int p = 0; p < polygons.length; p += 3) {
+            isect.removePolygon(p);
+            polygons[p] = null;
+        }
+        assertMatchesBruteForce(isect, polygons);
+        for (int p = 1; p < polygons.length; p += 3) {
+            polygons[p] = star(rnd, 12);
+            isect.replacePolygon(p, polygons[p], polygons[p].length / 2);
+        }
+        assertMatchesBruteForce(isect, polygons);
+        // the lowest free polygon index is reused
+        polygons[0] = star(rnd, 6);
+        assertEquals(0, isect.addPolygon(polygons[0], polygons[0].length / 2));
+        assertMatchesBruteForce(isect, polygons);
+        try {
+            isect.removePolygon(3);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public static void testConstructorMatchesAddPolygon() {
+        float[] verticesXY = {
+                0, 0, 3, 0, 3, 3, 0, 3,
+                1, 1, 2, 1, 2, 2, 1, 2,
+                5, 0, 7, 1, 6, 3
+        };
+        PolygonsIntersection isect = new PolygonsIntersection(verticesXY, new int[] {4, 8}, verticesXY.length / 2);
+        float[][] polygons = {
+                {0, 0, 3, 0, 3, 3, 0, 3},
+                {1, 1, 2, 1, 2, 2, 1, 2},
+                {5, 0, 7, 1, 6, 3}
+        };
+        assertMatchesBruteForce(isect, polygons);
+        // the first vertex of a polygon is part of its bounds
+        assertTrue(new PolygonsIntersection(new float[] {-1, 0, 1, -1, 1, 1}, null, 3).testPoint(-0.9f, 0.0f));
+    }
+
+    public static void testConcurrentReplaceIsAtomic() throws InterruptedException {
+        final float[] left = {0, 0, 2, 0, 2, 2, 0, 2};
+        final float[] right = {1, 0, 3, 0, 3, 2, 1, 2};
+        final PolygonsIntersection isect = new PolygonsIntersection();
+        isect.addPolygon(left, 4);
+        // a large polygon far away, so that replacing the small one updates the tree incrementally
+        isect.addPolygon(star(new Random(1L), 2000), 2000);
+        final float[] xs = {0.5f, 2.5f}, ys = {1.0f, 1.0f};
+        final boolean[] failed = {false};
+        Thread reader = new Thread() {
+            public void run() {
+                int[] polys = new int[2];
+                for (int i = 0; i < 20000; i++) {
+                    isect.testPoints(xs, ys, 2, polys);
+                    // either the left or the right square, but never both or none
+                    if (polys[0] == polys[1])
+                        failed[0] = true;
+                }
+            }
+        };
+        reader.start();
+        for (int i = 0; i < 20000; i++)
+            isect.replacePolygon(0, (i & 1) == 0 ? right : left, 4);
+        reader.join();
+        assertFalse(failed[0]);
+    }
+
 }
 
 //#endif
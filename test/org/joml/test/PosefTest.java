@@ -0,0 +1,168 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4x3f;
+import org.joml.Posef;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+
+/**
+ * Tests for the {@link Posef} class.
+ */
+public class PosefTest extends TestCase {
+
+    private static final int[] PARENTS = { -1, 0, 1, 1, 0, 4, -1, 6, 3 };
+
+    private static Posef pose(float seed) {
+        Posef pose = new Posef(PARENTS.length);
+        for (int i = 0; i < pose.boneCount(); i++)
+            pose.set(i, new Vector3f(seed * i, 1.0f - i, 0.5f * seed),
+                     new Quaternionf().rotateXYZ(seed * i, 0.3f * i - seed, 0.1f),
+                     new Vector3f(1.0f + 0.1f * i, 1.0f, 1.0f - 0.05f * i * seed));
+        return pose;
+    }
+
+    private static void assertEquals(Quaternionf expected, Quaternionf actual, float delta) {
+        TestUtil.assertVector4fEquals(new Vector4f(expected.x, expected.y, expected.z, expected.w),
+                                      new Vector4f(actual.x, actual.y, actual.z, actual.w), delta);
+    }
+
+    private static Matrix4x3f local(Posef pose, int bone) {
+        return new Matrix4x3f().translationRotateScale(pose.getTranslation(bone, new Vector3f()),
+                pose.getRotation(bone, new Quaternionf()), pose.getScale(bone, new Vector3f()));
+    }
+
+    public static void testIdentity() {
+        Posef pose = new Posef(3);
+        for (int i = 0; i < 3; i++) {
+            TestUtil.assertVector3fEquals(new Vector3f(), pose.getTranslation(i, new Vector3f()), 0.0f);
+            assertEquals(new Quaternionf(), pose.getRotation(i, new Quaternionf()), 0.0f);
+            TestUtil.assertVector3fEquals(new Vector3f(1, 1, 1), pose.getScale(i, new Vector3f()), 0.0f);
+        }
+    }
+
+    public static void testLerpMatchesPerBone() {
+        Posef a = pose(0.7f), b = pose(-1.3f), dest = new Posef(PARENTS.length);
+        a.lerp(b, 0.3f, dest);
+        for (int i = 0; i < a.boneCount(); i++) {
+            TestUtil.assertVector3fEquals(a.getTranslation(i, new Vector3f()).lerp(b.getTranslation(i, new Vector3f()), 0.3f),
+                                          dest.getTranslation(i, new Vector3f()), 1E-6f);
+            assertEquals(a.getRotation(i, new Quaternionf()).nlerp(b.getRotation(i, new Quaternionf()), 0.3f),
+                         dest.getRotation(i, new Quaternionf()), 1E-6f);
+            TestUtil.assertVector3fEquals(a.getScale(i, new Vector3f()).lerp(b.getScale(i, new Vector3f()), 0.3f),
+                                          dest.getScale(i, new Vector3f()), 1E-6f);
+        }
+    }
+
+    public static void testMaskedLerp() {
+        Posef a = pose(0.7f), b = pose(-1.3f), masked = new Posef(PARENTS.length), full = new Posef(PARENTS.length);
+        float[] weights = new float[PARENTS.length];
+        for (int i = 0; i < weights.length; i++)
+            weights[i] = (i & 1) == 0 ? 0.0f : 0.5f;
+        a.lerp(b, 0.8f, weights, masked);
+        a.lerp(b, 0.4f, full);
+        for (int i = 0; i < a.boneCount(); i++) {
+            Posef expected = weights[i] == 0.0f ? a : full;
+            TestUtil.assertVector3fEquals(expected.getTranslation(i, new Vector3f()), masked.getTranslation(i, new Vector3f()), 1E-6f);
+            assertEquals(expected.getRotation(i, new Quaternionf()), masked.getRotation(i, new Quaternionf()), 1E-6f);
+            TestUtil.assertVector3fEquals(expected.getScale(i, new Vector3f()), masked.getScale(i, new Vector3f()), 1E-6f);
+        }
+    }
+
+    public static void testAdditiveRoundTrip() {
+        Posef pose = pose(0.7f), reference = pose(-1.3f), additive = new Posef(PARENTS.length);
+        pose.difference(reference, additive);
+        Posef dest = reference.add(additive, 1.0f, new Posef(PARENTS.length));
+        for (int i = 0; i < pose.boneCount(); i++)
+            TestUtil.assertMatrix4x3fEquals(local(pose, i), local(dest, i), 1E-5f);
+        reference.add(additive, 0.0f, dest);
+        for (int i = 0; i < pose.boneCount(); i++)
+            TestUtil.assertMatrix4x3fEquals(local(reference, i), local(dest, i), 1E-6f);
+    }
+
+    public static void testAdditiveRotation() {
+        Posef base = pose(0.7f), additive = new Posef(PARENTS.length);
+        Quaternionf delta = new Quaternionf().rotateY(1.2f);
+        for (int i = 0; i < additive.boneCount(); i++)
+            additive.setRotation(i, delta.x, delta.y, delta.z, delta.w);
+        Posef dest = base.add(additive, 0.25f, new Posef(PARENTS.length));
+        Quaternionf partial = new Quaternionf().nlerp(delta, 0.25f);
+        for (int i = 0; i < base.boneCount(); i++)
+            assertEquals(base.getRotation(i, new Quaternionf()).mul(partial), dest.getRotation(i, new Quaternionf()), 1E-6f);
+    }
+
+    public static void testNormalize() {
+        Posef pose = new Posef(2).setRotation(0, 0, 2, 0, 0).setRotation(1, 1, 1, 1, 1).normalize();
+        assertEquals(new Quaternionf(0, 1, 0, 0), pose.getRotation(0, new Quaternionf()), 1E-6f);
+        assertEquals(new Quaternionf(0.5f, 0.5f, 0.5f, 0.5f), pose.getRotation(1, new Quaternionf()), 1E-6f);
+    }
+
+    public static void testToModelMatchesMatrix4x3f() {
+        Posef pose = pose(0.7f);
+        Matrix4x3f[] expected = new Matrix4x3f[PARENTS.length];
+        for (int i = 0; i < PARENTS.length; i++) {
+            expected[i] = local(pose, i);
+            if (PARENTS[i] >= 0)
+                expected[i] = new Matrix4x3f(expected[PARENTS[i]]).mul(expected[i]);
+        }
+        float[] palette = pose.toModel(PARENTS, new float[3 + PARENTS.length * 12], 3);
+        Matrix4x3f[] matrices = new Matrix4x3f[PARENTS.length];
+        for (int i = 0; i < PARENTS.length; i++)
+            matrices[i] = new Matrix4x3f();
+        pose.toModel(PARENTS, matrices);
+        for (int i = 0; i < PARENTS.length; i++) {
+            float[] m = expected[i].get(new float[12]);
+            for (int k = 0; k < 12; k++)
+                assertEquals(m[k], palette[3 + i * 12 + k], 1E-5f);
+            TestUtil.assertMatrix4x3fEquals(expected[i], matrices[i], 1E-5f);
+        }
+    }
+
+    public static void testInvalidArguments() {
+        Posef pose = pose(0.7f);
+        try {
+            pose.toModel(new int[] { -1, 1, 0, 0, 0, 0, 0, 0, 0 }, new float[PARENTS.length * 12], 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            pose.lerp(new Posef(2), 0.5f, pose);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new Posef(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
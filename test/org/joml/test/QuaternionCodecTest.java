@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.joml.QuaternionCodec;
+import org.joml.Quaterniond;
+import org.joml.Quaternionf;
+
+/**
+ * Tests for the {@link QuaternionCodec} class.
+ */
+public class QuaternionCodecTest extends TestCase {
+
+    private static float[] randomQuaternions(int count, long seed) {
+        Random rnd = new Random(seed);
+        float[] q = new float[count * 4];
+        Quaternionf tmp = new Quaternionf();
+        for (int i = 0; i < count; i++) {
+            tmp.set((float) rnd.nextGaussian(), (float) rnd.nextGaussian(), (float) rnd.nextGaussian(), (float) rnd.nextGaussian())
+               .normalize();
+            q[i * 4] = tmp.x;
+            q[i * 4 + 1] = tmp.y;
+            q[i * 4 + 2] = tmp.z;
+            q[i * 4 + 3] = tmp.w;
+        }
+        return q;
+    }
+
+    public static void testErrorBound() {
+        float[] q = randomQuaternions(2000, 1L);
+        float previous = Float.POSITIVE_INFINITY;
+        for (int bits = 1; bits <= QuaternionCodec.MAX_BITS_LONG; bits++) {
+            float error = QuaternionCodec.maxError(q, 0, 2000, bits);
+            assertTrue("bits " + bits, error <= QuaternionCodec.errorBound(bits));
+            assertTrue("bits " + bits, error <= previous);
+            previous = error;
+        }
+        assertTrue(QuaternionCodec.errorBound(10) < 5E-3f);
+        assertTrue(QuaternionCodec.errorBound(16) < 1E-4f);
+    }
+
+    public static void testSingleAndBulkAgree() {
+        float[] q = randomQuaternions(100, 2L);
+        int[] packedInt = QuaternionCodec.encode(q, 0, 100, 10, new int[100], 0);
+        long[] packedLong = QuaternionCodec.encode(q, 0, 100, 10, new long[100], 0);
+        ByteBuffer bytes = QuaternionCodec.encode(q, 0, 100, 10, ByteBuffer.allocate(100 * 4 + 3), 3);
+        float[] fromInt = QuaternionCodec.decode(packedInt, 0, 100, 10, new float[400], 0);
+        float[] fromLong = QuaternionCodec.decode(packedLong, 0, 100, 10, new float[400], 0);
+        float[] fromBytes = QuaternionCodec.decode(bytes, 3, 100, 10, new float[400], 0);
+        Quaternionf single = new Quaternionf();
+        for (int i = 0; i < 100; i++) {
+            long packed = new Quaternionf(q[i * 4], q[i * 4 + 1], q[i * 4 + 2], q[i * 4 + 3]).packSmallestThree(10);
+            assertEquals(packed, packedLong[i]);
+            assertEquals((int) packed, packedInt[i]);
+            single.setSmallestThree(packedInt[i], 10);
+            for (int c = 0; c < 4; c++) {
+                assertEquals(fromLong[i * 4 + c], fromInt[i * 4 + c], 0.0f);
+                assertEquals(fromLong[i * 4 + c], fromBytes[i * 4 + c], 0.0f);
+            }
+            assertEquals(new Quaternionf(fromLong[i * 4], fromLong[i * 4 + 1], fromLong[i * 4 + 2], fromLong[i * 4 + 3]), single);
+        }
+    }
+
+    public static void testSignIsCanonicalized() {
+        Quaternionf q = new Quaternionf().rotateXYZ(0.3f, -1.2f, 2.0f);
+        Quaternionf negated = new Quaternionf(-q.x, -q.y, -q.z, -q.w);
+        assertEquals(q.packSmallestThree(12), negated.packSmallestThree(12));
+        Quaternionf decoded = new Quaternionf().setSmallestThree(negated.packSmallestThree(12), 12);
+        assertTrue(Math.abs(decoded.dot(q)) > 1.0f - 1E-5f);
+    }
+
+    public static void testQuaterniond() {
+        Random rnd = new Random(3L);
+        Quaterniond q = new Quaterniond();
+        Quaterniond decoded = new Quaterniond();
+        double bound = QuaternionCodec.errorBound(20);
+        for (int i = 0; i < 1000; i++) {
+            q.set(rnd.nextGaussian(), rnd.nextGaussian(), rnd.nextGaussian(), rnd.nextGaussian()).normalize();
+            decoded.setSmallestThree(q.packSmallestThree(20), 20);
+            double sign = decoded.dot(q) < 0.0 ? -1.0 : 1.0;
+            assertEquals(q.x, sign * decoded.x, bound);
+            assertEquals(q.y, sign * decoded.y, bound);
+            assertEquals(q.z, sign * decoded.z, bound);
+            assertEquals(q.w, sign * decoded.w, bound);
+        }
+    }
+
+    public static void testSizesAndArguments() {
+        assertEquals(1, QuaternionCodec.bytes(1));
+        assertEquals(4, QuaternionCodec.bytes(10));
+        assertEquals(6, QuaternionCodec.bytes(14));
+        assertEquals(8, QuaternionCodec.bytes(20));
+        try {
+            QuaternionCodec.encode(new float[4], 0, 1, 11, new int[1], 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new Quaternionf().packSmallestThree(21);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            QuaternionCodec.encode(new float[8], 0, 2, 10, new int[1], 0);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+}
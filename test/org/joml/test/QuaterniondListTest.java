@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+import junit.framework.TestCase;
+
+import org.joml.Quaterniond;
+import org.joml.QuaterniondList;
+
+/**
+ * Tests for the {@link QuaterniondList} class.
+ */
+public class QuaterniondListTest extends TestCase {
+
+    private static QuaterniondList list(int count, double seed) {
+        QuaterniondList list = new QuaterniondList();
+        for (int i = 0; i < count; i++)
+            list.append(new Quaterniond().rotateXYZ(seed * i, 0.3 * i - seed, 0.1).scale(1.0 + 0.1 * i));
+        return list;
+    }
+
+    private static void assertEquals(Quaterniond expected, Quaterniond actual, double delta) {
+        assertTrue(expected + " != " + actual, TestUtil.quatEqual(expected, actual, delta));
+    }
+
+    public static void testAppendGrowsAndKeepsElements() {
+        QuaterniondList list = list(40, 0.7);
+        assertEquals(40, list.size());
+        for (int i = 0; i < 40; i++)
+            assertEquals(new Quaterniond().rotateXYZ(0.7 * i, 0.3 * i - 0.7, 0.1).scale(1.0 + 0.1 * i), list.get(i, new Quaterniond()), 0.0);
+        list.set(5, 1, 2, 3, 4);
+        assertEquals(4.0, list.w(5), 0.0);
+        try {
+            list.get(40, new Quaterniond());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    public static void testBulkOperationsMatchQuaterniond() {
+        QuaterniondList list = list(21, 0.7), other = list(21, -1.3), dest = new QuaterniondList(0);
+        Quaterniond q = new Quaterniond().rotateY(0.4);
+        list.mul(q, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(list.get(i, new Quaterniond()).mul(q), dest.get(i, new Quaterniond()), 1E-12);
+        list.premul(q, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(list.get(i, new Quaterniond()).premul(q), dest.get(i, new Quaterniond()), 1E-12);
+        list.nlerp(other, 0.3, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(list.get(i, new Quaterniond()).nlerp(other.get(i, new Quaterniond()), 0.3), dest.get(i, new Quaterniond()), 1E-12);
+        list.normalize(list);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(1.0, list.get(i, new Quaterniond()).lengthSquared(), 1E-12);
+    }
+
+    public static void testGetBuffer() {
+        QuaterniondList list = list(3, 0.5);
+        DoubleBuffer db = ByteBuffer.allocateDirect(14 * 8).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        db.position(1);
+        list.get(db);
+        assertEquals(1, db.position());
+        for (int i = 0; i < 12; i++)
+            assertEquals(list.array()[i], db.get(1 + i), 0.0);
+        try {
+            list.get(3, db);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import junit.framework.TestCase;
+
+import org.joml.Quaternionf;
+import org.joml.QuaternionfList;
+import org.joml.Vector4f;
+
+/**
+ * Tests for the {@link QuaternionfList} class.
+ */
+public class QuaternionfListTest extends TestCase {
+
+    private static QuaternionfList list(int count, float seed) {
+        QuaternionfList list = new QuaternionfList();
+        for (int i = 0; i < count; i++)
+            list.append(new Quaternionf().rotateXYZ(seed * i, 0.3f * i - seed, 0.1f).scale(1.0f + 0.1f * i));
+        return list;
+    }
+
+    private static void assertEquals(Quaternionf expected, Quaternionf actual, float delta) {
+        TestUtil.assertVector4fEquals(new Vector4f(expected.x, expected.y, expected.z, expected.w),
+                                      new Vector4f(actual.x, actual.y, actual.z, actual.w), delta);
+    }
+
+    public static void testBulkOperationsMatchQuaternionf() {
+        QuaternionfList list = list(21, 0.7f), other = list(21, -1.3f), dest = new QuaternionfList(0);
+        Quaternionf q = new Quaternionf().rotateY(0.4f);
+        list.mul(q, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(list.get(i, new Quaternionf()).mul(q), dest.get(i, new Quaternionf()), 1E-6f);
+        list.premul(q, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(list.get(i, new Quaternionf()).premul(q), dest.get(i, new Quaternionf()), 1E-6f);
+        list.nlerp(other, 0.3f, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(list.get(i, new Quaternionf()).nlerp(other.get(i, new Quaternionf()), 0.3f), dest.get(i, new Quaternionf()), 1E-6f);
+        list.normalize(list);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(1.0f, list.get(i, new Quaternionf()).lengthSquared(), 1E-6f);
+    }
+
+}
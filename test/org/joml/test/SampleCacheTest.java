@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.FloatBuffer;
+
+import junit.framework.TestCase;
+
+import org.joml.sampling.BestCandidateSampling;
+import org.joml.sampling.SampleCache;
+
+/**
+ * Tests for the {@link SampleCache} class.
+ */
+public class SampleCacheTest extends TestCase {
+
+    private File directory;
+
+    private static class CountingGenerator implements SampleCache.Generator {
+        int calls;
+        public float[] generate() {
+            calls++;
+            return new float[] { 1.0f, 2.0f, 3.0f, (float) calls };
+        }
+    }
+
+    protected void setUp() throws IOException {
+        directory = File.createTempFile("joml", "samples");
+        directory.delete();
+    }
+
+    protected void tearDown() {
+        File[] files = directory.listFiles();
+        for (int i = 0; files != null && i < files.length; i++)
+            files[i].delete();
+        directory.delete();
+    }
+
+    public void testGeneratesOnce() throws IOException {
+        CountingGenerator generator = new CountingGenerator();
+        SampleCache cache = new SampleCache(directory, 4);
+        FloatBuffer first = cache.get("a", generator);
+        FloatBuffer second = cache.get("a", generator);
+        assertEquals(1, generator.calls);
+        assertEquals(4, first.remaining());
+        assertTrue(first.isReadOnly());
+        first.position(2);
+        assertEquals(0, second.position());
+        assertEquals(1.0f, second.get(0), 0.0f);
+        assertEquals(1.0f, second.get(3), 0.0f);
+    }
+
+    public void testLoadsFromDirectory() throws IOException {
+        CountingGenerator generator = new CountingGenerator();
+        new SampleCache(directory, 4).get("a", generator);
+        FloatBuffer samples = new SampleCache(directory, 4).get("a", generator);
+        assertEquals(1, generator.calls);
+        assertEquals(3.0f, samples.get(2), 0.0f);
+    }
+
+    public void testEvictedEntryIsReloaded() throws IOException {
+        CountingGenerator generator = new CountingGenerator();
+        SampleCache cache = new SampleCache(directory, 1);
+        cache.get("a", generator);
+        cache.get("b", generator);
+        FloatBuffer samples = cache.get("a", generator);
+        assertEquals(2, generator.calls);
+        assertEquals(1.0f, samples.get(3), 0.0f);
+    }
+
+    public void testDamagedFileIsRegenerated() throws IOException {
+        CountingGenerator generator = new CountingGenerator();
+        new SampleCache(directory, 4).get("a", generator);
+        File[] files = directory.listFiles();
+        assertEquals(1, files.length);
+        RandomAccessFile raf = new RandomAccessFile(files[0], "rw");
+        raf.setLength(raf.length() - 4);
+        raf.close();
+        FloatBuffer samples = new SampleCache(directory, 4).get("a", generator);
+        assertEquals(2, generator.calls);
+        assertEquals(4, samples.remaining());
+        assertEquals(2.0f, samples.get(3), 0.0f);
+    }
+
+    public void testBestCandidateDisk() throws IOException {
+        float[] expected = new float[2 * 256];
+        new BestCandidateSampling.Disk().seed(7L).numSamples(256).numCandidates(20).generate(expected);
+        FloatBuffer samples = new SampleCache(directory, 4).bestCandidateDisk(7L, 256, 20);
+        assertEquals(expected.length, samples.remaining());
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], samples.get(i), 0.0f);
+    }
+
+    public void testPoissonDiskIsPersisted() throws IOException {
+        FloatBuffer generated = new SampleCache(directory, 4).poissonDisk(3L, 1.0f, 0.1f, 30);
+        FloatBuffer loaded = new SampleCache(directory, 4).poissonDisk(3L, 1.0f, 0.1f, 30);
+        assertTrue(generated.remaining() > 0);
+        assertEquals(generated, loaded);
+    }
+
+}
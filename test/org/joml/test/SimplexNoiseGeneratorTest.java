@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import junit.framework.TestCase;
+
+import org.joml.SimplexNoise;
+import org.joml.SimplexNoiseGenerator;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+
+/**
+ * Tests for the {@link SimplexNoiseGenerator} class.
+ */
+public class SimplexNoiseGeneratorTest extends TestCase {
+
+    public static void testDefaultEqualsSimplexNoise() {
+        SimplexNoiseGenerator noise = new SimplexNoiseGenerator();
+        Vector2f g2 = new Vector2f();
+        Vector3f g3 = new Vector3f();
+        for (int i = 0; i < 2000; i++) {
+            float x = i * 0.173f - 150.0f, y = i * 0.071f + 3.3f, z = -i * 0.119f;
+            assertEquals(SimplexNoise.noise(x, y), noise.noise(x, y), 0.0f);
+            assertEquals(SimplexNoise.noise(x, y), noise.noise(x, y, g2), 0.0f);
+            assertEquals(SimplexNoise.noise(x, y, z), noise.noise(x, y, z), 0.0f);
+            assertEquals(SimplexNoise.noise(x, y, z), noise.noise(x, y, z, g3), 0.0f);
+        }
+    }
+
+    public static void testSeeds() {
+        SimplexNoiseGenerator a = new SimplexNoiseGenerator(42L), b = new SimplexNoiseGenerator(42L), c = new SimplexNoiseGenerator(43L);
+        int differences = 0;
+        for (int i = 0; i < 100; i++) {
+            float x = i * 0.37f, y = i * 0.21f + 0.5f, z = i * 0.13f;
+            assertEquals(a.noise(x, y, z), b.noise(x, y, z), 0.0f);
+            if (a.noise(x, y, z) != c.noise(x, y, z))
+                differences++;
+        }
+        assertTrue(differences > 90);
+    }
+
+    public static void testGradient2() {
+        SimplexNoiseGenerator noise = new SimplexNoiseGenerator(7L);
+        Vector2f g = new Vector2f();
+        float h = 1E-3f;
+        for (int i = 0; i < 500; i++) {
+            float x = i * 0.1173f + 0.05f, y = i * 0.0571f - 4.0f;
+            noise.noise(x, y, g);
+            assertEquals((noise.noise(x + h, y) - noise.noise(x - h, y)) / (2 * h), g.x, 2E-2f);
+            assertEquals((noise.noise(x, y + h) - noise.noise(x, y - h)) / (2 * h), g.y, 2E-2f);
+        }
+    }
+
+    /**
+     * 3D simplex noise with a squared kernel radius of <code>0.6</code> is slightly discontinuous across simplex boundaries,
+     * where central differences do not estimate the derivative, so a few mismatches are tolerated.
+     */
+    public static void testGradient3() {
+        SimplexNoiseGenerator noise = new SimplexNoiseGenerator(7L);
+        Vector3f g = new Vector3f();
+        float h = 1E-3f;
+        int mismatches = 0;
+        for (int i = 0; i < 500; i++) {
+            float x = i * 0.1173f + 0.05f, y = i * 0.0571f - 4.0f, z = 2.0f - i * 0.0913f;
+            noise.noise(x, y, z, g);
+            float dx = (noise.noise(x + h, y, z) - noise.noise(x - h, y, z)) / (2 * h);
+            float dy = (noise.noise(x, y + h, z) - noise.noise(x, y - h, z)) / (2 * h);
+            float dz = (noise.noise(x, y, z + h) - noise.noise(x, y, z - h)) / (2 * h);
+            if (Math.abs(dx - g.x) > 2E-2f || Math.abs(dy - g.y) > 2E-2f || Math.abs(dz - g.z) > 2E-2f)
+                mismatches++;
+        }
+        assertTrue(mismatches <= 5);
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.joml.SimplexNoise;
+
+/**
+ * Tests for the lattice methods of {@link SimplexNoise}.
+ */
+public class SimplexNoiseTest extends TestCase {
+
+    public static void testSingleOctaveEqualsNoise2() {
+        float[] dest = new float[1 + 37 * 23];
+        SimplexNoise.fbm(-3.1f, 5.7f, 0.173f, 0.219f, 37, 23, 1, 2.0f, 0.5f, dest, 1);
+        for (int j = 0; j < 23; j++)
+            for (int i = 0; i < 37; i++)
+                assertEquals(SimplexNoise.noise(-3.1f + i * 0.173f, 5.7f + j * 0.219f), dest[1 + j * 37 + i], 0.0f);
+    }
+
+    public static void testSingleOctaveEqualsNoise3() {
+        float[] dest = new float[13 * 11 * 9];
+        SimplexNoise.fbm(1.3f, -0.7f, 250.2f, 0.31f, 0.27f, 0.19f, 13, 11, 9, 1, 2.0f, 0.5f, dest, 0);
+        for (int k = 0; k < 9; k++)
+            for (int j = 0; j < 11; j++)
+                for (int i = 0; i < 13; i++)
+                    assertEquals(SimplexNoise.noise(1.3f + i * 0.31f, -0.7f + j * 0.27f, 250.2f + k * 0.19f), dest[(k * 11 + j) * 13 + i], 0.0f);
+    }
+
+    public static void testFbmAndRidged() {
+        int octaves = 5;
+        float[] fbm = new float[20 * 20], ridged = new float[20 * 20];
+        SimplexNoise.fbm(0.5f, 0.25f, 0.1f, 0.1f, 20, 20, octaves, 2.0f, 0.5f, fbm, 0);
+        SimplexNoise.ridged(0.5f, 0.25f, 0.1f, 0.1f, 20, 20, octaves, 2.0f, 0.5f, ridged, 0);
+        for (int j = 0; j < 20; j++)
+            for (int i = 0; i < 20; i++) {
+                float sum = 0.0f, ridgedSum = 0.0f, amplitudes = 0.0f, frequency = 1.0f, amplitude = 1.0f;
+                for (int o = 0; o < octaves; o++) {
+                    float n = SimplexNoise.noise((0.5f + i * 0.1f) * frequency, (0.25f + j * 0.1f) * frequency);
+                    sum += amplitude * n;
+                    ridgedSum += amplitude * (1.0f - Math.abs(n)) * (1.0f - Math.abs(n));
+                    amplitudes += amplitude;
+                    frequency *= 2.0f;
+                    amplitude *= 0.5f;
+                }
+                assertEquals(sum / amplitudes, fbm[j * 20 + i], 1E-6f);
+                assertEquals(ridgedSum / amplitudes, ridged[j * 20 + i], 1E-6f);
+                assertTrue(ridged[j * 20 + i] >= 0.0f && ridged[j * 20 + i] <= 1.0f);
+            }
+    }
+
+    public static void testParallelEqualsSequential() {
+        float[] dest = new float[300 * 200], destParallel = new float[300 * 200];
+        SimplexNoise.fbm(1.0f, 2.0f, 0.01f, 0.02f, 300, 200, 6, 2.0f, 0.5f, dest, 0);
+        SimplexNoise.fbmParallel(1.0f, 2.0f, 0.01f, 0.02f, 300, 200, 6, 2.0f, 0.5f, destParallel, 0);
+        assertTrue(Arrays.equals(dest, destParallel));
+        dest = new float[40 * 30 * 20];
+        destParallel = new float[40 * 30 * 20];
+        SimplexNoise.ridged(1.0f, 2.0f, 3.0f, 0.05f, 0.04f, 0.03f, 40, 30, 20, 4, 2.0f, 0.5f, dest, 0);
+        SimplexNoise.ridgedParallel(1.0f, 2.0f, 3.0f, 0.05f, 0.04f, 0.03f, 40, 30, 20, 4, 2.0f, 0.5f, destParallel, 0);
+        assertTrue(Arrays.equals(dest, destParallel));
+    }
+
+    public static void testBuffer() {
+        float[] dest = new float[100 * 70];
+        SimplexNoise.ridged(1.0f, 2.0f, 0.03f, 0.02f, 100, 70, 3, 2.0f, 0.5f, dest, 0);
+        FloatBuffer buffer = FloatBuffer.allocate(2 + 100 * 70);
+        buffer.position(2);
+        SimplexNoise.ridged(1.0f, 2.0f, 0.03f, 0.02f, 100, 70, 3, 2.0f, 0.5f, buffer);
+        assertEquals(2, buffer.position());
+        for (int i = 0; i < dest.length; i++)
+            assertEquals(dest[i], buffer.get(2 + i), 0.0f);
+    }
+
+    public static void testInvalidArguments() {
+        try {
+            SimplexNoise.fbm(0, 0, 1, 1, 4, 4, 0, 2.0f, 0.5f, new float[16], 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            SimplexNoise.fbm(0, 0, 1, 1, 4, 4, 1, 2.0f, 0.5f, new float[16], 1);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+}
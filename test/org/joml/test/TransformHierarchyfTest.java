@@ -0,0 +1,150 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4x3f;
+import org.joml.Matrix4x3fc;
+import org.joml.Quaternionf;
+import org.joml.Random;
+import org.joml.TransformHierarchyf;
+import org.joml.Vector3f;
+
+/**
+ * Tests for the {@link TransformHierarchyf} class.
+ */
+public class TransformHierarchyfTest extends TestCase {
+
+    private static TransformHierarchyf hierarchy(int size, Random rnd) {
+        TransformHierarchyf h = new TransformHierarchyf(0);
+        for (int i = 0; i < size; i++) {
+            int node = h.add(i == 0 || rnd.nextInt(20) == 0 ? -1 : rnd.nextInt(i));
+            switch (rnd.nextInt(4)) {
+            case 0: break;
+            case 1: h.setTranslation(node, rnd.nextFloat(), rnd.nextFloat(), rnd.nextFloat()); break;
+            case 2: h.setRotation(node, 0, (float) Math.sin(0.5 * i), 0, (float) Math.cos(0.5 * i)); break;
+            default: h.set(node, new Vector3f(rnd.nextFloat(), 1, 2), new Quaternionf().rotateXYZ(0.1f * i, 0.2f, 0.3f),
+                           new Vector3f(1.0f + rnd.nextFloat(), 1, 0.5f)); break;
+            }
+        }
+        return h;
+    }
+
+    private static void assertWorldMatchesBruteForce(TransformHierarchyf h) {
+        Matrix4x3f[] expected = new Matrix4x3f[h.size()];
+        for (int i = 0; i < h.size(); i++) {
+            expected[i] = new Matrix4x3f().translationRotateScale(h.getTranslation(i, new Vector3f()),
+                    h.getRotation(i, new Quaternionf()), h.getScale(i, new Vector3f()));
+            if (h.parent(i) >= 0)
+                expected[i] = new Matrix4x3f(expected[h.parent(i)]).mul(expected[i]);
+            TestUtil.assertMatrix4x3fEquals(expected[i], h.getWorld(i, new Matrix4x3f()), 1E-5f);
+        }
+    }
+
+    public static void testUpdateMatchesBruteForce() {
+        Random rnd = new Random(1);
+        TransformHierarchyf h = hierarchy(500, rnd);
+        assertEquals(500, h.update());
+        assertFalse(h.isDirty());
+        assertWorldMatchesBruteForce(h);
+        assertEquals(0, h.update());
+    }
+
+    public static void testOnlyDirtySubtreesAreUpdated() {
+        TransformHierarchyf h = new TransformHierarchyf();
+        int root = h.add(-1), a = h.add(root), b = h.add(root), a1 = h.add(a), a2 = h.add(a), b1 = h.add(b);
+        h.update();
+        h.setTranslation(a, 1, 2, 3);
+        assertTrue(h.isDirty());
+        assertEquals(3, h.update());
+        assertWorldMatchesBruteForce(h);
+        h.setRotation(a1, 0, 1, 0, 0).setScale(b1, 2, 2, 2).setTranslation(a2, 0, 1, 0).setTranslation(a, 0, 0, 1);
+        assertEquals(4, h.update());
+        assertWorldMatchesBruteForce(h);
+        assertEquals(2, h.depth(a1));
+    }
+
+    public static void testRandomUpdates() {
+        Random rnd = new Random(7);
+        TransformHierarchyf h = hierarchy(2000, rnd);
+        h.update();
+        for (int frame = 0; frame < 10; frame++) {
+            for (int k = 0; k < 50; k++) {
+                int node = rnd.nextInt(h.size());
+                if (rnd.nextInt(2) == 0)
+                    h.setTranslation(node, rnd.nextFloat(), 0, rnd.nextFloat());
+                else
+                    h.setRotation(node, (float) Math.sin(frame), 0, 0, (float) Math.cos(frame));
+            }
+            if (frame % 3 == 0)
+                h.add(rnd.nextInt(h.size()));
+            h.update();
+            assertWorldMatchesBruteForce(h);
+        }
+    }
+
+    public static void testParallelMatchesSequential() {
+        TransformHierarchyf h1 = hierarchy(20000, new Random(3));
+        TransformHierarchyf h2 = hierarchy(20000, new Random(3));
+        assertEquals(h1.update(), h2.updateParallel());
+        for (int i = 0; i < h1.size(); i++) {
+            assertEquals(h1.getWorld(i, new Matrix4x3f()), h2.getWorld(i, new Matrix4x3f()));
+            assertEquals(h1.worldProperties(i), h2.worldProperties(i));
+        }
+    }
+
+    public static void testProperties() {
+        TransformHierarchyf h = new TransformHierarchyf();
+        int root = h.add(-1), identity = h.add(root), translated = h.add(identity), rotated = h.add(translated), scaled = h.add(rotated);
+        h.setTranslation(translated, 1, 2, 3).setRotation(rotated, 0, 1, 0, 0).setScale(scaled, 2, 1, 1);
+        h.update();
+        int all = Matrix4x3fc.PROPERTY_IDENTITY | Matrix4x3fc.PROPERTY_TRANSLATION | Matrix4x3fc.PROPERTY_ORTHONORMAL;
+        assertEquals(all, h.worldProperties(root));
+        assertEquals(all, h.worldProperties(identity));
+        assertEquals(Matrix4x3fc.PROPERTY_TRANSLATION | Matrix4x3fc.PROPERTY_ORTHONORMAL, h.worldProperties(translated));
+        assertEquals(Matrix4x3fc.PROPERTY_ORTHONORMAL, h.worldProperties(rotated));
+        assertEquals(0, h.worldProperties(scaled));
+        assertEquals(h.worldProperties(rotated), h.getWorld(rotated, new Matrix4x3f()).properties());
+        assertWorldMatchesBruteForce(h);
+    }
+
+    public static void testInvalidArguments() {
+        TransformHierarchyf h = new TransformHierarchyf();
+        h.add(-1);
+        try {
+            h.add(1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            h.setTranslation(1, 0, 0, 0);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+}
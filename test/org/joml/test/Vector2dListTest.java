@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix3x2d;
+import org.joml.Vector2d;
+import org.joml.Vector2dList;
+
+/**
+ * Tests for the {@link Vector2dList} class.
+ */
+public class Vector2dListTest extends TestCase {
+
+    private static Vector2dList list(int count, double seed) {
+        Vector2dList list = new Vector2dList(2);
+        for (int i = 0; i < count; i++)
+            list.append(seed + i, seed * 2 - i);
+        return list;
+    }
+
+    public static void testAppendGrowsAndKeepsElements() {
+        Vector2dList list = list(100, 1.0);
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(new Vector2d(1.0 + i, 2.0 - i), list.get(i, new Vector2d()));
+        list.append(list);
+        assertEquals(200, list.size());
+        assertEquals(list.get(7, new Vector2d()), list.get(107, new Vector2d()));
+        try {
+            list.get(-1, new Vector2d());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    public static void testBulkOperationsMatchVector2d() {
+        Vector2dList list = list(37, 3.0), other = list(37, -2.0), dest = new Vector2dList();
+        Matrix3x2d m = new Matrix3x2d().rotate(0.3).translate(1, 2).scale(2, 3);
+        list.mulPosition(m, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertTrue(list.get(i, new Vector2d()).mulPosition(m).equals(dest.get(i, new Vector2d()), 1E-12));
+        list.mulDirection(m, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertTrue(list.get(i, new Vector2d()).mulDirection(m).equals(dest.get(i, new Vector2d()), 1E-12));
+        list.lerp(other, 0.25, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertTrue(list.get(i, new Vector2d()).lerp(other.get(i, new Vector2d()), 0.25).equals(dest.get(i, new Vector2d()), 1E-12));
+        list.add(other, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(list.get(i, new Vector2d()).add(other.get(i, new Vector2d())), dest.get(i, new Vector2d()));
+        list.normalize(list);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(1.0, list.get(i, new Vector2d()).length(), 1E-12);
+    }
+
+    public static void testMinMax() {
+        Vector2dList list = list(10, 0.0);
+        assertEquals(new Vector2d(0, -9), list.min(new Vector2d()));
+        assertEquals(new Vector2d(9, 0), list.max(new Vector2d()));
+        assertEquals(Double.POSITIVE_INFINITY, new Vector2dList().min(new Vector2d()).x, 0.0);
+    }
+
+    public static void testGetBuffer() {
+        Vector2dList list = list(5, 1.0);
+        DoubleBuffer db = ByteBuffer.allocateDirect(12 * 8).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        list.get(2, db);
+        for (int i = 0; i < 10; i++)
+            assertEquals(list.array()[i], db.get(2 + i), 0.0);
+        try {
+            list.get(3, db);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+}
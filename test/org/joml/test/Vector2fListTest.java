@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix3x2f;
+import org.joml.Vector2f;
+import org.joml.Vector2fList;
+
+/**
+ * Tests for the {@link Vector2fList} class.
+ */
+public class Vector2fListTest extends TestCase {
+
+    private static Vector2fList list(int count, float seed) {
+        Vector2fList list = new Vector2fList(2);
+        for (int i = 0; i < count; i++)
+            list.append(seed + i, seed * 2 - i);
+        return list;
+    }
+
+    public static void testAppendGrowsAndKeepsElements() {
+        Vector2fList list = list(100, 1.0f);
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(new Vector2f(1.0f + i, 2.0f - i), list.get(i, new Vector2f()));
+        list.append(list);
+        assertEquals(200, list.size());
+        assertEquals(list.get(7, new Vector2f()), list.get(107, new Vector2f()));
+        list.resize(202);
+        assertEquals(new Vector2f(), list.get(201, new Vector2f()));
+        try {
+            list.get(202, new Vector2f());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    public static void testBulkOperationsMatchVector2f() {
+        Vector2fList list = list(37, 3.0f), other = list(37, -2.0f), dest = new Vector2fList();
+        Matrix3x2f m = new Matrix3x2f().rotate(0.3f).translate(1, 2).scale(2, 3);
+        list.mulPosition(m, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector2fEquals(list.get(i, new Vector2f()).mulPosition(m), dest.get(i, new Vector2f()), 1E-5f);
+        list.mulDirection(m, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector2fEquals(list.get(i, new Vector2f()).mulDirection(m), dest.get(i, new Vector2f()), 1E-5f);
+        list.lerp(other, 0.25f, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector2fEquals(list.get(i, new Vector2f()).lerp(other.get(i, new Vector2f()), 0.25f), dest.get(i, new Vector2f()), 1E-6f);
+        list.add(other, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector2fEquals(list.get(i, new Vector2f()).add(other.get(i, new Vector2f())), dest.get(i, new Vector2f()), 0.0f);
+        list.add(new Vector2f(1, -1), dest).mul(0.5f, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector2fEquals(list.get(i, new Vector2f()).add(1, -1).mul(0.5f), dest.get(i, new Vector2f()), 0.0f);
+        list.normalize(list);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(1.0f, list.get(i, new Vector2f()).length(), 1E-6f);
+    }
+
+    public static void testMinMax() {
+        Vector2fList list = list(10, 0.0f);
+        assertEquals(new Vector2f(0, -9), list.min(new Vector2f()));
+        assertEquals(new Vector2f(9, 0), list.max(new Vector2f()));
+        assertEquals(Float.NEGATIVE_INFINITY, new Vector2fList().max(new Vector2f()).y, 0.0f);
+    }
+
+    public static void testGetBuffer() {
+        Vector2fList list = list(5, 1.0f);
+        ByteBuffer bb = ByteBuffer.allocate(12 * 4).order(ByteOrder.LITTLE_ENDIAN);
+        list.get(8, bb);
+        for (int i = 0; i < 10; i++)
+            assertEquals(list.array()[i], bb.getFloat(8 + 4 * i), 0.0f);
+        try {
+            list.get(12, bb);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+}
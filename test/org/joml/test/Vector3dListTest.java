@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4d;
+import org.joml.Vector3d;
+import org.joml.Vector3dList;
+
+/**
+ * Tests for the {@link Vector3dList} class.
+ */
+public class Vector3dListTest extends TestCase {
+
+    private static Vector3dList list(int count, double seed) {
+        Vector3dList list = new Vector3dList(2);
+        for (int i = 0; i < count; i++)
+            list.append(seed + i, seed * 2 - i, 0.5 * i + 1);
+        return list;
+    }
+
+    public static void testAppendGrowsAndKeepsElements() {
+        Vector3dList list = list(100, 1.0);
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(new Vector3d(1.0 + i, 2.0 - i, 0.5 * i + 1), list.get(i, new Vector3d()));
+        list.append(list.array(), 3, 2);
+        assertEquals(102, list.size());
+        assertEquals(list.get(1, new Vector3d()), list.get(100, new Vector3d()));
+        try {
+            list.get(102, new Vector3d());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    public static void testBulkOperationsMatchVector3d() {
+        Vector3dList list = list(37, 3.0), other = list(37, -2.0), dest = new Vector3dList();
+        Matrix4d m = new Matrix4d().perspective(1.0, 1.5, 0.1, 10.0).rotateX(0.3).translate(1, 2, 3);
+        list.mulPosition(m, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector3dEquals(list.get(i, new Vector3d()).mulPosition(m), dest.get(i, new Vector3d()), 1E-12);
+        list.mulDirection(m, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector3dEquals(list.get(i, new Vector3d()).mulDirection(m), dest.get(i, new Vector3d()), 1E-12);
+        list.lerp(other, 0.25, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector3dEquals(list.get(i, new Vector3d()).lerp(other.get(i, new Vector3d()), 0.25), dest.get(i, new Vector3d()), 1E-12);
+        list.mul(-2.0, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector3dEquals(list.get(i, new Vector3d()).mul(-2.0), dest.get(i, new Vector3d()), 0.0);
+        list.normalize(list);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(1.0, list.get(i, new Vector3d()).length(), 1E-12);
+    }
+
+    public static void testMinMax() {
+        Vector3dList list = list(10, 0.0);
+        assertEquals(new Vector3d(0, -9, 1), list.min(new Vector3d()));
+        assertEquals(new Vector3d(9, 0, 5.5), list.max(new Vector3d()));
+    }
+
+    public static void testGetBuffer() {
+        Vector3dList list = list(5, 1.0);
+        ByteBuffer bb = ByteBuffer.allocate(16 * 8).order(ByteOrder.BIG_ENDIAN);
+        bb.position(8);
+        list.get(bb);
+        assertEquals(8, bb.position());
+        for (int i = 0; i < 15; i++)
+            assertEquals(list.array()[i], bb.getDouble(8 + 8 * i), 0.0);
+        try {
+            list.get(16, bb);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+}
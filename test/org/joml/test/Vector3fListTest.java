@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.joml.Vector3fList;
+
+/**
+ * Tests for the {@link Vector3fList} class.
+ */
+public class Vector3fListTest extends TestCase {
+
+    private static Vector3fList list(int count, float seed) {
+        Vector3fList list = new Vector3fList(2);
+        for (int i = 0; i < count; i++)
+            list.append(seed + i, seed * 2 - i, 0.5f * i + 1);
+        return list;
+    }
+
+    public static void testAppendGrowsAndKeepsElements() {
+        Vector3fList list = list(100, 1.0f);
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(new Vector3f(1.0f + i, 2.0f - i, 0.5f * i + 1), list.get(i, new Vector3f()));
+        list.append(list);
+        assertEquals(200, list.size());
+        assertEquals(list.get(7, new Vector3f()), list.get(107, new Vector3f()));
+        try {
+            list.get(200, new Vector3f());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    public static void testBulkOperationsMatchVector3f() {
+        Vector3fList list = list(37, 3.0f), other = list(37, -2.0f), dest = new Vector3fList();
+        Matrix4f m = new Matrix4f().perspective(1.0f, 1.5f, 0.1f, 10.0f).rotateX(0.3f).translate(1, 2, 3);
+        list.mulPosition(m, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector3fEquals(list.get(i, new Vector3f()).mulPosition(m), dest.get(i, new Vector3f()), 1E-5f);
+        list.mulDirection(m, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector3fEquals(list.get(i, new Vector3f()).mulDirection(m), dest.get(i, new Vector3f()), 1E-5f);
+        list.lerp(other, 0.25f, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector3fEquals(list.get(i, new Vector3f()).lerp(other.get(i, new Vector3f()), 0.25f), dest.get(i, new Vector3f()), 1E-6f);
+        list.add(other, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector3fEquals(list.get(i, new Vector3f()).add(other.get(i, new Vector3f())), dest.get(i, new Vector3f()), 0.0f);
+        list.normalize(list);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(1.0f, list.get(i, new Vector3f()).length(), 1E-6f);
+    }
+
+    public static void testMinMax() {
+        Vector3fList list = list(10, 0.0f);
+        assertEquals(new Vector3f(0, -9, 1), list.min(new Vector3f()));
+        assertEquals(new Vector3f(9, 0, 5.5f), list.max(new Vector3f()));
+        assertEquals(Float.POSITIVE_INFINITY, new Vector3fList().min(new Vector3f()).x, 0.0f);
+    }
+
+    public static void testGetBuffer() {
+        Vector3fList list = list(5, 1.0f);
+        FloatBuffer fb = ByteBuffer.allocateDirect(20 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        fb.position(2);
+        list.get(fb);
+        assertEquals(2, fb.position());
+        for (int i = 0; i < 15; i++)
+            assertEquals(list.array()[i], fb.get(2 + i), 0.0f);
+        try {
+            list.get(6, fb);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+}
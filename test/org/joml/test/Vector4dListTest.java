@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4d;
+import org.joml.Vector4d;
+import org.joml.Vector4dList;
+
+/**
+ * Tests for the {@link Vector4dList} class.
+ */
+public class Vector4dListTest extends TestCase {
+
+    private static Vector4dList list(int count, double seed) {
+        Vector4dList list = new Vector4dList(2);
+        for (int i = 0; i < count; i++)
+            list.append(seed + i, seed * 2 - i, 0.5 * i + 1, 1 - 0.25 * i);
+        return list;
+    }
+
+    public static void testAppendGrowsAndKeepsElements() {
+        Vector4dList list = list(100, 1.0);
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(new Vector4d(1.0 + i, 2.0 - i, 0.5 * i + 1, 1 - 0.25 * i), list.get(i, new Vector4d()));
+        list.append(list);
+        assertEquals(200, list.size());
+        assertEquals(list.get(7, new Vector4d()), list.get(107, new Vector4d()));
+        list.clear();
+        assertEquals(0, list.size());
+        try {
+            list.get(0, new Vector4d());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    public static void testBulkOperationsMatchVector4d() {
+        Vector4dList list = list(37, 3.0), other = list(37, -2.0), dest = new Vector4dList();
+        Matrix4d m = new Matrix4d().perspective(1.0, 1.5, 0.1, 10.0).rotateX(0.3).translate(1, 2, 3);
+        list.mul(m, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertTrue(list.get(i, new Vector4d()).mul(m).equals(dest.get(i, new Vector4d()), 1E-12));
+        list.lerp(other, 0.25, dest);
+        for (int i = 0; i < list.size(); i++)
+            assertTrue(list.get(i, new Vector4d()).lerp(other.get(i, new Vector4d()), 0.25).equals(dest.get(i, new Vector4d()), 1E-12));
+        list.add(new Vector4d(1, 2, 3, 4), dest);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(list.get(i, new Vector4d()).add(1, 2, 3, 4), dest.get(i, new Vector4d()));
+        list.normalize(list);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(1.0, list.get(i, new Vector4d()).length(), 1E-12);
+    }
+
+    public static void testMinMax() {
+        Vector4dList list = list(10, 0.0);
+        assertEquals(new Vector4d(0, -9, 1, -1.25), list.min(new Vector4d()));
+        assertEquals(new Vector4d(9, 0, 5.5, 1), list.max(new Vector4d()));
+    }
+
+    public static void testGetBuffer() {
+        Vector4dList list = list(5, 1.0);
+        ByteBuffer bb = ByteBuffer.allocateDirect(24 * 8).order(ByteOrder.nativeOrder());
+        list.get(16, bb);
+        for (int i = 0; i < 20; i++)
+            assertEquals(list.array()[i], bb.getDouble(16 + 8 * i), 0.0);
+        try {
+            list.get(40, bb);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2019 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4f;
+import org.joml.Vector4f;
+import org.joml.Vector4fList;
+
+/**
+ * Tests for the {@link Vector4fList} class.
+ */
+public class Vector4fListTest extends TestCase {
+
+    private static Vector4fList list(int count, float seed) {
+        Vector4fList list = new Vector4fList(2);
+        for (int i = 0; i < count; i++)
+            list.append(seed + i, seed * 2 - i, 0.5f * i + 1, 1 - 0.25f * i);
+        return list;
+    }
+
+    public static void testAppendGrowsAndKeepsElements() {
+        Vector4fList list = list(100, 1.0f);
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(new Vector4f(1.0f + i, 2.0f - i, 0.5f * i + 1, 1 - 0.25f * i), list.get(i, new Vector4f()));
+        list.append(list);
+        assertEquals(200, list.size());
+        assertEquals(list.get(7, new Vector4f()), list.get(107, new Vector4f()));
+        list.set(3, new Vector4f(1, 2, 3, 4));
+        assertEquals(3.0f, list.z(3), 0.0f);
+        try {
+            list.get(200, new Vector4f());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    public static void testBulkOperationsMatchVector4f() {
+        Vector4fList list = list(37, 3.0f), other = list(37, -2.0f), dest = new Vector4fList();
+        Matrix4f m = new Matrix4f().perspective(1.0f, 1.5f, 0.1f, 10.0f).rotateX(0.3f).translate(1, 2, 3);
+        list.mul(m, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector4fEquals(list.get(i, new Vector4f()).mul(m), dest.get(i, new Vector4f()), 1E-5f);
+        list.lerp(other, 0.25f, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector4fEquals(list.get(i, new Vector4f()).lerp(other.get(i, new Vector4f()), 0.25f), dest.get(i, new Vector4f()), 1E-6f);
+        list.add(other, dest);
+        for (int i = 0; i < list.size(); i++)
+            TestUtil.assertVector4fEquals(list.get(i, new Vector4f()).add(other.get(i, new Vector4f())), dest.get(i, new Vector4f()), 0.0f);
+        list.normalize(list);
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(1.0f, list.get(i, new Vector4f()).length(), 1E-6f);
+    }
+
+    public static void testMinMax() {
+        Vector4fList list = list(10, 0.0f);
+        assertEquals(new Vector4f(0, -9, 1, -1.25f), list.min(new Vector4f()));
+        assertEquals(new Vector4f(9, 0, 5.5f, 1), list.max(new Vector4f()));
+    }
+
+    public static void testGetBuffer() {
+        Vector4fList list = list(5, 1.0f);
+        FloatBuffer fb = ByteBuffer.allocateDirect(24 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        fb.position(3);
+        list.get(fb);
+        assertEquals(3, fb.position());
+        for (int i = 0; i < 20; i++)
+            assertEquals(list.array()[i], fb.get(3 + i), 0.0f);
+        try {
+            list.get(5, fb);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+}